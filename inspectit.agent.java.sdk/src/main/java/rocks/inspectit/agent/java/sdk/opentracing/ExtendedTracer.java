@@ -56,6 +56,20 @@ public interface ExtendedTracer extends Tracer {
 	 */
 	void setTimer(Timer timer) throws IllegalArgumentException;
 
+	/**
+	 * Sets the {@link Sampler} that decides if new traces are sampled.
+	 * <p>
+	 * By default inspectIT tracer samples all traces. The decision is made when the root span of
+	 * the trace is started and is propagated to all children spans and to the downstream services.
+	 * Spans of not sampled traces are not reported, unless they are marked as erroneous.
+	 *
+	 * @param sampler
+	 *            {@link Sampler} to set. Must not be <code>null</code>.
+	 * @throws IllegalArgumentException
+	 *             If sampler provided is <code>null</code>.
+	 */
+	void setSampler(Sampler sampler) throws IllegalArgumentException;
+
 	/**
 	 * Builds span with no operation name. The thread context reference will added if the one exists
 	 * as the CHILD_OF reference.
@@ -0,0 +1,33 @@
+package rocks.inspectit.agent.java.sdk.opentracing;
+
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanImpl;
+
+/**
+ * Sampler decides if a new trace should be sampled. The decision is made only once when the root
+ * span of the trace is started, all child spans and all spans created in downstream services
+ * (context is propagated) share the decision of the root span.
+ * <p>
+ * Spans of the trace that is not sampled are not reported, unless they are marked as erroneous
+ * (see {@link io.opentracing.tag.Tags#ERROR}).
+ * <p>
+ * This SDK provides constant, probabilistic and rate limiting sampler implementations in the
+ * {@link rocks.inspectit.agent.java.sdk.opentracing.sampling} package.
+ *
+ * @author agent
+ *
+ */
+public interface Sampler {
+
+	/**
+	 * Decides if the trace started with the given root span should be sampled. Note that span
+	 * context is not yet resolved when this method is called, but the operation name and the tags
+	 * given in the span builder are available.
+	 *
+	 * @param traceId
+	 *            Id of the new trace.
+	 * @param span
+	 *            Root span of the new trace.
+	 * @return <code>true</code> if trace should be sampled, <code>false</code> otherwise.
+	 */
+	boolean isSampled(long traceId, SpanImpl span);
+}
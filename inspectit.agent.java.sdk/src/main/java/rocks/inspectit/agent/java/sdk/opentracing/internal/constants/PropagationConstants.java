@@ -23,6 +23,23 @@ public interface PropagationConstants {
 	 */
 	String TRACE_ID = INSPECTIT_PREFIX + "traceid";
 
+	/**
+	 * Header name for the sampling decision.
+	 */
+	String SAMPLED = INSPECTIT_PREFIX + "sampled";
+
+	/**
+	 * Value of the {@link #SAMPLED} header when trace is not sampled. Any other value or missing
+	 * header denotes the sampled trace, so that calls from agents not propagating the decision are
+	 * sampled.
+	 */
+	String NOT_SAMPLED_VALUE = "0";
+
+	/**
+	 * Value of the {@link #SAMPLED} header when trace is sampled.
+	 */
+	String SAMPLED_VALUE = "1";
+
 	/**
 	 * Prefix for the propagation baggage.
 	 */
@@ -9,6 +9,7 @@ import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer.SpanBuilder;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.util.RandomUtils;
 
 /**
  * Builder for the span. Note that builder is delegating the calls to the span that's created
@@ -23,6 +24,11 @@ import rocks.inspectit.agent.java.sdk.opentracing.Timer;
  */
 public class SpanBuilderImpl implements SpanBuilder {
 
+	/**
+	 * Tracer that created the builder.
+	 */
+	private final TracerImpl tracer;
+
 	/**
 	 * Span being created.
 	 */
@@ -62,6 +68,7 @@ public class SpanBuilderImpl implements SpanBuilder {
 	 *            Operation name.
 	 */
 	public SpanBuilderImpl(TracerImpl tracer, String operationName) {
+		this.tracer = tracer;
 		this.timer = tracer.getTimer();
 		this.span = new SpanImpl(tracer);
 		this.span.setOperationName(operationName);
@@ -209,13 +216,20 @@ public class SpanBuilderImpl implements SpanBuilder {
 
 	/**
 	 * Builds (resolves the context) the span but does not start it. The method returns the built
-	 * span.
+	 * span. If the span has no parent, new trace is created and the sampling decision for the trace
+	 * is made.
 	 *
 	 * @return the span which has been built
 	 */
 	public SpanImpl build() {
 		// resolve context
-		SpanContextImpl context = SpanContextImpl.build(parent, referenceType, baggage);
+		SpanContextImpl context;
+		if (null == parent) {
+			long id = RandomUtils.randomLong();
+			context = SpanContextImpl.build(id, tracer.isSampled(id, span), baggage);
+		} else {
+			context = SpanContextImpl.build(parent, referenceType, baggage);
+		}
 		span.setSpanContext(context);
 
 		return span;
@@ -10,8 +10,8 @@ import rocks.inspectit.agent.java.sdk.opentracing.internal.util.RandomUtils;
 
 /**
  * Implementation of the {@link io.opentracing.SpanContext}. Keeps information about span id, trace
- * id and span parent id. Sampling flag is not included in the moment as it's not explicitly defined
- * by the opentracing API.
+ * id, span parent id and the sampling flag. The sampling flag is decided when the root context of
+ * the trace is created and is inherited by all children contexts.
  *
  * @author Ivan Senic
  *
@@ -38,13 +38,18 @@ public class SpanContextImpl implements SpanContext {
 	 */
 	private final String referenceType;
 
+	/**
+	 * If the trace this context belongs to is sampled.
+	 */
+	private final boolean sampled;
+
 	/**
 	 * Baggage.
 	 */
 	private final Map<String, String> baggage;
 
 	/**
-	 * Constructor. Use build methods.
+	 * Constructor for the sampled context. Use build methods.
 	 *
 	 * @param id
 	 *            Unique ID of the span.
@@ -58,11 +63,32 @@ public class SpanContextImpl implements SpanContext {
 	 *            Additional baggage
 	 */
 	public SpanContextImpl(long id, long traceId, long parentId, String referenceType, Map<String, String> baggage) {
+		this(id, traceId, parentId, referenceType, true, baggage);
+	}
+
+	/**
+	 * Constructor. Use build methods.
+	 *
+	 * @param id
+	 *            Unique ID of the span.
+	 * @param traceId
+	 *            ID of the trace that span belongs to.
+	 * @param parentId
+	 *            ID of the span's parent.
+	 * @param referenceType
+	 *            Reference to the parent.
+	 * @param sampled
+	 *            If the trace is sampled.
+	 * @param baggage
+	 *            Additional baggage
+	 */
+	public SpanContextImpl(long id, long traceId, long parentId, String referenceType, boolean sampled, Map<String, String> baggage) {
 		// ids
 		this.id = id;
 		this.traceId = traceId;
 		this.parentId = parentId;
 		this.referenceType = referenceType;
+		this.sampled = sampled;
 		// baggage handling
 		if ((null != baggage) && !baggage.isEmpty()) {
 			this.baggage = new HashMap<String, String>(baggage);
@@ -76,7 +102,8 @@ public class SpanContextImpl implements SpanContext {
 	 * <code>null</code> then {@link #build(Map)} will be used and new trace context will be
 	 * created.
 	 * <p>
-	 * Passed baggage will be the baggage of this span context.
+	 * Passed baggage will be the baggage of this span context. The sampling decision is inherited
+	 * from the parent.
 	 *
 	 * @param parent
 	 *            Context that will be use to determine to which trace/parent new context belongs.
@@ -92,7 +119,7 @@ public class SpanContextImpl implements SpanContext {
 			return build(baggage);
 		} else {
 			long id = RandomUtils.randomLong();
-			SpanContextImpl spanContextImpl = new SpanContextImpl(id, parent.getTraceId(), parent.getId(), referenceType, baggage);
+			SpanContextImpl spanContextImpl = new SpanContextImpl(id, parent.getTraceId(), parent.getId(), referenceType, parent.isSampled(), baggage);
 			return spanContextImpl;
 		}
 	}
@@ -109,6 +136,22 @@ public class SpanContextImpl implements SpanContext {
 		return new SpanContextImpl(id, id, id, null, baggage);
 	}
 
+	/**
+	 * Builds new {@link SpanContextImpl} with new trace context, given id, sampling decision and
+	 * baggage. Given id will be used as span and trace id.
+	 *
+	 * @param id
+	 *            Id of the span and the trace. Usually random.
+	 * @param sampled
+	 *            If the new trace is sampled.
+	 * @param baggage
+	 *            Context baggage.
+	 * @return {@link SpanContextImpl}. Never <code>null</code>.
+	 */
+	public static SpanContextImpl build(long id, boolean sampled, Map<String, String> baggage) {
+		return new SpanContextImpl(id, id, id, null, sampled, baggage);
+	}
+
 	/**
 	 * Builds new {@link SpanContextImpl} with new trace context and no baggage.
 	 *
@@ -133,7 +176,26 @@ public class SpanContextImpl implements SpanContext {
 	 * @return Context representing the context of the calling span.
 	 */
 	public static SpanContextImpl buildExtractedContext(long passedId, long passedTraceId, Map<String, String> passedBaggage) {
-		return new SpanContextImpl(passedId, passedTraceId, passedId, null, passedBaggage);
+		return buildExtractedContext(passedId, passedTraceId, true, passedBaggage);
+	}
+
+	/**
+	 * This method is used when building context that is extracted from the propagation (like HTTP
+	 * headers) that also carries the sampling decision. Returned context represents the context of
+	 * the calling span.
+	 *
+	 * @param passedId
+	 *            calling span id
+	 * @param passedTraceId
+	 *            calling span trace id
+	 * @param passedSampled
+	 *            sampling decision of the calling trace
+	 * @param passedBaggage
+	 *            passage traveling along
+	 * @return Context representing the context of the calling span.
+	 */
+	public static SpanContextImpl buildExtractedContext(long passedId, long passedTraceId, boolean passedSampled, Map<String, String> passedBaggage) {
+		return new SpanContextImpl(passedId, passedTraceId, passedId, null, passedSampled, passedBaggage);
 	}
 
 	/**
@@ -203,6 +265,15 @@ public class SpanContextImpl implements SpanContext {
 		return this.parentId;
 	}
 
+	/**
+	 * Gets {@link #sampled}.
+	 *
+	 * @return {@link #sampled}
+	 */
+	public boolean isSampled() {
+		return this.sampled;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -214,6 +285,7 @@ public class SpanContextImpl implements SpanContext {
 		result = (prime * result) + (int) (this.id ^ (this.id >>> 32));
 		result = (prime * result) + (int) (this.parentId ^ (this.parentId >>> 32));
 		result = (prime * result) + ((this.referenceType == null) ? 0 : this.referenceType.hashCode());
+		result = (prime * result) + (this.sampled ? 1231 : 1237);
 		result = (prime * result) + (int) (this.traceId ^ (this.traceId >>> 32));
 		return result;
 	}
@@ -253,6 +325,9 @@ public class SpanContextImpl implements SpanContext {
 		} else if (!this.referenceType.equals(other.referenceType)) {
 			return false;
 		}
+		if (this.sampled != other.sampled) {
+			return false;
+		}
 		if (this.traceId != other.traceId) {
 			return false;
 		}
@@ -264,7 +339,7 @@ public class SpanContextImpl implements SpanContext {
 	 */
 	@Override
 	public String toString() {
-		return "SpanContextImpl [id=" + this.id + ", traceId=" + this.traceId + ", parentId=" + this.parentId + ", referenceType=" + this.referenceType + ", baggage=" + this.baggage + "]";
+		return "SpanContextImpl [id=" + this.id + ", traceId=" + this.traceId + ", parentId=" + this.parentId + ", referenceType=" + this.referenceType + ", sampled=" + this.sampled + ", baggage=" + this.baggage + "]";
 	}
 
 }
\ No newline at end of file
@@ -338,6 +338,31 @@ public class SpanImpl implements Span {
 		return !isClient();
 	}
 
+	/**
+	 * If span belongs to the sampled trace. Spans without resolved context are considered as
+	 * sampled.
+	 *
+	 * @return If span belongs to the sampled trace.
+	 * @see SpanContextImpl#isSampled()
+	 */
+	public boolean isSampled() {
+		return (null == spanContext) || spanContext.isSampled();
+	}
+
+	/**
+	 * If span is marked as erroneous. Only returns <code>true</code> if the error tag is
+	 * explicitly set to <code>true</code>.
+	 *
+	 * @return If span is marked as erroneous.
+	 * @see Tags#ERROR
+	 */
+	public boolean isError() {
+		if (tags != null) {
+			return Boolean.parseBoolean(tags.get(Tags.ERROR.getKey()));
+		}
+		return false;
+	}
+
 	/**
 	 * Returns whether the span has already been started.
 	 *
@@ -9,6 +9,7 @@ import io.opentracing.SpanContext;
 import io.opentracing.propagation.Format;
 import rocks.inspectit.agent.java.sdk.opentracing.ExtendedTracer;
 import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
 import rocks.inspectit.agent.java.sdk.opentracing.TracerProvider;
 import rocks.inspectit.agent.java.sdk.opentracing.internal.TracerLogger;
@@ -16,6 +17,7 @@ import rocks.inspectit.agent.java.sdk.opentracing.internal.propagation.TextMapPr
 import rocks.inspectit.agent.java.sdk.opentracing.internal.propagation.UrlEncodingPropagator;
 import rocks.inspectit.agent.java.sdk.opentracing.noop.NoopReporter;
 import rocks.inspectit.agent.java.sdk.opentracing.propagation.Propagator;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
 import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
 
 /**
@@ -30,6 +32,9 @@ import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
  * option to explicitly state that span should not be reported, as inspectIT itself adds other
  * information to the span it creates and reports them itself. User created spans will always be
  * reported if not explicitly stated otherwise.
+ * <p>
+ * The tracer uses {@link Sampler} to decide if a new trace is sampled. Spans of not sampled traces
+ * are not reported, unless they are marked as erroneous. By default all traces are sampled.
  *
  * @author Ivan Senic
  *
@@ -65,6 +70,11 @@ public class TracerImpl implements ExtendedTracer {
 	 */
 	private final Reporter reporter;
 
+	/**
+	 * Sampler deciding if new traces are sampled.
+	 */
+	private volatile Sampler sampler = new ConstSampler(true);
+
 	/**
 	 * Usable propagators.
 	 */
@@ -260,6 +270,27 @@ public class TracerImpl implements ExtendedTracer {
 		return !spanStack.get().isEmpty();
 	}
 
+	/**
+	 * Returns if the trace starting with the given root span should be sampled. Delegates to the
+	 * {@link #sampler}, in case the sampler fails the trace is sampled.
+	 *
+	 * @param traceId
+	 *            Id of the new trace.
+	 * @param span
+	 *            Root span of the new trace.
+	 * @return If the trace should be sampled.
+	 */
+	boolean isSampled(long traceId, SpanImpl span) {
+		try {
+			return sampler.isSampled(traceId, span);
+		} catch (Exception e) {
+			if (LOGGER.isWarnEnabled()) {
+				LOGGER.warn("Sampler " + sampler + " failed to make a sampling decision, trace will be sampled.", e);
+			}
+			return true;
+		}
+	}
+
 	/**
 	 * Reports the span to the tracer once the span is started.
 	 *
@@ -311,8 +342,8 @@ public class TracerImpl implements ExtendedTracer {
 			}
 		}
 
-		// check if we need to report the span
-		if (span.isReport()) {
+		// check if we need to report the span, errors are reported even if trace is not sampled
+		if (span.isReport() && (span.isSampled() || span.isError())) {
 			reporter.report(span);
 		}
 	}
@@ -337,4 +368,28 @@ public class TracerImpl implements ExtendedTracer {
 		this.timer = timer;
 	}
 
+	/**
+	 * Gets {@link #sampler}.
+	 *
+	 * @return {@link #sampler}
+	 */
+	public Sampler getSampler() {
+		return this.sampler;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setSampler(Sampler sampler) {
+		if (null == sampler) {
+			throw new IllegalArgumentException("Sampler must not be null.");
+		}
+		this.sampler = sampler;
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Sampler set to " + sampler + ".");
+		}
+	}
+
 }
@@ -0,0 +1,46 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanImpl;
+
+/**
+ * {@link Sampler} that always makes the same decision.
+ *
+ * @author agent
+ *
+ */
+public class ConstSampler implements Sampler {
+
+	/**
+	 * Decision to return.
+	 */
+	private final boolean decision;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param decision
+	 *            Decision to return, <code>true</code> to sample all traces, <code>false</code> to
+	 *            sample none.
+	 */
+	public ConstSampler(boolean decision) {
+		this.decision = decision;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSampled(long traceId, SpanImpl span) {
+		return decision;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ConstSampler [decision=" + this.decision + "]";
+	}
+
+}
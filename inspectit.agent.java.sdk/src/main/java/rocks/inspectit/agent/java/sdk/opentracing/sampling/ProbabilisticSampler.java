@@ -0,0 +1,69 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanImpl;
+
+/**
+ * {@link Sampler} that samples given percentage of traces. The decision is based on the trace id,
+ * which is random, thus no additional random number needs to be generated.
+ *
+ * @author agent
+ *
+ */
+public class ProbabilisticSampler implements Sampler {
+
+	/**
+	 * Sampling rate.
+	 */
+	private final double samplingRate;
+
+	/**
+	 * Upper bound of the positive trace id part that is sampled.
+	 */
+	private final long boundary;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param samplingRate
+	 *            Sampling rate, must be in range [0, 1].
+	 * @throws IllegalArgumentException
+	 *             If sampling rate is not in the range [0, 1].
+	 */
+	public ProbabilisticSampler(double samplingRate) throws IllegalArgumentException {
+		if ((samplingRate < 0d) || (samplingRate > 1d)) {
+			throw new IllegalArgumentException("Sampling rate must be in range [0, 1], but was " + samplingRate + ".");
+		}
+		this.samplingRate = samplingRate;
+		this.boundary = (long) (Long.MAX_VALUE * samplingRate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSampled(long traceId, SpanImpl span) {
+		if (samplingRate >= 1d) {
+			return true;
+		}
+		return (traceId & Long.MAX_VALUE) < boundary;
+	}
+
+	/**
+	 * Gets {@link #samplingRate}.
+	 *
+	 * @return {@link #samplingRate}
+	 */
+	public double getSamplingRate() {
+		return this.samplingRate;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ProbabilisticSampler [samplingRate=" + this.samplingRate + "]";
+	}
+
+}
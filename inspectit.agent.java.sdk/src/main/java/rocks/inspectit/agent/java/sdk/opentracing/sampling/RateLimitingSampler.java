@@ -0,0 +1,210 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.opentracing.tag.Tags;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+import rocks.inspectit.agent.java.sdk.opentracing.Timer;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanImpl;
+import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
+
+/**
+ * {@link Sampler} that samples at most given number of traces per second for each operation. The
+ * operation of the root span is defined by the span operation name, or by the HTTP URL tag if the
+ * operation name is not set (as with spans created by inspectIT). Rate is controlled with a token
+ * bucket per operation, that allows a burst of at most one second worth of traces (but at least
+ * one trace).
+ * <p>
+ * The number of operations that get own bucket is limited by {@link #MAX_OPERATIONS}, all other
+ * operations share one bucket.
+ *
+ * @author agent
+ *
+ */
+public class RateLimitingSampler implements Sampler {
+
+	/**
+	 * Maximum number of operations that get own rate limiter.
+	 */
+	static final int MAX_OPERATIONS = 1000;
+
+	/**
+	 * Operation key used when operation can not be determined or when {@link #MAX_OPERATIONS} is
+	 * reached.
+	 */
+	private static final String DEFAULT_OPERATION = "";
+
+	/**
+	 * Nanoseconds in one second.
+	 */
+	private static final double NANOS_IN_SECOND = 1000000000d;
+
+	/**
+	 * Max traces per second per operation.
+	 */
+	private final double maxTracesPerSecond;
+
+	/**
+	 * Capacity of the bucket, at least one token so that rates lower than one trace per second
+	 * still sample.
+	 */
+	private final double maxBalance;
+
+	/**
+	 * Timer providing nano time.
+	 */
+	private final Timer timer;
+
+	/**
+	 * Rate limiters per operation.
+	 */
+	private final ConcurrentMap<String, RateLimiter> rateLimiters = new ConcurrentHashMap<String, RateLimiter>();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param maxTracesPerSecond
+	 *            Max traces per second per operation. Must not be negative.
+	 * @throws IllegalArgumentException
+	 *             If max traces per second is negative.
+	 */
+	public RateLimitingSampler(double maxTracesPerSecond) throws IllegalArgumentException {
+		this(maxTracesPerSecond, new SystemTimer());
+	}
+
+	/**
+	 * Constructor that defines the timer to use.
+	 *
+	 * @param maxTracesPerSecond
+	 *            Max traces per second per operation. Must not be negative.
+	 * @param timer
+	 *            Timer providing nano time.
+	 * @throws IllegalArgumentException
+	 *             If max traces per second is negative or timer is <code>null</code>.
+	 */
+	public RateLimitingSampler(double maxTracesPerSecond, Timer timer) throws IllegalArgumentException {
+		if (maxTracesPerSecond < 0d) {
+			throw new IllegalArgumentException("Max traces per second must not be negative, but was " + maxTracesPerSecond + ".");
+		}
+		if (null == timer) {
+			throw new IllegalArgumentException("Timer can not be null.");
+		}
+		this.maxTracesPerSecond = maxTracesPerSecond;
+		this.maxBalance = (maxTracesPerSecond > 0d) ? Math.max(1d, maxTracesPerSecond) : 0d;
+		this.timer = timer;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isSampled(long traceId, SpanImpl span) {
+		String operation = getOperation(span);
+		RateLimiter rateLimiter = rateLimiters.get(operation);
+		if (null == rateLimiter) {
+			if (rateLimiters.size() >= MAX_OPERATIONS) {
+				operation = DEFAULT_OPERATION;
+			}
+			RateLimiter newRateLimiter = new RateLimiter(timer.getCurrentNanoTime());
+			rateLimiter = rateLimiters.putIfAbsent(operation, newRateLimiter);
+			if (null == rateLimiter) {
+				rateLimiter = newRateLimiter;
+			}
+		}
+		return rateLimiter.tryAcquire(timer.getCurrentNanoTime());
+	}
+
+	/**
+	 * Returns the operation key of the span.
+	 *
+	 * @param span
+	 *            Span
+	 * @return Operation name, HTTP URL or {@link #DEFAULT_OPERATION}.
+	 */
+	private String getOperation(SpanImpl span) {
+		if (null == span) {
+			return DEFAULT_OPERATION;
+		}
+		if (null != span.getOperationName()) {
+			return span.getOperationName();
+		}
+		Map<String, String> tags = span.getTags();
+		if (null != tags) {
+			String url = tags.get(Tags.HTTP_URL.getKey());
+			if (null != url) {
+				return url;
+			}
+		}
+		return DEFAULT_OPERATION;
+	}
+
+	/**
+	 * Gets {@link #maxTracesPerSecond}.
+	 *
+	 * @return {@link #maxTracesPerSecond}
+	 */
+	public double getMaxTracesPerSecond() {
+		return this.maxTracesPerSecond;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "RateLimitingSampler [maxTracesPerSecond=" + this.maxTracesPerSecond + "]";
+	}
+
+	/**
+	 * Token bucket for one operation. Bucket starts full.
+	 *
+	 * @author agent
+	 *
+	 */
+	private class RateLimiter {
+
+		/**
+		 * Currently available tokens.
+		 */
+		private double balance;
+
+		/**
+		 * Nano time of the last update of the balance.
+		 */
+		private long lastTick;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param currentNanos
+		 *            Current nano time.
+		 */
+		RateLimiter(long currentNanos) {
+			this.balance = maxBalance;
+			this.lastTick = currentNanos;
+		}
+
+		/**
+		 * Tries to take one token from the bucket.
+		 *
+		 * @param currentNanos
+		 *            Current nano time.
+		 * @return If token was available.
+		 */
+		synchronized boolean tryAcquire(long currentNanos) {
+			long elapsed = currentNanos - lastTick;
+			if (elapsed > 0) {
+				balance = Math.min(maxBalance, balance + ((elapsed / NANOS_IN_SECOND) * maxTracesPerSecond));
+				lastTick = currentNanos;
+			}
+			if (balance >= 1d) {
+				balance -= 1d;
+				return true;
+			}
+			return false;
+		}
+	}
+
+}
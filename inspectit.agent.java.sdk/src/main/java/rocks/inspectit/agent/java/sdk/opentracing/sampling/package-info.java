@@ -0,0 +1,8 @@
+/**
+ * Contains {@link rocks.inspectit.agent.java.sdk.opentracing.Sampler} implementations provided by
+ * the inspectIT SDK.
+ *
+ * @author agent
+ *
+ */
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
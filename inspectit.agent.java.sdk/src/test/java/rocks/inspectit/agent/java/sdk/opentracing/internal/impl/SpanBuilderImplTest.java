@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -19,6 +20,7 @@ import java.util.Map.Entry;
 import java.util.Random;
 
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -74,11 +76,46 @@ public class SpanBuilderImplTest extends TestBase {
 			verify(tracer).spanStarted(span);
 			verify(tracer).spanEnded(span);
 			verify(tracer, atLeastOnce()).getTimer();
+			verify(tracer).isSampled(span.context().getId(), span);
 			verify(timer).getCurrentTimeMicroseconds();
 			verify(timer, times(2)).getCurrentNanoTime();
 			verifyNoMoreInteractions(tracer, timer);
 		}
 
+		@Test
+		public void sampled() {
+			when(timer.getCurrentTimeMicroseconds()).thenReturn(System.currentTimeMillis());
+			when(tracer.isSampled(Mockito.anyLong(), Mockito.<SpanImpl> any())).thenReturn(true);
+			SpanBuilderImpl builder = new SpanBuilderImpl(tracer, null);
+
+			SpanImpl span = builder.start();
+
+			assertThat(span.context().isSampled(), is(true));
+		}
+
+		@Test
+		public void notSampled() {
+			when(timer.getCurrentTimeMicroseconds()).thenReturn(System.currentTimeMillis());
+			when(tracer.isSampled(Mockito.anyLong(), Mockito.<SpanImpl> any())).thenReturn(false);
+			SpanBuilderImpl builder = new SpanBuilderImpl(tracer, null);
+
+			SpanImpl span = builder.start();
+
+			assertThat(span.context().isSampled(), is(false));
+		}
+
+		@Test
+		public void parentNotSampled() {
+			when(timer.getCurrentTimeMicroseconds()).thenReturn(System.currentTimeMillis());
+			SpanContextImpl parent = SpanContextImpl.build(1L, false, null);
+			SpanBuilderImpl builder = new SpanBuilderImpl(tracer, null).asChildOf(parent);
+
+			SpanImpl span = builder.start();
+
+			assertThat(span.context().isSampled(), is(false));
+			verify(tracer, never()).isSampled(Mockito.anyLong(), Mockito.<SpanImpl> any());
+		}
+
 		@Test
 		public void operationNull() {
 			when(timer.getCurrentTimeMicroseconds()).thenReturn(System.currentTimeMillis());
@@ -66,6 +66,26 @@ public class SpanContextImplTest {
 			assertThat(context.baggageItems().iterator().hasNext(), is(false));
 		}
 
+		@Test
+		public void rootContextNotSampled() {
+			SpanContextImpl context = SpanContextImpl.build(1L, false, null);
+
+			assertThat(context.getId(), is(1L));
+			assertThat(context.getTraceId(), is(1L));
+			assertThat(context.getParentId(), is(1L));
+			assertThat(context.isSampled(), is(false));
+		}
+
+		@Test
+		public void childContextInheritsSampling() {
+			SpanContextImpl parent = SpanContextImpl.build(1L, false, null);
+
+			SpanContextImpl context = SpanContextImpl.build(parent, References.CHILD_OF, null);
+
+			assertThat(context.getTraceId(), is(parent.getTraceId()));
+			assertThat(context.isSampled(), is(false));
+		}
+
 		@Test
 		public void childContextWithBaggage() {
 			SpanContextImpl parent = SpanContextImpl.build();
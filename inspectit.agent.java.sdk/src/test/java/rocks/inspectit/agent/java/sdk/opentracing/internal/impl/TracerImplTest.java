@@ -18,8 +18,10 @@ import io.opentracing.References;
 import io.opentracing.SpanContext;
 import io.opentracing.propagation.Format;
 import io.opentracing.propagation.TextMap;
+import io.opentracing.tag.Tags;
 import rocks.inspectit.agent.java.sdk.opentracing.ExtendedTracer;
 import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
 import rocks.inspectit.agent.java.sdk.opentracing.Timer;
 import rocks.inspectit.agent.java.sdk.opentracing.TracerProvider;
 import rocks.inspectit.agent.java.sdk.opentracing.propagation.Propagator;
@@ -284,6 +286,47 @@ public class TracerImplTest extends TestBase {
 		}
 	}
 
+	public static class IsSampled extends TracerImplTest {
+
+		@Mock
+		Sampler sampler;
+
+		@Test
+		public void defaultSampler() {
+			boolean sampled = tracer.isSampled(1L, new SpanImpl(tracer));
+
+			assertThat(sampled, is(true));
+		}
+
+		@Test
+		public void delegate() {
+			SpanImpl span = new SpanImpl(tracer);
+			when(sampler.isSampled(1L, span)).thenReturn(false);
+			tracer.setSampler(sampler);
+
+			boolean sampled = tracer.isSampled(1L, span);
+
+			assertThat(sampled, is(false));
+			verify(sampler).isSampled(1L, span);
+		}
+
+		@Test
+		public void samplerException() {
+			SpanImpl span = new SpanImpl(tracer);
+			when(sampler.isSampled(1L, span)).thenThrow(new RuntimeException());
+			tracer.setSampler(sampler);
+
+			boolean sampled = tracer.isSampled(1L, span);
+
+			assertThat(sampled, is(true));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void samplerNull() {
+			tracer.setSampler(null);
+		}
+	}
+
 	public static class SpanEnded extends TracerImplTest {
 
 		@Test
@@ -300,6 +343,31 @@ public class TracerImplTest extends TestBase {
 			verifyNoMoreInteractions(reporter);
 		}
 
+		@Test
+		public void notSampled() {
+			SpanImpl span = new SpanImpl(tracer);
+			span.setSpanContext(SpanContextImpl.build(1L, false, null));
+			tracer.spanStarted(span);
+
+			tracer.spanEnded(span);
+
+			assertThat(tracer.isCurrentContextExisting(), is(false));
+			verifyZeroInteractions(reporter);
+		}
+
+		@Test
+		public void notSampledError() {
+			SpanImpl span = new SpanImpl(tracer);
+			span.setSpanContext(SpanContextImpl.build(1L, false, null));
+			span.setTag(Tags.ERROR.getKey(), true);
+			tracer.spanStarted(span);
+
+			tracer.spanEnded(span);
+
+			verify(reporter).report(span);
+			verifyNoMoreInteractions(reporter);
+		}
+
 		@Test
 		public void spanNull() {
 			SpanImpl span = new SpanImpl(tracer);
@@ -45,9 +45,19 @@ public class TextMapPropagatorTest extends TestBase {
 
 			verify(carrier).put(PropagationConstants.SPAN_ID, ConversionUtils.toHexString(context.getId()));
 			verify(carrier).put(PropagationConstants.TRACE_ID, ConversionUtils.toHexString(context.getTraceId()));
+			verify(carrier).put(PropagationConstants.SAMPLED, PropagationConstants.SAMPLED_VALUE);
 			verifyNoMoreInteractions(carrier);
 		}
 
+		@Test
+		public void notSampled() {
+			SpanContextImpl context = SpanContextImpl.build(1L, false, null);
+
+			propagator.inject(context, carrier);
+
+			verify(carrier).put(PropagationConstants.SAMPLED, PropagationConstants.NOT_SAMPLED_VALUE);
+		}
+
 		@Test
 		public void baggage() {
 			SpanContextImpl context = SpanContextImpl.build();
@@ -82,6 +92,46 @@ public class TextMapPropagatorTest extends TestBase {
 			assertThat(context.baggageItems().iterator().hasNext(), is(false));
 		}
 
+		@Test
+		public void sampled() {
+			Map<String, String> map = new HashMap<String, String>();
+			map.put(PropagationConstants.SPAN_ID, ConversionUtils.toHexString(1L));
+			map.put(PropagationConstants.TRACE_ID, ConversionUtils.toHexString(2L));
+			map.put(PropagationConstants.SAMPLED, PropagationConstants.SAMPLED_VALUE);
+			when(carrier.iterator()).thenReturn(map.entrySet().iterator());
+
+			SpanContextImpl context = propagator.extract(carrier);
+
+			assertThat(context.isSampled(), is(true));
+		}
+
+		@Test
+		public void notSampled() {
+			Map<String, String> map = new HashMap<String, String>();
+			map.put(PropagationConstants.SPAN_ID, ConversionUtils.toHexString(1L));
+			map.put(PropagationConstants.TRACE_ID, ConversionUtils.toHexString(2L));
+			map.put(PropagationConstants.SAMPLED, PropagationConstants.NOT_SAMPLED_VALUE);
+			when(carrier.iterator()).thenReturn(map.entrySet().iterator());
+
+			SpanContextImpl context = propagator.extract(carrier);
+
+			assertThat(context.getId(), is(1L));
+			assertThat(context.getTraceId(), is(2L));
+			assertThat(context.isSampled(), is(false));
+		}
+
+		@Test
+		public void noSamplingDecision() {
+			Map<String, String> map = new HashMap<String, String>();
+			map.put(PropagationConstants.SPAN_ID, ConversionUtils.toHexString(1L));
+			map.put(PropagationConstants.TRACE_ID, ConversionUtils.toHexString(2L));
+			when(carrier.iterator()).thenReturn(map.entrySet().iterator());
+
+			SpanContextImpl context = propagator.extract(carrier);
+
+			assertThat(context.isSampled(), is(true));
+		}
+
 		@Test
 		public void idsWrong() {
 			Map<String, String> map = new HashMap<String, String>();
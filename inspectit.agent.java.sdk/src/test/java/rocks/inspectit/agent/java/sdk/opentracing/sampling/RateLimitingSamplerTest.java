@@ -0,0 +1,114 @@
+package rocks.inspectit.agent.java.sdk.opentracing.sampling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import io.opentracing.tag.Tags;
+import rocks.inspectit.agent.java.sdk.opentracing.Timer;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanImpl;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class RateLimitingSamplerTest extends TestBase {
+
+	RateLimitingSampler sampler;
+
+	@Mock
+	Timer timer;
+
+	@Mock
+	SpanImpl span;
+
+	@Mock
+	SpanImpl otherSpan;
+
+	public static class IsSampled extends RateLimitingSamplerTest {
+
+		@Test
+		public void limit() {
+			when(timer.getCurrentNanoTime()).thenReturn(0L);
+			when(span.getOperationName()).thenReturn("op");
+			sampler = new RateLimitingSampler(2d, timer);
+
+			assertThat(sampler.isSampled(1L, span), is(true));
+			assertThat(sampler.isSampled(1L, span), is(true));
+			assertThat(sampler.isSampled(1L, span), is(false));
+		}
+
+		@Test
+		public void refill() {
+			when(timer.getCurrentNanoTime()).thenReturn(0L);
+			when(span.getOperationName()).thenReturn("op");
+			sampler = new RateLimitingSampler(2d, timer);
+			sampler.isSampled(1L, span);
+			sampler.isSampled(1L, span);
+
+			when(timer.getCurrentNanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(500));
+
+			assertThat(sampler.isSampled(1L, span), is(true));
+			assertThat(sampler.isSampled(1L, span), is(false));
+		}
+
+		@Test
+		public void lessThanOnePerSecond() {
+			when(timer.getCurrentNanoTime()).thenReturn(0L);
+			when(span.getOperationName()).thenReturn("op");
+			sampler = new RateLimitingSampler(0.5d, timer);
+
+			assertThat(sampler.isSampled(1L, span), is(true));
+			assertThat(sampler.isSampled(1L, span), is(false));
+
+			when(timer.getCurrentNanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(2));
+
+			assertThat(sampler.isSampled(1L, span), is(true));
+		}
+
+		@Test
+		public void zero() {
+			when(timer.getCurrentNanoTime()).thenReturn(0L);
+			sampler = new RateLimitingSampler(0d, timer);
+
+			assertThat(sampler.isSampled(1L, span), is(false));
+		}
+
+		@Test
+		public void perOperation() {
+			when(timer.getCurrentNanoTime()).thenReturn(0L);
+			when(span.getOperationName()).thenReturn("op");
+			when(otherSpan.getOperationName()).thenReturn("otherOp");
+			sampler = new RateLimitingSampler(1d, timer);
+
+			assertThat(sampler.isSampled(1L, span), is(true));
+			assertThat(sampler.isSampled(1L, span), is(false));
+			assertThat(sampler.isSampled(1L, otherSpan), is(true));
+		}
+
+		@Test
+		public void operationFromUrl() {
+			when(timer.getCurrentNanoTime()).thenReturn(0L);
+			when(span.getTags()).thenReturn(Collections.singletonMap(Tags.HTTP_URL.getKey(), "/url"));
+			when(otherSpan.getTags()).thenReturn(Collections.singletonMap(Tags.HTTP_URL.getKey(), "/otherUrl"));
+			sampler = new RateLimitingSampler(1d, timer);
+
+			assertThat(sampler.isSampled(1L, span), is(true));
+			assertThat(sampler.isSampled(1L, span), is(false));
+			assertThat(sampler.isSampled(1L, otherSpan), is(true));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void negative() {
+			new RateLimitingSampler(-1d, timer);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package rocks.inspectit.agent.java.hooking.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import rocks.inspectit.agent.java.config.impl.PropertyAccessor;
+import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
+import rocks.inspectit.agent.java.hooking.IHook;
+import rocks.inspectit.agent.java.sensor.method.AbstractHookPerfTest;
+import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
+import rocks.inspectit.agent.java.sensor.method.timer.TimerHook;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
+import rocks.inspectit.agent.java.util.Timer;
+import rocks.inspectit.shared.all.instrumentation.config.impl.MethodSensorTypeConfig;
+
+/**
+ * JMH Test for the overhead of the hook time measuring of the {@link AgentTelemetry} in the
+ * {@link HookDispatcher}. The dispatching of the method with the {@link TimerHook} is measured with
+ * the telemetry disabled (sampling interval <code>0</code>), with the default sampling interval and
+ * when every dispatch is measured (sampling interval <code>1</code>).
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, batchSize = 10000)
+@Measurement(iterations = 10, batchSize = 10000)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(3)
+public class HookDispatcherPerfTest extends AbstractHookPerfTest {
+
+	/**
+	 * Hook sampling interval of the telemetry.
+	 */
+	@Param({ "0", "64", "1" })
+	public int hookSamplingInterval;
+
+	private HookDispatcher hookDispatcher;
+
+	@Override
+	@Setup(Level.Iteration)
+	public void init(ThreadParams threadParams) throws NoSuchFieldException, IllegalArgumentException, IllegalAccessException {
+		super.init(threadParams);
+
+		AgentTelemetry agentTelemetry = new AgentTelemetry();
+		agentTelemetry.setHookSamplingInterval(hookSamplingInterval);
+
+		hookDispatcher = new HookDispatcher();
+		setField(hookDispatcher, "coreService", coreService);
+		setField(hookDispatcher, "agentTelemetry", agentTelemetry);
+
+		final TimerHook timerHook = new TimerHook(new Timer(), platformManager, new PropertyAccessor(), new HashMap<String, Object>(), ManagementFactory.getThreadMXBean());
+		final MethodSensorTypeConfig sensorTypeConfig = new MethodSensorTypeConfig();
+		sensorTypeConfig.setId(SENSOR_ID);
+		RegisteredSensorConfig registeredSensorConfig = new RegisteredSensorConfig();
+		registeredSensorConfig.setSettings(Collections.<String, Object> emptyMap());
+		registeredSensorConfig.addMethodSensor(new IMethodSensor() {
+			@Override
+			public IHook getHook() {
+				return timerHook;
+			}
+
+			@Override
+			public MethodSensorTypeConfig getSensorTypeConfig() {
+				return sensorTypeConfig;
+			}
+		});
+		hookDispatcher.addMapping(methodId, registeredSensorConfig);
+	}
+
+	/**
+	 * Benchmarks the dispatching of one method invocation to the timer hook.
+	 */
+	@Benchmark
+	public void dispatchMethod() {
+		hookDispatcher.dispatchMethodBeforeBody(methodId, TARGET, PARAMS);
+		hookDispatcher.dispatchFirstMethodAfterBody(methodId, TARGET, PARAMS, RETURN_VALUE, false);
+		hookDispatcher.dispatchSecondMethodAfterBody(methodId, TARGET, PARAMS, RETURN_VALUE, false);
+	}
+
+	@Override
+	@TearDown(Level.Iteration)
+	public void cleanUp() throws Exception {
+		super.cleanUp();
+
+		hookDispatcher = null; // NOPMD
+	}
+
+	private void setField(Object target, String name, Object value) throws NoSuchFieldException, IllegalAccessException {
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+		field.setAccessible(false);
+	}
+}
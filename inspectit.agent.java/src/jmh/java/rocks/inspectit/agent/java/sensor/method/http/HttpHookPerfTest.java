@@ -0,0 +1,177 @@
+package rocks.inspectit.agent.java.sensor.method.http;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
+import rocks.inspectit.agent.java.sensor.method.AbstractHookPerfTest;
+import rocks.inspectit.agent.java.util.Timer;
+
+/**
+ * JMH Test for {@link HttpHook} with the servlet request having 40 headers and 20 attributes.
+ * Compares the capturing of all headers and attributes with the capturing of the allow-listed ones
+ * and with the requests below the full capture threshold.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, batchSize = 10000)
+@Measurement(iterations = 10, batchSize = 10000)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(3)
+public class HttpHookPerfTest extends AbstractHookPerfTest {
+
+	private static final int HEADERS = 40;
+	private static final int ATTRIBUTES = 20;
+
+	private HttpHook fullCaptureHook;
+	private HttpHook allowListHook;
+	private HttpHook thresholdHook;
+
+	private RegisteredSensorConfig registeredSensorConfig;
+
+	private Object[] parameters;
+
+	@Setup(Level.Trial)
+	public void createRequest() {
+		final Map<String, String> headers = new HashMap<String, String>();
+		for (int i = 0; i < HEADERS; i++) {
+			headers.put("header" + i, "headerValue" + i);
+		}
+		final Map<String, Object> attributes = new HashMap<String, Object>();
+		for (int i = 0; i < ATTRIBUTES; i++) {
+			attributes.put("attribute" + i, "attributeValue" + i);
+		}
+		final Map<String, String[]> parameterMap = Collections.singletonMap("param", new String[] { "value" });
+
+		Object request = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletRequest.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				String name = method.getName();
+				if ("getHeaderNames".equals(name)) {
+					return Collections.enumeration(headers.keySet());
+				} else if ("getHeader".equals(name)) {
+					return headers.get(args[0]);
+				} else if ("getAttributeNames".equals(name)) {
+					return Collections.enumeration(attributes.keySet());
+				} else if ("getAttribute".equals(name)) {
+					return attributes.get(args[0]);
+				} else if ("getParameterMap".equals(name)) {
+					return parameterMap;
+				} else if ("getRequestURI".equals(name)) {
+					return "/test/uri";
+				} else if ("getMethod".equals(name)) {
+					return "GET";
+				} else if ("getScheme".equals(name)) {
+					return "http";
+				} else if ("getServerName".equals(name)) {
+					return "localhost";
+				} else if ("getServerPort".equals(name)) {
+					return Integer.valueOf(8080);
+				}
+				return null;
+			}
+		});
+		Object response = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletResponse.class }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if ("getStatus".equals(method.getName())) {
+					return Integer.valueOf(200);
+				}
+				return null;
+			}
+		});
+		parameters = new Object[] { request, response };
+
+		registeredSensorConfig = new RegisteredSensorConfig();
+		registeredSensorConfig.setSettings(Collections.<String, Object> singletonMap("charting", Boolean.FALSE));
+	}
+
+	@Override
+	@Setup(Level.Iteration)
+	public void init(ThreadParams threadParams) throws NoSuchFieldException, IllegalArgumentException, IllegalAccessException {
+		super.init(threadParams);
+
+		Map<String, Object> fullCapture = new HashMap<String, Object>();
+		fullCapture.put("attributescapture", "true");
+		fullCapture.put("parameterscapture", "true");
+		fullCaptureHook = new HttpHook(new Timer(), platformManager, new TracerImpl(), fullCapture, ManagementFactory.getThreadMXBean());
+
+		Map<String, Object> allowList = new HashMap<String, Object>(fullCapture);
+		allowList.put("capturedheaders", Arrays.asList("header1", "header2", "header3", "header4", "header5"));
+		allowList.put("capturedattributes", Arrays.asList("attribute1", "attribute2", "attribute3"));
+		allowListHook = new HttpHook(new Timer(), platformManager, new TracerImpl(), allowList, ManagementFactory.getThreadMXBean());
+
+		Map<String, Object> threshold = new HashMap<String, Object>(fullCapture);
+		threshold.put("fullcapturethreshold", Long.valueOf(TimeUnit.MINUTES.toMillis(1)));
+		thresholdHook = new HttpHook(new Timer(), platformManager, new TracerImpl(), threshold, ManagementFactory.getThreadMXBean());
+	}
+
+	/**
+	 * Benchmarks the request where all headers and attributes are captured.
+	 */
+	@Benchmark
+	public void measureFullCapture() {
+		measure(fullCaptureHook);
+	}
+
+	/**
+	 * Benchmarks the request where only allow-listed headers and attributes are captured.
+	 */
+	@Benchmark
+	public void measureAllowListCapture() {
+		measure(allowListHook);
+	}
+
+	/**
+	 * Benchmarks the request that is faster than the full capture threshold, thus only the tagging
+	 * header is read.
+	 */
+	@Benchmark
+	public void measureBelowThreshold() {
+		measure(thresholdHook);
+	}
+
+	private void measure(HttpHook httpHook) {
+		httpHook.beforeBody(methodId, SENSOR_ID, TARGET, parameters, registeredSensorConfig);
+		httpHook.firstAfterBody(methodId, SENSOR_ID, TARGET, parameters, RETURN_VALUE, false, registeredSensorConfig);
+		httpHook.secondAfterBody(coreService, methodId, SENSOR_ID, TARGET, parameters, RETURN_VALUE, false, registeredSensorConfig);
+	}
+
+	@Override
+	@TearDown(Level.Iteration)
+	public void cleanUp() throws Exception {
+		super.cleanUp();
+
+		fullCaptureHook = null; // NOPMD
+		allowListHook = null; // NOPMD
+		thresholdHook = null; // NOPMD
+	}
+}
@@ -29,6 +29,7 @@ import rocks.inspectit.agent.java.core.impl.CoreService;
 import rocks.inspectit.agent.java.sensor.method.AbstractHookPerfTest;
 import rocks.inspectit.agent.java.util.Timer;
 import rocks.inspectit.shared.all.communication.data.ParameterContentType;
+import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPath;
 import rocks.inspectit.shared.all.instrumentation.config.impl.PropertyPathStart;
 
 /**
@@ -57,6 +58,7 @@ public class TimerHookPerfTest extends AbstractHookPerfTest {
 	private RegisteredSensorConfig registeredSensorConfig;
 	private RegisteredSensorConfig captureReturnRegisteredSensorConfig;
 	private RegisteredSensorConfig captureParameterRegisteredSensorConfig;
+	private RegisteredSensorConfig captureParameterPathRegisteredSensorConfig;
 
 	@Setup(Level.Trial)
 	public void checkCondition() {
@@ -100,6 +102,18 @@ public class TimerHookPerfTest extends AbstractHookPerfTest {
 		captureParameterRegisteredSensorConfig.setPropertyAccessorList(Collections.singletonList(propertyPathStart));
 	}
 
+	@Setup(Level.Trial)
+	public void createRegisteredSensorConfigWithParameterPathCapturing() {
+		captureParameterPathRegisteredSensorConfig = new RegisteredSensorConfig();
+		captureParameterPathRegisteredSensorConfig.setSettings(Collections.<String, Object> singletonMap("charting", charting));
+		PropertyPathStart propertyPathStart = new PropertyPathStart();
+		propertyPathStart.setContentType(ParameterContentType.PARAM);
+		propertyPathStart.setSignaturePosition(0);
+		// field of the String parameter, resolved by reflection
+		propertyPathStart.setPathToContinue(new PropertyPath("hash"));
+		captureParameterPathRegisteredSensorConfig.setPropertyAccessorList(Collections.singletonList(propertyPathStart));
+	}
+
 	@Override
 	@Setup(Level.Iteration)
 	public void init(ThreadParams threadParams) throws NoSuchFieldException, IllegalArgumentException, IllegalAccessException {
@@ -156,6 +170,17 @@ public class TimerHookPerfTest extends AbstractHookPerfTest {
 		timerHook.secondAfterBody(coreService, methodId, SENSOR_ID, TARGET, PARAMS, RETURN_VALUE, false, captureParameterRegisteredSensorConfig);
 	}
 
+	/**
+	 * Benchmarks the parameter capturing that follows a property path, thus accesses the field of
+	 * the parameter on every invocation.
+	 */
+	@Benchmark
+	public void measureMethodWithParameterPathCapturing() {
+		timerHook.beforeBody(methodId, SENSOR_ID, TARGET, PARAMS, captureParameterPathRegisteredSensorConfig);
+		timerHook.firstAfterBody(methodId, SENSOR_ID, TARGET, PARAMS, RETURN_VALUE, false, captureParameterPathRegisteredSensorConfig);
+		timerHook.secondAfterBody(coreService, methodId, SENSOR_ID, TARGET, PARAMS, RETURN_VALUE, false, captureParameterPathRegisteredSensorConfig);
+	}
+
 	/**
 	 * Benchmarks the overhead time of measuring a method invocation with inspectIT.
 	 * <p>
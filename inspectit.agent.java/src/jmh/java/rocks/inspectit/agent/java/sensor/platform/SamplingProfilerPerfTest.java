@@ -0,0 +1,156 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import rocks.inspectit.agent.java.config.impl.PropertyAccessor;
+import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
+import rocks.inspectit.agent.java.sensor.method.AbstractHookPerfTest;
+import rocks.inspectit.agent.java.sensor.method.invocationsequence.InvocationSequenceHook;
+import rocks.inspectit.agent.java.util.Timer;
+
+/**
+ * Compares the application throughput of the same workload (a request calling a chain of nested
+ * methods that consume CPU) when not profiled, when profiled by the {@link SamplingProfiler} with
+ * 50 Hz and when each method of the workload is instrumented with the
+ * {@link InvocationSequenceHook}.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+@Fork(3)
+public class SamplingProfilerPerfTest extends AbstractHookPerfTest {
+
+	/**
+	 * Profiling mode.
+	 */
+	@Param({ "NONE", "SAMPLING", "INVOCATION_SEQUENCE" })
+	public String mode;
+
+	/**
+	 * Amount of nested methods the request calls.
+	 */
+	@Param({ "10" })
+	public int depth;
+
+	/**
+	 * CPU tokens each method consumes.
+	 */
+	@Param({ "100" })
+	public int tokens;
+
+	private SamplingProfiler samplingProfiler;
+
+	private ScheduledExecutorService samplingExecutor;
+
+	private InvocationSequenceHook invocationSequenceHook;
+
+	private RegisteredSensorConfig registeredSensorConfig;
+
+	private boolean instrumented;
+
+	@Override
+	@Setup(Level.Trial)
+	public void init(ThreadParams threadParams) throws NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
+		super.init(threadParams);
+
+		instrumented = "INVOCATION_SEQUENCE".equals(mode);
+		registeredSensorConfig = new RegisteredSensorConfig();
+		registeredSensorConfig.setSettings(Collections.<String, Object> emptyMap());
+		invocationSequenceHook = new InvocationSequenceHook(new Timer(), platformManager, coreService, new TracerImpl(), new PropertyAccessor(), new HashMap<String, Object>(), false);
+
+		if ("SAMPLING".equals(mode)) {
+			samplingProfiler = new SamplingProfiler();
+			samplingProfiler.configure(Collections.<String, Object> singletonMap("samplingRate", 50));
+			// same as the sampling profiler thread, name excludes it from sampling
+			samplingExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("inspectit-sampling-profiler-thread-%d").setDaemon(true).build());
+			samplingExecutor.scheduleAtFixedRate(new Runnable() {
+				@Override
+				public void run() {
+					samplingProfiler.sample();
+				}
+			}, 20, 20, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Simulates sending of the profile as the platform sensor refresher would do.
+	 */
+	@TearDown(Level.Iteration)
+	public void sendProfile() {
+		if (null != samplingProfiler) {
+			samplingProfiler.get();
+		}
+	}
+
+	@Override
+	@TearDown(Level.Trial)
+	public void cleanUp() throws Exception {
+		if (null != samplingExecutor) {
+			samplingExecutor.shutdownNow();
+			samplingExecutor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+		super.cleanUp();
+
+		invocationSequenceHook = null; // NOPMD
+		samplingProfiler = null; // NOPMD
+	}
+
+	@Benchmark
+	public void request() {
+		method(0);
+	}
+
+	/**
+	 * One method of the workload, when instrumented it's surrounded by the invocation sequence hook
+	 * calls as the instrumentation would do.
+	 *
+	 * @param level
+	 *            Nesting level.
+	 */
+	private void method(int level) {
+		if (instrumented) {
+			invocationSequenceHook.beforeBody(methodId + level, SENSOR_ID, TARGET, PARAMS, registeredSensorConfig);
+		}
+
+		Blackhole.consumeCPU(tokens);
+		if (level < depth) {
+			method(level + 1);
+		}
+
+		if (instrumented) {
+			invocationSequenceHook.firstAfterBody(methodId + level, SENSOR_ID, TARGET, PARAMS, RETURN_VALUE, false, registeredSensorConfig);
+			invocationSequenceHook.secondAfterBody(coreService, methodId + level, SENSOR_ID, TARGET, PARAMS, RETURN_VALUE, false, registeredSensorConfig);
+		}
+	}
+
+}
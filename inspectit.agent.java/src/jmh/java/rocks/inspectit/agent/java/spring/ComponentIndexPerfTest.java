@@ -0,0 +1,64 @@
+package rocks.inspectit.agent.java.spring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * JMH Test for the agent startup, compares the registration of the agent components with the
+ * component scan and with the {@link ComponentIndex}. Each measurement is done once in a fresh
+ * JVM, as on the agent startup no class is loaded yet.
+ * <p>
+ * The time from the start of the agent initialization to the first instrumented class is logged
+ * by the agent on the startup.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(20)
+public class ComponentIndexPerfTest {
+
+	/**
+	 * Benchmarks the registration of the components with the component scan of the
+	 * <code>rocks.inspectit</code> package.
+	 *
+	 * @return Registered bean definitions count.
+	 */
+	@Benchmark
+	public int componentScan() {
+		GenericApplicationContext ctx = new GenericApplicationContext();
+		new AnnotatedBeanDefinitionReader(ctx).register(SpringConfiguration.class);
+		new ClassPathBeanDefinitionScanner(ctx).scan("rocks.inspectit");
+		return ctx.getBeanDefinitionCount();
+	}
+
+	/**
+	 * Benchmarks the registration of the components with the {@link ComponentIndex}.
+	 *
+	 * @return Registered bean definitions count.
+	 */
+	@Benchmark
+	public int componentIndex() {
+		GenericApplicationContext ctx = new GenericApplicationContext();
+		new AnnotatedBeanDefinitionReader(ctx).register(SpringConfiguration.class);
+		new ComponentIndex().registerBeanDefinitions(null, ctx);
+		return ctx.getBeanDefinitionCount();
+	}
+
+}
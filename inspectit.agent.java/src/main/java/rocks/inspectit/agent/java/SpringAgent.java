@@ -4,6 +4,9 @@ import java.io.File;
 import java.lang.instrument.Instrumentation;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +18,7 @@ import rocks.inspectit.agent.java.analyzer.IByteCodeAnalyzer;
 import rocks.inspectit.agent.java.analyzer.impl.ClassHashHelper;
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
 import rocks.inspectit.agent.java.config.StorageException;
+import rocks.inspectit.agent.java.core.IDeferredStartup;
 import rocks.inspectit.agent.java.hooking.IHookDispatcher;
 import rocks.inspectit.agent.java.instrumentation.IInstrumentationAware;
 import rocks.inspectit.agent.java.logback.LogInitializer;
@@ -38,6 +42,11 @@ import rocks.inspectit.shared.all.util.UnderlyingSystemInfo.JvmProvider;
  * <p>
  * This class is named <b>Spring</b>Agent as its using the Spring to handle the different components
  * in the Agent.
+ * <p>
+ * Components implementing the {@link IDeferredStartup} are started after the first class has been
+ * handled by the agent, or latest {@link #DEFERRED_STARTUP_DELAY} seconds after the agent
+ * initialization. The time between the start of the agent initialization and the first
+ * instrumented class is logged.
  *
  * @author Patrice Bouillet
  *
@@ -49,6 +58,12 @@ public class SpringAgent implements IAgent {
 	 */
 	private static final Logger LOG = LoggerFactory.getLogger(SpringAgent.class);
 
+	/**
+	 * Delay in seconds after the agent initialization to start the deferred startups if no class
+	 * has been handled until then.
+	 */
+	private static final long DEFERRED_STARTUP_DELAY = 10L;
+
 	/**
 	 * inspectIT jar file.
 	 */
@@ -105,6 +120,31 @@ public class SpringAgent implements IAgent {
 	 */
 	private Boolean usingRetransformation = null;
 
+	/**
+	 * Time in nanoseconds when the agent initialization started.
+	 */
+	private final long startTime;
+
+	/**
+	 * If the first class has been instrumented.
+	 */
+	private final AtomicBoolean firstClassInstrumented = new AtomicBoolean(false);
+
+	/**
+	 * Components with the deferred startup.
+	 */
+	private Collection<IDeferredStartup> deferredStartups;
+
+	/**
+	 * Executor for running the deferred startups.
+	 */
+	private ScheduledExecutorService deferredStartupExecutor;
+
+	/**
+	 * If the deferred startups have been triggered.
+	 */
+	private final AtomicBoolean deferredStartupTriggered = new AtomicBoolean(false);
+
 	/**
 	 * Constructor initializing this agent.
 	 *
@@ -114,6 +154,7 @@ public class SpringAgent implements IAgent {
 	 *            The {@link Instrumentation} to use
 	 */
 	public SpringAgent(File inspectitJarFile, Instrumentation instrumentation) {
+		this.startTime = System.nanoTime();
 		this.instrumentation = instrumentation;
 
 		setInspectITJarFile(inspectitJarFile);
@@ -194,6 +235,16 @@ public class SpringAgent implements IAgent {
 			for (IInstrumentationAware instrumentationAwareBean : instrumentationAwareBeans.values()) {
 				instrumentationAwareBean.setInstrumentation(instrumentation);
 			}
+
+			// non-essential services are started after first classes are handled
+			deferredStartups = ctx.getBeansOfType(IDeferredStartup.class).values();
+			deferredStartupExecutor = ctx.getBean("coreServiceExecutorService", ScheduledExecutorService.class);
+			deferredStartupExecutor.schedule(new Runnable() {
+				@Override
+				public void run() {
+					triggerDeferredStartup();
+				}
+			}, DEFERRED_STARTUP_DELAY, TimeUnit.SECONDS);
 		} catch (Throwable throwable) { // NOPMD
 			disableInstrumentation = true;
 			LOG.error("inspectIT agent initialization failed. Agent will not be active.", throwable);
@@ -231,6 +282,14 @@ public class SpringAgent implements IAgent {
 			threadTransformHelper.setThreadTransformDisabled(true);
 
 			byte[] instrumentedByteCode = byteCodeAnalyzer.analyzeAndInstrument(byteCode, className, classLoader);
+
+			if ((null != instrumentedByteCode) && !firstClassInstrumented.get() && firstClassInstrumented.compareAndSet(false, true) && LOG.isInfoEnabled()) {
+				LOG.info("First class " + className + " instrumented " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms after the start of the agent initialization.");
+			}
+			if (!deferredStartupTriggered.get()) {
+				triggerDeferredStartup();
+			}
+
 			return instrumentedByteCode;
 		} catch (Throwable throwable) { // NOPMD
 			LOG.error("Something unexpected happened while trying to analyze or instrument the bytecode with the class name: " + className, throwable);
@@ -241,6 +300,33 @@ public class SpringAgent implements IAgent {
 		}
 	}
 
+	/**
+	 * Starts the {@link #deferredStartups} in the {@link #deferredStartupExecutor} if this has not
+	 * been already done.
+	 */
+	private void triggerDeferredStartup() {
+		if ((null == deferredStartupExecutor) || !deferredStartupTriggered.compareAndSet(false, true)) {
+			return;
+		}
+
+		deferredStartupExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				for (IDeferredStartup deferredStartup : deferredStartups) {
+					try {
+						deferredStartup.deferredStartup();
+					} catch (Exception e) {
+						LOG.warn("Deferred startup of the " + deferredStartup.getClass().getName() + " failed.", e);
+					}
+				}
+
+				if (LOG.isInfoEnabled()) {
+					LOG.info("Deferred startup finished " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms after the start of the agent initialization.");
+				}
+			}
+		});
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -6,10 +6,15 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import rocks.inspectit.agent.java.config.IPropertyAccessor;
 import rocks.inspectit.agent.java.config.PropertyAccessException;
 import rocks.inspectit.shared.all.communication.data.ParameterContentData;
@@ -21,6 +26,10 @@ import rocks.inspectit.shared.all.spring.logger.Log;
  * This class is used to programmatically build the path to access a specific method parameter or a
  * field of a class.
  *
+ * <p>
+ * Fields and methods are looked up only on the first access of a path in a class. Resolved
+ * accessors, including the ones for missing properties, are cached per class.
+ *
  * @author Patrice Bouillet
  * @author Stefan Siegl
  *
@@ -51,6 +60,12 @@ public class PropertyAccessor implements IPropertyAccessor {
 	 */
 	private static final String[] ALLOWED_METHODS = new String[] { "size", "length" };
 
+	/**
+	 * Resolved accessors per class and property path name. Classes are weakly referenced and the
+	 * accessors softly, so that the cache does not prevent class unloading.
+	 */
+	private final Cache<Class<?>, ConcurrentMap<String, IAccessor>> accessorCache = CacheBuilder.newBuilder().weakKeys().softValues().build();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -147,6 +162,49 @@ public class PropertyAccessor implements IPropertyAccessor {
 			c = object.getClass();
 		}
 
+		Object result = getAccessor(c, propertyPath).access(object);
+		return getPropertyContent(propertyPath.getPathToContinue(), result);
+	}
+
+	/**
+	 * Returns the cached accessor for the given class and path, resolving it if the path was not
+	 * accessed for this class before.
+	 *
+	 * @param c
+	 *            Class to access the property in.
+	 * @param propertyPath
+	 *            The path to access.
+	 * @return {@link IAccessor}, never <code>null</code>.
+	 */
+	private IAccessor getAccessor(Class<?> c, PropertyPath propertyPath) {
+		ConcurrentMap<String, IAccessor> classAccessors = accessorCache.getIfPresent(c);
+		if (null == classAccessors) {
+			classAccessors = new ConcurrentHashMap<String, IAccessor>();
+			ConcurrentMap<String, IAccessor> existing = accessorCache.asMap().putIfAbsent(c, classAccessors);
+			if (null != existing) {
+				classAccessors = existing;
+			}
+		}
+
+		IAccessor accessor = classAccessors.get(propertyPath.getName());
+		if (null == accessor) {
+			accessor = resolveAccessor(c, propertyPath);
+			classAccessors.put(propertyPath.getName(), accessor);
+		}
+		return accessor;
+	}
+
+	/**
+	 * Resolves the accessor for the given class and path. Failed resolving results in an accessor
+	 * that always throws the exception, so that the missing properties are also cached.
+	 *
+	 * @param c
+	 *            Class to access the property in.
+	 * @param propertyPath
+	 *            The path to access.
+	 * @return {@link IAccessor}, never <code>null</code>.
+	 */
+	private IAccessor resolveAccessor(Class<?> c, PropertyPath propertyPath) {
 		// We need to differ between calls of methods and the navigation of
 		// properties of an object. This differentiation is integrated to
 		// force the user to add () to the method to be called, thus the
@@ -159,28 +217,28 @@ public class PropertyAccessor implements IPropertyAccessor {
 
 			// check if this method may be called
 			if (!isAcceptedMethod(methodName)) {
-				throw new PropertyAccessException("Method " + methodName + " MAY not be called!");
+				return new FailingAccessor("Method " + methodName + " MAY not be called!", null);
 			}
 
 			// special handling for the length method of Array objects
 			// Array objects do not inherit from the static Array class, thus
 			// trying to retrieve the method by reflection is not possible
 			if ("length".equals(methodName)) {
-				if (object.getClass().isArray()) { // ensure that we are really
-					// dealing with an array
-					return getPropertyContent(propertyPath.getPathToContinue(), Integer.valueOf(Array.getLength(object)));
+				if (c.isArray()) {
+					return ArrayLengthAccessor.INSTANCE;
 				} else {
 					log.error("Trying to access the lenght() method for a non array type");
-					throw new PropertyAccessException("Trying to access the length() method for a non array type");
+					return new FailingAccessor("Trying to access the length() method for a non array type", null);
 				}
 			}
 
+			Class<?> current = c;
 			do {
 				// we are iterating using getDeclaredMethods as this call will
 				// also provide the default access and protected methods which
 				// the
 				// call to getMethods() will not
-				Method[] methods = c.getDeclaredMethods();
+				Method[] methods = current.getDeclaredMethods();
 				for (Method method : methods) {
 					if (methodName.equals(method.getName())) {
 
@@ -193,54 +251,35 @@ public class PropertyAccessor implements IPropertyAccessor {
 							continue;
 						}
 
-						try {
-							Object result = method.invoke(object, (Object[]) null);
-							return getPropertyContent(propertyPath.getPathToContinue(), result);
-						} catch (IllegalArgumentException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("Illegal Argument Exception!", e);
-						} catch (IllegalAccessException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("IllegalAccessException!", e);
-						} catch (InvocationTargetException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("InvocationTargetException!", e);
-						}
-
+						return new MethodAccessor(method);
 					}
 				}
 
-				c = c.getSuperclass();
-			} while (c != Object.class);
+				current = current.getSuperclass();
+			} while ((null != current) && (current != Object.class));
 
 		} else { // We are dealing with a property navigation and not an method
 			// call
+			Class<?> current = c;
 			do {
-				Field[] fields = c.getDeclaredFields();
+				Field[] fields = current.getDeclaredFields();
 				for (Field field : fields) {
 					if (propertyPath.getName().equals(field.getName())) {
 						try {
 							field.setAccessible(true);
-							Object fieldObject = field.get(object);
-							return getPropertyContent(propertyPath.getPathToContinue(), fieldObject);
+							return new FieldAccessor(field);
 						} catch (SecurityException e) {
 							log.error(e.getMessage());
-							throw new PropertyAccessException("Security Exception was thrown while accessing a field!", e);
-						} catch (IllegalArgumentException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("Illegal Argument Exception!", e);
-						} catch (IllegalAccessException e) {
-							log.error(e.getMessage());
-							throw new PropertyAccessException("Illegal Access Exception!", e);
+							return new FailingAccessor("Security Exception was thrown while accessing a field!", e);
 						}
 					}
 				}
 
-				c = c.getSuperclass();
-			} while (c != Object.class);
+				current = current.getSuperclass();
+			} while ((null != current) && (current != Object.class));
 		}
 
-		throw new PropertyAccessException("Property or method " + propertyPath.getName() + " cannot be found in class " + object.getClass() + "!");
+		return new FailingAccessor("Property or method " + propertyPath.getName() + " cannot be found in class " + c + "!", null);
 	}
 
 	/**
@@ -274,4 +313,157 @@ public class PropertyAccessor implements IPropertyAccessor {
 		return parameterContentData;
 	}
 
+	/**
+	 * Resolved access to one property of a class.
+	 */
+	private interface IAccessor {
+
+		/**
+		 * Accesses the property of the given object.
+		 *
+		 * @param object
+		 *            Object to access property in.
+		 * @return Value of the property.
+		 * @throws PropertyAccessException
+		 *             If property can not be accessed.
+		 */
+		Object access(Object object) throws PropertyAccessException;
+	}
+
+	/**
+	 * Accessor reading the field value.
+	 */
+	private class FieldAccessor implements IAccessor {
+
+		/**
+		 * Accessible field.
+		 */
+		private final Field field;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param field
+		 *            Accessible field.
+		 */
+		FieldAccessor(Field field) {
+			this.field = field;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object access(Object object) throws PropertyAccessException {
+			try {
+				return field.get(object);
+			} catch (IllegalArgumentException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("Illegal Argument Exception!", e);
+			} catch (IllegalAccessException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("Illegal Access Exception!", e);
+			}
+		}
+	}
+
+	/**
+	 * Accessor invoking the no-argument method.
+	 */
+	private class MethodAccessor implements IAccessor {
+
+		/**
+		 * Method to invoke.
+		 */
+		private final Method method;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param method
+		 *            Method to invoke.
+		 */
+		MethodAccessor(Method method) {
+			this.method = method;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object access(Object object) throws PropertyAccessException {
+			try {
+				return method.invoke(object, (Object[]) null);
+			} catch (IllegalArgumentException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("Illegal Argument Exception!", e);
+			} catch (IllegalAccessException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("IllegalAccessException!", e);
+			} catch (InvocationTargetException e) {
+				log.error(e.getMessage());
+				throw new PropertyAccessException("InvocationTargetException!", e);
+			}
+		}
+	}
+
+	/**
+	 * Accessor returning the length of an array.
+	 */
+	private static final class ArrayLengthAccessor implements IAccessor {
+
+		/**
+		 * Stateless instance.
+		 */
+		static final ArrayLengthAccessor INSTANCE = new ArrayLengthAccessor();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object access(Object object) throws PropertyAccessException {
+			return Integer.valueOf(Array.getLength(object));
+		}
+	}
+
+	/**
+	 * Accessor for the property that could not be resolved. Always throws the exception.
+	 */
+	private static final class FailingAccessor implements IAccessor {
+
+		/**
+		 * Exception message.
+		 */
+		private final String message;
+
+		/**
+		 * Cause of the failed resolving, can be <code>null</code>.
+		 */
+		private final Throwable cause;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param message
+		 *            Exception message.
+		 * @param cause
+		 *            Cause of the failed resolving, can be <code>null</code>.
+		 */
+		FailingAccessor(String message, Throwable cause) {
+			this.message = message;
+			this.cause = cause;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object access(Object object) throws PropertyAccessException {
+			if (null != cause) {
+				throw new PropertyAccessException(message, cause);
+			}
+			throw new PropertyAccessException(message);
+		}
+	}
+
 }
@@ -138,6 +138,38 @@ public interface IConnection {
 	 */
 	void instrumentationApplied(long platformIdent, Map<Long, long[]> methodToSensorMap) throws ServerUnavailableException;
 
+	/**
+	 * Registers the SQL texts of the agent SQL statement dictionary with the CMR. The call returns
+	 * when the CMR registered the texts, thus the data sent afterwards can carry only the SQL id.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param sqlStatements
+	 *            SQL texts mapped by the SQL id.
+	 * @return Ids of the SQL texts that have to be registered again, because the CMR could not
+	 *         resolve the statements carrying only these ids.
+	 * @throws ServerUnavailableException
+	 *             If server to send the request to is unavailable or the texts could not be
+	 *             registered.
+	 */
+	Collection<Long> registerSqlStatements(long platformIdent, Map<Long, String> sqlStatements) throws ServerUnavailableException;
+
+	/**
+	 * Registers the exception stack traces with the CMR. The call returns when the CMR registered
+	 * the stack traces, thus the data sent afterwards can carry only the stack trace fingerprint.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param stackTraces
+	 *            Stack traces mapped by the fingerprint.
+	 * @return Fingerprints of the stack traces that have to be registered again, because the CMR
+	 *         could not resolve the exceptions carrying only these fingerprints.
+	 * @throws ServerUnavailableException
+	 *             If server to send the request to is unavailable or the stack traces could not be
+	 *             registered.
+	 */
+	Collection<Long> registerStackTraces(long platformIdent, Map<Long, String> stackTraces) throws ServerUnavailableException;
+
 	/**
 	 * Sends the given {@link JmxAttributeDescriptor} to the CMR, returning the ones that will be
 	 * monitored, based on the current configuration on the server.
@@ -173,4 +205,13 @@ public interface IConnection {
 	 * @return {@link Object} which acts as monitor
 	 */
 	Object getReconnectionMonitor();
+
+	/**
+	 * Returns how many times the connection to the server has been successfully established,
+	 * including the reconnects. Can be used to detect that the server side state bound to the
+	 * connection might have been lost.
+	 *
+	 * @return Number of successfully established connections.
+	 */
+	int getConnectionCount();
 }
@@ -12,6 +12,7 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections.MapUtils;
 import org.slf4j.Logger;
@@ -24,6 +25,7 @@ import rocks.inspectit.agent.java.connection.FailFastRemoteMethodCall;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.RegistrationException;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
 import rocks.inspectit.shared.all.cmr.service.IAgentService;
 import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
@@ -61,6 +63,12 @@ public class KryoNetConnection implements IConnection {
 	@Autowired
 	private Client client;
 
+	/**
+	 * Telemetry for reporting the batch sizes, enqueue times and bytes sent.
+	 */
+	@Autowired
+	private AgentTelemetry agentTelemetry;
+
 	/**
 	 * The agent storage remote object which will be used to send the measurements to.
 	 */
@@ -92,6 +100,11 @@ public class KryoNetConnection implements IConnection {
 	 */
 	private final Object reconnectionMonitor = new Object();
 
+	/**
+	 * Number of successfully established connections, including reconnects.
+	 */
+	private final AtomicInteger connectionCount = new AtomicInteger();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -104,6 +117,7 @@ public class KryoNetConnection implements IConnection {
 				}
 
 				startClient(host, port);
+				connectionCount.incrementAndGet();
 
 				log.info("KryoNet: Connection established!");
 				connectionException = false;
@@ -131,6 +145,7 @@ public class KryoNetConnection implements IConnection {
 		if ((null != client) && !isConnected()) {
 			try {
 				reconnectClient();
+				connectionCount.incrementAndGet();
 
 				log.info("KryoNet: Reconnection successful!");
 				connectionException = false;
@@ -360,9 +375,13 @@ public class KryoNetConnection implements IConnection {
 		}
 
 		if ((null != measurements) && !measurements.isEmpty()) {
+			long bytesSent = client.getTcpBytesSent();
+			long start = System.nanoTime();
 			try {
 				AddDataObjects remote = new AddDataObjects(agentStorageService, measurements);
+				// non-blocking call, measures only the serialization and enqueueing of the data
 				remote.makeCall();
+				agentTelemetry.dataSent(measurements.size(), System.nanoTime() - start, client.getTcpBytesSent() - bytesSent);
 			} catch (ExecutionException executionException) {
 				// there should be no execution exception
 				log.error("Could not send data objects", executionException);
@@ -441,6 +460,66 @@ public class KryoNetConnection implements IConnection {
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<Long> registerStackTraces(final long platformIdent, final Map<Long, String> stackTraces) throws ServerUnavailableException {
+		if (!isConnected()) {
+			throw new ServerUnavailableException();
+		}
+
+		// make call
+		FailFastRemoteMethodCall<IAgentService, Collection<Long>> call = new FailFastRemoteMethodCall<IAgentService, Collection<Long>>(agentService) {
+			@Override
+			protected Collection<Long> performRemoteCall(IAgentService service) throws Exception {
+				return service.registerStackTraces(platformIdent, stackTraces);
+			}
+		};
+
+		try {
+			return call.makeCall();
+		} catch (ExecutionException executionException) {
+			log.error("Could not register stack traces", executionException);
+			throw new ServerUnavailableException(); // NOPMD
+		} catch (ServerUnavailableException e) {
+			if (!e.isServerTimeout()) {
+				disconnectClient();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<Long> registerSqlStatements(final long platformIdent, final Map<Long, String> sqlStatements) throws ServerUnavailableException {
+		if (!isConnected()) {
+			throw new ServerUnavailableException();
+		}
+
+		// make call
+		FailFastRemoteMethodCall<IAgentService, Collection<Long>> call = new FailFastRemoteMethodCall<IAgentService, Collection<Long>>(agentService) {
+			@Override
+			protected Collection<Long> performRemoteCall(IAgentService service) throws Exception {
+				return service.registerSqlStatements(platformIdent, sqlStatements);
+			}
+		};
+
+		try {
+			return call.makeCall();
+		} catch (ExecutionException executionException) {
+			log.error("Could not register SQL statements", executionException);
+			throw new ServerUnavailableException(); // NOPMD
+		} catch (ServerUnavailableException e) {
+			if (!e.isServerTimeout()) {
+				disconnectClient();
+			}
+			throw e;
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -551,4 +630,12 @@ public class KryoNetConnection implements IConnection {
 	public Object getReconnectionMonitor() {
 		return reconnectionMonitor;
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getConnectionCount() {
+		return connectionCount.get();
+	}
 }
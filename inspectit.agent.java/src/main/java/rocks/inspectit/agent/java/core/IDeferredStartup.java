@@ -0,0 +1,21 @@
+package rocks.inspectit.agent.java.core;
+
+/**
+ * Components implementing this interface have parts of their startup that are not needed for the
+ * instrumentation of the classes. These parts are started after the agent handled the first class
+ * definitions, so that the application startup is not delayed by them.
+ *
+ * @author agent
+ *
+ */
+public interface IDeferredStartup {
+
+	/**
+	 * Starts the deferred part of the component. Called only once, outside of the thread that
+	 * defines the classes.
+	 *
+	 * @throws Exception
+	 *             If start fails.
+	 */
+	void deferredStartup() throws Exception;
+}
@@ -0,0 +1,197 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Base class for the components that remove the repeating texts from the data that is about to be
+ * sent to the CMR, leaving only the id of the text in the data.
+ * <p>
+ * The texts that are not yet known to the CMR are registered with a blocking call before the data
+ * is sent, so the CMR knows the text before it receives any data carrying only the id. The text is
+ * removed from the data only if the registration of its id succeeded over the current connection,
+ * otherwise the data is sent with the full text. The texts are registered again after the
+ * reconnection to the CMR and after the {@link #REGISTRATION_INTERVAL}. The CMR also returns the
+ * ids it could not resolve with every registration, these are registered again the next time the
+ * data carries their text.
+ * <p>
+ * This class is not thread safe and is expected to be called only by the single data sending
+ * thread.
+ *
+ * @param <E>
+ *            Type of the elements holding the text and the id.
+ * @author agent
+ *
+ */
+public abstract class AbstractTextDeduplicator<E> {
+
+	/**
+	 * Interval in milliseconds after which the text is registered again. The CMR keeps the texts
+	 * for twice that time, thus the interval must not be raised without changing the CMR.
+	 */
+	static final long REGISTRATION_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+
+	/**
+	 * Maximum amount of ids to remember. The CMR keeps twice as many texts per agent, thus the
+	 * amount must not be raised without changing the CMR.
+	 */
+	private static final int MAXIMUM_SIZE = 10000;
+
+	/**
+	 * The logger of the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * The connection to the Central Measurement Repository.
+	 */
+	@Autowired
+	IConnection connection;
+
+	/**
+	 * Platform manager for the platform id.
+	 */
+	@Autowired
+	IPlatformManager platformManager;
+
+	/**
+	 * Ids registered with the CMR over the current connection.
+	 */
+	private final Cache<Long, Boolean> registeredIds = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).expireAfterWrite(REGISTRATION_INTERVAL, TimeUnit.MILLISECONDS).build();
+
+	/**
+	 * Connection count for which the {@link #registeredIds} are valid.
+	 */
+	private int connectionCount = -1;
+
+	/**
+	 * Registers the not yet registered texts of the data in the given list with the CMR and
+	 * removes the registered texts from the data.
+	 *
+	 * @param defaultDatas
+	 *            Data to be sent to the CMR.
+	 */
+	public void deduplicate(List<? extends DefaultData> defaultDatas) {
+		int currentConnectionCount = connection.getConnectionCount();
+		if (currentConnectionCount != connectionCount) {
+			registeredIds.invalidateAll();
+			connectionCount = currentConnectionCount;
+		}
+
+		List<E> elements = new ArrayList<E>();
+		for (DefaultData defaultData : defaultDatas) {
+			collect(defaultData, elements);
+		}
+		if (elements.isEmpty()) {
+			return;
+		}
+
+		Map<Long, String> unregisteredTexts = new HashMap<Long, String>();
+		for (E element : elements) {
+			long id = getId(element);
+			String text = getText(element);
+			if ((0L != id) && (null != text) && !isRegistered(id)) {
+				unregisteredTexts.put(Long.valueOf(id), text);
+			}
+		}
+
+		if (!unregisteredTexts.isEmpty()) {
+			try {
+				Collection<Long> unknownIds = register(platformManager.getPlatformId(), unregisteredTexts);
+				for (Long id : unregisteredTexts.keySet()) {
+					registeredIds.put(id, Boolean.TRUE);
+				}
+				registeredIds.invalidateAll(unknownIds);
+			} catch (ServerUnavailableException e) {
+				if (log.isDebugEnabled()) {
+					log.debug("Texts could not be registered with the CMR, data will be sent with the full texts.", e);
+				}
+			}
+		}
+
+		for (E element : elements) {
+			long id = getId(element);
+			if ((0L != id) && isRegistered(id)) {
+				removeText(element);
+			}
+		}
+	}
+
+	/**
+	 * Returns if the id is registered with the CMR.
+	 *
+	 * @param id
+	 *            Id of the text.
+	 * @return If the id is registered with the CMR.
+	 */
+	private boolean isRegistered(long id) {
+		return null != registeredIds.getIfPresent(Long.valueOf(id));
+	}
+
+	/**
+	 * Adds the elements contained in the data to the given list.
+	 *
+	 * @param defaultData
+	 *            Data to be sent to the CMR.
+	 * @param elements
+	 *            List to add the elements to.
+	 */
+	protected abstract void collect(DefaultData defaultData, List<E> elements);
+
+	/**
+	 * Returns the id of the text of the element, <code>0</code> if the element has no id.
+	 *
+	 * @param element
+	 *            Element.
+	 * @return Id of the text.
+	 */
+	protected abstract long getId(E element);
+
+	/**
+	 * Returns the text of the element.
+	 *
+	 * @param element
+	 *            Element.
+	 * @return Text or <code>null</code> if the element carries no text.
+	 */
+	protected abstract String getText(E element);
+
+	/**
+	 * Removes the text from the element.
+	 *
+	 * @param element
+	 *            Element.
+	 */
+	protected abstract void removeText(E element);
+
+	/**
+	 * Registers the texts with the CMR. Must return only after the CMR registered the texts.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param texts
+	 *            Texts mapped by the id.
+	 * @return Ids that the CMR could not resolve and have to be registered again.
+	 * @throws ServerUnavailableException
+	 *             If the texts could not be registered.
+	 */
+	protected abstract Collection<Long> register(long platformIdent, Map<Long, String> texts) throws ServerUnavailableException;
+
+}
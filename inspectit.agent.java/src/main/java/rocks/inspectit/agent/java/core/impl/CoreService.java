@@ -26,10 +26,12 @@ import com.lmax.disruptor.dsl.ProducerType;
 
 import rocks.inspectit.agent.java.config.StorageException;
 import rocks.inspectit.agent.java.core.ICoreService;
+import rocks.inspectit.agent.java.core.IDeferredStartup;
 import rocks.inspectit.agent.java.core.disruptor.IDisruptorStrategy;
 import rocks.inspectit.agent.java.sensor.jmx.IJmxSensor;
 import rocks.inspectit.agent.java.sensor.platform.IPlatformSensor;
 import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.SystemSensorData;
 import rocks.inspectit.shared.all.spring.logger.Log;
@@ -48,7 +50,7 @@ import rocks.inspectit.shared.all.util.ExecutorServiceUtils;
 // must depend on platform manager so that configuration is received
 @Component
 @DependsOn({ "platformManager" })
-public class CoreService implements ICoreService {
+public class CoreService implements ICoreService, IDeferredStartup {
 
 	/**
 	 * The default refresh time.
@@ -98,6 +100,12 @@ public class CoreService implements ICoreService {
 	@Autowired
 	private AgentStatisticsLogger statsLogger;
 
+	/**
+	 * Telemetry for reporting the ring buffer occupancy.
+	 */
+	@Autowired
+	private AgentTelemetry agentTelemetry;
+
 	/**
 	 * Instance to the {@link Disruptor} where data for sending will be stored.
 	 */
@@ -141,6 +149,7 @@ public class CoreService implements ICoreService {
 		} catch (InsufficientCapacityException e) {
 			// pass the dropped count
 			statsLogger.dataDropped(1);
+			agentTelemetry.ringBufferFull();
 		}
 	}
 
@@ -155,7 +164,15 @@ public class CoreService implements ICoreService {
 		} catch (Exception e) {
 			throw new BeanInitializationException("Can not initialize disruptor.", e);
 		}
+	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Schedules the refreshing of the platform and JMX sensors.
+	 */
+	@Override
+	public void deferredStartup() {
 		// schedule the sensor refresher runnable
 		executorService.scheduleWithFixedDelay(new SensorRefresher(), sensorRefreshTime, sensorRefreshTime, TimeUnit.MILLISECONDS);
 	}
@@ -240,6 +257,12 @@ public class CoreService implements ICoreService {
 		@Override
 		public void run() {
 			try {
+				// record the ring buffer occupancy before the platform sensors are gathered
+				if (null != ringBuffer) {
+					int bufferSize = ringBuffer.getBufferSize();
+					agentTelemetry.ringBufferOccupancy((int) (bufferSize - ringBuffer.remainingCapacity()), bufferSize);
+				}
+
 				// iterate the platformSensors and update the information
 				if (CollectionUtils.isNotEmpty(platformSensors)) {
 					count++;
@@ -13,6 +13,8 @@ import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.spring.logger.Log;
 
 /**
@@ -25,6 +27,12 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 @Component
 public class DefaultDataHandler implements EventHandler<DefaultDataWrapper> {
 
+	/**
+	 * Minimum amount of children an invocation sequence needs to have to be sent in the compact
+	 * form. Smaller sequences are sent as they are, as the gain would be negligible.
+	 */
+	static final long COMPACT_CHILD_COUNT_THRESHOLD = 64;
+
 	/**
 	 * The logger of the class.
 	 */
@@ -43,6 +51,18 @@ public class DefaultDataHandler implements EventHandler<DefaultDataWrapper> {
 	@Autowired
 	private AgentStatisticsLogger statsLogger;
 
+	/**
+	 * Removes the already sent stack traces from the exception data.
+	 */
+	@Autowired
+	private ExceptionStackTraceDeduplicator exceptionStackTraceDeduplicator;
+
+	/**
+	 * Removes the already sent SQL texts from the SQL data.
+	 */
+	@Autowired
+	private SqlStatementDeduplicator sqlStatementDeduplicator;
+
 	/**
 	 * List where data is collected and then passed to the connection.
 	 */
@@ -64,6 +84,9 @@ public class DefaultDataHandler implements EventHandler<DefaultDataWrapper> {
 		if (endOfBatch) {
 			try {
 				if (connection.isConnected()) {
+					exceptionStackTraceDeduplicator.deduplicate(defaultDatas);
+					sqlStatementDeduplicator.deduplicate(defaultDatas);
+					compactInvocationSequences(defaultDatas);
 					connection.sendDataObjects(defaultDatas);
 					sendingExceptionNotice = false;
 				} else {
@@ -84,4 +107,23 @@ public class DefaultDataHandler implements EventHandler<DefaultDataWrapper> {
 		}
 	}
 
+	/**
+	 * Replaces the large invocation sequences in the given list with their
+	 * {@link CompactInvocationSequenceData} wire format, so that they are serialized as columnar
+	 * arrays. This is done on the sending thread, so that the application threads completing the
+	 * invocations don't pay for the conversion. The CMR expands them back to the object model on
+	 * receipt.
+	 *
+	 * @param defaultDatas
+	 *            Data to be sent to the CMR.
+	 */
+	private void compactInvocationSequences(List<DefaultData> defaultDatas) {
+		for (int i = 0; i < defaultDatas.size(); i++) {
+			DefaultData defaultData = defaultDatas.get(i);
+			if ((defaultData instanceof InvocationSequenceData) && (((InvocationSequenceData) defaultData).getChildCount() >= COMPACT_CHILD_COUNT_THRESHOLD)) {
+				defaultDatas.set(i, CompactInvocationSequenceData.compact((InvocationSequenceData) defaultData));
+			}
+		}
+	}
+
 }
\ No newline at end of file
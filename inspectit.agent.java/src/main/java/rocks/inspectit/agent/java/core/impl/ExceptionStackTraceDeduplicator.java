@@ -0,0 +1,93 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+
+/**
+ * Removes the stack trace text from the {@link ExceptionSensorData} objects that are about to be
+ * sent to the CMR if the stack trace with the same fingerprint has been registered with the CMR
+ * over the current connection. The CMR resolves the stack trace text based on the fingerprint.
+ * <p>
+ * Invocation sequences are processed recursively.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class ExceptionStackTraceDeduplicator extends AbstractTextDeduplicator<ExceptionSensorData> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void collect(DefaultData defaultData, List<ExceptionSensorData> elements) {
+		if (defaultData instanceof ExceptionSensorData) {
+			elements.add((ExceptionSensorData) defaultData);
+		} else if (defaultData instanceof InvocationSequenceData) {
+			collect((InvocationSequenceData) defaultData, elements);
+		}
+	}
+
+	/**
+	 * Collects the exception data of the invocation and all its nested invocations.
+	 *
+	 * @param invocationSequenceData
+	 *            Invocation to process.
+	 * @param elements
+	 *            List to add the exception data to.
+	 */
+	private void collect(InvocationSequenceData invocationSequenceData, List<ExceptionSensorData> elements) {
+		List<ExceptionSensorData> exceptionSensorDataObjects = invocationSequenceData.getExceptionSensorDataObjects();
+		if (null != exceptionSensorDataObjects) {
+			elements.addAll(exceptionSensorDataObjects);
+		}
+
+		List<InvocationSequenceData> nestedSequences = invocationSequenceData.getNestedSequences();
+		if (null != nestedSequences) {
+			for (InvocationSequenceData nested : nestedSequences) {
+				collect(nested, elements);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected long getId(ExceptionSensorData element) {
+		return element.getStackTraceFingerprint();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String getText(ExceptionSensorData element) {
+		return element.getStackTrace();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void removeText(ExceptionSensorData element) {
+		element.setStackTrace(null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Collection<Long> register(long platformIdent, Map<Long, String> texts) throws ServerUnavailableException {
+		return connection.registerStackTraces(platformIdent, texts);
+	}
+
+}
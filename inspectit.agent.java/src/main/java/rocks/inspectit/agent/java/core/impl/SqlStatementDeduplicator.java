@@ -0,0 +1,93 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+
+/**
+ * Removes the SQL text from the {@link SqlStatementData} objects that are about to be sent to the
+ * CMR if the SQL with the same dictionary id has been registered with the CMR over the current
+ * connection. The CMR resolves the SQL text based on the id.
+ * <p>
+ * Invocation sequences are processed recursively.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class SqlStatementDeduplicator extends AbstractTextDeduplicator<SqlStatementData> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void collect(DefaultData defaultData, List<SqlStatementData> elements) {
+		if (defaultData instanceof SqlStatementData) {
+			elements.add((SqlStatementData) defaultData);
+		} else if (defaultData instanceof InvocationSequenceData) {
+			collect((InvocationSequenceData) defaultData, elements);
+		}
+	}
+
+	/**
+	 * Collects the SQL data of the invocation and all its nested invocations.
+	 *
+	 * @param invocationSequenceData
+	 *            Invocation to process.
+	 * @param elements
+	 *            List to add the SQL data to.
+	 */
+	private void collect(InvocationSequenceData invocationSequenceData, List<SqlStatementData> elements) {
+		SqlStatementData sqlStatementData = invocationSequenceData.getSqlStatementData();
+		if (null != sqlStatementData) {
+			elements.add(sqlStatementData);
+		}
+
+		List<InvocationSequenceData> nestedSequences = invocationSequenceData.getNestedSequences();
+		if (null != nestedSequences) {
+			for (InvocationSequenceData nested : nestedSequences) {
+				collect(nested, elements);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected long getId(SqlStatementData element) {
+		return element.getSqlId();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String getText(SqlStatementData element) {
+		return element.getSql();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void removeText(SqlStatementData element) {
+		element.setSql(null);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected Collection<Long> register(long platformIdent, Map<Long, String> texts) throws ServerUnavailableException {
+		return connection.registerSqlStatements(platformIdent, texts);
+	}
+
+}
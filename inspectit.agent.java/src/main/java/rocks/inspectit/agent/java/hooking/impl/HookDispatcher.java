@@ -18,6 +18,7 @@ import rocks.inspectit.agent.java.sensor.exception.ExceptionSensor;
 import rocks.inspectit.agent.java.sensor.exception.IExceptionSensorHook;
 import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.agent.java.sensor.method.invocationsequence.InvocationSequenceSensor;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
 import rocks.inspectit.shared.all.instrumentation.config.impl.MethodSensorTypeConfig;
 import rocks.inspectit.shared.all.spring.logger.Log;
 
@@ -56,6 +57,12 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 	@Autowired
 	private ExceptionSensor exceptionSensor;
 
+	/**
+	 * Telemetry for reporting the time spent in the hooks.
+	 */
+	@Autowired
+	private AgentTelemetry agentTelemetry;
+
 	/**
 	 * Contains all hooks. Using concurrent map as we need to enable thread-safety of
 	 * {@link #addMapping(long, RegisteredSensorConfig)}.
@@ -117,6 +124,7 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
+					boolean sampled = agentTelemetry.isHookDispatchSampled();
 
 					if (rsc.isStartsInvocation()) {
 						// The sensor configuration contains an invocation sequence
@@ -144,7 +152,12 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 					// reverse execution (sensor with lowest priority first)
 					for (IMethodSensor methodSensor : rsc.getMethodSensorsReverse()) {
 						IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-						methodHook.beforeBody(id, methodSensor.getSensorTypeConfig().getId(), object, parameters, rsc);
+						long sensorTypeId = methodSensor.getSensorTypeConfig().getId();
+						long start = sampled ? System.nanoTime() : 0L;
+						methodHook.beforeBody(id, sensorTypeId, object, parameters, rsc);
+						if (sampled) {
+							agentTelemetry.hookExecuted(sensorTypeId, System.nanoTime() - start);
+						}
 					}
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (before body)", throwable);
@@ -166,12 +179,18 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
+					boolean sampled = agentTelemetry.isHookDispatchSampled();
 
 					// Now iterate over all registered sensor types and execute them
 					// normal execution (sensor with highest priority first)
 					for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
 						IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-						methodHook.firstAfterBody(id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, exception, rsc);
+						long sensorTypeId = methodSensor.getSensorTypeConfig().getId();
+						long start = sampled ? System.nanoTime() : 0L;
+						methodHook.firstAfterBody(id, sensorTypeId, object, parameters, returnValue, exception, rsc);
+						if (sampled) {
+							agentTelemetry.hookExecuted(sensorTypeId, System.nanoTime() - start);
+						}
 					}
 				} catch (Throwable throwable) { // NOPMD
 					log.error("An error happened in the Hook Dispatcher! (after body)", throwable);
@@ -193,6 +212,7 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 
 				try {
 					RegisteredSensorConfig rsc = mappings.get(id);
+					boolean sampled = agentTelemetry.isHookDispatchSampled();
 
 					if (null != invocationSequenceHolder.get()) {
 						// Need to replace the core service with the one from the invocation
@@ -206,16 +226,25 @@ public class HookDispatcher implements IHookDispatcherMapper, IHookDispatcher {
 							IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
 							// the invocation sequence sensor needs the original core service!
 							long sensorId = methodSensor.getSensorTypeConfig().getId();
+							long start = sampled ? System.nanoTime() : 0L;
 							if (invocCoreService == methodHook) { // NOPMD
 								methodHook.secondAfterBody(coreService, id, sensorId, object, parameters, returnValue, exception, rsc);
 							} else {
 								methodHook.secondAfterBody(invocCoreService, id, sensorId, object, parameters, returnValue, exception, rsc);
 							}
+							if (sampled) {
+								agentTelemetry.hookExecuted(sensorId, System.nanoTime() - start);
+							}
 						}
 					} else {
 						for (IMethodSensor methodSensor : rsc.getMethodSensors()) {
 							IMethodHook methodHook = (IMethodHook) methodSensor.getHook();
-							methodHook.secondAfterBody(coreService, id, methodSensor.getSensorTypeConfig().getId(), object, parameters, returnValue, exception, rsc);
+							long sensorId = methodSensor.getSensorTypeConfig().getId();
+							long start = sampled ? System.nanoTime() : 0L;
+							methodHook.secondAfterBody(coreService, id, sensorId, object, parameters, returnValue, exception, rsc);
+							if (sampled) {
+								agentTelemetry.hookExecuted(sensorId, System.nanoTime() - start);
+							}
 						}
 					}
 
@@ -3,9 +3,12 @@ package rocks.inspectit.agent.java.instrumentation;
 import java.lang.instrument.Instrumentation;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
@@ -19,6 +22,7 @@ import rocks.inspectit.agent.java.Agent;
 import rocks.inspectit.agent.java.IThreadTransformHelper;
 import rocks.inspectit.agent.java.analyzer.impl.ClassHashHelper;
 import rocks.inspectit.agent.java.event.AgentMessagesReceivedEvent;
+import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
 import rocks.inspectit.agent.java.util.ClassUtil;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.communication.message.UpdatedInstrumentationMessage;
@@ -28,6 +32,12 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 /**
  * Handles incoming {@link UpdatedInstrumentationMessage}s and triggers a retransformation if
  * necessary.
+ * <p>
+ * Classes are retransformed in chunks, as each retransformation call stops the JVM at a safepoint
+ * for the time needed to transform all the given classes. Between two chunks the manager waits at
+ * least the configured delay or as long as the chunks took on average, thus the retransformation
+ * blocks the application for at most about half of the time. The chunk size and delay can be set with the
+ * {@value #CHUNK_SIZE_PROPERTY} and {@value #CHUNK_DELAY_PROPERTY} system properties.
  *
  * @author Marius Oehler
  *
@@ -35,6 +45,26 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 @Component
 public class RetransformManager implements ApplicationListener<AgentMessagesReceivedEvent>, IInstrumentationAware {
 
+	/**
+	 * System property defining the maximum amount of classes retransformed with one call.
+	 */
+	static final String CHUNK_SIZE_PROPERTY = "inspectit.retransform.chunkSize";
+
+	/**
+	 * System property defining the minimum delay in milliseconds between two chunks.
+	 */
+	static final String CHUNK_DELAY_PROPERTY = "inspectit.retransform.chunkDelay";
+
+	/**
+	 * Default chunk size.
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 50;
+
+	/**
+	 * Default delay between chunks in milliseconds.
+	 */
+	private static final long DEFAULT_CHUNK_DELAY = 100L;
+
 	/**
 	 * The logger for this class.
 	 */
@@ -58,6 +88,22 @@ public class RetransformManager implements ApplicationListener<AgentMessagesRece
 	@Autowired
 	private IThreadTransformHelper threadTransformHelper;
 
+	/**
+	 * Statistics logger for reporting the caused pauses.
+	 */
+	@Autowired
+	private AgentStatisticsLogger agentStatisticsLogger;
+
+	/**
+	 * Maximum amount of classes retransformed with one call.
+	 */
+	int chunkSize = Math.max(1, Integer.getInteger(CHUNK_SIZE_PROPERTY, DEFAULT_CHUNK_SIZE).intValue());
+
+	/**
+	 * Minimum delay in milliseconds between two chunks.
+	 */
+	long chunkDelay = Math.max(0L, Long.getLong(CHUNK_DELAY_PROPERTY, DEFAULT_CHUNK_DELAY).longValue());
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -149,10 +195,10 @@ public class RetransformManager implements ApplicationListener<AgentMessagesRece
 			log.info("Trying to retransform {} class(es)", instrumentationDefinitions.size());
 		}
 
-		Collection<Class<?>> classesToRetransform = new ArrayList<Class<?>>();
+		List<Class<?>> classesToRetransform = new ArrayList<Class<?>>();
 
 		// create map of instrumentation definitions (for fast look-up)
-		Map<String, InstrumentationDefinition> instrumentationDefinitionMap = new HashMap<String, InstrumentationDefinition>();
+		final Map<String, InstrumentationDefinition> instrumentationDefinitionMap = new HashMap<String, InstrumentationDefinition>();
 		for (InstrumentationDefinition definition : instrumentationDefinitions) {
 			instrumentationDefinitionMap.put(definition.getClassName(), definition);
 
@@ -194,20 +240,116 @@ public class RetransformManager implements ApplicationListener<AgentMessagesRece
 		}
 
 		if (CollectionUtils.isNotEmpty(classesToRetransform)) {
+			// classes getting instrumentation go before the ones losing it, the ones with more
+			// instrumented methods first, sort is stable so the load order is kept otherwise
+			Collections.sort(classesToRetransform, new Comparator<Class<?>>() {
+				@Override
+				public int compare(Class<?> o1, Class<?> o2) {
+					return getInstrumentedMethodCount(instrumentationDefinitionMap.get(o2.getName())) - getInstrumentedMethodCount(instrumentationDefinitionMap.get(o1.getName()));
+				}
+			});
+
+			long pauseNanos = 0;
+			int chunks = 0;
+			for (int i = 0; i < classesToRetransform.size(); i += chunkSize) {
+				List<Class<?>> chunk = classesToRetransform.subList(i, Math.min(i + chunkSize, classesToRetransform.size()));
+				if (chunks > 0) {
+					if (!waitBetweenChunks(TimeUnit.NANOSECONDS.toMillis(pauseNanos / chunks))) {
+						break;
+					}
+				}
+				pauseNanos += retransformChunk(chunk);
+				chunks++;
+			}
+
+			agentStatisticsLogger.retransformationPerformed(classesToRetransform.size(), pauseNanos);
+
+			if (log.isInfoEnabled()) {
+				log.info("|-Retransformation finished in {} chunk(s) with {} ms spent in retransformation.", chunks, TimeUnit.NANOSECONDS.toMillis(pauseNanos));
+			}
+		} else if (log.isInfoEnabled()) {
+			log.info("|-Retransformation finished.");
+		}
+	}
+
+	/**
+	 * Retransforms one chunk of classes. If retransformation of the chunk fails, the classes of
+	 * the chunk are retransformed one by one, so that one failing class does not prevent the
+	 * retransformation of the others.
+	 *
+	 * @param chunk
+	 *            Classes to retransform.
+	 * @return Time in nanoseconds spent in retransformation.
+	 */
+	private long retransformChunk(List<Class<?>> chunk) {
+		long start = System.nanoTime();
+		try {
+			threadTransformHelper.setThreadTransformDisabled(false);
 			try {
-				threadTransformHelper.setThreadTransformDisabled(false);
-				instrumentation.retransformClasses(classesToRetransform.toArray(new Class[classesToRetransform.size()]));
+				instrumentation.retransformClasses(chunk.toArray(new Class[chunk.size()]));
 			} catch (Exception e) {
-				if (log.isErrorEnabled()) {
-					log.error("Failed to triggering retransformation of loaded classes.", e);
+				if (chunk.size() == 1) {
+					if (log.isErrorEnabled()) {
+						log.error("Failed to triggering retransformation of loaded classes.", e);
+					}
+				} else {
+					if (log.isDebugEnabled()) {
+						log.debug("Failed to retransform the chunk of classes, retransforming one by one.", e);
+					}
+					for (Class<?> clazz : chunk) {
+						try {
+							instrumentation.retransformClasses(clazz);
+						} catch (Exception classException) {
+							if (log.isErrorEnabled()) {
+								log.error("Failed to triggering retransformation of the loaded class " + clazz.getName() + ".", classException);
+							}
+						}
+					}
 				}
-			} finally {
-				threadTransformHelper.setThreadTransformDisabled(true);
 			}
+		} finally {
+			threadTransformHelper.setThreadTransformDisabled(true);
 		}
+		return System.nanoTime() - start;
+	}
 
-		if (log.isInfoEnabled()) {
-			log.info("|-Retransformation finished.");
+	/**
+	 * Waits before the next chunk is retransformed. The wait time is the configured chunk delay or
+	 * the given average chunk time if that one is longer.
+	 *
+	 * @param averageChunkMillis
+	 *            Average time in milliseconds the chunks took so far.
+	 * @return <code>false</code> if the thread was interrupted and retransformation should stop.
+	 */
+	private boolean waitBetweenChunks(long averageChunkMillis) {
+		long delay = Math.max(chunkDelay, averageChunkMillis);
+		if (delay <= 0) {
+			return true;
+		}
+		try {
+			Thread.sleep(delay);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (log.isWarnEnabled()) {
+				log.warn("Retransformation of loaded classes interrupted.");
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the number of instrumented methods in the definition.
+	 *
+	 * @param definition
+	 *            {@link InstrumentationDefinition}
+	 * @return Number of instrumented methods, zero if class is not instrumented anymore.
+	 */
+	private static int getInstrumentedMethodCount(InstrumentationDefinition definition) {
+		Collection<?> methodInstrumentationConfigs = definition.getMethodInstrumentationConfigs();
+		if (null == methodInstrumentationConfigs) {
+			return 0;
 		}
+		return methodInstrumentationConfigs.size();
 	}
 }
@@ -20,10 +20,12 @@ import java.security.AllPermission;
 import java.security.CodeSource;
 import java.security.PermissionCollection;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Logger;
@@ -68,6 +70,17 @@ public class JavaAgent implements ClassFileTransformer {
 	 */
 	private static final String INSPECTIT_AGENT = "rocks.inspectit.agent.java.SpringAgent";
 
+	/**
+	 * System property defining the maximum amount of classes retransformed with one call. Same
+	 * property is used by the retransform manager of the agent.
+	 */
+	private static final String CHUNK_SIZE_PROPERTY = "inspectit.retransform.chunkSize";
+
+	/**
+	 * Default chunk size.
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 50;
+
 	/**
 	 * Defines the self first classes which should be loaded by this class loader instead of
 	 * delegating the loading to the parent.
@@ -203,6 +216,10 @@ public class JavaAgent implements ClassFileTransformer {
 	 * Analyzes all the classes which are already loaded by the jvm. This only works if the
 	 * -Xbootclasspath option is being set in addition as we are instrumenting core classes which
 	 * are directly connected to the bootstrap classloader.
+	 * <p>
+	 * The classes are retransformed or redefined in chunks of the size given with the
+	 * {@value #CHUNK_SIZE_PROPERTY} system property, like the retransformation done by the agent
+	 * later on. There is no delay between the chunks, as the application is not started yet.
 	 *
 	 * @param useRetransformation
 	 *            Whether retransformation or redefinition should be used to modify loaded classes
@@ -210,6 +227,8 @@ public class JavaAgent implements ClassFileTransformer {
 	private static void analyzeAlreadyLoadedClasses(boolean useRetransformation) {
 		try {
 			if (instrumentCoreClasses) {
+				List<Class<?>> classesToRetransform = new ArrayList<Class<?>>();
+				List<ClassDefinition> classDefinitions = new ArrayList<ClassDefinition>();
 				for (Class<?> loadedClass : instrumentation.getAllLoadedClasses()) {
 					// check if class is modifiable at all
 					if (!instrumentation.isModifiableClass(loadedClass)) {
@@ -223,24 +242,35 @@ public class JavaAgent implements ClassFileTransformer {
 						if ((null == loadedClass.getClassLoader()) || !InspectItClassLoader.class.getName().equals(loadedClass.getClassLoader().getClass().getName())) {
 							// check that class is not ignored by our agent
 							if (!Agent.agent.shouldClassBeIgnored(clazzName) && Agent.agent.shouldAnalyzeOnStartup(clazzName)) {
-								try {
-									if (useRetransformation) {
-										instrumentation.retransformClasses(loadedClass);
-									} else {
-										byte[] modified = Agent.agent.inspectByteCode(null, clazzName, loadedClass.getClassLoader());
-										if (null != modified) {
-											ClassDefinition classDefinition = new ClassDefinition(loadedClass, modified);
-											instrumentation.redefineClasses(new ClassDefinition[] { classDefinition });
-										}
+								if (useRetransformation) {
+									classesToRetransform.add(loadedClass);
+								} else {
+									byte[] modified = Agent.agent.inspectByteCode(null, clazzName, loadedClass.getClassLoader());
+									if (null != modified) {
+										classDefinitions.add(new ClassDefinition(loadedClass, modified));
 									}
-								} catch (UnmodifiableClassException e) {
-									LOGGER.severe(e.getMessage());
 								}
 							}
 						}
 					}
 				}
-				LOGGER.info("inspectIT Agent: Instrumentation of already loaded classes finished...");
+
+				int chunkSize = Math.max(1, Integer.getInteger(CHUNK_SIZE_PROPERTY, DEFAULT_CHUNK_SIZE).intValue());
+				long pauseNanos = 0;
+				int chunks = 0;
+				if (useRetransformation) {
+					for (int i = 0; i < classesToRetransform.size(); i += chunkSize) {
+						pauseNanos += retransformChunk(classesToRetransform.subList(i, Math.min(i + chunkSize, classesToRetransform.size())));
+						chunks++;
+					}
+				} else {
+					for (int i = 0; i < classDefinitions.size(); i += chunkSize) {
+						pauseNanos += redefineChunk(classDefinitions.subList(i, Math.min(i + chunkSize, classDefinitions.size())));
+						chunks++;
+					}
+				}
+				LOGGER.info("inspectIT Agent: Instrumentation of already loaded classes finished in " + chunks + " chunk(s) with " + TimeUnit.NANOSECONDS.toMillis(pauseNanos)
+						+ " ms spent in retransformation/redefinition...");
 			} else {
 				LOGGER.info("inspectIT Agent: Core classes cannot be instrumented, please add -Xbootclasspath/a:<path_to_agent.jar> to the JVM parameters!");
 			}
@@ -252,6 +282,66 @@ public class JavaAgent implements ClassFileTransformer {
 		}
 	}
 
+	/**
+	 * Retransforms one chunk of classes. If retransformation of the chunk fails, the classes of
+	 * the chunk are retransformed one by one, so that one failing class does not prevent the
+	 * retransformation of the others.
+	 *
+	 * @param chunk
+	 *            Classes to retransform.
+	 * @return Time in nanoseconds spent in retransformation.
+	 */
+	private static long retransformChunk(List<Class<?>> chunk) {
+		long start = System.nanoTime();
+		try {
+			instrumentation.retransformClasses(chunk.toArray(new Class[chunk.size()]));
+		} catch (UnmodifiableClassException e) {
+			if (chunk.size() == 1) {
+				LOGGER.severe(e.getMessage());
+			} else {
+				for (Class<?> clazz : chunk) {
+					try {
+						instrumentation.retransformClasses(clazz);
+					} catch (UnmodifiableClassException classException) {
+						LOGGER.severe(classException.getMessage());
+					}
+				}
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Redefines one chunk of classes. If redefinition of the chunk fails, the classes of the chunk
+	 * are redefined one by one, so that one failing class does not prevent the redefinition of the
+	 * others.
+	 *
+	 * @param chunk
+	 *            Class definitions to redefine.
+	 * @return Time in nanoseconds spent in redefinition.
+	 * @throws ClassNotFoundException
+	 *             If a class of the chunk can not be found.
+	 */
+	private static long redefineChunk(List<ClassDefinition> chunk) throws ClassNotFoundException {
+		long start = System.nanoTime();
+		try {
+			instrumentation.redefineClasses(chunk.toArray(new ClassDefinition[chunk.size()]));
+		} catch (UnmodifiableClassException e) {
+			if (chunk.size() == 1) {
+				LOGGER.severe(e.getMessage());
+			} else {
+				for (ClassDefinition classDefinition : chunk) {
+					try {
+						instrumentation.redefineClasses(new ClassDefinition[] { classDefinition });
+					} catch (UnmodifiableClassException classException) {
+						LOGGER.severe(classException.getMessage());
+					}
+				}
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
 	/**
 	 * Preload some classes to prevent errors in the running application.
 	 */
@@ -1,8 +1,5 @@
 package rocks.inspectit.agent.java.sensor.exception;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.io.Writer;
 import java.sql.Timestamp;
 import java.util.Map;
 
@@ -51,6 +48,11 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 	 */
 	private final StringConstraint strConstraint;
 
+	/**
+	 * Cache of the rendered stack traces.
+	 */
+	private final StackTraceCache stackTraceCache;
+
 	/**
 	 * The default constructor which needs one parameter for initialization.
 	 *
@@ -62,6 +64,7 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 	public ExceptionSensorHook(IPlatformManager platformManager, Map<String, Object> parameter) {
 		this.platformManager = platformManager;
 		this.strConstraint = new StringConstraint(parameter);
+		this.stackTraceCache = new StackTraceCache(strConstraint);
 	}
 
 	/**
@@ -249,25 +252,13 @@ public class ExceptionSensorHook implements IExceptionSensorHook {
 		}
 
 		try {
-			exceptionSensorData.setStackTrace(strConstraint.crop(stackTraceToString(throwable)));
+			long fingerprint = stackTraceCache.getFingerprint(throwable);
+			exceptionSensorData.setStackTraceFingerprint(fingerprint);
+			exceptionSensorData.setStackTrace(stackTraceCache.getStackTrace(fingerprint, throwable));
 		} catch (Exception e) {
 			if (LOG.isDebugEnabled()) {
 				LOG.debug("It was not possible to retrieve the stack trace from " + throwable.getClass().getName(), e);
 			}
 		}
 	}
-
-	/**
-	 * Gets the stack trace from the {@link Throwable} object and returns it as a string.
-	 *
-	 * @param throwable
-	 *            The {@link Throwable} object where to get the stack trace from.
-	 * @return A string representation of a stack trace.
-	 */
-	private String stackTraceToString(Throwable throwable) {
-		Writer result = new StringWriter();
-		PrintWriter writer = new PrintWriter(result);
-		throwable.printStackTrace(writer);
-		return result.toString();
-	}
 }
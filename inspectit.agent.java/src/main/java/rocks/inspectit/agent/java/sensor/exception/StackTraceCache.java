@@ -0,0 +1,204 @@
+package rocks.inspectit.agent.java.sensor.exception;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import rocks.inspectit.agent.java.util.StringConstraint;
+
+/**
+ * Cache of the rendered stack traces. The stack traces are identified by a fingerprint that is
+ * calculated from the stack trace elements of the {@link Throwable}, its causes and suppressed
+ * exceptions, thus the expensive rendering of the stack trace to a string is done only once per
+ * fingerprint as long as the rendered stack trace stays in the cache.
+ *
+ * @author agent
+ *
+ */
+public class StackTraceCache {
+
+	/**
+	 * Maximum amount of rendered stack traces kept in the cache.
+	 */
+	private static final int MAXIMUM_SIZE = 1000;
+
+	/**
+	 * Maximum amount of throwables (the throwable, its causes and suppressed exceptions) included
+	 * in the fingerprint. Protects against cyclic causes.
+	 */
+	private static final int MAX_THROWABLES = 32;
+
+	/**
+	 * Prime used for the fingerprint calculation.
+	 */
+	private static final long PRIME = 1099511628211L;
+
+	/**
+	 * Empty throwable array.
+	 */
+	private static final Throwable[] NO_THROWABLES = new Throwable[0];
+
+	/**
+	 * The <code>Throwable.getSuppressed()</code> method, <code>null</code> when running on Java 6.
+	 */
+	private static final Method GET_SUPPRESSED_METHOD = getSuppressedMethod();
+
+	/**
+	 * The StringConstraint to ensure a maximum length of strings.
+	 */
+	private final StringConstraint strConstraint;
+
+	/**
+	 * Rendered and cropped stack traces mapped by the fingerprint.
+	 */
+	private final Cache<Long, String> stackTraces = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param strConstraint
+	 *            The StringConstraint used to crop the rendered stack traces.
+	 */
+	public StackTraceCache(StringConstraint strConstraint) {
+		this.strConstraint = strConstraint;
+	}
+
+	/**
+	 * Calculates the fingerprint of the stack trace of the given {@link Throwable}. The fingerprint
+	 * includes the type, message and stack trace elements of the throwable and all its causes and
+	 * suppressed exceptions, thus everything that is printed with the
+	 * {@link Throwable#printStackTrace()}. The returned value is never <code>0</code>.
+	 *
+	 * @param throwable
+	 *            {@link Throwable} to calculate the fingerprint for.
+	 * @return Fingerprint of the stack trace.
+	 */
+	public long getFingerprint(Throwable throwable) {
+		Fingerprint fingerprint = new Fingerprint();
+		fingerprint.add(throwable);
+
+		if (0L == fingerprint.value) {
+			return 1L;
+		}
+		return fingerprint.value;
+	}
+
+	/**
+	 * Returns the rendered and cropped stack trace of the given {@link Throwable}. The stack trace
+	 * is rendered only if the cache does not contain the stack trace for the given fingerprint.
+	 *
+	 * @param fingerprint
+	 *            Fingerprint of the stack trace as returned by {@link #getFingerprint(Throwable)}.
+	 * @param throwable
+	 *            {@link Throwable} to render the stack trace for.
+	 * @return A string representation of a stack trace.
+	 */
+	public String getStackTrace(long fingerprint, Throwable throwable) {
+		Long key = Long.valueOf(fingerprint);
+		String stackTrace = stackTraces.getIfPresent(key);
+		if (null == stackTrace) {
+			stackTrace = strConstraint.crop(stackTraceToString(throwable));
+			stackTraces.put(key, stackTrace);
+		}
+		return stackTrace;
+	}
+
+	/**
+	 * Gets the stack trace from the {@link Throwable} object and returns it as a string.
+	 *
+	 * @param throwable
+	 *            The {@link Throwable} object where to get the stack trace from.
+	 * @return A string representation of a stack trace.
+	 */
+	private String stackTraceToString(Throwable throwable) {
+		Writer result = new StringWriter();
+		PrintWriter writer = new PrintWriter(result);
+		throwable.printStackTrace(writer);
+		return result.toString();
+	}
+
+	/**
+	 * Returns the suppressed exceptions of the throwable.
+	 *
+	 * @param throwable
+	 *            {@link Throwable}.
+	 * @return Suppressed exceptions or an empty array if running on Java 6.
+	 */
+	private static Throwable[] getSuppressed(Throwable throwable) {
+		if (null == GET_SUPPRESSED_METHOD) {
+			return NO_THROWABLES;
+		}
+		try {
+			return (Throwable[]) GET_SUPPRESSED_METHOD.invoke(throwable);
+		} catch (IllegalAccessException e) {
+			return NO_THROWABLES;
+		} catch (InvocationTargetException e) {
+			return NO_THROWABLES;
+		}
+	}
+
+	/**
+	 * Looks up the <code>Throwable.getSuppressed()</code> method that is available since Java 7.
+	 *
+	 * @return The method or <code>null</code> if it does not exist.
+	 */
+	private static Method getSuppressedMethod() {
+		try {
+			return Throwable.class.getMethod("getSuppressed");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Fingerprint calculation state.
+	 */
+	private static final class Fingerprint {
+
+		/**
+		 * Current fingerprint value.
+		 */
+		private long value = 1L;
+
+		/**
+		 * Amount of throwables that can still be included.
+		 */
+		private int remaining = MAX_THROWABLES;
+
+		/**
+		 * Adds the throwable with its suppressed exceptions and causes to the fingerprint.
+		 *
+		 * @param throwable
+		 *            {@link Throwable} to add.
+		 */
+		private void add(Throwable throwable) {
+			Throwable current = throwable;
+			while ((null != current) && (remaining > 0)) {
+				remaining--;
+				value = (value * PRIME) + current.getClass().getName().hashCode();
+				String message = current.getMessage();
+				value = (value * PRIME) + ((null == message) ? 0 : message.hashCode());
+				for (StackTraceElement element : current.getStackTrace()) {
+					value = (value * PRIME) + element.hashCode();
+				}
+
+				Throwable[] suppressed = getSuppressed(current);
+				value = (value * PRIME) + suppressed.length;
+				for (Throwable suppressedThrowable : suppressed) {
+					add(suppressedThrowable);
+				}
+
+				Throwable cause = current.getCause();
+				if (cause == current) { // NOPMD
+					break;
+				}
+				current = cause;
+			}
+		}
+	}
+}
@@ -4,14 +4,18 @@ import java.lang.management.ManagementFactory;
 import java.lang.reflect.Array;
 import java.sql.Timestamp;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.InstanceNotFoundException;
 import javax.management.IntrospectionException;
 import javax.management.MBeanAttributeInfo;
@@ -29,12 +33,11 @@ import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.google.common.base.Objects;
-
 import rocks.inspectit.agent.java.config.IConfigurationStorage;
 import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.core.ICoreService;
+import rocks.inspectit.agent.java.core.IDeferredStartup;
 import rocks.inspectit.agent.java.core.IPlatformManager;
 import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
@@ -52,7 +55,7 @@ import rocks.inspectit.shared.all.spring.logger.Log;
  * @author Ivan Senic
  *
  */
-public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
+public class JmxSensor implements IJmxSensor, IDeferredStartup, InitializingBean, DisposableBean {
 
 	/**
 	 * Name of the MBeanServerDelegate to register as listener for the {@link NotificationListener}.
@@ -60,10 +63,31 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	private static final String MBEAN_SERVER_DELEGATE_NAME = "JMImplementation:type=MBeanServerDelegate";
 
 	/**
-	 * Defines the interval of the maximum call rate of the
-	 * {@link JmxSensor#collectData(ICoreService, long)} method.
+	 * Defines the default interval in milliseconds in which the attributes of one MBean are
+	 * collected.
+	 */
+	private static final long DATA_COLLECT_INTERVAL = 5000;
+
+	/**
+	 * Defines the maximum interval in milliseconds in which the attributes of one MBean are
+	 * collected. The collection interval of MBeans that are slow to read is increased up to this
+	 * value.
 	 */
-	private static final int DATA_COLLECT_INTERVAL = 5000;
+	private static final long MAX_DATA_COLLECT_INTERVAL = 60000;
+
+	/**
+	 * If reading all attributes of one MBean takes longer than this threshold, the collection
+	 * interval of the MBean is doubled. If reading is faster, the interval is halved until it
+	 * reaches the {@link #DATA_COLLECT_INTERVAL}.
+	 */
+	private static final long SLOW_MBEAN_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+	/**
+	 * Maximum time one {@link #update(ICoreService)} call can spend in collecting the data, so
+	 * that the sensor refresher of the core service does not overrun. MBeans that could not be
+	 * collected in time are collected with the next update.
+	 */
+	private static final long UPDATE_TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
 
 	/**
 	 * Notification filter that listeners only to the MBeanServerNotification events.
@@ -116,11 +140,6 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 */
 	private final Map<MBeanServer, MBeanServerHolder> activeServerMap = new ConcurrentHashMap<MBeanServer, MBeanServerHolder>();
 
-	/**
-	 * The timestamp of the last {@link #collectData(ICoreService, long)} method invocation.
-	 */
-	long lastDataCollectionTimestamp = 0;
-
 	/**
 	 * Logs once, if the class cache is not available.
 	 */
@@ -132,6 +151,20 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 */
 	public void init(JmxSensorTypeConfig sensorTypeConfig) {
 		this.sensorTypeConfig = sensorTypeConfig;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Forces the creation of the platform MBean server if this is defined in the sensor
+	 * configuration. Creation of the platform MBean server is expensive, thus it's not done on the
+	 * agent startup.
+	 */
+	@Override
+	public void deferredStartup() {
+		if (null == sensorTypeConfig) {
+			return;
+		}
 
 		// check for forcing server creation
 		Map<String, Object> parameters = sensorTypeConfig.getParameters();
@@ -220,22 +253,24 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 */
 	@Override
 	public void update(ICoreService coreService) {
+		if (MapUtils.isEmpty(activeServerMap)) {
+			return;
+		}
+
 		long sensorTypeIdent = sensorTypeConfig.getId();
 		long currentTime = System.currentTimeMillis();
+		long deadline = System.nanoTime() + UPDATE_TIME_BUDGET_NANOS;
 
-		// Check if the collectData method should be invoked
-		if (MapUtils.isNotEmpty(activeServerMap) && ((currentTime - lastDataCollectionTimestamp) > DATA_COLLECT_INTERVAL)) {
-			// store the invocation timestamp
-			lastDataCollectionTimestamp = System.currentTimeMillis();
-
-			for (MBeanServerHolder holder : activeServerMap.values()) {
-				collectData(holder, coreService, sensorTypeIdent);
+		for (MBeanServerHolder holder : activeServerMap.values()) {
+			if (!collectData(holder, coreService, sensorTypeIdent, currentTime, deadline)) {
+				break;
 			}
 		}
 	}
 
 	/**
-	 * Collects the data from the MBean server in the holder and sends it to the CMR.
+	 * Collects the data of all MBeans in the holder that are due for the collection and sends it
+	 * to the CMR. The attributes of one MBean are read with a single call to the MBean server.
 	 *
 	 * @param holder
 	 *            {@link MBeanServerHolder} to collect data from
@@ -243,44 +278,134 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 *            The core service which is needed to store the measurements to.
 	 * @param sensorTypeIdent
 	 *            The ID of the sensor type so that old data can be found. (for aggregating etc.)
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @param deadline
+	 *            Value of the {@link System#nanoTime()} after which no more MBeans should be
+	 *            collected in this update.
+	 * @return <code>false</code> if the collection was stopped because the time budget was
+	 *         exhausted, <code>true</code> otherwise.
 	 */
-	private void collectData(MBeanServerHolder holder, ICoreService coreService, long sensorTypeIdent) {
+	private boolean collectData(MBeanServerHolder holder, ICoreService coreService, long sensorTypeIdent, long currentTime, long deadline) {
 		MBeanServer mBeanServer = holder.mBeanServer;
-		Map<JmxAttributeDescriptor, Boolean> activeAttributes = holder.activeAttributes;
-		Map<String, ObjectName> nameStringToObjectName = holder.nameStringToObjectName;
+		long platformId = platformManager.getPlatformId();
+		Timestamp timestamp = new Timestamp(currentTime);
 
-		Timestamp timestamp = new Timestamp(Calendar.getInstance().getTime().getTime());
-		for (Iterator<JmxAttributeDescriptor> iterator = activeAttributes.keySet().iterator(); iterator.hasNext();) {
-			JmxAttributeDescriptor descriptor = iterator.next();
+		for (Iterator<MonitoredMBean> iterator = holder.monitoredMBeans.values().iterator(); iterator.hasNext();) {
+			MonitoredMBean monitoredMBean = iterator.next();
+			if (!monitoredMBean.isCollectionDue(currentTime)) {
+				continue;
+			}
+
+			long start = System.nanoTime();
+			if ((start - deadline) > 0) {
+				// the rest will be collected in the next update
+				return false;
+			}
 
 			try {
-				// Retrieving the value of the, in the JmxAttributeDescriptor specified,
-				// MBeanAttribute
-				ObjectName objectName = nameStringToObjectName.get(descriptor.getmBeanObjectName());
-				Object collectedValue = mBeanServer.getAttribute(objectName, descriptor.getAttributeName());
-
-				String value;
-				if (null == collectedValue) {
-					value = "null";
-				} else if (collectedValue.getClass().isArray()) {
-					value = getArrayValue(collectedValue);
-				} else {
-					value = collectedValue.toString();
+				collectMBeanData(mBeanServer, monitoredMBean, coreService, sensorTypeIdent, platformId, timestamp);
+				monitoredMBean.collected(currentTime, System.nanoTime() - start);
+			} catch (Exception e) {
+				monitoredMBean.attributes.clear();
+				log.warn("JMX::Exception. An exception has been thrown during attempt to fetch the attributes from the MBean " + monitoredMBean.objectName
+						+ ". MBean removed from the actively read list.", e);
+			}
+
+			if (monitoredMBean.attributes.isEmpty()) {
+				iterator.remove();
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Reads all monitored attributes of one MBean with one call and passes the values to the core
+	 * service. Attributes that could not be read in bulk are read one by one, so that the failing
+	 * attributes can be removed from the monitored attributes.
+	 *
+	 * @param mBeanServer
+	 *            MBean server.
+	 * @param monitoredMBean
+	 *            MBean to read the attributes from.
+	 * @param coreService
+	 *            The core service which is needed to store the measurements to.
+	 * @param sensorTypeIdent
+	 *            The ID of the sensor type.
+	 * @param platformId
+	 *            Platform ID.
+	 * @param timestamp
+	 *            Time stamp for the created data.
+	 * @throws InstanceNotFoundException
+	 *             If the MBean is not registered anymore.
+	 * @throws ReflectionException
+	 *             If an exception occurred when trying to invoke the getAttributes method.
+	 */
+	private void collectMBeanData(MBeanServer mBeanServer, MonitoredMBean monitoredMBean, ICoreService coreService, long sensorTypeIdent, long platformId, Timestamp timestamp)
+			throws InstanceNotFoundException, ReflectionException {
+		ObjectName objectName = monitoredMBean.objectName;
+		String[] attributeNames = monitoredMBean.attributes.keySet().toArray(new String[0]);
+		AttributeList attributeList = mBeanServer.getAttributes(objectName, attributeNames);
+
+		Set<String> collectedAttributes = new HashSet<String>(attributeNames.length);
+		if (null != attributeList) {
+			for (Attribute attribute : attributeList.asList()) {
+				JmxAttributeDescriptor descriptor = monitoredMBean.attributes.get(attribute.getName());
+				if (null != descriptor) {
+					coreService.addDefaultData(createValueData(descriptor, attribute.getValue(), timestamp, platformId, sensorTypeIdent));
+					collectedAttributes.add(attribute.getName());
 				}
+			}
+		}
 
-				// Create a new JmxSensorValueData to be saved into the database
-				long platformid = platformManager.getPlatformId();
-				JmxSensorValueData jsvd = new JmxSensorValueData(descriptor.getId(), value, timestamp, platformid, sensorTypeIdent);
+		if (collectedAttributes.size() < attributeNames.length) {
+			for (String attributeName : attributeNames) {
+				if (collectedAttributes.contains(attributeName)) {
+					continue;
+				}
 
-				coreService.addDefaultData(jsvd);
-			} catch (Exception e) {
-				iterator.remove();
-				log.warn("JMX::Exception. An exception has been thrown during attempt to fetch the attribute " + descriptor.getAttributeName() + " from the MBean " + descriptor.getmBeanObjectName()
-				+ ". Attribute removed from the actively read list.", e);
+				JmxAttributeDescriptor descriptor = monitoredMBean.attributes.get(attributeName);
+				try {
+					Object collectedValue = mBeanServer.getAttribute(objectName, attributeName);
+					coreService.addDefaultData(createValueData(descriptor, collectedValue, timestamp, platformId, sensorTypeIdent));
+				} catch (Exception e) {
+					monitoredMBean.attributes.remove(attributeName);
+					log.warn("JMX::Exception. An exception has been thrown during attempt to fetch the attribute " + attributeName + " from the MBean " + descriptor.getmBeanObjectName()
+							+ ". Attribute removed from the actively read list.", e);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Creates the {@link JmxSensorValueData} for the collected attribute value.
+	 *
+	 * @param descriptor
+	 *            Descriptor of the attribute.
+	 * @param collectedValue
+	 *            Value of the attribute.
+	 * @param timestamp
+	 *            Time stamp.
+	 * @param platformId
+	 *            Platform ID.
+	 * @param sensorTypeIdent
+	 *            The ID of the sensor type.
+	 * @return {@link JmxSensorValueData}
+	 */
+	private JmxSensorValueData createValueData(JmxAttributeDescriptor descriptor, Object collectedValue, Timestamp timestamp, long platformId, long sensorTypeIdent) {
+		String value;
+		if (null == collectedValue) {
+			value = "null";
+		} else if (collectedValue.getClass().isArray()) {
+			value = getArrayValue(collectedValue);
+		} else {
+			value = collectedValue.toString();
+		}
+
+		return new JmxSensorValueData(descriptor.getId(), value, timestamp, platformId, sensorTypeIdent);
+	}
+
 	/**
 	 * Registers all attributes of all object names that are returned as the result of querying with
 	 * the given mBeanName on the server in the given holder.
@@ -292,8 +417,6 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 	 */
 	private void registerMBeans(MBeanServerHolder holder, ObjectName mBeanName) {
 		MBeanServer mBeanServer = holder.mBeanServer;
-		Map<JmxAttributeDescriptor, Boolean> activeAttributes = holder.activeAttributes;
-		Map<String, ObjectName> nameStringToObjectName = holder.nameStringToObjectName;
 
 		// do nothing if connection is not there
 		if (!connection.isConnected()) {
@@ -331,14 +454,19 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 		try {
 			Collection<JmxAttributeDescriptor> toMonitor = connection.analyzeJmxAttributes(platformManager.getPlatformId(), descriptors);
 
-			// add to active attributes
-			for (JmxAttributeDescriptor descriptor : toMonitor) {
-				activeAttributes.put(descriptor, Boolean.FALSE);
-			}
 			// if call is working add object names to the map
+			Map<String, ObjectName> nameStringToObjectName = new HashMap<String, ObjectName>();
 			for (ObjectName name : allNames) {
 				nameStringToObjectName.put(name.toString(), name);
 			}
+
+			// add to monitored attributes grouped by the MBean
+			for (JmxAttributeDescriptor descriptor : toMonitor) {
+				ObjectName objectName = nameStringToObjectName.get(descriptor.getmBeanObjectName());
+				if (null != objectName) {
+					holder.addMonitoredAttribute(objectName, descriptor);
+				}
+			}
 		} catch (ServerUnavailableException e) {
 			if (log.isWarnEnabled()) {
 				log.warn("Error registering JMX attributes on the server.", e);
@@ -416,15 +544,9 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 		final MBeanServer mBeanServer;
 
 		/**
-		 * Map used to connect the ObjectName of a MBean with the string-representation of the same
-		 * MBean. Recreation of the ObjectName is no longer necessary for the update-method.
-		 */
-		final Map<String, ObjectName> nameStringToObjectName = new ConcurrentHashMap<String, ObjectName>();
-
-		/**
-		 * Set of active attributes (represented as Map).
+		 * Monitored MBeans mapped by the string-representation of their object name.
 		 */
-		final Map<JmxAttributeDescriptor, Boolean> activeAttributes = new ConcurrentHashMap<JmxAttributeDescriptor, Boolean>();
+		final Map<String, MonitoredMBean> monitoredMBeans = new ConcurrentHashMap<String, MonitoredMBean>();
 
 		/**
 		 * Default constructor.
@@ -440,6 +562,24 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 			this.mBeanServer = mBeanServer;
 		}
 
+		/**
+		 * Adds the attribute to the monitored attributes of the MBean with the given object name.
+		 *
+		 * @param objectName
+		 *            Object name of the MBean.
+		 * @param descriptor
+		 *            Descriptor of the attribute to monitor.
+		 */
+		void addMonitoredAttribute(ObjectName objectName, JmxAttributeDescriptor descriptor) {
+			String objectNameString = objectName.toString();
+			MonitoredMBean monitoredMBean = monitoredMBeans.get(objectNameString);
+			if (null == monitoredMBean) {
+				monitoredMBean = new MonitoredMBean(objectName);
+				monitoredMBeans.put(objectNameString, monitoredMBean);
+			}
+			monitoredMBean.attributes.put(descriptor.getAttributeName(), descriptor);
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -452,20 +592,81 @@ public class JmxSensor implements IJmxSensor, InitializingBean, DisposableBean {
 					// if we have registration pick up the attributes
 					registerMBeans(MBeanServerHolder.this, mBeanName);
 				} else if (MBeanServerNotification.UNREGISTRATION_NOTIFICATION.equals(serverNotification.getType())) {
-					// get maps from holder
-					// if we have un-registration remove from maps
-					String mBeanNameString = mBeanName.toString();
-					for (Iterator<JmxAttributeDescriptor> it = activeAttributes.keySet().iterator(); it.hasNext();) {
-						JmxAttributeDescriptor descriptor = it.next();
-						if (Objects.equal(descriptor.getmBeanObjectName(), mBeanNameString)) {
-							it.remove();
-						}
-					}
-					nameStringToObjectName.remove(mBeanNameString);
+					// if we have un-registration remove from map
+					monitoredMBeans.remove(mBeanName.toString());
 				}
 			}
 		}
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Monitored attributes of one MBean together with the state of the adaptive collection
+	 * interval.
+	 *
+	 * @author agent
+	 *
+	 */
+	static final class MonitoredMBean {
+
+		/**
+		 * Object name of the MBean.
+		 */
+		final ObjectName objectName;
+
+		/**
+		 * Monitored attributes mapped by the attribute name.
+		 */
+		final Map<String, JmxAttributeDescriptor> attributes = new ConcurrentHashMap<String, JmxAttributeDescriptor>();
+
+		/**
+		 * Current collection interval in milliseconds.
+		 */
+		long collectInterval = DATA_COLLECT_INTERVAL;
+
+		/**
+		 * Time in milliseconds of the next collection.
+		 */
+		long nextCollectionTime;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param objectName
+		 *            Object name of the MBean.
+		 */
+		MonitoredMBean(ObjectName objectName) {
+			this.objectName = objectName;
+		}
+
+		/**
+		 * Returns if the MBean should be collected at the given time.
+		 *
+		 * @param currentTime
+		 *            Current time in milliseconds.
+		 * @return Returns if the MBean should be collected at the given time.
+		 */
+		boolean isCollectionDue(long currentTime) {
+			return currentTime >= nextCollectionTime;
+		}
+
+		/**
+		 * Marks the collection of the MBean and adapts the collection interval based on the time
+		 * needed to read the attributes.
+		 *
+		 * @param currentTime
+		 *            Time in milliseconds of the collection.
+		 * @param durationNanos
+		 *            Time in nanoseconds needed to read the attributes.
+		 */
+		void collected(long currentTime, long durationNanos) {
+			if (durationNanos > SLOW_MBEAN_THRESHOLD_NANOS) {
+				collectInterval = Math.min(collectInterval * 2, MAX_DATA_COLLECT_INTERVAL);
+			} else {
+				collectInterval = Math.max(collectInterval / 2, DATA_COLLECT_INTERVAL);
+			}
+			nextCollectionTime = currentTime + collectInterval;
+		}
+	}
+
+}
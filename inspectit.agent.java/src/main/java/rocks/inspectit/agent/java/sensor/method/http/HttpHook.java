@@ -2,6 +2,9 @@ package rocks.inspectit.agent.java.sensor.method.http;
 
 import java.lang.management.ThreadMXBean;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -12,6 +15,8 @@ import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.agent.java.core.IPlatformManager;
 import rocks.inspectit.agent.java.hooking.IMethodHook;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
 import rocks.inspectit.agent.java.sensor.method.timer.TimerHook;
 import rocks.inspectit.agent.java.util.ClassUtil;
 import rocks.inspectit.agent.java.util.StringConstraint;
@@ -26,6 +31,12 @@ import rocks.inspectit.shared.all.communication.data.HttpTimerData;
  * This hook measures timer data like the {@link TimerHook} but in addition provides Http
  * information. Another difference is that we ensure that only one Http metric per request is
  * created.
+ * <p>
+ * If the full capture threshold is set, headers, attributes, parameters and session attributes
+ * are only captured for the requests that last longer than the threshold or that are part of a
+ * sampled trace. The sampled trace criterion is used only if the tracer does not use the
+ * {@link ConstSampler}, as then either all or no traces are sampled. As the duration is only known
+ * at the end of the request, all information is read from the request when the request ends.
  *
  * @author Stefan Siegl
  *
@@ -92,6 +103,23 @@ public class HttpHook implements IMethodHook {
 	 */
 	private final boolean captureParameters;
 
+	/**
+	 * Duration in milliseconds that request must exceed in order to have headers, attributes,
+	 * parameters and session attributes captured. Zero or negative value means that this
+	 * information is captured for all requests.
+	 */
+	private final long fullCaptureThreshold;
+
+	/**
+	 * Tracer for checking if the request is part of a sampled trace.
+	 */
+	private final TracerImpl tracer;
+
+	/**
+	 * The stack containing the information if the request is part of a sampled trace.
+	 */
+	private final ThreadLocalStack<Boolean> sampledTraceStack = new ThreadLocalStack<Boolean>();
+
 	/**
 	 * Expected name of the HttpServletRequest interface.
 	 */
@@ -142,16 +170,33 @@ public class HttpHook implements IMethodHook {
 	 *            The timer
 	 * @param platformManager
 	 *            The Platform manager
+	 * @param tracer
+	 *            Tracer for checking if the request is part of a sampled trace
 	 * @param threadMXBean
 	 *            the threadMx Bean for cpu timing
 	 * @param parameters
 	 *            the map containing the configuration parameters
 	 */
-	public HttpHook(Timer timer, IPlatformManager platformManager, Map<String, Object> parameters, ThreadMXBean threadMXBean) {
+	public HttpHook(Timer timer, IPlatformManager platformManager, TracerImpl tracer, Map<String, Object> parameters, ThreadMXBean threadMXBean) {
 		this.timer = timer;
 		this.platformManager = platformManager;
+		this.tracer = tracer;
 		this.threadMXBean = threadMXBean;
-		this.extractor = new HttpInformationExtractor(new StringConstraint(parameters));
+
+		List<String> capturedHeaders = getNames(parameters, "capturedheaders");
+		if (!capturedHeaders.isEmpty() && !capturedHeaders.contains(HttpTimerData.INSPECTIT_TAGGING_HEADER)) {
+			// tagging header is always needed
+			capturedHeaders.add(HttpTimerData.INSPECTIT_TAGGING_HEADER);
+		}
+		this.extractor = new HttpInformationExtractor(new StringConstraint(parameters), capturedHeaders, getNames(parameters, "capturedattributes"),
+				getNames(parameters, "capturedsessionattributes"));
+
+		Object threshold = parameters.get("fullcapturethreshold");
+		if (threshold instanceof Number) {
+			fullCaptureThreshold = ((Number) threshold).longValue();
+		} else {
+			fullCaptureThreshold = 0L;
+		}
 
 		if ("true".equals(parameters.get("sessioncapture"))) {
 			if (LOG.isDebugEnabled()) {
@@ -264,6 +309,10 @@ public class HttpHook implements IMethodHook {
 			if (threadCPUTimeEnabled) {
 				threadCpuTimeStack.push(Long.valueOf(threadMXBean.getCurrentThreadCpuTime()));
 			}
+			if (fullCaptureThreshold > 0) {
+				// read while the span of the request is still active
+				sampledTraceStack.push(Boolean.valueOf(isSampledTrace()));
+			}
 		}
 	}
 
@@ -301,6 +350,11 @@ public class HttpHook implements IMethodHook {
 						cpuDuration = (cpuEndTime - cpuStartTime) / 1000000.0d;
 					}
 
+					boolean sampledTrace = false;
+					if (fullCaptureThreshold > 0) {
+						sampledTrace = sampledTraceStack.pop().booleanValue();
+					}
+
 					long platformId = platformManager.getPlatformId();
 					Timestamp timestamp = new Timestamp(System.currentTimeMillis() - Math.round(duration));
 
@@ -327,16 +381,22 @@ public class HttpHook implements IMethodHook {
 					data.getHttpInfo().setServerName(extractor.getServerName(servletRequestClass, httpServletRequest));
 					data.getHttpInfo().setServerPort(extractor.getServerPort(servletRequestClass, httpServletRequest));
 					data.getHttpInfo().setQueryString(extractor.getQueryString(servletRequestClass, httpServletRequest));
-					data.setHeaders(extractor.getHeaders(servletRequestClass, httpServletRequest));
 
-					if (captureAttributes) {
-						data.setAttributes(extractor.getAttributes(servletRequestClass, httpServletRequest));
-					}
-					if (captureParameters) {
-						data.setParameters(extractor.getParameterMap(servletRequestClass, httpServletRequest));
-					}
-					if (captureSessionData) {
-						data.setSessionAttributes(extractor.getSessionAttributes(servletRequestClass, httpServletRequest));
+					if (isFullCapture(duration, sampledTrace)) {
+						data.setHeaders(extractor.getHeaders(servletRequestClass, httpServletRequest));
+
+						if (captureAttributes) {
+							data.setAttributes(extractor.getAttributes(servletRequestClass, httpServletRequest));
+						}
+						if (captureParameters) {
+							data.setParameters(extractor.getParameterMap(servletRequestClass, httpServletRequest));
+						}
+						if (captureSessionData) {
+							data.setSessionAttributes(extractor.getSessionAttributes(servletRequestClass, httpServletRequest));
+						}
+					} else {
+						// only the tagging header is needed
+						data.getHttpInfo().setInspectItTaggingHeaderValue(extractor.getHeader(servletRequestClass, httpServletRequest, HttpTimerData.INSPECTIT_TAGGING_HEADER));
 					}
 
 					// Include HTTP response information
@@ -352,6 +412,53 @@ public class HttpHook implements IMethodHook {
 		}
 	}
 
+	/**
+	 * Defines if headers, attributes, parameters and session attributes should be captured for the
+	 * request with the given duration. This is the case if no threshold is set, if the duration
+	 * exceeds the threshold or if the request is part of a sampled trace.
+	 *
+	 * @param duration
+	 *            Duration of the request in milliseconds.
+	 * @param sampledTrace
+	 *            If the request is part of a sampled trace.
+	 * @return <code>true</code> if full information should be captured
+	 */
+	private boolean isFullCapture(double duration, boolean sampledTrace) {
+		return (fullCaptureThreshold <= 0) || (duration > fullCaptureThreshold) || sampledTrace;
+	}
+
+	/**
+	 * Defines if the current request is part of a sampled trace. Always <code>false</code> if the
+	 * tracer uses the {@link ConstSampler}, as with it being sampled does not distinguish the
+	 * requests.
+	 *
+	 * @return <code>true</code> if the current request is part of a sampled trace
+	 */
+	private boolean isSampledTrace() {
+		if (tracer.getSampler() instanceof ConstSampler) {
+			return false;
+		}
+		return tracer.isCurrentContextExisting() && tracer.getCurrentContext().isSampled();
+	}
+
+	/**
+	 * Returns the list of names defined with the given parameter key.
+	 *
+	 * @param parameters
+	 *            the map containing the configuration parameters
+	 * @param key
+	 *            parameter key
+	 * @return list of names, empty list if names are not defined
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<String> getNames(Map<String, Object> parameters, String key) {
+		Object names = parameters.get(key);
+		if (names instanceof List) {
+			return new ArrayList<String>((List<String>) names);
+		}
+		return Collections.emptyList();
+	}
+
 	/**
 	 * Checks if the given Class is realizing the HttpServletRequest interface directly or
 	 * indirectly. Only if this interface is realized, we can get Http metric information.
@@ -2,10 +2,13 @@ package rocks.inspectit.agent.java.sensor.method.http;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +19,9 @@ import rocks.inspectit.shared.all.communication.data.HttpInfo;
 /**
  * Thread-safe realization to extract information from <code>HttpServletRequests</code> and
  * <code>HttpServletResponses</code>.
+ * <p>
+ * If the names of the headers, attributes or session attributes to capture are given, only these
+ * are read from the request without enumerating all available names.
  *
  * @author Stefan Siegl, Alexander Wert
  */
@@ -32,17 +38,32 @@ class HttpInformationExtractor {
 	private StringConstraint strConstraint;
 
 	/**
-	 * Marker method. This method severs for marking the cache key in {@link #methodCache} as
-	 * unavailable. Since we can not put <code>null</code> to a {@link ConcurrentHashMap} we need to
-	 * put some method to serve as a marker.
+	 * Names of the headers to capture, if empty all headers are captured.
+	 */
+	private final List<String> capturedHeaders;
+
+	/**
+	 * Names of the request attributes to capture, if empty all attributes are captured.
+	 */
+	private final List<String> capturedAttributes;
+
+	/**
+	 * Names of the session attributes to capture, if empty all session attributes are captured.
+	 */
+	private final List<String> capturedSessionAttributes;
+
+	/**
+	 * Marker method. This method severs for marking the method in {@link #methodCache} as
+	 * unavailable, so that the lookup is not repeated.
 	 */
 	private Method markerMethod;
 
 	/**
-	 * Keeps track of already looked up <code>Method</code> objects for faster access. Get and Put
-	 * operations are synchronized by the concurrent hash map.
+	 * Keeps track of already looked up <code>Method</code> objects for faster access. Each class
+	 * has an array of methods indexed by the {@link HttpMethods} ordinal, which is filled on the
+	 * first access of the method.
 	 */
-	private ConcurrentHashMap<String, Method> methodCache = new ConcurrentHashMap<String, Method>();
+	private ConcurrentHashMap<Class<?>, AtomicReferenceArray<Method>> methodCache = new ConcurrentHashMap<Class<?>, AtomicReferenceArray<Method>>();
 
 	/**
 	 * Structure to store all necessary methods that we can invoke to get http information. These
@@ -102,13 +123,33 @@ class HttpInformationExtractor {
 	}
 
 	/**
-	 * Constructor.
+	 * Constructor. All headers, attributes and session attributes are captured.
 	 *
 	 * @param strConstraint
 	 *            the string constraints.
 	 */
 	public HttpInformationExtractor(StringConstraint strConstraint) {
+		this(strConstraint, Collections.<String> emptyList(), Collections.<String> emptyList(), Collections.<String> emptyList());
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param strConstraint
+	 *            the string constraints.
+	 * @param capturedHeaders
+	 *            names of the headers to capture, if empty all headers are captured
+	 * @param capturedAttributes
+	 *            names of the request attributes to capture, if empty all attributes are captured
+	 * @param capturedSessionAttributes
+	 *            names of the session attributes to capture, if empty all session attributes are
+	 *            captured
+	 */
+	public HttpInformationExtractor(StringConstraint strConstraint, List<String> capturedHeaders, List<String> capturedAttributes, List<String> capturedSessionAttributes) {
 		this.strConstraint = strConstraint;
+		this.capturedHeaders = capturedHeaders;
+		this.capturedAttributes = capturedAttributes;
+		this.capturedSessionAttributes = capturedSessionAttributes;
 		try {
 			// setting marker method to point to Object.toString()
 			// this will represent non existing cache method
@@ -233,6 +274,10 @@ class HttpInformationExtractor {
 		}
 
 		try {
+			if (!capturedAttributes.isEmpty()) {
+				return getValues(httpServletRequest, attributeValue, capturedAttributes);
+			}
+
 			@SuppressWarnings("unchecked")
 			Enumeration<String> params = (Enumeration<String>) attributesMethod.invoke(httpServletRequest, (Object[]) null);
 			Map<String, String> attributes = new HashMap<String, String>();
@@ -277,6 +322,10 @@ class HttpInformationExtractor {
 		}
 
 		try {
+			if (!capturedHeaders.isEmpty()) {
+				return getValues(httpServletRequest, headerValueMethod, capturedHeaders);
+			}
+
 			@SuppressWarnings("unchecked")
 			Enumeration<String> headers = (Enumeration<String>) headerNamesMethod.invoke(httpServletRequest, (Object[]) null);
 			Map<String, String> headersResult = new HashMap<String, String>();
@@ -294,6 +343,32 @@ class HttpInformationExtractor {
 		return null;
 	}
 
+	/**
+	 * Reads one header from the given <code>HttpServletRequest</code> object.
+	 *
+	 * @param httpServletRequestClass
+	 *            the <code>Class</code> object representing the class of the given
+	 *            <code>HttpServletRequest</code>
+	 * @param httpServletRequest
+	 *            the object realizing the <code> HttpServletRequest </code> interface.
+	 * @param headerName
+	 *            name of the header
+	 * @return the header value or <code>null</code> if the header is not available
+	 */
+	public String getHeader(Class<?> httpServletRequestClass, Object httpServletRequest, String headerName) {
+		Method headerValueMethod = retrieveMethod(HttpMethods.SERVLET_GET_HEADER, httpServletRequestClass);
+		if (null == headerValueMethod) {
+			return null;
+		}
+
+		try {
+			return strConstraint.crop((String) headerValueMethod.invoke(httpServletRequest, new Object[] { headerName }));
+		} catch (Exception e) {
+			LOG.error("Invocation of to get header on given object failed.", e);
+			return null;
+		}
+	}
+
 	/**
 	 * Reads all session attributes from the <code>HttpSession</code> of the given
 	 * <code>HttpServletRequest</code> object and stores them with the given
@@ -343,6 +418,10 @@ class HttpInformationExtractor {
 		}
 
 		try {
+			if (!capturedSessionAttributes.isEmpty()) {
+				return getValues(httpSession, getAttributeValueSession, capturedSessionAttributes);
+			}
+
 			@SuppressWarnings("unchecked")
 			Enumeration<String> sessionAttr = (Enumeration<String>) getAttributeNamesSession.invoke(httpSession, (Object[]) null);
 			Map<String, String> sessionAttributes = new HashMap<String, String>();
@@ -496,43 +575,61 @@ class HttpInformationExtractor {
 	 * @return the <code>Method</code> object or <code>null</code> if the method cannot be found.
 	 */
 	private Method retrieveMethod(HttpMethods httpMethod, Class<?> clazzUsedToLookup) {
-		String cacheLookupName = getCacheLookupName(httpMethod, clazzUsedToLookup);
-		Method m = methodCache.get(cacheLookupName);
+		AtomicReferenceArray<Method> methods = methodCache.get(clazzUsedToLookup);
+		if (null == methods) {
+			methods = new AtomicReferenceArray<Method>(HttpMethods.values().length);
+			AtomicReferenceArray<Method> existing = methodCache.putIfAbsent(clazzUsedToLookup, methods);
+			if (null != existing) {
+				methods = existing;
+			}
+		}
 
+		Method m = methods.get(httpMethod.ordinal());
 		if (null == m) {
 			// We do not yet have the method in the Cache
 			try {
 				m = clazzUsedToLookup.getMethod(httpMethod.methodName, httpMethod.parameters);
 				m.setAccessible(true);
-				Method existing = methodCache.putIfAbsent(cacheLookupName, m);
-				if (null != existing) {
-					m = existing;
-				}
 			} catch (Exception e) {
 				LOG.error("The provided class " + clazzUsedToLookup.getName() + " did not provide the desired method.", e);
 
 				// Do not try to look up every time.
-				// Can not place null as value anyway
-				methodCache.putIfAbsent(cacheLookupName, markerMethod);
+				m = markerMethod;
+			}
+			if (!methods.compareAndSet(httpMethod.ordinal(), null, m)) {
+				m = methods.get(httpMethod.ordinal());
 			}
-		} else if (markerMethod.equals(m)) {
-			return null;
 		}
 
+		if (markerMethod.equals(m)) {
+			return null;
+		}
 		return m;
 	}
 
 	/**
-	 * Generates and return a lookup name for the cache.
+	 * Reads the values with the given names using the given getter method that accepts the name as
+	 * the only parameter. Names having no value are not included in the result.
 	 *
-	 * @param httpMethod
-	 *            the Method to lookup
-	 * @param clazz
-	 *            the concrete class to lookup the method upon.
-	 * @return the generated lookup name.
+	 * @param target
+	 *            object to invoke the getter on
+	 * @param valueMethod
+	 *            getter method
+	 * @param names
+	 *            names of the values to read
+	 * @return map of names and string representation of the values
+	 * @throws Exception
+	 *             if invocation fails
 	 */
-	private String getCacheLookupName(HttpMethods httpMethod, Class<?> clazz) {
-		return clazz.getName() + '#' + httpMethod.methodName;
+	private Map<String, String> getValues(Object target, Method valueMethod, List<String> names) throws Exception { // NOPMD
+		Map<String, String> result = new HashMap<String, String>(names.size() * 2);
+		for (String name : names) {
+			Object value = valueMethod.invoke(target, new Object[] { name });
+			if (null != value) {
+				result.put(name, strConstraint.crop(getAttributeValue(value)));
+			}
+		}
+		return result;
 	}
 
 	/**
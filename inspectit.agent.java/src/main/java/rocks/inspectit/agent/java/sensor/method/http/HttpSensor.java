@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import rocks.inspectit.agent.java.core.IPlatformManager;
 import rocks.inspectit.agent.java.hooking.IHook;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
 import rocks.inspectit.agent.java.sensor.method.AbstractMethodSensor;
 import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.agent.java.util.Timer;
@@ -35,6 +36,12 @@ public class HttpSensor extends AbstractMethodSensor implements IMethodSensor {
 	@Autowired
 	private IPlatformManager platformManager;
 
+	/**
+	 * {@link TracerImpl}.
+	 */
+	@Autowired
+	private TracerImpl tracer;
+
 	/**
 	 * No-arg constructor needed for Spring.
 	 */
@@ -48,10 +55,13 @@ public class HttpSensor extends AbstractMethodSensor implements IMethodSensor {
 	 *            the timer.
 	 * @param platformManager
 	 *            the platform manager.
+	 * @param tracer
+	 *            the tracer.
 	 */
-	public HttpSensor(Timer timer, IPlatformManager platformManager) {
+	public HttpSensor(Timer timer, IPlatformManager platformManager, TracerImpl tracer) {
 		this.timer = timer;
 		this.platformManager = platformManager;
+		this.tracer = tracer;
 	}
 
 	/**
@@ -59,7 +69,7 @@ public class HttpSensor extends AbstractMethodSensor implements IMethodSensor {
 	 */
 	@Override
 	protected void initHook(Map<String, Object> parameters) {
-		hook = new HttpHook(timer, platformManager, parameters, ManagementFactory.getThreadMXBean());
+		hook = new HttpHook(timer, platformManager, tracer, parameters, ManagementFactory.getThreadMXBean());
 	}
 
 	/**
@@ -246,15 +246,23 @@ public class InvocationSequenceHook implements IMethodHook, IConstructorHook, IC
 				double duration = endTime - startTime;
 
 				// check if we belong to a span
+				boolean sampled = true;
 				if (tracer.isCurrentContextExisting()) {
-					invocationSequenceData.setSpanIdent(SpanContextTransformer.transformSpanContext(tracer.getCurrentContext()));
+					SpanContextImpl currentContext = tracer.getCurrentContext();
+					invocationSequenceData.setSpanIdent(SpanContextTransformer.transformSpanContext(currentContext));
+					sampled = currentContext.isSampled();
 				}
 
 				// complete the sequence and store the data object in the 'true'
 				// core service so that it can be transmitted to the server. we
 				// just need an arbitrary prefix so that this sequence will
 				// never be overwritten in the core service!
-				if (minDurationMap.containsKey(invocationStartId.get())) {
+				// invocations of not sampled traces are only sent if ended with exception
+				if (!sampled && !exception) {
+					if (LOG.isDebugEnabled()) {
+						LOG.debug("Invocation sequence not sent as the trace it belongs to is not sampled.");
+					}
+				} else if (minDurationMap.containsKey(invocationStartId.get())) {
 					checkForSavingOrNot(coreService, rsc, invocationSequenceData, startTime, endTime, duration);
 				} else {
 					// maybe not saved yet in the map
@@ -78,6 +78,11 @@ public class PreparedStatementHook implements IMethodHook, IConstructorHook {
 	 */
 	private final StatementReflectionCache statementReflectionCache;
 
+	/**
+	 * Dictionary assigning the ids to the SQL texts.
+	 */
+	private final SqlStatementDictionary sqlStatementDictionary;
+
 	/**
 	 * Contains all method idents of all prepared statements that had a problem finding the stored
 	 * SQL statement. Using this structure we can ensure that we do not throw the exception always
@@ -100,15 +105,18 @@ public class PreparedStatementHook implements IMethodHook, IConstructorHook {
 	 *            the meta information storage for connections.
 	 * @param statementReflectionCache
 	 *            Caches the calls to getConnection().
+	 * @param sqlStatementDictionary
+	 *            Dictionary assigning the ids to the SQL texts.
 	 */
 	public PreparedStatementHook(Timer timer, IPlatformManager platformManager, StatementStorage statementStorage, ConnectionMetaDataStorage connectionMetaDataStorage,
-			StatementReflectionCache statementReflectionCache, Map<String, Object> parameter) {
+			StatementReflectionCache statementReflectionCache, SqlStatementDictionary sqlStatementDictionary, Map<String, Object> parameter) {
 		this.timer = timer;
 		this.platformManager = platformManager;
 		this.statementStorage = statementStorage;
 		this.connectionMetaDataStorage = connectionMetaDataStorage;
 		this.strConstraint = new StringConstraint(parameter);
 		this.statementReflectionCache = statementReflectionCache;
+		this.sqlStatementDictionary = sqlStatementDictionary;
 	}
 
 	/**
@@ -149,7 +157,9 @@ public class PreparedStatementHook implements IMethodHook, IConstructorHook {
 
 				SqlStatementData sqlData = new SqlStatementData(timestamp, platformId, sensorTypeId, methodId);
 				sqlData.setPreparedStatement(true);
-				sqlData.setSql(strConstraint.crop(sql));
+				String croppedSql = strConstraint.crop(sql);
+				sqlData.setSql(croppedSql);
+				sqlData.setSqlId(sqlStatementDictionary.getId(croppedSql));
 				sqlData.setDuration(duration);
 				sqlData.calculateMin(duration);
 				sqlData.calculateMax(duration);
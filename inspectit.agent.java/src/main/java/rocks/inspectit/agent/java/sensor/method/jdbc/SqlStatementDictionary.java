@@ -0,0 +1,65 @@
+package rocks.inspectit.agent.java.sensor.method.jdbc;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+
+/**
+ * Dictionary of the SQL statements executed on this agent. Each distinct SQL text gets an id that
+ * is set to the {@link SqlStatementData}, so that the SQL text can be sent to the CMR only once and
+ * all other statements carry only the id.
+ * <p>
+ * The dictionary is bounded, if an evicted SQL text is executed again it gets a new id. Ids are
+ * never reused.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class SqlStatementDictionary {
+
+	/**
+	 * Maximum amount of SQL texts kept in the dictionary.
+	 */
+	private static final int MAXIMUM_SIZE = 10000;
+
+	/**
+	 * Generator of the ids.
+	 */
+	private final AtomicLong idGenerator = new AtomicLong();
+
+	/**
+	 * Ids mapped by the SQL text.
+	 */
+	private final Cache<String, Long> ids = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+	/**
+	 * Returns the id of the given SQL text, assigning a new one if the text is not yet in the
+	 * dictionary.
+	 *
+	 * @param sql
+	 *            SQL text.
+	 * @return Id of the SQL text or <code>0</code> if the given text is <code>null</code>.
+	 */
+	public long getId(String sql) {
+		if (null == sql) {
+			return 0L;
+		}
+
+		Long id = ids.getIfPresent(sql);
+		if (null == id) {
+			Long newId = Long.valueOf(idGenerator.incrementAndGet());
+			id = ids.asMap().putIfAbsent(sql, newId);
+			if (null == id) {
+				id = newId;
+			}
+		}
+		return id.longValue();
+	}
+
+}
@@ -62,6 +62,11 @@ public class StatementHook implements IMethodHook {
 	 */
 	private final StatementReflectionCache statementReflectionCache;
 
+	/**
+	 * Dictionary assigning the ids to the SQL texts.
+	 */
+	private final SqlStatementDictionary sqlStatementDictionary;
+
 	/**
 	 * The only constructor which needs the {@link Timer}.
 	 *
@@ -75,14 +80,17 @@ public class StatementHook implements IMethodHook {
 	 *            the storage containing meta information on the connection.
 	 * @param statementReflectionCache
 	 *            Caches the calls to getConnection()
+	 * @param sqlStatementDictionary
+	 *            Dictionary assigning the ids to the SQL texts.
 	 */
 	public StatementHook(Timer timer, IPlatformManager platformManager, ConnectionMetaDataStorage connectionMetaDataStorage, StatementReflectionCache statementReflectionCache,
-			Map<String, Object> parameter) {
+			SqlStatementDictionary sqlStatementDictionary, Map<String, Object> parameter) {
 		this.timer = timer;
 		this.platformManager = platformManager;
 		this.connectionMetaDataStorage = connectionMetaDataStorage;
 		this.strConstraint = new StringConstraint(parameter);
 		this.statementReflectionCache = statementReflectionCache;
+		this.sqlStatementDictionary = sqlStatementDictionary;
 	}
 
 	/**
@@ -121,7 +129,9 @@ public class StatementHook implements IMethodHook {
 
 			SqlStatementData sqlData = new SqlStatementData(timestamp, platformId, sensorTypeId, methodId);
 			sqlData.setPreparedStatement(false);
-			sqlData.setSql(strConstraint.crop(sql));
+			String croppedSql = strConstraint.crop(sql);
+			sqlData.setSql(croppedSql);
+			sqlData.setSqlId(sqlStatementDictionary.getId(croppedSql));
 			sqlData.setDuration(duration);
 			sqlData.calculateMin(duration);
 			sqlData.calculateMax(duration);
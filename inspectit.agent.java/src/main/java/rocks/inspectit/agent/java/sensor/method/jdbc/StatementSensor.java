@@ -48,6 +48,12 @@ public class StatementSensor extends AbstractMethodSensor implements IMethodSens
 	@Autowired
 	private ConnectionMetaDataStorage connectionMetaDataStorage;
 
+	/**
+	 * Dictionary assigning the ids to the SQL texts.
+	 */
+	@Autowired
+	private SqlStatementDictionary sqlStatementDictionary;
+
 	/**
 	 * Returns the method hook.
 	 *
@@ -63,7 +69,7 @@ public class StatementSensor extends AbstractMethodSensor implements IMethodSens
 	 */
 	@Override
 	protected void initHook(Map<String, Object> parameters) {
-		statementHook = new StatementHook(timer, platformManager, connectionMetaDataStorage, statementReflectionCache, parameters);
+		statementHook = new StatementHook(timer, platformManager, connectionMetaDataStorage, statementReflectionCache, sqlStatementDictionary, parameters);
 	}
 
 }
@@ -136,13 +136,16 @@ public class RemoteServerHook implements IMethodHook {
 					LOG.debug("Remote server hook after body span " + span);
 				}
 
-				AbstractSpan transformedSpan = SpanTransformer.transformSpan(span);
-				transformedSpan.setPlatformIdent(platformManager.getPlatformId());
-				transformedSpan.setMethodIdent(methodId);
-				transformedSpan.setSensorTypeIdent(sensorTypeId);
-
-				// add to core service (use span id as prefix)
-				coreService.addDefaultData(transformedSpan);
+				// only send if trace is sampled, erroneous spans are always sent
+				if (span.isSampled() || span.isError()) {
+					AbstractSpan transformedSpan = SpanTransformer.transformSpan(span);
+					transformedSpan.setPlatformIdent(platformManager.getPlatformId());
+					transformedSpan.setMethodIdent(methodId);
+					transformedSpan.setSensorTypeIdent(sensorTypeId);
+
+					// add to core service (use span id as prefix)
+					coreService.addDefaultData(transformedSpan);
+				}
 			}
 		}
 	}
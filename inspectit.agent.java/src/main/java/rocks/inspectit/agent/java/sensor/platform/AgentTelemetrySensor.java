@@ -0,0 +1,73 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import java.sql.Timestamp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
+
+/**
+ * Platform sensor that periodically sends the internal metrics of the agent collected by the
+ * {@link AgentTelemetry}.
+ *
+ * @author agent
+ *
+ */
+public class AgentTelemetrySensor extends AbstractPlatformSensor {
+
+	/**
+	 * Collector data holding the platform and sensor type ident.
+	 */
+	private AgentTelemetryData agentTelemetryData = new AgentTelemetryData();
+
+	/**
+	 * Telemetry collecting the metrics.
+	 */
+	@Autowired
+	private AgentTelemetry agentTelemetry;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Metrics are recorded by the agent components directly, thus nothing to gather.
+	 */
+	@Override
+	public void gather() {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SystemSensorData get() {
+		AgentTelemetryData newAgentTelemetryData = new AgentTelemetryData();
+		newAgentTelemetryData.setPlatformIdent(this.agentTelemetryData.getPlatformIdent());
+		newAgentTelemetryData.setSensorTypeIdent(this.agentTelemetryData.getSensorTypeIdent());
+		newAgentTelemetryData.setTimeStamp(this.agentTelemetryData.getTimeStamp());
+
+		agentTelemetry.collect(newAgentTelemetryData);
+		return newAgentTelemetryData;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Only the time stamp is renewed, the metrics recorded between the {@link #get()} and the reset
+	 * are reported with the next {@link #get()}.
+	 */
+	@Override
+	public void reset() {
+		this.agentTelemetryData.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected SystemSensorData getSystemSensorData() {
+		return this.agentTelemetryData;
+	}
+
+}
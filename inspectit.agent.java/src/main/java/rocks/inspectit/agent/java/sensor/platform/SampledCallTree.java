@@ -0,0 +1,174 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+
+/**
+ * Call tree the sampled stacks are folded into. Each stack is added starting from the bottom most
+ * frame, so that the same call paths of different samples end up in the same nodes. The nodes are
+ * kept in the growing primitive arrays in the order of creation, thus the parent always precedes
+ * its children as expected by the {@link SamplingProfilerData}.
+ * <p>
+ * The class is not thread safe.
+ *
+ * @author agent
+ *
+ */
+class SampledCallTree {
+
+	/**
+	 * Initial capacity of the node arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * Frame table.
+	 */
+	private List<String> frames = new ArrayList<String>();
+
+	/**
+	 * Frame index for each already seen stack trace element. Different elements (for example
+	 * different lines) can point to the same frame.
+	 */
+	private Map<StackTraceElement, Integer> frameIndexes = new HashMap<StackTraceElement, Integer>();
+
+	/**
+	 * Frame index for each frame name.
+	 */
+	private Map<String, Integer> frameNameIndexes = new HashMap<String, Integer>();
+
+	/**
+	 * Node index for each parent and frame pair.
+	 */
+	private Map<Long, Integer> nodeIndexes = new HashMap<Long, Integer>();
+
+	/**
+	 * Frame index of each node.
+	 */
+	private int[] nodeFrames = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Parent index of each node.
+	 */
+	private int[] nodeParents = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Samples of each node.
+	 */
+	private int[] nodeSamples = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Amount of nodes.
+	 */
+	private int size;
+
+	/**
+	 * Number of sampling rounds.
+	 */
+	private int sampleCount;
+
+	/**
+	 * Marks one sampling round.
+	 */
+	public void incrementSampleCount() {
+		sampleCount++;
+	}
+
+	/**
+	 * Adds the stack trace to the tree.
+	 *
+	 * @param stackTrace
+	 *            Stack trace as returned by the JVM, with the most recent call first.
+	 */
+	public void add(StackTraceElement[] stackTrace) {
+		int parent = -1;
+		for (int i = stackTrace.length - 1; i >= 0; i--) {
+			int frame = getFrameIndex(stackTrace[i]);
+			Long key = Long.valueOf(((long) parent << 32) | (frame & 0xFFFFFFFFL));
+			Integer node = nodeIndexes.get(key);
+			if (null == node) {
+				node = Integer.valueOf(addNode(frame, parent));
+				nodeIndexes.put(key, node);
+			}
+			nodeSamples[node.intValue()]++;
+			parent = node.intValue();
+		}
+	}
+
+	/**
+	 * Returns if no stack was added to the tree.
+	 *
+	 * @return Returns if no stack was added to the tree.
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * Moves the content of the tree to the given data object and clears the tree.
+	 *
+	 * @param samplingProfilerData
+	 *            Data to fill.
+	 */
+	public void drainTo(SamplingProfilerData samplingProfilerData) {
+		samplingProfilerData.setSampleCount(sampleCount);
+		samplingProfilerData.setCallTree(frames, Arrays.copyOf(nodeFrames, size), Arrays.copyOf(nodeParents, size), Arrays.copyOf(nodeSamples, size));
+
+		frames = new ArrayList<String>();
+		frameIndexes.clear();
+		frameNameIndexes.clear();
+		nodeIndexes.clear();
+		size = 0;
+		sampleCount = 0;
+	}
+
+	/**
+	 * Returns the index of the frame in the frame table, adding the frame if it's not in the table.
+	 *
+	 * @param element
+	 *            Stack trace element.
+	 * @return Frame index.
+	 */
+	private int getFrameIndex(StackTraceElement element) {
+		Integer index = frameIndexes.get(element);
+		if (null == index) {
+			String name = element.getClassName() + '.' + element.getMethodName();
+			index = frameNameIndexes.get(name);
+			if (null == index) {
+				index = Integer.valueOf(frames.size());
+				frames.add(name);
+				frameNameIndexes.put(name, index);
+			}
+			frameIndexes.put(element, index);
+		}
+		return index.intValue();
+	}
+
+	/**
+	 * Adds new node with zero samples.
+	 *
+	 * @param frame
+	 *            Frame index.
+	 * @param parent
+	 *            Parent index.
+	 * @return Index of the new node.
+	 */
+	private int addNode(int frame, int parent) {
+		if (size == nodeFrames.length) {
+			int capacity = nodeFrames.length * 2;
+			nodeFrames = Arrays.copyOf(nodeFrames, capacity);
+			nodeParents = Arrays.copyOf(nodeParents, capacity);
+			nodeSamples = Arrays.copyOf(nodeSamples, capacity);
+		}
+		nodeFrames[size] = frame;
+		nodeParents[size] = parent;
+		nodeSamples[size] = 0;
+		return size++;
+	}
+
+}
@@ -0,0 +1,357 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import java.lang.management.ThreadInfo;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import rocks.inspectit.agent.java.IThreadTransformHelper;
+import rocks.inspectit.agent.java.core.IDeferredStartup;
+import rocks.inspectit.agent.java.sensor.platform.provider.ThreadInfoProvider;
+import rocks.inspectit.agent.java.sensor.platform.provider.factory.PlatformSensorInfoProviderFactory;
+import rocks.inspectit.agent.java.util.AgentAwareThread;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+import rocks.inspectit.shared.all.util.ExecutorServiceUtils;
+
+/**
+ * Sampling profiler that periodically takes the stack traces of the application threads and folds
+ * them into a call tree. Unlike the invocation sequence sensor it does not need any
+ * instrumentation, thus the application threads pay no cost on the method calls and the overhead
+ * is limited to the sampling thread.
+ * <p>
+ * Sampling is done in its own thread with the configured rate, as the platform sensors gather
+ * interval is too coarse for profiling. The call tree is sent as one
+ * {@link SamplingProfilerData} per platform sensors sending interval.
+ *
+ * @author agent
+ *
+ */
+public class SamplingProfiler extends AbstractPlatformSensor implements IDeferredStartup {
+
+	/**
+	 * Name of the system thread group holding the JVM threads that are never sampled.
+	 */
+	private static final String SYSTEM_THREAD_GROUP = "system";
+
+	/**
+	 * Prefix of the names of the agent threads.
+	 */
+	private static final String AGENT_THREAD_PREFIX = "inspectit-";
+
+	/**
+	 * Default sampling rate in Hz.
+	 */
+	private static final int DEFAULT_SAMPLING_RATE = 50;
+
+	/**
+	 * Default max stack depth.
+	 */
+	private static final int DEFAULT_MAX_STACK_DEPTH = 64;
+
+	/**
+	 * Collector data holding the platform and sensor type ident.
+	 */
+	private SamplingProfilerData samplingProfilerData = new SamplingProfilerData();
+
+	/**
+	 * Call tree the samples are folded into. Guarded by itself.
+	 */
+	private final SampledCallTree callTree = new SampledCallTree();
+
+	/**
+	 * The {@link ThreadInfoProvider} used to retrieve the thread stacks.
+	 */
+	private ThreadInfoProvider threadBean;
+
+	/**
+	 * Thread transform helper for the sampling thread.
+	 */
+	@Autowired
+	private IThreadTransformHelper threadTransformHelper;
+
+	/**
+	 * Executor running the sampling.
+	 */
+	private ScheduledExecutorService executorService;
+
+	/**
+	 * Sampling rate in Hz.
+	 */
+	int samplingRate = DEFAULT_SAMPLING_RATE;
+
+	/**
+	 * Max depth of the sampled stacks.
+	 */
+	int maxStackDepth = DEFAULT_MAX_STACK_DEPTH;
+
+	/**
+	 * If only runnable threads are included in the samples.
+	 */
+	boolean runnableOnly = true;
+
+	/**
+	 * Names of the sampled thread groups, empty for all application threads.
+	 */
+	Collection<String> threadGroups = Collections.emptyList();
+
+	/**
+	 * IDs of the sampled threads.
+	 */
+	private long[] threadIds;
+
+	/**
+	 * Number of samples since the IDs of the sampled threads were refreshed.
+	 */
+	private int samplesSinceRefresh;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		super.afterPropertiesSet();
+
+		if (null != getSensorTypeConfig()) {
+			configure(getSensorTypeConfig().getParameters());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Starts the sampling thread.
+	 */
+	@Override
+	public void deferredStartup() {
+		if ((null != getSensorTypeConfig()) && (null == executorService)) {
+			start();
+		}
+	}
+
+	/**
+	 * Reads the sensor parameters.
+	 *
+	 * @param parameters
+	 *            Parameters of the sensor type configuration.
+	 */
+	@SuppressWarnings("unchecked")
+	void configure(Map<String, Object> parameters) {
+		if (null == parameters) {
+			return;
+		}
+
+		Object value = parameters.get("samplingRate");
+		if (value instanceof Number) {
+			samplingRate = Math.max(1, ((Number) value).intValue());
+		}
+		value = parameters.get("maxStackDepth");
+		if (value instanceof Number) {
+			maxStackDepth = Math.max(1, ((Number) value).intValue());
+		}
+		value = parameters.get("runnableOnly");
+		if (value instanceof Boolean) {
+			runnableOnly = ((Boolean) value).booleanValue();
+		}
+		value = parameters.get("threadGroups");
+		if (value instanceof Collection) {
+			threadGroups = new ArrayList<String>((Collection<String>) value);
+		}
+	}
+
+	/**
+	 * Starts the sampling thread.
+	 */
+	private void start() {
+		ThreadFactory agentThreadFactory = new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				return new AgentAwareThread(r, threadTransformHelper);
+			}
+		};
+		ThreadFactory threadFactory = new ThreadFactoryBuilder().setThreadFactory(agentThreadFactory).setNameFormat("inspectit-sampling-profiler-thread-%d").setDaemon(true).build();
+		executorService = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+		long period = TimeUnit.SECONDS.toMicros(1) / samplingRate;
+		executorService.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					sample();
+				} catch (Throwable t) { // NOPMD
+					// never let the exception stop the sampling
+					log.warn("Sampling of the thread stacks failed.", t);
+				}
+			}
+		}, period, period, TimeUnit.MICROSECONDS);
+
+		if (log.isInfoEnabled()) {
+			log.info("Sampling profiler started with the rate of " + samplingRate + " Hz" + (threadGroups.isEmpty() ? "." : (" for thread groups " + threadGroups + ".")));
+		}
+	}
+
+	/**
+	 * Stops the sampling thread.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (null != executorService) {
+			ExecutorServiceUtils.shutdownExecutor(executorService, 5L, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Takes one sample of the stacks of all sampled threads. The IDs of the sampled threads are
+	 * refreshed once per second.
+	 */
+	void sample() {
+		if ((null == threadIds) || (samplesSinceRefresh >= samplingRate)) {
+			threadIds = findThreadIds();
+			samplesSinceRefresh = 0;
+		}
+		samplesSinceRefresh++;
+
+		ThreadInfo[] threadInfos = getThreadBean().getThreadInfo(threadIds, maxStackDepth);
+		synchronized (callTree) {
+			callTree.incrementSampleCount();
+			for (ThreadInfo threadInfo : threadInfos) {
+				if ((null == threadInfo) || (runnableOnly && (Thread.State.RUNNABLE != threadInfo.getThreadState()))) {
+					continue;
+				}
+				StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+				if (stackTrace.length > 0) {
+					callTree.add(stackTrace);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the IDs of the threads to sample. These are threads in the configured thread groups or
+	 * all threads outside of the system thread group if no thread group is configured. Agent threads
+	 * are never sampled.
+	 *
+	 * @return IDs of the threads to sample.
+	 */
+	long[] findThreadIds() {
+		ThreadGroup root = Thread.currentThread().getThreadGroup();
+		while (null != root.getParent()) {
+			root = root.getParent();
+		}
+
+		Thread[] threads = new Thread[root.activeCount() + 16];
+		int count = root.enumerate(threads, true);
+		while (count == threads.length) {
+			threads = new Thread[threads.length * 2];
+			count = root.enumerate(threads, true);
+		}
+
+		long[] ids = new long[count];
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			if (isSampled(threads[i])) {
+				ids[size++] = threads[i].getId();
+			}
+		}
+		long[] result = new long[size];
+		System.arraycopy(ids, 0, result, 0, size);
+		return result;
+	}
+
+	/**
+	 * Defines if the thread should be sampled.
+	 *
+	 * @param thread
+	 *            Thread.
+	 * @return <code>true</code> if thread should be sampled.
+	 */
+	private boolean isSampled(Thread thread) {
+		if ((thread instanceof AgentAwareThread) || thread.getName().startsWith(AGENT_THREAD_PREFIX)) {
+			return false;
+		}
+		ThreadGroup threadGroup = thread.getThreadGroup();
+		if (null == threadGroup) {
+			// thread terminated in meantime
+			return false;
+		}
+		if (threadGroups.isEmpty()) {
+			return !SYSTEM_THREAD_GROUP.equals(threadGroup.getName());
+		} else {
+			return threadGroups.contains(threadGroup.getName());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Sampling is done in the sampling thread, thus nothing to gather.
+	 */
+	@Override
+	public void gather() {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returns the call tree folded since the last call or <code>null</code> if no stack was sampled.
+	 */
+	@Override
+	public SystemSensorData get() {
+		SamplingProfilerData newSamplingProfilerData = new SamplingProfilerData();
+		newSamplingProfilerData.setPlatformIdent(this.samplingProfilerData.getPlatformIdent());
+		newSamplingProfilerData.setSensorTypeIdent(this.samplingProfilerData.getSensorTypeIdent());
+		newSamplingProfilerData.setTimeStamp(this.samplingProfilerData.getTimeStamp());
+
+		synchronized (callTree) {
+			if (callTree.isEmpty()) {
+				return null;
+			}
+			callTree.drainTo(newSamplingProfilerData);
+		}
+		return newSamplingProfilerData;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Only the time stamp is renewed, the samples taken between the {@link #get()} and the reset
+	 * are kept in the call tree.
+	 */
+	@Override
+	public void reset() {
+		this.samplingProfilerData.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected SystemSensorData getSystemSensorData() {
+		return this.samplingProfilerData;
+	}
+
+	/**
+	 * Gets the {@link ThreadInfoProvider}. The getter method is provided for better testability.
+	 *
+	 * @return {@link ThreadInfoProvider}.
+	 */
+	private ThreadInfoProvider getThreadBean() {
+		if (this.threadBean == null) {
+			this.threadBean = PlatformSensorInfoProviderFactory.getPlatformSensorInfoProvider().getThreadInfoProvider();
+		}
+		return this.threadBean;
+	}
+
+}
@@ -1,5 +1,7 @@
 package rocks.inspectit.agent.java.sensor.platform.provider;
 
+import java.lang.management.ThreadInfo;
+
 /**
  * The management interface for the thread system of the Java virtual machine.
  *
@@ -37,4 +39,17 @@ public interface ThreadInfoProvider {
 	 */
 	int getDaemonThreadCount();
 
+	/**
+	 * Returns the thread info for each thread whose id is in the input array, with the stack trace
+	 * of the specified maximum number of elements.
+	 *
+	 * @param ids
+	 *            an array of thread IDs.
+	 * @param maxDepth
+	 *            the maximum number of entries in the stack trace to be dumped.
+	 * @return an array of the thread info objects, an element is <code>null</code> if the thread
+	 *         with the corresponding ID is not alive or does not exist.
+	 */
+	ThreadInfo[] getThreadInfo(long[] ids, int maxDepth);
+
 }
@@ -1,6 +1,7 @@
 package rocks.inspectit.agent.java.sensor.platform.provider.def;
 
 import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
 
 import rocks.inspectit.agent.java.sensor.platform.provider.ThreadInfoProvider;
@@ -49,4 +50,12 @@ public class DefaultThreadInfoProvider implements ThreadInfoProvider {
 		return threadBean.getDaemonThreadCount();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ThreadInfo[] getThreadInfo(long[] ids, int maxDepth) {
+		return threadBean.getThreadInfo(ids, maxDepth);
+	}
+
 }
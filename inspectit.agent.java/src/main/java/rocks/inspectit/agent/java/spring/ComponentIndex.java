@@ -0,0 +1,85 @@
+package rocks.inspectit.agent.java.spring;
+
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.type.AnnotationMetadata;
+
+import rocks.inspectit.agent.java.ThreadLocalTransformHelper;
+import rocks.inspectit.agent.java.analyzer.impl.ByteCodeAnalyzer;
+import rocks.inspectit.agent.java.analyzer.impl.ClassHashHelper;
+import rocks.inspectit.agent.java.config.impl.ConfigurationStorage;
+import rocks.inspectit.agent.java.config.impl.PropertyAccessor;
+import rocks.inspectit.agent.java.connection.impl.AgentMessageFetcher;
+import rocks.inspectit.agent.java.connection.impl.KeepAliveManager;
+import rocks.inspectit.agent.java.connection.impl.KryoNetConnection;
+import rocks.inspectit.agent.java.core.impl.CoreService;
+import rocks.inspectit.agent.java.core.impl.DefaultDataHandler;
+import rocks.inspectit.agent.java.core.impl.ExceptionStackTraceDeduplicator;
+import rocks.inspectit.agent.java.core.impl.PlatformManager;
+import rocks.inspectit.agent.java.core.impl.SqlStatementDeduplicator;
+import rocks.inspectit.agent.java.eum.data.DataHandler;
+import rocks.inspectit.agent.java.eum.instrumentation.JSAgentBuilder;
+import rocks.inspectit.agent.java.hooking.impl.HookDispatcher;
+import rocks.inspectit.agent.java.instrumentation.InstrumenterFactory;
+import rocks.inspectit.agent.java.instrumentation.RetransformManager;
+import rocks.inspectit.agent.java.io.FileResolver;
+import rocks.inspectit.agent.java.proxy.impl.ASMProxyBuilder;
+import rocks.inspectit.agent.java.proxy.impl.RuntimeLinker;
+import rocks.inspectit.agent.java.sensor.method.jdbc.ConnectionMetaDataStorage;
+import rocks.inspectit.agent.java.sensor.method.jdbc.SqlStatementDictionary;
+import rocks.inspectit.agent.java.sensor.method.jdbc.StatementReflectionCache;
+import rocks.inspectit.agent.java.sensor.method.jdbc.StatementStorage;
+import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
+import rocks.inspectit.agent.java.tracing.core.ClientInterceptor;
+import rocks.inspectit.agent.java.tracing.core.CoreServiceReporter;
+import rocks.inspectit.agent.java.tracing.core.ServerInterceptor;
+import rocks.inspectit.agent.java.util.Timer;
+import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
+import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
+import rocks.inspectit.shared.all.spring.logger.LoggerPostProcessor;
+import rocks.inspectit.shared.all.storage.nio.ByteBufferProvider;
+import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
+import rocks.inspectit.shared.all.storage.nio.stream.SocketExtendedByteBufferInputStream;
+import rocks.inspectit.shared.all.util.KryoNetNetwork;
+import rocks.inspectit.shared.all.util.ResourceUtils;
+import rocks.inspectit.shared.all.version.FileBasedVersionReader;
+import rocks.inspectit.shared.all.version.VersionService;
+
+/**
+ * Index of all components of the agent. Registers the components the same way as the component
+ * scan of the <code>rocks.inspectit</code> package would do, but without scanning the agent jar on
+ * startup.
+ * <p>
+ * Every new component of the agent must be added to the {@link #COMPONENTS}. The components are
+ * listed in the order the component scan would find them.
+ *
+ * @author agent
+ *
+ */
+public class ComponentIndex implements ImportBeanDefinitionRegistrar {
+
+	/**
+	 * All components of the agent.
+	 */
+	static final Class<?>[] COMPONENTS = new Class<?>[] {
+			// agent
+			ThreadLocalTransformHelper.class, ByteCodeAnalyzer.class, ClassHashHelper.class, ConfigurationStorage.class, PropertyAccessor.class, AgentMessageFetcher.class, KeepAliveManager.class,
+			KryoNetConnection.class, CoreService.class, DefaultDataHandler.class, ExceptionStackTraceDeduplicator.class, PlatformManager.class, SqlStatementDeduplicator.class, DataHandler.class,
+			JSAgentBuilder.class, HookDispatcher.class, InstrumenterFactory.class, RetransformManager.class, FileResolver.class, ASMProxyBuilder.class, RuntimeLinker.class,
+			ConnectionMetaDataStorage.class, SqlStatementDictionary.class, StatementReflectionCache.class, StatementStorage.class, PrototypesProvider.class, AgentStatisticsLogger.class,
+			AgentTelemetry.class, ClientInterceptor.class, CoreServiceReporter.class, ServerInterceptor.class, Timer.class,
+			// shared
+			SerializationManager.class, ClassSchemaManager.class, LoggerPostProcessor.class, ByteBufferProvider.class, ExtendedByteBufferOutputStream.class,
+			SocketExtendedByteBufferInputStream.class, KryoNetNetwork.class, ResourceUtils.class, FileBasedVersionReader.class, VersionService.class };
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+		new AnnotatedBeanDefinitionReader(registry).register(COMPONENTS);
+	}
+
+}
@@ -15,8 +15,8 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
 import org.springframework.beans.factory.support.GenericBeanDefinition;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Scope;
 import org.springframework.core.io.ClassPathResource;
 
@@ -28,6 +28,7 @@ import rocks.inspectit.agent.java.connection.impl.AgentAwareClient;
 import rocks.inspectit.agent.java.sdk.opentracing.Reporter;
 import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
 import rocks.inspectit.agent.java.sdk.opentracing.util.SystemTimer;
+import rocks.inspectit.agent.java.tracing.core.SamplerFactory;
 import rocks.inspectit.agent.java.util.AgentAwareThread;
 import rocks.inspectit.shared.all.instrumentation.config.impl.AbstractSensorTypeConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.JmxSensorTypeConfig;
@@ -37,12 +38,14 @@ import rocks.inspectit.shared.all.kryonet.IExtendedSerialization;
 
 /**
  * Post process configuration storage to define buffer and sending strategy beans.
+ * <p>
+ * The components are registered with the {@link ComponentIndex} instead of scanning the agent jar.
  *
  * @author Ivan Senic
  *
  */
 @Configuration
-@ComponentScan("rocks.inspectit")
+@Import(ComponentIndex.class)
 public class SpringConfiguration implements BeanDefinitionRegistryPostProcessor {
 
 	/**
@@ -143,7 +146,8 @@ public class SpringConfiguration implements BeanDefinitionRegistryPostProcessor
 	}
 
 	/**
-	 * Creates the {@link TracerImpl}.
+	 * Creates the {@link TracerImpl}. Sampler of the tracer is defined with the system properties,
+	 * see {@link SamplerFactory}.
 	 *
 	 * @param reporter
 	 *            Reporter to use. Autowired.
@@ -154,6 +158,7 @@ public class SpringConfiguration implements BeanDefinitionRegistryPostProcessor
 	@Autowired
 	public TracerImpl getTracer(Reporter reporter) {
 		TracerImpl tracer = new TracerImpl(new SystemTimer(), reporter, true);
+		tracer.setSampler(SamplerFactory.createSampler());
 		return tracer;
 	}
 
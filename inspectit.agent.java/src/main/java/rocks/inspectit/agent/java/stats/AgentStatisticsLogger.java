@@ -1,6 +1,7 @@
 package rocks.inspectit.agent.java.stats;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.ArrayUtils;
@@ -13,7 +14,7 @@ import rocks.inspectit.shared.all.spring.logger.Log;
  * Very basic component for statistics logging. Other components can use methods provided to denote
  * different events, while the logger decides when will something be printed.
  * <P>
- * For now only can log the number of data dropped.
+ * Logs the number of data dropped and the pauses caused by the class retransformation.
  *
  * @author Ivan Senic
  *
@@ -47,6 +48,16 @@ public class AgentStatisticsLogger {
 	 */
 	private AtomicLong thrownBusinessExceptionCount = new AtomicLong(0);
 
+	/**
+	 * Count of the retransformed classes.
+	 */
+	private AtomicLong retransformedClassCount = new AtomicLong(0);
+
+	/**
+	 * Total time in nanoseconds spent in class retransformation.
+	 */
+	private AtomicLong retransformationPauseNanos = new AtomicLong(0);
+
 	/**
 	 * Signals data drop.
 	 *
@@ -78,6 +89,42 @@ public class AgentStatisticsLogger {
 		}
 	}
 
+	/**
+	 * Signals performed retransformation of the loaded classes.
+	 *
+	 * @param classCount
+	 *            Amount of classes retransformed.
+	 * @param pauseNanos
+	 *            Time in nanoseconds spent in retransformation, during which the application was
+	 *            paused.
+	 */
+	public void retransformationPerformed(int classCount, long pauseNanos) {
+		long totalClasses = retransformedClassCount.addAndGet(classCount);
+		long totalPauseNanos = retransformationPauseNanos.addAndGet(pauseNanos);
+
+		if (log.isInfoEnabled()) {
+			log.info("Class retransformation caused " + TimeUnit.NANOSECONDS.toMillis(totalPauseNanos) + " ms of pauses for " + totalClasses + " retransformed classes in total.");
+		}
+	}
+
+	/**
+	 * Returns the count of the retransformed classes.
+	 *
+	 * @return Returns the count of the retransformed classes.
+	 */
+	public long getRetransformedClassCount() {
+		return retransformedClassCount.get();
+	}
+
+	/**
+	 * Returns the total time in nanoseconds spent in class retransformation.
+	 *
+	 * @return Returns the total time in nanoseconds spent in class retransformation.
+	 */
+	public long getRetransformationPauseNanos() {
+		return retransformationPauseNanos.get();
+	}
+
 	/**
 	 * Small utility for log based on the boundaries.
 	 *
@@ -0,0 +1,293 @@
+package rocks.inspectit.agent.java.stats;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
+
+/**
+ * Collects the internal metrics of the agent: the time spent in the hooks of each method sensor,
+ * the occupancy of the ring buffer and the size and enqueue time of the sent batches. The collected
+ * metrics are periodically moved to the {@link AgentTelemetryData} by the
+ * {@link rocks.inspectit.agent.java.sensor.platform.AgentTelemetrySensor}.
+ * <p>
+ * The recording methods called by the application threads are lock-free. The hook time is measured
+ * only for every {@link #hookSamplingInterval}-th hook dispatch of a thread, so that the
+ * application threads pay the cost of the time measurement only on the sampled dispatches.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class AgentTelemetry {
+
+	/**
+	 * Default hook sampling interval.
+	 */
+	public static final int DEFAULT_HOOK_SAMPLING_INTERVAL = 64;
+
+	/**
+	 * Every n-th hook dispatch of a thread is measured, <code>0</code> disables the measuring.
+	 */
+	private volatile int hookSamplingInterval = DEFAULT_HOOK_SAMPLING_INTERVAL;
+
+	/**
+	 * Count of the hook dispatches for each thread.
+	 */
+	private final ThreadLocal<int[]> hookDispatchCount = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
+	/**
+	 * Measured hook times by sensor type ID.
+	 */
+	private final NonBlockingHashMapLong<HookTime> hookTimes = new NonBlockingHashMapLong<HookTime>();
+
+	/**
+	 * How many times there was no free slot in the ring buffer.
+	 */
+	private final AtomicLong ringBufferFullCount = new AtomicLong();
+
+	/**
+	 * Size of the ring buffer. Guarded by this.
+	 */
+	private int ringBufferSize;
+
+	/**
+	 * How many times the ring buffer occupancy was recorded. Guarded by this.
+	 */
+	private int ringBufferOccupancySamples;
+
+	/**
+	 * Sum of the recorded ring buffer occupancies. Guarded by this.
+	 */
+	private long totalRingBufferOccupancy;
+
+	/**
+	 * Max recorded ring buffer occupancy. Guarded by this.
+	 */
+	private int maxRingBufferOccupancy;
+
+	/**
+	 * Number of sent batches.
+	 */
+	private final AtomicLong sendCount = new AtomicLong();
+
+	/**
+	 * Number of sent data objects.
+	 */
+	private final AtomicLong sentObjectCount = new AtomicLong();
+
+	/**
+	 * Total enqueue time in nanoseconds.
+	 */
+	private final AtomicLong totalEnqueueNanos = new AtomicLong();
+
+	/**
+	 * Bytes sent.
+	 */
+	private final AtomicLong bytesSent = new AtomicLong();
+
+	/**
+	 * Histogram of the batch sizes.
+	 */
+	private final AtomicLongArray batchSizeHistogram = new AtomicLongArray(AgentTelemetryData.HISTOGRAM_BUCKETS);
+
+	/**
+	 * Histogram of the enqueue times in microseconds.
+	 */
+	private final AtomicLongArray enqueueTimeHistogram = new AtomicLongArray(AgentTelemetryData.HISTOGRAM_BUCKETS);
+
+	/**
+	 * Defines if the current hook dispatch of the calling thread should be measured. Must be
+	 * called once per dispatch.
+	 *
+	 * @return <code>true</code> if the hook execution times should be measured and reported with
+	 *         {@link #hookExecuted(long, long)}.
+	 */
+	public boolean isHookDispatchSampled() {
+		int interval = hookSamplingInterval;
+		if (interval <= 0) {
+			return false;
+		}
+		int[] count = hookDispatchCount.get();
+		return (++count[0] % interval) == 0;
+	}
+
+	/**
+	 * Records the measured execution of a hook.
+	 *
+	 * @param sensorTypeId
+	 *            ID of the method sensor type the hook belongs to.
+	 * @param nanos
+	 *            Execution time in nanoseconds.
+	 */
+	public void hookExecuted(long sensorTypeId, long nanos) {
+		HookTime hookTime = hookTimes.get(sensorTypeId);
+		if (null == hookTime) {
+			hookTime = new HookTime();
+			HookTime existing = hookTimes.putIfAbsent(sensorTypeId, hookTime);
+			if (null != existing) {
+				hookTime = existing;
+			}
+		}
+		hookTime.calls.incrementAndGet();
+		hookTime.nanos.addAndGet(nanos);
+	}
+
+	/**
+	 * Records that there was no free slot in the ring buffer.
+	 */
+	public void ringBufferFull() {
+		ringBufferFullCount.incrementAndGet();
+	}
+
+	/**
+	 * Records the current ring buffer occupancy.
+	 *
+	 * @param occupancy
+	 *            Number of occupied slots.
+	 * @param bufferSize
+	 *            Size of the ring buffer.
+	 */
+	public synchronized void ringBufferOccupancy(int occupancy, int bufferSize) {
+		ringBufferSize = bufferSize;
+		ringBufferOccupancySamples++;
+		totalRingBufferOccupancy += occupancy;
+		maxRingBufferOccupancy = Math.max(maxRingBufferOccupancy, occupancy);
+	}
+
+	/**
+	 * Records one sent batch.
+	 *
+	 * @param batchSize
+	 *            Number of data objects in the batch.
+	 * @param enqueueNanos
+	 *            Time in nanoseconds the serialization and enqueueing of the batch took. As the
+	 *            sending does not wait for the CMR, this is not the round-trip latency.
+	 * @param bytes
+	 *            Bytes sent.
+	 */
+	public void dataSent(int batchSize, long enqueueNanos, long bytes) {
+		sendCount.incrementAndGet();
+		sentObjectCount.addAndGet(batchSize);
+		totalEnqueueNanos.addAndGet(enqueueNanos);
+		bytesSent.addAndGet(bytes);
+		batchSizeHistogram.incrementAndGet(AgentTelemetryData.getHistogramBucket(batchSize));
+		enqueueTimeHistogram.incrementAndGet(AgentTelemetryData.getHistogramBucket(enqueueNanos / 1000L));
+	}
+
+	/**
+	 * Moves the metrics collected since the last call to the given data object. Metrics are reset
+	 * afterwards.
+	 *
+	 * @param data
+	 *            Data to fill.
+	 */
+	public void collect(AgentTelemetryData data) {
+		int size = hookTimes.size();
+		long[] sensorTypeIds = new long[size];
+		long[] calls = new long[size];
+		long[] nanos = new long[size];
+		int index = 0;
+		for (Entry<Long, HookTime> entry : hookTimes.entrySet()) {
+			if (index == size) {
+				// sensor added in meantime, reported next time
+				break;
+			}
+			sensorTypeIds[index] = entry.getKey().longValue();
+			calls[index] = entry.getValue().calls.getAndSet(0);
+			nanos[index] = entry.getValue().nanos.getAndSet(0);
+			index++;
+		}
+		if (index < size) {
+			sensorTypeIds = Arrays.copyOf(sensorTypeIds, index);
+			calls = Arrays.copyOf(calls, index);
+			nanos = Arrays.copyOf(nanos, index);
+		}
+		data.setHookSamplingInterval(hookSamplingInterval);
+		data.setHookTimes(sensorTypeIds, calls, nanos);
+
+		synchronized (this) {
+			data.setRingBufferSize(ringBufferSize);
+			data.setRingBufferOccupancySamples(ringBufferOccupancySamples);
+			data.setTotalRingBufferOccupancy(totalRingBufferOccupancy);
+			data.setMaxRingBufferOccupancy(maxRingBufferOccupancy);
+			ringBufferOccupancySamples = 0;
+			totalRingBufferOccupancy = 0;
+			maxRingBufferOccupancy = 0;
+		}
+		data.setRingBufferFullCount(ringBufferFullCount.getAndSet(0));
+
+		data.setSendCount(sendCount.getAndSet(0));
+		data.setSentObjectCount(sentObjectCount.getAndSet(0));
+		data.setTotalEnqueueNanos(totalEnqueueNanos.getAndSet(0));
+		data.setBytesSent(bytesSent.getAndSet(0));
+		data.setBatchSizeHistogram(drain(batchSizeHistogram));
+		data.setEnqueueTimeHistogram(drain(enqueueTimeHistogram));
+	}
+
+	/**
+	 * Returns the values of the histogram and resets them.
+	 *
+	 * @param histogram
+	 *            Histogram.
+	 * @return Values.
+	 */
+	private long[] drain(AtomicLongArray histogram) {
+		long[] values = new long[histogram.length()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = histogram.getAndSet(i, 0);
+		}
+		return values;
+	}
+
+	/**
+	 * Gets {@link #hookSamplingInterval}.
+	 *
+	 * @return {@link #hookSamplingInterval}
+	 */
+	public int getHookSamplingInterval() {
+		return this.hookSamplingInterval;
+	}
+
+	/**
+	 * Sets {@link #hookSamplingInterval}.
+	 *
+	 * @param hookSamplingInterval
+	 *            New value for {@link #hookSamplingInterval}, <code>0</code> disables the
+	 *            measuring of the hooks.
+	 */
+	public void setHookSamplingInterval(int hookSamplingInterval) {
+		this.hookSamplingInterval = hookSamplingInterval;
+	}
+
+	/**
+	 * Measured hook executions of one sensor type.
+	 *
+	 * @author agent
+	 *
+	 */
+	private static class HookTime {
+
+		/**
+		 * Number of measured executions.
+		 */
+		private final AtomicLong calls = new AtomicLong();
+
+		/**
+		 * Total measured time in nanoseconds.
+		 */
+		private final AtomicLong nanos = new AtomicLong();
+
+	}
+
+}
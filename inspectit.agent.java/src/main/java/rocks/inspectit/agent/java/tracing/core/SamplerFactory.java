@@ -0,0 +1,105 @@
+package rocks.inspectit.agent.java.tracing.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import rocks.inspectit.agent.java.sdk.opentracing.Sampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ProbabilisticSampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.RateLimitingSampler;
+
+/**
+ * Creates the {@link Sampler} for the agent tracer based on the system properties:
+ * <ul>
+ * <li>{@value #SAMPLER_TYPE_PROPERTY} - type of the sampler: {@value #TYPE_CONST},
+ * {@value #TYPE_PROBABILISTIC} or {@value #TYPE_RATE_LIMITING}
+ * <li>{@value #SAMPLER_PARAM_PROPERTY} - parameter of the sampler: 1/0 for sample all/none with
+ * constant sampler, sampling rate in range [0, 1] with probabilistic sampler, max traces per
+ * second per operation with rate limiting sampler
+ * </ul>
+ * If properties are not set or are not valid, all traces are sampled.
+ *
+ * @author agent
+ *
+ */
+public final class SamplerFactory {
+
+	/**
+	 * System property defining the sampler type.
+	 */
+	public static final String SAMPLER_TYPE_PROPERTY = "inspectit.tracing.sampler";
+
+	/**
+	 * System property defining the sampler parameter.
+	 */
+	public static final String SAMPLER_PARAM_PROPERTY = "inspectit.tracing.sampler.param";
+
+	/**
+	 * Constant sampler type.
+	 */
+	public static final String TYPE_CONST = "const";
+
+	/**
+	 * Probabilistic sampler type.
+	 */
+	public static final String TYPE_PROBABILISTIC = "probabilistic";
+
+	/**
+	 * Rate limiting sampler type.
+	 */
+	public static final String TYPE_RATE_LIMITING = "ratelimiting";
+
+	/**
+	 * The logger of the class.
+	 */
+	private static final Logger LOG = LoggerFactory.getLogger(SamplerFactory.class);
+
+	/**
+	 * Private constructor.
+	 */
+	private SamplerFactory() {
+	}
+
+	/**
+	 * Creates the sampler defined by the system properties.
+	 *
+	 * @return {@link Sampler}, never <code>null</code>.
+	 */
+	public static Sampler createSampler() {
+		return createSampler(System.getProperty(SAMPLER_TYPE_PROPERTY), System.getProperty(SAMPLER_PARAM_PROPERTY));
+	}
+
+	/**
+	 * Creates the sampler of the given type and parameter.
+	 *
+	 * @param type
+	 *            Sampler type. Can be <code>null</code> to denote the constant sampler.
+	 * @param param
+	 *            Sampler parameter. Can be <code>null</code> to sample all traces.
+	 * @return {@link Sampler}, never <code>null</code>.
+	 */
+	public static Sampler createSampler(String type, String param) {
+		Sampler sampler;
+		try {
+			if ((null == type) || TYPE_CONST.equalsIgnoreCase(type)) {
+				sampler = new ConstSampler((null == param) || (Double.parseDouble(param) > 0d));
+			} else if (TYPE_PROBABILISTIC.equalsIgnoreCase(type)) {
+				sampler = new ProbabilisticSampler(Double.parseDouble(param));
+			} else if (TYPE_RATE_LIMITING.equalsIgnoreCase(type)) {
+				sampler = new RateLimitingSampler(Double.parseDouble(param));
+			} else {
+				LOG.warn("Unknown tracing sampler type " + type + ", all traces will be sampled.");
+				sampler = new ConstSampler(true);
+			}
+		} catch (Exception e) {
+			LOG.warn("Invalid parameter " + param + " for the tracing sampler type " + type + ", all traces will be sampled.", e);
+			sampler = new ConstSampler(true);
+		}
+
+		if (LOG.isInfoEnabled()) {
+			LOG.info("Tracing sampler in use: " + sampler);
+		}
+		return sampler;
+	}
+
+}
@@ -1,6 +1,7 @@
 package rocks.inspectit.agent.java.config.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -152,6 +153,41 @@ public class PropertyAccessorTest extends AbstractLogSupport {
 		Mockito.verifyZeroInteractions(resultValueMock);
 	}
 
+	@Test
+	public void missingPropertyAlwaysFails() {
+		Person person = new Person("Dirk");
+
+		PropertyPathStart start = new PropertyPathStart();
+		start.setContentType(ParameterContentType.FIELD);
+		start.setPathToContinue(new PropertyPath("surname"));
+
+		// second access uses the cached result
+		for (int i = 0; i < 2; i++) {
+			try {
+				propertyAccessor.getPropertyContent(start, person, null, resultValueMock, false);
+				throw new AssertionError("Exception expected");
+			} catch (PropertyAccessException e) {
+				assertThat(e.getMessage(), containsString("surname"));
+			}
+		}
+	}
+
+	@Test
+	public void samePathDifferentClasses() throws PropertyAccessException {
+		PropertyPathStart start = new PropertyPathStart();
+		start.setContentType(ParameterContentType.PARAM);
+		start.setSignaturePosition(0);
+		start.setPathToContinue(new PropertyPath("name"));
+
+		String personResult = propertyAccessor.getPropertyContent(start, null, new Object[] { new Person("Dirk") }, resultValueMock, false);
+		String petResult = propertyAccessor.getPropertyContent(start, null, new Object[] { new Pet("Rex") }, resultValueMock, false);
+		String personAgainResult = propertyAccessor.getPropertyContent(start, null, new Object[] { new Person("Hans") }, resultValueMock, false);
+
+		assertThat(personResult, is("Dirk"));
+		assertThat(petResult, is("Rex"));
+		assertThat(personAgainResult, is("Hans"));
+	}
+
 	@Test
 	public void analyzePersonParameter() throws PropertyAccessException {
 		// create initial object relation
@@ -523,4 +559,15 @@ public class PropertyAccessorTest extends AbstractLogSupport {
 
 	}
 
+	@SuppressWarnings("unused")
+	private static class Pet {
+
+		private final String name;
+
+		public Pet(String name) {
+			this.name = name;
+		}
+
+	}
+
 }
@@ -36,6 +36,7 @@ import com.esotericsoftware.kryonet.rmi.TimeoutException;
 
 import rocks.inspectit.agent.java.connection.RetryStrategy;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
 import rocks.inspectit.shared.all.cmr.service.IAgentService;
 import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.cmr.service.IKeepAliveService;
@@ -71,6 +72,9 @@ public class KryoNetConnectionTest extends TestBase {
 	@Mock
 	IKeepAliveService keepAliveService;
 
+	@Mock
+	AgentTelemetry agentTelemetry;
+
 	public static class Connect extends KryoNetConnectionTest {
 
 		@Test
@@ -220,6 +224,7 @@ public class KryoNetConnectionTest extends TestBase {
 		@Test
 		public void sendData() throws Exception {
 			when(client.isConnected()).thenReturn(true);
+			when(client.getTcpBytesSent()).thenReturn(100L, 150L);
 			List<DefaultData> measurements = new ArrayList<DefaultData>();
 			measurements.add(new TimerData());
 
@@ -227,6 +232,8 @@ public class KryoNetConnectionTest extends TestBase {
 
 			verify(agentStorageService, times(1)).addDataObjects(measurements);
 			verifyNoMoreInteractions(agentStorageService);
+			verify(agentTelemetry).dataSent(eq(1), anyLong(), eq(50L));
+			verifyNoMoreInteractions(agentTelemetry);
 		}
 
 		@Test(expectedExceptions = { ServerUnavailableException.class })
@@ -450,6 +457,92 @@ public class KryoNetConnectionTest extends TestBase {
 		}
 	}
 
+	public static class RegisterStackTraces extends KryoNetConnectionTest {
+
+		@Test
+		public void registerStackTraces() throws Exception {
+			when(client.isConnected()).thenReturn(true);
+			long platformId = 10L;
+			Map<Long, String> stackTraces = Collections.singletonMap(10L, "trace");
+			Collection<Long> unknownIds = Collections.singletonList(11L);
+			when(agentService.registerStackTraces(platformId, stackTraces)).thenReturn(unknownIds);
+
+			Collection<Long> result = connection.registerStackTraces(platformId, stackTraces);
+
+			assertThat(result, is(unknownIds));
+			verify(agentService, times(1)).registerStackTraces(platformId, stackTraces);
+			verifyNoMoreInteractions(agentService);
+		}
+
+		@Test(expectedExceptions = { ServerUnavailableException.class })
+		public void notConnected() throws Exception {
+			when(client.isConnected()).thenReturn(false);
+			long platformId = 10L;
+			Map<Long, String> stackTraces = Collections.singletonMap(10L, "trace");
+
+			try {
+				connection.registerStackTraces(platformId, stackTraces);
+			} catch (ServerUnavailableException e) {
+				assertThat(e.isServerTimeout(), is(false));
+				throw e;
+			} finally {
+				verifyZeroInteractions(agentService);
+			}
+		}
+	}
+
+	public static class RegisterSqlStatements extends KryoNetConnectionTest {
+
+		@Test
+		public void registerSqlStatements() throws Exception {
+			when(client.isConnected()).thenReturn(true);
+			long platformId = 10L;
+			Map<Long, String> sqlStatements = Collections.singletonMap(3L, "SELECT * FROM TEST");
+			Collection<Long> unknownIds = Collections.singletonList(4L);
+			when(agentService.registerSqlStatements(platformId, sqlStatements)).thenReturn(unknownIds);
+
+			Collection<Long> result = connection.registerSqlStatements(platformId, sqlStatements);
+
+			assertThat(result, is(unknownIds));
+			verify(agentService, times(1)).registerSqlStatements(platformId, sqlStatements);
+			verifyNoMoreInteractions(agentService);
+		}
+
+		@Test(expectedExceptions = { ServerUnavailableException.class })
+		public void timeout() throws Exception {
+			when(client.isConnected()).thenReturn(true);
+			long platformId = 10L;
+			Map<Long, String> sqlStatements = Collections.singletonMap(3L, "SELECT * FROM TEST");
+			doThrow(TimeoutException.class).when(agentService).registerSqlStatements(platformId, sqlStatements);
+
+			try {
+				connection.registerSqlStatements(platformId, sqlStatements);
+			} catch (ServerUnavailableException e) {
+				assertThat(e.isServerTimeout(), is(true));
+				throw e;
+			} finally {
+				verify(agentService, times(1)).registerSqlStatements(platformId, sqlStatements);
+				verifyNoMoreInteractions(agentService);
+			}
+		}
+
+		@Test(expectedExceptions = { ServerUnavailableException.class })
+		public void notConnected() throws Exception {
+			when(client.isConnected()).thenReturn(false);
+			long platformId = 10L;
+			Map<Long, String> sqlStatements = Collections.singletonMap(3L, "SELECT * FROM TEST");
+
+			try {
+				connection.registerSqlStatements(platformId, sqlStatements);
+			} catch (ServerUnavailableException e) {
+				assertThat(e.isServerTimeout(), is(false));
+				throw e;
+			} finally {
+				verifyZeroInteractions(agentService);
+			}
+		}
+	}
+
 	public static class Analyze extends KryoNetConnectionTest {
 
 		@Test
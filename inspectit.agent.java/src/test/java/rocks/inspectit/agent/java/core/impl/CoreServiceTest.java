@@ -14,6 +14,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -42,6 +43,7 @@ import rocks.inspectit.agent.java.core.impl.CoreService.SensorRefresher;
 import rocks.inspectit.agent.java.sensor.jmx.IJmxSensor;
 import rocks.inspectit.agent.java.sensor.platform.IPlatformSensor;
 import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.testbase.TestBase;
@@ -76,6 +78,9 @@ public class CoreServiceTest extends TestBase {
 	@Mock
 	AgentStatisticsLogger statsLogger;
 
+	@Mock
+	AgentTelemetry agentTelemetry;
+
 	@BeforeMethod
 	public void executorShutdown() throws InterruptedException {
 		// avoid strange log messages in test
@@ -135,6 +140,7 @@ public class CoreServiceTest extends TestBase {
 
 			// we should report 2 times
 			verify(statsLogger, times(2)).dataDropped(1);
+			verify(agentTelemetry, times(2)).ringBufferFull();
 		}
 
 		@AfterMethod
@@ -152,10 +158,23 @@ public class CoreServiceTest extends TestBase {
 			coreService.start();
 		}
 
+		@Test
+		public void sensorRefresherNotScheduled() throws StorageException {
+			when(disruptorStrategy.getDataBufferSize()).thenReturn(8);
+			coreService.start();
+
+			verifyZeroInteractions(executorService);
+		}
+
+	}
+
+	public static class DeferredStartup extends CoreServiceTest {
+
 		@Test
 		public void sensorRefresherScheduled() throws StorageException {
 			when(disruptorStrategy.getDataBufferSize()).thenReturn(8);
 			coreService.start();
+			coreService.deferredStartup();
 
 			ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
 			verify(executorService).scheduleWithFixedDelay(captor.capture(), Mockito.anyLong(), Mockito.anyLong(), Mockito.<TimeUnit> any());
@@ -227,6 +246,7 @@ public class CoreServiceTest extends TestBase {
 			verify(platformSensor, times(5)).gather();
 			verify(platformSensor).get();
 			verifyNoMoreInteractions(platformSensor);
+			verify(agentTelemetry, times(5)).ringBufferOccupancy(0, 8);
 
 			// need to sleep a bit so handler is notified
 			Thread.sleep(100);
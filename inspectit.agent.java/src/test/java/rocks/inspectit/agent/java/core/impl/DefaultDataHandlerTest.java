@@ -4,6 +4,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -29,6 +31,8 @@ import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.connection.ServerUnavailableException;
 import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
 /**
@@ -47,6 +51,12 @@ public class DefaultDataHandlerTest extends TestBase {
 	@Mock
 	AgentStatisticsLogger statsLogger;
 
+	@Mock
+	ExceptionStackTraceDeduplicator exceptionStackTraceDeduplicator;
+
+	@Mock
+	SqlStatementDeduplicator sqlStatementDeduplicator;
+
 	@Mock
 	Logger log;
 
@@ -126,6 +136,23 @@ public class DefaultDataHandlerTest extends TestBase {
 			assertThat(sent, hasItems(defaultData, defaultData2));
 		}
 
+		@Test
+		public void largeInvocationCompacted() throws ServerUnavailableException {
+			InvocationSequenceData large = new InvocationSequenceData();
+			large.setChildCount(DefaultDataHandler.COMPACT_CHILD_COUNT_THRESHOLD);
+			InvocationSequenceData small = new InvocationSequenceData();
+			small.setChildCount(DefaultDataHandler.COMPACT_CHILD_COUNT_THRESHOLD - 1);
+			when(wrapper.getDefaultData()).thenReturn(large).thenReturn(small);
+			when(connection.isConnected()).thenReturn(true);
+
+			handler.onEvent(wrapper, 0L, false);
+			handler.onEvent(wrapper, 0L, true);
+
+			assertThat(sent, hasSize(2));
+			assertThat(sent.get(0), is(instanceOf(CompactInvocationSequenceData.class)));
+			assertThat(sent.get(1), is((DefaultData) small));
+		}
+
 		@Test
 		public void noRepeat() throws ServerUnavailableException {
 			DefaultData defaultData2 = mock(DefaultData.class);
@@ -0,0 +1,180 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings({ "PMD", "unchecked" })
+public class ExceptionStackTraceDeduplicatorTest extends TestBase {
+
+	@InjectMocks
+	ExceptionStackTraceDeduplicator deduplicator;
+
+	@Mock
+	IConnection connection;
+
+	@Mock
+	IPlatformManager platformManager;
+
+	@Mock
+	Logger log;
+
+	public static class Deduplicate extends ExceptionStackTraceDeduplicatorTest {
+
+		@Test
+		public void registeredBeforeRemoved() throws Exception {
+			ExceptionSensorData data = createData(10L, "trace");
+			when(platformManager.getPlatformId()).thenReturn(1L);
+
+			deduplicator.deduplicate(Collections.singletonList(data));
+
+			verify(connection).registerStackTraces(1L, Collections.singletonMap(10L, "trace"));
+			assertThat(data.getStackTrace(), is(nullValue()));
+			assertThat(data.getStackTraceFingerprint(), is(10L));
+		}
+
+		@Test
+		public void registeredOnce() throws Exception {
+			ExceptionSensorData first = createData(10L, "trace");
+			ExceptionSensorData second = createData(10L, "trace");
+			List<DefaultData> list = new ArrayList<DefaultData>();
+			list.add(first);
+			list.add(second);
+			ExceptionSensorData third = createData(10L, "trace");
+
+			deduplicator.deduplicate(list);
+			deduplicator.deduplicate(Collections.singletonList(third));
+
+			verify(connection, times(1)).registerStackTraces(anyLong(), any(Map.class));
+			assertThat(first.getStackTrace(), is(nullValue()));
+			assertThat(second.getStackTrace(), is(nullValue()));
+			assertThat(third.getStackTrace(), is(nullValue()));
+		}
+
+		@Test
+		public void differentFingerprints() throws Exception {
+			ExceptionSensorData first = createData(10L, "trace");
+			ExceptionSensorData second = createData(11L, "other");
+			List<DefaultData> list = new ArrayList<DefaultData>();
+			list.add(first);
+			list.add(second);
+			when(platformManager.getPlatformId()).thenReturn(1L);
+
+			deduplicator.deduplicate(list);
+
+			Map<Long, String> expected = new HashMap<Long, String>();
+			expected.put(10L, "trace");
+			expected.put(11L, "other");
+			verify(connection).registerStackTraces(1L, expected);
+		}
+
+		@Test
+		public void registrationFailed() throws Exception {
+			ExceptionSensorData first = createData(10L, "trace");
+			ExceptionSensorData second = createData(10L, "trace");
+			doThrow(new ServerUnavailableException(true)).when(connection).registerStackTraces(anyLong(), any(Map.class));
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(2)).registerStackTraces(anyLong(), any(Map.class));
+			assertThat(first.getStackTrace(), is("trace"));
+			assertThat(second.getStackTrace(), is("trace"));
+		}
+
+		@Test
+		public void noFingerprint() throws Exception {
+			ExceptionSensorData first = createData(0L, "trace");
+			ExceptionSensorData second = createData(0L, "trace");
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(0)).registerStackTraces(anyLong(), any(Map.class));
+			assertThat(first.getStackTrace(), is("trace"));
+			assertThat(second.getStackTrace(), is("trace"));
+		}
+
+		@Test
+		public void registeredAgainAfterReconnect() throws Exception {
+			ExceptionSensorData first = createData(10L, "trace");
+			ExceptionSensorData second = createData(10L, "trace");
+			when(connection.getConnectionCount()).thenReturn(1);
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			when(connection.getConnectionCount()).thenReturn(2);
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(2)).registerStackTraces(anyLong(), any(Map.class));
+			assertThat(second.getStackTrace(), is(nullValue()));
+		}
+
+		@Test
+		public void registeredAgainWhenUnknown() throws Exception {
+			ExceptionSensorData first = createData(10L, "trace");
+			ExceptionSensorData other = createData(11L, "other");
+			ExceptionSensorData second = createData(10L, "trace");
+			when(platformManager.getPlatformId()).thenReturn(1L);
+			when(connection.registerStackTraces(1L, Collections.singletonMap(11L, "other"))).thenReturn(Collections.singletonList(10L));
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			deduplicator.deduplicate(Collections.singletonList(other));
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(2)).registerStackTraces(1L, Collections.singletonMap(10L, "trace"));
+			verify(connection, times(1)).registerStackTraces(1L, Collections.singletonMap(11L, "other"));
+			assertThat(second.getStackTrace(), is(nullValue()));
+		}
+
+		@Test
+		public void invocation() throws Exception {
+			ExceptionSensorData nestedData = createData(10L, "trace");
+			InvocationSequenceData nested = new InvocationSequenceData();
+			nested.setExceptionSensorDataObjects(Collections.singletonList(nestedData));
+			InvocationSequenceData invocation = new InvocationSequenceData();
+			invocation.setNestedSequences(Collections.singletonList(nested));
+			when(platformManager.getPlatformId()).thenReturn(1L);
+
+			deduplicator.deduplicate(Collections.singletonList(invocation));
+
+			verify(connection).registerStackTraces(1L, Collections.singletonMap(10L, "trace"));
+			assertThat(nestedData.getStackTrace(), is(nullValue()));
+		}
+
+		private ExceptionSensorData createData(long fingerprint, String stackTrace) {
+			ExceptionSensorData data = new ExceptionSensorData();
+			data.setStackTraceFingerprint(fingerprint);
+			data.setStackTrace(stackTrace);
+			return data;
+		}
+	}
+}
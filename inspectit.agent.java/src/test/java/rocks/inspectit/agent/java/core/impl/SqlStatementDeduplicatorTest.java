@@ -0,0 +1,145 @@
+package rocks.inspectit.agent.java.core.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.connection.IConnection;
+import rocks.inspectit.agent.java.connection.ServerUnavailableException;
+import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings({ "PMD", "unchecked" })
+public class SqlStatementDeduplicatorTest extends TestBase {
+
+	@InjectMocks
+	SqlStatementDeduplicator deduplicator;
+
+	@Mock
+	IConnection connection;
+
+	@Mock
+	IPlatformManager platformManager;
+
+	@Mock
+	Logger log;
+
+	public static class Deduplicate extends SqlStatementDeduplicatorTest {
+
+		@Test
+		public void registeredBeforeRemoved() throws Exception {
+			SqlStatementData data = createData(3L, "SELECT * FROM TEST");
+			when(platformManager.getPlatformId()).thenReturn(1L);
+
+			deduplicator.deduplicate(Collections.singletonList(data));
+
+			verify(connection).registerSqlStatements(1L, Collections.singletonMap(3L, "SELECT * FROM TEST"));
+			assertThat(data.getSql(), is(nullValue()));
+			assertThat(data.getSqlId(), is(3L));
+		}
+
+		@Test
+		public void registeredOnce() throws Exception {
+			SqlStatementData first = createData(3L, "SELECT * FROM TEST");
+			SqlStatementData second = createData(3L, "SELECT * FROM TEST");
+			List<DefaultData> list = new ArrayList<DefaultData>();
+			list.add(first);
+			list.add(second);
+			SqlStatementData third = createData(3L, "SELECT * FROM TEST");
+
+			deduplicator.deduplicate(list);
+			deduplicator.deduplicate(Collections.singletonList(third));
+
+			verify(connection, times(1)).registerSqlStatements(anyLong(), any(Map.class));
+			assertThat(first.getSql(), is(nullValue()));
+			assertThat(second.getSql(), is(nullValue()));
+			assertThat(third.getSql(), is(nullValue()));
+		}
+
+		@Test
+		public void registrationFailed() throws Exception {
+			SqlStatementData first = createData(3L, "SELECT * FROM TEST");
+			SqlStatementData second = createData(3L, "SELECT * FROM TEST");
+			doThrow(new ServerUnavailableException(true)).when(connection).registerSqlStatements(anyLong(), any(Map.class));
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(2)).registerSqlStatements(anyLong(), any(Map.class));
+			assertThat(first.getSql(), is("SELECT * FROM TEST"));
+			assertThat(second.getSql(), is("SELECT * FROM TEST"));
+		}
+
+		@Test
+		public void noId() throws Exception {
+			SqlStatementData first = createData(0L, "SELECT * FROM TEST");
+			SqlStatementData second = createData(0L, "SELECT * FROM TEST");
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(0)).registerSqlStatements(anyLong(), any(Map.class));
+			assertThat(first.getSql(), is("SELECT * FROM TEST"));
+			assertThat(second.getSql(), is("SELECT * FROM TEST"));
+		}
+
+		@Test
+		public void registeredAgainAfterReconnect() throws Exception {
+			SqlStatementData first = createData(3L, "SELECT * FROM TEST");
+			SqlStatementData second = createData(3L, "SELECT * FROM TEST");
+			when(connection.getConnectionCount()).thenReturn(1);
+
+			deduplicator.deduplicate(Collections.singletonList(first));
+			when(connection.getConnectionCount()).thenReturn(2);
+			deduplicator.deduplicate(Collections.singletonList(second));
+
+			verify(connection, times(2)).registerSqlStatements(anyLong(), any(Map.class));
+			assertThat(second.getSql(), is(nullValue()));
+		}
+
+		@Test
+		public void invocation() throws Exception {
+			SqlStatementData nestedData = createData(3L, "SELECT * FROM TEST");
+			InvocationSequenceData nested = new InvocationSequenceData();
+			nested.setSqlStatementData(nestedData);
+			InvocationSequenceData invocation = new InvocationSequenceData();
+			invocation.setNestedSequences(Collections.singletonList(nested));
+			when(platformManager.getPlatformId()).thenReturn(1L);
+
+			deduplicator.deduplicate(Collections.singletonList(invocation));
+
+			verify(connection).registerSqlStatements(1L, Collections.singletonMap(3L, "SELECT * FROM TEST"));
+			assertThat(nestedData.getSql(), is(nullValue()));
+		}
+
+		private SqlStatementData createData(long sqlId, String sql) {
+			SqlStatementData data = new SqlStatementData();
+			data.setSqlId(sqlId);
+			data.setSql(sql);
+			return data;
+		}
+	}
+}
@@ -37,6 +37,7 @@ import rocks.inspectit.agent.java.sensor.exception.ExceptionSensorHook;
 import rocks.inspectit.agent.java.sensor.method.IMethodSensor;
 import rocks.inspectit.agent.java.sensor.method.invocationsequence.InvocationSequenceHook;
 import rocks.inspectit.agent.java.sensor.method.invocationsequence.InvocationSequenceSensor;
+import rocks.inspectit.agent.java.stats.AgentTelemetry;
 import rocks.inspectit.shared.all.instrumentation.config.impl.MethodSensorTypeConfig;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
@@ -61,6 +62,9 @@ public class HookDispatcherTest extends TestBase {
 	@Mock
 	ExceptionSensor exceptionSensor;
 
+	@Mock
+	AgentTelemetry agentTelemetry;
+
 	public class MethodHook extends HookDispatcherTest {
 
 		@Test
@@ -131,6 +135,37 @@ public class HookDispatcherTest extends TestBase {
 			verifyNoMoreInteractions(registeredSensorConfig, methodHook);
 		}
 
+		@Test
+		public void dispatchSampledMethodHookReportsHookTime() {
+			long sensorTypeId = 7L;
+			IMethodSensor methodSensor = mock(IMethodSensor.class);
+			IMethodHook methodHook = mock(IMethodHook.class);
+			MethodSensorTypeConfig methodSensorConfig = mock(MethodSensorTypeConfig.class);
+			when(methodSensor.getHook()).thenReturn(methodHook);
+			when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorConfig);
+			when(methodSensorConfig.getId()).thenReturn(sensorTypeId);
+			when(agentTelemetry.isHookDispatchSampled()).thenReturn(true);
+
+			RegisteredSensorConfig registeredSensorConfig = mock(RegisteredSensorConfig.class);
+			when(registeredSensorConfig.getMethodSensors()).thenReturn(Collections.singletonList(methodSensor));
+			when(registeredSensorConfig.getMethodSensorsReverse()).thenReturn(Collections.singletonList(methodSensor));
+
+			int methodId = 3;
+			Object object = mock(Object.class);
+			Object[] parameters = new Object[0];
+			Object returnValue = mock(Object.class);
+
+			hookDispatcher.addMapping(methodId, registeredSensorConfig);
+
+			hookDispatcher.dispatchMethodBeforeBody(methodId, object, parameters);
+			hookDispatcher.dispatchFirstMethodAfterBody(methodId, object, parameters, returnValue, false);
+			hookDispatcher.dispatchSecondMethodAfterBody(methodId, object, parameters, returnValue, false);
+
+			verify(agentTelemetry, times(3)).isHookDispatchSampled();
+			verify(agentTelemetry, times(3)).hookExecuted(eq(sensorTypeId), anyLong());
+			verifyNoMoreInteractions(agentTelemetry);
+		}
+
 		@Test
 		public void dispatchManyMethodHooksWithoutInvocationTrace() {
 			IMethodHook methodHookOne = mock(IMethodHook.class);
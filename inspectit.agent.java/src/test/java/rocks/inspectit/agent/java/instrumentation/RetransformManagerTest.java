@@ -1,6 +1,7 @@
 package rocks.inspectit.agent.java.instrumentation;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
@@ -14,6 +15,7 @@ import static org.mockito.Mockito.when;
 import java.lang.instrument.Instrumentation;
 import java.lang.instrument.UnmodifiableClassException;
 import java.util.Arrays;
+import java.util.Collections;
 
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
@@ -28,9 +30,11 @@ import rocks.inspectit.agent.java.IAgent;
 import rocks.inspectit.agent.java.IThreadTransformHelper;
 import rocks.inspectit.agent.java.analyzer.impl.ClassHashHelper;
 import rocks.inspectit.agent.java.event.AgentMessagesReceivedEvent;
+import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
 import rocks.inspectit.shared.all.communication.message.UpdatedInstrumentationMessage;
 import rocks.inspectit.shared.all.instrumentation.config.impl.InstrumentationDefinition;
+import rocks.inspectit.shared.all.instrumentation.config.impl.MethodInstrumentationConfig;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
 /**
@@ -60,9 +64,13 @@ public class RetransformManagerTest extends TestBase {
 	@Mock
 	IAgent agent;
 
+	@Mock
+	AgentStatisticsLogger agentStatisticsLogger;
+
 	@BeforeMethod
 	public void setup() {
 		Agent.agent = agent;
+		retransformManager.chunkDelay = 0L;
 	}
 
 	/**
@@ -202,6 +210,76 @@ public class RetransformManagerTest extends TestBase {
 			verifyZeroInteractions(threadTransformHelper);
 		}
 
+		@Test
+		public void chunks() throws UnmodifiableClassException {
+			retransformManager.chunkSize = 1;
+			InstrumentationDefinition objectDefinition = mock(InstrumentationDefinition.class);
+			when(objectDefinition.getClassName()).thenReturn("java.lang.Object");
+			InstrumentationDefinition stringDefinition = mock(InstrumentationDefinition.class);
+			when(stringDefinition.getClassName()).thenReturn("java.lang.String");
+			IAgentMessage<?> message = new UpdatedInstrumentationMessage();
+			((UpdatedInstrumentationMessage) message).getMessageContent().add(objectDefinition);
+			((UpdatedInstrumentationMessage) message).getMessageContent().add(stringDefinition);
+			AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(eventSource, Arrays.<IAgentMessage<?>> asList(message));
+			when(instrumentation.getAllLoadedClasses()).thenReturn(new Class[] { Object.class, String.class });
+			when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+			when(agent.isUsingRetransformation()).thenReturn(true);
+
+			retransformManager.onApplicationEvent(event);
+
+			InOrder inOrder = inOrder(instrumentation, threadTransformHelper);
+			inOrder.verify(threadTransformHelper).setThreadTransformDisabled(false);
+			inOrder.verify(instrumentation).retransformClasses(eq(Object.class));
+			inOrder.verify(threadTransformHelper).setThreadTransformDisabled(true);
+			inOrder.verify(threadTransformHelper).setThreadTransformDisabled(false);
+			inOrder.verify(instrumentation).retransformClasses(eq(String.class));
+			inOrder.verify(threadTransformHelper).setThreadTransformDisabled(true);
+			verify(agentStatisticsLogger).retransformationPerformed(eq(2), anyLong());
+		}
+
+		@Test
+		public void prioritizeInstrumentedClasses() throws UnmodifiableClassException {
+			InstrumentationDefinition objectDefinition = mock(InstrumentationDefinition.class);
+			when(objectDefinition.getClassName()).thenReturn("java.lang.Object");
+			InstrumentationDefinition stringDefinition = mock(InstrumentationDefinition.class);
+			when(stringDefinition.getClassName()).thenReturn("java.lang.String");
+			when(stringDefinition.getMethodInstrumentationConfigs()).thenReturn(Collections.singleton(mock(MethodInstrumentationConfig.class)));
+			IAgentMessage<?> message = new UpdatedInstrumentationMessage();
+			((UpdatedInstrumentationMessage) message).getMessageContent().add(objectDefinition);
+			((UpdatedInstrumentationMessage) message).getMessageContent().add(stringDefinition);
+			AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(eventSource, Arrays.<IAgentMessage<?>> asList(message));
+			when(instrumentation.getAllLoadedClasses()).thenReturn(new Class[] { Object.class, String.class });
+			when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+			when(agent.isUsingRetransformation()).thenReturn(true);
+
+			retransformManager.onApplicationEvent(event);
+
+			verify(instrumentation).retransformClasses(eq(String.class), eq(Object.class));
+		}
+
+		@Test
+		public void chunkFailsRetransformOneByOne() throws UnmodifiableClassException {
+			InstrumentationDefinition objectDefinition = mock(InstrumentationDefinition.class);
+			when(objectDefinition.getClassName()).thenReturn("java.lang.Object");
+			InstrumentationDefinition stringDefinition = mock(InstrumentationDefinition.class);
+			when(stringDefinition.getClassName()).thenReturn("java.lang.String");
+			IAgentMessage<?> message = new UpdatedInstrumentationMessage();
+			((UpdatedInstrumentationMessage) message).getMessageContent().add(objectDefinition);
+			((UpdatedInstrumentationMessage) message).getMessageContent().add(stringDefinition);
+			AgentMessagesReceivedEvent event = new AgentMessagesReceivedEvent(eventSource, Arrays.<IAgentMessage<?>> asList(message));
+			when(instrumentation.getAllLoadedClasses()).thenReturn(new Class[] { Object.class, String.class });
+			when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+			doThrow(UnmodifiableClassException.class).when(instrumentation).retransformClasses(Object.class, String.class);
+			doThrow(UnmodifiableClassException.class).when(instrumentation).retransformClasses(Object.class);
+			when(agent.isUsingRetransformation()).thenReturn(true);
+
+			retransformManager.onApplicationEvent(event);
+
+			verify(instrumentation).retransformClasses(eq(Object.class), eq(String.class));
+			verify(instrumentation).retransformClasses(eq(Object.class));
+			verify(instrumentation).retransformClasses(eq(String.class));
+		}
+
 		@Test
 		public void nullEvent() throws UnmodifiableClassException {
 			when(instrumentation.getAllLoadedClasses()).thenReturn(new Class[] { Object.class, String.class });
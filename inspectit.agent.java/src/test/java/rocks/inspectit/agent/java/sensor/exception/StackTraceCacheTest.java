@@ -0,0 +1,107 @@
+package rocks.inspectit.agent.java.sensor.exception;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.util.StringConstraint;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class StackTraceCacheTest {
+
+	StackTraceCache stackTraceCache;
+
+	@BeforeMethod
+	public void init() {
+		stackTraceCache = new StackTraceCache(new StringConstraint(Collections.<String, Object> emptyMap()));
+	}
+
+	public static class GetFingerprint extends StackTraceCacheTest {
+
+		@Test
+		public void sameThrowSite() {
+			long first = 0;
+			long second = 0;
+			for (int i = 0; i < 2; i++) {
+				Exception exception = new Exception("message");
+				if (i == 0) {
+					first = stackTraceCache.getFingerprint(exception);
+				} else {
+					second = stackTraceCache.getFingerprint(exception);
+				}
+			}
+
+			assertThat(first, is(second));
+			assertThat(first, is(not(0L)));
+		}
+
+		@Test
+		public void differentMessage() {
+			Exception[] exceptions = new Exception[2];
+			for (int i = 0; i < 2; i++) {
+				exceptions[i] = new Exception("message" + i);
+			}
+
+			assertThat(stackTraceCache.getFingerprint(exceptions[0]), is(not(stackTraceCache.getFingerprint(exceptions[1]))));
+		}
+
+		@Test
+		public void differentCause() {
+			Exception[] exceptions = new Exception[2];
+			for (int i = 0; i < 2; i++) {
+				exceptions[i] = new Exception("message", (i == 0) ? new IllegalStateException() : new IllegalArgumentException());
+			}
+
+			assertThat(stackTraceCache.getFingerprint(exceptions[0]), is(not(stackTraceCache.getFingerprint(exceptions[1]))));
+		}
+
+		@Test
+		public void differentSuppressed() throws Exception {
+			// agent is compiled for Java 6, thus adding the suppressed exception via reflection
+			Method addSuppressed = Throwable.class.getMethod("addSuppressed", Throwable.class);
+			Exception[] exceptions = new Exception[2];
+			for (int i = 0; i < 2; i++) {
+				exceptions[i] = new Exception("message");
+				addSuppressed.invoke(exceptions[i], (i == 0) ? new IllegalStateException() : new IllegalArgumentException());
+			}
+
+			assertThat(stackTraceCache.getFingerprint(exceptions[0]), is(not(stackTraceCache.getFingerprint(exceptions[1]))));
+		}
+
+		@Test
+		public void cyclicCause() {
+			Exception exception = new Exception("message");
+			Exception cause = new Exception("cause", exception);
+			exception.initCause(cause);
+
+			assertThat(stackTraceCache.getFingerprint(exception), is(not(0L)));
+		}
+	}
+
+	public static class GetStackTrace extends StackTraceCacheTest {
+
+		@Test
+		public void renderedOnce() {
+			Exception exception = new Exception("message");
+			long fingerprint = stackTraceCache.getFingerprint(exception);
+
+			String first = stackTraceCache.getStackTrace(fingerprint, exception);
+			String second = stackTraceCache.getStackTrace(fingerprint, exception);
+
+			assertThat(first, containsString("java.lang.Exception: message"));
+			assertThat(second, is(sameInstance(first)));
+		}
+	}
+}
@@ -18,7 +18,10 @@ import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
 import javax.management.MBeanAttributeInfo;
 import javax.management.MBeanInfo;
 import javax.management.MBeanServer;
@@ -44,6 +47,7 @@ import rocks.inspectit.agent.java.connection.IConnection;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.agent.java.core.IPlatformManager;
 import rocks.inspectit.agent.java.sensor.jmx.JmxSensor.MBeanServerHolder;
+import rocks.inspectit.agent.java.sensor.jmx.JmxSensor.MonitoredMBean;
 import rocks.inspectit.agent.java.stats.AgentStatisticsLogger;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
 import rocks.inspectit.shared.all.exception.BusinessException;
@@ -102,11 +106,16 @@ public class JmxSensorTest extends TestBase {
 			assertThat(jmxSensor.getSensorTypeConfig(), is(sensorTypeConfig1));
 		}
 
+	}
+
+	public static class DeferredStartup extends JmxSensorTest {
+
 		@Test
 		public void serverCreationForced() throws Exception {
 			when(sensorTypeConfig.getParameters()).thenReturn(Collections.<String, Object> singletonMap("forceMBeanServer", Boolean.TRUE));
 
 			jmxSensor.init(sensorTypeConfig);
+			jmxSensor.deferredStartup();
 
 			// assert that field in Management factory has been created
 			Field field = ManagementFactory.class.getDeclaredField("platformMBeanServer");
@@ -294,14 +303,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(value);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, value))));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -343,7 +352,7 @@ public class JmxSensorTest extends TestBase {
 			when(platformManager.getPlatformId()).thenReturn(platformIdent);
 			when(connection.isConnected()).thenReturn(true);
 			when(connection.analyzeJmxAttributes(eq(platformIdent), Matchers.<Collection<JmxAttributeDescriptor>> any())).thenReturn(Collections.<JmxAttributeDescriptor> emptyList());
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(value);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, value))));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
@@ -387,21 +396,53 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList());
 			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenThrow(Exception.class);
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			// update twice
 			jmxSensor.update(coreService);
-			jmxSensor.lastDataCollectionTimestamp = 0;
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).getAttribute(objectName, testAttributeName);
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 		}
 
+		@Test
+		public void collectOncePerInterval() throws Exception {
+			long platformIdent = 11L;
+			String testObjectName = "Testdomain:Test=TestObjectName,name=test";
+			String testAttributeName = "TestAttributename";
+			MBeanAttributeInfo mBeanAttributeInfo = new MBeanAttributeInfo(testAttributeName, "test-type", "test-description", true, false, false);
+			MBeanAttributeInfo[] mBeanAttributeInfos = { mBeanAttributeInfo };
+			ObjectName objectName = new ObjectName(testObjectName);
+
+			when(mBeanServer.queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null))).thenReturn(Collections.singleton(objectName));
+			when(mBeanServer.getMBeanInfo(Matchers.<ObjectName> any())).thenReturn(mBeanInfo);
+			when(mBeanInfo.getAttributes()).thenReturn(mBeanAttributeInfos);
+			when(platformManager.getPlatformId()).thenReturn(platformIdent);
+			when(connection.isConnected()).thenReturn(true);
+			when(connection.analyzeJmxAttributes(eq(platformIdent), Matchers.<Collection<JmxAttributeDescriptor>> any())).thenAnswer(new Answer<Collection<JmxAttributeDescriptor>>() {
+				@Override
+				public Collection<JmxAttributeDescriptor> answer(InvocationOnMock invocation) throws Throwable {
+					return (Collection<JmxAttributeDescriptor>) invocation.getArguments()[1];
+				}
+			});
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, "value"))));
+			jmxSensor.mbeanServerAdded(mBeanServer);
+
+			// update twice
+			jmxSensor.update(coreService);
+			jmxSensor.update(coreService);
+
+			verify(mBeanServer, times(1)).getAttributes(objectName, new String[] { testAttributeName });
+			verify(coreService, times(1)).addDefaultData(Matchers.<JmxSensorValueData> any());
+		}
+
 		@Test
 		public void collectDataNullValue() throws Exception {
 			long sensorType = 13L;
@@ -434,14 +475,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(null);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, null))));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -486,14 +527,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(new int[] { 1, 2, 3 });
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, new int[] { 1, 2, 3 }))));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -538,14 +579,14 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(new String[] { "1", "2", "3" });
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, new String[] { "1", "2", "3" }))));
 			jmxSensor.mbeanServerAdded(mBeanServer);
 
 			jmxSensor.update(coreService);
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verify(mBeanServer).addNotificationListener(Matchers.<ObjectName> any(), Matchers.<NotificationListener> any(), Matchers.<NotificationFilter> any(), eq(null));
 			verifyNoMoreInteractions(mBeanServer);
 
@@ -559,6 +600,64 @@ public class JmxSensorTest extends TestBase {
 		}
 	}
 
+	public static class MonitoredMBeanCollection extends JmxSensorTest {
+
+		@Test
+		public void dueInitially() throws Exception {
+			MonitoredMBean monitoredMBean = new MonitoredMBean(new ObjectName("Testdomain:name=test"));
+
+			assertThat(monitoredMBean.isCollectionDue(System.currentTimeMillis()), is(true));
+		}
+
+		@Test
+		public void notDueAfterCollection() throws Exception {
+			MonitoredMBean monitoredMBean = new MonitoredMBean(new ObjectName("Testdomain:name=test"));
+
+			monitoredMBean.collected(1000L, 0L);
+
+			assertThat(monitoredMBean.isCollectionDue(1000L), is(false));
+			assertThat(monitoredMBean.isCollectionDue(1000L + monitoredMBean.collectInterval), is(true));
+		}
+
+		@Test
+		public void slowCollectionIncreasesInterval() throws Exception {
+			MonitoredMBean monitoredMBean = new MonitoredMBean(new ObjectName("Testdomain:name=test"));
+			long defaultInterval = monitoredMBean.collectInterval;
+
+			monitoredMBean.collected(1000L, TimeUnit.SECONDS.toNanos(1));
+
+			assertThat(monitoredMBean.collectInterval, is(defaultInterval * 2));
+			assertThat(monitoredMBean.nextCollectionTime, is(1000L + (defaultInterval * 2)));
+		}
+
+		@Test
+		public void slowCollectionIntervalLimited() throws Exception {
+			MonitoredMBean monitoredMBean = new MonitoredMBean(new ObjectName("Testdomain:name=test"));
+
+			for (int i = 0; i < 100; i++) {
+				monitoredMBean.collected(1000L, TimeUnit.SECONDS.toNanos(1));
+			}
+			long maxInterval = monitoredMBean.collectInterval;
+			monitoredMBean.collected(1000L, TimeUnit.SECONDS.toNanos(1));
+
+			assertThat(monitoredMBean.collectInterval, is(maxInterval));
+		}
+
+		@Test
+		public void fastCollectionRestoresInterval() throws Exception {
+			MonitoredMBean monitoredMBean = new MonitoredMBean(new ObjectName("Testdomain:name=test"));
+			long defaultInterval = monitoredMBean.collectInterval;
+
+			monitoredMBean.collected(1000L, TimeUnit.SECONDS.toNanos(1));
+			monitoredMBean.collected(1000L, TimeUnit.SECONDS.toNanos(1));
+			monitoredMBean.collected(1000L, 0L);
+			monitoredMBean.collected(1000L, 0L);
+			monitoredMBean.collected(1000L, 0L);
+
+			assertThat(monitoredMBean.collectInterval, is(defaultInterval));
+		}
+	}
+
 	public static class HandleNotification extends JmxSensorTest {
 
 		@BeforeMethod
@@ -604,7 +703,7 @@ public class JmxSensorTest extends TestBase {
 					return descriptors;
 				}
 			});
-			when(mBeanServer.getAttribute(objectName, testAttributeName)).thenReturn(value);
+			when(mBeanServer.getAttributes(objectName, new String[] { testAttributeName })).thenReturn(new AttributeList(Collections.singletonList(new Attribute(testAttributeName, value))));
 			MBeanServerNotification notification = new MBeanServerNotification(MBeanServerNotification.REGISTRATION_NOTIFICATION, this, 1, objectName);
 
 			notificationListener.getValue().handleNotification(notification, null);
@@ -622,7 +721,7 @@ public class JmxSensorTest extends TestBase {
 
 			verify(mBeanServer).queryNames(Matchers.<ObjectName> any(), (QueryExp) eq(null));
 			verify(mBeanServer).getMBeanInfo(objectName);
-			verify(mBeanServer).getAttribute(objectName, testAttributeName);
+			verify(mBeanServer).getAttributes(objectName, new String[] { testAttributeName });
 			verifyNoMoreInteractions(mBeanServer);
 
 			ArgumentCaptor<JmxSensorValueData> valueCaptor = ArgumentCaptor.forClass(JmxSensorValueData.class);
@@ -2,8 +2,11 @@ package rocks.inspectit.agent.java.sensor.method.http;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -11,6 +14,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -24,6 +28,7 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.apache.commons.collections.MapUtils;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Matchers;
 import org.mockito.Mock;
@@ -34,6 +39,10 @@ import rocks.inspectit.agent.java.AbstractLogSupport;
 import rocks.inspectit.agent.java.config.impl.RegisteredSensorConfig;
 import rocks.inspectit.agent.java.core.ICoreService;
 import rocks.inspectit.agent.java.core.IPlatformManager;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.SpanContextImpl;
+import rocks.inspectit.agent.java.sdk.opentracing.internal.impl.TracerImpl;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ConstSampler;
+import rocks.inspectit.agent.java.sdk.opentracing.sampling.ProbabilisticSampler;
 import rocks.inspectit.agent.java.util.Timer;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
@@ -60,6 +69,12 @@ public class HttpHookTest extends AbstractLogSupport {
 	@Mock
 	private ThreadMXBean threadMXBean;
 
+	@Mock
+	private TracerImpl tracer;
+
+	@Mock
+	private SpanContextImpl spanContext;
+
 	@Mock
 	private Object result;
 
@@ -96,7 +111,7 @@ public class HttpHookTest extends AbstractLogSupport {
 
 		Map<String, Object> map = new HashMap<String, Object>();
 		MapUtils.putAll(map, new String[][] { { "sessioncapture", "true" }, { "attributescapture", "true" }, { "parameterscapture", "true" } });
-		httpHook = new HttpHook(timer, platformManager, map, threadMXBean);
+		httpHook = new HttpHook(timer, platformManager, tracer, map, threadMXBean);
 	}
 
 	@Test
@@ -254,6 +269,127 @@ public class HttpHookTest extends AbstractLogSupport {
 		verifyZeroInteractions(result);
 	}
 
+	@Test
+	public void belowFullCaptureThreshold() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		MapUtils.putAll(map, new Object[][] { { "attributescapture", "true" }, { "parameterscapture", "true" }, { "fullcapturethreshold", Long.valueOf(1000L) } });
+		httpHook = new HttpHook(timer, platformManager, tracer, map, threadMXBean);
+
+		when(timer.getCurrentTime()).thenReturn(1000.453d).thenReturn(1323.675d);
+		when(httpServletRequest.getHeader(HttpTimerData.INSPECTIT_TAGGING_HEADER)).thenReturn("tag");
+		Object[] parameters = new Object[] { httpServletRequest, httpServletResponse };
+
+		httpHook.beforeBody(methodId, sensorTypeId, servlet, parameters, registeredSensorConfig);
+		httpHook.firstAfterBody(methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+		httpHook.secondAfterBody(coreService, methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+
+		ArgumentCaptor<HttpTimerData> captor = ArgumentCaptor.forClass(HttpTimerData.class);
+		verify(coreService).addDefaultData(captor.capture());
+		assertThat(captor.getValue().getHttpInfo().getInspectItTaggingHeaderValue(), is("tag"));
+		assertThat(captor.getValue().getHeaders(), is(nullValue()));
+		assertThat(captor.getValue().getAttributes(), is(nullValue()));
+		assertThat(captor.getValue().getParameters(), is(nullValue()));
+		verify(httpServletRequest, never()).getHeaderNames();
+		verify(httpServletRequest, never()).getAttributeNames();
+		verify(httpServletRequest, never()).getParameterMap();
+	}
+
+	@Test
+	public void aboveFullCaptureThreshold() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		MapUtils.putAll(map, new Object[][] { { "fullcapturethreshold", Long.valueOf(1000L) } });
+		httpHook = new HttpHook(timer, platformManager, tracer, map, threadMXBean);
+
+		when(timer.getCurrentTime()).thenReturn(1000.453d).thenReturn(2323.675d);
+		when(httpServletRequest.getHeaderNames()).thenReturn(new Vector<String>(Collections.singleton("h1")).elements());
+		when(httpServletRequest.getHeader("h1")).thenReturn("hValue1");
+		Object[] parameters = new Object[] { httpServletRequest, httpServletResponse };
+
+		httpHook.beforeBody(methodId, sensorTypeId, servlet, parameters, registeredSensorConfig);
+		httpHook.firstAfterBody(methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+		httpHook.secondAfterBody(coreService, methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+
+		ArgumentCaptor<HttpTimerData> captor = ArgumentCaptor.forClass(HttpTimerData.class);
+		verify(coreService).addDefaultData(captor.capture());
+		assertThat(captor.getValue().getHeaders(), hasEntry("h1", "hValue1"));
+	}
+
+	@Test
+	public void belowFullCaptureThresholdSampledTrace() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		MapUtils.putAll(map, new Object[][] { { "fullcapturethreshold", Long.valueOf(1000L) } });
+		httpHook = new HttpHook(timer, platformManager, tracer, map, threadMXBean);
+
+		when(timer.getCurrentTime()).thenReturn(1000.453d).thenReturn(1323.675d);
+		when(tracer.getSampler()).thenReturn(new ProbabilisticSampler(0.1d));
+		when(tracer.isCurrentContextExisting()).thenReturn(true);
+		when(tracer.getCurrentContext()).thenReturn(spanContext);
+		when(spanContext.isSampled()).thenReturn(true);
+		when(httpServletRequest.getHeaderNames()).thenReturn(new Vector<String>(Collections.singleton("h1")).elements());
+		when(httpServletRequest.getHeader("h1")).thenReturn("hValue1");
+		Object[] parameters = new Object[] { httpServletRequest, httpServletResponse };
+
+		httpHook.beforeBody(methodId, sensorTypeId, servlet, parameters, registeredSensorConfig);
+		httpHook.firstAfterBody(methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+		// span of the request is finished before the second after body
+		when(tracer.isCurrentContextExisting()).thenReturn(false);
+		httpHook.secondAfterBody(coreService, methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+
+		ArgumentCaptor<HttpTimerData> captor = ArgumentCaptor.forClass(HttpTimerData.class);
+		verify(coreService).addDefaultData(captor.capture());
+		assertThat(captor.getValue().getHeaders(), hasEntry("h1", "hValue1"));
+	}
+
+	@Test
+	public void belowFullCaptureThresholdSampledTraceConstSampler() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		MapUtils.putAll(map, new Object[][] { { "fullcapturethreshold", Long.valueOf(1000L) } });
+		httpHook = new HttpHook(timer, platformManager, tracer, map, threadMXBean);
+
+		when(timer.getCurrentTime()).thenReturn(1000.453d).thenReturn(1323.675d);
+		when(tracer.getSampler()).thenReturn(new ConstSampler(true));
+		when(tracer.isCurrentContextExisting()).thenReturn(true);
+		when(tracer.getCurrentContext()).thenReturn(spanContext);
+		when(spanContext.isSampled()).thenReturn(true);
+		Object[] parameters = new Object[] { httpServletRequest, httpServletResponse };
+
+		httpHook.beforeBody(methodId, sensorTypeId, servlet, parameters, registeredSensorConfig);
+		httpHook.firstAfterBody(methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+		httpHook.secondAfterBody(coreService, methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+
+		ArgumentCaptor<HttpTimerData> captor = ArgumentCaptor.forClass(HttpTimerData.class);
+		verify(coreService).addDefaultData(captor.capture());
+		assertThat(captor.getValue().getHeaders(), is(nullValue()));
+		verify(httpServletRequest, never()).getHeaderNames();
+	}
+
+	@Test
+	public void capturedHeadersAndAttributes() {
+		Map<String, Object> map = new HashMap<String, Object>();
+		MapUtils.putAll(map, new Object[][] { { "attributescapture", "true" }, { "capturedheaders", Arrays.asList("h1") }, { "capturedattributes", Arrays.asList("a1") } });
+		httpHook = new HttpHook(timer, platformManager, tracer, map, threadMXBean);
+
+		when(timer.getCurrentTime()).thenReturn(1000.453d).thenReturn(1323.675d);
+		when(httpServletRequest.getHeader("h1")).thenReturn("hValue1");
+		when(httpServletRequest.getHeader(HttpTimerData.INSPECTIT_TAGGING_HEADER)).thenReturn("tag");
+		when(httpServletRequest.getAttribute("a1")).thenReturn("aValue1");
+		Object[] parameters = new Object[] { httpServletRequest, httpServletResponse };
+
+		httpHook.beforeBody(methodId, sensorTypeId, servlet, parameters, registeredSensorConfig);
+		httpHook.firstAfterBody(methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+		httpHook.secondAfterBody(coreService, methodId, sensorTypeId, servlet, parameters, result, false, registeredSensorConfig);
+
+		ArgumentCaptor<HttpTimerData> captor = ArgumentCaptor.forClass(HttpTimerData.class);
+		verify(coreService).addDefaultData(captor.capture());
+		assertThat(captor.getValue().getHeaders().size(), is(2));
+		assertThat(captor.getValue().getHeaders(), hasEntry("h1", "hValue1"));
+		assertThat(captor.getValue().getHttpInfo().getInspectItTaggingHeaderValue(), is("tag"));
+		assertThat(captor.getValue().getAttributes().size(), is(1));
+		assertThat(captor.getValue().getAttributes(), hasEntry("a1", "aValue1"));
+		verify(httpServletRequest, never()).getHeaderNames();
+		verify(httpServletRequest, never()).getAttributeNames();
+	}
+
 	@Test
 	public void oneRecordThatIsNotHttp() {
 		Double firstTimerValue = 1000.453d;
@@ -6,8 +6,11 @@ import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -125,6 +128,29 @@ public class HttpInformationExtractorTest extends AbstractLogSupport {
 		assertThat("No new instances", result.get(h2) == h2Value);
 	}
 
+	@Test
+	public void readCapturedHeaders() {
+		extractor = new HttpInformationExtractor(new StringConstraint(Collections.<String, Object> singletonMap("stringLength", "20")), Arrays.asList("h1", "h3"), Collections.<String> emptyList(),
+				Collections.<String> emptyList());
+		when(httpServletRequest.getHeader("h1")).thenReturn("hValue1");
+		when(httpServletRequest.getHeader("h2")).thenReturn("hValue2");
+
+		Map<String, String> result = extractor.getHeaders(httpServletRequest.getClass(), httpServletRequest);
+
+		assertThat(result.size(), is(1));
+		assertThat(result.get("h1"), is("hValue1"));
+		verify(httpServletRequest, never()).getHeaderNames();
+	}
+
+	@Test
+	public void readSingleHeader() {
+		when(httpServletRequest.getHeader("h1")).thenReturn("hValue1");
+
+		String result = extractor.getHeader(httpServletRequest.getClass(), httpServletRequest, "h1");
+
+		assertThat(result, is("hValue1"));
+	}
+
 	@Test
 	public void readHeadersNull() {
 		Map<String, String> result = extractor.getHeaders(httpServletRequest.getClass(), httpServletRequest);
@@ -208,6 +234,19 @@ public class HttpInformationExtractorTest extends AbstractLogSupport {
 		assertThat(result, is(equalTo(expected)));
 	}
 
+	@Test
+	public void readCapturedAttributes() {
+		extractor = new HttpInformationExtractor(new StringConstraint(Collections.<String, Object> singletonMap("stringLength", "20")), Collections.<String> emptyList(), Arrays.asList("a1"),
+				Collections.<String> emptyList());
+		when(httpServletRequest.getAttribute("a1")).thenReturn(new String[] { "one", "two" });
+
+		Map<String, String> result = extractor.getAttributes(httpServletRequest.getClass(), httpServletRequest);
+
+		assertThat(result.size(), is(1));
+		assertThat(result.get("a1"), is("[one, two]"));
+		verify(httpServletRequest, never()).getAttributeNames();
+	}
+
 	@Test
 	public void readAttributesNull() {
 		Map<String, String> result = extractor.getAttributes(httpServletRequest.getClass(), httpServletRequest);
@@ -284,6 +284,58 @@ public class InvocationSequenceHookTest extends TestBase {
 		verifyZeroInteractions(realCoreService);
 	}
 
+	/**
+	 * Tests that the invocation is not sent if the trace it belongs to is not sampled.
+	 */
+	@Test
+	public void startEndInvocationWithNotSampledServerSpan() {
+		long methodId = 3L;
+		long sensorTypeId = 11L;
+		Object object = mock(Object.class);
+		Object[] parameters = new Object[0];
+		Object result = mock(Object.class);
+
+		SpanContextImpl context = SpanContextImpl.build(1L, false, null);
+		when(tracer.getCurrentContext()).thenReturn(context);
+		when(tracer.isCurrentContextExisting()).thenReturn(true);
+		when(timer.getCurrentTime()).thenReturn(1000.0d, 1323.0d);
+		when(rsc.getMethodSensors()).thenReturn(Collections.singletonList(methodSensor));
+		when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
+
+		invocationSequenceHook.beforeBody(methodId, sensorTypeId, object, parameters, rsc);
+		invocationSequenceHook.firstAfterBody(methodId, sensorTypeId, object, parameters, result, false, rsc);
+		invocationSequenceHook.secondAfterBody(coreService, methodId, sensorTypeId, object, parameters, result, false, rsc);
+
+		verifyZeroInteractions(coreService, realCoreService);
+	}
+
+	/**
+	 * Tests that the invocation ending with exception is sent even if the trace it belongs to is
+	 * not sampled.
+	 */
+	@Test
+	public void startEndInvocationWithNotSampledServerSpanException() {
+		long methodId = 3L;
+		long sensorTypeId = 11L;
+		Object object = mock(Object.class);
+		Object[] parameters = new Object[0];
+		Object result = mock(Object.class);
+
+		SpanContextImpl context = SpanContextImpl.build(1L, false, null);
+		when(tracer.getCurrentContext()).thenReturn(context);
+		when(tracer.isCurrentContextExisting()).thenReturn(true);
+		when(timer.getCurrentTime()).thenReturn(1000.0d, 1323.0d);
+		when(rsc.getMethodSensors()).thenReturn(Collections.singletonList(methodSensor));
+		when(methodSensor.getSensorTypeConfig()).thenReturn(methodSensorTypeConfig);
+
+		invocationSequenceHook.beforeBody(methodId, sensorTypeId, object, parameters, rsc);
+		invocationSequenceHook.firstAfterBody(methodId, sensorTypeId, object, parameters, result, true, rsc);
+		invocationSequenceHook.secondAfterBody(coreService, methodId, sensorTypeId, object, parameters, result, true, rsc);
+
+		verify(coreService, times(1)).addDefaultData(Matchers.any(InvocationSequenceData.class));
+		verifyZeroInteractions(realCoreService);
+	}
+
 	/**
 	 * Tests that the invocation and child will have correct times and ids.
 	 *
@@ -0,0 +1,50 @@
+package rocks.inspectit.agent.java.sensor.method.jdbc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import org.mockito.InjectMocks;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class SqlStatementDictionaryTest extends TestBase {
+
+	@InjectMocks
+	SqlStatementDictionary dictionary;
+
+	public static class GetId extends SqlStatementDictionaryTest {
+
+		@Test
+		public void sameSql() {
+			long first = dictionary.getId("SELECT * FROM TEST");
+			long second = dictionary.getId(new String("SELECT * FROM TEST"));
+
+			assertThat(first, is(greaterThan(0L)));
+			assertThat(second, is(first));
+		}
+
+		@Test
+		public void differentSql() {
+			long first = dictionary.getId("SELECT * FROM TEST");
+			long second = dictionary.getId("SELECT * FROM OTHER");
+
+			assertThat(second, is(greaterThan(0L)));
+			assertThat(second, is(not(first)));
+		}
+
+		@Test
+		public void nullSql() {
+			long id = dictionary.getId(null);
+
+			assertThat(id, is(0L));
+		}
+	}
+}
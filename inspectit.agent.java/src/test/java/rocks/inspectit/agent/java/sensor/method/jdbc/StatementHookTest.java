@@ -50,14 +50,17 @@ public class StatementHookTest extends AbstractLogSupport {
 	@Mock
 	private StatementReflectionCache statementReflectionCache;
 
+	@Mock
+	private SqlStatementDictionary sqlStatementDictionary;
+
 	private StatementHook statementHook;
 
 	private StatementHook statementHook2;
 
 	@BeforeMethod
 	public void initTestClass() {
-		statementHook = new StatementHook(timer, platformManager, connectionMetaDataStorage, statementReflectionCache, parameter);
-		statementHook2 = new StatementHook(timer, platformManager, connectionMetaDataStorage, statementReflectionCache, parameter);
+		statementHook = new StatementHook(timer, platformManager, connectionMetaDataStorage, statementReflectionCache, sqlStatementDictionary, parameter);
+		statementHook2 = new StatementHook(timer, platformManager, connectionMetaDataStorage, statementReflectionCache, sqlStatementDictionary, parameter);
 
 		List<String> list = new ArrayList<String>();
 		list.add("java.lang.String");
@@ -80,6 +83,7 @@ public class StatementHookTest extends AbstractLogSupport {
 
 		when(timer.getCurrentTime()).thenReturn(firstTimerValue).thenReturn(secondTimerValue);
 		when(platformManager.getPlatformId()).thenReturn(platformId);
+		when(sqlStatementDictionary.getId((String) parameters[0])).thenReturn(5L);
 
 		statementHook.beforeBody(methodId, sensorTypeId, object, parameters, registeredSensorConfig);
 		verify(timer, times(1)).getCurrentTime();
@@ -104,6 +108,7 @@ public class StatementHookTest extends AbstractLogSupport {
 		assertThat(sqlData.getMin(), is(secondTimerValue - firstTimerValue));
 		assertThat(sqlData.getMax(), is(secondTimerValue - firstTimerValue));
 		assertThat(sqlData.getSql(), is((String) parameters[0]));
+		assertThat(sqlData.getSqlId(), is(5L));
 		assertThat(sqlData.isCharting(), is(false));
 	}
 
@@ -85,6 +85,7 @@ public class RemoteClientHookTest extends TestBase {
 		SpanImpl spanImpl = mock(SpanImpl.class);
 		when(spanImpl.context()).thenReturn(context);
 		when(spanImpl.isClient()).thenReturn(true);
+		when(spanImpl.isSampled()).thenReturn(true);
 		when(clientInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
 		when(clientInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
 
@@ -176,6 +177,7 @@ public class RemoteClientHookTest extends TestBase {
 		SpanImpl spanImpl = mock(SpanImpl.class);
 		when(spanImpl.context()).thenReturn(context);
 		when(spanImpl.isClient()).thenReturn(true);
+		when(spanImpl.isSampled()).thenReturn(true);
 		when(clientInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
 
 		// execute calls
@@ -209,6 +211,7 @@ public class RemoteClientHookTest extends TestBase {
 		SpanImpl spanImpl = mock(SpanImpl.class);
 		when(spanImpl.context()).thenReturn(context);
 		when(spanImpl.isClient()).thenReturn(true);
+		when(spanImpl.isSampled()).thenReturn(true);
 		when(clientInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
 		when(clientInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
 
@@ -256,6 +259,7 @@ public class RemoteClientHookTest extends TestBase {
 		SpanImpl spanImpl = mock(SpanImpl.class);
 		when(spanImpl.context()).thenReturn(context);
 		when(spanImpl.isClient()).thenReturn(true);
+		when(spanImpl.isSampled()).thenReturn(true);
 		when(clientInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
 
 		// execute first set of calls
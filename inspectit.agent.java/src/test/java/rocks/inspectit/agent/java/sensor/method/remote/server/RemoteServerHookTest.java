@@ -2,6 +2,7 @@ package rocks.inspectit.agent.java.sensor.method.remote.server;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -84,6 +85,7 @@ public class RemoteServerHookTest extends TestBase {
 		SpanImpl spanImpl = mock(SpanImpl.class);
 		when(spanImpl.context()).thenReturn(context);
 		when(spanImpl.isClient()).thenReturn(false);
+		when(spanImpl.isSampled()).thenReturn(true);
 		when(serverInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
 		when(serverInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
 
@@ -106,6 +108,50 @@ public class RemoteServerHookTest extends TestBase {
 		verifyNoMoreInteractions(adapterProvider, serverInterceptor, coreService);
 	}
 
+	@Test
+	public void notSampled() throws Exception {
+		long methodId = 7l;
+		long sensorId = 13l;
+		Object[] parameters = new String[] { "blah", "bla" };
+		doReturn(requestAdapter).when(adapterProvider).getServerRequestAdapter(object, parameters, rsc);
+		doReturn(responseAdapter).when(adapterProvider).getServerResponseAdapter(object, parameters, result, false, rsc);
+		SpanImpl spanImpl = mock(SpanImpl.class);
+		when(spanImpl.isSampled()).thenReturn(false);
+		when(spanImpl.isError()).thenReturn(false);
+		when(serverInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
+		when(serverInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
+
+		hook.beforeBody(methodId, sensorId, object, parameters, rsc);
+		hook.firstAfterBody(methodId, sensorId, object, parameters, result, false, rsc);
+		hook.secondAfterBody(coreService, methodId, sensorId, object, parameters, result, false, rsc);
+
+		verify(serverInterceptor).handleRequest(requestAdapter);
+		verify(serverInterceptor).handleResponse(spanImpl, responseAdapter);
+		verifyZeroInteractions(coreService);
+	}
+
+	@Test
+	public void notSampledError() throws Exception {
+		long methodId = 7l;
+		long sensorId = 13l;
+		Object[] parameters = new String[] { "blah", "bla" };
+		doReturn(requestAdapter).when(adapterProvider).getServerRequestAdapter(object, parameters, rsc);
+		doReturn(responseAdapter).when(adapterProvider).getServerResponseAdapter(object, parameters, result, true, rsc);
+		SpanContextImpl context = mock(SpanContextImpl.class);
+		SpanImpl spanImpl = mock(SpanImpl.class);
+		when(spanImpl.context()).thenReturn(context);
+		when(spanImpl.isSampled()).thenReturn(false);
+		when(spanImpl.isError()).thenReturn(true);
+		when(serverInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
+		when(serverInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
+
+		hook.beforeBody(methodId, sensorId, object, parameters, rsc);
+		hook.firstAfterBody(methodId, sensorId, object, parameters, result, true, rsc);
+		hook.secondAfterBody(coreService, methodId, sensorId, object, parameters, result, true, rsc);
+
+		verify(coreService).addDefaultData(any(ServerSpan.class));
+	}
+
 	@Test
 	public void spanNull() throws Exception {
 		// ids
@@ -151,6 +197,7 @@ public class RemoteServerHookTest extends TestBase {
 		SpanImpl spanImpl = mock(SpanImpl.class);
 		when(spanImpl.context()).thenReturn(context);
 		when(spanImpl.isClient()).thenReturn(false);
+		when(spanImpl.isSampled()).thenReturn(true);
 		when(serverInterceptor.handleRequest(requestAdapter)).thenReturn(spanImpl);
 		when(serverInterceptor.handleResponse(spanImpl, responseAdapter)).thenReturn(spanImpl);
 
@@ -0,0 +1,213 @@
+package rocks.inspectit.agent.java.sensor.platform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ThreadInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.agent.java.sensor.platform.provider.ThreadInfoProvider;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Test class for {@link SamplingProfiler}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class SamplingProfilerTest extends TestBase {
+
+	/** Class under test. */
+	@InjectMocks
+	SamplingProfiler cut;
+
+	/** The mocked {@link ThreadInfoProvider}. */
+	@Mock
+	ThreadInfoProvider threadBean;
+
+	/**
+	 * Tests the {@link SamplingProfiler#sample()} and {@link SamplingProfiler#get()}.
+	 */
+	public static class Sample extends SamplingProfilerTest {
+
+		@Test
+		void stacksAreFoldedFromRoot() {
+			ThreadInfo first = threadInfo(Thread.State.RUNNABLE, "C.c", "B.b", "A.a");
+			ThreadInfo second = threadInfo(Thread.State.RUNNABLE, "B.b", "A.a");
+			when(threadBean.getThreadInfo(any(long[].class), anyInt())).thenReturn(new ThreadInfo[] { first, second });
+
+			cut.sample();
+			cut.sample();
+			SamplingProfilerData data = (SamplingProfilerData) cut.get();
+
+			assertThat(data.getSampleCount(), is(2));
+			assertThat(data.getNodeCount(), is(3));
+			assertThat(data.getFoldedStacks().size(), is(2));
+			assertThat(data.getFoldedStacks(), hasEntry("A.a;B.b;C.c", 2));
+			assertThat(data.getFoldedStacks(), hasEntry("A.a;B.b", 2));
+		}
+
+		@Test
+		void sameMethodDifferentLinesIsSameFrame() {
+			ThreadInfo first = threadInfo(Thread.State.RUNNABLE, "B.b", "A.a");
+			ThreadInfo second = mock(ThreadInfo.class);
+			when(second.getThreadState()).thenReturn(Thread.State.RUNNABLE);
+			when(second.getStackTrace()).thenReturn(new StackTraceElement[] { new StackTraceElement("B", "b", "B.java", 20), new StackTraceElement("A", "a", "A.java", 10) });
+			when(threadBean.getThreadInfo(any(long[].class), anyInt())).thenReturn(new ThreadInfo[] { first, second });
+
+			cut.sample();
+			SamplingProfilerData data = (SamplingProfilerData) cut.get();
+
+			assertThat(data.getNodeCount(), is(2));
+			assertThat(data.getFrames().size(), is(2));
+			assertThat(data.getFoldedStacks(), hasEntry("A.a;B.b", 2));
+		}
+
+		@Test
+		void notRunnableThreadsAreIgnored() {
+			ThreadInfo waiting = threadInfo(Thread.State.WAITING, "B.b", "A.a");
+			when(threadBean.getThreadInfo(any(long[].class), anyInt())).thenReturn(new ThreadInfo[] { waiting, null });
+
+			cut.sample();
+
+			assertThat(cut.get(), is(nullValue()));
+		}
+
+		@Test
+		void notRunnableThreadsIncludedWhenConfigured() {
+			Map<String, Object> parameters = new HashMap<String, Object>();
+			parameters.put("runnableOnly", Boolean.FALSE);
+			cut.configure(parameters);
+			ThreadInfo waiting = threadInfo(Thread.State.WAITING, "B.b", "A.a");
+			when(threadBean.getThreadInfo(any(long[].class), anyInt())).thenReturn(new ThreadInfo[] { waiting });
+
+			cut.sample();
+			SamplingProfilerData data = (SamplingProfilerData) cut.get();
+
+			assertThat(data.getFoldedStacks(), hasEntry("A.a;B.b", 1));
+		}
+
+		@Test
+		void getDrainsTheTree() {
+			ThreadInfo first = threadInfo(Thread.State.RUNNABLE, "A.a");
+			when(threadBean.getThreadInfo(any(long[].class), anyInt())).thenReturn(new ThreadInfo[] { first });
+
+			cut.sample();
+			SamplingProfilerData data = (SamplingProfilerData) cut.get();
+
+			assertThat(data.getSampleCount(), is(1));
+			assertThat(cut.get(), is(nullValue()));
+		}
+
+		@Test
+		void resetKeepsSamples() {
+			ThreadInfo first = threadInfo(Thread.State.RUNNABLE, "A.a");
+			when(threadBean.getThreadInfo(any(long[].class), anyInt())).thenReturn(new ThreadInfo[] { first });
+
+			cut.sample();
+			cut.reset();
+			SamplingProfilerData data = (SamplingProfilerData) cut.get();
+
+			assertThat(data.getFoldedStacks(), hasEntry("A.a", 1));
+			assertThat(data.getTimeStamp(), is(not(nullValue())));
+		}
+
+		private ThreadInfo threadInfo(Thread.State state, String... frames) {
+			StackTraceElement[] stackTrace = new StackTraceElement[frames.length];
+			for (int i = 0; i < frames.length; i++) {
+				int dot = frames[i].lastIndexOf('.');
+				stackTrace[i] = new StackTraceElement(frames[i].substring(0, dot), frames[i].substring(dot + 1), null, -1);
+			}
+			ThreadInfo threadInfo = mock(ThreadInfo.class);
+			when(threadInfo.getThreadState()).thenReturn(state);
+			when(threadInfo.getStackTrace()).thenReturn(stackTrace);
+			return threadInfo;
+		}
+	}
+
+	/**
+	 * Tests the {@link SamplingProfiler#findThreadIds()}.
+	 */
+	public static class FindThreadIds extends SamplingProfilerTest {
+
+		@Test
+		void onlyConfiguredThreadGroups() throws Exception {
+			CountDownLatch latch = new CountDownLatch(1);
+			ThreadGroup threadGroup = new ThreadGroup("sampled-group");
+			Thread sampled = startThread(threadGroup, "worker", latch);
+			Thread agent = startThread(threadGroup, "inspectit-worker", latch);
+			try {
+				cut.configure(Collections.<String, Object> singletonMap("threadGroups", Arrays.asList("sampled-group")));
+
+				long[] ids = cut.findThreadIds();
+
+				assertThat(ids.length, is(1));
+				assertThat(ids[0], is(sampled.getId()));
+			} finally {
+				latch.countDown();
+				sampled.join();
+				agent.join();
+			}
+		}
+
+		@Test
+		void allApplicationThreads() throws Exception {
+			CountDownLatch latch = new CountDownLatch(1);
+			ThreadGroup threadGroup = new ThreadGroup("other-group");
+			Thread sampled = startThread(threadGroup, "worker", latch);
+			try {
+				long[] ids = cut.findThreadIds();
+
+				assertThat(asList(ids), hasItem(sampled.getId()));
+				assertThat(asList(ids), hasItem(Thread.currentThread().getId()));
+			} finally {
+				latch.countDown();
+				sampled.join();
+			}
+		}
+
+		private Thread startThread(ThreadGroup threadGroup, String name, final CountDownLatch latch) {
+			Thread thread = new Thread(threadGroup, new Runnable() {
+				@Override
+				public void run() {
+					try {
+						latch.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			}, name);
+			thread.start();
+			return thread;
+		}
+
+		private List<Long> asList(long[] ids) {
+			List<Long> result = new ArrayList<Long>();
+			for (long id : ids) {
+				result.add(id);
+			}
+			return result;
+		}
+	}
+
+}
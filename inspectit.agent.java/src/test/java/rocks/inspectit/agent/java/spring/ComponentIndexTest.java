@@ -0,0 +1,42 @@
+package rocks.inspectit.agent.java.spring;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
+import static org.hamcrest.Matchers.is;
+
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.support.GenericApplicationContext;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class ComponentIndexTest extends TestBase {
+
+	ComponentIndex componentIndex = new ComponentIndex();
+
+	public static class RegisterBeanDefinitions extends ComponentIndexTest {
+
+		@Test
+		public void sameAsComponentScan() {
+			GenericApplicationContext scanned = new GenericApplicationContext();
+			new ClassPathBeanDefinitionScanner(scanned).scan("rocks.inspectit");
+			GenericApplicationContext indexed = new GenericApplicationContext();
+			new AnnotatedBeanDefinitionReader(indexed).register(SpringConfiguration.class);
+
+			componentIndex.registerBeanDefinitions(null, indexed);
+
+			assertThat(indexed.getBeanDefinitionNames(), is(arrayContainingInAnyOrder((Object[]) scanned.getBeanDefinitionNames())));
+			for (String beanName : scanned.getBeanDefinitionNames()) {
+				assertThat(indexed.getBeanDefinition(beanName).getBeanClassName(), is(scanned.getBeanDefinition(beanName).getBeanClassName()));
+				assertThat(indexed.getBeanDefinition(beanName).getScope(), is(scanned.getBeanDefinition(beanName).getScope()));
+				assertThat(indexed.getBeanDefinition(beanName).isLazyInit(), is(scanned.getBeanDefinition(beanName).isLazyInit()));
+			}
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package rocks.inspectit.agent.java.stats;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -119,4 +121,17 @@ public class AgentStatisticsLoggerTest extends TestBase {
 			verifyNoMoreInteractions(log);
 		}
 	}
+
+	public static class RetransformationPerformed extends AgentStatisticsLoggerTest {
+
+		@Test
+		public void totals() {
+			statsLogger.retransformationPerformed(10, 1000L);
+			statsLogger.retransformationPerformed(5, 500L);
+
+			assertThat(statsLogger.getRetransformedClassCount(), is(15L));
+			assertThat(statsLogger.getRetransformationPauseNanos(), is(1500L));
+		}
+	}
+
 }
@@ -0,0 +1,124 @@
+package rocks.inspectit.agent.java.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mockito.InjectMocks;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class AgentTelemetryTest extends TestBase {
+
+	@InjectMocks
+	AgentTelemetry agentTelemetry;
+
+	public static class IsHookDispatchSampled extends AgentTelemetryTest {
+
+		@Test
+		public void everyIntervalDispatch() {
+			agentTelemetry.setHookSamplingInterval(4);
+
+			int sampled = 0;
+			for (int i = 0; i < 16; i++) {
+				if (agentTelemetry.isHookDispatchSampled()) {
+					sampled++;
+				}
+			}
+
+			assertThat(sampled, is(4));
+		}
+
+		@Test
+		public void disabled() {
+			agentTelemetry.setHookSamplingInterval(0);
+
+			for (int i = 0; i < 16; i++) {
+				assertThat(agentTelemetry.isHookDispatchSampled(), is(false));
+			}
+		}
+	}
+
+	public static class Collect extends AgentTelemetryTest {
+
+		@Test
+		public void hookTimes() {
+			agentTelemetry.hookExecuted(1L, 100L);
+			agentTelemetry.hookExecuted(1L, 50L);
+			AgentTelemetryData data = new AgentTelemetryData();
+
+			agentTelemetry.collect(data);
+
+			assertThat(data.getHookSamplingInterval(), is(AgentTelemetry.DEFAULT_HOOK_SAMPLING_INTERVAL));
+			assertThat(data.getHookSensorTypeIdents().length, is(1));
+			assertThat(data.getHookSensorTypeIdents()[0], is(1L));
+			assertThat(data.getHookSampledCalls()[0], is(2L));
+			assertThat(data.getHookSampledNanos()[0], is(150L));
+		}
+
+		@Test
+		public void ringBuffer() {
+			agentTelemetry.ringBufferOccupancy(2, 8);
+			agentTelemetry.ringBufferOccupancy(6, 8);
+			agentTelemetry.ringBufferFull();
+			AgentTelemetryData data = new AgentTelemetryData();
+
+			agentTelemetry.collect(data);
+
+			assertThat(data.getRingBufferSize(), is(8));
+			assertThat(data.getRingBufferOccupancySamples(), is(2));
+			assertThat(data.getTotalRingBufferOccupancy(), is(8L));
+			assertThat(data.getMaxRingBufferOccupancy(), is(6));
+			assertThat(data.getRingBufferFullCount(), is(1L));
+		}
+
+		@Test
+		public void sending() {
+			agentTelemetry.dataSent(10, 3000L, 100L);
+			agentTelemetry.dataSent(1, 1000L, 20L);
+			AgentTelemetryData data = new AgentTelemetryData();
+
+			agentTelemetry.collect(data);
+
+			assertThat(data.getSendCount(), is(2L));
+			assertThat(data.getSentObjectCount(), is(11L));
+			assertThat(data.getTotalEnqueueNanos(), is(4000L));
+			assertThat(data.getBytesSent(), is(120L));
+			// 10 objects in bucket 4, 1 object in bucket 1
+			assertThat(data.getBatchSizeHistogram()[4], is(1L));
+			assertThat(data.getBatchSizeHistogram()[1], is(1L));
+			// 3 micros in bucket 2, 1 micro in bucket 1
+			assertThat(data.getEnqueueTimeHistogram()[2], is(1L));
+			assertThat(data.getEnqueueTimeHistogram()[1], is(1L));
+		}
+
+		@Test
+		public void resetAfterCollect() {
+			agentTelemetry.hookExecuted(1L, 100L);
+			agentTelemetry.ringBufferOccupancy(2, 8);
+			agentTelemetry.ringBufferFull();
+			agentTelemetry.dataSent(10, 3000L, 100L);
+			agentTelemetry.collect(new AgentTelemetryData());
+			AgentTelemetryData data = new AgentTelemetryData();
+
+			agentTelemetry.collect(data);
+
+			assertThat(data.getHookSampledCalls()[0], is(0L));
+			assertThat(data.getHookSampledNanos()[0], is(0L));
+			assertThat(data.getRingBufferSize(), is(8));
+			assertThat(data.getRingBufferOccupancySamples(), is(0));
+			assertThat(data.getMaxRingBufferOccupancy(), is(0));
+			assertThat(data.getRingBufferFullCount(), is(0L));
+			assertThat(data.getSendCount(), is(0L));
+			assertThat(data.getBytesSent(), is(0L));
+			assertThat(data.getBatchSizeHistogram()[4], is(0L));
+		}
+	}
+
+}
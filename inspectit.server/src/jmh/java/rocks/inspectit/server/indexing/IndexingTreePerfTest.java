@@ -42,6 +42,7 @@ import rocks.inspectit.shared.cs.indexing.query.factory.impl.TimerDataQueryFacto
 import rocks.inspectit.shared.cs.indexing.query.provider.impl.IndexQueryProvider;
 import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionProcessor;
 import rocks.inspectit.shared.cs.indexing.restriction.impl.CachingIndexQueryRestrictionProcessor;
+import rocks.inspectit.shared.cs.indexing.text.TextIndex;
 
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
@@ -131,6 +132,7 @@ public class IndexingTreePerfTest {
 		forkJoinPool = new ForkJoinPool(numberOfProcessors);
 
 		RootBranchFactory rootBranchFactory = new RootBranchFactory();
+		rootBranchFactory.setTextIndex(new TextIndex<DefaultData>());
 		indexingTree = rootBranchFactory.getObject();
 
 		CacheIdGeneratorCmrProcessor idProcessor = new CacheIdGeneratorCmrProcessor();
@@ -0,0 +1,167 @@
+package rocks.inspectit.server.instrumentation.config.applier;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang.math.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import rocks.inspectit.server.instrumentation.config.filter.ClassSensorAssignmentFilter;
+import rocks.inspectit.server.instrumentation.config.filter.MethodSensorAssignmentFilter;
+import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.MethodType;
+import rocks.inspectit.shared.all.instrumentation.config.impl.AgentConfig;
+import rocks.inspectit.shared.cs.ci.assignment.AbstractClassSensorAssignment;
+import rocks.inspectit.shared.cs.ci.assignment.impl.MethodSensorAssignment;
+
+/**
+ * Performance test for the {@link InstrumentationApplierIndex} class.
+ * <p>
+ * Compares the matching of a class type against all the appliers with the matching against the
+ * candidates returned by the index. As the setup we create the given amount of method sensor
+ * assignments based on the around 5K real class names used in the FqnIndexerPerfTest. Half of the
+ * assignments define the exact class name, the other half define the package with the wild-card.
+ *
+ * @author agent
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("PMD")
+public class InstrumentationApplierIndexPerfTest {
+
+	@Param({ "10", "100", "1000" })
+	private int assignments;
+
+	private List<IInstrumentationApplier> appliers;
+
+	private InstrumentationApplierIndex index;
+
+	private List<ClassType> classTypes;
+
+	@Setup
+	public void init() throws IOException {
+		List<String> classes = new ArrayList<>(10000);
+		Path p = Paths.get("src", "jmh", "resources", "rocks", "inspectit", "server", "instrumentation", "classcache", "index", "classNamesFqnIndexerPerfTest");
+		try (BufferedReader br = new BufferedReader(new InputStreamReader(Files.newInputStream(p, StandardOpenOption.READ)))) {
+			String line;
+			while ((line = br.readLine()) != null) {
+				classes.add(line.trim());
+			}
+		}
+
+		classTypes = new ArrayList<>(classes.size());
+		for (String className : classes) {
+			ClassType classType = new ClassType(className);
+			for (int i = 0; i < 10; i++) {
+				MethodType methodType = new MethodType();
+				methodType.setName("method" + i);
+				classType.addMethod(methodType);
+			}
+			classTypes.add(classType);
+		}
+
+		appliers = new ArrayList<>(assignments);
+		for (int i = 0; i < assignments; i++) {
+			String className = classes.get(RandomUtils.nextInt(classes.size()));
+			if (0 == (i % 2)) {
+				className = className.substring(0, className.lastIndexOf('.') + 1) + '*';
+			}
+			MethodSensorAssignment assignment = new MethodSensorAssignment();
+			assignment.setClassName(className);
+			assignment.setMethodName("method" + RandomUtils.nextInt(20));
+			appliers.add(new MatchingApplier(assignment));
+		}
+		index = new InstrumentationApplierIndex(appliers);
+	}
+
+	/**
+	 * Matching against all appliers.
+	 */
+	@Benchmark
+	public boolean allAppliers() {
+		ClassType classType = getRandomClassType();
+		boolean added = false;
+		for (IInstrumentationApplier applier : appliers) {
+			added |= applier.addInstrumentationPoints(null, classType);
+		}
+		return added;
+	}
+
+	/**
+	 * Matching against the candidates from the index.
+	 */
+	@Benchmark
+	public boolean indexedAppliers() {
+		ClassType classType = getRandomClassType();
+		boolean added = false;
+		for (IInstrumentationApplier applier : index.getCandidates(classType)) {
+			added |= applier.addInstrumentationPoints(null, classType);
+		}
+		return added;
+	}
+
+	private ClassType getRandomClassType() {
+		return classTypes.get(RandomUtils.nextInt(classTypes.size()));
+	}
+
+	/**
+	 * Applier that performs only the matching with the assignment filters.
+	 */
+	private static class MatchingApplier implements IInstrumentationApplier {
+
+		private final ClassSensorAssignmentFilter classFilter = new ClassSensorAssignmentFilter();
+
+		private final MethodSensorAssignmentFilter methodFilter = new MethodSensorAssignmentFilter();
+
+		private final MethodSensorAssignment assignment;
+
+		MatchingApplier(MethodSensorAssignment assignment) {
+			this.assignment = assignment;
+		}
+
+		@Override
+		public AbstractClassSensorAssignment<?> getSensorAssignment() {
+			return assignment;
+		}
+
+		@Override
+		public boolean addInstrumentationPoints(AgentConfig agentConfiguration, ClassType classType) {
+			boolean matched = false;
+			if (classFilter.matches(assignment, classType, false)) {
+				for (MethodType methodType : classType.getMethods()) {
+					matched |= methodFilter.matches(assignment, methodType);
+				}
+			}
+			return matched;
+		}
+
+		@Override
+		public boolean removeInstrumentationPoints(ClassType classType) {
+			return false;
+		}
+	}
+
+}
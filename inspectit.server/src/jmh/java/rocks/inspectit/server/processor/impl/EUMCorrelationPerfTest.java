@@ -0,0 +1,184 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import rocks.inspectit.server.dao.impl.BufferSpanDaoImpl;
+import rocks.inspectit.server.indexing.impl.RootBranchFactory;
+import rocks.inspectit.server.indexing.impl.RootBranchFactory.RootBranch;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.eum.AbstractEUMSpanDetails;
+import rocks.inspectit.shared.all.communication.data.eum.EUMSpan;
+import rocks.inspectit.shared.all.communication.data.eum.PageLoadRequest;
+import rocks.inspectit.shared.all.tracing.data.AbstractSpan;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+import rocks.inspectit.shared.cs.indexing.impl.IndexQuery;
+import rocks.inspectit.shared.cs.indexing.query.factory.impl.SpanQueryFactory;
+import rocks.inspectit.shared.cs.indexing.query.provider.impl.IndexQueryProvider;
+import rocks.inspectit.shared.cs.indexing.restriction.IIndexQueryRestrictionProcessor;
+import rocks.inspectit.shared.cs.indexing.restriction.impl.CachingIndexQueryRestrictionProcessor;
+import rocks.inspectit.shared.cs.indexing.text.TextIndex;
+
+/**
+ * Compares the cost of correlating one EUM page load span with its back-end span. The
+ * {@link #polling(Blackhole)} reproduces the former correlation task that queried the buffer for
+ * the back-end span on every retry, while the {@link #pendingTable()} passes both spans through the
+ * {@link EUMCorrelationCmrProcessor}. As the EUM span arrives first, the processor also queries the
+ * buffer once before adding it to the pending table.
+ *
+ * @author agent
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("PMD")
+public class EUMCorrelationPerfTest {
+
+	/**
+	 * Number of spans in the buffer.
+	 */
+	@Param({ "10000", "100000" })
+	private int spans;
+
+	/**
+	 * Attempt on which the back-end span is found in the buffer when polling.
+	 */
+	@Param({ "1", "5" })
+	private int foundOnAttempt;
+
+	/**
+	 * Buffer indexing tree.
+	 */
+	private RootBranch<DefaultData> indexingTree;
+
+	/**
+	 * Query factory.
+	 */
+	private SpanQueryFactory<IndexQuery> spanQueryFactory;
+
+	/**
+	 * Processor under test.
+	 */
+	private EUMCorrelationCmrProcessor processor;
+
+	/**
+	 * Page load details.
+	 */
+	private PageLoadRequest pageLoadRequest;
+
+	/**
+	 * Random.
+	 */
+	private Random random = new Random();
+
+	/**
+	 * Fills the indexing tree with back-end spans.
+	 */
+	@Setup(Level.Trial)
+	public void init() throws Exception {
+		RootBranchFactory rootBranchFactory = new RootBranchFactory();
+		rootBranchFactory.setTextIndex(new TextIndex<DefaultData>());
+		indexingTree = rootBranchFactory.getObject();
+		for (int i = 1; i <= spans; i++) {
+			indexingTree.put(getBackEndSpan(i));
+		}
+
+		final IIndexQueryRestrictionProcessor restrictionProcessor = new CachingIndexQueryRestrictionProcessor();
+		IndexQueryProvider indexQueryProvider = new IndexQueryProvider() {
+
+			@Override
+			public IndexQuery createNewIndexQuery() {
+				IndexQuery indexQuery = new IndexQuery();
+				indexQuery.setRestrictionProcessor(restrictionProcessor);
+				return indexQuery;
+			}
+		};
+		spanQueryFactory = new SpanQueryFactory<>();
+		spanQueryFactory.setIndexQueryProvider(indexQueryProvider);
+
+		processor = new EUMCorrelationCmrProcessor();
+		BufferSpanDaoImpl spanDao = new BufferSpanDaoImpl() {
+			@Override
+			public AbstractSpan get(SpanIdent spanIdent) {
+				List<DefaultData> result = indexingTree.query(spanQueryFactory.get(spanIdent));
+				return result.isEmpty() ? null : (AbstractSpan) result.get(0);
+			}
+		};
+		Field spanDaoField = processor.getClass().getDeclaredField("spanDao");
+		spanDaoField.setAccessible(true);
+		spanDaoField.set(processor, spanDao);
+		spanDaoField.setAccessible(false);
+		pageLoadRequest = new PageLoadRequest();
+	}
+
+	/**
+	 * Buffer is queried for the back-end span on every attempt, till the span is found.
+	 */
+	@Benchmark
+	public void polling(Blackhole blackhole) {
+		long traceId = 1 + random.nextInt(spans);
+		for (int attempt = 1; attempt < foundOnAttempt; attempt++) {
+			// span not yet in the buffer
+			blackhole.consume(indexingTree.query(spanQueryFactory.get(new SpanIdent(spans + attempt, spans + attempt))));
+		}
+		List<DefaultData> result = indexingTree.query(spanQueryFactory.get(new SpanIdent(traceId, traceId)));
+		((AbstractSpan) result.get(0)).setParentSpanId(traceId + spans);
+	}
+
+	/**
+	 * Both spans complete the correlation in the processor.
+	 */
+	@Benchmark
+	public void pendingTable() {
+		// back-end span not yet in the buffer
+		long traceId = spans + 1 + random.nextInt(spans);
+		processor.process(getEumSpan(traceId), null);
+		processor.process(getBackEndSpan(traceId), null);
+	}
+
+	private ServerSpan getBackEndSpan(long id) {
+		ServerSpan span = new ServerSpan();
+		span.setId(id);
+		span.setPlatformIdent(1L);
+		span.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+		span.setSpanIdent(new SpanIdent(id, id));
+		return span;
+	}
+
+	private EUMSpan getEumSpan(long traceId) {
+		EUMSpan span = new EUMSpan() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public AbstractEUMSpanDetails getDetails() {
+				return pageLoadRequest;
+			}
+		};
+		span.setSpanIdent(new SpanIdent(traceId + spans, traceId));
+		return span;
+	}
+
+}
@@ -0,0 +1,191 @@
+package rocks.inspectit.server.tsdb;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.influxdb.dto.QueryResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import rocks.inspectit.shared.cs.storage.util.DeleteFileVisitor;
+
+/**
+ * Measures the ingest rate of the {@link TimeSeriesStore} and the latency of the range queries
+ * over a store holding four weeks of data of ten series written every 10 seconds. Queries without
+ * grouping are answered from the raw data (1 day), the 1 minute rollups (7 days) and the 10
+ * minutes rollups (28 days), while the grouping by one hour always uses the 1 hour rollups.
+ *
+ * @author agent
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("PMD")
+public class TimeSeriesStorePerfTest {
+
+	/**
+	 * Days of data the queries cover.
+	 */
+	@Param({ "1", "7", "28" })
+	private int days;
+
+	/**
+	 * Number of series in the store.
+	 */
+	private static final int SERIES = 10;
+
+	/**
+	 * Days of preloaded data.
+	 */
+	private static final int PRELOAD_DAYS = 28;
+
+	/**
+	 * Interval between the preloaded points.
+	 */
+	private static final long INTERVAL = TimeUnit.SECONDS.toMillis(10);
+
+	/**
+	 * Store under test.
+	 */
+	private TimeSeriesStore store;
+
+	/**
+	 * Store folder.
+	 */
+	private Path folder;
+
+	/**
+	 * Tags of the series.
+	 */
+	private List<Map<String, String>> tags;
+
+	/**
+	 * Time of the next ingested point.
+	 */
+	private long ingestTime;
+
+	/**
+	 * Count of ingested points.
+	 */
+	private long ingestCount;
+
+	/**
+	 * Current time when the store was preloaded.
+	 */
+	private long now;
+
+	/**
+	 * Opens the store and preloads four weeks of data.
+	 */
+	@Setup(Level.Trial)
+	public void init() throws IOException {
+		folder = Files.createTempDirectory("tsdb");
+		store = new TimeSeriesStore();
+		store.log = LoggerFactory.getLogger(TimeSeriesStore.class);
+		store.active = true;
+		store.folder = folder.toString();
+		store.rawRetentionHours = 24;
+		store.oneMinuteRetentionDays = 7;
+		store.tenMinutesRetentionDays = 30;
+		store.oneHourRetentionDays = 365;
+		store.open();
+
+		tags = new ArrayList<>(SERIES);
+		for (int i = 0; i < SERIES; i++) {
+			Map<String, String> seriesTags = new HashMap<>();
+			seriesTags.put("host", "host-" + i);
+			tags.add(seriesTags);
+		}
+
+		now = System.currentTimeMillis();
+		long flushTime = 0;
+		for (long time = now - TimeUnit.DAYS.toMillis(PRELOAD_DAYS); time < now; time += INTERVAL) {
+			for (int i = 0; i < SERIES; i++) {
+				store.insert("cpu", tags.get(i), fields(time, i), time);
+			}
+			if ((time - flushTime) >= TimeSeriesStore.FLUSH_PERIOD) {
+				store.flush(time, false);
+				flushTime = time;
+			}
+		}
+		store.flush(now, true);
+		ingestTime = now;
+	}
+
+	/**
+	 * Closes and deletes the store.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		store.shutdown();
+		Files.walkFileTree(folder, new DeleteFileVisitor());
+	}
+
+	/**
+	 * Inserts one point, flushing as the store would every 10 seconds of data.
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.SECONDS)
+	public void ingest() {
+		int series = (int) (ingestCount++ % SERIES);
+		store.insert("ingest", tags.get(series), fields(ingestTime, series), ingestTime);
+		if (series == (SERIES - 1)) {
+			ingestTime += INTERVAL;
+			store.flush(ingestTime, false);
+		}
+	}
+
+	/**
+	 * Max value of one series in the range.
+	 */
+	@Benchmark
+	public QueryResult rangeMax() {
+		return store.query("SELECT MAX(\"value\") FROM \"cpu\" WHERE \"host\" = 'host-3' AND time > " + (now - TimeUnit.DAYS.toMillis(days)) + "ms AND time <= " + now + "ms");
+	}
+
+	/**
+	 * Hourly mean of all series in the range.
+	 */
+	@Benchmark
+	public QueryResult rangeGroupByHour() {
+		return store.query("SELECT MEAN(\"value\"), MAX(\"value\") FROM \"cpu\" WHERE time > " + (now - TimeUnit.DAYS.toMillis(days)) + "ms AND time <= " + now + "ms GROUP BY time(1h)");
+	}
+
+	/**
+	 * Creates the fields of a point.
+	 *
+	 * @param time
+	 *            Time of point.
+	 * @param series
+	 *            Series index.
+	 * @return Fields.
+	 */
+	private Map<String, Object> fields(long time, int series) {
+		Map<String, Object> fields = new HashMap<>(1);
+		fields.put("value", Double.valueOf(50 + (Math.sin((time / 600000d) + series) * 40)));
+		return fields;
+	}
+}
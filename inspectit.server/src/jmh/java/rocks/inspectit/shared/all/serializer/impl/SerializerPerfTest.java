@@ -0,0 +1,342 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.server.cache.impl.ObjectSizes64BitsCompressedOops;
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.ExceptionEvent;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpInfo;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
+import rocks.inspectit.shared.all.tracing.data.ClientSpan;
+import rocks.inspectit.shared.all.tracing.data.PropagationType;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+import rocks.inspectit.shared.all.util.KryoNetNetwork;
+import rocks.inspectit.shared.cs.storage.serializer.SerializationManagerPostProcessor;
+
+/**
+ * Compares the serialization and de-serialization throughput of the high volume data types when
+ * using the fixed field order serializers and the serializers registered before them (legacy). The
+ * bytes per object are printed in the setup of each trial.
+ * <p>
+ * The SQL statements are measured with the full SQL text (<code>SQL</code>) and with only the id
+ * from the agent SQL statement dictionary (<code>SQL_ID</code>). For these the heap a statement
+ * holds in the CMR buffer is printed as well. Without the dictionary every received statement
+ * holds its own copy of the SQL text, with the dictionary all statements of the agent with the
+ * same id share one text instance.
+ *
+ * @author agent
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(2)
+@State(Scope.Thread)
+@SuppressWarnings("PMD")
+public class SerializerPerfTest {
+
+	/**
+	 * Types registered with the fixed field order serializers.
+	 */
+	private static final Class<?>[] FIXED_FIELD_ORDER_TYPES = new Class<?>[] { TimerData.class, HttpTimerData.class, SqlStatementData.class, ExceptionSensorData.class, InvocationSequenceData.class,
+			ClientSpan.class, ServerSpan.class };
+
+	/**
+	 * Type of data to serialize.
+	 */
+	@Param({ "TIMER", "HTTP", "SQL", "SQL_ID", "EXCEPTION", "SPAN", "INVOCATION" })
+	private String type;
+
+	/**
+	 * Serializers to use, <code>LEGACY</code> re-registers the serializers used before the fixed
+	 * field order serializers.
+	 */
+	@Param({ "LEGACY", "FIXED" })
+	private String serializers;
+
+	/**
+	 * Serialization manager.
+	 */
+	private SerializationManager serializationManager;
+
+	/**
+	 * Object to serialize.
+	 */
+	private DefaultData data;
+
+	/**
+	 * Output reused for serialization.
+	 */
+	private Output output;
+
+	/**
+	 * Input reused for de-serialization.
+	 */
+	private Input input;
+
+	/**
+	 * Serialized object.
+	 */
+	private byte[] bytes;
+
+	/**
+	 * Creates the serialization manager and the data.
+	 */
+	@Setup(Level.Trial)
+	public void init() throws IOException, SerializationException {
+		ClassSchemaManager schemaManager = new ClassSchemaManager();
+		schemaManager.setLog(LoggerFactory.getLogger(ClassSchemaManager.class));
+		schemaManager.setSchemaListFile(new ClassPathResource(ClassSchemaManager.SCHEMA_DIR + "/" + ClassSchemaManager.SCHEMA_LIST_FILE, schemaManager.getClass().getClassLoader()));
+		schemaManager.loadSchemasFromLocations();
+		serializationManager = new SerializationManager();
+		serializationManager.setSchemaManager(schemaManager);
+		serializationManager.setKryoNetNetwork(new KryoNetNetwork());
+		serializationManager.initKryo();
+		new SerializationManagerPostProcessor().postProcessAfterInitialization(serializationManager, "serializationManager");
+
+		data = createData();
+		if ("LEGACY".equals(serializers)) {
+			Kryo kryo = serializationManager.getKryo();
+			for (Class<?> fixedType : FIXED_FIELD_ORDER_TYPES) {
+				useLegacySerializer(kryo, fixedType);
+			}
+		}
+
+		output = new Output(1024, -1);
+		serializationManager.serialize(data, output);
+		bytes = output.toBytes();
+		input = new Input();
+		System.out.println(type + " with " + serializers + " serializers: " + bytes.length + " bytes per object");
+		if (data instanceof SqlStatementData) {
+			printBufferSize((SqlStatementData) data);
+		}
+	}
+
+	@Benchmark
+	public Output serialize() throws SerializationException {
+		output.clear();
+		serializationManager.serialize(data, output);
+		return output;
+	}
+
+	@Benchmark
+	public Object deserialize() throws SerializationException {
+		input.setBuffer(bytes);
+		return serializationManager.deserialize(input);
+	}
+
+	/**
+	 * Registers the serializer the given class was first registered with again, so that the
+	 * objects are written with it.
+	 *
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param type
+	 *            Class.
+	 */
+	private void useLegacySerializer(Kryo kryo, Class<?> type) {
+		for (int id = 0; id < kryo.getRegistration(type).getId(); id++) {
+			Registration registration = kryo.getRegistration(id);
+			if ((null != registration) && (registration.getType() == type)) {
+				kryo.register(registration);
+				return;
+			}
+		}
+		throw new IllegalStateException("No legacy registration for " + type.getName());
+	}
+
+	/**
+	 * Prints the heap the statement holds in the buffer once the CMR resolved the SQL text. The
+	 * text is counted per statement only if the statement was sent with its own copy of the text.
+	 *
+	 * @param sqlStatementData
+	 *            Statement as sent by the agent.
+	 */
+	private void printBufferSize(SqlStatementData sqlStatementData) {
+		IObjectSizes objectSizes = new ObjectSizes64BitsCompressedOops();
+		String sql = createSqlStatementData().getSql();
+		SqlStatementData withoutText = createSqlStatementData();
+		withoutText.setSql(null);
+		long statementSize = withoutText.getObjectSize(objectSizes, true);
+		long textSize = objectSizes.alignTo8Bytes(objectSizes.getSizeOf(sql));
+		if (null != sqlStatementData.getSql()) {
+			System.out.println(type + " buffer size: " + (statementSize + textSize) + " bytes per statement");
+		} else {
+			System.out.println(type + " buffer size: " + statementSize + " bytes per statement, plus " + textSize + " bytes once per agent and SQL id");
+		}
+	}
+
+	/**
+	 * Creates the data of the given type.
+	 *
+	 * @return Data.
+	 */
+	private DefaultData createData() {
+		switch (type) {
+		case "TIMER":
+			return createTimerData(new TimerData());
+		case "HTTP":
+			return createHttpTimerData();
+		case "SQL":
+			return createSqlStatementData();
+		case "SQL_ID":
+			return createSqlStatementIdData();
+		case "EXCEPTION":
+			return createExceptionSensorData();
+		case "SPAN":
+			return createSpan();
+		case "INVOCATION":
+			return createInvocationSequence();
+		default:
+			throw new IllegalArgumentException(type);
+		}
+	}
+
+	private <T extends TimerData> T createTimerData(T timerData) {
+		timerData.setId(123456L);
+		timerData.setPlatformIdent(1L);
+		timerData.setSensorTypeIdent(12L);
+		timerData.setMethodIdent(3456L);
+		timerData.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+		for (int i = 1; i <= 10; i++) {
+			timerData.increaseCount();
+			timerData.addDuration(i * 1.5d);
+			timerData.calculateMin(i * 1.5d);
+			timerData.calculateMax(i * 1.5d);
+			timerData.addCpuDuration(i);
+			timerData.calculateCpuMin(i);
+			timerData.calculateCpuMax(i);
+		}
+		timerData.addInvocationParentId(Long.valueOf(98765L));
+		return timerData;
+	}
+
+	private HttpTimerData createHttpTimerData() {
+		HttpTimerData httpTimerData = createTimerData(new HttpTimerData());
+		HttpInfo httpInfo = new HttpInfo("/shop/cart/checkout", "POST", null);
+		httpInfo.setScheme("https");
+		httpInfo.setServerName("shop.example.com");
+		httpInfo.setServerPort(Integer.valueOf(443));
+		httpTimerData.setHttpInfo(httpInfo);
+		Map<String, String> headers = new HashMap<>();
+		headers.put("accept", "text/html,application/xhtml+xml");
+		headers.put("user-agent", "Mozilla/5.0 (X11; Linux x86_64)");
+		headers.put("host", "shop.example.com");
+		httpTimerData.setHeaders(headers);
+		Map<String, String[]> parameters = new HashMap<>();
+		parameters.put("item", new String[] { "1", "2" });
+		httpTimerData.setParameters(parameters);
+		httpTimerData.setHttpResponseStatus(200);
+		return httpTimerData;
+	}
+
+	private SqlStatementData createSqlStatementData() {
+		SqlStatementData sqlStatementData = createTimerData(new SqlStatementData());
+		sqlStatementData.setSql("SELECT o.id, o.status, o.total FROM orders o WHERE o.customer_id = ? AND o.created > ?");
+		sqlStatementData.setPreparedStatement(true);
+		sqlStatementData.setParameterValues(Arrays.asList("42", "'2017-01-01'"));
+		sqlStatementData.setDatabaseUrl("jdbc:postgresql://db:5432/shop");
+		sqlStatementData.setDatabaseProductName("PostgreSQL");
+		sqlStatementData.setDatabaseProductVersion("9.6.2");
+		return sqlStatementData;
+	}
+
+	private SqlStatementData createSqlStatementIdData() {
+		SqlStatementData sqlStatementData = createSqlStatementData();
+		sqlStatementData.setSqlId(17L);
+		sqlStatementData.setSql(null);
+		return sqlStatementData;
+	}
+
+	private ExceptionSensorData createExceptionSensorData() {
+		ExceptionSensorData exceptionSensorData = new ExceptionSensorData(new Timestamp(System.currentTimeMillis()), 1L, 13L, 3456L);
+		exceptionSensorData.setId(123457L);
+		exceptionSensorData.setThrowableType("java.lang.IllegalStateException");
+		exceptionSensorData.setErrorMessage("Order is already closed");
+		exceptionSensorData.setExceptionEvent(ExceptionEvent.CREATED);
+		StringBuilder stackTrace = new StringBuilder("java.lang.IllegalStateException: Order is already closed");
+		for (int i = 0; i < 20; i++) {
+			stackTrace.append("\n\tat com.example.shop.OrderService.method").append(i).append("(OrderService.java:").append(100 + i).append(')');
+		}
+		exceptionSensorData.setStackTrace(stackTrace.toString());
+		exceptionSensorData.setThrowableIdentityHashCode(123456789L);
+		return exceptionSensorData;
+	}
+
+	private ServerSpan createSpan() {
+		ServerSpan span = new ServerSpan();
+		span.setId(123458L);
+		span.setPlatformIdent(1L);
+		span.setSensorTypeIdent(14L);
+		span.setMethodIdent(3456L);
+		span.setTimeStamp(new Timestamp(System.currentTimeMillis()));
+		span.setSpanIdent(new SpanIdent(-4513258465465465L, 7813258465465465L));
+		span.setParentSpanId(2213258465465465L);
+		span.setDuration(12.5d);
+		span.setPropagationType(PropagationType.HTTP);
+		span.setReferenceType("child_of");
+		span.addTag("http.url", "https://shop.example.com/shop/cart/checkout");
+		span.addTag("http.method", "POST");
+		span.addTag("http.status_code", "200");
+		return span;
+	}
+
+	private InvocationSequenceData createInvocationSequence() {
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		InvocationSequenceData root = new InvocationSequenceData(timestamp, 1L, 15L, 3456L);
+		root.setId(123459L);
+		root.setDuration(100.0d);
+		root.setSpanIdent(new SpanIdent(-4513258465465465L, 7813258465465465L));
+		root.setTimerData(createHttpTimerData());
+		for (int i = 0; i < 50; i++) {
+			InvocationSequenceData child = new InvocationSequenceData(timestamp, 1L, 15L, 4000L + i);
+			child.setParentSequence(root);
+			child.setPosition(i);
+			child.setDuration(1.0d);
+			child.setStart(i * 2.0d);
+			child.setEnd((i * 2.0d) + 1.0d);
+			if ((i % 5) == 0) {
+				child.setSqlStatementData(createSqlStatementData());
+			} else {
+				child.setTimerData(createTimerData(new TimerData()));
+			}
+			root.getNestedSequences().add(child);
+		}
+		root.setChildCount(50L);
+		return root;
+	}
+}
@@ -55,7 +55,7 @@ public class ThresholdChecker {
 			log.debug("||-Check threshold defined by alerting definition '{}'.", alertingState.getAlertingDefinition().toString());
 		}
 
-		if (!influxDao.isConnected()) {
+		if (!influxDao.isAvailable()) {
 			if (log.isDebugEnabled()) {
 				log.debug("||-Cannot check threshold without connected influxDB.");
 			}
@@ -107,4 +107,13 @@ public interface IBuffer<E> {
 	 * @return Returns the newest element in the buffer.
 	 */
 	E getNewestElement();
+
+	/**
+	 * Returns the lowest ID of the objects that are inserted into the buffer, but are not yet
+	 * indexed. Such objects can not be found by the queries on the indexing tree yet.
+	 *
+	 * @return Returns the lowest ID of the objects that are not yet indexed or
+	 *         {@link Long#MAX_VALUE} if there are no such objects.
+	 */
+	long getLowestNotIndexedId();
 }
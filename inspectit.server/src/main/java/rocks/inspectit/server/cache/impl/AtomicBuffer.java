@@ -578,6 +578,47 @@ public class AtomicBuffer<E extends DefaultData> implements IBuffer<E> {
 		return null;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Walks the elements from the last indexed one to the first one. If an element is added to
+	 * the buffer, but not yet connected to the previous one, the method waits for the connection.
+	 */
+	@Override
+	public long getLowestNotIndexedId() {
+		clearReadLock.lock();
+		try {
+			long lowestId = Long.MAX_VALUE;
+			IBufferElement<E> element = lastIndexed.get();
+			if (emptyBufferElement == element) {
+				element = last.get();
+				// first element in the buffer is being inserted
+				while ((emptyBufferElement == element) && (emptyBufferElement != first.get())) {
+					Thread.yield();
+					element = last.get();
+				}
+			}
+
+			while (emptyBufferElement != element) {
+				BufferElementState state = element.getBufferElementState();
+				if ((BufferElementState.INSERTED == state) || (BufferElementState.ANALYZED == state)) {
+					lowestId = Math.min(lowestId, element.getObject().getId());
+				}
+
+				IBufferElement<E> next = element.getNextElement();
+				// next element is being connected
+				while ((emptyBufferElement == next) && (first.get() != element)) {
+					Thread.yield();
+					next = element.getNextElement();
+				}
+				element = next;
+			}
+			return lowestId;
+		} finally {
+			clearReadLock.unlock();
+		}
+	}
+
 	/**
 	 * Is executed after dependency injection is done to perform any initialization.
 	 *
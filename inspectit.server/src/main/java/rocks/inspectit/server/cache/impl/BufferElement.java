@@ -15,8 +15,9 @@ public class BufferElement<E extends DefaultData> implements IBufferElement<E> {
 
 	/**
 	 * Element that is next element in the buffer from the perspective of this buffer element.
+	 * Volatile as it's read by the threads walking the buffer while being connected.
 	 */
-	private IBufferElement<E> nextElement;
+	private volatile IBufferElement<E> nextElement;
 
 	/**
 	 * Holding object.
@@ -29,9 +30,9 @@ public class BufferElement<E extends DefaultData> implements IBufferElement<E> {
 	private long bufferElementSize;
 
 	/**
-	 * Buffer element state.
+	 * Buffer element state. Volatile as it's read by the threads walking the buffer.
 	 */
-	private BufferElementState bufferElementState;
+	private volatile BufferElementState bufferElementState;
 
 	/**
 	 * Default constructor.
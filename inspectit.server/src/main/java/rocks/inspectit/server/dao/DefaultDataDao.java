@@ -7,6 +7,7 @@ import java.util.List;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 
 /**
  * All implementing classes of this interface are storing and retrieving the default data objects,
@@ -70,6 +71,24 @@ public interface DefaultDataDao {
 	 */
 	List<DefaultData> findByExampleFromToDate(DefaultData template, Date fromDate, Date toDate);
 
+	/**
+	 * Passes the data objects matching the template in the given time range to the given
+	 * {@link AggregationPerformer} while the data is read, without loading the complete result
+	 * list.
+	 *
+	 * @param <E>
+	 *            Type of data the performer aggregates. Must match the template class.
+	 * @param template
+	 *            The template object used to search for the data.
+	 * @param fromDate
+	 *            The start date.
+	 * @param toDate
+	 *            The end date.
+	 * @param aggregationPerformer
+	 *            Performer to aggregate the data with.
+	 */
+	<E extends DefaultData> void aggregateByExampleFromToDate(DefaultData template, Date fromDate, Date toDate, AggregationPerformer<E> aggregationPerformer);
+
 	/**
 	 * Searches for the last saved data object.
 	 *
@@ -96,6 +115,26 @@ public interface DefaultDataDao {
 	 */
 	List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag);
 
+	/**
+	 * Passes the {@link HttpTimerData} that can be used as the input for the plotting to the given
+	 * {@link AggregationPerformer} while the data is read, without loading the complete result
+	 * list. From the template list the platform ident will be used as well as all URI and tagged
+	 * values.
+	 *
+	 * @param templates
+	 *            Templates.
+	 * @param fromDate
+	 *            From date.
+	 * @param toDate
+	 *            To date
+	 * @param retrieveByTag
+	 *            If tag values from the templates should be used when retrieving the data. If false
+	 *            is passed, URi will be used from templates.
+	 * @param aggregationPerformer
+	 *            Performer to aggregate the data with.
+	 */
+	void aggregateChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag, AggregationPerformer<HttpTimerData> aggregationPerformer);
+
 	/**
 	 * Returns the {@link JmxSensorValueData} list of a given time frame that can be used as partial
 	 * input for the jmx sensor.
@@ -52,6 +52,22 @@ public interface ExceptionSensorDataDao {
 	 */
 	List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, Date fromDate, Date toDate, Comparator<? super ExceptionSensorData> comparator);
 
+	/**
+	 * Returns a list of {@link ExceptionSensorData} objects which have an ID equal or higher than
+	 * the given minimum ID.
+	 *
+	 * @param template
+	 *            The template data object.
+	 * @param limit
+	 *            The limit/size of the list.
+	 * @param minId
+	 *            Only exceptions with equal or higher id are returned.
+	 * @param comparator
+	 *            If supplied the final result list will be sorted by this comparator.
+	 * @return List of {@link ExceptionSensorData} objects.
+	 */
+	List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, long minId, Comparator<? super ExceptionSensorData> comparator);
+
 	/**
 	 * Returns a list of {@link ExceptionSensorData} objects. This list can be used to get an
 	 * overview over recorded Exceptions in a target application.
@@ -123,6 +139,18 @@ public interface ExceptionSensorDataDao {
 	 */
 	List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of {@link AggregatedExceptionSensorData} objects aggregated only from the
+	 * exceptions that have an ID equal or higher than the given minimum ID.
+	 *
+	 * @param template
+	 *            The template object to be used for the query.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return A list of {@link AggregatedExceptionSensorData} objects.
+	 */
+	List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, long minId);
+
 	/**
 	 * Returns the exception sensor data list for all error and stack message combinations for the
 	 * throwable type defined in the template.
@@ -40,6 +40,20 @@ public interface HttpTimerDataDao {
 	 */
 	List<HttpTimerData> getAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of the http timer data for a given template, where only the data with an ID
+	 * equal or higher than the given minimum ID is aggregated.
+	 *
+	 * @param httpData
+	 *            The template containing the platform id.
+	 * @param includeRequestMethod
+	 *            whether or not the request method should be include in the categorization.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the aggregated http timer data object.
+	 */
+	List<HttpTimerData> getAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId);
+
 	/**
 	 * Returns a list of the tagged timer data (aggregated by the value of the inspectit header) for
 	 * a given template. In this template, only the platform id is extracted.
@@ -67,4 +81,18 @@ public interface HttpTimerDataDao {
 	 * @return The list of the aggregated timer data object.
 	 */
 	List<HttpTimerData> getTaggedAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, Date fromDate, Date toDate);
+
+	/**
+	 * Returns a list of the http timer data aggregated by the tag value, where only the data with
+	 * an ID equal or higher than the given minimum ID is aggregated.
+	 *
+	 * @param httpData
+	 *            The template containing the platform id.
+	 * @param includeRequestMethod
+	 *            whether or not the request method should be include in the categorization.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the aggregated http timer data object.
+	 */
+	List<HttpTimerData> getTaggedAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId);
 }
@@ -101,6 +101,25 @@ public interface InvocationDataDao {
 	 */
 	List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, int limit, Date fromDate, Date toDate, Comparator<? super InvocationSequenceData> comparator);
 
+	/**
+	 * Returns a list of {@link InvocationSequenceData} objects which contain no associations to
+	 * other objects and have an ID equal or higher than the given minimum ID.
+	 *
+	 * @param platformId
+	 *            The ID of the platform.
+	 * @param methodId
+	 *            The ID of the method. Zero value means that invocations of all methods are
+	 *            returned.
+	 * @param limit
+	 *            The limit/size of the list.
+	 * @param minId
+	 *            Only invocations with equal or higher id are returned.
+	 * @param comparator
+	 *            If supplied the final result list will be sorted by this comparator.
+	 * @return Returns the list of invocation sequences.
+	 */
+	List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, long minId, Comparator<? super InvocationSequenceData> comparator);
+
 	/**
 	 * Returns a list of {@link InvocationSequenceData} objects which contain no associations to
 	 * other objects. Thus this list can be used to get an overview of the available invocation
@@ -0,0 +1,29 @@
+package rocks.inspectit.server.dao;
+
+import java.util.Date;
+
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+
+/**
+ * Provides services to access the <code>SamplingProfilerData</code> information.
+ *
+ * @author agent
+ *
+ */
+public interface SamplingProfilerDataDao {
+
+	/**
+	 * Returns the profile of the agent aggregated from all sampling profiler data in the given
+	 * period.
+	 *
+	 * @param platformIdent
+	 *            ID of the agent.
+	 * @param fromDate
+	 *            Date to include data from, can be <code>null</code>.
+	 * @param toDate
+	 *            Date to include data to, can be <code>null</code>.
+	 * @return Aggregated profile or <code>null</code> if no data was sampled in the period.
+	 */
+	SamplingProfilerData getAggregatedProfile(long platformIdent, Date fromDate, Date toDate);
+
+}
@@ -37,6 +37,19 @@ public interface SqlDataDao {
 	 */
 	List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of the SQL statements for a given template, where only the statements with an
+	 * ID equal or higher than the given minimum ID are aggregated. In the template, only the
+	 * platform id is extracted.
+	 *
+	 * @param sqlStatementData
+	 *            The template containing the platform id.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the SQL statements.
+	 */
+	List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, long minId);
+
 	/**
 	 * Returns a list of the SQL statements for a given template aggregated by the parameters. In
 	 * the template, only the platform id is extracted. If the template holds the SQL query string,
@@ -0,0 +1,32 @@
+package rocks.inspectit.server.dao;
+
+import java.util.List;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Provides the search of data objects by the texts they contain, like SQL strings, URIs,
+ * exception messages and parameter contents.
+ *
+ * @author agent
+ *
+ */
+public interface TextDataDao {
+
+	/**
+	 * Returns the data objects that contain the given text. Search is case insensitive. Results
+	 * are sorted by the time stamp, newest first.
+	 *
+	 * @param text
+	 *            Text to search for.
+	 * @param platformId
+	 *            Platform ident to restrict the search to. Can be <code>null</code> to search in
+	 *            all platforms.
+	 * @param limit
+	 *            Limit the number of results by given number. Value <code>-1</code> means no
+	 *            limit.
+	 * @return List of data objects containing the text.
+	 */
+	List<DefaultData> getDataObjectsContainingText(String text, Long platformId, int limit);
+
+}
@@ -36,4 +36,17 @@ public interface TimerDataDao {
 	 * @return The list of the timer data object.
 	 */
 	List<TimerData> getAggregatedTimerData(TimerData timerData, Date fromDate, Date toDate);
+
+	/**
+	 * Returns a list of the aggregated timer data for a given template, where only the timer data
+	 * with an ID equal or higher than the given minimum ID is aggregated. In this template, only
+	 * the platform id is extracted.
+	 *
+	 * @param timerData
+	 *            The template containing the platform id.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the aggregated timer data object.
+	 */
+	List<TimerData> getAggregatedTimerData(TimerData timerData, long minId);
 }
@@ -9,11 +9,14 @@ import java.util.concurrent.ForkJoinPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
+import rocks.inspectit.server.cache.IBuffer;
+import rocks.inspectit.server.util.CacheIdGenerator;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.indexing.IIndexQuery;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
+import rocks.inspectit.shared.cs.indexing.restriction.impl.IndexQueryRestrictionFactory;
 
 /**
  * Abstract class for all buffer data DAO service.
@@ -39,6 +42,43 @@ public abstract class AbstractBufferDataDao<E extends DefaultData> {
 	@Qualifier("indexingTreeForkJoinPool")
 	private ForkJoinPool forkJoinPool;
 
+	/**
+	 * {@link CacheIdGenerator} for the pending IDs.
+	 */
+	@Autowired
+	private CacheIdGenerator cacheIdGenerator;
+
+	/**
+	 * Buffer for the not yet indexed elements.
+	 */
+	@Autowired
+	private IBuffer<?> buffer;
+
+	/**
+	 * Sets the minimum ID of the query and restricts the query to the elements with the ID up to
+	 * the highest ID for which all elements with the same or lower ID can already be found. Thus
+	 * the next query with the minimum ID following the highest returned one does not miss the
+	 * elements that were still processed, held or not yet indexed during this query. Only the IDs
+	 * pending for the object classes of the query hold back the result.
+	 *
+	 * @param indexQuery
+	 *            Index query.
+	 * @param minId
+	 *            Minimum ID of the elements.
+	 */
+	protected void setMinId(IIndexQuery indexQuery, long minId) {
+		// generator must be asked first, elements leave the pending state only after being
+		// inserted into the buffer
+		long watermark = cacheIdGenerator.getVisibilityWatermark(indexQuery.getObjectClasses());
+		long lowestNotIndexedId = buffer.getLowestNotIndexedId();
+		if (Long.MAX_VALUE != lowestNotIndexedId) {
+			watermark = Math.min(watermark, lowestNotIndexedId - 1);
+		}
+
+		indexQuery.setMinId(minId);
+		indexQuery.addIndexingRestriction(IndexQueryRestrictionFactory.lessEqual("id", watermark));
+	}
+
 	/**
 	 * Executes the query on the indexing tree.
 	 *
@@ -172,6 +212,48 @@ public abstract class AbstractBufferDataDao<E extends DefaultData> {
 	 * @return Result list.
 	 */
 	protected List<E> executeQuery(IIndexQuery indexQuery, IAggregator<E> aggregator, Comparator<? super E> comparator, int limit, boolean useForkJoin) {
+		return this.executeQuery(indexQuery, aggregator, comparator, limit, useForkJoin, false);
+	}
+
+	/**
+	 * Executes the incremental query on the indexing tree, returning only the elements with the ID
+	 * equal or higher than the given minimum ID. The results are aggregated with the given
+	 * {@link IAggregator} and every aggregated object carries the highest ID of the elements
+	 * aggregated into it, so that the next incremental query can follow.
+	 *
+	 * @param indexQuery
+	 *            Index query to execute.
+	 * @param minId
+	 *            Minimum ID of the elements.
+	 * @param aggregator
+	 *            {@link IAggregator}. Must not be <code>null</code>.
+	 * @param useForkJoin
+	 *            true, if forkJoinPool should be used
+	 * @return Result list.
+	 */
+	protected List<E> executeIncrementalQuery(IIndexQuery indexQuery, long minId, IAggregator<E> aggregator, boolean useForkJoin) {
+		setMinId(indexQuery, minId);
+		return this.executeQuery(indexQuery, aggregator, null, -1, useForkJoin, true);
+	}
+
+	/**
+	 * Executes the query on the indexing tree.
+	 *
+	 * @param indexQuery
+	 *            Index query to execute.
+	 * @param aggregator
+	 *            {@link IAggregator}. Pass <code>null</code> if no aggregation is needed.
+	 * @param comparator
+	 *            If supplied the final result list will be sorted by this comparator.
+	 * @param limit
+	 *            Limit the number of results by given number. Value <code>-1</code> means no limit.
+	 * @param useForkJoin
+	 *            true, if forkJoinPool should be used
+	 * @param trackHighestId
+	 *            If aggregated objects should carry the highest ID of the aggregated elements.
+	 * @return Result list.
+	 */
+	private List<E> executeQuery(IIndexQuery indexQuery, IAggregator<E> aggregator, Comparator<? super E> comparator, int limit, boolean useForkJoin, boolean trackHighestId) {
 		List<E> data;
 
 		if (useForkJoin) {
@@ -180,7 +262,7 @@ public abstract class AbstractBufferDataDao<E extends DefaultData> {
 			data = indexingTree.query(indexQuery);
 		}
 		if (null != aggregator) {
-			AggregationPerformer<E> aggregationPerformer = new AggregationPerformer<>(aggregator);
+			AggregationPerformer<E> aggregationPerformer = new AggregationPerformer<>(aggregator, trackHighestId);
 			aggregationPerformer.processCollection(data);
 			data = aggregationPerformer.getResultList();
 		}
@@ -59,6 +59,20 @@ public class BufferExceptionSensorDataDaoImpl extends AbstractBufferDataDao<Exce
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, long minId, Comparator<? super ExceptionSensorData> comparator) {
+		IIndexQuery query = exceptionSensorDataQueryFactory.getUngroupedExceptionOverviewQuery(template, limit, null, null);
+		super.setMinId(query, minId);
+		if (null != comparator) {
+			return super.executeQuery(query, comparator, limit, true);
+		} else {
+			return super.executeQuery(query, DefaultDataComparatorEnum.TIMESTAMP, limit, true);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -100,7 +114,27 @@ public class BufferExceptionSensorDataDaoImpl extends AbstractBufferDataDao<Exce
 	@Override
 	public List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, Date fromDate, Date toDate) {
 		IIndexQuery query = exceptionSensorDataQueryFactory.getDataForGroupedExceptionOverviewQuery(template, fromDate, toDate);
-		List<ExceptionSensorData> results = super.executeQuery(query, Aggregators.GROUP_EXCEPTION_OVERVIEW_AGGREGATOR, true);
+		return this.toAggregatedExceptionSensorData(super.executeQuery(query, Aggregators.GROUP_EXCEPTION_OVERVIEW_AGGREGATOR, true));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, long minId) {
+		IIndexQuery query = exceptionSensorDataQueryFactory.getDataForGroupedExceptionOverviewQuery(template, null, null);
+		return this.toAggregatedExceptionSensorData(super.executeIncrementalQuery(query, minId, Aggregators.GROUP_EXCEPTION_OVERVIEW_AGGREGATOR, true));
+	}
+
+	/**
+	 * Filters the {@link AggregatedExceptionSensorData} objects out of the results aggregated for
+	 * the grouped exception overview.
+	 *
+	 * @param results
+	 *            Aggregated results.
+	 * @return A list of {@link AggregatedExceptionSensorData} objects.
+	 */
+	private List<AggregatedExceptionSensorData> toAggregatedExceptionSensorData(List<ExceptionSensorData> results) {
 		List<AggregatedExceptionSensorData> aggResults = new ArrayList<>();
 		for (ExceptionSensorData exData : results) {
 			if (exData instanceof AggregatedExceptionSensorData) {
@@ -46,6 +46,15 @@ public class BufferHttpTimerDataDaoImpl extends AbstractBufferDataDao<HttpTimerD
 		return super.executeQuery(query, new HttpTimerDataAggregator(true, includeRequestMethod), false);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<HttpTimerData> getAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId) {
+		IIndexQuery query = httpDataQueryFactory.getFindAllHttpTimersQuery(httpData, null, null);
+		return super.executeIncrementalQuery(query, minId, new HttpTimerDataAggregator(true, includeRequestMethod), false);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -64,4 +73,13 @@ public class BufferHttpTimerDataDaoImpl extends AbstractBufferDataDao<HttpTimerD
 		return super.executeQuery(query, new HttpTimerDataAggregator(false, includeRequestMethod), false);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<HttpTimerData> getTaggedAggregatedHttpTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId) {
+		IIndexQuery query = httpDataQueryFactory.getFindAllTaggedHttpTimersQuery(httpData, null, null);
+		return super.executeIncrementalQuery(query, minId, new HttpTimerDataAggregator(false, includeRequestMethod), false);
+	}
+
 }
@@ -64,6 +64,31 @@ public class BufferInvocationDataDaoImpl extends AbstractBufferDataDao<Invocatio
 	@Override
 	public List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, Date fromDate, Date toDate, Comparator<? super InvocationSequenceData> comparator) {
 		IIndexQuery query = invocationDataQueryFactory.getInvocationSequences(platformId, methodId, fromDate, toDate);
+		return this.getInvocationSequenceOverview(query, limit, comparator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, long minId, Comparator<? super InvocationSequenceData> comparator) {
+		IIndexQuery query = invocationDataQueryFactory.getInvocationSequences(platformId, methodId, null, null);
+		super.setMinId(query, minId);
+		return this.getInvocationSequenceOverview(query, limit, comparator);
+	}
+
+	/**
+	 * Executes the given query and returns the cloned invocations without children.
+	 *
+	 * @param query
+	 *            Query to execute.
+	 * @param limit
+	 *            The limit/size of the list.
+	 * @param comparator
+	 *            If supplied the final result list will be sorted by this comparator.
+	 * @return Returns the list of invocation sequences.
+	 */
+	private List<InvocationSequenceData> getInvocationSequenceOverview(IIndexQuery query, int limit, Comparator<? super InvocationSequenceData> comparator) {
 		List<InvocationSequenceData> resultWithChildren;
 		if (null != comparator) {
 			resultWithChildren = super.executeQuery(query, comparator, limit, false);
@@ -0,0 +1,44 @@
+package rocks.inspectit.server.dao.impl;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import rocks.inspectit.server.dao.SamplingProfilerDataDao;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.SamplingProfilerDataAggregator;
+import rocks.inspectit.shared.cs.indexing.query.factory.impl.SamplingProfilerDataQueryFactory;
+
+/**
+ * Provides <code>SamplingProfilerData</code> information from the CMR internal in memory buffer.
+ * Fork&join isn't used, because the agent sends only one profile per sending interval.
+ *
+ * @author agent
+ *
+ */
+@Repository
+public class BufferSamplingProfilerDataDaoImpl extends AbstractBufferDataDao<SamplingProfilerData> implements SamplingProfilerDataDao {
+
+	/**
+	 * Index query factory.
+	 */
+	@Autowired
+	private SamplingProfilerDataQueryFactory<IIndexQuery> samplingProfilerDataQueryFactory;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SamplingProfilerData getAggregatedProfile(long platformIdent, Date fromDate, Date toDate) {
+		IIndexQuery query = samplingProfilerDataQueryFactory.getSamplingProfilerDataQuery(platformIdent, fromDate, toDate);
+		List<SamplingProfilerData> result = super.executeQuery(query, new SamplingProfilerDataAggregator(), false);
+		if (result.isEmpty()) {
+			return null;
+		}
+		return result.get(0);
+	}
+
+}
@@ -52,6 +52,28 @@ public class BufferSpanDaoImpl extends AbstractBufferDataDao<AbstractSpan> {
 		}
 	}
 
+	/**
+	 * Returns root spans that have an ID equal or higher than the given minimum ID.
+	 *
+	 * @param limit
+	 *            Max amount of results.
+	 * @param minId
+	 *            Only spans with equal or higher id are returned.
+	 * @param resultComparator
+	 *            Comparator that will be used to sort the results. Can be <code>null</code> and in
+	 *            that case default time-stamp sorting will be done.
+	 * @return Root spans with equal or higher id.
+	 */
+	public Collection<AbstractSpan> getRootSpans(int limit, long minId, ResultComparator<AbstractSpan> resultComparator) {
+		IIndexQuery query = spanQueryFactory.getRootSpansQuery(null, null);
+		super.setMinId(query, minId);
+		if (null != resultComparator) {
+			return super.executeQuery(query, resultComparator, limit, false);
+		} else {
+			return super.executeQuery(query, DefaultDataComparatorEnum.TIMESTAMP, limit, false);
+		}
+	}
+
 	/**
 	 * Returns spans that belong to the given trace.
 	 *
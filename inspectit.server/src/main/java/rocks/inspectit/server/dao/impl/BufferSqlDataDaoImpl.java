@@ -48,6 +48,15 @@ public class BufferSqlDataDaoImpl extends AbstractBufferDataDao<SqlStatementData
 		return super.executeQuery(query, Aggregators.SQL_STATEMENT_DATA_AGGREGATOR, true);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, long minId) {
+		IIndexQuery query = sqlDataQueryFactory.getAggregatedSqlStatementsQuery(sqlStatementData, null, null);
+		return super.executeIncrementalQuery(query, minId, Aggregators.SQL_STATEMENT_DATA_AGGREGATOR, true);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,66 @@
+package rocks.inspectit.server.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import rocks.inspectit.server.dao.TextDataDao;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.cs.indexing.text.TextIndex;
+
+/**
+ * Provides the text search over the CMR internal in memory buffer by using the {@link TextIndex}.
+ *
+ * @author agent
+ *
+ */
+@Repository
+public class BufferTextDataDaoImpl implements TextDataDao {
+
+	/**
+	 * Comparator that sorts newest data first.
+	 */
+	private static final Comparator<DefaultData> NEWEST_FIRST_COMPARATOR = new Comparator<DefaultData>() {
+		@Override
+		public int compare(DefaultData o1, DefaultData o2) {
+			return o2.getTimeStamp().compareTo(o1.getTimeStamp());
+		}
+	};
+
+	/**
+	 * Text index of the buffer.
+	 */
+	@Autowired
+	TextIndex<DefaultData> textIndex;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<DefaultData> getDataObjectsContainingText(String text, Long platformId, int limit) {
+		List<DefaultData> data = textIndex.query(text);
+
+		List<DefaultData> result;
+		if (null != platformId) {
+			result = new ArrayList<>();
+			for (DefaultData defaultData : data) {
+				if (platformId.longValue() == defaultData.getPlatformIdent()) {
+					result.add(defaultData);
+				}
+			}
+		} else {
+			result = data;
+		}
+
+		Collections.sort(result, NEWEST_FIRST_COMPARATOR);
+		if ((limit > -1) && (result.size() > limit)) {
+			result = new ArrayList<>(result.subList(0, limit));
+		}
+		return result;
+	}
+
+}
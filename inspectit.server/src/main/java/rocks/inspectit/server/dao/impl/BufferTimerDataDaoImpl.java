@@ -46,4 +46,13 @@ public class BufferTimerDataDaoImpl extends AbstractBufferDataDao<TimerData> imp
 		IIndexQuery query = timerDataQueryFactory.getAggregatedTimerDataQuery(timerData, fromDate, toDate);
 		return super.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR, true);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<TimerData> getAggregatedTimerData(TimerData timerData, long minId) {
+		IIndexQuery query = timerDataQueryFactory.getAggregatedTimerDataQuery(timerData, null, null);
+		return super.executeIncrementalQuery(query, minId, Aggregators.TIMER_DATA_AGGREGATOR, true);
+	}
 }
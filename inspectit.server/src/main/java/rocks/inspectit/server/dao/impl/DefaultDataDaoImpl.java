@@ -1,6 +1,7 @@
 package rocks.inspectit.server.dao.impl;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -12,8 +13,10 @@ import javax.annotation.Resource;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
@@ -26,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import rocks.inspectit.server.dao.DefaultDataDao;
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.server.util.CacheIdGenerator;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpInfo;
@@ -33,6 +37,7 @@ import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 
 /**
  * The default implementation of the {@link DefaultDataDao} interface by using the Entity manager.
@@ -45,6 +50,11 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 @Repository
 public class DefaultDataDaoImpl implements DefaultDataDao {
 
+	/**
+	 * Amount of objects read at once when the query results are aggregated.
+	 */
+	private static final int AGGREGATION_PAGE_SIZE = 10000;
+
 	/** The logger of this class. */
 	@Log
 	Logger log;
@@ -57,6 +67,12 @@ public class DefaultDataDaoImpl implements DefaultDataDao {
 	// resource must be specified, otherwise all processor all plugged here
 	private List<AbstractCmrDataProcessor> cmrDataProcessors;
 
+	/**
+	 * {@link CacheIdGenerator} to mark the IDs assigned during the processing as pending.
+	 */
+	@Autowired
+	private CacheIdGenerator cacheIdGenerator;
+
 	/**
 	 * Entity manager.
 	 */
@@ -67,16 +83,22 @@ public class DefaultDataDaoImpl implements DefaultDataDao {
 	 * {@inheritDoc}
 	 * <p>
 	 * We must mark this as transactional cause it's running outside our services.
+	 * <p>
+	 * The IDs assigned to the data are pending until all processors are done, thus the queries
+	 * for the elements newer than some ID don't miss the data that is still processed.
 	 */
 	@Override
 	@Transactional
 	public void saveAll(List<? extends DefaultData> defaultDataCollection) {
+		long pendingId = cacheIdGenerator.markNextIdsPending();
 		try {
 			for (AbstractCmrDataProcessor processor : cmrDataProcessors) {
 				processor.process(defaultDataCollection, entityManager);
 			}
 		} catch (Exception e) {
 			log.error("Error occurred trying to process the CMR data processors on the incoming data.", e);
+		} finally {
+			cacheIdGenerator.unmarkPending(pendingId);
 		}
 	}
 
@@ -166,23 +188,55 @@ public class DefaultDataDaoImpl implements DefaultDataDao {
 		Root<? extends DefaultData> root = criteria.from(template.getClass());
 		criteria.select(root);
 
-		Predicate platformId = builder.equal(root.get("platformIdent"), template.getPlatformIdent());
-		Predicate sensorTypeId = builder.equal(root.get("sensorTypeIdent"), template.getSensorTypeIdent());
-		Predicate timestamp = builder.between(root.<Timestamp> get("timeStamp"), new Timestamp(fromDate.getTime()), new Timestamp(toDate.getTime()));
+		List<Predicate> predicates = getFromToDatePredicates(builder, root, template, fromDate, toDate);
+		criteria.where(predicates.toArray(new Predicate[predicates.size()]));
+
+		return entityManager.createQuery(criteria).getResultList();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <E extends DefaultData> void aggregateByExampleFromToDate(DefaultData template, Date fromDate, Date toDate, AggregationPerformer<E> aggregationPerformer) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<DefaultData> criteria = builder.createQuery(DefaultData.class);
+		Root<? extends DefaultData> root = criteria.from(template.getClass());
+		criteria.select(root);
+
+		List<Predicate> predicates = getFromToDatePredicates(builder, root, template, fromDate, toDate);
+		aggregateInPages(builder, criteria, root, predicates, aggregationPerformer);
+	}
+
+	/**
+	 * Returns the predicates for the data objects of the template in the given time range.
+	 *
+	 * @param builder
+	 *            Criteria builder.
+	 * @param root
+	 *            Query root.
+	 * @param template
+	 *            Template.
+	 * @param fromDate
+	 *            From date.
+	 * @param toDate
+	 *            To date.
+	 * @return List of predicates.
+	 */
+	private List<Predicate> getFromToDatePredicates(CriteriaBuilder builder, Root<? extends DefaultData> root, DefaultData template, Date fromDate, Date toDate) {
+		List<Predicate> predicates = new ArrayList<>();
+		predicates.add(builder.equal(root.get("platformIdent"), template.getPlatformIdent()));
+		predicates.add(builder.equal(root.get("sensorTypeIdent"), template.getSensorTypeIdent()));
+		predicates.add(builder.between(root.<Timestamp> get("timeStamp"), new Timestamp(fromDate.getTime()), new Timestamp(toDate.getTime())));
 
 		if (template instanceof MethodSensorData) {
 			MethodSensorData methodSensorData = (MethodSensorData) template;
-			Predicate methodId = builder.equal(root.get("methodIdent"), methodSensorData.getMethodIdent());
-			criteria.where(platformId, sensorTypeId, timestamp, methodId);
+			predicates.add(builder.equal(root.get("methodIdent"), methodSensorData.getMethodIdent()));
 		} else if (template instanceof JmxSensorValueData) {
 			JmxSensorValueData jmxSensorValueData = (JmxSensorValueData) template;
-			Predicate jmxSensorDefinitionDataId = builder.equal(root.get("jmxSensorDefinitionDataIdentId"), jmxSensorValueData.getJmxSensorDefinitionDataIdentId());
-			criteria.where(platformId, sensorTypeId, timestamp, jmxSensorDefinitionDataId);
-		} else {
-			criteria.where(platformId, sensorTypeId, timestamp);
+			predicates.add(builder.equal(root.get("jmxSensorDefinitionDataIdentId"), jmxSensorValueData.getJmxSensorDefinitionDataIdentId()));
 		}
-
-		return entityManager.createQuery(criteria).getResultList();
+		return predicates;
 	}
 
 	/**
@@ -229,30 +283,8 @@ public class DefaultDataDaoImpl implements DefaultDataDao {
 			CriteriaQuery<HttpTimerData> criteria = builder.createQuery(HttpTimerData.class);
 			Root<? extends HttpTimerData> root = criteria.from(HttpTimerData.class);
 
-			Predicate platformId = builder.equal(root.get("platformIdent"), templates.iterator().next().getPlatformIdent());
-			Predicate timestamp = builder.between(root.<Timestamp> get("timeStamp"), new Timestamp(fromDate.getTime()), new Timestamp(toDate.getTime()));
-			Predicate condition = null;
-
-			if (!retrieveByTag) {
-				Set<String> uris = new HashSet<>();
-				for (HttpTimerData httpTimerData : templates) {
-					if (!HttpInfo.UNDEFINED.equals(httpTimerData.getHttpInfo().getUri())) {
-						uris.add(httpTimerData.getHttpInfo().getUri());
-					}
-				}
-				condition = root.join("httpInfo").get("uri").in(uris);
-			} else {
-				Set<String> tags = new HashSet<>();
-
-				for (HttpTimerData httpTimerData : templates) {
-					if (httpTimerData.getHttpInfo().hasInspectItTaggingHeader()) {
-						tags.add(httpTimerData.getHttpInfo().getInspectItTaggingHeaderValue());
-					}
-				}
-				condition = root.join("httpInfo").get("inspectItTaggingHeaderValue").in(tags);
-			}
-
-			criteria.where(platformId, timestamp, condition);
+			List<Predicate> predicates = getChartingHttpTimerDataPredicates(builder, root, templates, fromDate, toDate, retrieveByTag);
+			criteria.where(predicates.toArray(new Predicate[predicates.size()]));
 
 			return entityManager.createQuery(criteria).getResultList();
 		} else {
@@ -260,6 +292,108 @@ public class DefaultDataDaoImpl implements DefaultDataDao {
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void aggregateChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag,
+			AggregationPerformer<HttpTimerData> aggregationPerformer) {
+		if (CollectionUtils.isNotEmpty(templates)) {
+			CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+			CriteriaQuery<HttpTimerData> criteria = builder.createQuery(HttpTimerData.class);
+			Root<? extends HttpTimerData> root = criteria.from(HttpTimerData.class);
+
+			List<Predicate> predicates = getChartingHttpTimerDataPredicates(builder, root, templates, fromDate, toDate, retrieveByTag);
+			aggregateInPages(builder, criteria, root, predicates, aggregationPerformer);
+		}
+	}
+
+	/**
+	 * Returns the predicates for the charting {@link HttpTimerData}. From the template list the
+	 * platform ident will be used as well as all URI and tagged values.
+	 *
+	 * @param builder
+	 *            Criteria builder.
+	 * @param root
+	 *            Query root.
+	 * @param templates
+	 *            Templates. Must not be empty.
+	 * @param fromDate
+	 *            From date.
+	 * @param toDate
+	 *            To date.
+	 * @param retrieveByTag
+	 *            If tag values from the templates should be used when retrieving the data. If false
+	 *            is passed, URi will be used from templates.
+	 * @return List of predicates.
+	 */
+	private List<Predicate> getChartingHttpTimerDataPredicates(CriteriaBuilder builder, Root<? extends HttpTimerData> root, Collection<HttpTimerData> templates, Date fromDate, Date toDate,
+			boolean retrieveByTag) {
+		List<Predicate> predicates = new ArrayList<>();
+		predicates.add(builder.equal(root.get("platformIdent"), templates.iterator().next().getPlatformIdent()));
+		predicates.add(builder.between(root.<Timestamp> get("timeStamp"), new Timestamp(fromDate.getTime()), new Timestamp(toDate.getTime())));
+
+		if (!retrieveByTag) {
+			Set<String> uris = new HashSet<>();
+			for (HttpTimerData httpTimerData : templates) {
+				if (!HttpInfo.UNDEFINED.equals(httpTimerData.getHttpInfo().getUri())) {
+					uris.add(httpTimerData.getHttpInfo().getUri());
+				}
+			}
+			predicates.add(root.join("httpInfo").get("uri").in(uris));
+		} else {
+			Set<String> tags = new HashSet<>();
+
+			for (HttpTimerData httpTimerData : templates) {
+				if (httpTimerData.getHttpInfo().hasInspectItTaggingHeader()) {
+					tags.add(httpTimerData.getHttpInfo().getInspectItTaggingHeaderValue());
+				}
+			}
+			predicates.add(root.join("httpInfo").get("inspectItTaggingHeaderValue").in(tags));
+		}
+		return predicates;
+	}
+
+	/**
+	 * Reads the results of the query ordered by id in pages of {@link #AGGREGATION_PAGE_SIZE} and
+	 * passes them to the aggregation performer. Each page continues after the last id of the
+	 * previous one and the read objects are detached, so that the raw data of the complete query
+	 * is never held in memory.
+	 *
+	 * @param <E>
+	 *            Type of data the performer aggregates.
+	 * @param builder
+	 *            Criteria builder.
+	 * @param criteria
+	 *            Criteria query with the root selected.
+	 * @param root
+	 *            Query root.
+	 * @param predicates
+	 *            Predicates of the query.
+	 * @param aggregationPerformer
+	 *            Performer to pass the results to.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E extends DefaultData> void aggregateInPages(CriteriaBuilder builder, CriteriaQuery<? extends DefaultData> criteria, Root<? extends DefaultData> root, List<Predicate> predicates,
+			AggregationPerformer<E> aggregationPerformer) {
+		ParameterExpression<Long> lastId = builder.parameter(Long.class);
+		predicates.add(builder.greaterThan(root.<Long> get("id"), lastId));
+		criteria.where(predicates.toArray(new Predicate[predicates.size()]));
+		criteria.orderBy(builder.asc(root.get("id")));
+
+		TypedQuery<? extends DefaultData> query = entityManager.createQuery(criteria).setMaxResults(AGGREGATION_PAGE_SIZE);
+		long lastIdValue = Long.MIN_VALUE;
+		List<? extends DefaultData> page;
+		do {
+			page = query.setParameter(lastId, lastIdValue).getResultList();
+			for (DefaultData defaultData : page) {
+				aggregationPerformer.processElement((E) defaultData);
+				entityManager.detach(defaultData);
+				lastIdValue = defaultData.getId();
+			}
+		} while (page.size() == AGGREGATION_PAGE_SIZE);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -4,9 +4,11 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.indexing.impl.RootBranchFactory.RootBranch;
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferBranchIndexer;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
@@ -16,6 +18,7 @@ import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.ObjectTypeIndexer;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.PlatformIdentIndexer;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.TimestampIndexer;
+import rocks.inspectit.shared.cs.indexing.text.TextIndex;
 
 /**
  * Factory that creates the root branch for indexing tree. This root branch will be injected in
@@ -27,6 +30,12 @@ import rocks.inspectit.shared.cs.indexing.indexer.impl.TimestampIndexer;
 @Component
 public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 
+	/**
+	 * Text index to maintain together with the indexing tree.
+	 */
+	@Autowired
+	TextIndex<DefaultData> textIndex;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -35,7 +44,7 @@ public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 		BufferBranchIndexer<DefaultData> timestampIndexer = new BufferBranchIndexer<>(new TimestampIndexer<>());
 		BufferBranchIndexer<DefaultData> objectTypeIndexer = new BufferBranchIndexer<>(new ObjectTypeIndexer<>(), timestampIndexer);
 		BufferBranchIndexer<DefaultData> platformIndexer = new BufferBranchIndexer<>(new PlatformIdentIndexer<>(), objectTypeIndexer);
-		return new RootBranch<>(platformIndexer);
+		return new RootBranch<>(platformIndexer, textIndex);
 	}
 
 	/**
@@ -54,9 +63,20 @@ public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 		return true;
 	}
 
+	/**
+	 * Sets {@link #textIndex}.
+	 *
+	 * @param textIndex
+	 *            New value for {@link #textIndex}
+	 */
+	public void setTextIndex(TextIndex<DefaultData> textIndex) {
+		this.textIndex = textIndex;
+	}
+
 	/**
 	 * Root branch. It has additional functionality of generating IDs for the elements that need to
-	 * be put into the indexing tree.
+	 * be put into the indexing tree. The root branch also maintains the {@link TextIndex}, so that
+	 * the texts of all elements in the indexing tree can be searched.
 	 *
 	 * @author Ivan Senic
 	 *
@@ -79,14 +99,22 @@ public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 		 */
 		private Future<?> clearEmptyComponentsFuture;
 
+		/**
+		 * Text index maintained together with the tree.
+		 */
+		private final TextIndex<E> textIndex;
+
 		/**
 		 * Default constructor.
 		 *
 		 * @param branchIndexer
 		 *            Branch indexer for root branch.
+		 * @param textIndex
+		 *            Text index to put the elements to.
 		 */
-		public RootBranch(IBufferBranchIndexer<E> branchIndexer) {
+		public RootBranch(IBufferBranchIndexer<E> branchIndexer, TextIndex<E> textIndex) {
 			super(branchIndexer);
+			this.textIndex = textIndex;
 		}
 
 		/**
@@ -99,7 +127,9 @@ public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 			if (null == element) {
 				throw new IndexingException("Null object can not be indexed.");
 			}
-			return super.put(element);
+			E result = super.put(element);
+			textIndex.put(element);
+			return result;
 		}
 
 		/**
@@ -112,6 +142,26 @@ public class RootBranchFactory implements FactoryBean<RootBranch<DefaultData>> {
 				// Submit runnable only if the future is signaling that the last one was done.
 				clearEmptyComponentsFuture = executorService.submit(clearEmptyComponentsRunnable);
 			}
+			textIndex.cleanWithRunnable(executorService);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clearAll() {
+			super.clearAll();
+			textIndex.clearAll();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Includes the size of the text index.
+		 */
+		@Override
+		public long getComponentSize(IObjectSizes objectSizes) {
+			return super.getComponentSize(objectSizes) + textIndex.getComponentSize(objectSizes);
 		}
 
 	}
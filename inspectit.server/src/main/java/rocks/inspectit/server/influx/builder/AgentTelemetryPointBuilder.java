@@ -0,0 +1,117 @@
+package rocks.inspectit.server.influx.builder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.influxdb.dto.Point;
+import org.influxdb.dto.Point.Builder;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.influx.constants.Series;
+import rocks.inspectit.shared.all.cmr.model.SensorTypeIdent;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
+
+/**
+ * Point builder for the {@link AgentTelemetryData}. Next to the point with the agent metrics, one
+ * point with the hook times is created for each method sensor type.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class AgentTelemetryPointBuilder extends SinglePointBuilder<AgentTelemetryData> {
+
+	/**
+	 * Nanoseconds in one millisecond.
+	 */
+	private static final double NANOS_IN_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/**
+	 * Microseconds in one millisecond.
+	 */
+	private static final double MICROS_IN_MILLI = TimeUnit.MILLISECONDS.toMicros(1);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<Class<AgentTelemetryData>> getDataClasses() {
+		return Collections.singleton(AgentTelemetryData.class);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String getSeriesName() {
+		return Series.AgentTelemetry.NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void addFields(AgentTelemetryData data, Builder builder) {
+		double avgRingBufferOccupancy = 0;
+		if (data.getRingBufferOccupancySamples() > 0) {
+			avgRingBufferOccupancy = data.getTotalRingBufferOccupancy() / (double) data.getRingBufferOccupancySamples();
+		}
+		double avgEnqueueTime = 0;
+		if (data.getSendCount() > 0) {
+			avgEnqueueTime = (data.getTotalEnqueueNanos() / (double) data.getSendCount()) / NANOS_IN_MILLI;
+		}
+		double p99EnqueueTime = AgentTelemetryData.getHistogramPercentile(data.getEnqueueTimeHistogram(), 0.99d) / MICROS_IN_MILLI;
+		long p99BatchSize = AgentTelemetryData.getHistogramPercentile(data.getBatchSizeHistogram(), 0.99d);
+
+		// fields
+		builder.addField(Series.AgentTelemetry.FIELD_RING_BUFFER_SIZE, data.getRingBufferSize());
+		builder.addField(Series.AgentTelemetry.FIELD_AVG_RING_BUFFER_OCCUPANCY, avgRingBufferOccupancy);
+		builder.addField(Series.AgentTelemetry.FIELD_MAX_RING_BUFFER_OCCUPANCY, data.getMaxRingBufferOccupancy());
+		builder.addField(Series.AgentTelemetry.FIELD_RING_BUFFER_FULL_COUNT, data.getRingBufferFullCount());
+		builder.addField(Series.AgentTelemetry.FIELD_SEND_COUNT, data.getSendCount());
+		builder.addField(Series.AgentTelemetry.FIELD_SENT_OBJECT_COUNT, data.getSentObjectCount());
+		builder.addField(Series.AgentTelemetry.FIELD_BYTES_SENT, data.getBytesSent());
+		builder.addField(Series.AgentTelemetry.FIELD_AVG_ENQUEUE_TIME, avgEnqueueTime);
+		builder.addField(Series.AgentTelemetry.FIELD_P99_ENQUEUE_TIME, p99EnqueueTime);
+		builder.addField(Series.AgentTelemetry.FIELD_P99_BATCH_SIZE, p99BatchSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Adds one builder with the hook times for each method sensor type that has measured hook
+	 * executions.
+	 */
+	@Override
+	public Collection<Builder> createBuilders(AgentTelemetryData data) {
+		long[] sensorTypeIdents = data.getHookSensorTypeIdents();
+		List<Builder> builders = new ArrayList<>(sensorTypeIdents.length + 1);
+		builders.addAll(super.createBuilders(data));
+
+		for (int i = 0; i < sensorTypeIdents.length; i++) {
+			long sampledCalls = data.getHookSampledCalls()[i];
+			if (0 == sampledCalls) {
+				continue;
+			}
+			double sampledMillis = data.getHookSampledNanos()[i] / NANOS_IN_MILLI;
+
+			Builder builder = Point.measurement(Series.AgentHookTime.NAME);
+			builder.time(data.getTimeStamp().getTime(), TimeUnit.MILLISECONDS);
+			super.addTags(data, builder);
+			SensorTypeIdent sensorTypeIdent = cachedDataService.getSensorTypeIdentForId(sensorTypeIdents[i]);
+			if (null != sensorTypeIdent) {
+				builder.tag(Series.AgentHookTime.TAG_SENSOR_TYPE, sensorTypeIdent.getFullyQualifiedClassName());
+			}
+
+			builder.addField(Series.AgentHookTime.FIELD_SAMPLED_CALLS, sampledCalls);
+			builder.addField(Series.AgentHookTime.FIELD_AVG_DURATION, sampledMillis / sampledCalls);
+			builder.addField(Series.AgentHookTime.FIELD_ESTIMATED_TOTAL_DURATION, sampledMillis * data.getHookSamplingInterval());
+			builders.add(builder);
+		}
+		return builders;
+	}
+
+}
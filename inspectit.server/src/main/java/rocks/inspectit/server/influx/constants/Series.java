@@ -526,6 +526,107 @@ public interface Series {
 
 	}
 
+	/**
+	 * Series for the {@link rocks.inspectit.shared.all.communication.data.AgentTelemetryData}.
+	 *
+	 * @author agent
+	 *
+	 */
+	interface AgentTelemetry extends Series {
+
+		/**
+		 * Series name.
+		 */
+		String NAME = "agentTelemetry";
+
+		/**
+		 * Ring buffer size field.
+		 */
+		String FIELD_RING_BUFFER_SIZE = "ringBufferSize";
+
+		/**
+		 * Average ring buffer occupancy field.
+		 */
+		String FIELD_AVG_RING_BUFFER_OCCUPANCY = "avgRingBufferOccupancy";
+
+		/**
+		 * Max ring buffer occupancy field.
+		 */
+		String FIELD_MAX_RING_BUFFER_OCCUPANCY = "maxRingBufferOccupancy";
+
+		/**
+		 * Ring buffer full count field.
+		 */
+		String FIELD_RING_BUFFER_FULL_COUNT = "ringBufferFullCount";
+
+		/**
+		 * Send count field.
+		 */
+		String FIELD_SEND_COUNT = "sendCount";
+
+		/**
+		 * Sent objects count field.
+		 */
+		String FIELD_SENT_OBJECT_COUNT = "sentObjectCount";
+
+		/**
+		 * Bytes sent field.
+		 */
+		String FIELD_BYTES_SENT = "bytesSent";
+
+		/**
+		 * Average time to serialize and enqueue a sent batch in milliseconds field.
+		 */
+		String FIELD_AVG_ENQUEUE_TIME = "avgEnqueueTime";
+
+		/**
+		 * 99th percentile of the time to serialize and enqueue a sent batch in milliseconds field.
+		 */
+		String FIELD_P99_ENQUEUE_TIME = "p99EnqueueTime";
+
+		/**
+		 * 99th percentile of the batch size field.
+		 */
+		String FIELD_P99_BATCH_SIZE = "p99BatchSize";
+
+	}
+
+	/**
+	 * Series for the hook times of the
+	 * {@link rocks.inspectit.shared.all.communication.data.AgentTelemetryData}.
+	 *
+	 * @author agent
+	 *
+	 */
+	interface AgentHookTime extends Series {
+
+		/**
+		 * Series name.
+		 */
+		String NAME = "agentHookTime";
+
+		/**
+		 * Sampled hook executions count field.
+		 */
+		String FIELD_SAMPLED_CALLS = "sampledCalls";
+
+		/**
+		 * Average hook duration in milliseconds field.
+		 */
+		String FIELD_AVG_DURATION = "avgDuration";
+
+		/**
+		 * Estimated total hook duration in milliseconds field.
+		 */
+		String FIELD_ESTIMATED_TOTAL_DURATION = "estimatedTotalDuration";
+
+		/**
+		 * Sensor type tag.
+		 */
+		String TAG_SENSOR_TYPE = "sensorType";
+
+	}
+
 	/**
 	 * Common Fields and Tags for all EUM series.
 	 *
@@ -23,6 +23,7 @@ import rocks.inspectit.server.externalservice.IExternalService;
 import rocks.inspectit.server.influx.InfluxAvailabilityChecker;
 import rocks.inspectit.server.influx.InfluxAvailabilityChecker.InfluxAvailabilityListener;
 import rocks.inspectit.server.influx.util.InfluxClientFactory;
+import rocks.inspectit.server.tsdb.TimeSeriesStore;
 import rocks.inspectit.shared.all.cmr.property.spring.PropertyUpdate;
 import rocks.inspectit.shared.all.externalservice.ExternalServiceStatus;
 import rocks.inspectit.shared.all.externalservice.ExternalServiceType;
@@ -30,7 +31,9 @@ import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.all.util.ExecutorServiceUtils;
 
 /**
- * This DAO encapsulates the HTTP connection to a influx database.
+ * This DAO encapsulates the HTTP connection to a influx database. When the influxDB is not
+ * activated, points and queries are passed to the embedded {@link TimeSeriesStore} if it is
+ * active.
  *
  * @author Alexander Wert
  * @author Marius Oehler
@@ -117,6 +120,12 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 	@Autowired
 	private InfluxAvailabilityChecker availabilityChecker;
 
+	/**
+	 * Embedded store used when the influxDB is not activated.
+	 */
+	@Autowired
+	private TimeSeriesStore timeSeriesStore;
+
 	/**
 	 * Inserts the given {@link Point} into the database.
 	 *
@@ -124,7 +133,16 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 	 *            {@link Point} to insert
 	 */
 	public void insert(Point dataPoint) {
-		if ((dataPoint == null) || !isConnected()) {
+		if (dataPoint == null) {
+			return;
+		}
+
+		if (isEmbeddedStoreUsed()) {
+			timeSeriesStore.insert(dataPoint);
+			return;
+		}
+
+		if (!isConnected()) {
 			return;
 		}
 
@@ -143,7 +161,18 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 	 * @return the result of this query
 	 */
 	public QueryResult query(String query) {
-		if ((query == null) || !isConnected()) {
+		if (query == null) {
+			return null;
+		}
+
+		if (isEmbeddedStoreUsed()) {
+			if (log.isDebugEnabled()) {
+				log.debug("Execute query on embedded time-series store: {}", query);
+			}
+			return timeSeriesStore.query(query);
+		}
+
+		if (!isConnected()) {
 			return null;
 		}
 
@@ -163,6 +192,26 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 		return getServiceStatus() == ExternalServiceStatus.CONNECTED;
 	}
 
+	/**
+	 * Indicates whether points can be inserted and queried, which is the case when the influxDB
+	 * service is connected or the embedded time-series store is used instead.
+	 *
+	 * @return true, if points can be inserted and queried
+	 */
+	public boolean isAvailable() {
+		return isConnected() || isEmbeddedStoreUsed();
+	}
+
+	/**
+	 * Indicates whether the embedded time-series store is used, which is the case when influxDB
+	 * is not activated and the store is active.
+	 *
+	 * @return true, if embedded store is used
+	 */
+	public boolean isEmbeddedStoreUsed() {
+		return !active && (null != timeSeriesStore) && timeSeriesStore.isActive();
+	}
+
 	/**
 	 * Connects to the InfluxDB if the feature has been enabled.
 	 */
@@ -231,7 +280,7 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 		}
 		enableBatching();
 
-		connected = isAvailable();
+		connected = isReachable();
 
 		if (connected) {
 			if (log.isInfoEnabled()) {
@@ -273,7 +322,7 @@ public class InfluxDBDao implements InfluxAvailabilityListener, IExternalService
 	 *
 	 * @return Returns true if the influxDB is available.
 	 */
-	private boolean isAvailable() {
+	private boolean isReachable() {
 		try {
 			influxDB.ping();
 			return true;
@@ -7,9 +7,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.ObjectFactory;
@@ -17,16 +20,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import rocks.inspectit.server.dao.PlatformIdentDao;
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.event.AgentRegisteredEvent;
 import rocks.inspectit.server.instrumentation.classcache.ClassCache;
 import rocks.inspectit.server.instrumentation.classcache.ClassCacheModificationException;
+import rocks.inspectit.server.instrumentation.classcache.ClassCacheSnapshotManager;
 import rocks.inspectit.server.instrumentation.config.AgentCacheEntry;
 import rocks.inspectit.server.instrumentation.config.ConfigurationHolder;
 import rocks.inspectit.server.instrumentation.config.ConfigurationResolver;
 import rocks.inspectit.server.instrumentation.config.applier.JmxMonitoringApplier;
+import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.enumeration.AgentManagementErrorCodeEnum;
 import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableClassType;
@@ -49,6 +56,11 @@ import rocks.inspectit.shared.cs.cmr.service.IRegistrationService;
 @Component
 public class NextGenInstrumentationManager implements ApplicationListener<AgentDeletedEvent> {
 
+	/**
+	 * Rate in milliseconds for saving the snapshots of the changed class caches.
+	 */
+	private static final long SNAPSHOT_RATE = 300000;
+
 	/**
 	 * Logger for the class.
 	 */
@@ -67,12 +79,24 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 	@Autowired
 	private ObjectFactory<ConfigurationHolder> configurationHolderFactory;
 
+	/**
+	 * Manager for saving and restoring the class cache snapshots.
+	 */
+	@Autowired
+	private ClassCacheSnapshotManager snapshotManager;
+
 	/**
 	 * Registration service.
 	 */
 	@Autowired
 	private IRegistrationService registrationService;
 
+	/**
+	 * Platform ident DAO for resolving the agents when restoring class caches.
+	 */
+	@Autowired
+	private PlatformIdentDao platformIdentDao;
+
 	/**
 	 * Configuration resolver.
 	 */
@@ -97,6 +121,17 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 	 */
 	private final ConcurrentHashMap<Long, AgentCacheEntry> agentCacheMap = new ConcurrentHashMap<>();
 
+	/**
+	 * Locks for restoring the agent cache entries from the snapshots, one per agent. Restoring
+	 * reads and instruments the whole class cache, thus the agents are restored independently.
+	 */
+	private final ConcurrentHashMap<Long, Object> restoreLocks = new ConcurrentHashMap<>();
+
+	/**
+	 * Ids of the agents which class cache changed since the last snapshot.
+	 */
+	private final Set<Long> changedClassCaches = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -107,8 +142,14 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 		// if environment load is success register agent
 		final long id = registrationService.registerPlatformIdent(definedIPs, agentName, version);
 
-		// get or create the agent cache entry
-		AgentCacheEntry agentCacheEntry = getAgentCacheEntry(id);
+		// get, restore from the snapshot or create the agent cache entry
+		AgentCacheEntry agentCacheEntry = agentCacheMap.get(Long.valueOf(id));
+		if (null == agentCacheEntry) {
+			agentCacheEntry = restoreAgentCacheEntry(id, environment);
+		}
+		if (null == agentCacheEntry) {
+			agentCacheEntry = getAgentCacheEntry(id);
+		}
 		ClassCache classCache = agentCacheEntry.getClassCache();
 		ConfigurationHolder configurationHolder = agentCacheEntry.getConfigurationHolder();
 
@@ -151,7 +192,7 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 	 * {@inheritDoc}
 	 */
 	public InstrumentationDefinition analyze(long platformIdent, String hash, Type sentType) throws BusinessException {
-		AgentCacheEntry agentCacheEntry = agentCacheMap.get(Long.valueOf(platformIdent));
+		AgentCacheEntry agentCacheEntry = getOrRestoreAgentCacheEntry(platformIdent);
 		if (null == agentCacheEntry) {
 			throw new BusinessException("Instrumenting class with hash '" + hash + "' for the agent with id=" + platformIdent, AgentManagementErrorCodeEnum.AGENT_DOES_NOT_EXIST);
 		}
@@ -162,6 +203,7 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 		if (null == type) {
 			try {
 				classCache.getModificationService().merge(sentType);
+				changedClassCaches.add(Long.valueOf(platformIdent));
 
 				// get real object after merging
 				type = classCache.getLookupService().findByHash(hash);
@@ -186,7 +228,7 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 			return null;
 		}
 
-		return classCache.getInstrumentationService().addAndGetInstrumentationResult(classType, configurationHolder.getAgentConfiguration(), configurationHolder.getInstrumentationAppliers());
+		return classCache.getInstrumentationService().addAndGetInstrumentationResult(classType, configurationHolder.getAgentConfiguration(), configurationHolder.getInstrumentationApplierIndex());
 	}
 
 	/**
@@ -228,7 +270,7 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 	 *             If agent with given ID does not exist.
 	 */
 	public Collection<JmxAttributeDescriptor> analyzeJmxAttributes(long platformIdent, Collection<JmxAttributeDescriptor> attributeDescriptors) throws BusinessException {
-		AgentCacheEntry agentCacheEntry = agentCacheMap.get(Long.valueOf(platformIdent));
+		AgentCacheEntry agentCacheEntry = getOrRestoreAgentCacheEntry(platformIdent);
 		if (null == agentCacheEntry) {
 			throw new BusinessException("Analyzing the JMX attributes for the agent with id=" + platformIdent, AgentManagementErrorCodeEnum.AGENT_DOES_NOT_EXIST);
 		}
@@ -270,6 +312,125 @@ public class NextGenInstrumentationManager implements ApplicationListener<AgentD
 	@Override
 	public void onApplicationEvent(AgentDeletedEvent event) {
 		agentCacheMap.remove(event.getPlatformId());
+		restoreLocks.remove(event.getPlatformId());
+		changedClassCaches.remove(event.getPlatformId());
+		snapshotManager.delete(event.getPlatformId());
+	}
+
+	/**
+	 * Saves the snapshots of the class caches that changed since the last snapshot.
+	 * <p>
+	 * This method is called from a Spring configured job.
+	 */
+	@Scheduled(fixedRate = SNAPSHOT_RATE)
+	public void saveClassCacheSnapshots() {
+		for (Long platformIdent : changedClassCaches) {
+			changedClassCaches.remove(platformIdent);
+			AgentCacheEntry agentCacheEntry = agentCacheMap.get(platformIdent);
+			if (null != agentCacheEntry) {
+				snapshotManager.save(platformIdent.longValue(), agentCacheEntry.getClassCache());
+			}
+		}
+	}
+
+	/**
+	 * Saves the snapshots of the changed class caches on shutdown.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		saveClassCacheSnapshots();
+	}
+
+	/**
+	 * Returns agent cache entry for the agent if one exists or can be restored from the class
+	 * cache snapshot. This allows agents that were connected before the CMR restart to continue
+	 * without the registration.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @return {@link AgentCacheEntry} or <code>null</code> if one does not exist and can not be
+	 *         restored.
+	 */
+	private AgentCacheEntry getOrRestoreAgentCacheEntry(long platformIdent) {
+		AgentCacheEntry agentCacheEntry = agentCacheMap.get(Long.valueOf(platformIdent));
+		if (null == agentCacheEntry) {
+			agentCacheEntry = restoreAgentCacheEntry(platformIdent, null);
+		}
+		return agentCacheEntry;
+	}
+
+	/**
+	 * Restores the agent cache entry from the class cache snapshot. The restored class cache is
+	 * instrumented with the configuration of the given environment, so that the agent gets the
+	 * instrumentation results without sending the classes again.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @param environment
+	 *            Environment of the agent. If <code>null</code> is passed the environment is
+	 *            resolved from the persisted agent information.
+	 * @return Restored {@link AgentCacheEntry} or <code>null</code> if snapshot does not exist or
+	 *         can not be restored.
+	 */
+	private AgentCacheEntry restoreAgentCacheEntry(long platformIdent, Environment environment) {
+		Object restoreLock = restoreLocks.computeIfAbsent(Long.valueOf(platformIdent), k -> new Object());
+		synchronized (restoreLock) {
+			return restoreAgentCacheEntryLocked(platformIdent, environment);
+		}
+	}
+
+	/**
+	 * Restores the agent cache entry from the class cache snapshot. Must be called holding the
+	 * restore lock of the agent.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @param environment
+	 *            Environment of the agent. If <code>null</code> is passed the environment is
+	 *            resolved from the persisted agent information.
+	 * @return Restored {@link AgentCacheEntry} or <code>null</code> if snapshot does not exist or
+	 *         can not be restored.
+	 * @see #restoreAgentCacheEntry(long, Environment)
+	 */
+	private AgentCacheEntry restoreAgentCacheEntryLocked(long platformIdent, Environment environment) {
+		AgentCacheEntry agentCacheEntry = agentCacheMap.get(Long.valueOf(platformIdent));
+		if (null != agentCacheEntry) {
+			return agentCacheEntry;
+		}
+
+		if (!snapshotManager.hasSnapshot(platformIdent)) {
+			return null;
+		}
+
+		Environment agentEnvironment = environment;
+		if (null == agentEnvironment) {
+			PlatformIdent platformIdentObject = platformIdentDao.load(Long.valueOf(platformIdent));
+			if (null == platformIdentObject) {
+				return null;
+			}
+			try {
+				agentEnvironment = configurationResolver.getEnvironmentForAgent(platformIdentObject.getDefinedIPs(), platformIdentObject.getAgentName());
+			} catch (BusinessException e) {
+				log.warn("Class cache of the agent with id=" + platformIdent + " can not be restored as the environment can not be resolved.", e);
+				return null;
+			}
+		}
+
+		ClassCache classCache = classCacheFactory.getObject();
+		if (!snapshotManager.restore(platformIdent, classCache)) {
+			return null;
+		}
+
+		ConfigurationHolder configurationHolder = configurationHolderFactory.getObject();
+		configurationHolder.update(agentEnvironment, platformIdent);
+		classCache.getInstrumentationService().addInstrumentationPoints(configurationHolder.getAgentConfiguration(), configurationHolder.getInstrumentationAppliers());
+
+		agentCacheEntry = new AgentCacheEntry(platformIdent, classCache, configurationHolder);
+		AgentCacheEntry existing = agentCacheMap.putIfAbsent(Long.valueOf(platformIdent), agentCacheEntry);
+		if (null != existing) {
+			agentCacheEntry = existing;
+		}
+		return agentCacheEntry;
 	}
 
 	/**
@@ -17,6 +17,7 @@ import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.instrumentation.config.ClassCacheSearchNarrower;
 import rocks.inspectit.server.instrumentation.config.applier.IInstrumentationApplier;
+import rocks.inspectit.server.instrumentation.config.applier.InstrumentationApplierIndex;
 import rocks.inspectit.server.instrumentation.config.applier.RemoveAllInstrumentationApplier;
 import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
 import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableClassType;
@@ -81,7 +82,26 @@ public class ClassCacheInstrumentation {
 	 * @return {@link InstrumentationDefinition} if the class has been instrumented, otherwise
 	 *         <code>null</code>.
 	 */
-	public InstrumentationDefinition addAndGetInstrumentationResult(final ImmutableClassType type, final AgentConfig agentConfiguration, final Collection<IInstrumentationApplier> appliers) {
+	public InstrumentationDefinition addAndGetInstrumentationResult(ImmutableClassType type, AgentConfig agentConfiguration, Collection<IInstrumentationApplier> appliers) {
+		return addAndGetInstrumentationResult(type, agentConfiguration, new InstrumentationApplierIndex(appliers));
+	}
+
+	/**
+	 * Directly adds instrumentation points the given {@link ImmutableClassType} and return
+	 * instrumentation result if process added instrumentation points. Otherwise this method returns
+	 * <code>null</code> and this means that type has no instrumentation. Only the candidate
+	 * appliers returned by the given index are processed.
+	 *
+	 * @param type
+	 *            {@link ImmutableClassType} to check.
+	 * @param agentConfiguration
+	 *            configuration to use
+	 * @param applierIndex
+	 *            {@link InstrumentationApplierIndex} to get the appliers to process type against.
+	 * @return {@link InstrumentationDefinition} if the class has been instrumented, otherwise
+	 *         <code>null</code>.
+	 */
+	public InstrumentationDefinition addAndGetInstrumentationResult(final ImmutableClassType type, final AgentConfig agentConfiguration, final InstrumentationApplierIndex applierIndex) {
 		if (!type.isInitialized()) {
 			return null;
 		}
@@ -93,7 +113,7 @@ public class ClassCacheInstrumentation {
 					ClassType classType = (ClassType) type;
 					boolean added = false;
 
-					for (IInstrumentationApplier applier : appliers) {
+					for (IInstrumentationApplier applier : applierIndex.getCandidates(classType)) {
 						added |= applier.addInstrumentationPoints(agentConfiguration, classType);
 					}
 
@@ -219,6 +239,7 @@ public class ClassCacheInstrumentation {
 	 */
 	public Collection<? extends ImmutableClassType> addInstrumentationPoints(AgentConfig agentConfiguration, Collection<IInstrumentationApplier> appliers) {
 		Collection<ImmutableClassType> results = new ArrayList<>(0);
+		InstrumentationApplierIndex applierIndex = new InstrumentationApplierIndex(appliers);
 
 		for (IInstrumentationApplier applier : appliers) {
 			AbstractClassSensorAssignment<?> assignment = applier.getSensorAssignment();
@@ -229,7 +250,7 @@ public class ClassCacheInstrumentation {
 				types = classCache.getLookupService().findAll();
 			}
 
-			Collection<? extends ImmutableClassType> instrumented = addInstrumentationPoints(types, agentConfiguration, appliers);
+			Collection<? extends ImmutableClassType> instrumented = addInstrumentationPoints(types, agentConfiguration, applierIndex);
 			if (CollectionUtils.isNotEmpty(instrumented)) {
 				results.addAll(instrumented);
 			}
@@ -251,8 +272,26 @@ public class ClassCacheInstrumentation {
 	 * @return Returns collection of class types to which the instrumentation points have been
 	 *         added.
 	 */
+	public Collection<? extends ImmutableClassType> addInstrumentationPoints(Collection<? extends ImmutableType> types, AgentConfig agentConfiguration, Collection<IInstrumentationApplier> appliers) {
+		return addInstrumentationPoints(types, agentConfiguration, new InstrumentationApplierIndex(appliers));
+	}
+
+	/**
+	 * Processes given types in the class cache in order to add instrumentation points.
+	 * Instrumentation points added will be created based on the candidate
+	 * {@link IInstrumentationApplier}s returned by the given index.
+	 *
+	 * @param types
+	 *            to add instrumentation points based on given configuration and environment.
+	 * @param agentConfiguration
+	 *            configuration to use
+	 * @param applierIndex
+	 *            {@link InstrumentationApplierIndex} to get the appliers to process types against.
+	 * @return Returns collection of class types to which the instrumentation points have been
+	 *         added.
+	 */
 	public Collection<? extends ImmutableClassType> addInstrumentationPoints(final Collection<? extends ImmutableType> types, final AgentConfig agentConfiguration,
-			final Collection<IInstrumentationApplier> appliers) {
+			final InstrumentationApplierIndex applierIndex) {
 		if (CollectionUtils.isEmpty(types)) {
 			return Collections.emptyList();
 		}
@@ -268,7 +307,7 @@ public class ClassCacheInstrumentation {
 							ClassType classType = (ClassType) type.castToClass();
 							boolean added = false;
 
-							for (IInstrumentationApplier applier : appliers) {
+							for (IInstrumentationApplier applier : applierIndex.getCandidates(classType)) {
 								added |= applier.addInstrumentationPoints(agentConfiguration, classType);
 							}
 
@@ -0,0 +1,400 @@
+package rocks.inspectit.server.instrumentation.classcache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.instrumentation.classcache.AnnotationType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableType;
+import rocks.inspectit.shared.all.instrumentation.classcache.InterfaceType;
+import rocks.inspectit.shared.all.instrumentation.classcache.MethodType;
+import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.instrumentation.classcache.TypeWithMethods;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Manager that saves the content of the agent {@link ClassCache}s to the disk and restores it, so
+ * that the class caches survive the restart of the CMR.
+ * <p>
+ * The snapshot holds every initialized type of the class cache in the same shape as the agent
+ * sends it: the type with its hashes, modifiers, annotations and methods, while the referred types
+ * (super-classes, interfaces, exceptions, annotations) are written only by their FQN. Restoring
+ * is thus done by merging the read types to the class cache, which rebuilds all references and
+ * indexes exactly as during the normal analysis. The snapshot is written with the variable length
+ * encoding and compressed.
+ * <p>
+ * Instrumentation results are not part of the snapshot as they depend on the environment of the
+ * agent, they are recreated against the current configuration after restoring.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class ClassCacheSnapshotManager {
+
+	/**
+	 * Version of the snapshot format. Snapshots with different version are ignored.
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * Extension of the snapshot files.
+	 */
+	private static final String SNAPSHOT_EXTENSION = ".classcache";
+
+	/**
+	 * Kind marker for the {@link ClassType}.
+	 */
+	private static final byte KIND_CLASS = 0;
+
+	/**
+	 * Kind marker for the {@link InterfaceType}.
+	 */
+	private static final byte KIND_INTERFACE = 1;
+
+	/**
+	 * Kind marker for the {@link AnnotationType}.
+	 */
+	private static final byte KIND_ANNOTATION = 2;
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Folder where snapshots are saved.
+	 */
+	@Value("${cmr.classCacheSnapshotFolder}")
+	String snapshotFolder;
+
+	/**
+	 * Returns if the snapshot for the given agent exists.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @return Returns if the snapshot for the given agent exists.
+	 */
+	public boolean hasSnapshot(long platformIdent) {
+		return Files.exists(getSnapshotPath(platformIdent));
+	}
+
+	/**
+	 * Saves the snapshot of the given class cache for the agent. Snapshot is first created in
+	 * memory under the class cache read lock and then written to a temporary file that replaces
+	 * the existing snapshot, thus the existing snapshot is never left half written.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @param classCache
+	 *            Class cache to save.
+	 */
+	public void save(long platformIdent, final ClassCache classCache) {
+		try {
+			byte[] snapshot = classCache.executeWithReadLock(new Callable<byte[]>() {
+				@Override
+				public byte[] call() throws Exception {
+					return writeSnapshot(classCache.getLookupService().findAll());
+				}
+			});
+
+			Path path = getSnapshotPath(platformIdent);
+			Files.createDirectories(path.getParent());
+			Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+			Files.write(tmpPath, snapshot);
+			Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Exception e) {
+			log.warn("Unable to save the class cache snapshot for the agent with id=" + platformIdent + ".", e);
+		}
+	}
+
+	/**
+	 * Restores the snapshot of the agent to the given class cache.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @param classCache
+	 *            Class cache to merge the types to. Should be empty.
+	 * @return <code>true</code> if snapshot existed and was restored, <code>false</code> otherwise.
+	 */
+	public boolean restore(long platformIdent, ClassCache classCache) {
+		Path path = getSnapshotPath(platformIdent);
+		if (!Files.exists(path)) {
+			return false;
+		}
+
+		try (InputStream inputStream = new GZIPInputStream(Files.newInputStream(path))) {
+			List<Type> types = readSnapshot(new Input(inputStream));
+			if (null == types) {
+				log.info("Class cache snapshot for the agent with id=" + platformIdent + " has unsupported version and will be ignored.");
+				return false;
+			}
+
+			ClassCacheModification modificationService = classCache.getModificationService();
+			for (Type type : types) {
+				modificationService.merge(type);
+			}
+
+			log.info("Class cache of the agent with id=" + platformIdent + " restored with " + types.size() + " types from the snapshot.");
+			return true;
+		} catch (Exception e) {
+			log.warn("Unable to restore the class cache snapshot for the agent with id=" + platformIdent + ".", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Deletes the snapshot of the agent if one exists.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 */
+	public void delete(long platformIdent) {
+		try {
+			Files.deleteIfExists(getSnapshotPath(platformIdent));
+		} catch (IOException e) {
+			log.warn("Unable to delete the class cache snapshot for the agent with id=" + platformIdent + ".", e);
+		}
+	}
+
+	/**
+	 * Writes the snapshot of the given types.
+	 *
+	 * @param types
+	 *            All types in the class cache.
+	 * @return Compressed snapshot bytes.
+	 * @throws IOException
+	 *             If compressing fails.
+	 */
+	byte[] writeSnapshot(Collection<? extends ImmutableType> types) throws IOException {
+		List<Type> initializedTypes = new ArrayList<>(types.size());
+		for (ImmutableType immutableType : types) {
+			Type type = (Type) immutableType;
+			if (type.isInitialized() && !type.getHashes().isEmpty()) {
+				initializedTypes.add(type);
+			}
+		}
+
+		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try (OutputStream outputStream = new GZIPOutputStream(byteArrayOutputStream)) {
+			Output output = new Output(outputStream);
+			output.writeInt(VERSION, true);
+			output.writeInt(initializedTypes.size(), true);
+			for (Type type : initializedTypes) {
+				writeType(output, type);
+			}
+			output.flush();
+		}
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	/**
+	 * Reads the types from the snapshot.
+	 *
+	 * @param input
+	 *            Input with decompressed snapshot bytes.
+	 * @return Types to merge or <code>null</code> if the snapshot version is not supported.
+	 */
+	List<Type> readSnapshot(Input input) {
+		if (VERSION != input.readInt(true)) {
+			return null;
+		}
+
+		int size = input.readInt(true);
+		List<Type> types = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			types.add(readType(input));
+		}
+		return types;
+	}
+
+	/**
+	 * Writes one type.
+	 *
+	 * @param output
+	 *            Output.
+	 * @param type
+	 *            Type.
+	 */
+	private void writeType(Output output, Type type) {
+		if (type instanceof ClassType) {
+			output.writeByte(KIND_CLASS);
+		} else if (type instanceof InterfaceType) {
+			output.writeByte(KIND_INTERFACE);
+		} else {
+			output.writeByte(KIND_ANNOTATION);
+		}
+		output.writeString(type.getFQN());
+		output.writeInt(type.getModifiers(), true);
+		writeStrings(output, type.getHashes());
+		writeFqns(output, type.getAnnotations());
+
+		if (type instanceof ClassType) {
+			ClassType classType = (ClassType) type;
+			writeFqns(output, classType.getSuperClasses());
+			writeFqns(output, classType.getRealizedInterfaces());
+		} else if (type instanceof InterfaceType) {
+			writeFqns(output, ((InterfaceType) type).getSuperInterfaces());
+		}
+
+		if (type instanceof TypeWithMethods) {
+			Set<MethodType> methods = ((TypeWithMethods) type).getMethods();
+			output.writeInt(methods.size(), true);
+			for (MethodType methodType : methods) {
+				output.writeString(methodType.getName());
+				output.writeInt(methodType.getModifiers(), true);
+				output.writeString(methodType.getReturnType());
+				writeStrings(output, methodType.getParameters());
+				writeFqns(output, methodType.getExceptions());
+				writeFqns(output, methodType.getAnnotations());
+			}
+		}
+	}
+
+	/**
+	 * Reads one type. Referred types are created as not initialized ones with FQN only.
+	 *
+	 * @param input
+	 *            Input.
+	 * @return Type.
+	 */
+	private Type readType(Input input) {
+		byte kind = input.readByte();
+		String fqn = input.readString();
+		int modifiers = input.readInt(true);
+		List<String> hashes = readStrings(input);
+
+		Type type;
+		if (KIND_CLASS == kind) {
+			type = new ClassType(fqn, hashes.get(0), modifiers);
+		} else if (KIND_INTERFACE == kind) {
+			type = new InterfaceType(fqn, hashes.get(0), modifiers);
+		} else {
+			type = new AnnotationType(fqn, hashes.get(0), modifiers);
+		}
+		for (int i = 1; i < hashes.size(); i++) {
+			type.addHash(hashes.get(i));
+		}
+		for (String annotation : readStrings(input)) {
+			type.addAnnotation(new AnnotationType(annotation));
+		}
+
+		if (type instanceof ClassType) {
+			ClassType classType = (ClassType) type;
+			for (String superClass : readStrings(input)) {
+				classType.addSuperClass(new ClassType(superClass));
+			}
+			for (String realizedInterface : readStrings(input)) {
+				classType.addInterface(new InterfaceType(realizedInterface));
+			}
+		} else if (type instanceof InterfaceType) {
+			InterfaceType interfaceType = (InterfaceType) type;
+			for (String superInterface : readStrings(input)) {
+				interfaceType.addSuperInterface(new InterfaceType(superInterface));
+			}
+		}
+
+		if (type instanceof TypeWithMethods) {
+			TypeWithMethods typeWithMethods = (TypeWithMethods) type;
+			int methods = input.readInt(true);
+			for (int i = 0; i < methods; i++) {
+				MethodType methodType = new MethodType();
+				methodType.setName(input.readString());
+				methodType.setModifiers(input.readInt(true));
+				methodType.setReturnType(input.readString());
+				List<String> parameters = readStrings(input);
+				if (!parameters.isEmpty()) {
+					methodType.setParameters(parameters);
+				}
+				for (String exception : readStrings(input)) {
+					methodType.addException(new ClassType(exception));
+				}
+				for (String annotation : readStrings(input)) {
+					methodType.addAnnotation(new AnnotationType(annotation));
+				}
+				typeWithMethods.addMethod(methodType);
+			}
+		}
+
+		return type;
+	}
+
+	/**
+	 * Writes the FQNs of the given types.
+	 *
+	 * @param output
+	 *            Output.
+	 * @param types
+	 *            Types.
+	 */
+	private void writeFqns(Output output, Collection<? extends Type> types) {
+		output.writeInt(types.size(), true);
+		for (Type type : types) {
+			output.writeString(type.getFQN());
+		}
+	}
+
+	/**
+	 * Writes the strings.
+	 *
+	 * @param output
+	 *            Output.
+	 * @param strings
+	 *            Strings.
+	 */
+	private void writeStrings(Output output, Collection<String> strings) {
+		output.writeInt(strings.size(), true);
+		for (String string : strings) {
+			output.writeString(string);
+		}
+	}
+
+	/**
+	 * Reads the strings written with {@link #writeStrings(Output, Collection)} or
+	 * {@link #writeFqns(Output, Collection)}.
+	 *
+	 * @param input
+	 *            Input.
+	 * @return List of strings.
+	 */
+	private List<String> readStrings(Input input) {
+		int size = input.readInt(true);
+		List<String> strings = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			strings.add(input.readString());
+		}
+		return strings;
+	}
+
+	/**
+	 * Returns the snapshot path for the agent.
+	 *
+	 * @param platformIdent
+	 *            Agent id.
+	 * @return Path to the snapshot file.
+	 */
+	private Path getSnapshotPath(long platformIdent) {
+		return Paths.get(snapshotFolder, platformIdent + SNAPSHOT_EXTENSION).toAbsolutePath();
+	}
+}
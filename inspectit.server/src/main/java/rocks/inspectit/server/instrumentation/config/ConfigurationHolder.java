@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import rocks.inspectit.server.instrumentation.config.applier.IInstrumentationApplier;
+import rocks.inspectit.server.instrumentation.config.applier.InstrumentationApplierIndex;
 import rocks.inspectit.server.instrumentation.config.applier.JmxMonitoringApplier;
 import rocks.inspectit.shared.all.instrumentation.config.impl.AgentConfig;
 import rocks.inspectit.shared.cs.ci.Environment;
@@ -56,6 +57,12 @@ public class ConfigurationHolder {
 	 */
 	private Collection<IInstrumentationApplier> instrumentationAppliers;
 
+	/**
+	 * Index of the {@link #instrumentationAppliers} for selecting the candidate appliers of a single
+	 * type. Can be <code>null</code> if no environment is set.
+	 */
+	private InstrumentationApplierIndex instrumentationApplierIndex;
+
 	/**
 	 * Cached JMX monitoring appliers for the current environment. Can be <code>null</code> if no
 	 * environment is set.
@@ -74,7 +81,7 @@ public class ConfigurationHolder {
 	/**
 	 * Updates the defined configuration in the holder with following tasks:<br>
 	 * 1. Creates the new {@link #agentConfiguration} for given environment and platform id<br>
-	 * 2. Resolves all {@link #instrumentationAppliers} for given environment<br>
+	 * 2. Resolves all {@link #instrumentationAppliers} for given environment and indexes them<br>
 	 * 3. sets the passes environment to the holder.
 	 * <p>
 	 * If <code>null</code> is passed then everything saved in the holder will be reset to
@@ -90,11 +97,13 @@ public class ConfigurationHolder {
 			this.environment = environment;
 			this.agentConfiguration = configurationCreator.environmentToConfiguration(environment, platformId);
 			this.instrumentationAppliers = configurationResolver.getInstrumentationAppliers(environment);
+			this.instrumentationApplierIndex = new InstrumentationApplierIndex(instrumentationAppliers);
 			this.jmxMonitoringAppliers = configurationResolver.getJmxMonitoringAppliers(environment);
 		} else {
 			this.environment = null; // NOPMD
 			this.agentConfiguration = null; // NOPMD
 			this.instrumentationAppliers = null; // NOPMD
+			this.instrumentationApplierIndex = null; // NOPMD
 			this.jmxMonitoringAppliers = null; // NOPMD
 		}
 	}
@@ -126,6 +135,15 @@ public class ConfigurationHolder {
 		return instrumentationAppliers;
 	}
 
+	/**
+	 * Gets {@link #instrumentationApplierIndex}.
+	 *
+	 * @return {@link #instrumentationApplierIndex}
+	 */
+	public InstrumentationApplierIndex getInstrumentationApplierIndex() {
+		return instrumentationApplierIndex;
+	}
+
 	/**
 	 * Gets {@link #jmxMonitoringAppliers}.
 	 *
@@ -0,0 +1,375 @@
+package rocks.inspectit.server.instrumentation.config.applier;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.StringUtils;
+
+import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableAbstractInterfaceType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableInterfaceType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableMethodType;
+import rocks.inspectit.shared.all.instrumentation.classcache.MethodType;
+import rocks.inspectit.shared.all.pattern.WildcardMatchPattern;
+import rocks.inspectit.shared.cs.ci.assignment.AbstractClassSensorAssignment;
+import rocks.inspectit.shared.cs.ci.assignment.impl.MethodSensorAssignment;
+
+/**
+ * Index over a collection of {@link IInstrumentationApplier}s that returns only the appliers that
+ * can potentially match a given class type. The appliers are indexed by the class name of their
+ * assignment:
+ * <ul>
+ * <li>class names without wild-cards are kept in a hash map,
+ * <li>class names with the leading text before the first wild-card are kept in a prefix trie,
+ * <li>class names starting with the wild-card and appliers without an assignment are always
+ * returned as candidates.
+ * </ul>
+ * Separate indexes exist for the direct, super-class and interface assignments. In addition, the
+ * method sensor assignments defining the exact method name are returned only if the class type
+ * declares a method with such a name.
+ * <p>
+ * The candidates are only pre-selected, thus the appliers still perform the complete matching.
+ * The candidates are returned in the order of the appliers given to the index. The index is
+ * immutable and thread safe.
+ *
+ * @author agent
+ *
+ */
+public class InstrumentationApplierIndex {
+
+	/**
+	 * All indexed appliers in the original order.
+	 */
+	private final List<IInstrumentationApplier> appliers;
+
+	/**
+	 * Method name the class type must declare for the applier on the same index to be a candidate.
+	 * Element is <code>null</code> if applier has no such requirement.
+	 */
+	private final String[] requiredMethodNames;
+
+	/**
+	 * Appliers that are always candidates.
+	 */
+	private final BitSet alwaysCandidates = new BitSet();
+
+	/**
+	 * Index of the assignments that match the class name directly.
+	 */
+	private final NameIndex classNameIndex = new NameIndex();
+
+	/**
+	 * Index of the assignments that match the super-class name.
+	 */
+	private final NameIndex superClassNameIndex = new NameIndex();
+
+	/**
+	 * Index of the assignments that match the interface name.
+	 */
+	private final NameIndex interfaceNameIndex = new NameIndex();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param appliers
+	 *            Appliers to index.
+	 */
+	public InstrumentationApplierIndex(Collection<IInstrumentationApplier> appliers) {
+		this.appliers = new ArrayList<>(appliers);
+		this.requiredMethodNames = new String[this.appliers.size()];
+
+		for (int i = 0; i < this.appliers.size(); i++) {
+			AbstractClassSensorAssignment<?> assignment = this.appliers.get(i).getSensorAssignment();
+			if ((null == assignment) || StringUtils.isEmpty(assignment.getClassName())) {
+				alwaysCandidates.set(i);
+				continue;
+			}
+
+			NameIndex nameIndex;
+			if (assignment.isSuperclass()) {
+				nameIndex = superClassNameIndex;
+			} else if (assignment.isInterf()) {
+				nameIndex = interfaceNameIndex;
+			} else {
+				nameIndex = classNameIndex;
+			}
+			if (!nameIndex.add(assignment.getClassName(), i)) {
+				alwaysCandidates.set(i);
+			}
+
+			if (assignment instanceof MethodSensorAssignment) {
+				MethodSensorAssignment methodSensorAssignment = (MethodSensorAssignment) assignment;
+				String methodName = methodSensorAssignment.getMethodName();
+				if (!methodSensorAssignment.isConstructor() && StringUtils.isNotEmpty(methodName) && !WildcardMatchPattern.isPattern(methodName)) {
+					requiredMethodNames[i] = methodName;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the appliers that can potentially match the given class type.
+	 *
+	 * @param classType
+	 *            Type to get candidates for.
+	 * @return Candidate appliers in the original order.
+	 */
+	public List<IInstrumentationApplier> getCandidates(ImmutableClassType classType) {
+		BitSet candidates = (BitSet) alwaysCandidates.clone();
+
+		classNameIndex.collect(classType.getFQN(), candidates);
+		if (!superClassNameIndex.isEmpty()) {
+			collectSuperClasses(classType, candidates, new HashSet<String>());
+		}
+		if (!interfaceNameIndex.isEmpty()) {
+			collectInterfaces(classType, candidates, new HashSet<String>());
+		}
+
+		if (candidates.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		List<IInstrumentationApplier> result = new ArrayList<>(candidates.cardinality());
+		Set<String> methodNames = null;
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (null != requiredMethodNames[i]) {
+				if (null == methodNames) {
+					methodNames = getMethodNames(classType);
+				}
+				if (!methodNames.contains(requiredMethodNames[i])) {
+					continue;
+				}
+			}
+			result.add(appliers.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets {@link #appliers}.
+	 *
+	 * @return {@link #appliers}
+	 */
+	public Collection<IInstrumentationApplier> getAppliers() {
+		return Collections.unmodifiableList(appliers);
+	}
+
+	/**
+	 * Collects candidates for all super-classes of the given class type.
+	 *
+	 * @param classType
+	 *            Type to process super-classes of.
+	 * @param candidates
+	 *            Bit set to add candidates to.
+	 * @param visited
+	 *            Already processed type names.
+	 */
+	private void collectSuperClasses(ImmutableClassType classType, BitSet candidates, Set<String> visited) {
+		for (ImmutableClassType superClassType : classType.getImmutableSuperClasses()) {
+			if (visited.add(superClassType.getFQN())) {
+				superClassNameIndex.collect(superClassType.getFQN(), candidates);
+				collectSuperClasses(superClassType, candidates, visited);
+			}
+		}
+	}
+
+	/**
+	 * Collects candidates for all interfaces realized by the given class type or any of its
+	 * super-classes.
+	 *
+	 * @param classType
+	 *            Type to process interfaces of.
+	 * @param candidates
+	 *            Bit set to add candidates to.
+	 * @param visited
+	 *            Already processed type names.
+	 */
+	private void collectInterfaces(ImmutableClassType classType, BitSet candidates, Set<String> visited) {
+		for (ImmutableAbstractInterfaceType interfaceType : classType.getImmutableRealizedInterfaces()) {
+			if (interfaceType.isInterface()) {
+				collectInterfaceAndSuperInterfaces(interfaceType.castToInterface(), candidates, visited);
+			}
+		}
+
+		for (ImmutableClassType superClassType : classType.getImmutableSuperClasses()) {
+			collectInterfaces(superClassType, candidates, visited);
+		}
+	}
+
+	/**
+	 * Collects candidates for the given interface and all its super-interfaces.
+	 *
+	 * @param interfaceType
+	 *            Interface to process.
+	 * @param candidates
+	 *            Bit set to add candidates to.
+	 * @param visited
+	 *            Already processed type names.
+	 */
+	private void collectInterfaceAndSuperInterfaces(ImmutableInterfaceType interfaceType, BitSet candidates, Set<String> visited) {
+		if (!visited.add(interfaceType.getFQN())) {
+			return;
+		}
+
+		interfaceNameIndex.collect(interfaceType.getFQN(), candidates);
+		for (ImmutableInterfaceType superInterfaceType : interfaceType.getImmutableSuperInterfaces()) {
+			collectInterfaceAndSuperInterfaces(superInterfaceType, candidates, visited);
+		}
+	}
+
+	/**
+	 * Returns the names of all methods declared in the class type. Constructors are not included.
+	 *
+	 * @param classType
+	 *            Class type.
+	 * @return Set of method names.
+	 */
+	private Set<String> getMethodNames(ImmutableClassType classType) {
+		Set<String> methodNames = new HashSet<>();
+		for (ImmutableMethodType methodType : classType.getImmutableMethods()) {
+			if (MethodType.Character.METHOD.equals(methodType.getMethodCharacter())) {
+				methodNames.add(methodType.getName());
+			}
+		}
+		return methodNames;
+	}
+
+	/**
+	 * Index of the name patterns. Exact names are kept in the map, the patterns having the leading
+	 * text in the prefix trie.
+	 *
+	 * @author agent
+	 *
+	 */
+	private static final class NameIndex {
+
+		/**
+		 * Applier indexes by exact name.
+		 */
+		private final Map<String, BitSet> exactNames = new HashMap<>();
+
+		/**
+		 * Root of the prefix trie.
+		 */
+		private final TrieNode prefixRoot = new TrieNode();
+
+		/**
+		 * If nothing has been added to the index.
+		 */
+		private boolean empty = true;
+
+		/**
+		 * Adds the name pattern to the index.
+		 *
+		 * @param namePattern
+		 *            Name pattern.
+		 * @param index
+		 *            Applier index.
+		 * @return <code>false</code> if pattern can not be indexed because it starts with the
+		 *         wild-card.
+		 */
+		boolean add(String namePattern, int index) {
+			int wildcard = namePattern.indexOf('*');
+			if (0 == wildcard) {
+				return false;
+			}
+
+			if (wildcard < 0) {
+				BitSet bitSet = exactNames.get(namePattern);
+				if (null == bitSet) {
+					bitSet = new BitSet();
+					exactNames.put(namePattern, bitSet);
+				}
+				bitSet.set(index);
+			} else {
+				TrieNode node = prefixRoot;
+				for (int i = 0; i < wildcard; i++) {
+					node = node.getOrCreateChild(namePattern.charAt(i));
+				}
+				node.appliers.set(index);
+			}
+			empty = false;
+			return true;
+		}
+
+		/**
+		 * Collects appliers indexes for the given name.
+		 *
+		 * @param name
+		 *            Type name.
+		 * @param result
+		 *            Bit set to add applier indexes to.
+		 */
+		void collect(String name, BitSet result) {
+			if (empty || (null == name)) {
+				return;
+			}
+
+			BitSet exact = exactNames.get(name);
+			if (null != exact) {
+				result.or(exact);
+			}
+
+			TrieNode node = prefixRoot;
+			for (int i = 0; i < name.length(); i++) {
+				node = node.children.get(Character.valueOf(name.charAt(i)));
+				if (null == node) {
+					return;
+				}
+				result.or(node.appliers);
+			}
+		}
+
+		/**
+		 * Gets {@link #empty}.
+		 *
+		 * @return {@link #empty}
+		 */
+		boolean isEmpty() {
+			return empty;
+		}
+	}
+
+	/**
+	 * Node of the prefix trie.
+	 *
+	 * @author agent
+	 *
+	 */
+	private static final class TrieNode {
+
+		/**
+		 * Children by next character.
+		 */
+		private final Map<Character, TrieNode> children = new HashMap<>(4);
+
+		/**
+		 * Appliers having the prefix ending in this node.
+		 */
+		private final BitSet appliers = new BitSet();
+
+		/**
+		 * Returns the child for the given character, creating it if needed.
+		 *
+		 * @param c
+		 *            Character.
+		 * @return Child node.
+		 */
+		TrieNode getOrCreateChild(char c) {
+			Character key = Character.valueOf(c);
+			TrieNode child = children.get(key);
+			if (null == child) {
+				child = new TrieNode();
+				children.put(key, child);
+			}
+			return child;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Registry of the texts the agents register with the CMR before sending the data that carries only
+ * the id of the text. The texts are kept separately for every agent, so that a single agent can
+ * not evict the texts of the other agents.
+ * <p>
+ * The agent regards an id as registered for the registration interval of 10 minutes and remembers
+ * at most 10000 registered ids. The registry keeps the texts of an agent for twice that time after
+ * they have been registered and holds twice as many texts per agent, so that no text is evicted
+ * while the agent still sends the data carrying only its id.
+ * <p>
+ * If the data carries an id whose text is not known anyway, the id is reported as unknown. The
+ * unknown ids are returned to the agent with the next registration, so that the agent sends these
+ * texts again.
+ *
+ * @author agent
+ *
+ */
+class AgentTextRegistry {
+
+	/**
+	 * Maximum amount of texts kept per agent, also the maximum amount of unknown ids remembered
+	 * per agent.
+	 */
+	static final int MAXIMUM_SIZE_PER_AGENT = 20000;
+
+	/**
+	 * Time in minutes the text is kept after it has been registered.
+	 */
+	static final long EXPIRATION_MINUTES = 20;
+
+	/**
+	 * Texts of the agents mapped by the platform ident of the agent. The texts of the agent are
+	 * dropped once the agent has not been sending any data for the expiration time.
+	 */
+	private final LoadingCache<Long, AgentTexts> agentTexts = CacheBuilder.newBuilder().expireAfterAccess(EXPIRATION_MINUTES, TimeUnit.MINUTES)
+			.build(new CacheLoader<Long, AgentTexts>() {
+				@Override
+				public AgentTexts load(Long platformIdent) {
+					return new AgentTexts();
+				}
+			});
+
+	/**
+	 * Registers the texts of the agent.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param texts
+	 *            Texts mapped by the id.
+	 * @return Ids of the agent that were reported as unknown since the last registration and are
+	 *         not registered with this call.
+	 */
+	public Collection<Long> register(long platformIdent, Map<Long, String> texts) {
+		AgentTexts agent = getAgentTexts(platformIdent);
+		agent.texts.putAll(texts);
+
+		if (agent.unknownIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Collection<Long> unknownIds = new ArrayList<>();
+		for (Iterator<Long> it = agent.unknownIds.iterator(); it.hasNext();) {
+			Long id = it.next();
+			it.remove();
+			if (!texts.containsKey(id)) {
+				unknownIds.add(id);
+			}
+		}
+		return unknownIds;
+	}
+
+	/**
+	 * Remembers the text of the agent that came with the data.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param id
+	 *            Id of the text.
+	 * @param text
+	 *            Text.
+	 */
+	public void put(long platformIdent, long id, String text) {
+		getAgentTexts(platformIdent).texts.put(Long.valueOf(id), text);
+	}
+
+	/**
+	 * Returns the text of the agent with the given id.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param id
+	 *            Id of the text.
+	 * @return Text or <code>null</code> if the text is not known.
+	 */
+	public String get(long platformIdent, long id) {
+		return getAgentTexts(platformIdent).texts.getIfPresent(Long.valueOf(id));
+	}
+
+	/**
+	 * Reports that the agent sent the data carrying only the id of a text that is not known.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param id
+	 *            Id of the text.
+	 */
+	public void reportUnknown(long platformIdent, long id) {
+		Set<Long> unknownIds = getAgentTexts(platformIdent).unknownIds;
+		if (unknownIds.size() < MAXIMUM_SIZE_PER_AGENT) {
+			unknownIds.add(Long.valueOf(id));
+		}
+	}
+
+	/**
+	 * Returns the texts of the agent.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @return Texts of the agent.
+	 */
+	private AgentTexts getAgentTexts(long platformIdent) {
+		return agentTexts.getUnchecked(Long.valueOf(platformIdent));
+	}
+
+	/**
+	 * Texts and unknown ids of one agent.
+	 *
+	 * @author agent
+	 *
+	 */
+	private static class AgentTexts {
+
+		/**
+		 * Texts mapped by the id.
+		 */
+		private final Cache<Long, String> texts = CacheBuilder.newBuilder().maximumSize(MAXIMUM_SIZE_PER_AGENT).expireAfterWrite(EXPIRATION_MINUTES, TimeUnit.MINUTES).build();
+
+		/**
+		 * Ids reported as unknown since the last registration.
+		 */
+		private final Set<Long> unknownIds = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+	}
+
+}
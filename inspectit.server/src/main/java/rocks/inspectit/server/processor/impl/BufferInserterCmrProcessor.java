@@ -3,18 +3,23 @@ package rocks.inspectit.server.processor.impl;
 import javax.persistence.EntityManager;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import rocks.inspectit.server.cache.IBuffer;
 import rocks.inspectit.server.cache.impl.BufferElement;
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
 import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
 
 /**
  * Buffer inserter data processor. Inserts only {@link MethodSensorData} data objects that are not
- * part of an invocation.
+ * part of an invocation and the {@link SamplingProfilerData} profiles. Invocations are not inserted
+ * if the invocation retention is active, as they are then inserted by the
+ * {@link InvocationRetentionCmrProcessor}.
  *
  * @author Ivan Senic
  *
@@ -25,14 +30,20 @@ public class BufferInserterCmrProcessor extends AbstractCmrDataProcessor {
 	 * Buffer to inser elements to.
 	 */
 	@Autowired
-	IBuffer<MethodSensorData> buffer;
+	IBuffer<DefaultData> buffer;
+
+	/**
+	 * If invocation retention is active.
+	 */
+	@Value("${retention.active}")
+	boolean retentionActive;
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void processData(DefaultData defaultData, EntityManager entityManager) {
-		buffer.put(new BufferElement<>((MethodSensorData) defaultData));
+		buffer.put(new BufferElement<>(defaultData));
 	}
 
 	/**
@@ -42,6 +53,9 @@ public class BufferInserterCmrProcessor extends AbstractCmrDataProcessor {
 	public boolean canBeProcessed(DefaultData defaultData) {
 		if (null == defaultData) {
 			return false;
+		} else if ((defaultData instanceof SamplingProfilerData) || (defaultData instanceof AgentTelemetryData)) {
+			// profiles and agent telemetry are only available in buffer
+			return true;
 		} else if (!(defaultData instanceof MethodSensorData)) {
 			// we only put to buffer method sensor data
 			return false;
@@ -55,6 +69,10 @@ public class BufferInserterCmrProcessor extends AbstractCmrDataProcessor {
 			if (((InvocationSequenceData) defaultData).getParentSequence() != null) {
 				return false;
 			}
+			// root invocations are put to buffer by the retention processor
+			if (retentionActive) {
+				return false;
+			}
 		}
 		return true;
 	}
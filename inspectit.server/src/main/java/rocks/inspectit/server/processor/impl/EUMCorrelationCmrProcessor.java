@@ -1,12 +1,16 @@
 package rocks.inspectit.server.processor.impl;
 
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import javax.persistence.EntityManager;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import rocks.inspectit.server.dao.impl.BufferSpanDaoImpl;
 import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
@@ -18,13 +22,40 @@ import rocks.inspectit.shared.all.tracing.data.AbstractSpan;
 import rocks.inspectit.shared.all.tracing.data.SpanIdent;
 
 /**
- * Processor responsible for correlating existing back-end traces in the buffer.
+ * Processor responsible for correlating the EUM page load spans with their back-end traces.
+ * <p>
+ * The EUM span and the back-end root span can arrive in any order. The span arriving first is kept
+ * in the pending table keyed by the back-end span id, so that the span arriving second completes
+ * the correlation directly when it passes the processor. Spans are kept in the pending tables for
+ * max {@value #CORRELATION_TIMEOUT_SECONDS} seconds and max {@value #MAX_PENDING_SPANS} spans are
+ * kept per table.
+ * <p>
+ * As every back-end trace root span is added to the pending table, a back-end span can be removed
+ * from the full table before its EUM span arrives. The ids of such spans are kept in a larger
+ * secondary index, so that the EUM span finding no partner in the table looks for the back-end
+ * span in the buffer only when the span has been removed from the table. The buffer is queried
+ * outside of the lock guarding the pending tables.
  *
  * @author Jonas Kunz
  *
  */
 public class EUMCorrelationCmrProcessor extends AbstractCmrDataProcessor {
 
+	/**
+	 * Number of seconds span waits for the correlation partner.
+	 */
+	private static final int CORRELATION_TIMEOUT_SECONDS = 60;
+
+	/**
+	 * Max amount of spans waiting for the correlation partner in one table.
+	 */
+	static final int MAX_PENDING_SPANS = 10000;
+
+	/**
+	 * Max amount of ids of the back-end spans removed from the full table that are kept.
+	 */
+	private static final int MAX_EVICTED_SPAN_IDS = 10 * MAX_PENDING_SPANS;
+
 	/**
 	 * {@link BufferSpanDaoImpl}.
 	 */
@@ -32,12 +63,36 @@ public class EUMCorrelationCmrProcessor extends AbstractCmrDataProcessor {
 	private BufferSpanDaoImpl spanDao;
 
 	/**
-	 * Scheduled executor used for scheduling the Span correlation due to asynchronous indexing and
-	 * adding data to the buffer.
+	 * EUM spans waiting for the back-end span, keyed by the back-end span id.
 	 */
-	@Qualifier("scheduledExecutorService")
-	@Autowired
-	private ScheduledExecutorService scheduledExecutor;
+	private final PendingSpans<EUMSpan> pendingEumSpans = new PendingSpans<>();
+
+	/**
+	 * Ids of the back-end root spans that were removed from the full {@link #pendingBackEndSpans}
+	 * before they expired.
+	 */
+	private final Cache<Long, Boolean> evictedBackEndSpanIds = CacheBuilder.newBuilder().maximumSize(MAX_EVICTED_SPAN_IDS)
+			.expireAfterWrite(CORRELATION_TIMEOUT_SECONDS, TimeUnit.SECONDS).build();
+
+	/**
+	 * Back-end root spans waiting for the EUM span, keyed by the back-end span id.
+	 */
+	private final PendingSpans<AbstractSpan> pendingBackEndSpans = new PendingSpans<AbstractSpan>() {
+
+		/**
+		 * Generated UID.
+		 */
+		private static final long serialVersionUID = 2907385013628493734L;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void evicted(long spanId) {
+			evictedBackEndSpanIds.put(Long.valueOf(spanId), Boolean.TRUE);
+		}
+
+	};
 
 	/**
 	 * {@inheritDoc}
@@ -46,22 +101,54 @@ public class EUMCorrelationCmrProcessor extends AbstractCmrDataProcessor {
 	protected void processData(DefaultData data, EntityManager entityManager) {
 		if (data instanceof EUMSpan) {
 			EUMSpan frontEndSpan = (EUMSpan) data;
-			AbstractEUMSpanDetails details = frontEndSpan.getDetails();
-			if (details instanceof PageLoadRequest) {
-				long traceId = frontEndSpan.getSpanIdent().getTraceId();
-				long eumSpanId = frontEndSpan.getSpanIdent().getId();
-				// if the ids are equal no correlation takes place, e.g. because the html was
-				// cached.
-				if (traceId != eumSpanId) {
-					EumSpanCorrelationTask correlationTask = new EumSpanCorrelationTask(traceId, eumSpanId);
-					correlationTask.schedule(true);
+			long traceId = frontEndSpan.getSpanIdent().getTraceId();
+			long eumSpanId = frontEndSpan.getSpanIdent().getId();
+			// if the ids are equal no correlation takes place, e.g. because the html was
+			// cached.
+			if (traceId != eumSpanId) {
+				AbstractSpan backEndSpan;
+				synchronized (this) {
+					backEndSpan = pendingBackEndSpans.take(traceId);
+				}
+				if ((null == backEndSpan) && (null != evictedBackEndSpanIds.getIfPresent(Long.valueOf(traceId)))) {
+					// back-end span left the full table already
+					evictedBackEndSpanIds.invalidate(Long.valueOf(traceId));
+					backEndSpan = spanDao.get(new SpanIdent(traceId, traceId));
+				}
+				if (null == backEndSpan) {
+					synchronized (this) {
+						// back-end span could have arrived in the meantime
+						backEndSpan = pendingBackEndSpans.take(traceId);
+						if (null == backEndSpan) {
+							pendingEumSpans.add(traceId, frontEndSpan);
+						}
+					}
+				}
+				if (null != backEndSpan) {
+					backEndSpan.setParentSpanId(eumSpanId);
 				}
 			}
+		} else {
+			AbstractSpan backEndSpan = (AbstractSpan) data;
+			long backEndSpanId = backEndSpan.getSpanIdent().getId();
+			EUMSpan frontEndSpan;
+			synchronized (this) {
+				frontEndSpan = pendingEumSpans.take(backEndSpanId);
+				if (null == frontEndSpan) {
+					pendingBackEndSpans.add(backEndSpanId, backEndSpan);
+				}
+			}
+			if (null != frontEndSpan) {
+				backEndSpan.setParentSpanId(frontEndSpan.getSpanIdent().getId());
+			}
 		}
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * Processes the EUM page load spans and the back-end spans that start a trace, as only those
+	 * can be correlated with the page load.
 	 */
 	@Override
 	public boolean canBeProcessed(DefaultData data) {
@@ -70,81 +157,132 @@ public class EUMCorrelationCmrProcessor extends AbstractCmrDataProcessor {
 			if (details instanceof PageLoadRequest) {
 				return true;
 			}
+		} else if (data instanceof AbstractSpan) {
+			SpanIdent spanIdent = ((AbstractSpan) data).getSpanIdent();
+			return (null != spanIdent) && (spanIdent.getId() == spanIdent.getTraceId());
 		}
 		return false;
 	}
 
 	/**
-	 * Recurring task to correlate EUM Pageload requests with their back end span. Reoccuring
-	 * because the updating of the buffer happens async and we don't know hen which span arrives in
-	 * the CMR.
-	 *
-	 * @author Jonas Kunz
+	 * Insertion ordered table of the spans waiting for the correlation partner. Oldest spans are
+	 * removed when the {@value #MAX_PENDING_SPANS} is reached or when they are in the table longer
+	 * than {@value #CORRELATION_TIMEOUT_SECONDS} seconds. Subclasses are informed about the spans
+	 * removed before they expired. Not thread safe.
 	 *
+	 * @param <E>
+	 *            Type of spans.
 	 */
-	private class EumSpanCorrelationTask implements Runnable {
+	private static class PendingSpans<E extends AbstractSpan> extends LinkedHashMap<Long, PendingSpan<E>> {
 
 		/**
-		 * Number of seconds to wait between trials of correlation.
+		 * Generated UID.
 		 */
-		private static final int NUMBER_OF_SECONDS_BETWEEN_TRIALS = 3;
+		private static final long serialVersionUID = -4861178424380226546L;
 
 		/**
-		 * The number of retrials until the correlation is aborted for this trace.
+		 * Adds the span to the table and removes the expired ones.
+		 *
+		 * @param spanId
+		 *            Back-end span id.
+		 * @param span
+		 *            Span waiting for the partner.
 		 */
-		private int retrialsLeft = 20;
+		void add(long spanId, E span) {
+			long currentTime = System.currentTimeMillis();
+			removeExpired(currentTime);
+			// remove first so that re-added span goes to the end
+			remove(Long.valueOf(spanId));
+			put(Long.valueOf(spanId), new PendingSpan<>(span, currentTime + TimeUnit.SECONDS.toMillis(CORRELATION_TIMEOUT_SECONDS)));
+		}
 
 		/**
-		 * The trace (and span)-id of the back end trace to correlate.
+		 * Removes the span from the table.
+		 *
+		 * @param spanId
+		 *            Back-end span id.
+		 * @return Span or <code>null</code> if there is no span waiting or it already expired.
 		 */
-		private long traceId;
+		E take(long spanId) {
+			PendingSpan<E> pendingSpan = remove(Long.valueOf(spanId));
+			if ((null != pendingSpan) && (pendingSpan.expiryTime >= System.currentTimeMillis())) {
+				return pendingSpan.span;
+			}
+			return null;
+		}
 
 		/**
-		 * The span ID of the EUM span to correlate.
+		 * Removes the expired spans. As spans are in the insertion order, it's enough to check
+		 * till the first not expired one.
+		 *
+		 * @param currentTime
+		 *            Current time in milliseconds.
 		 */
-		private long eumSpanId;
+		private void removeExpired(long currentTime) {
+			for (Iterator<PendingSpan<E>> it = values().iterator(); it.hasNext();) {
+				if (it.next().expiryTime < currentTime) {
+					it.remove();
+				} else {
+					break;
+				}
+			}
+		}
 
 		/**
-		 * Constructor. Does not schedule the task.
-		 *
-		 * @param traceId
-		 *            the traceId of the span to correlate
-		 * @param eumSpanId
-		 *            the spanId of the front-end span
+		 * {@inheritDoc}
 		 */
-		EumSpanCorrelationTask(long traceId, long eumSpanId) {
-			this.traceId = traceId;
-			this.eumSpanId = eumSpanId;
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, PendingSpan<E>> eldest) {
+			if (size() > MAX_PENDING_SPANS) {
+				if (eldest.getValue().expiryTime >= System.currentTimeMillis()) {
+					evicted(eldest.getKey().longValue());
+				}
+				return true;
+			}
+			return false;
 		}
 
 		/**
-		 * Schedules another trial for correlation.
+		 * Called when the span is removed from the full table before it expired.
 		 *
-		 * @param immediate
-		 *            true if the attempt should be run immediately
+		 * @param spanId
+		 *            Back-end span id.
 		 */
-		void schedule(boolean immediate) {
-			if (retrialsLeft > 0) {
-				retrialsLeft--;
-				scheduledExecutor.schedule(this, immediate ? 0 : NUMBER_OF_SECONDS_BETWEEN_TRIALS, TimeUnit.SECONDS);
-			}
+		protected void evicted(long spanId) {
+			// nothing by default
 		}
 
-		@Override
-		public void run() {
-			boolean reschedule = true;
-			try {
-				SpanIdent backEndSpanIdent = new SpanIdent(traceId, traceId);
-				AbstractSpan backEndSpan = spanDao.get(backEndSpanIdent);
-				if (backEndSpan != null) {
-					backEndSpan.setParentSpanId(eumSpanId);
-					reschedule = false;
-				}
-			} finally {
-				if (reschedule) {
-					schedule(false); // retry later
-				}
-			}
+	}
+
+	/**
+	 * Span in the {@link PendingSpans} table.
+	 *
+	 * @param <E>
+	 *            Type of span.
+	 */
+	private static class PendingSpan<E extends AbstractSpan> {
+
+		/**
+		 * Span.
+		 */
+		private final E span;
+
+		/**
+		 * Time in milliseconds after which span is not correlated any more.
+		 */
+		private final long expiryTime;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param span
+		 *            Span.
+		 * @param expiryTime
+		 *            Time in milliseconds after which span is not correlated any more.
+		 */
+		PendingSpan(E span, long expiryTime) {
+			this.span = span;
+			this.expiryTime = expiryTime;
 		}
 
 	}
@@ -0,0 +1,127 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.apache.commons.collections.CollectionUtils;
+
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+
+/**
+ * Processor that resolves the stack traces of the {@link ExceptionSensorData} based on the stack
+ * trace fingerprint. The agent registers the stack traces with a blocking call before it sends any
+ * exception carrying only the fingerprint, thus this processor remembers the registered texts per
+ * agent and fingerprint and sets them to the exceptions that carry only the fingerprint.
+ * <p>
+ * The processor handles both the exceptions sent directly and the ones contained in the
+ * invocation sequences. The stack traces are kept per agent in the {@link AgentTextRegistry}, at
+ * least as long as the agent regards them as registered. If the stack trace is not known, the
+ * exception gets a placeholder text containing the fingerprint, so that exceptions with different
+ * stack traces are never aggregated together, and the agent is asked to register the stack trace
+ * again.
+ *
+ * @author agent
+ *
+ */
+public class ExceptionStackTraceCmrProcessor extends AbstractCmrDataProcessor {
+
+	/**
+	 * Text set to the exceptions carrying a fingerprint that is not known to the processor.
+	 */
+	static final String UNKNOWN_STACK_TRACE = "<Stack trace with the fingerprint %d is not available>";
+
+	/**
+	 * Stack traces registered by the agents.
+	 */
+	private final AgentTextRegistry stackTraces = new AgentTextRegistry();
+
+	/**
+	 * Registers the stack traces of the agent.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param stackTraces
+	 *            Stack traces mapped by the fingerprint.
+	 * @return Fingerprints of the stack traces the agent has to register again, because the
+	 *         exceptions carrying only these fingerprints could not be resolved.
+	 */
+	public Collection<Long> registerStackTraces(long platformIdent, Map<Long, String> stackTraces) {
+		return this.stackTraces.register(platformIdent, stackTraces);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processData(DefaultData defaultData, EntityManager entityManager) {
+		if (defaultData instanceof InvocationSequenceData) {
+			resolveStackTraces((InvocationSequenceData) defaultData);
+		} else {
+			resolveStackTrace((ExceptionSensorData) defaultData);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean canBeProcessed(DefaultData defaultData) {
+		return (defaultData instanceof ExceptionSensorData) || (defaultData instanceof InvocationSequenceData);
+	}
+
+	/**
+	 * Resolves the stack traces of all exceptions in the invocation and its nested invocations.
+	 *
+	 * @param invocationSequenceData
+	 *            Invocation to process.
+	 */
+	private void resolveStackTraces(InvocationSequenceData invocationSequenceData) {
+		List<ExceptionSensorData> exceptionSensorDataObjects = invocationSequenceData.getExceptionSensorDataObjects();
+		if (CollectionUtils.isNotEmpty(exceptionSensorDataObjects)) {
+			for (ExceptionSensorData exceptionSensorData : exceptionSensorDataObjects) {
+				resolveStackTrace(exceptionSensorData);
+			}
+		}
+
+		List<InvocationSequenceData> nestedSequences = invocationSequenceData.getNestedSequences();
+		if (CollectionUtils.isNotEmpty(nestedSequences)) {
+			for (InvocationSequenceData nested : nestedSequences) {
+				resolveStackTraces(nested);
+			}
+		}
+	}
+
+	/**
+	 * Remembers the stack trace of the exception if it's available, or sets the remembered one if
+	 * the exception carries only the fingerprint.
+	 *
+	 * @param exceptionSensorData
+	 *            Exception to process.
+	 */
+	private void resolveStackTrace(ExceptionSensorData exceptionSensorData) {
+		long fingerprint = exceptionSensorData.getStackTraceFingerprint();
+		if (0L == fingerprint) {
+			return;
+		}
+
+		long platformIdent = exceptionSensorData.getPlatformIdent();
+		if (null != exceptionSensorData.getStackTrace()) {
+			stackTraces.put(platformIdent, fingerprint, exceptionSensorData.getStackTrace());
+		} else {
+			String known = stackTraces.get(platformIdent, fingerprint);
+			if (null != known) {
+				exceptionSensorData.setStackTrace(known);
+			} else {
+				exceptionSensorData.setStackTrace(String.format(UNKNOWN_STACK_TRACE, fingerprint));
+				stackTraces.reportUnknown(platformIdent, fingerprint);
+			}
+		}
+	}
+
+}
@@ -80,7 +80,7 @@ public class InfluxProcessor extends AbstractCmrDataProcessor {
 	 */
 	@Override
 	public boolean canBeProcessed(DefaultData defaultData) {
-		return influxDbDao.isConnected() && builderMap.containsKey(defaultData.getClass()) && isValidData(defaultData);
+		return influxDbDao.isAvailable() && builderMap.containsKey(defaultData.getClass()) && isValidData(defaultData);
 	}
 
 	/**
@@ -0,0 +1,405 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.persistence.EntityManager;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import rocks.inspectit.server.cache.IBuffer;
+import rocks.inspectit.server.cache.impl.BufferElement;
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.server.util.CacheIdGenerator;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Tail-based retention of the invocation sequences. When active, root invocations are not inserted
+ * into the buffer directly, but are held in a bounded window. Invocations belonging to the same
+ * trace are grouped in the window. Once the group leaves the window (because it's held long enough
+ * or because the window is full), all of its invocations are inserted into the buffer if at least
+ * one of them is interesting, or if the group is sampled. Other groups are dropped.
+ * <p>
+ * An invocation is interesting if it contains exceptions (this includes SQL errors captured by the
+ * exception sensor) or if it's slow compared to the baseline of its business transaction. The
+ * baseline is the exponentially weighted moving average of the durations of all invocations of
+ * the business transaction, including the dropped ones.
+ * <p>
+ * Note that this processor does not influence other processors. Timer, SQL and exception data
+ * extracted from the invocations by the {@link InvocationModifierCmrProcessor} are created for all
+ * invocations, no matter if they are retained or not.
+ * <p>
+ * The IDs of the invocations held in the window are marked as pending in the
+ * {@link CacheIdGenerator}, as the invocations can still be inserted into the buffer. They are
+ * marked as pending only for the {@link InvocationSequenceData} type, so the held invocations
+ * hold back the incremental queries of the invocations for up to the window duration, but not
+ * the queries of the other data types.
+ *
+ * @author agent
+ *
+ */
+public class InvocationRetentionCmrProcessor extends AbstractCmrDataProcessor {
+
+	/**
+	 * Rate in milliseconds in which window is checked for the expired groups.
+	 */
+	private static final long WINDOW_CHECK_RATE = 1000L;
+
+	/**
+	 * Weight of the new duration in the baseline average.
+	 */
+	private static final double BASELINE_WEIGHT = 0.05d;
+
+	/**
+	 * Minimum amount of invocations of the business transaction before the baseline is used.
+	 */
+	private static final long BASELINE_MIN_COUNT = 20L;
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Buffer to insert the retained invocations to.
+	 */
+	@Autowired
+	IBuffer<MethodSensorData> buffer;
+
+	/**
+	 * {@link CacheIdGenerator} to mark the IDs of the held invocations as pending.
+	 */
+	@Autowired
+	CacheIdGenerator cacheIdGenerator;
+
+	/**
+	 * If retention is active.
+	 */
+	@Value("${retention.active}")
+	boolean retentionActive;
+
+	/**
+	 * Time in milliseconds the invocations are held in the window.
+	 */
+	@Value("${retention.windowDuration}")
+	long windowDuration;
+
+	/**
+	 * Maximum amount of invocations held in the window.
+	 */
+	@Value("${retention.windowCapacity}")
+	long windowCapacity;
+
+	/**
+	 * Invocation is slow if it's duration is higher than this percentage of the baseline.
+	 */
+	@Value("${retention.slowThreshold}")
+	long slowThreshold;
+
+	/**
+	 * Part of not interesting invocations that will be retained.
+	 */
+	@Value("${retention.sampleRate}")
+	float sampleRate;
+
+	/**
+	 * Groups of invocations held in the window, in the arrival order.
+	 */
+	private final LinkedHashMap<Object, RetentionGroup> window = new LinkedHashMap<>();
+
+	/**
+	 * Amount of invocations in the window.
+	 */
+	private long windowSize;
+
+	/**
+	 * Baselines per business transaction.
+	 */
+	private final Map<Long, Baseline> baselines = new ConcurrentHashMap<>();
+
+	/**
+	 * Count of retained invocations.
+	 */
+	private final AtomicLong retainedCount = new AtomicLong();
+
+	/**
+	 * Count of dropped invocations.
+	 */
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processData(DefaultData defaultData, EntityManager entityManager) {
+		InvocationSequenceData invocation = (InvocationSequenceData) defaultData;
+		boolean interesting = isInteresting(invocation);
+		cacheIdGenerator.markPending(InvocationSequenceData.class, invocation.getId());
+
+		List<RetentionGroup> decided;
+		synchronized (window) {
+			Object key = getGroupKey(invocation);
+			RetentionGroup group = window.get(key);
+			if (null == group) {
+				group = new RetentionGroup(System.currentTimeMillis());
+				window.put(key, group);
+			}
+			group.add(invocation, interesting);
+			windowSize++;
+
+			decided = removeFromWindow(Long.MIN_VALUE);
+		}
+
+		decide(decided);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean canBeProcessed(DefaultData defaultData) {
+		return retentionActive && (defaultData instanceof InvocationSequenceData) && (null == ((InvocationSequenceData) defaultData).getParentSequence());
+	}
+
+	/**
+	 * Decides on all groups that are held in the window longer than the {@link #windowDuration}.
+	 */
+	@Scheduled(fixedRate = WINDOW_CHECK_RATE)
+	public void checkWindow() {
+		if (!retentionActive) {
+			return;
+		}
+
+		List<RetentionGroup> decided;
+		synchronized (window) {
+			decided = removeFromWindow(System.currentTimeMillis() - windowDuration);
+		}
+
+		decide(decided);
+
+		if (log.isDebugEnabled() && CollectionUtils.isNotEmpty(decided)) {
+			log.debug("Invocation retention: " + retainedCount.get() + " invocation(s) retained and " + droppedCount.get() + " dropped in total.");
+		}
+	}
+
+	/**
+	 * Removes the oldest groups from the window that arrived before the given time or that don't
+	 * fit into the window capacity. Must be called while holding the window lock.
+	 *
+	 * @param arrivedBefore
+	 *            Time in milliseconds, groups that arrived before are removed.
+	 * @return Removed groups.
+	 */
+	private List<RetentionGroup> removeFromWindow(long arrivedBefore) {
+		List<RetentionGroup> removed = new ArrayList<>(0);
+		Iterator<RetentionGroup> it = window.values().iterator();
+		while (it.hasNext()) {
+			RetentionGroup group = it.next();
+			if ((group.arrivalTime < arrivedBefore) || (windowSize > windowCapacity)) {
+				it.remove();
+				windowSize -= group.invocations.size();
+				removed.add(group);
+			} else {
+				break;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Inserts the invocations of the retained groups into the buffer. The pending IDs of the
+	 * invocations are unmarked after the insertion.
+	 *
+	 * @param groups
+	 *            Groups removed from the window.
+	 */
+	private void decide(List<RetentionGroup> groups) {
+		for (RetentionGroup group : groups) {
+			if (group.interesting || (ThreadLocalRandom.current().nextFloat() < sampleRate)) {
+				for (InvocationSequenceData invocation : group.invocations) {
+					buffer.put(new BufferElement<MethodSensorData>(invocation));
+				}
+				retainedCount.addAndGet(group.invocations.size());
+			} else {
+				droppedCount.addAndGet(group.invocations.size());
+			}
+
+			for (InvocationSequenceData invocation : group.invocations) {
+				cacheIdGenerator.unmarkPending(InvocationSequenceData.class, invocation.getId());
+			}
+		}
+	}
+
+	/**
+	 * Checks if the invocation is interesting and updates the baseline of its business
+	 * transaction.
+	 *
+	 * @param invocation
+	 *            Root invocation.
+	 * @return If invocation should be retained.
+	 */
+	boolean isInteresting(InvocationSequenceData invocation) {
+		Long baselineKey = Long.valueOf(((long) invocation.getApplicationId() << 32) | (invocation.getBusinessTransactionId() & 0xFFFFFFFFL));
+		Baseline baseline = baselines.computeIfAbsent(baselineKey, k -> new Baseline());
+		boolean slow = baseline.isSlowAndUpdate(invocation.getDuration(), slowThreshold / 100d);
+
+		return slow || hasExceptions(invocation);
+	}
+
+	/**
+	 * Checks if invocation or any of the nested invocations has exceptions.
+	 *
+	 * @param invocation
+	 *            Invocation
+	 * @return If exceptions are found.
+	 */
+	private boolean hasExceptions(InvocationSequenceData invocation) {
+		if (Boolean.TRUE.equals(invocation.isNestedExceptions()) || CollectionUtils.isNotEmpty(invocation.getExceptionSensorDataObjects())) {
+			return true;
+		}
+		for (InvocationSequenceData child : invocation.getNestedSequences()) {
+			if (hasExceptions(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the key of the group the invocation belongs to. Invocations with the span ident are
+	 * grouped by trace, others are a group of its own.
+	 *
+	 * @param invocation
+	 *            Invocation
+	 * @return Group key.
+	 */
+	private Object getGroupKey(InvocationSequenceData invocation) {
+		if (null != invocation.getSpanIdent()) {
+			return Long.valueOf(invocation.getSpanIdent().getTraceId());
+		}
+		return invocation;
+	}
+
+	/**
+	 * Gets {@link #retainedCount}.
+	 *
+	 * @return {@link #retainedCount}
+	 */
+	public long getRetainedCount() {
+		return retainedCount.get();
+	}
+
+	/**
+	 * Gets {@link #droppedCount}.
+	 *
+	 * @return {@link #droppedCount}
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * Group of invocations belonging to the same trace.
+	 *
+	 * @author agent
+	 *
+	 */
+	private static class RetentionGroup {
+
+		/**
+		 * Time in milliseconds when first invocation of the group arrived.
+		 */
+		private final long arrivalTime;
+
+		/**
+		 * Invocations of the group.
+		 */
+		private final List<InvocationSequenceData> invocations = new ArrayList<>(1);
+
+		/**
+		 * If at least one invocation is interesting.
+		 */
+		private boolean interesting;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param arrivalTime
+		 *            Time in milliseconds when first invocation of the group arrived.
+		 */
+		RetentionGroup(long arrivalTime) {
+			this.arrivalTime = arrivalTime;
+		}
+
+		/**
+		 * Adds invocation to the group.
+		 *
+		 * @param invocation
+		 *            Invocation
+		 * @param interestingInvocation
+		 *            If invocation is interesting.
+		 */
+		void add(InvocationSequenceData invocation, boolean interestingInvocation) {
+			invocations.add(invocation);
+			interesting |= interestingInvocation;
+		}
+	}
+
+	/**
+	 * Duration baseline of one business transaction.
+	 *
+	 * @author agent
+	 *
+	 */
+	private static class Baseline {
+
+		/**
+		 * Moving average of the duration.
+		 */
+		private double average;
+
+		/**
+		 * Amount of durations seen.
+		 */
+		private long count;
+
+		/**
+		 * Checks if the duration is slow compared to the current baseline and includes the
+		 * duration into the baseline.
+		 *
+		 * @param duration
+		 *            Duration
+		 * @param slowFactor
+		 *            Factor of the baseline above which duration is slow.
+		 * @return If duration is slow. Always <code>false</code> until enough durations are
+		 *         seen.
+		 */
+		synchronized boolean isSlowAndUpdate(double duration, double slowFactor) {
+			boolean slow = (count >= BASELINE_MIN_COUNT) && (duration > (average * slowFactor));
+
+			if (0 == count) {
+				average = duration;
+			} else {
+				average += BASELINE_WEIGHT * (duration - average);
+			}
+			count++;
+
+			return slow;
+		}
+	}
+
+}
@@ -0,0 +1,127 @@
+package rocks.inspectit.server.processor.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.apache.commons.collections.CollectionUtils;
+
+import rocks.inspectit.server.processor.AbstractCmrDataProcessor;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+
+/**
+ * Processor that resolves the SQL texts of the {@link SqlStatementData} based on the id from the
+ * SQL statement dictionary of the agent. The agent registers the SQL texts with a blocking call
+ * before it sends any statement carrying only the id, thus this processor remembers the registered
+ * texts per agent and id and sets them to the statements that carry only the id. The texts are
+ * kept per agent in the {@link AgentTextRegistry}, at least as long as the agent regards them as
+ * registered.
+ * <p>
+ * All statements with the same id get the same string instance, so that the buffer holds the SQL
+ * text only once per agent and id. If the text is not known, the statement gets a placeholder text
+ * containing the id, so that statements with different ids are never aggregated together, and the
+ * agent is asked to register the text again.
+ *
+ * @author agent
+ *
+ */
+public class SqlStatementTextCmrProcessor extends AbstractCmrDataProcessor {
+
+	/**
+	 * Text set to the statements carrying an id that is not known to the processor.
+	 */
+	static final String UNKNOWN_SQL_TEXT = "<SQL text of the statement with id %d is not available>";
+
+	/**
+	 * SQL texts registered by the agents.
+	 */
+	private final AgentTextRegistry sqlTexts = new AgentTextRegistry();
+
+	/**
+	 * Registers the SQL texts of the agent.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param sqlStatements
+	 *            SQL texts mapped by the SQL id.
+	 * @return Ids of the SQL texts the agent has to register again, because the statements
+	 *         carrying only these ids could not be resolved.
+	 */
+	public Collection<Long> registerSqlStatements(long platformIdent, Map<Long, String> sqlStatements) {
+		return sqlTexts.register(platformIdent, sqlStatements);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processData(DefaultData defaultData, EntityManager entityManager) {
+		if (defaultData instanceof InvocationSequenceData) {
+			resolveSqlTexts((InvocationSequenceData) defaultData);
+		} else {
+			resolveSqlText((SqlStatementData) defaultData);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean canBeProcessed(DefaultData defaultData) {
+		return (defaultData instanceof SqlStatementData) || (defaultData instanceof InvocationSequenceData);
+	}
+
+	/**
+	 * Resolves the SQL texts of the invocation and its nested invocations.
+	 *
+	 * @param invocationSequenceData
+	 *            Invocation to process.
+	 */
+	private void resolveSqlTexts(InvocationSequenceData invocationSequenceData) {
+		if (null != invocationSequenceData.getSqlStatementData()) {
+			resolveSqlText(invocationSequenceData.getSqlStatementData());
+		}
+
+		List<InvocationSequenceData> nestedSequences = invocationSequenceData.getNestedSequences();
+		if (CollectionUtils.isNotEmpty(nestedSequences)) {
+			for (InvocationSequenceData nested : nestedSequences) {
+				resolveSqlTexts(nested);
+			}
+		}
+	}
+
+	/**
+	 * Remembers the SQL text of the statement if it's available, or sets the remembered one if the
+	 * statement carries only the id.
+	 *
+	 * @param sqlStatementData
+	 *            Statement to process.
+	 */
+	private void resolveSqlText(SqlStatementData sqlStatementData) {
+		long sqlId = sqlStatementData.getSqlId();
+		if (0L == sqlId) {
+			return;
+		}
+
+		long platformIdent = sqlStatementData.getPlatformIdent();
+		String sql = sqlStatementData.getSql();
+		String known = sqlTexts.get(platformIdent, sqlId);
+		if (null == sql) {
+			if (null != known) {
+				sqlStatementData.setSql(known);
+			} else {
+				sqlStatementData.setSql(String.format(UNKNOWN_SQL_TEXT, sqlId));
+				sqlTexts.reportUnknown(platformIdent, sqlId);
+			}
+		} else if (sql.equals(known)) {
+			sqlStatementData.setSql(known);
+		} else {
+			sqlTexts.put(platformIdent, sqlId, sql);
+		}
+	}
+
+}
@@ -45,6 +45,13 @@ public class KryoNetServerCreator {
 	@Value("${cmr.port}")
 	private int port;
 
+	/**
+	 * Number of selector threads serving the agent connections. If zero all connections are served
+	 * by the server update thread.
+	 */
+	@Value("${cmr.kryonetSelectorThreads}")
+	private int selectorThreads;
+
 	/**
 	 * Serialization manager to provide {@link Kryo} instance.
 	 */
@@ -74,12 +81,12 @@ public class KryoNetServerCreator {
 	public Server createServer() {
 		IExtendedSerialization serialization = new ExtendedSerializationImpl(serializationManagerProvider);
 
-		Server server = new Server(serialization, streamProvider);
+		Server server = new Server(serialization, streamProvider, selectorThreads);
 		server.start();
 
 		try {
 			server.bind(port);
-			log.info("|-Kryonet server successfully started and running on port " + port);
+			log.info("|-Kryonet server successfully started and running on port " + port + " with " + selectorThreads + " selector thread(s)");
 		} catch (IOException e) {
 			throw new BeanInitializationException("Could not bind the kryonet server to the specified port (" + port + ").", e);
 		}
@@ -12,6 +12,8 @@ import org.springframework.stereotype.Service;
 
 import rocks.inspectit.server.instrumentation.NextGenInstrumentationManager;
 import rocks.inspectit.server.messaging.AgentMessageProvider;
+import rocks.inspectit.server.processor.impl.ExceptionStackTraceCmrProcessor;
+import rocks.inspectit.server.processor.impl.SqlStatementTextCmrProcessor;
 import rocks.inspectit.server.spring.aop.MethodLog;
 import rocks.inspectit.shared.all.cmr.service.IAgentService;
 import rocks.inspectit.shared.all.communication.message.IAgentMessage;
@@ -49,6 +51,18 @@ public class AgentService implements IAgentService {
 	@Autowired
 	AgentMessageProvider messageProvider;
 
+	/**
+	 * {@link SqlStatementTextCmrProcessor} holding the SQL texts of the agents.
+	 */
+	@Autowired
+	SqlStatementTextCmrProcessor sqlStatementTextCmrProcessor;
+
+	/**
+	 * {@link ExceptionStackTraceCmrProcessor} holding the stack traces of the agents.
+	 */
+	@Autowired
+	ExceptionStackTraceCmrProcessor exceptionStackTraceCmrProcessor;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -85,6 +99,24 @@ public class AgentService implements IAgentService {
 		nextGenInstrumentationManager.instrumentationApplied(platformId, methodToSensorMap);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public Collection<Long> registerSqlStatements(long platformIdent, Map<Long, String> sqlStatements) {
+		return sqlStatementTextCmrProcessor.registerSqlStatements(platformIdent, sqlStatements);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public Collection<Long> registerStackTraces(long platformIdent, Map<Long, String> stackTraces) {
+		return exceptionStackTraceCmrProcessor.registerStackTraces(platformIdent, stackTraces);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
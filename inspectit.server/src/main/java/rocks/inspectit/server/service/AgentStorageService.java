@@ -1,5 +1,6 @@
 package rocks.inspectit.server.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.PostConstruct;
@@ -15,6 +16,7 @@ import rocks.inspectit.server.util.AgentStatusDataProvider;
 import rocks.inspectit.server.util.Converter;
 import rocks.inspectit.shared.all.cmr.service.IAgentStorageService;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
 import rocks.inspectit.shared.all.spring.logger.Log;
 
 /**
@@ -57,7 +59,7 @@ public class AgentStorageService implements IAgentStorageService {
 				time = System.nanoTime();
 			}
 
-			defaultDataDao.saveAll(dataObjects);
+			defaultDataDao.saveAll(expandCompactData(dataObjects));
 
 			if (log.isDebugEnabled()) {
 				log.debug("Data Objects count: " + dataObjects.size() + " Save duration: " + Converter.nanoToMilliseconds(System.nanoTime() - time));
@@ -65,6 +67,29 @@ public class AgentStorageService implements IAgentStorageService {
 		}
 	}
 
+	/**
+	 * Expands the {@link CompactInvocationSequenceData} objects in the given list to the invocation
+	 * sequences. The compact form is only a wire format, the processors, the buffer and the storage
+	 * deal only with the object model. The given list is returned if it contains no compact data.
+	 *
+	 * @param dataObjects
+	 *            Data objects sent by the agent.
+	 * @return List with the compact data expanded.
+	 */
+	private List<? extends DefaultData> expandCompactData(List<? extends DefaultData> dataObjects) {
+		List<DefaultData> expanded = null;
+		for (int i = 0; i < dataObjects.size(); i++) {
+			DefaultData defaultData = dataObjects.get(i);
+			if (defaultData instanceof CompactInvocationSequenceData) {
+				if (null == expanded) {
+					expanded = new ArrayList<>(dataObjects);
+				}
+				expanded.set(i, ((CompactInvocationSequenceData) defaultData).expand());
+			}
+		}
+		return (null != expanded) ? expanded : dataObjects;
+	}
+
 	/**
 	 * Is executed after dependency injection is done to perform any initialization.
 	 *
@@ -70,6 +70,19 @@ public class ExceptionDataAccessService implements IExceptionDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, long minId, ResultComparator<ExceptionSensorData> resultComparator) {
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(cachedDataService);
+		}
+		List<ExceptionSensorData> result = exceptionSensorDataDao.getUngroupedExceptionOverview(template, limit, minId, resultComparator);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -126,6 +139,16 @@ public class ExceptionDataAccessService implements IExceptionDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, long minId) {
+		List<AggregatedExceptionSensorData> result = exceptionSensorDataDao.getDataForGroupedExceptionOverview(template, minId);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
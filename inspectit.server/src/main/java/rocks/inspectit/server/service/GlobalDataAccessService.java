@@ -18,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import rocks.inspectit.server.dao.DefaultDataDao;
 import rocks.inspectit.server.dao.PlatformIdentDao;
+import rocks.inspectit.server.dao.TextDataDao;
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.spring.aop.MethodLog;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
@@ -29,6 +30,10 @@ import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.enumeration.AgentManagementErrorCodeEnum;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimeBucketAggregator;
 
 /**
  * @author Patrice Bouillet
@@ -54,6 +59,12 @@ public class GlobalDataAccessService implements IGlobalDataAccessService {
 	@Autowired
 	DefaultDataDao defaultDataDao;
 
+	/**
+	 * The text data DAO.
+	 */
+	@Autowired
+	TextDataDao textDataDao;
+
 	/**
 	 * {@link AgentStatusDataProvider}.
 	 */
@@ -180,6 +191,30 @@ public class GlobalDataAccessService implements IGlobalDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	@SuppressWarnings("unchecked")
+	public <E extends DefaultData> List<E> getTemplatesDataObjectsFromToDate(Collection<DefaultData> templates, Date fromDate, Date toDate, long bucketWidth, IAggregator<E> aggregator) {
+		if (bucketWidth <= 0) {
+			return (List<E>) this.getTemplatesDataObjectsFromToDate(templates, fromDate, toDate);
+		}
+		if (fromDate.after(toDate)) {
+			return Collections.emptyList();
+		}
+
+		AggregationPerformer<E> aggregationPerformer = new AggregationPerformer<>(new TimeBucketAggregator<>(aggregator, bucketWidth));
+		for (DefaultData template : templates) {
+			defaultDataDao.aggregateByExampleFromToDate(template, fromDate, toDate, aggregationPerformer);
+		}
+
+		List<E> result = aggregationPerformer.getResultList();
+		Collections.sort(result, DefaultDataComparatorEnum.TIMESTAMP);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -200,6 +235,15 @@ public class GlobalDataAccessService implements IGlobalDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<DefaultData> getDataObjectsContainingText(String text, Long platformId, int limit) {
+		return textDataDao.getDataObjectsContainingText(text, platformId, limit);
+	}
+
 	/**
 	 * Is executed after dependency injection is done to perform any initialization.
 	 *
@@ -1,6 +1,7 @@
 package rocks.inspectit.server.service;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -16,6 +17,10 @@ import rocks.inspectit.server.spring.aop.MethodLog;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IHttpTimerDataAccessService;
+import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.HttpTimerDataAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimeBucketAggregator;
 
 /**
  * This class provides access to the http related data in the CMR.
@@ -60,6 +65,15 @@ public class HttpTimerDataAccessService implements IHttpTimerDataAccessService,
 		return dao.getAggregatedHttpTimerData(httpData, includeRequestMethod, fromDate, toDate);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<HttpTimerData> getAggregatedTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId) {
+		return dao.getAggregatedHttpTimerData(httpData, includeRequestMethod, minId);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -78,11 +92,39 @@ public class HttpTimerDataAccessService implements IHttpTimerDataAccessService,
 		return dao.getTaggedAggregatedHttpTimerData(httpData, includeRequestMethod, fromDate, toDate);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<HttpTimerData> getTaggedAggregatedTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId) {
+		return dao.getTaggedAggregatedHttpTimerData(httpData, includeRequestMethod, minId);
+	}
+
 	@Override
 	public List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag) {
 		return defaultDataDao.getChartingHttpTimerDataFromDateToDate(templates, fromDate, toDate, retrieveByTag);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag, long bucketWidth) {
+		if (bucketWidth <= 0) {
+			return this.getChartingHttpTimerDataFromDateToDate(templates, fromDate, toDate, retrieveByTag);
+		}
+
+		// keep URI (or tag) and request method apart so that the client can map data to the series
+		AggregationPerformer<HttpTimerData> aggregationPerformer = new AggregationPerformer<>(new TimeBucketAggregator<>(new HttpTimerDataAggregator(!retrieveByTag, true), bucketWidth));
+		defaultDataDao.aggregateChartingHttpTimerDataFromDateToDate(templates, fromDate, toDate, retrieveByTag, aggregationPerformer);
+
+		List<HttpTimerData> result = aggregationPerformer.getResultList();
+		Collections.sort(result, DefaultDataComparatorEnum.TIMESTAMP);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -117,6 +117,19 @@ public class InvocationDataAccessService implements IInvocationDataAccessService
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, long minId, ResultComparator<InvocationSequenceData> resultComparator) {
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(cachedDataService);
+		}
+		List<InvocationSequenceData> result = invocationDataDao.getInvocationSequenceOverview(platformId, methodId, limit, minId, resultComparator);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -172,7 +185,7 @@ public class InvocationDataAccessService implements IInvocationDataAccessService
 	 *             If data cannot be retrieved.
 	 */
 	private List<Long> getInvocationSequenceIds(String alertId) throws BusinessException {
-		if (!influxDBDao.isConnected()) {
+		if (!influxDBDao.isAvailable()) {
 			throw new BusinessException("Retrieving invocation sequences for alert with id '" + alertId + "'", AlertErrorCodeEnum.DATABASE_OFFLINE);
 		}
 		Alert alert = alertRegistry.getAlert(alertId);
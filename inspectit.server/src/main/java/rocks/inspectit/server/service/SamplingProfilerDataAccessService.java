@@ -0,0 +1,56 @@
+package rocks.inspectit.server.service;
+
+import java.util.Date;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import rocks.inspectit.server.dao.SamplingProfilerDataDao;
+import rocks.inspectit.server.spring.aop.MethodLog;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.cs.cmr.service.ISamplingProfilerDataAccessService;
+
+/**
+ * This class provides access to the sampling profiler data in the CMR.
+ *
+ * @author agent
+ *
+ */
+@Service
+@Transactional
+public class SamplingProfilerDataAccessService implements ISamplingProfilerDataAccessService, InitializingBean {
+
+	/** The logger of this class. */
+	@Log
+	Logger log;
+
+	/**
+	 * The Dao.
+	 */
+	@Autowired
+	private SamplingProfilerDataDao dao;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public SamplingProfilerData getAggregatedProfile(long platformIdent, Date fromDate, Date toDate) {
+		return dao.getAggregatedProfile(platformIdent, fromDate, toDate);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void afterPropertiesSet() throws Exception {
+		if (log.isInfoEnabled()) {
+			log.info("|-Sampling Profiler Data Access Service active...");
+		}
+	}
+
+}
@@ -46,6 +46,17 @@ public class SpanService implements ISpanService {
 		return spanDao.getRootSpans(limit, fromDate, toDate, resultComparator);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<? extends Span> getRootSpans(int limit, long minId, ResultComparator<AbstractSpan> resultComparator) {
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(cachedDataService);
+		}
+		return spanDao.getRootSpans(limit, minId, resultComparator);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -52,6 +52,16 @@ public class SqlDataAccessService implements ISqlDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, long minId) {
+		List<SqlStatementData> result = sqlDataDao.getAggregatedSqlStatements(sqlStatementData, minId);
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -18,6 +18,8 @@ import org.springframework.transaction.annotation.Transactional;
 import rocks.inspectit.server.dao.StorageDataDao;
 import rocks.inspectit.server.spring.aop.MethodLog;
 import rocks.inspectit.server.storage.CmrStorageManager;
+import rocks.inspectit.server.storage.CmrStorageReader;
+import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.TechnicalException;
@@ -25,7 +27,10 @@ import rocks.inspectit.shared.all.exception.enumeration.StorageErrorCodeEnum;
 import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.all.spring.logger.Log;
 import rocks.inspectit.shared.cs.cmr.service.IStorageService;
+import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.communication.data.cmr.RecordingData;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
 import rocks.inspectit.shared.cs.storage.IStorageData;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageFileType;
@@ -62,6 +67,18 @@ public class StorageService implements IStorageService {
 	@Autowired
 	private StorageDataDao storageLabelDataDao;
 
+	/**
+	 * Storage reader.
+	 */
+	@Autowired
+	private CmrStorageReader storageReader;
+
+	/**
+	 * Cached data service.
+	 */
+	@Autowired
+	private ICachedDataService cachedDataService;
+
 	/**
 	 * Creates the new storage on the CMR with information given in {@link StorageData} object.
 	 *
@@ -673,6 +690,31 @@ public class StorageService implements IStorageService {
 		return storageManager.getCachedStorageDataFileLocation(storageData, hash);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public <E extends DefaultData> List<E> executeStorageQuery(StorageData storageData, StorageIndexQuery storageIndexQuery, IAggregator<E> aggregator, ResultComparator<E> resultComparator,
+			int limit) throws BusinessException {
+		if (!storageManager.isStorageExisting(storageData)) {
+			throw new BusinessException("Execute query for the storage " + storageData + ".", StorageErrorCodeEnum.STORAGE_DOES_NOT_EXIST);
+		}
+		if (!storageManager.isStorageClosed(storageData)) {
+			throw new BusinessException("Execute query for the storage " + storageData + ".", StorageErrorCodeEnum.STORAGE_IS_NOT_CLOSED);
+		}
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(cachedDataService);
+		}
+		try {
+			return storageReader.executeQuery(storageData, storageIndexQuery, aggregator, resultComparator, limit);
+		} catch (SerializationException e) {
+			throw new TechnicalException("Execute query for the storage " + storageData + ".", StorageErrorCodeEnum.SERIALIZATION_FAILED, e);
+		} catch (IOException e) {
+			throw new TechnicalException("Execute query for the storage " + storageData + ".", StorageErrorCodeEnum.INPUT_OUTPUT_OPERATION_FAILED, e);
+		}
+	}
+
 	/**
 	 * Is executed after dependency injection is done to perform any initialization.
 	 *
@@ -46,4 +46,14 @@ public class TimerDataAccessService implements ITimerDataAccessService {
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@MethodLog
+	public List<TimerData> getAggregatedTimerData(TimerData timerData, long minId) {
+		List<TimerData> result = timerDataDao.getAggregatedTimerData(timerData, minId);
+		return result;
+	}
+
 }
@@ -27,12 +27,14 @@ import org.springframework.web.servlet.ModelAndView;
 
 import rocks.inspectit.server.service.rest.error.JsonError;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
 import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
 import rocks.inspectit.shared.all.communication.data.CpuInformationData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.communication.data.MemoryInformationData;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.communication.data.ThreadInformationData;
@@ -309,7 +311,8 @@ public class StorageRestfulService {
 		// data saver
 		List<Class<? extends DefaultData>> classesToSave = new ArrayList<>();
 		Collections.addAll(classesToSave, InvocationSequenceData.class, HttpTimerData.class, ExceptionSensorData.class, MemoryInformationData.class, CpuInformationData.class,
-				ClassLoadingInformationData.class, ThreadInformationData.class, SystemInformationData.class);
+				ClassLoadingInformationData.class, ThreadInformationData.class, SystemInformationData.class, SamplingProfilerData.class,
+				AgentTelemetryData.class);
 		DataSaverProcessor dataSaverProcessor = new DataSaverProcessor(classesToSave, true);
 		normalProcessors.add(dataSaverProcessor);
 
@@ -0,0 +1,322 @@
+package rocks.inspectit.server.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.mutable.MutableObject;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.esotericsoftware.kryo.io.Input;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.serializer.ISerializer;
+import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.all.serializer.util.KryoUtil;
+import rocks.inspectit.shared.all.spring.logger.Log;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
+import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
+import rocks.inspectit.shared.cs.indexing.storage.impl.CombinedStorageBranch;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
+import rocks.inspectit.shared.cs.storage.StorageData;
+import rocks.inspectit.shared.cs.storage.StorageFileType;
+import rocks.inspectit.shared.cs.storage.block.StorageBlockUtil;
+import rocks.inspectit.shared.cs.storage.nio.stream.InputStreamProvider;
+
+/**
+ * Executes the {@link StorageIndexQuery} queries against the storages existing on the CMR. The
+ * indexing trees of the storages are loaded from the disk and kept for the last
+ * {@value #MAX_CACHED_INDEXING_TREES} queried storages. The data is read from the storage files in
+ * batches, so that only elements passing the query restrictions (or the aggregated results) are
+ * kept in memory.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class CmrStorageReader {
+
+	/**
+	 * Max amount of bytes read in one batch. 10MB.
+	 */
+	private static final int MAX_READ_SIZE = 1024 * 1024 * 10;
+
+	/**
+	 * Max amount of storage indexing trees kept in memory.
+	 */
+	private static final int MAX_CACHED_INDEXING_TREES = 5;
+
+	/**
+	 * The log of this class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * CMR storage manager.
+	 */
+	@Autowired
+	CmrStorageManager storageManager;
+
+	/**
+	 * {@link InputStreamProvider}.
+	 */
+	@Autowired
+	InputStreamProvider inputStreamProvider;
+
+	/**
+	 * If storage files should be memory mapped for reading.
+	 */
+	@Value("${storage.mappedRead}")
+	boolean mappedRead;
+
+	/**
+	 * Indexing trees of the storages mapped to the storage id, in the access order.
+	 */
+	private final Map<String, IStorageTreeComponent<DefaultData>> indexingTrees = new LinkedHashMap<String, IStorageTreeComponent<DefaultData>>(16, 0.75f, true) {
+
+		/**
+		 * Generated UID.
+		 */
+		private static final long serialVersionUID = -3287049326487326011L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, IStorageTreeComponent<DefaultData>> eldest) {
+			return size() > MAX_CACHED_INDEXING_TREES;
+		}
+	};
+
+	/**
+	 * Executes the query against the storage. If aggregator is provided, results are aggregated.
+	 * If comparator is provided results are sorted and if limit is provided the results list is
+	 * limited to the given size.
+	 *
+	 * @param <E>
+	 *            Type of the elements.
+	 * @param storageData
+	 *            Storage to query. Storage must exist and be closed.
+	 * @param storageIndexQuery
+	 *            Query.
+	 * @param aggregator
+	 *            {@link IAggregator}, can be <code>null</code>.
+	 * @param comparator
+	 *            Comparator to sort results with, can be <code>null</code>.
+	 * @param limit
+	 *            Limit the number of results by given number. Value <code>-1</code> means no limit.
+	 * @return Results of the query.
+	 * @throws IOException
+	 *             If {@link IOException} occurs during reading of the storage files.
+	 * @throws SerializationException
+	 *             If data can not be deserialized.
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends DefaultData> List<E> executeQuery(StorageData storageData, StorageIndexQuery storageIndexQuery, IAggregator<E> aggregator, Comparator<? super E> comparator, int limit)
+			throws IOException, SerializationException {
+		IStorageTreeComponent<DefaultData> indexingTree = getIndexingTree(storageData);
+		if (null == indexingTree) {
+			return Collections.emptyList();
+		}
+
+		List<IStorageDescriptor> descriptors = indexingTree.query(storageIndexQuery);
+		// sort the descriptors to optimize the number of read operations
+		Collections.sort(descriptors, new Comparator<IStorageDescriptor>() {
+			@Override
+			public int compare(IStorageDescriptor o1, IStorageDescriptor o2) {
+				int channelCompare = Integer.compare(o1.getChannelId(), o2.getChannelId());
+				if (channelCompare != 0) {
+					return channelCompare;
+				} else {
+					return Long.compare(o1.getPosition(), o2.getPosition());
+				}
+			}
+		});
+
+		AggregationPerformer<E> aggregationPerformer = null;
+		if (null != aggregator) {
+			aggregationPerformer = new AggregationPerformer<>(aggregator);
+		}
+		List<E> returnList = new ArrayList<>();
+
+		ISerializer serializer = storageManager.getSerializationManagerProvider().createSerializer();
+		long size = 0;
+		List<IStorageDescriptor> batchDescriptors = new ArrayList<>();
+		for (int i = 0; i < descriptors.size(); i++) {
+			IStorageDescriptor storageDescriptor = descriptors.get(i);
+			// objects written in the same block share the descriptor, the block is read only once
+			if ((i == 0) || !isSameBlock(descriptors.get(i - 1), storageDescriptor)) {
+				size += storageDescriptor.getSize();
+				batchDescriptors.add(storageDescriptor);
+			}
+
+			// if the size is already to big, or we reached end do read
+			if (!batchDescriptors.isEmpty() && ((size > MAX_READ_SIZE) || (i == (descriptors.size() - 1)))) {
+				List<E> passedData = new ArrayList<>();
+				Input input = null;
+				try {
+					InputStream inputStream;
+					if (mappedRead) {
+						inputStream = inputStreamProvider.getMappedByteBufferInputStream(storageData, batchDescriptors);
+					} else {
+						inputStream = inputStreamProvider.getExtendedByteBufferInputStream(storageData, batchDescriptors);
+					}
+					input = new Input(inputStream);
+					while (KryoUtil.hasMoreBytes(input)) {
+						for (Object object : StorageBlockUtil.deserialize(serializer, input)) {
+							E element = (E) object;
+							if ((null != element) && storageIndexQuery.isIdComplied(element.getId()) && element.isQueryComplied(storageIndexQuery)) {
+								passedData.add(element);
+							}
+						}
+					}
+				} finally {
+					if (null != input) {
+						input.close();
+					}
+				}
+
+				// if we need to aggregate then do so, otherwise just add to result list
+				if (null != aggregationPerformer) {
+					aggregationPerformer.processCollection(passedData);
+				} else {
+					returnList.addAll(passedData);
+				}
+
+				size = 0;
+				batchDescriptors = new ArrayList<>();
+			}
+		}
+
+		if (null != aggregationPerformer) {
+			returnList = aggregationPerformer.getResultList();
+		}
+
+		if (null != comparator) {
+			Collections.sort(returnList, comparator);
+		}
+
+		if ((limit > -1) && (returnList.size() > limit)) {
+			returnList = new ArrayList<>(returnList.subList(0, limit));
+		}
+
+		return returnList;
+	}
+
+	/**
+	 * Returns if two descriptors point to the same block of data.
+	 *
+	 * @param descriptor
+	 *            First descriptor.
+	 * @param other
+	 *            Second descriptor.
+	 * @return <code>true</code> if channel, position and size are same
+	 */
+	private boolean isSameBlock(IStorageDescriptor descriptor, IStorageDescriptor other) {
+		return (descriptor.getChannelId() == other.getChannelId()) && (descriptor.getPosition() == other.getPosition()) && (descriptor.getSize() == other.getSize());
+	}
+
+	/**
+	 * Returns the indexing tree of the storage. Loads the tree from the disk if it's not already
+	 * cached.
+	 *
+	 * @param storageData
+	 *            Storage.
+	 * @return Indexing tree or <code>null</code> if the storage has no index files.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 * @throws SerializationException
+	 *             If indexing tree can not be deserialized.
+	 */
+	private IStorageTreeComponent<DefaultData> getIndexingTree(StorageData storageData) throws IOException, SerializationException {
+		synchronized (indexingTrees) {
+			IStorageTreeComponent<DefaultData> indexingTree = indexingTrees.get(storageData.getId());
+			if (null != indexingTree) {
+				return indexingTree;
+			}
+		}
+
+		IStorageTreeComponent<DefaultData> indexingTree = loadIndexingTree(storageData);
+		if (null != indexingTree) {
+			synchronized (indexingTrees) {
+				indexingTrees.put(storageData.getId(), indexingTree);
+			}
+		}
+		return indexingTree;
+	}
+
+	/**
+	 * Loads all the index files of the storage from the disk.
+	 *
+	 * @param storageData
+	 *            Storage.
+	 * @return Indexing tree or <code>null</code> if the storage has no index files.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 * @throws SerializationException
+	 *             If indexing tree can not be deserialized.
+	 */
+	@SuppressWarnings("unchecked")
+	private IStorageTreeComponent<DefaultData> loadIndexingTree(StorageData storageData) throws IOException, SerializationException {
+		Path storagePath = storageManager.getStoragePath(storageData);
+		if (!Files.isDirectory(storagePath)) {
+			return null;
+		}
+
+		final ISerializer serializer = storageManager.getSerializationManagerProvider().createSerializer();
+		final MutableObject mutableException = new MutableObject();
+		final List<IStorageTreeComponent<DefaultData>> trees = new ArrayList<>();
+		Files.walkFileTree(storagePath, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				if (file.toString().endsWith(StorageFileType.INDEX_FILE.getExtension())) {
+					Input input = null;
+					try {
+						input = new Input(Files.newInputStream(file, StandardOpenOption.READ));
+						trees.add((IStorageTreeComponent<DefaultData>) serializer.deserialize(input));
+					} catch (SerializationException e) {
+						mutableException.setValue(e);
+						return FileVisitResult.TERMINATE;
+					} finally {
+						if (null != input) {
+							input.close();
+						}
+					}
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+
+		SerializationException serializationException = (SerializationException) mutableException.getValue();
+		if (null != serializationException) {
+			throw serializationException;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Loaded " + trees.size() + " indexing tree(s) of the storage " + storageData + ".");
+		}
+
+		if (trees.isEmpty()) {
+			return null;
+		} else if (trees.size() == 1) {
+			return trees.get(0);
+		} else {
+			return new CombinedStorageBranch<>(trees);
+		}
+	}
+
+}
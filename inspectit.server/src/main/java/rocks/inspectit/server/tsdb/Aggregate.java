@@ -0,0 +1,168 @@
+package rocks.inspectit.server.tsdb;
+
+/**
+ * Mergeable aggregate of values, used for rollups and for aggregating query results.
+ *
+ * @author agent
+ *
+ */
+public class Aggregate {
+
+	/**
+	 * Column holding the min value in rollup points.
+	 */
+	public static final int COLUMN_MIN = 0;
+
+	/**
+	 * Column holding the max value in rollup points.
+	 */
+	public static final int COLUMN_MAX = 1;
+
+	/**
+	 * Column holding the sum in rollup points.
+	 */
+	public static final int COLUMN_SUM = 2;
+
+	/**
+	 * Column holding the count in rollup points.
+	 */
+	public static final int COLUMN_COUNT = 3;
+
+	/**
+	 * Amount of columns in rollup points.
+	 */
+	public static final int COLUMNS = 4;
+
+	/**
+	 * Min value.
+	 */
+	private double min = Double.POSITIVE_INFINITY;
+
+	/**
+	 * Max value.
+	 */
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Sum.
+	 */
+	private double sum;
+
+	/**
+	 * Count.
+	 */
+	private long count;
+
+	/**
+	 * Adds one value.
+	 *
+	 * @param value
+	 *            Value.
+	 */
+	public void add(double value) {
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+		sum += value;
+		count++;
+	}
+
+	/**
+	 * Merges the aggregate written as rollup point columns.
+	 *
+	 * @param pointBuffer
+	 *            Buffer with rollup points.
+	 * @param index
+	 *            Index of the point.
+	 */
+	public void merge(PointBuffer pointBuffer, int index) {
+		long otherCount = (long) Double.longBitsToDouble(pointBuffer.getValue(COLUMN_COUNT, index));
+		if (otherCount <= 0) {
+			return;
+		}
+		min = Math.min(min, Double.longBitsToDouble(pointBuffer.getValue(COLUMN_MIN, index)));
+		max = Math.max(max, Double.longBitsToDouble(pointBuffer.getValue(COLUMN_MAX, index)));
+		sum += Double.longBitsToDouble(pointBuffer.getValue(COLUMN_SUM, index));
+		count += otherCount;
+	}
+
+	/**
+	 * Returns the aggregate as bits of the rollup point columns.
+	 *
+	 * @return Column values.
+	 */
+	public long[] toColumns() {
+		long[] columns = new long[COLUMNS];
+		columns[COLUMN_MIN] = Double.doubleToLongBits(min);
+		columns[COLUMN_MAX] = Double.doubleToLongBits(max);
+		columns[COLUMN_SUM] = Double.doubleToLongBits(sum);
+		columns[COLUMN_COUNT] = Double.doubleToLongBits(count);
+		return columns;
+	}
+
+	/**
+	 * Returns the value of the aggregate function.
+	 *
+	 * @param function
+	 *            Function.
+	 * @return Value or <code>null</code> if aggregate is empty.
+	 */
+	public Number getValue(AggregateFunction function) {
+		if (count == 0) {
+			return null;
+		}
+		switch (function) {
+		case MIN:
+			return Double.valueOf(min);
+		case MAX:
+			return Double.valueOf(max);
+		case SUM:
+			return Double.valueOf(sum);
+		case COUNT:
+			return Long.valueOf(count);
+		case MEAN:
+		default:
+			return Double.valueOf(sum / count);
+		}
+	}
+
+	/**
+	 * Gets {@link #count}.
+	 *
+	 * @return {@link #count}
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Aggregate functions supported in the queries.
+	 */
+	public enum AggregateFunction {
+
+		/**
+		 * Min value.
+		 */
+		MIN,
+
+		/**
+		 * Max value.
+		 */
+		MAX,
+
+		/**
+		 * Mean value.
+		 */
+		MEAN,
+
+		/**
+		 * Sum of values.
+		 */
+		SUM,
+
+		/**
+		 * Count of values.
+		 */
+		COUNT;
+	}
+
+}
@@ -0,0 +1,61 @@
+package rocks.inspectit.server.tsdb;
+
+/**
+ * Reads bits written by the {@link BitOutput}.
+ *
+ * @author agent
+ *
+ */
+class BitInput {
+
+	/**
+	 * Buffer.
+	 */
+	private final byte[] buffer;
+
+	/**
+	 * Amount of bits read.
+	 */
+	private long bitPosition;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param buffer
+	 *            Bytes to read from.
+	 */
+	BitInput(byte[] buffer) {
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Reads one bit.
+	 *
+	 * @return <code>true</code> for 1, <code>false</code> for 0.
+	 */
+	boolean readBit() {
+		int index = (int) (bitPosition >>> 3);
+		if (index >= buffer.length) {
+			throw new IllegalStateException("Reading over the end of the bit input.");
+		}
+		boolean bit = ((buffer[index] >>> (7 - (int) (bitPosition & 7))) & 1) != 0;
+		bitPosition++;
+		return bit;
+	}
+
+	/**
+	 * Reads the given amount of bits.
+	 *
+	 * @param bits
+	 *            Amount of bits to read, from 0 to 64.
+	 * @return Value with read bits as the lowest ones.
+	 */
+	long readBits(int bits) {
+		long value = 0;
+		for (int i = 0; i < bits; i++) {
+			value = (value << 1) | (readBit() ? 1L : 0L);
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,90 @@
+package rocks.inspectit.server.tsdb;
+
+import java.util.Arrays;
+
+/**
+ * Growing output that writes single bits or groups of bits to a byte array. Bits are written from
+ * the most significant to the least significant one.
+ *
+ * @author agent
+ *
+ */
+class BitOutput {
+
+	/**
+	 * Buffer.
+	 */
+	private byte[] buffer;
+
+	/**
+	 * Amount of bits written.
+	 */
+	private long bitPosition;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param initialCapacity
+	 *            Initial capacity in bytes.
+	 */
+	BitOutput(int initialCapacity) {
+		this.buffer = new byte[Math.max(8, initialCapacity)];
+	}
+
+	/**
+	 * Writes one bit.
+	 *
+	 * @param bit
+	 *            <code>true</code> for 1, <code>false</code> for 0.
+	 */
+	void writeBit(boolean bit) {
+		ensureCapacity(1);
+		if (bit) {
+			int index = (int) (bitPosition >>> 3);
+			buffer[index] |= 1 << (7 - (int) (bitPosition & 7));
+		}
+		bitPosition++;
+	}
+
+	/**
+	 * Writes given amount of the lowest bits of the value.
+	 *
+	 * @param value
+	 *            Value to write.
+	 * @param bits
+	 *            Amount of bits to write, from 0 to 64.
+	 */
+	void writeBits(long value, int bits) {
+		ensureCapacity(bits);
+		for (int i = bits - 1; i >= 0; i--) {
+			if (((value >>> i) & 1L) != 0) {
+				int index = (int) (bitPosition >>> 3);
+				buffer[index] |= 1 << (7 - (int) (bitPosition & 7));
+			}
+			bitPosition++;
+		}
+	}
+
+	/**
+	 * Returns the written bytes. Last byte is padded with zeros.
+	 *
+	 * @return Written bytes.
+	 */
+	byte[] toByteArray() {
+		return Arrays.copyOf(buffer, (int) ((bitPosition + 7) >>> 3));
+	}
+
+	/**
+	 * Ensures that given amount of bits can be written.
+	 *
+	 * @param bits
+	 *            Amount of bits.
+	 */
+	private void ensureCapacity(int bits) {
+		long neededBytes = (bitPosition + bits + 7) >>> 3;
+		if (neededBytes > buffer.length) {
+			buffer = Arrays.copyOf(buffer, (int) Math.max(neededBytes, buffer.length * 2L));
+		}
+	}
+
+}
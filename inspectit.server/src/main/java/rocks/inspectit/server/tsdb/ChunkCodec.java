@@ -0,0 +1,185 @@
+package rocks.inspectit.server.tsdb;
+
+/**
+ * Compresses the points of one series chunk. The chunk is written column by column. Time stamps
+ * are encoded as the delta of the deltas between consecutive points and each value column with the
+ * XOR of the consecutive values, so that regular intervals and slowly changing values need only a
+ * few bits per point.
+ *
+ * @author agent
+ *
+ */
+public final class ChunkCodec {
+
+	/**
+	 * Private constructor.
+	 */
+	private ChunkCodec() {
+	}
+
+	/**
+	 * Encodes all points of the buffer. Buffer must be sorted by time.
+	 *
+	 * @param pointBuffer
+	 *            Points to encode.
+	 * @return Encoded bytes.
+	 */
+	public static byte[] encode(PointBuffer pointBuffer) {
+		int size = pointBuffer.size();
+		BitOutput output = new BitOutput(16 + (size * (1 + pointBuffer.getColumnCount())));
+		if (size == 0) {
+			return output.toByteArray();
+		}
+
+		// time stamps
+		long[] times = pointBuffer.getTimes();
+		output.writeBits(times[0], 64);
+		long previousDelta = 0;
+		for (int i = 1; i < size; i++) {
+			long delta = times[i] - times[i - 1];
+			writeDeltaOfDelta(output, delta - previousDelta);
+			previousDelta = delta;
+		}
+
+		// values
+		for (long[] column : pointBuffer.getColumns()) {
+			output.writeBits(column[0], 64);
+			int previousLeading = -1;
+			int previousTrailing = 0;
+			for (int i = 1; i < size; i++) {
+				long xor = column[i] ^ column[i - 1];
+				if (xor == 0) {
+					output.writeBit(false);
+					continue;
+				}
+				output.writeBit(true);
+
+				int leading = Long.numberOfLeadingZeros(xor);
+				int trailing = Long.numberOfTrailingZeros(xor);
+				if ((previousLeading >= 0) && (leading >= previousLeading) && (trailing >= previousTrailing)) {
+					// meaningful bits fit into the previous window
+					output.writeBit(false);
+					output.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+				} else {
+					int significant = 64 - leading - trailing;
+					output.writeBit(true);
+					output.writeBits(leading, 6);
+					output.writeBits(significant - 1, 6);
+					output.writeBits(xor >>> trailing, significant);
+					previousLeading = leading;
+					previousTrailing = trailing;
+				}
+			}
+		}
+		return output.toByteArray();
+	}
+
+	/**
+	 * Decodes the points.
+	 *
+	 * @param data
+	 *            Encoded bytes.
+	 * @param count
+	 *            Amount of encoded points.
+	 * @param columnCount
+	 *            Amount of value columns.
+	 * @return Decoded points.
+	 */
+	public static PointBuffer decode(byte[] data, int count, int columnCount) {
+		PointBuffer pointBuffer = new PointBuffer(columnCount, count);
+		if (count == 0) {
+			return pointBuffer;
+		}
+
+		BitInput input = new BitInput(data);
+		long[] times = new long[count];
+		times[0] = input.readBits(64);
+		long previousDelta = 0;
+		for (int i = 1; i < count; i++) {
+			long delta = previousDelta + readDeltaOfDelta(input);
+			times[i] = times[i - 1] + delta;
+			previousDelta = delta;
+		}
+
+		long[][] columns = new long[columnCount][count];
+		for (long[] column : columns) {
+			column[0] = input.readBits(64);
+			int previousLeading = 0;
+			int previousTrailing = 0;
+			for (int i = 1; i < count; i++) {
+				if (!input.readBit()) {
+					column[i] = column[i - 1];
+					continue;
+				}
+
+				if (input.readBit()) {
+					previousLeading = (int) input.readBits(6);
+					int significant = (int) input.readBits(6) + 1;
+					previousTrailing = 64 - previousLeading - significant;
+				}
+				long xor = input.readBits(64 - previousLeading - previousTrailing) << previousTrailing;
+				column[i] = column[i - 1] ^ xor;
+			}
+		}
+
+		long[] values = new long[columnCount];
+		for (int i = 0; i < count; i++) {
+			for (int j = 0; j < columnCount; j++) {
+				values[j] = columns[j][i];
+			}
+			pointBuffer.add(times[i], values);
+		}
+		return pointBuffer;
+	}
+
+	/**
+	 * Writes delta of delta as zig-zag value with a prefix defining the amount of following bits.
+	 *
+	 * @param output
+	 *            Output.
+	 * @param deltaOfDelta
+	 *            Value to write.
+	 */
+	private static void writeDeltaOfDelta(BitOutput output, long deltaOfDelta) {
+		long zigZag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+		if (zigZag == 0) {
+			output.writeBit(false);
+		} else if ((zigZag >>> 7) == 0) {
+			output.writeBits(0b10, 2);
+			output.writeBits(zigZag, 7);
+		} else if ((zigZag >>> 12) == 0) {
+			output.writeBits(0b110, 3);
+			output.writeBits(zigZag, 12);
+		} else if ((zigZag >>> 20) == 0) {
+			output.writeBits(0b1110, 4);
+			output.writeBits(zigZag, 20);
+		} else {
+			output.writeBits(0b1111, 4);
+			output.writeBits(zigZag, 64);
+		}
+	}
+
+	/**
+	 * Reads the value written with {@link #writeDeltaOfDelta(BitOutput, long)}.
+	 *
+	 * @param input
+	 *            Input.
+	 * @return Delta of delta.
+	 */
+	private static long readDeltaOfDelta(BitInput input) {
+		long zigZag;
+		if (!input.readBit()) {
+			zigZag = 0;
+		} else if (!input.readBit()) {
+			zigZag = input.readBits(7);
+		} else if (!input.readBit()) {
+			zigZag = input.readBits(12);
+		} else if (!input.readBit()) {
+			zigZag = input.readBits(20);
+		} else {
+			zigZag = input.readBits(64);
+		}
+		return (zigZag >>> 1) ^ -(zigZag & 1);
+	}
+
+}
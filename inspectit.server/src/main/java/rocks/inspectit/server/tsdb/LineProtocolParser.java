@@ -0,0 +1,270 @@
+package rocks.inspectit.server.tsdb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses one point written in the influx line protocol, as created by the
+ * {@link org.influxdb.dto.Point#lineProtocol()}. Format is
+ * <code>measurement[,tag=value...] field=value[,field=value...] [timestamp]</code>, where time
+ * stamp is in nanoseconds.
+ *
+ * @author agent
+ *
+ */
+public final class LineProtocolParser {
+
+	/**
+	 * Private constructor.
+	 */
+	private LineProtocolParser() {
+	}
+
+	/**
+	 * Parses the line.
+	 *
+	 * @param line
+	 *            Line to parse.
+	 * @param defaultTime
+	 *            Time in milliseconds to use if line has no time stamp.
+	 * @return Parsed point.
+	 * @throws IllegalArgumentException
+	 *             If line is not in the line protocol format.
+	 */
+	public static ParsedPoint parse(String line, long defaultTime) throws IllegalArgumentException {
+		List<String> sections = split(line, ' ', true);
+		if ((sections.size() < 2) || (sections.size() > 3)) {
+			throw new IllegalArgumentException("Line '" + line + "' is not in the line protocol format.");
+		}
+
+		// measurement and tags
+		List<String> series = split(sections.get(0), ',', false);
+		String measurement = unescape(series.get(0));
+		if (measurement.isEmpty()) {
+			throw new IllegalArgumentException("Line '" + line + "' has no measurement.");
+		}
+		Map<String, String> tags = new HashMap<>();
+		for (int i = 1; i < series.size(); i++) {
+			String[] keyValue = splitKeyValue(series.get(i), line);
+			tags.put(unescape(keyValue[0]), unescape(keyValue[1]));
+		}
+
+		// fields
+		Map<String, Object> fields = new LinkedHashMap<>();
+		for (String field : split(sections.get(1), ',', true)) {
+			String[] keyValue = splitKeyValue(field, line);
+			fields.put(unescape(keyValue[0]), parseFieldValue(keyValue[1], line));
+		}
+
+		// time
+		long time = defaultTime;
+		if (sections.size() == 3) {
+			try {
+				time = TimeUnit.NANOSECONDS.toMillis(Long.parseLong(sections.get(2)));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Line '" + line + "' has invalid time stamp.", e);
+			}
+		}
+
+		return new ParsedPoint(measurement, tags, fields, time);
+	}
+
+	/**
+	 * Parses the field value.
+	 *
+	 * @param value
+	 *            Value as in line.
+	 * @param line
+	 *            Complete line for the error reporting.
+	 * @return String, Long, Double or Boolean.
+	 */
+	private static Object parseFieldValue(String value, String line) {
+		if (value.isEmpty()) {
+			throw new IllegalArgumentException("Line '" + line + "' has field with empty value.");
+		}
+		if (value.charAt(0) == '"') {
+			if ((value.length() < 2) || (value.charAt(value.length() - 1) != '"')) {
+				throw new IllegalArgumentException("Line '" + line + "' has not terminated string value.");
+			}
+			return unescape(value.substring(1, value.length() - 1));
+		}
+		if ("t".equals(value) || "true".equalsIgnoreCase(value)) {
+			return Boolean.TRUE;
+		}
+		if ("f".equals(value) || "false".equalsIgnoreCase(value)) {
+			return Boolean.FALSE;
+		}
+		try {
+			if (value.charAt(value.length() - 1) == 'i') {
+				return Long.valueOf(value.substring(0, value.length() - 1));
+			}
+			return Double.valueOf(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Line '" + line + "' has invalid field value " + value + ".", e);
+		}
+	}
+
+	/**
+	 * Splits the key=value pair on the first not escaped equal sign.
+	 *
+	 * @param pair
+	 *            Pair.
+	 * @param line
+	 *            Complete line for the error reporting.
+	 * @return Array with key and value.
+	 */
+	private static String[] splitKeyValue(String pair, String line) {
+		for (int i = 0; i < pair.length(); i++) {
+			char c = pair.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (c == '=') {
+				if (i == 0) {
+					break;
+				}
+				return new String[] { pair.substring(0, i), pair.substring(i + 1) };
+			}
+		}
+		throw new IllegalArgumentException("Line '" + line + "' has invalid key value pair " + pair + ".");
+	}
+
+	/**
+	 * Splits the string on the not escaped separator.
+	 *
+	 * @param string
+	 *            String to split.
+	 * @param separator
+	 *            Separator char.
+	 * @param respectQuotes
+	 *            If separator in the double quotes should be ignored.
+	 * @return Parts, escapes are kept.
+	 */
+	private static List<String> split(String string, char separator, boolean respectQuotes) {
+		List<String> parts = new ArrayList<>();
+		boolean quoted = false;
+		int start = 0;
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (respectQuotes && (c == '"')) {
+				quoted = !quoted;
+			} else if ((c == separator) && !quoted) {
+				parts.add(string.substring(start, i));
+				start = i + 1;
+			}
+		}
+		parts.add(string.substring(start));
+		return parts;
+	}
+
+	/**
+	 * Removes the backslash escapes.
+	 *
+	 * @param string
+	 *            String.
+	 * @return Unescaped string.
+	 */
+	private static String unescape(String string) {
+		if (string.indexOf('\\') < 0) {
+			return string;
+		}
+		StringBuilder builder = new StringBuilder(string.length());
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if ((c == '\\') && ((i + 1) < string.length())) {
+				i++;
+				c = string.charAt(i);
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Result of the parsing.
+	 */
+	public static class ParsedPoint {
+
+		/**
+		 * Measurement.
+		 */
+		private final String measurement;
+
+		/**
+		 * Tags.
+		 */
+		private final Map<String, String> tags;
+
+		/**
+		 * Fields in the order of the line.
+		 */
+		private final Map<String, Object> fields;
+
+		/**
+		 * Time in milliseconds.
+		 */
+		private final long time;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param measurement
+		 *            Measurement.
+		 * @param tags
+		 *            Tags.
+		 * @param fields
+		 *            Fields in the order of the line.
+		 * @param time
+		 *            Time in milliseconds.
+		 */
+		ParsedPoint(String measurement, Map<String, String> tags, Map<String, Object> fields, long time) {
+			this.measurement = measurement;
+			this.tags = tags;
+			this.fields = fields;
+			this.time = time;
+		}
+
+		/**
+		 * Gets {@link #measurement}.
+		 *
+		 * @return {@link #measurement}
+		 */
+		public String getMeasurement() {
+			return measurement;
+		}
+
+		/**
+		 * Gets {@link #tags}.
+		 *
+		 * @return {@link #tags}
+		 */
+		public Map<String, String> getTags() {
+			return tags;
+		}
+
+		/**
+		 * Gets {@link #fields}.
+		 *
+		 * @return {@link #fields}
+		 */
+		public Map<String, Object> getFields() {
+			return fields;
+		}
+
+		/**
+		 * Gets {@link #time}.
+		 *
+		 * @return {@link #time}
+		 */
+		public long getTime() {
+			return time;
+		}
+
+	}
+
+}
@@ -0,0 +1,207 @@
+package rocks.inspectit.server.tsdb;
+
+import java.util.Arrays;
+
+/**
+ * Growing columnar buffer of points. Each point has a time stamp and fixed amount of value
+ * columns, where values are kept as raw 64 bits (long value or double bits).
+ *
+ * @author agent
+ *
+ */
+public class PointBuffer {
+
+	/**
+	 * Initial capacity.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Time stamps in milliseconds.
+	 */
+	private long[] times;
+
+	/**
+	 * Value columns.
+	 */
+	private long[][] columns;
+
+	/**
+	 * Amount of points.
+	 */
+	private int size;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param columnCount
+	 *            Amount of value columns.
+	 */
+	public PointBuffer(int columnCount) {
+		this(columnCount, INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Constructor with capacity.
+	 *
+	 * @param columnCount
+	 *            Amount of value columns.
+	 * @param capacity
+	 *            Initial capacity.
+	 */
+	public PointBuffer(int columnCount, int capacity) {
+		int initialCapacity = Math.max(1, capacity);
+		this.times = new long[initialCapacity];
+		this.columns = new long[columnCount][initialCapacity];
+	}
+
+	/**
+	 * Adds one point.
+	 *
+	 * @param time
+	 *            Time stamp in milliseconds.
+	 * @param values
+	 *            Value bits, one for each column.
+	 */
+	public void add(long time, long... values) {
+		if (size == times.length) {
+			int newCapacity = times.length * 2;
+			times = Arrays.copyOf(times, newCapacity);
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = Arrays.copyOf(columns[i], newCapacity);
+			}
+		}
+		times[size] = time;
+		for (int i = 0; i < columns.length; i++) {
+			columns[i][size] = values[i];
+		}
+		size++;
+	}
+
+	/**
+	 * Adds all points of the other buffer that are in the given time range.
+	 *
+	 * @param other
+	 *            Buffer to copy points from. Must have same amount of columns.
+	 * @param fromTime
+	 *            Including start of the range.
+	 * @param toTime
+	 *            Including end of the range.
+	 */
+	public void addAll(PointBuffer other, long fromTime, long toTime) {
+		long[] values = new long[columns.length];
+		for (int i = 0; i < other.size; i++) {
+			long time = other.times[i];
+			if ((time >= fromTime) && (time <= toTime)) {
+				for (int j = 0; j < values.length; j++) {
+					values[j] = other.columns[j][i];
+				}
+				add(time, values);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the points by time. Sort is stable, thus points with same time stamp keep their order.
+	 */
+	public void sortByTime() {
+		boolean sorted = true;
+		for (int i = 1; i < size; i++) {
+			if (times[i - 1] > times[i]) {
+				sorted = false;
+				break;
+			}
+		}
+		if (sorted) {
+			return;
+		}
+
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, (o1, o2) -> Long.compare(times[o1.intValue()], times[o2.intValue()]));
+
+		long[] sortedTimes = new long[times.length];
+		long[][] sortedColumns = new long[columns.length][times.length];
+		for (int i = 0; i < size; i++) {
+			int index = order[i].intValue();
+			sortedTimes[i] = times[index];
+			for (int j = 0; j < columns.length; j++) {
+				sortedColumns[j][i] = columns[j][index];
+			}
+		}
+		times = sortedTimes;
+		columns = sortedColumns;
+	}
+
+	/**
+	 * Returns the time of the point.
+	 *
+	 * @param index
+	 *            Point index.
+	 * @return Time stamp in milliseconds.
+	 */
+	public long getTime(int index) {
+		return times[index];
+	}
+
+	/**
+	 * Returns the value bits of the point.
+	 *
+	 * @param column
+	 *            Column index.
+	 * @param index
+	 *            Point index.
+	 * @return Value bits.
+	 */
+	public long getValue(int column, int index) {
+		return columns[column][index];
+	}
+
+	/**
+	 * Gets {@link #size}.
+	 *
+	 * @return {@link #size}
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns if the buffer is empty.
+	 *
+	 * @return <code>true</code> if there are no points.
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * Returns the amount of value columns.
+	 *
+	 * @return Amount of value columns.
+	 */
+	public int getColumnCount() {
+		return columns.length;
+	}
+
+	/**
+	 * Gets {@link #times}. Array can be longer than {@link #size()}.
+	 *
+	 * @return {@link #times}
+	 */
+	long[] getTimes() {
+		return times;
+	}
+
+	/**
+	 * Gets {@link #columns}. Arrays can be longer than {@link #size()}.
+	 *
+	 * @return {@link #columns}
+	 */
+	long[][] getColumns() {
+		return columns;
+	}
+
+}
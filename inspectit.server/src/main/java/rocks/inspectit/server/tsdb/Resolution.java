@@ -0,0 +1,132 @@
+package rocks.inspectit.server.tsdb;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolutions in which the time-series store keeps the data. Raw resolution keeps every point,
+ * while rollup resolutions keep one {@link Aggregate} per series and time bucket.
+ *
+ * @author agent
+ *
+ */
+public enum Resolution {
+
+	/**
+	 * Raw points, window files span one hour.
+	 */
+	RAW("raw", 0L, TimeUnit.HOURS.toMillis(1)),
+
+	/**
+	 * One minute rollups, window files span one day.
+	 */
+	ONE_MINUTE("1m", TimeUnit.MINUTES.toMillis(1), TimeUnit.DAYS.toMillis(1)),
+
+	/**
+	 * Ten minutes rollups, window files span one week.
+	 */
+	TEN_MINUTES("10m", TimeUnit.MINUTES.toMillis(10), TimeUnit.DAYS.toMillis(7)),
+
+	/**
+	 * One hour rollups, window files span 30 days.
+	 */
+	ONE_HOUR("1h", TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(30));
+
+	/**
+	 * Name of the directory holding the window files.
+	 */
+	private final String directoryName;
+
+	/**
+	 * Size of the rollup bucket in milliseconds or 0 for raw resolution.
+	 */
+	private final long bucketMillis;
+
+	/**
+	 * Time span of one window file in milliseconds.
+	 */
+	private final long windowMillis;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param directoryName
+	 *            Name of the directory holding the window files.
+	 * @param bucketMillis
+	 *            Size of the rollup bucket in milliseconds or 0 for raw resolution.
+	 * @param windowMillis
+	 *            Time span of one window file in milliseconds.
+	 */
+	Resolution(String directoryName, long bucketMillis, long windowMillis) {
+		this.directoryName = directoryName;
+		this.bucketMillis = bucketMillis;
+		this.windowMillis = windowMillis;
+	}
+
+	/**
+	 * Returns if this is a rollup resolution.
+	 *
+	 * @return Returns if this is a rollup resolution.
+	 */
+	public boolean isRollup() {
+		return bucketMillis > 0;
+	}
+
+	/**
+	 * Returns amount of value columns points have in this resolution.
+	 *
+	 * @return Amount of value columns.
+	 */
+	public int getColumnCount() {
+		return isRollup() ? Aggregate.COLUMNS : 1;
+	}
+
+	/**
+	 * Returns start of the bucket given time belongs to. Only for rollup resolutions.
+	 *
+	 * @param time
+	 *            Time in milliseconds.
+	 * @return Bucket start time.
+	 */
+	public long getBucketStart(long time) {
+		return time - Math.floorMod(time, bucketMillis);
+	}
+
+	/**
+	 * Returns start of the window file given time belongs to.
+	 *
+	 * @param time
+	 *            Time in milliseconds.
+	 * @return Window start time.
+	 */
+	public long getWindowStart(long time) {
+		return time - Math.floorMod(time, windowMillis);
+	}
+
+	/**
+	 * Gets {@link #directoryName}.
+	 *
+	 * @return {@link #directoryName}
+	 */
+	public String getDirectoryName() {
+		return directoryName;
+	}
+
+	/**
+	 * Gets {@link #bucketMillis}.
+	 *
+	 * @return {@link #bucketMillis}
+	 */
+	public long getBucketMillis() {
+		return bucketMillis;
+	}
+
+	/**
+	 * Gets {@link #windowMillis}.
+	 *
+	 * @return {@link #windowMillis}
+	 */
+	public long getWindowMillis() {
+		return windowMillis;
+	}
+
+}
@@ -0,0 +1,146 @@
+package rocks.inspectit.server.tsdb;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identifies one series in the time-series store. Every field of a measurement with a specific set
+ * of tags is a separate series, thus the data is stored column-wise.
+ *
+ * @author agent
+ *
+ */
+public class SeriesKey {
+
+	/**
+	 * Measurement name.
+	 */
+	private final String measurement;
+
+	/**
+	 * Tags sorted by key.
+	 */
+	private final SortedMap<String, String> tags;
+
+	/**
+	 * Field name.
+	 */
+	private final String field;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param measurement
+	 *            Measurement name.
+	 * @param tags
+	 *            Tags, can be <code>null</code>.
+	 * @param field
+	 *            Field name.
+	 */
+	public SeriesKey(String measurement, Map<String, String> tags, String field) {
+		this.measurement = measurement;
+		this.tags = (null == tags) || tags.isEmpty() ? Collections.<String, String> emptySortedMap() : Collections.unmodifiableSortedMap(new TreeMap<>(tags));
+		this.field = field;
+	}
+
+	/**
+	 * Returns if this series has all the given tags.
+	 *
+	 * @param tagFilters
+	 *            Tags the series must have.
+	 * @return <code>true</code> if all tags are matching.
+	 */
+	public boolean matches(Map<String, String> tagFilters) {
+		for (Entry<String, String> entry : tagFilters.entrySet()) {
+			if (!Objects.equals(entry.getValue(), tags.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets {@link #measurement}.
+	 *
+	 * @return {@link #measurement}
+	 */
+	public String getMeasurement() {
+		return measurement;
+	}
+
+	/**
+	 * Gets {@link #tags}.
+	 *
+	 * @return {@link #tags}
+	 */
+	public SortedMap<String, String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Gets {@link #field}.
+	 *
+	 * @return {@link #field}
+	 */
+	public String getField() {
+		return field;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + ((field == null) ? 0 : field.hashCode());
+		result = (prime * result) + ((measurement == null) ? 0 : measurement.hashCode());
+		result = (prime * result) + tags.hashCode();
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		SeriesKey other = (SeriesKey) obj;
+		if (field == null) {
+			if (other.field != null) {
+				return false;
+			}
+		} else if (!field.equals(other.field)) {
+			return false;
+		}
+		if (measurement == null) {
+			if (other.measurement != null) {
+				return false;
+			}
+		} else if (!measurement.equals(other.measurement)) {
+			return false;
+		}
+		return tags.equals(other.tags);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return measurement + tags + "." + field;
+	}
+
+}
@@ -0,0 +1,304 @@
+package rocks.inspectit.server.tsdb;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * In-memory state of one series. Holds the head buffers with the points not yet written to disk
+ * and the rollup buckets that are not yet completed. All methods are synchronized, as points can be
+ * added by several threads.
+ *
+ * @author agent
+ *
+ */
+public class TimeSeries {
+
+	/**
+	 * Max amount of points in the head buffer before it is written as one chunk.
+	 */
+	static final int MAX_CHUNK_POINTS = 1024;
+
+	/**
+	 * Id of the series in the store.
+	 */
+	private final int id;
+
+	/**
+	 * Series key.
+	 */
+	private final SeriesKey key;
+
+	/**
+	 * Type of the raw values.
+	 */
+	private final ValueType valueType;
+
+	/**
+	 * Head buffers with points not yet written to disk.
+	 */
+	private final Map<Resolution, PointBuffer> heads = new EnumMap<>(Resolution.class);
+
+	/**
+	 * Time when the first point was added to the head buffer.
+	 */
+	private final Map<Resolution, Long> headCreationTimes = new EnumMap<>(Resolution.class);
+
+	/**
+	 * Rollup buckets not yet completed, keyed by bucket start.
+	 */
+	private final Map<Resolution, TreeMap<Long, Aggregate>> openBuckets = new EnumMap<>(Resolution.class);
+
+	/**
+	 * If the series is removed from the store.
+	 */
+	private boolean removed;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param id
+	 *            Id of the series in the store.
+	 * @param key
+	 *            Series key.
+	 * @param valueType
+	 *            Type of the raw values.
+	 */
+	public TimeSeries(int id, SeriesKey key, ValueType valueType) {
+		this.id = id;
+		this.key = key;
+		this.valueType = valueType;
+		for (Resolution resolution : Resolution.values()) {
+			heads.put(resolution, new PointBuffer(resolution.getColumnCount()));
+			if (resolution.isRollup()) {
+				openBuckets.put(resolution, new TreeMap<Long, Aggregate>());
+			}
+		}
+	}
+
+	/**
+	 * Adds the raw point and updates the rollup buckets. Points can not be added to the removed
+	 * series.
+	 *
+	 * @param time
+	 *            Time in milliseconds.
+	 * @param value
+	 *            Value, converted to the {@link #valueType}.
+	 * @return <code>false</code> if the series is removed and point was not added,
+	 *         <code>true</code> otherwise.
+	 */
+	public synchronized boolean add(long time, Number value) {
+		if (removed) {
+			return false;
+		}
+
+		long bits;
+		if (valueType == ValueType.LONG) {
+			bits = value.longValue();
+		} else {
+			bits = Double.doubleToLongBits(value.doubleValue());
+		}
+		addToHead(Resolution.RAW, time, bits);
+
+		double doubleValue = value.doubleValue();
+		for (Entry<Resolution, TreeMap<Long, Aggregate>> entry : openBuckets.entrySet()) {
+			Long bucketStart = Long.valueOf(entry.getKey().getBucketStart(time));
+			Aggregate aggregate = entry.getValue().get(bucketStart);
+			if (null == aggregate) {
+				aggregate = new Aggregate();
+				entry.getValue().put(bucketStart, aggregate);
+			}
+			aggregate.add(doubleValue);
+		}
+		return true;
+	}
+
+	/**
+	 * Marks the series as removed if it holds no points in memory.
+	 *
+	 * @return <code>true</code> if the series is marked as removed.
+	 */
+	public synchronized boolean removeIfEmpty() {
+		for (PointBuffer head : heads.values()) {
+			if (!head.isEmpty()) {
+				return false;
+			}
+		}
+		for (TreeMap<Long, Aggregate> buckets : openBuckets.values()) {
+			if (!buckets.isEmpty()) {
+				return false;
+			}
+		}
+		removed = true;
+		return true;
+	}
+
+	/**
+	 * Moves the rollup buckets ending before the given time to the head buffers of the rollup
+	 * resolutions. Values arriving later for the same bucket start a new bucket, which is merged
+	 * with the completed one when queried.
+	 *
+	 * @param completedBefore
+	 *            Buckets ending before or at this time are completed.
+	 */
+	public synchronized void completeBuckets(long completedBefore) {
+		for (Entry<Resolution, TreeMap<Long, Aggregate>> entry : openBuckets.entrySet()) {
+			long bucketMillis = entry.getKey().getBucketMillis();
+			for (Iterator<Entry<Long, Aggregate>> it = entry.getValue().entrySet().iterator(); it.hasNext();) {
+				Entry<Long, Aggregate> bucket = it.next();
+				long bucketStart = bucket.getKey().longValue();
+				if ((bucketStart + bucketMillis) > completedBefore) {
+					break;
+				}
+				addToHead(entry.getKey(), bucketStart, bucket.getValue().toColumns());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the head buffer of the resolution if it should be written to disk. Head
+	 * is written when it reached {@link #MAX_CHUNK_POINTS}, when it is older than given max age or
+	 * when forced.
+	 *
+	 * @param resolution
+	 *            Resolution.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @param maxHeadAge
+	 *            Max age of head in milliseconds.
+	 * @param force
+	 *            If non-empty head should be returned in any case.
+	 * @return Head buffer sorted by time or <code>null</code> if nothing should be written.
+	 */
+	public synchronized PointBuffer drainHead(Resolution resolution, long currentTime, long maxHeadAge, boolean force) {
+		PointBuffer head = heads.get(resolution);
+		if (head.isEmpty()) {
+			return null;
+		}
+		long age = currentTime - headCreationTimes.get(resolution).longValue();
+		if (force || (head.size() >= MAX_CHUNK_POINTS) || (age >= maxHeadAge)) {
+			heads.put(resolution, new PointBuffer(resolution.getColumnCount()));
+			headCreationTimes.remove(resolution);
+			head.sortByTime();
+			return head;
+		}
+		return null;
+	}
+
+	/**
+	 * Copies the points not yet written to disk in the given range to the result buffer. For
+	 * rollup resolutions this includes the buckets that are not yet completed.
+	 *
+	 * @param resolution
+	 *            Resolution.
+	 * @param fromTime
+	 *            Including start of the range.
+	 * @param toTime
+	 *            Including end of the range.
+	 * @param result
+	 *            Buffer to add points to.
+	 */
+	public synchronized void copyInMemoryPoints(Resolution resolution, long fromTime, long toTime, PointBuffer result) {
+		result.addAll(heads.get(resolution), fromTime, toTime);
+		if (resolution.isRollup()) {
+			for (Entry<Long, Aggregate> bucket : openBuckets.get(resolution).subMap(Long.valueOf(fromTime), true, Long.valueOf(toTime), true).entrySet()) {
+				result.add(bucket.getKey().longValue(), bucket.getValue().toColumns());
+			}
+		}
+	}
+
+	/**
+	 * Converts the raw value bits of this series to the number.
+	 *
+	 * @param bits
+	 *            Value bits.
+	 * @return Long or Double value depending on the {@link #valueType}.
+	 */
+	public Number toNumber(long bits) {
+		if (valueType == ValueType.LONG) {
+			return Long.valueOf(bits);
+		} else {
+			return Double.valueOf(Double.longBitsToDouble(bits));
+		}
+	}
+
+	/**
+	 * Converts the raw value bits of this series to the double.
+	 *
+	 * @param bits
+	 *            Value bits.
+	 * @return Double value.
+	 */
+	public double toDouble(long bits) {
+		if (valueType == ValueType.LONG) {
+			return bits;
+		} else {
+			return Double.longBitsToDouble(bits);
+		}
+	}
+
+	/**
+	 * Adds point to the head buffer.
+	 *
+	 * @param resolution
+	 *            Resolution.
+	 * @param time
+	 *            Time.
+	 * @param values
+	 *            Column values.
+	 */
+	private void addToHead(Resolution resolution, long time, long... values) {
+		PointBuffer head = heads.get(resolution);
+		if (head.isEmpty()) {
+			headCreationTimes.put(resolution, Long.valueOf(System.currentTimeMillis()));
+		}
+		head.add(time, values);
+	}
+
+	/**
+	 * Gets {@link #id}.
+	 *
+	 * @return {@link #id}
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Gets {@link #key}.
+	 *
+	 * @return {@link #key}
+	 */
+	public SeriesKey getKey() {
+		return key;
+	}
+
+	/**
+	 * Gets {@link #valueType}.
+	 *
+	 * @return {@link #valueType}
+	 */
+	public ValueType getValueType() {
+		return valueType;
+	}
+
+	/**
+	 * Type of the raw values in the series.
+	 */
+	public enum ValueType {
+
+		/**
+		 * Integer values, also used for booleans.
+		 */
+		LONG,
+
+		/**
+		 * Floating point values.
+		 */
+		DOUBLE;
+	}
+
+}
@@ -0,0 +1,1244 @@
+package rocks.inspectit.server.tsdb;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+
+import org.influxdb.dto.Point;
+import org.influxdb.dto.QueryResult;
+import org.influxdb.dto.QueryResult.Result;
+import org.influxdb.dto.QueryResult.Series;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.server.tsdb.Aggregate.AggregateFunction;
+import rocks.inspectit.server.tsdb.LineProtocolParser.ParsedPoint;
+import rocks.inspectit.server.tsdb.TimeSeries.ValueType;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery.FieldCondition;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery.Projection;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQueryParser;
+import rocks.inspectit.shared.all.spring.logger.Log;
+
+/**
+ * Embedded, file-backed time-series store that is used for the long term data when no influxDB is
+ * configured. The store accepts the influx {@link Point}s and answers the subset of the InfluxQL
+ * used by the CMR with the influx {@link QueryResult}, so that the point builders, alerting and
+ * influx services work the same with both.
+ * <p>
+ * Every field of a measurement and tag set is a separate series. Points are collected in memory
+ * per series and written as compressed chunks to append-only window files, one file per resolution
+ * and time window. Next to the raw points, the store maintains 1 minute, 10 minutes and 1 hour
+ * rollups (min, max, sum, count) for each series. Window files are deleted when they are older than
+ * the retention of their resolution or, starting with the raw data, when the disk size limit is
+ * reached. Series without any data left are then removed from the store and the catalog.
+ *
+ * @author agent
+ *
+ */
+@Component
+public class TimeSeriesStore {
+
+	/**
+	 * Period in milliseconds in which the head buffers and completed rollups are checked for
+	 * writing.
+	 */
+	static final long FLUSH_PERIOD = TimeUnit.SECONDS.toMillis(10);
+
+	/**
+	 * Max time in milliseconds points are kept only in memory.
+	 */
+	static final long MAX_HEAD_AGE = TimeUnit.MINUTES.toMillis(10);
+
+	/**
+	 * Rollup bucket is completed when it ended at least this amount of milliseconds ago, so that
+	 * late points still make it into the bucket.
+	 */
+	static final long ROLLUP_GRACE_PERIOD = TimeUnit.MINUTES.toMillis(1);
+
+	/**
+	 * Name of the file holding the series definitions.
+	 */
+	static final String CATALOG_FILE = "series.catalog";
+
+	/**
+	 * Extension of the window files.
+	 */
+	static final String WINDOW_FILE_EXTENSION = ".tsd";
+
+	/**
+	 * Logger for the class.
+	 */
+	@Log
+	Logger log;
+
+	/**
+	 * Activation state of the store.
+	 */
+	@Value("${tsdb.active}")
+	boolean active;
+
+	/**
+	 * Folder of the store.
+	 */
+	@Value("${tsdb.folder}")
+	String folder;
+
+	/**
+	 * Hours raw points are kept.
+	 */
+	@Value("${tsdb.rawRetentionHours}")
+	long rawRetentionHours;
+
+	/**
+	 * Days one minute rollups are kept.
+	 */
+	@Value("${tsdb.oneMinuteRetentionDays}")
+	long oneMinuteRetentionDays;
+
+	/**
+	 * Days ten minutes rollups are kept.
+	 */
+	@Value("${tsdb.tenMinutesRetentionDays}")
+	long tenMinutesRetentionDays;
+
+	/**
+	 * Days one hour rollups are kept.
+	 */
+	@Value("${tsdb.oneHourRetentionDays}")
+	long oneHourRetentionDays;
+
+	/**
+	 * Max size of the store on disk in bytes, zero or negative for no limit.
+	 */
+	@Value("${tsdb.maxDiskSize}")
+	long maxDiskSize;
+
+	/**
+	 * Executor for the flushing.
+	 */
+	@Autowired
+	@Resource(name = "scheduledExecutorService")
+	ScheduledExecutorService scheduledExecutorService;
+
+	/**
+	 * All series by key.
+	 */
+	private final ConcurrentMap<SeriesKey, TimeSeries> seriesByKey = new ConcurrentHashMap<>();
+
+	/**
+	 * Series by measurement.
+	 */
+	private final ConcurrentMap<String, List<TimeSeries>> seriesByMeasurement = new ConcurrentHashMap<>();
+
+	/**
+	 * Window files by resolution and window start. Guarded by {@link #lock}.
+	 */
+	private final Map<Resolution, TreeMap<Long, WindowFile>> windowFiles = new EnumMap<>(Resolution.class);
+
+	/**
+	 * Queries hold the read lock, flushing and retention the write lock.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * Lock for the series creation.
+	 */
+	private final Object catalogLock = new Object();
+
+	/**
+	 * Output to the catalog file. Guarded by {@link #catalogLock}.
+	 */
+	private DataOutputStream catalogOutput;
+
+	/**
+	 * Next series id. Guarded by {@link #catalogLock}.
+	 */
+	private int nextSeriesId;
+
+	/**
+	 * Base directory.
+	 */
+	private Path basePath;
+
+	/**
+	 * If store is opened.
+	 */
+	private volatile boolean opened;
+
+	/**
+	 * Future of the flushing task.
+	 */
+	private ScheduledFuture<?> flushFuture;
+
+	/**
+	 * Opens the store and starts the flushing if the store is active.
+	 */
+	@PostConstruct
+	public void init() {
+		if (!active) {
+			return;
+		}
+
+		try {
+			open();
+		} catch (IOException e) {
+			if (log.isErrorEnabled()) {
+				log.error("|-Embedded time-series store could not be opened in the folder " + folder + ".", e);
+			}
+			return;
+		}
+
+		flushFuture = scheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					flush(System.currentTimeMillis(), false);
+				} catch (Exception e) { // NOPMD
+					log.error("Flushing of the embedded time-series store failed.", e);
+				}
+			}
+		}, FLUSH_PERIOD, FLUSH_PERIOD, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns if the store is active and can be used.
+	 *
+	 * @return If the store is active and can be used.
+	 */
+	public boolean isActive() {
+		return active && opened;
+	}
+
+	/**
+	 * Inserts the influx point. String fields are not stored, boolean fields are stored as 1 and 0.
+	 *
+	 * @param point
+	 *            Point to insert.
+	 */
+	public void insert(Point point) {
+		if ((null == point) || !isActive()) {
+			return;
+		}
+
+		ParsedPoint parsedPoint;
+		try {
+			parsedPoint = LineProtocolParser.parse(point.lineProtocol(), System.currentTimeMillis());
+		} catch (IllegalArgumentException e) {
+			if (log.isWarnEnabled()) {
+				log.warn("Point can not be inserted to the embedded time-series store.", e);
+			}
+			return;
+		}
+		insert(parsedPoint.getMeasurement(), parsedPoint.getTags(), parsedPoint.getFields(), parsedPoint.getTime());
+	}
+
+	/**
+	 * Inserts the fields of one point. String fields are not stored, boolean fields are stored as 1
+	 * and 0.
+	 *
+	 * @param measurement
+	 *            Measurement.
+	 * @param tags
+	 *            Tags.
+	 * @param fields
+	 *            Fields.
+	 * @param time
+	 *            Time in milliseconds.
+	 */
+	public void insert(String measurement, Map<String, String> tags, Map<String, Object> fields, long time) {
+		for (Entry<String, Object> entry : fields.entrySet()) {
+			Object value = entry.getValue();
+			Number number;
+			ValueType valueType;
+			if (value instanceof Boolean) {
+				number = ((Boolean) value).booleanValue() ? 1L : 0L;
+				valueType = ValueType.LONG;
+			} else if ((value instanceof Double) || (value instanceof Float)) {
+				number = (Number) value;
+				valueType = ValueType.DOUBLE;
+			} else if (value instanceof Number) {
+				number = (Number) value;
+				valueType = ValueType.LONG;
+			} else {
+				continue;
+			}
+
+			SeriesKey key = new SeriesKey(measurement, tags, entry.getKey());
+			// series can be pruned in the meantime, then a new one is created
+			while (!getOrCreateSeries(key, valueType).add(time, number)) {
+				Thread.yield();
+			}
+		}
+	}
+
+	/**
+	 * Executes the query.
+	 *
+	 * @param queryString
+	 *            Query in the supported InfluxQL subset, see {@link TimeSeriesQueryParser}.
+	 * @return Query result or <code>null</code> if the store is not active.
+	 * @throws IllegalArgumentException
+	 *             If query is not valid or not supported.
+	 */
+	public QueryResult query(String queryString) throws IllegalArgumentException {
+		if ((null == queryString) || !isActive()) {
+			return null;
+		}
+
+		long currentTime = System.currentTimeMillis();
+		TimeSeriesQuery query = TimeSeriesQueryParser.parse(queryString, currentTime);
+		switch (query.getType()) {
+		case SHOW_MEASUREMENTS:
+			return showMeasurements();
+		case SHOW_TAG_KEYS:
+			return showTagKeys(query);
+		case SHOW_TAG_VALUES:
+			return showTagValues(query);
+		case SHOW_FIELD_KEYS:
+			return showFieldKeys(query);
+		case SELECT:
+		default:
+			return select(query, currentTime);
+		}
+	}
+
+	/**
+	 * Flushes the store and closes all files.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		if (!opened) {
+			return;
+		}
+
+		if (null != flushFuture) {
+			flushFuture.cancel(false);
+		}
+		flush(System.currentTimeMillis(), true);
+
+		lock.writeLock().lock();
+		try {
+			opened = false;
+			for (TreeMap<Long, WindowFile> files : windowFiles.values()) {
+				for (WindowFile windowFile : files.values()) {
+					windowFile.close();
+				}
+			}
+			synchronized (catalogLock) {
+				catalogOutput.close();
+			}
+		} catch (IOException e) {
+			log.warn("Catalog of the embedded time-series store could not be closed.", e);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Opens the store by loading the series catalog and scanning the window files.
+	 *
+	 * @throws IOException
+	 *             If opening fails.
+	 */
+	void open() throws IOException {
+		basePath = Paths.get(folder).toAbsolutePath();
+		Files.createDirectories(basePath);
+
+		seriesByKey.clear();
+		seriesByMeasurement.clear();
+		windowFiles.clear();
+		nextSeriesId = 0;
+		loadCatalog();
+
+		for (Resolution resolution : Resolution.values()) {
+			TreeMap<Long, WindowFile> files = new TreeMap<>();
+			windowFiles.put(resolution, files);
+
+			Path directory = basePath.resolve(resolution.getDirectoryName());
+			Files.createDirectories(directory);
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + WINDOW_FILE_EXTENSION)) {
+				for (Path path : stream) {
+					String fileName = path.getFileName().toString();
+					try {
+						long windowStart = Long.parseLong(fileName.substring(0, fileName.length() - WINDOW_FILE_EXTENSION.length()));
+						files.put(Long.valueOf(windowStart), new WindowFile(resolution, windowStart, path));
+					} catch (NumberFormatException e) {
+						log.warn("Unknown file " + path + " in the embedded time-series store folder.");
+					}
+				}
+			}
+		}
+
+		catalogOutput = new DataOutputStream(Files.newOutputStream(basePath.resolve(CATALOG_FILE), StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+		pruneSeries();
+		opened = true;
+
+		if (log.isInfoEnabled()) {
+			log.info("|-Embedded time-series store active in " + basePath + " with " + seriesByKey.size() + " series.");
+		}
+	}
+
+	/**
+	 * Completes the rollup buckets, writes the head buffers that are full or old enough and
+	 * applies the retention.
+	 *
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @param force
+	 *            If all data in memory should be written, including not completed rollup buckets.
+	 */
+	void flush(long currentTime, boolean force) {
+		lock.writeLock().lock();
+		try {
+			if (!opened) {
+				return;
+			}
+			for (TimeSeries timeSeries : seriesByKey.values()) {
+				timeSeries.completeBuckets(force ? Long.MAX_VALUE : currentTime - ROLLUP_GRACE_PERIOD);
+				for (Resolution resolution : Resolution.values()) {
+					PointBuffer head = timeSeries.drainHead(resolution, currentTime, MAX_HEAD_AGE, force);
+					if (null != head) {
+						write(timeSeries, resolution, head, currentTime);
+					}
+				}
+			}
+			applyRetention(currentTime);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Writes the points sorted by time to the window files.
+	 *
+	 * @param timeSeries
+	 *            Series.
+	 * @param resolution
+	 *            Resolution.
+	 * @param pointBuffer
+	 *            Points sorted by time.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 */
+	private void write(TimeSeries timeSeries, Resolution resolution, PointBuffer pointBuffer, long currentTime) {
+		long retentionStart = currentTime - getRetention(resolution);
+		int start = 0;
+		while (start < pointBuffer.size()) {
+			long windowStart = resolution.getWindowStart(pointBuffer.getTime(start));
+			long windowEnd = windowStart + resolution.getWindowMillis();
+			int end = start;
+			while ((end < pointBuffer.size()) && (pointBuffer.getTime(end) < windowEnd)) {
+				end++;
+			}
+
+			if (windowEnd > retentionStart) {
+				PointBuffer windowPoints = new PointBuffer(resolution.getColumnCount(), end - start);
+				windowPoints.addAll(pointBuffer, pointBuffer.getTime(start), pointBuffer.getTime(end - 1));
+				try {
+					getOrCreateWindowFile(resolution, windowStart).append(timeSeries.getId(), windowPoints);
+				} catch (IOException e) {
+					log.error("Writing to the embedded time-series store failed for the series " + timeSeries.getKey() + ".", e);
+				}
+			}
+			start = end;
+		}
+	}
+
+	/**
+	 * Deletes the window files older than retention and, if the disk size is limited, the oldest
+	 * window files till the store fits the limit. If any window file is deleted, the series
+	 * without data are pruned.
+	 *
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 */
+	private void applyRetention(long currentTime) {
+		boolean deleted = false;
+		long totalSize = 0;
+		for (Entry<Resolution, TreeMap<Long, WindowFile>> entry : windowFiles.entrySet()) {
+			long retentionStart = currentTime - getRetention(entry.getKey());
+			for (Iterator<WindowFile> it = entry.getValue().values().iterator(); it.hasNext();) {
+				WindowFile windowFile = it.next();
+				if (windowFile.getWindowEnd() <= retentionStart) {
+					deleteWindowFile(windowFile);
+					it.remove();
+					deleted = true;
+				} else {
+					totalSize += windowFile.getSize();
+				}
+			}
+		}
+
+		if (maxDiskSize > 0) {
+			// drop oldest data, starting with the highest resolution, keeping the newest window
+			for (TreeMap<Long, WindowFile> files : windowFiles.values()) {
+				while ((totalSize > maxDiskSize) && (files.size() > 1)) {
+					WindowFile windowFile = files.pollFirstEntry().getValue();
+					totalSize -= windowFile.getSize();
+					deleteWindowFile(windowFile);
+					deleted = true;
+				}
+			}
+		}
+
+		if (deleted) {
+			pruneSeries();
+		}
+	}
+
+	/**
+	 * Removes the series that have no chunks in any window file and no points in memory and
+	 * rewrites the catalog without them. Must be called while holding the write {@link #lock} or
+	 * before the store is opened.
+	 */
+	private void pruneSeries() {
+		Set<Integer> storedSeriesIds = new HashSet<>();
+		for (TreeMap<Long, WindowFile> files : windowFiles.values()) {
+			for (WindowFile windowFile : files.values()) {
+				storedSeriesIds.addAll(windowFile.getSeriesIds());
+			}
+		}
+
+		synchronized (catalogLock) {
+			boolean pruned = false;
+			for (Iterator<TimeSeries> it = seriesByKey.values().iterator(); it.hasNext();) {
+				TimeSeries timeSeries = it.next();
+				if (!storedSeriesIds.contains(Integer.valueOf(timeSeries.getId())) && timeSeries.removeIfEmpty()) {
+					it.remove();
+					String measurement = timeSeries.getKey().getMeasurement();
+					List<TimeSeries> measurementSeries = seriesByMeasurement.get(measurement);
+					measurementSeries.remove(timeSeries);
+					if (measurementSeries.isEmpty()) {
+						seriesByMeasurement.remove(measurement);
+					}
+					pruned = true;
+				}
+			}
+
+			if (pruned) {
+				rewriteCatalog();
+			}
+		}
+	}
+
+	/**
+	 * Rewrites the catalog with the current series. Must be called while holding the
+	 * {@link #catalogLock}.
+	 */
+	private void rewriteCatalog() {
+		Path catalogPath = basePath.resolve(CATALOG_FILE);
+		Path tempPath = basePath.resolve(CATALOG_FILE + ".tmp");
+		try {
+			catalogOutput.close();
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+				for (TimeSeries timeSeries : seriesByKey.values()) {
+					writeCatalogEntry(output, timeSeries);
+				}
+			}
+			Files.move(tempPath, catalogPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.error("Catalog of the embedded time-series store could not be rewritten.", e);
+		}
+
+		try {
+			catalogOutput = new DataOutputStream(Files.newOutputStream(catalogPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+		} catch (IOException e) {
+			log.error("Catalog of the embedded time-series store could not be opened.", e);
+		}
+	}
+
+	/**
+	 * Deletes the window file.
+	 *
+	 * @param windowFile
+	 *            File to delete.
+	 */
+	private void deleteWindowFile(WindowFile windowFile) {
+		if (log.isDebugEnabled()) {
+			log.debug("Deleting time-series window file " + windowFile + ".");
+		}
+		try {
+			windowFile.delete();
+		} catch (IOException e) {
+			log.warn("Time-series window file " + windowFile + " could not be deleted.", e);
+		}
+	}
+
+	/**
+	 * Returns the window file, creating it if it does not exist.
+	 *
+	 * @param resolution
+	 *            Resolution.
+	 * @param windowStart
+	 *            Start of the window.
+	 * @return Window file.
+	 * @throws IOException
+	 *             If file can not be created.
+	 */
+	private WindowFile getOrCreateWindowFile(Resolution resolution, long windowStart) throws IOException {
+		TreeMap<Long, WindowFile> files = windowFiles.get(resolution);
+		WindowFile windowFile = files.get(Long.valueOf(windowStart));
+		if (null == windowFile) {
+			Path path = basePath.resolve(resolution.getDirectoryName()).resolve(windowStart + WINDOW_FILE_EXTENSION);
+			windowFile = new WindowFile(resolution, windowStart, path);
+			files.put(Long.valueOf(windowStart), windowFile);
+		}
+		return windowFile;
+	}
+
+	/**
+	 * Returns the retention of the resolution.
+	 *
+	 * @param resolution
+	 *            Resolution.
+	 * @return Retention in milliseconds.
+	 */
+	long getRetention(Resolution resolution) {
+		switch (resolution) {
+		case ONE_MINUTE:
+			return TimeUnit.DAYS.toMillis(oneMinuteRetentionDays);
+		case TEN_MINUTES:
+			return TimeUnit.DAYS.toMillis(tenMinutesRetentionDays);
+		case ONE_HOUR:
+			return TimeUnit.DAYS.toMillis(oneHourRetentionDays);
+		case RAW:
+		default:
+			return TimeUnit.HOURS.toMillis(rawRetentionHours);
+		}
+	}
+
+	/**
+	 * Returns the existing series or creates a new one and adds it to the catalog.
+	 *
+	 * @param key
+	 *            Series key.
+	 * @param valueType
+	 *            Value type for the new series.
+	 * @return Series.
+	 */
+	private TimeSeries getOrCreateSeries(SeriesKey key, ValueType valueType) {
+		TimeSeries timeSeries = seriesByKey.get(key);
+		if (null != timeSeries) {
+			return timeSeries;
+		}
+
+		synchronized (catalogLock) {
+			timeSeries = seriesByKey.get(key);
+			if (null == timeSeries) {
+				timeSeries = new TimeSeries(nextSeriesId++, key, valueType);
+				try {
+					writeCatalogEntry(catalogOutput, timeSeries);
+					catalogOutput.flush();
+				} catch (IOException e) {
+					log.error("Series " + key + " could not be written to the catalog of the embedded time-series store.", e);
+				}
+				addSeries(timeSeries);
+			}
+			return timeSeries;
+		}
+	}
+
+	/**
+	 * Registers the series.
+	 *
+	 * @param timeSeries
+	 *            Series.
+	 */
+	private void addSeries(TimeSeries timeSeries) {
+		List<TimeSeries> measurementSeries = seriesByMeasurement.get(timeSeries.getKey().getMeasurement());
+		if (null == measurementSeries) {
+			measurementSeries = new CopyOnWriteArrayList<>();
+			List<TimeSeries> existing = seriesByMeasurement.putIfAbsent(timeSeries.getKey().getMeasurement(), measurementSeries);
+			if (null != existing) {
+				measurementSeries = existing;
+			}
+		}
+		measurementSeries.add(timeSeries);
+		seriesByKey.put(timeSeries.getKey(), timeSeries);
+	}
+
+	/**
+	 * Writes the series definition to the catalog output.
+	 *
+	 * @param output
+	 *            Catalog output.
+	 * @param timeSeries
+	 *            Series.
+	 * @throws IOException
+	 *             If writing fails.
+	 */
+	private void writeCatalogEntry(DataOutputStream output, TimeSeries timeSeries) throws IOException {
+		SeriesKey key = timeSeries.getKey();
+		output.writeInt(timeSeries.getId());
+		output.writeByte(timeSeries.getValueType().ordinal());
+		output.writeUTF(key.getMeasurement());
+		output.writeUTF(key.getField());
+		output.writeInt(key.getTags().size());
+		for (Entry<String, String> tag : key.getTags().entrySet()) {
+			output.writeUTF(tag.getKey());
+			output.writeUTF(tag.getValue());
+		}
+	}
+
+	/**
+	 * Loads the series from the catalog. Partly written last entry is truncated.
+	 *
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private void loadCatalog() throws IOException {
+		Path catalogPath = basePath.resolve(CATALOG_FILE);
+		if (!Files.exists(catalogPath)) {
+			return;
+		}
+
+		byte[] bytes = Files.readAllBytes(catalogPath);
+		ByteArrayInputStream byteStream = new ByteArrayInputStream(bytes);
+		DataInputStream input = new DataInputStream(byteStream);
+		int validLength = 0;
+		try {
+			while (byteStream.available() > 0) {
+				int id = input.readInt();
+				ValueType valueType = ValueType.values()[input.readByte()];
+				String measurement = input.readUTF();
+				String field = input.readUTF();
+				int tagCount = input.readInt();
+				Map<String, String> tags = new HashMap<>();
+				for (int i = 0; i < tagCount; i++) {
+					tags.put(input.readUTF(), input.readUTF());
+				}
+				addSeries(new TimeSeries(id, new SeriesKey(measurement, tags, field), valueType));
+				nextSeriesId = Math.max(nextSeriesId, id + 1);
+				validLength = bytes.length - byteStream.available();
+			}
+		} catch (EOFException e) {
+			log.warn("Last series in the catalog of the embedded time-series store was not completely written and is removed.");
+			try (FileChannel channel = FileChannel.open(catalogPath, StandardOpenOption.WRITE)) {
+				channel.truncate(validLength);
+			}
+		}
+	}
+
+	/**
+	 * Lists the measurements.
+	 *
+	 * @return Result.
+	 */
+	private QueryResult showMeasurements() {
+		List<List<Object>> values = new ArrayList<>();
+		for (String measurement : new TreeSet<>(seriesByMeasurement.keySet())) {
+			values.add(Collections.<Object> singletonList(measurement));
+		}
+		return createResult("measurements", Collections.singletonList("name"), values);
+	}
+
+	/**
+	 * Lists the tag keys of the measurement.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Result.
+	 */
+	private QueryResult showTagKeys(TimeSeriesQuery query) {
+		Set<String> tagKeys = new TreeSet<>();
+		for (TimeSeries timeSeries : getSeries(query.getMeasurement())) {
+			tagKeys.addAll(timeSeries.getKey().getTags().keySet());
+		}
+		List<List<Object>> values = new ArrayList<>();
+		for (String tagKey : tagKeys) {
+			values.add(Collections.<Object> singletonList(tagKey));
+		}
+		return createResult(query.getMeasurement(), Collections.singletonList("tagKey"), values);
+	}
+
+	/**
+	 * Lists the tag values of the measurement and tag key.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Result.
+	 */
+	private QueryResult showTagValues(TimeSeriesQuery query) {
+		Set<String> tagValues = new TreeSet<>();
+		for (TimeSeries timeSeries : getSeries(query.getMeasurement())) {
+			String value = timeSeries.getKey().getTags().get(query.getTagKey());
+			if (null != value) {
+				tagValues.add(value);
+			}
+		}
+		List<List<Object>> values = new ArrayList<>();
+		for (String tagValue : tagValues) {
+			List<Object> row = new ArrayList<>(2);
+			row.add(query.getTagKey());
+			row.add(tagValue);
+			values.add(row);
+		}
+		List<String> columns = new ArrayList<>(2);
+		columns.add("key");
+		columns.add("value");
+		return createResult(query.getMeasurement(), columns, values);
+	}
+
+	/**
+	 * Lists the fields of the measurement.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Result.
+	 */
+	private QueryResult showFieldKeys(TimeSeriesQuery query) {
+		Map<String, ValueType> fields = new TreeMap<>();
+		for (TimeSeries timeSeries : getSeries(query.getMeasurement())) {
+			fields.put(timeSeries.getKey().getField(), timeSeries.getValueType());
+		}
+		List<List<Object>> values = new ArrayList<>();
+		for (Entry<String, ValueType> entry : fields.entrySet()) {
+			List<Object> row = new ArrayList<>(2);
+			row.add(entry.getKey());
+			row.add(entry.getValue() == ValueType.LONG ? "integer" : "float");
+			values.add(row);
+		}
+		List<String> columns = new ArrayList<>(2);
+		columns.add("fieldKey");
+		columns.add("fieldType");
+		return createResult(query.getMeasurement(), columns, values);
+	}
+
+	/**
+	 * Executes the select query. Rows contain the time in milliseconds as first column.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @return Result.
+	 */
+	private QueryResult select(TimeSeriesQuery query, long currentTime) {
+		// series of the matching tag sets, by field
+		Map<SortedMap<String, String>, Map<String, TimeSeries>> tagSets = new HashMap<>();
+		for (TimeSeries timeSeries : getSeries(query.getMeasurement())) {
+			SeriesKey key = timeSeries.getKey();
+			if (key.matches(query.getTagConditions())) {
+				Map<String, TimeSeries> fields = tagSets.get(key.getTags());
+				if (null == fields) {
+					fields = new HashMap<>();
+					tagSets.put(key.getTags(), fields);
+				}
+				fields.put(key.getField(), timeSeries);
+			}
+		}
+
+		List<List<Object>> values;
+		lock.readLock().lock();
+		try {
+			if (!query.isAggregation()) {
+				values = selectRaw(query, tagSets.values());
+			} else if (!query.getFieldConditions().isEmpty()) {
+				values = selectAggregatedWithConditions(query, tagSets.values());
+			} else {
+				values = selectAggregated(query, tagSets.values(), currentTime);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Reading from the embedded time-series store failed.", e);
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<String> columns = new ArrayList<>();
+		columns.add("time");
+		for (Projection projection : query.getProjections()) {
+			columns.add(projection.getColumnName());
+		}
+		return createResult(query.getMeasurement(), columns, values);
+	}
+
+	/**
+	 * Selects the raw values, one row for each time stamp of each tag set.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param tagSets
+	 *            Series of the matching tag sets, by field.
+	 * @return Rows.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private List<List<Object>> selectRaw(TimeSeriesQuery query, Collection<Map<String, TimeSeries>> tagSets) throws IOException {
+		List<Projection> projections = query.getProjections();
+		List<List<Object>> values = new ArrayList<>();
+		for (Map<String, TimeSeries> fields : tagSets) {
+			List<String> neededFields = getNeededFields(query);
+			for (Entry<Long, Number[]> row : joinRawFields(query, fields, neededFields).entrySet()) {
+				List<Object> resultRow = new ArrayList<>(projections.size() + 1);
+				resultRow.add(row.getKey());
+				boolean hasValue = false;
+				for (Projection projection : projections) {
+					Number value = row.getValue()[neededFields.indexOf(projection.getField())];
+					hasValue |= null != value;
+					resultRow.add(value);
+				}
+				if (hasValue) {
+					values.add(resultRow);
+				}
+			}
+		}
+		Collections.sort(values, (o1, o2) -> Long.compare((Long) o1.get(0), (Long) o2.get(0)));
+		return values;
+	}
+
+	/**
+	 * Selects the aggregated values when the conditions on the field values exist. Only the raw
+	 * points can be used for this.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param tagSets
+	 *            Series of the matching tag sets, by field.
+	 * @return Rows.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private List<List<Object>> selectAggregatedWithConditions(TimeSeriesQuery query, Collection<Map<String, TimeSeries>> tagSets) throws IOException {
+		List<Projection> projections = query.getProjections();
+		TreeMap<Long, Aggregate[]> buckets = new TreeMap<>();
+		for (Map<String, TimeSeries> fields : tagSets) {
+			List<String> neededFields = getNeededFields(query);
+			for (Entry<Long, Number[]> row : joinRawFields(query, fields, neededFields).entrySet()) {
+				Aggregate[] aggregates = getBucket(buckets, query, row.getKey().longValue());
+				for (int i = 0; i < projections.size(); i++) {
+					Number value = row.getValue()[neededFields.indexOf(projections.get(i).getField())];
+					if (null != value) {
+						aggregates[i].add(value.doubleValue());
+					}
+				}
+			}
+		}
+		return toRows(query, buckets);
+	}
+
+	/**
+	 * Selects the aggregated values using the most appropriate resolution.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param tagSets
+	 *            Series of the matching tag sets, by field.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @return Rows.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private List<List<Object>> selectAggregated(TimeSeriesQuery query, Collection<Map<String, TimeSeries>> tagSets, long currentTime) throws IOException {
+		Resolution resolution = selectResolution(query, currentTime);
+		List<Projection> projections = query.getProjections();
+		TreeMap<Long, Aggregate[]> buckets = new TreeMap<>();
+		for (Map<String, TimeSeries> fields : tagSets) {
+			for (int i = 0; i < projections.size(); i++) {
+				TimeSeries timeSeries = fields.get(projections.get(i).getField());
+				if (null == timeSeries) {
+					continue;
+				}
+				PointBuffer points = readPoints(timeSeries, resolution, query.getFromTime(), query.getToTime());
+				for (int j = 0; j < points.size(); j++) {
+					Aggregate aggregate = getBucket(buckets, query, points.getTime(j))[i];
+					if (resolution.isRollup()) {
+						aggregate.merge(points, j);
+					} else {
+						aggregate.add(timeSeries.toDouble(points.getValue(0, j)));
+					}
+				}
+			}
+		}
+		return toRows(query, buckets);
+	}
+
+	/**
+	 * Selects the resolution for the aggregation query. With the time grouping the coarsest
+	 * resolution dividing the group interval that still holds the data of the query start is
+	 * used. Without grouping the finest resolution that holds the data of the query start is used.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @return Resolution to use.
+	 */
+	Resolution selectResolution(TimeSeriesQuery query, long currentTime) {
+		Resolution[] resolutions = Resolution.values();
+		long interval = query.getGroupByInterval();
+		if (interval > 0) {
+			Resolution coarsestDividing = Resolution.RAW;
+			for (int i = resolutions.length - 1; i >= 0; i--) {
+				Resolution resolution = resolutions[i];
+				if (resolution.isRollup() && ((interval % resolution.getBucketMillis()) != 0)) {
+					continue;
+				}
+				if (isRetained(resolution, query.getFromTime(), currentTime)) {
+					return resolution;
+				}
+				if (coarsestDividing == Resolution.RAW) {
+					coarsestDividing = resolution;
+				}
+			}
+			return coarsestDividing;
+		}
+
+		for (Resolution resolution : resolutions) {
+			if (isRetained(resolution, query.getFromTime(), currentTime)) {
+				return resolution;
+			}
+		}
+		return resolutions[resolutions.length - 1];
+	}
+
+	/**
+	 * Returns if the resolution still holds data of the given time.
+	 *
+	 * @param resolution
+	 *            Resolution.
+	 * @param time
+	 *            Time in milliseconds.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 * @return If data is retained.
+	 */
+	private boolean isRetained(Resolution resolution, long time, long currentTime) {
+		return time >= (currentTime - getRetention(resolution));
+	}
+
+	/**
+	 * Reads points of the series from disk and memory.
+	 *
+	 * @param timeSeries
+	 *            Series.
+	 * @param resolution
+	 *            Resolution.
+	 * @param fromTime
+	 *            Including start of the range. For rollups the bucket this time belongs to is
+	 *            included.
+	 * @param toTime
+	 *            Including end of the range.
+	 * @return Points.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	PointBuffer readPoints(TimeSeries timeSeries, Resolution resolution, long fromTime, long toTime) throws IOException {
+		long from = fromTime;
+		if (resolution.isRollup() && (from != Long.MIN_VALUE)) {
+			from = resolution.getBucketStart(from);
+		}
+
+		PointBuffer result = new PointBuffer(resolution.getColumnCount());
+		for (WindowFile windowFile : windowFiles.get(resolution).headMap(Long.valueOf(toTime), true).values()) {
+			if (windowFile.getWindowEnd() > from) {
+				windowFile.read(timeSeries.getId(), from, toTime, result);
+			}
+		}
+		timeSeries.copyInMemoryPoints(resolution, from, toTime, result);
+		return result;
+	}
+
+	/**
+	 * Joins the raw values of the needed fields by time and filters them by the field conditions.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param fields
+	 *            Series of one tag set by field.
+	 * @param neededFields
+	 *            Fields to read.
+	 * @return Values of the needed fields by time.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private TreeMap<Long, Number[]> joinRawFields(TimeSeriesQuery query, Map<String, TimeSeries> fields, List<String> neededFields) throws IOException {
+		TreeMap<Long, Number[]> rows = new TreeMap<>();
+		for (int i = 0; i < neededFields.size(); i++) {
+			TimeSeries timeSeries = fields.get(neededFields.get(i));
+			if (null == timeSeries) {
+				continue;
+			}
+			PointBuffer points = readPoints(timeSeries, Resolution.RAW, query.getFromTime(), query.getToTime());
+			for (int j = 0; j < points.size(); j++) {
+				Long time = Long.valueOf(points.getTime(j));
+				Number[] row = rows.get(time);
+				if (null == row) {
+					row = new Number[neededFields.size()];
+					rows.put(time, row);
+				}
+				row[i] = timeSeries.toNumber(points.getValue(0, j));
+			}
+		}
+
+		for (Iterator<Number[]> it = rows.values().iterator(); it.hasNext();) {
+			Number[] row = it.next();
+			for (FieldCondition condition : query.getFieldConditions()) {
+				Number value = row[neededFields.indexOf(condition.getField())];
+				if ((null == value) || !condition.test(value.doubleValue())) {
+					it.remove();
+					break;
+				}
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns the fields selected or used in the conditions.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Field names.
+	 */
+	private List<String> getNeededFields(TimeSeriesQuery query) {
+		Set<String> fields = new LinkedHashSet<>();
+		for (Projection projection : query.getProjections()) {
+			fields.add(projection.getField());
+		}
+		for (FieldCondition condition : query.getFieldConditions()) {
+			fields.add(condition.getField());
+		}
+		return new ArrayList<>(fields);
+	}
+
+	/**
+	 * Returns the aggregates of the bucket the time belongs to.
+	 *
+	 * @param buckets
+	 *            Buckets by start time.
+	 * @param query
+	 *            Query.
+	 * @param time
+	 *            Time in milliseconds.
+	 * @return Aggregates, one for each projection.
+	 */
+	private Aggregate[] getBucket(TreeMap<Long, Aggregate[]> buckets, TimeSeriesQuery query, long time) {
+		long interval = query.getGroupByInterval();
+		long bucketStart;
+		if (interval > 0) {
+			bucketStart = time - Math.floorMod(time, interval);
+		} else {
+			bucketStart = query.getFromTime() == Long.MIN_VALUE ? 0 : query.getFromTime();
+		}
+
+		Aggregate[] aggregates = buckets.get(Long.valueOf(bucketStart));
+		if (null == aggregates) {
+			aggregates = new Aggregate[query.getProjections().size()];
+			for (int i = 0; i < aggregates.length; i++) {
+				aggregates[i] = new Aggregate();
+			}
+			buckets.put(Long.valueOf(bucketStart), aggregates);
+		}
+		return aggregates;
+	}
+
+	/**
+	 * Converts the buckets to the result rows.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param buckets
+	 *            Buckets by start time.
+	 * @return Rows.
+	 */
+	private List<List<Object>> toRows(TimeSeriesQuery query, TreeMap<Long, Aggregate[]> buckets) {
+		List<List<Object>> values = new ArrayList<>(buckets.size());
+		for (Entry<Long, Aggregate[]> bucket : buckets.entrySet()) {
+			List<Object> row = new ArrayList<>(bucket.getValue().length + 1);
+			row.add(bucket.getKey());
+			boolean hasValue = false;
+			for (int i = 0; i < bucket.getValue().length; i++) {
+				AggregateFunction function = query.getProjections().get(i).getFunction();
+				Number value = bucket.getValue()[i].getValue(function);
+				hasValue |= null != value;
+				row.add(value);
+			}
+			if (hasValue) {
+				values.add(row);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Returns all series of the measurement.
+	 *
+	 * @param measurement
+	 *            Measurement.
+	 * @return Series.
+	 */
+	private List<TimeSeries> getSeries(String measurement) {
+		List<TimeSeries> series = seriesByMeasurement.get(measurement);
+		if (null == series) {
+			return Collections.emptyList();
+		}
+		return series;
+	}
+
+	/**
+	 * Creates the influx query result with one series.
+	 *
+	 * @param name
+	 *            Series name.
+	 * @param columns
+	 *            Column names.
+	 * @param values
+	 *            Rows, if empty the result will have no series.
+	 * @return Query result.
+	 */
+	private QueryResult createResult(String name, List<String> columns, List<List<Object>> values) {
+		Result result = new Result();
+		if (!values.isEmpty()) {
+			Series series = new Series();
+			series.setName(name);
+			series.setColumns(columns);
+			series.setValues(values);
+			result.setSeries(Collections.singletonList(series));
+		}
+		QueryResult queryResult = new QueryResult();
+		queryResult.setResults(Collections.singletonList(result));
+		return queryResult;
+	}
+
+}
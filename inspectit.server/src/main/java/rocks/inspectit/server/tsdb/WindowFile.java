@@ -0,0 +1,385 @@
+package rocks.inspectit.server.tsdb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file holding the chunks of all series for one time window of one resolution. Every
+ * chunk belongs to a single series and is written as a header followed by the points encoded with
+ * the {@link ChunkCodec}. The chunk positions are kept in memory per series, so that queries read
+ * only the chunks of the requested series.
+ * <p>
+ * Chunk header: series id (int), min time (long), max time (long), point count (int), data length
+ * (int), data CRC32 (int).
+ *
+ * @author agent
+ *
+ */
+public class WindowFile {
+
+	/**
+	 * Size of the chunk header in bytes.
+	 */
+	static final int HEADER_SIZE = 32;
+
+	/**
+	 * Resolution of the data.
+	 */
+	private final Resolution resolution;
+
+	/**
+	 * Start of the window.
+	 */
+	private final long windowStart;
+
+	/**
+	 * File path.
+	 */
+	private final Path path;
+
+	/**
+	 * Channel to the file.
+	 */
+	private final FileChannel fileChannel;
+
+	/**
+	 * Chunks by series id.
+	 */
+	private final Map<Integer, List<ChunkRef>> chunks = new HashMap<>();
+
+	/**
+	 * Size of the file.
+	 */
+	private volatile long size;
+
+	/**
+	 * Opens or creates the window file. Existing file is scanned for the chunks and a chunk that
+	 * was not completely written is truncated.
+	 *
+	 * @param resolution
+	 *            Resolution of the data.
+	 * @param windowStart
+	 *            Start of the window.
+	 * @param path
+	 *            File path.
+	 * @throws IOException
+	 *             If file can not be opened or read.
+	 */
+	public WindowFile(Resolution resolution, long windowStart, Path path) throws IOException {
+		this.resolution = resolution;
+		this.windowStart = windowStart;
+		this.path = path;
+		this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		scan();
+	}
+
+	/**
+	 * Appends the points of the series as a new chunk.
+	 *
+	 * @param seriesId
+	 *            Series id.
+	 * @param pointBuffer
+	 *            Points sorted by time.
+	 * @throws IOException
+	 *             If writing fails.
+	 */
+	public synchronized void append(int seriesId, PointBuffer pointBuffer) throws IOException {
+		if (pointBuffer.isEmpty()) {
+			return;
+		}
+		byte[] data = ChunkCodec.encode(pointBuffer);
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length);
+
+		long minTime = pointBuffer.getTime(0);
+		long maxTime = pointBuffer.getTime(pointBuffer.size() - 1);
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + data.length);
+		buffer.putInt(seriesId);
+		buffer.putLong(minTime);
+		buffer.putLong(maxTime);
+		buffer.putInt(pointBuffer.size());
+		buffer.putInt(data.length);
+		buffer.putInt((int) crc.getValue());
+		buffer.put(data);
+		buffer.flip();
+
+		long position = size;
+		while (buffer.hasRemaining()) {
+			fileChannel.write(buffer, position + buffer.position());
+		}
+		addChunk(seriesId, new ChunkRef(position + HEADER_SIZE, data.length, pointBuffer.size(), minTime, maxTime));
+		size = position + HEADER_SIZE + data.length;
+	}
+
+	/**
+	 * Reads the points of the series in the given range and adds them to the result.
+	 *
+	 * @param seriesId
+	 *            Series id.
+	 * @param fromTime
+	 *            Including start of the range.
+	 * @param toTime
+	 *            Including end of the range.
+	 * @param result
+	 *            Buffer to add points to.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	public void read(int seriesId, long fromTime, long toTime, PointBuffer result) throws IOException {
+		List<ChunkRef> seriesChunks;
+		synchronized (this) {
+			List<ChunkRef> list = chunks.get(Integer.valueOf(seriesId));
+			if (null == list) {
+				return;
+			}
+			seriesChunks = new ArrayList<>(list);
+		}
+
+		for (ChunkRef chunkRef : seriesChunks) {
+			if ((chunkRef.maxTime < fromTime) || (chunkRef.minTime > toTime)) {
+				continue;
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(chunkRef.length);
+			if (!readFully(buffer, chunkRef.position)) {
+				throw new IOException("Unexpected end of the time-series file " + path + ".");
+			}
+			PointBuffer chunk = ChunkCodec.decode(buffer.array(), chunkRef.count, resolution.getColumnCount());
+			result.addAll(chunk, fromTime, toTime);
+		}
+	}
+
+	/**
+	 * Closes the file.
+	 */
+	public void close() {
+		try {
+			fileChannel.close();
+		} catch (IOException e) { // NOPMD
+			// ignore on close
+		}
+	}
+
+	/**
+	 * Closes and deletes the file.
+	 *
+	 * @throws IOException
+	 *             If file can not be deleted.
+	 */
+	public void delete() throws IOException {
+		close();
+		Files.deleteIfExists(path);
+	}
+
+	/**
+	 * Returns the end of the window (excluding).
+	 *
+	 * @return End of the window.
+	 */
+	public long getWindowEnd() {
+		return windowStart + resolution.getWindowMillis();
+	}
+
+	/**
+	 * Returns ids of the series having chunks in this file.
+	 *
+	 * @return Series ids.
+	 */
+	public synchronized List<Integer> getSeriesIds() {
+		return new ArrayList<>(chunks.keySet());
+	}
+
+	/**
+	 * Gets {@link #resolution}.
+	 *
+	 * @return {@link #resolution}
+	 */
+	public Resolution getResolution() {
+		return resolution;
+	}
+
+	/**
+	 * Gets {@link #windowStart}.
+	 *
+	 * @return {@link #windowStart}
+	 */
+	public long getWindowStart() {
+		return windowStart;
+	}
+
+	/**
+	 * Gets {@link #size}.
+	 *
+	 * @return {@link #size}
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Scans the existing file content for the chunks.
+	 *
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private void scan() throws IOException {
+		long fileSize = fileChannel.size();
+		long position = 0;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		while ((position + HEADER_SIZE) <= fileSize) {
+			header.clear();
+			if (!readFully(header, position)) {
+				break;
+			}
+			header.flip();
+			int seriesId = header.getInt();
+			long minTime = header.getLong();
+			long maxTime = header.getLong();
+			int count = header.getInt();
+			int length = header.getInt();
+			int checksum = header.getInt();
+			if ((length < 0) || (count <= 0) || ((position + HEADER_SIZE + length) > fileSize) || !isChecksumValid(position + HEADER_SIZE, length, checksum)) {
+				break;
+			}
+			addChunk(seriesId, new ChunkRef(position + HEADER_SIZE, length, count, minTime, maxTime));
+			position += HEADER_SIZE + length;
+		}
+
+		if (position < fileSize) {
+			// partly written chunk
+			fileChannel.truncate(position);
+		}
+		size = position;
+	}
+
+	/**
+	 * Checks the CRC of the chunk data.
+	 *
+	 * @param position
+	 *            Data position.
+	 * @param length
+	 *            Data length.
+	 * @param checksum
+	 *            Expected checksum.
+	 * @return If checksum is matching.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private boolean isChecksumValid(long position, int length, int checksum) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		if (!readFully(buffer, position)) {
+			return false;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, length);
+		return (int) crc.getValue() == checksum;
+	}
+
+	/**
+	 * Reads from the file till the buffer is full.
+	 *
+	 * @param buffer
+	 *            Buffer to read to.
+	 * @param position
+	 *            File position to read from.
+	 * @return <code>false</code> if end of file was reached before buffer was filled.
+	 * @throws IOException
+	 *             If reading fails.
+	 */
+	private boolean readFully(ByteBuffer buffer, long position) throws IOException {
+		long start = position - buffer.position();
+		while (buffer.hasRemaining()) {
+			if (fileChannel.read(buffer, start + buffer.position()) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Registers the chunk.
+	 *
+	 * @param seriesId
+	 *            Series id.
+	 * @param chunkRef
+	 *            Chunk reference.
+	 */
+	private synchronized void addChunk(int seriesId, ChunkRef chunkRef) {
+		List<ChunkRef> list = chunks.get(Integer.valueOf(seriesId));
+		if (null == list) {
+			list = new ArrayList<>(1);
+			chunks.put(Integer.valueOf(seriesId), list);
+		}
+		list.add(chunkRef);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "WindowFile [resolution=" + resolution + ", windowStart=" + windowStart + ", size=" + size + "]";
+	}
+
+	/**
+	 * Position and time range of one chunk in the file.
+	 */
+	private static class ChunkRef {
+
+		/**
+		 * Position of the chunk data.
+		 */
+		private final long position;
+
+		/**
+		 * Data length.
+		 */
+		private final int length;
+
+		/**
+		 * Point count.
+		 */
+		private final int count;
+
+		/**
+		 * Min time.
+		 */
+		private final long minTime;
+
+		/**
+		 * Max time.
+		 */
+		private final long maxTime;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param position
+		 *            Position of the chunk data.
+		 * @param length
+		 *            Data length.
+		 * @param count
+		 *            Point count.
+		 * @param minTime
+		 *            Min time.
+		 * @param maxTime
+		 *            Max time.
+		 */
+		ChunkRef(long position, int length, int count, long minTime, long maxTime) {
+			this.position = position;
+			this.length = length;
+			this.count = count;
+			this.minTime = minTime;
+			this.maxTime = maxTime;
+		}
+	}
+
+}
@@ -0,0 +1,375 @@
+package rocks.inspectit.server.tsdb.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import rocks.inspectit.server.tsdb.Aggregate.AggregateFunction;
+
+/**
+ * Parsed query on the time-series store.
+ *
+ * @author agent
+ *
+ */
+public class TimeSeriesQuery {
+
+	/**
+	 * Query type.
+	 */
+	private QueryType type;
+
+	/**
+	 * Measurement.
+	 */
+	private String measurement;
+
+	/**
+	 * Tag key for the {@link QueryType#SHOW_TAG_VALUES}.
+	 */
+	private String tagKey;
+
+	/**
+	 * Selected fields.
+	 */
+	private final List<Projection> projections = new ArrayList<>();
+
+	/**
+	 * Tags series must have.
+	 */
+	private final Map<String, String> tagConditions = new HashMap<>();
+
+	/**
+	 * Conditions on the field values.
+	 */
+	private final List<FieldCondition> fieldConditions = new ArrayList<>();
+
+	/**
+	 * Including start of the time range in milliseconds.
+	 */
+	private long fromTime = Long.MIN_VALUE;
+
+	/**
+	 * Including end of the time range in milliseconds.
+	 */
+	private long toTime = Long.MAX_VALUE;
+
+	/**
+	 * Group by time interval in milliseconds or 0 for no grouping.
+	 */
+	private long groupByInterval;
+
+	/**
+	 * Returns if query selects aggregated values.
+	 *
+	 * @return If query selects aggregated values.
+	 */
+	public boolean isAggregation() {
+		return !projections.isEmpty() && (null != projections.get(0).getFunction());
+	}
+
+	/**
+	 * Restricts the time range to the given from time.
+	 *
+	 * @param time
+	 *            Including from time.
+	 */
+	public void restrictFromTime(long time) {
+		fromTime = Math.max(fromTime, time);
+	}
+
+	/**
+	 * Restricts the time range to the given to time.
+	 *
+	 * @param time
+	 *            Including to time.
+	 */
+	public void restrictToTime(long time) {
+		toTime = Math.min(toTime, time);
+	}
+
+	/**
+	 * Gets {@link #type}.
+	 *
+	 * @return {@link #type}
+	 */
+	public QueryType getType() {
+		return type;
+	}
+
+	/**
+	 * Sets {@link #type}.
+	 *
+	 * @param type
+	 *            New value for {@link #type}
+	 */
+	public void setType(QueryType type) {
+		this.type = type;
+	}
+
+	/**
+	 * Gets {@link #measurement}.
+	 *
+	 * @return {@link #measurement}
+	 */
+	public String getMeasurement() {
+		return measurement;
+	}
+
+	/**
+	 * Sets {@link #measurement}.
+	 *
+	 * @param measurement
+	 *            New value for {@link #measurement}
+	 */
+	public void setMeasurement(String measurement) {
+		this.measurement = measurement;
+	}
+
+	/**
+	 * Gets {@link #tagKey}.
+	 *
+	 * @return {@link #tagKey}
+	 */
+	public String getTagKey() {
+		return tagKey;
+	}
+
+	/**
+	 * Sets {@link #tagKey}.
+	 *
+	 * @param tagKey
+	 *            New value for {@link #tagKey}
+	 */
+	public void setTagKey(String tagKey) {
+		this.tagKey = tagKey;
+	}
+
+	/**
+	 * Gets {@link #projections}.
+	 *
+	 * @return {@link #projections}
+	 */
+	public List<Projection> getProjections() {
+		return projections;
+	}
+
+	/**
+	 * Gets {@link #tagConditions}.
+	 *
+	 * @return {@link #tagConditions}
+	 */
+	public Map<String, String> getTagConditions() {
+		return tagConditions;
+	}
+
+	/**
+	 * Gets {@link #fieldConditions}.
+	 *
+	 * @return {@link #fieldConditions}
+	 */
+	public List<FieldCondition> getFieldConditions() {
+		return fieldConditions;
+	}
+
+	/**
+	 * Gets {@link #fromTime}.
+	 *
+	 * @return {@link #fromTime}
+	 */
+	public long getFromTime() {
+		return fromTime;
+	}
+
+	/**
+	 * Gets {@link #toTime}.
+	 *
+	 * @return {@link #toTime}
+	 */
+	public long getToTime() {
+		return toTime;
+	}
+
+	/**
+	 * Gets {@link #groupByInterval}.
+	 *
+	 * @return {@link #groupByInterval}
+	 */
+	public long getGroupByInterval() {
+		return groupByInterval;
+	}
+
+	/**
+	 * Sets {@link #groupByInterval}.
+	 *
+	 * @param groupByInterval
+	 *            New value for {@link #groupByInterval}
+	 */
+	public void setGroupByInterval(long groupByInterval) {
+		this.groupByInterval = groupByInterval;
+	}
+
+	/**
+	 * Supported query types.
+	 */
+	public enum QueryType {
+
+		/**
+		 * Select of data points.
+		 */
+		SELECT,
+
+		/**
+		 * List of measurements.
+		 */
+		SHOW_MEASUREMENTS,
+
+		/**
+		 * List of tag keys of a measurement.
+		 */
+		SHOW_TAG_KEYS,
+
+		/**
+		 * List of tag values of a measurement and tag key.
+		 */
+		SHOW_TAG_VALUES,
+
+		/**
+		 * List of fields of a measurement.
+		 */
+		SHOW_FIELD_KEYS;
+	}
+
+	/**
+	 * Selected field with the optional aggregate function.
+	 */
+	public static class Projection {
+
+		/**
+		 * Aggregate function, <code>null</code> for raw values.
+		 */
+		private final AggregateFunction function;
+
+		/**
+		 * Field.
+		 */
+		private final String field;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param function
+		 *            Aggregate function, <code>null</code> for raw values.
+		 * @param field
+		 *            Field.
+		 */
+		public Projection(AggregateFunction function, String field) {
+			this.function = function;
+			this.field = field;
+		}
+
+		/**
+		 * Returns the column name in the query result.
+		 *
+		 * @return Column name.
+		 */
+		public String getColumnName() {
+			return null == function ? field : function.name().toLowerCase();
+		}
+
+		/**
+		 * Gets {@link #function}.
+		 *
+		 * @return {@link #function}
+		 */
+		public AggregateFunction getFunction() {
+			return function;
+		}
+
+		/**
+		 * Gets {@link #field}.
+		 *
+		 * @return {@link #field}
+		 */
+		public String getField() {
+			return field;
+		}
+
+	}
+
+	/**
+	 * Comparison of the field value with a number.
+	 */
+	public static class FieldCondition {
+
+		/**
+		 * Field.
+		 */
+		private final String field;
+
+		/**
+		 * Comparison operator.
+		 */
+		private final String operator;
+
+		/**
+		 * Value to compare with.
+		 */
+		private final double value;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param field
+		 *            Field.
+		 * @param operator
+		 *            Comparison operator.
+		 * @param value
+		 *            Value to compare with.
+		 */
+		public FieldCondition(String field, String operator, double value) {
+			this.field = field;
+			this.operator = operator;
+			this.value = value;
+		}
+
+		/**
+		 * Tests the field value.
+		 *
+		 * @param fieldValue
+		 *            Field value.
+		 * @return If condition is fulfilled.
+		 */
+		public boolean test(double fieldValue) {
+			switch (operator) {
+			case "=":
+				return fieldValue == value;
+			case "!=":
+			case "<>":
+				return fieldValue != value;
+			case "<":
+				return fieldValue < value;
+			case "<=":
+				return fieldValue <= value;
+			case ">":
+				return fieldValue > value;
+			case ">=":
+				return fieldValue >= value;
+			default:
+				return false;
+			}
+		}
+
+		/**
+		 * Gets {@link #field}.
+		 *
+		 * @return {@link #field}
+		 */
+		public String getField() {
+			return field;
+		}
+
+	}
+
+}
@@ -0,0 +1,514 @@
+package rocks.inspectit.server.tsdb.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import rocks.inspectit.server.tsdb.Aggregate.AggregateFunction;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery.FieldCondition;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery.Projection;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery.QueryType;
+
+/**
+ * Parses the subset of the InfluxQL used by the CMR:
+ * <ul>
+ * <li><code>SHOW MEASUREMENTS</code>
+ * <li><code>SHOW TAG KEYS FROM "m"</code>
+ * <li><code>SHOW TAG VALUES FROM "m" WITH KEY = "k"</code>
+ * <li><code>SHOW FIELD KEYS FROM "m"</code>
+ * <li><code>SELECT "f", ... | FUNC("f"), ... FROM "m" [WHERE cond AND ...] [GROUP BY time(10m)]</code>,
+ * where function is one of MIN, MAX, MEAN, SUM or COUNT and condition compares time, tag (with a
+ * string) or field (with a number).
+ * </ul>
+ *
+ * @author agent
+ *
+ */
+public final class TimeSeriesQueryParser {
+
+	/**
+	 * Tokens of the query.
+	 */
+	private final List<Token> tokens;
+
+	/**
+	 * Current token index.
+	 */
+	private int index;
+
+	/**
+	 * Current time in milliseconds, used for the <code>now()</code> function.
+	 */
+	private final long currentTime;
+
+	/**
+	 * Original query.
+	 */
+	private final String query;
+
+	/**
+	 * Private constructor, use {@link #parse(String, long)}.
+	 *
+	 * @param query
+	 *            Query.
+	 * @param currentTime
+	 *            Current time in milliseconds.
+	 */
+	private TimeSeriesQueryParser(String query, long currentTime) {
+		this.query = query;
+		this.currentTime = currentTime;
+		this.tokens = tokenize(query);
+	}
+
+	/**
+	 * Parses the query.
+	 *
+	 * @param query
+	 *            Query string.
+	 * @param currentTime
+	 *            Current time in milliseconds, used for the <code>now()</code> function.
+	 * @return Parsed query.
+	 * @throws IllegalArgumentException
+	 *             If query is not valid or not supported.
+	 */
+	public static TimeSeriesQuery parse(String query, long currentTime) throws IllegalArgumentException {
+		return new TimeSeriesQueryParser(query, currentTime).parseQuery();
+	}
+
+	/**
+	 * Parses the complete query.
+	 *
+	 * @return Parsed query.
+	 */
+	private TimeSeriesQuery parseQuery() {
+		TimeSeriesQuery result = new TimeSeriesQuery();
+		if (acceptKeyword("SHOW")) {
+			if (acceptKeyword("MEASUREMENTS")) {
+				result.setType(QueryType.SHOW_MEASUREMENTS);
+			} else if (acceptKeyword("TAG")) {
+				if (acceptKeyword("KEYS")) {
+					result.setType(QueryType.SHOW_TAG_KEYS);
+					expectKeyword("FROM");
+					result.setMeasurement(expectIdentifier());
+				} else {
+					expectKeyword("VALUES");
+					result.setType(QueryType.SHOW_TAG_VALUES);
+					expectKeyword("FROM");
+					result.setMeasurement(expectIdentifier());
+					expectKeyword("WITH");
+					expectKeyword("KEY");
+					expect(TokenType.OPERATOR, "=");
+					result.setTagKey(expectIdentifier());
+				}
+			} else {
+				expectKeyword("FIELD");
+				expectKeyword("KEYS");
+				result.setType(QueryType.SHOW_FIELD_KEYS);
+				expectKeyword("FROM");
+				result.setMeasurement(expectIdentifier());
+			}
+		} else {
+			expectKeyword("SELECT");
+			result.setType(QueryType.SELECT);
+			parseProjections(result);
+			expectKeyword("FROM");
+			result.setMeasurement(expectIdentifier());
+			if (acceptKeyword("WHERE")) {
+				do {
+					parseCondition(result);
+				} while (acceptKeyword("AND"));
+			}
+			if (acceptKeyword("GROUP")) {
+				expectKeyword("BY");
+				expectKeyword("TIME");
+				expect(TokenType.PUNCTUATION, "(");
+				long interval = toMillis(expect(TokenType.NUMBER, null).text);
+				if (interval <= 0) {
+					throw error("Group by interval must be positive");
+				}
+				result.setGroupByInterval(interval);
+				expect(TokenType.PUNCTUATION, ")");
+			}
+		}
+
+		accept(TokenType.PUNCTUATION, ";");
+		if (index < tokens.size()) {
+			throw error("Unexpected token '" + tokens.get(index).text + "'");
+		}
+		return result;
+	}
+
+	/**
+	 * Parses the selected fields.
+	 *
+	 * @param result
+	 *            Query to fill.
+	 */
+	private void parseProjections(TimeSeriesQuery result) {
+		do {
+			String name = expectIdentifier();
+			if (accept(TokenType.PUNCTUATION, "(")) {
+				AggregateFunction function;
+				try {
+					function = AggregateFunction.valueOf(name.toUpperCase(Locale.ENGLISH));
+				} catch (IllegalArgumentException e) {
+					throw error("Function " + name + " is not supported"); // NOPMD
+				}
+				String field = expectIdentifier();
+				expect(TokenType.PUNCTUATION, ")");
+				result.getProjections().add(new Projection(function, field));
+			} else {
+				result.getProjections().add(new Projection(null, name));
+			}
+		} while (accept(TokenType.PUNCTUATION, ","));
+
+		boolean aggregation = result.isAggregation();
+		for (Projection projection : result.getProjections()) {
+			if ((null != projection.getFunction()) != aggregation) {
+				throw error("Mixing aggregated and raw fields is not supported");
+			}
+		}
+	}
+
+	/**
+	 * Parses one condition of the where clause.
+	 *
+	 * @param result
+	 *            Query to fill.
+	 */
+	private void parseCondition(TimeSeriesQuery result) {
+		String name = expectIdentifier();
+		String operator = expect(TokenType.OPERATOR, null).text;
+		if ("time".equalsIgnoreCase(name)) {
+			long time = parseTime();
+			switch (operator) {
+			case ">":
+				result.restrictFromTime(time + 1);
+				break;
+			case ">=":
+				result.restrictFromTime(time);
+				break;
+			case "<":
+				result.restrictToTime(time - 1);
+				break;
+			case "<=":
+				result.restrictToTime(time);
+				break;
+			case "=":
+				result.restrictFromTime(time);
+				result.restrictToTime(time);
+				break;
+			default:
+				throw error("Operator " + operator + " is not supported for time");
+			}
+		} else if (peek(TokenType.STRING)) {
+			if (!"=".equals(operator)) {
+				throw error("Operator " + operator + " is not supported for tags");
+			}
+			result.getTagConditions().put(name, tokens.get(index++).text);
+		} else {
+			boolean negative = accept(TokenType.PUNCTUATION, "-");
+			double value;
+			try {
+				value = Double.parseDouble(expect(TokenType.NUMBER, null).text);
+			} catch (NumberFormatException e) {
+				throw error("Invalid number in condition on " + name); // NOPMD
+			}
+			result.getFieldConditions().add(new FieldCondition(name, operator, negative ? -value : value));
+		}
+	}
+
+	/**
+	 * Parses the time expression, either a number with the unit, or <code>now()</code> with an
+	 * optional duration added or subtracted.
+	 *
+	 * @return Time in milliseconds.
+	 */
+	private long parseTime() {
+		if (acceptKeyword("NOW")) {
+			expect(TokenType.PUNCTUATION, "(");
+			expect(TokenType.PUNCTUATION, ")");
+			if (accept(TokenType.PUNCTUATION, "-")) {
+				return currentTime - toMillis(expect(TokenType.NUMBER, null).text);
+			} else if (accept(TokenType.PUNCTUATION, "+")) {
+				return currentTime + toMillis(expect(TokenType.NUMBER, null).text);
+			}
+			return currentTime;
+		}
+		return toMillis(expect(TokenType.NUMBER, null).text);
+	}
+
+	/**
+	 * Converts number with the duration unit to milliseconds. Number without unit is in
+	 * nanoseconds.
+	 *
+	 * @param text
+	 *            Number with optional unit.
+	 * @return Milliseconds.
+	 */
+	private long toMillis(String text) {
+		int unitStart = 0;
+		while ((unitStart < text.length()) && Character.isDigit(text.charAt(unitStart))) {
+			unitStart++;
+		}
+		if (unitStart == 0) {
+			throw error("Invalid duration " + text);
+		}
+		long value = Long.parseLong(text.substring(0, unitStart));
+		String unit = text.substring(unitStart);
+		switch (unit) {
+		case "":
+		case "ns":
+			return TimeUnit.NANOSECONDS.toMillis(value);
+		case "u":
+		case "\u00b5":
+			return TimeUnit.MICROSECONDS.toMillis(value);
+		case "ms":
+			return value;
+		case "s":
+			return TimeUnit.SECONDS.toMillis(value);
+		case "m":
+			return TimeUnit.MINUTES.toMillis(value);
+		case "h":
+			return TimeUnit.HOURS.toMillis(value);
+		case "d":
+			return TimeUnit.DAYS.toMillis(value);
+		case "w":
+			return TimeUnit.DAYS.toMillis(value * 7);
+		default:
+			throw error("Invalid duration unit " + unit);
+		}
+	}
+
+	/**
+	 * Consumes the identifier (quoted or not).
+	 *
+	 * @return Identifier name.
+	 */
+	private String expectIdentifier() {
+		return expect(TokenType.IDENTIFIER, null).text;
+	}
+
+	/**
+	 * Consumes the not quoted keyword if it's the next token.
+	 *
+	 * @param keyword
+	 *            Keyword in upper case.
+	 * @return If keyword was consumed.
+	 */
+	private boolean acceptKeyword(String keyword) {
+		if (index < tokens.size()) {
+			Token token = tokens.get(index);
+			if ((token.type == TokenType.IDENTIFIER) && !token.quoted && keyword.equalsIgnoreCase(token.text)) {
+				index++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Consumes the keyword or fails.
+	 *
+	 * @param keyword
+	 *            Keyword in upper case.
+	 */
+	private void expectKeyword(String keyword) {
+		if (!acceptKeyword(keyword)) {
+			throw error("Expected " + keyword);
+		}
+	}
+
+	/**
+	 * Consumes the token if it's of given type and text.
+	 *
+	 * @param type
+	 *            Token type.
+	 * @param text
+	 *            Token text.
+	 * @return If token was consumed.
+	 */
+	private boolean accept(TokenType type, String text) {
+		if (index < tokens.size()) {
+			Token token = tokens.get(index);
+			if ((token.type == type) && token.text.equals(text)) {
+				index++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns if next token is of given type.
+	 *
+	 * @param type
+	 *            Token type.
+	 * @return If next token is of given type.
+	 */
+	private boolean peek(TokenType type) {
+		return (index < tokens.size()) && (tokens.get(index).type == type);
+	}
+
+	/**
+	 * Consumes the token of given type and optionally text or fails.
+	 *
+	 * @param type
+	 *            Token type.
+	 * @param text
+	 *            Token text or <code>null</code> for any.
+	 * @return Consumed token.
+	 */
+	private Token expect(TokenType type, String text) {
+		if (index < tokens.size()) {
+			Token token = tokens.get(index);
+			if ((token.type == type) && ((null == text) || token.text.equals(text))) {
+				index++;
+				return token;
+			}
+		}
+		throw error("Expected " + (null == text ? type.name().toLowerCase(Locale.ENGLISH) : text));
+	}
+
+	/**
+	 * Creates the parsing exception.
+	 *
+	 * @param message
+	 *            Message.
+	 * @return Exception to throw.
+	 */
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " in query '" + query + "' (token " + index + ").");
+	}
+
+	/**
+	 * Splits the query into tokens.
+	 *
+	 * @param query
+	 *            Query.
+	 * @return Tokens.
+	 */
+	private static List<Token> tokenize(String query) {
+		List<Token> tokens = new ArrayList<>();
+		int i = 0;
+		int length = query.length();
+		while (i < length) {
+			char c = query.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if ((c == '"') || (c == '\'')) {
+				StringBuilder builder = new StringBuilder();
+				i++;
+				while ((i < length) && (query.charAt(i) != c)) {
+					if ((query.charAt(i) == '\\') && ((i + 1) < length)) {
+						i++;
+					}
+					builder.append(query.charAt(i));
+					i++;
+				}
+				if (i >= length) {
+					throw new IllegalArgumentException("Not terminated quote in query '" + query + "'.");
+				}
+				i++;
+				tokens.add(new Token(c == '"' ? TokenType.IDENTIFIER : TokenType.STRING, builder.toString(), true));
+			} else if (Character.isDigit(c)) {
+				int start = i;
+				while ((i < length) && (Character.isLetterOrDigit(query.charAt(i)) || (query.charAt(i) == '.') || (query.charAt(i) == '\u00b5'))) {
+					i++;
+				}
+				tokens.add(new Token(TokenType.NUMBER, query.substring(start, i), false));
+			} else if (Character.isLetter(c) || (c == '_')) {
+				int start = i;
+				while ((i < length) && (Character.isLetterOrDigit(query.charAt(i)) || (query.charAt(i) == '_') || (query.charAt(i) == '.'))) {
+					i++;
+				}
+				tokens.add(new Token(TokenType.IDENTIFIER, query.substring(start, i), false));
+			} else if ((c == '=') || (c == '!') || (c == '<') || (c == '>')) {
+				int start = i;
+				i++;
+				if ((i < length) && ((query.charAt(i) == '=') || ((c == '<') && (query.charAt(i) == '>')))) {
+					i++;
+				}
+				String operator = query.substring(start, i);
+				if ("!".equals(operator)) {
+					throw new IllegalArgumentException("Invalid operator in query '" + query + "'.");
+				}
+				tokens.add(new Token(TokenType.OPERATOR, operator, false));
+			} else {
+				tokens.add(new Token(TokenType.PUNCTUATION, String.valueOf(c), false));
+				i++;
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Token types.
+	 */
+	private enum TokenType {
+
+		/**
+		 * Keyword or identifier, double quoted or not.
+		 */
+		IDENTIFIER,
+
+		/**
+		 * Single quoted string.
+		 */
+		STRING,
+
+		/**
+		 * Number with optional unit.
+		 */
+		NUMBER,
+
+		/**
+		 * Comparison operator.
+		 */
+		OPERATOR,
+
+		/**
+		 * Any other single char.
+		 */
+		PUNCTUATION;
+	}
+
+	/**
+	 * One token of the query.
+	 */
+	private static class Token {
+
+		/**
+		 * Type.
+		 */
+		private final TokenType type;
+
+		/**
+		 * Text without quotes.
+		 */
+		private final String text;
+
+		/**
+		 * If token was quoted.
+		 */
+		private final boolean quoted;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param type
+		 *            Type.
+		 * @param text
+		 *            Text without quotes.
+		 * @param quoted
+		 *            If token was quoted.
+		 */
+		Token(TokenType type, String text, boolean quoted) {
+			this.type = type;
+			this.text = text;
+			this.quoted = quoted;
+		}
+	}
+
+}
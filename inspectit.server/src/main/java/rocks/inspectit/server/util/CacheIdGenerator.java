@@ -1,5 +1,9 @@
 package rocks.inspectit.server.util;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.stereotype.Component;
@@ -10,6 +14,17 @@ import rocks.inspectit.shared.all.communication.DefaultData;
  * Class that generates the ID for the objects that reside in cache. The ID can be generated either
  * for the objects that are going to the indexing structure, or to the elements that go to the
  * buffer.
+ * <p>
+ * The IDs are generated in increasing order, but the objects don't become visible to the queries
+ * in that order. Thus the generator also keeps track of the IDs that are pending, meaning that the
+ * objects with these IDs are still processed or held back and can become visible later. The
+ * {@link #getVisibilityWatermark()} can be used to find the highest ID below which no object is
+ * pending.
+ * <p>
+ * IDs can also be marked as pending only for one type of objects. Such IDs hold back the
+ * watermark of the queries for that type, but not the watermark of the queries for other types.
+ * This is used when objects of one type are held back for a longer time, so that the queries for
+ * the other types are not delayed.
  *
  * @author Ivan Senic
  *
@@ -22,6 +37,17 @@ public class CacheIdGenerator {
 	 */
 	private AtomicLong nextId = new AtomicLong(Long.MAX_VALUE / (long) Math.pow(2, 32));
 
+	/**
+	 * Pending IDs with the amount of times they are marked as pending. Access must be synchronized
+	 * on the map.
+	 */
+	private final TreeMap<Long, Integer> pendingIds = new TreeMap<>();
+
+	/**
+	 * Pending IDs per type of objects. Access must be synchronized on the {@link #pendingIds}.
+	 */
+	private final Map<Class<?>, TreeMap<Long, Integer>> typePendingIds = new HashMap<>();
+
 	/**
 	 * Assigns the {@link DefaultData} object a unique ID.
 	 *
@@ -32,4 +58,189 @@ public class CacheIdGenerator {
 		long id = nextId.incrementAndGet();
 		defaultData.setId(id);
 	}
+
+	/**
+	 * Marks all IDs that will be assigned from now on as pending. This is done by marking the next
+	 * ID to be assigned as pending. The returned ID must be passed to the
+	 * {@link #unmarkPending(long)} once the objects that were assigned IDs in the meantime can be
+	 * seen by the queries.
+	 *
+	 * @return The ID that was marked as pending.
+	 */
+	public long markNextIdsPending() {
+		synchronized (pendingIds) {
+			long id = nextId.get() + 1;
+			markPending(id);
+			return id;
+		}
+	}
+
+	/**
+	 * Marks the given ID as pending. Every call must be followed by exactly one
+	 * {@link #unmarkPending(long)} call with the same ID.
+	 *
+	 * @param id
+	 *            ID to mark.
+	 */
+	public void markPending(long id) {
+		synchronized (pendingIds) {
+			mark(pendingIds, id);
+		}
+	}
+
+	/**
+	 * Marks the given ID as pending only for the queries of the given type. Every call must be
+	 * followed by exactly one {@link #unmarkPending(Class, long)} call with the same type and ID.
+	 *
+	 * @param type
+	 *            Type of the object with the given ID.
+	 * @param id
+	 *            ID to mark.
+	 */
+	public void markPending(Class<?> type, long id) {
+		synchronized (pendingIds) {
+			TreeMap<Long, Integer> ids = typePendingIds.get(type);
+			if (null == ids) {
+				ids = new TreeMap<>();
+				typePendingIds.put(type, ids);
+			}
+			mark(ids, id);
+		}
+	}
+
+	/**
+	 * Removes one pending mark of the given ID.
+	 *
+	 * @param id
+	 *            ID to unmark.
+	 */
+	public void unmarkPending(long id) {
+		synchronized (pendingIds) {
+			unmark(pendingIds, id);
+		}
+	}
+
+	/**
+	 * Removes one pending mark of the given ID marked for the given type.
+	 *
+	 * @param type
+	 *            Type of the object with the given ID.
+	 * @param id
+	 *            ID to unmark.
+	 */
+	public void unmarkPending(Class<?> type, long id) {
+		synchronized (pendingIds) {
+			TreeMap<Long, Integer> ids = typePendingIds.get(type);
+			if (null != ids) {
+				unmark(ids, id);
+				if (ids.isEmpty()) {
+					typePendingIds.remove(type);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the highest ID for which holds that no object with the same or lower ID is pending.
+	 * This is the last assigned ID if nothing is pending. IDs pending for any type are
+	 * considered.
+	 *
+	 * @return Visibility watermark.
+	 */
+	public long getVisibilityWatermark() {
+		return getVisibilityWatermark(null);
+	}
+
+	/**
+	 * Returns the highest ID for which holds that no object of the given types with the same or
+	 * lower ID is pending. IDs pending for all types and IDs pending for the given types or their
+	 * sub-types are considered. This is the last assigned ID if nothing is pending.
+	 *
+	 * @param types
+	 *            Types of the queried objects. If <code>null</code> or empty, IDs pending for any
+	 *            type are considered.
+	 * @return Visibility watermark.
+	 */
+	public long getVisibilityWatermark(List<Class<?>> types) {
+		synchronized (pendingIds) {
+			long watermark = getWatermark(pendingIds, nextId.get());
+			for (Map.Entry<Class<?>, TreeMap<Long, Integer>> entry : typePendingIds.entrySet()) {
+				if (isQueried(entry.getKey(), types)) {
+					watermark = getWatermark(entry.getValue(), watermark);
+				}
+			}
+			return watermark;
+		}
+	}
+
+	/**
+	 * Checks if the objects of the given type are queried when querying the given types.
+	 *
+	 * @param type
+	 *            Type of the pending objects.
+	 * @param types
+	 *            Queried types, <code>null</code> or empty for all types.
+	 * @return If objects of the type are queried.
+	 */
+	private boolean isQueried(Class<?> type, List<Class<?>> types) {
+		if ((null == types) || types.isEmpty()) {
+			return true;
+		}
+		for (Class<?> queriedType : types) {
+			if (queriedType.isAssignableFrom(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Lowers the given watermark below the lowest of the given pending IDs.
+	 *
+	 * @param ids
+	 *            Pending IDs.
+	 * @param watermark
+	 *            Current watermark.
+	 * @return Watermark.
+	 */
+	private long getWatermark(TreeMap<Long, Integer> ids, long watermark) {
+		Map.Entry<Long, Integer> lowestPending = ids.firstEntry();
+		if (null == lowestPending) {
+			return watermark;
+		}
+		return Math.min(watermark, lowestPending.getKey() - 1);
+	}
+
+	/**
+	 * Adds one pending mark of the ID to the given pending IDs.
+	 *
+	 * @param ids
+	 *            Pending IDs.
+	 * @param id
+	 *            ID to mark.
+	 */
+	private void mark(TreeMap<Long, Integer> ids, long id) {
+		Integer count = ids.get(id);
+		ids.put(id, (null == count) ? 1 : count + 1);
+	}
+
+	/**
+	 * Removes one pending mark of the ID from the given pending IDs.
+	 *
+	 * @param ids
+	 *            Pending IDs.
+	 * @param id
+	 *            ID to unmark.
+	 */
+	private void unmark(TreeMap<Long, Integer> ids, long id) {
+		Integer count = ids.get(id);
+		if (null == count) {
+			return;
+		}
+		if (count > 1) {
+			ids.put(id, count - 1);
+		} else {
+			ids.remove(id);
+		}
+	}
 }
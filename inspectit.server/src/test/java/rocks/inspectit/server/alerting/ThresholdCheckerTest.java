@@ -79,7 +79,7 @@ public class ThresholdCheckerTest extends TestBase {
 		@Test
 		public void noData() throws BusinessException, Exception {
 			long time = System.currentTimeMillis();
-			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.isAvailable()).thenReturn(true);
 			when(influxDao.query(any(String.class))).thenReturn(new QueryResult());
 			when(alertingState.getAlertingDefinition()).thenReturn(alertingDefinition);
 
@@ -104,7 +104,7 @@ public class ThresholdCheckerTest extends TestBase {
 		@Test
 		public void noViolationUpperThreshold() throws BusinessException, Exception {
 			long time = System.currentTimeMillis();
-			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.isAvailable()).thenReturn(true);
 			when(influxDao.query(any(String.class))).thenReturn(queryResult);
 			when(alertingState.getAlertingDefinition()).thenReturn(alertingDefinition);
 			when(alertingDefinition.getThresholdType()).thenReturn(ThresholdType.UPPER_THRESHOLD);
@@ -132,7 +132,7 @@ public class ThresholdCheckerTest extends TestBase {
 		@Test
 		public void noViolationLowerThreshold() throws BusinessException, Exception {
 			long time = System.currentTimeMillis();
-			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.isAvailable()).thenReturn(true);
 			when(influxDao.query(any(String.class))).thenReturn(queryResult);
 			when(alertingState.getAlertingDefinition()).thenReturn(alertingDefinition);
 			when(alertingDefinition.getThresholdType()).thenReturn(ThresholdType.LOWER_THRESHOLD);
@@ -160,7 +160,7 @@ public class ThresholdCheckerTest extends TestBase {
 		@Test
 		public void violationUpperThreshold() throws BusinessException, Exception {
 			long time = System.currentTimeMillis();
-			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.isAvailable()).thenReturn(true);
 			when(influxDao.query(any(String.class))).thenReturn(queryResult);
 			when(alertingState.getAlertingDefinition()).thenReturn(alertingDefinition);
 			when(alertingDefinition.getThresholdType()).thenReturn(ThresholdType.UPPER_THRESHOLD);
@@ -188,7 +188,7 @@ public class ThresholdCheckerTest extends TestBase {
 		@Test
 		public void violationLowerThreshold() throws BusinessException, Exception {
 			long time = System.currentTimeMillis();
-			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.isAvailable()).thenReturn(true);
 			when(influxDao.query(any(String.class))).thenReturn(queryResult);
 			when(alertingState.getAlertingDefinition()).thenReturn(alertingDefinition);
 			when(alertingDefinition.getThresholdType()).thenReturn(ThresholdType.LOWER_THRESHOLD);
@@ -216,7 +216,7 @@ public class ThresholdCheckerTest extends TestBase {
 		@Test
 		public void neverChecked() throws BusinessException, Exception {
 			long time = System.currentTimeMillis();
-			when(influxDao.isConnected()).thenReturn(true);
+			when(influxDao.isAvailable()).thenReturn(true);
 			when(influxDao.query(any(String.class))).thenReturn(new QueryResult());
 			when(alertingState.getAlertingDefinition()).thenReturn(alertingDefinition);
 			when(alertingState.getLastCheckTime()).thenReturn(-1L);
@@ -242,7 +242,7 @@ public class ThresholdCheckerTest extends TestBase {
 
 		@Test
 		public void influxDisconnected() throws BusinessException, Exception {
-			when(influxDao.isConnected()).thenReturn(false);
+			when(influxDao.isAvailable()).thenReturn(false);
 
 			thresholdChecker.checkThreshold(alertingState);
 
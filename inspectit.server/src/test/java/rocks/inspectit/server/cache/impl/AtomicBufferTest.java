@@ -21,9 +21,11 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import rocks.inspectit.server.cache.IBufferElement;
+import rocks.inspectit.server.cache.IBufferElement.BufferElementState;
 import rocks.inspectit.server.test.AbstractTestNGLogSupport;
 import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.cs.indexing.buffer.IBufferTreeComponent;
 
 /**
@@ -82,6 +84,34 @@ public class AtomicBufferTest extends AbstractTestNGLogSupport {
 		assertThat(element1.getNextElement(), is(equalTo(element2)));
 	}
 
+	/**
+	 * Tests that the lowest ID of the not indexed elements is returned.
+	 */
+	@Test
+	public void lowestNotIndexedId() {
+		IBufferElement<DefaultData> element1 = new BufferElement<DefaultData>(new TimerData());
+		element1.getObject().setId(3L);
+		IBufferElement<DefaultData> element2 = new BufferElement<DefaultData>(new TimerData());
+		element2.getObject().setId(1L);
+		IBufferElement<DefaultData> element3 = new BufferElement<DefaultData>(new TimerData());
+		element3.getObject().setId(2L);
+
+		assertThat(buffer.getLowestNotIndexedId(), is(Long.MAX_VALUE));
+
+		buffer.put(element1);
+		buffer.put(element2);
+		buffer.put(element3);
+
+		assertThat(buffer.getLowestNotIndexedId(), is(1L));
+
+		element2.setBufferElementState(BufferElementState.INDEXED);
+		assertThat(buffer.getLowestNotIndexedId(), is(2L));
+
+		element1.setBufferElementState(BufferElementState.INDEXED);
+		element3.setBufferElementState(BufferElementState.EVICTED);
+		assertThat(buffer.getLowestNotIndexedId(), is(Long.MAX_VALUE));
+	}
+
 	/**
 	 * Tests that eviction will remove right amount of elements.
 	 *
@@ -0,0 +1,114 @@
+package rocks.inspectit.server.influx.builder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.influxdb.dto.Point.Builder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.influx.constants.Series;
+import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
+import rocks.inspectit.shared.all.cmr.model.SensorTypeIdent;
+import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class AgentTelemetryPointBuilderTest extends AbstractPointBuilderTest {
+
+	@InjectMocks
+	AgentTelemetryPointBuilder builder;
+
+	@Mock
+	ICachedDataService cachedDataService;
+
+	@Mock
+	PlatformIdent platformIdent;
+
+	@Mock
+	SensorTypeIdent sensorTypeIdent;
+
+	public class CreateBuilder extends AgentTelemetryPointBuilderTest {
+
+		static final long PLATFORM_ID = 1L;
+		static final long SENSOR_TYPE_ID = 2L;
+		static final String AGENT_NAME = "Agent";
+		static final String SENSOR_TYPE = "rocks.inspectit.agent.java.sensor.method.timer.TimerSensor";
+
+		AgentTelemetryData data;
+
+		@BeforeMethod
+		public void setup() {
+			when(platformIdent.getAgentName()).thenReturn(AGENT_NAME);
+			when(cachedDataService.getPlatformIdentForId(PLATFORM_ID)).thenReturn(platformIdent);
+			when(sensorTypeIdent.getFullyQualifiedClassName()).thenReturn(SENSOR_TYPE);
+			when(cachedDataService.getSensorTypeIdentForId(SENSOR_TYPE_ID)).thenReturn(sensorTypeIdent);
+
+			data = new AgentTelemetryData(new Timestamp(10L), PLATFORM_ID, 3L);
+		}
+
+		@Test
+		public void agentMetrics() throws Exception {
+			data.setRingBufferSize(1024);
+			data.setRingBufferOccupancySamples(5);
+			data.setTotalRingBufferOccupancy(50);
+			data.setMaxRingBufferOccupancy(20);
+			data.setRingBufferFullCount(3);
+			data.setSendCount(2);
+			data.setSentObjectCount(30);
+			data.setTotalEnqueueNanos(4000000L);
+			data.setBytesSent(2048);
+
+			Collection<Builder> pointBuilderCol = builder.createBuilders(data);
+			assertThat(pointBuilderCol.size(), is(1));
+			Builder pointBuilder = pointBuilderCol.iterator().next();
+
+			assertThat(getMeasurement(pointBuilder), is(Series.AgentTelemetry.NAME));
+			assertThat(getTime(pointBuilder), is(10L));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_ID, String.valueOf(PLATFORM_ID)));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_NAME, AGENT_NAME));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_RING_BUFFER_SIZE, (Object) 1024L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_AVG_RING_BUFFER_OCCUPANCY, (Object) 10d));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_MAX_RING_BUFFER_OCCUPANCY, (Object) 20L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_RING_BUFFER_FULL_COUNT, (Object) 3L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_SEND_COUNT, (Object) 2L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_SENT_OBJECT_COUNT, (Object) 30L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_BYTES_SENT, (Object) 2048L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentTelemetry.FIELD_AVG_ENQUEUE_TIME, (Object) 2d));
+		}
+
+		@Test
+		public void hookTimes() throws Exception {
+			data.setHookSamplingInterval(10);
+			data.setHookTimes(new long[] { SENSOR_TYPE_ID, 4L }, new long[] { 4L, 0L }, new long[] { 2000000L, 0L });
+
+			Collection<Builder> pointBuilderCol = builder.createBuilders(data);
+			assertThat(pointBuilderCol.size(), is(2));
+			Iterator<Builder> iterator = pointBuilderCol.iterator();
+			iterator.next();
+			Builder pointBuilder = iterator.next();
+
+			assertThat(getMeasurement(pointBuilder), is(Series.AgentHookTime.NAME));
+			assertThat(getTime(pointBuilder), is(10L));
+			assertThat(getTags(pointBuilder), hasEntry(Series.TAG_AGENT_ID, String.valueOf(PLATFORM_ID)));
+			assertThat(getTags(pointBuilder), hasEntry(Series.AgentHookTime.TAG_SENSOR_TYPE, SENSOR_TYPE));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentHookTime.FIELD_SAMPLED_CALLS, (Object) 4L));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentHookTime.FIELD_AVG_DURATION, (Object) 0.5d));
+			assertThat(getFields(pointBuilder), hasEntry(Series.AgentHookTime.FIELD_ESTIMATED_TOTAL_DURATION, (Object) 20d));
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ import java.util.concurrent.TimeUnit;
 import org.influxdb.InfluxDB;
 import org.influxdb.dto.Point;
 import org.influxdb.dto.Query;
+import org.influxdb.dto.QueryResult;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -31,6 +32,7 @@ import org.testng.annotations.Test;
 
 import rocks.inspectit.server.influx.InfluxAvailabilityChecker;
 import rocks.inspectit.server.influx.util.InfluxClientFactory;
+import rocks.inspectit.server.tsdb.TimeSeriesStore;
 import rocks.inspectit.shared.all.externalservice.ExternalServiceStatus;
 import rocks.inspectit.shared.all.externalservice.ExternalServiceType;
 import rocks.inspectit.shared.all.testbase.TestBase;
@@ -58,6 +60,9 @@ public class InfluxDBDaoTest extends TestBase {
 	@Mock
 	InfluxAvailabilityChecker availabilityChecker;
 
+	@Mock
+	TimeSeriesStore timeSeriesStore;
+
 	InfluxDB influxDb;
 
 	Future<?> future;
@@ -141,6 +146,44 @@ public class InfluxDBDaoTest extends TestBase {
 			assertThat(influxDao.getServiceStatus(), is(ExternalServiceStatus.DISCONNECTED));
 			verifyZeroInteractions(future, dataPoint, executor, availabilityChecker, clientFactory);
 		}
+
+		@Test
+		public void embeddedStore() {
+			influxDao.active = false;
+			when(timeSeriesStore.isActive()).thenReturn(true);
+
+			influxDao.insert(dataPoint);
+
+			assertThat(influxDao.isConnected(), is(false));
+			assertThat(influxDao.isAvailable(), is(true));
+			assertThat(influxDao.getServiceStatus(), is(ExternalServiceStatus.DISABLED));
+			verify(timeSeriesStore).insert(dataPoint);
+			verifyZeroInteractions(future, dataPoint, executor, availabilityChecker, clientFactory, influxDb);
+		}
+
+		@Test
+		public void embeddedStoreNotActive() {
+			influxDao.active = false;
+			when(timeSeriesStore.isActive()).thenReturn(false);
+
+			influxDao.insert(dataPoint);
+
+			assertThat(influxDao.isAvailable(), is(false));
+			verify(timeSeriesStore, times(0)).insert(dataPoint);
+			verifyZeroInteractions(future, dataPoint, executor, availabilityChecker, clientFactory, influxDb);
+		}
+
+		@Test
+		public void embeddedStoreNotUsedWhenInfluxActive() {
+			influxDao.active = true;
+			when(timeSeriesStore.isActive()).thenReturn(true);
+			influxDao.propertiesUpdated();
+
+			influxDao.insert(dataPoint);
+
+			verify(influxDb).write(influxDao.database, influxDao.retentionPolicy, dataPoint);
+			verify(timeSeriesStore, times(0)).insert(dataPoint);
+		}
 	}
 
 	/**
@@ -207,6 +250,20 @@ public class InfluxDBDaoTest extends TestBase {
 			assertThat(influxDao.getServiceStatus(), is(ExternalServiceStatus.DISCONNECTED));
 			verifyZeroInteractions(future, executor, availabilityChecker, clientFactory);
 		}
+
+		@Test
+		public void embeddedStore() {
+			influxDao.active = false;
+			QueryResult queryResult = new QueryResult();
+			when(timeSeriesStore.isActive()).thenReturn(true);
+			when(timeSeriesStore.query("myQuery")).thenReturn(queryResult);
+
+			QueryResult result = influxDao.query("myQuery");
+
+			assertThat(result, is(queryResult));
+			verify(timeSeriesStore).query("myQuery");
+			verifyZeroInteractions(future, executor, availabilityChecker, clientFactory, influxDb);
+		}
 	}
 
 	/**
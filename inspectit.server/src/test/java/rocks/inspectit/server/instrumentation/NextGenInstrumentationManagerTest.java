@@ -10,6 +10,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -20,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -34,16 +36,21 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import rocks.inspectit.server.dao.PlatformIdentDao;
+import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.event.AgentRegisteredEvent;
 import rocks.inspectit.server.instrumentation.classcache.ClassCache;
 import rocks.inspectit.server.instrumentation.classcache.ClassCacheInstrumentation;
 import rocks.inspectit.server.instrumentation.classcache.ClassCacheLookup;
 import rocks.inspectit.server.instrumentation.classcache.ClassCacheModification;
 import rocks.inspectit.server.instrumentation.classcache.ClassCacheModificationException;
+import rocks.inspectit.server.instrumentation.classcache.ClassCacheSnapshotManager;
 import rocks.inspectit.server.instrumentation.config.ConfigurationHolder;
 import rocks.inspectit.server.instrumentation.config.ConfigurationResolver;
 import rocks.inspectit.server.instrumentation.config.applier.IInstrumentationApplier;
+import rocks.inspectit.server.instrumentation.config.applier.InstrumentationApplierIndex;
 import rocks.inspectit.server.instrumentation.config.applier.JmxMonitoringApplier;
+import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
 import rocks.inspectit.shared.all.instrumentation.classcache.ImmutableType;
@@ -101,6 +108,12 @@ public class NextGenInstrumentationManagerTest extends TestBase {
 	@Mock
 	ApplicationEventPublisher eventPublisher;
 
+	@Mock
+	ClassCacheSnapshotManager snapshotManager;
+
+	@Mock
+	PlatformIdentDao platformIdentDao;
+
 	@BeforeMethod
 	public void setup() {
 		when(classCacheFactory.getObject()).thenReturn(classCache);
@@ -198,6 +211,38 @@ public class NextGenInstrumentationManagerTest extends TestBase {
 			verifyNoMoreInteractions(configurationResolver, registrationService, configurationHolder, instrumentationService, classCache);
 		}
 
+		@Test
+		public void restoredAgent() throws BusinessException {
+			long id = 10;
+			List<String> definedIPs = mock(List.class);
+			String agentName = "agentName";
+			String version = "v1";
+			AgentConfig configuration = mock(AgentConfig.class);
+			Environment environment = mock(Environment.class);
+			Collection<IInstrumentationApplier> appliers = mock(Collection.class);
+			when(configurationResolver.getEnvironmentForAgent(definedIPs, agentName)).thenReturn(environment);
+			when(registrationService.registerPlatformIdent(definedIPs, agentName, version)).thenReturn(id);
+			when(snapshotManager.hasSnapshot(id)).thenReturn(true);
+			when(snapshotManager.restore(id, classCache)).thenReturn(true);
+			when(configurationHolder.isInitialized()).thenReturn(true);
+			when(configurationHolder.getEnvironment()).thenReturn(environment);
+			when(configurationHolder.getAgentConfiguration()).thenReturn(configuration);
+			when(configurationHolder.getInstrumentationAppliers()).thenReturn(appliers);
+			Map<Collection<String>, InstrumentationDefinition> initialInstrumentations = mock(Map.class);
+			when(instrumentationService.getInstrumentationResultsWithHashes()).thenReturn(initialInstrumentations);
+
+			AgentConfig result = manager.register(definedIPs, agentName, version);
+
+			assertThat(result, is(configuration));
+
+			verify(snapshotManager).restore(id, classCache);
+			verify(configurationHolder).update(environment, id);
+			verify(instrumentationService).addInstrumentationPoints(configuration, appliers);
+			verify(configuration).setInitialInstrumentationResults(initialInstrumentations);
+			verify(configuration).setClassCacheExistsOnCmr(true);
+			verifyZeroInteractions(platformIdentDao, eventPublisher);
+		}
+
 		@Test
 		public void existingAgentNoEnvironment() throws BusinessException {
 			long id = 10;
@@ -358,6 +403,75 @@ public class NextGenInstrumentationManagerTest extends TestBase {
 			verifyZeroInteractions(modificationService, instrumentationService);
 		}
 
+		@Test
+		public void restoredAgentNotRegistered() throws BusinessException, ClassCacheModificationException {
+			List<String> definedIPs = mock(List.class);
+			String agentName = "agentName";
+			PlatformIdent platformIdent = new PlatformIdent();
+			platformIdent.setDefinedIPs(definedIPs);
+			platformIdent.setAgentName(agentName);
+			Environment environment = mock(Environment.class);
+			when(snapshotManager.hasSnapshot(ID)).thenReturn(true);
+			when(snapshotManager.restore(ID, classCache)).thenReturn(true);
+			when(platformIdentDao.load(ID)).thenReturn(platformIdent);
+			when(configurationResolver.getEnvironmentForAgent(definedIPs, agentName)).thenReturn(environment);
+			ImmutableType typeFromClassCache = mock(ImmutableType.class);
+			when(typeFromClassCache.isClass()).thenReturn(false);
+			when(lookupService.findByHash(HASH)).thenReturn(typeFromClassCache);
+
+			InstrumentationDefinition result = manager.analyze(ID, HASH, type);
+
+			assertThat(result, is(nullValue()));
+			assertThat(manager.getAgentCacheMap().containsKey(ID), is(true));
+
+			verify(snapshotManager).restore(ID, classCache);
+			verify(configurationHolder).update(environment, ID);
+			verifyZeroInteractions(registrationService, modificationService);
+		}
+
+		@Test(timeOut = 10000, expectedExceptions = BusinessException.class)
+		public void restoreOfOtherAgentNotBlocking() throws Exception {
+			List<String> definedIPs = mock(List.class);
+			String agentName = "agentName";
+			PlatformIdent platformIdent = new PlatformIdent();
+			platformIdent.setDefinedIPs(definedIPs);
+			platformIdent.setAgentName(agentName);
+			Environment environment = mock(Environment.class);
+			final CountDownLatch restoreStarted = new CountDownLatch(1);
+			final CountDownLatch restoreReleased = new CountDownLatch(1);
+			when(snapshotManager.hasSnapshot(ID)).thenReturn(true);
+			when(snapshotManager.restore(ID, classCache)).thenAnswer(new Answer<Boolean>() {
+				@Override
+				public Boolean answer(InvocationOnMock invocation) throws Throwable {
+					restoreStarted.countDown();
+					restoreReleased.await();
+					return false;
+				}
+			});
+			when(platformIdentDao.load(ID)).thenReturn(platformIdent);
+			when(configurationResolver.getEnvironmentForAgent(definedIPs, agentName)).thenReturn(environment);
+			Thread restoring = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						manager.analyze(ID, HASH, type);
+					} catch (BusinessException e) { // NOPMD
+						// expected as the snapshot is not restored
+					}
+				}
+			});
+			restoring.start();
+			restoreStarted.await();
+
+			try {
+				// agent without snapshot must not wait for the restore of the other agent
+				manager.analyze(ID + 1, HASH, type);
+			} finally {
+				restoreReleased.countDown();
+				restoring.join();
+			}
+		}
+
 		@Test
 		public void existingClassTypeInstrumented() throws BusinessException, ClassCacheModificationException {
 			List<String> definedIPs = mock(List.class);
@@ -373,17 +487,17 @@ public class NextGenInstrumentationManagerTest extends TestBase {
 			when(lookupService.findByHash(HASH)).thenReturn(classType);
 			when(configurationHolder.isInitialized()).thenReturn(true);
 			AgentConfig configuration = mock(AgentConfig.class);
-			Collection<IInstrumentationApplier> appliers = mock(Collection.class);
+			InstrumentationApplierIndex applierIndex = mock(InstrumentationApplierIndex.class);
 			InstrumentationDefinition instrumentationResult = mock(InstrumentationDefinition.class);
 			when(configurationHolder.getAgentConfiguration()).thenReturn(configuration);
-			when(configurationHolder.getInstrumentationAppliers()).thenReturn(appliers);
-			when(instrumentationService.addAndGetInstrumentationResult(classType, configuration, appliers)).thenReturn(instrumentationResult);
+			when(configurationHolder.getInstrumentationApplierIndex()).thenReturn(applierIndex);
+			when(instrumentationService.addAndGetInstrumentationResult(classType, configuration, applierIndex)).thenReturn(instrumentationResult);
 
 			InstrumentationDefinition result = manager.analyze(ID, HASH, type);
 
 			assertThat(result, is(instrumentationResult));
 
-			verify(instrumentationService).addAndGetInstrumentationResult(classType, configuration, appliers);
+			verify(instrumentationService).addAndGetInstrumentationResult(classType, configuration, applierIndex);
 			verifyNoMoreInteractions(instrumentationService);
 			verifyZeroInteractions(modificationService);
 		}
@@ -533,4 +647,51 @@ public class NextGenInstrumentationManagerTest extends TestBase {
 		}
 	}
 
+	public class Snapshots extends NextGenInstrumentationManagerTest {
+
+		private final static String HASH = "hash";
+
+		private final static long ID = 10;
+
+		@Mock
+		private Type type;
+
+		@Test
+		public void saveChangedClassCache() throws BusinessException, ClassCacheModificationException {
+			List<String> definedIPs = mock(List.class);
+			String agentName = "agentName";
+			String version = "v1";
+			when(registrationService.registerPlatformIdent(definedIPs, agentName, version)).thenReturn(ID);
+			manager.register(definedIPs, agentName, version);
+			ImmutableType typeFromClassCache = mock(ImmutableType.class);
+			when(lookupService.findByHash(HASH)).thenReturn(null, typeFromClassCache);
+			manager.analyze(ID, HASH, type);
+
+			manager.saveClassCacheSnapshots();
+			manager.saveClassCacheSnapshots();
+
+			verify(snapshotManager).save(ID, classCache);
+		}
+
+		@Test
+		public void noChangeNoSave() throws BusinessException {
+			List<String> definedIPs = mock(List.class);
+			String agentName = "agentName";
+			String version = "v1";
+			when(registrationService.registerPlatformIdent(definedIPs, agentName, version)).thenReturn(ID);
+			manager.register(definedIPs, agentName, version);
+
+			manager.saveClassCacheSnapshots();
+
+			verify(snapshotManager, never()).save(ID, classCache);
+		}
+
+		@Test
+		public void agentDeleted() {
+			manager.onApplicationEvent(new AgentDeletedEvent(this, ID));
+
+			verify(snapshotManager).delete(ID);
+		}
+	}
+
 }
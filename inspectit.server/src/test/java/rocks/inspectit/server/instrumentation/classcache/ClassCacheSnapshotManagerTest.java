@@ -0,0 +1,197 @@
+package rocks.inspectit.server.instrumentation.classcache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPInputStream;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.esotericsoftware.kryo.io.Input;
+
+import rocks.inspectit.shared.all.instrumentation.classcache.AnnotationType;
+import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.InterfaceType;
+import rocks.inspectit.shared.all.instrumentation.classcache.MethodType;
+import rocks.inspectit.shared.all.instrumentation.classcache.Type;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.storage.util.DeleteFileVisitor;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class ClassCacheSnapshotManagerTest extends TestBase {
+
+	private static final String TEST_FOLDER = "testClassCacheSnapshot";
+
+	@InjectMocks
+	ClassCacheSnapshotManager snapshotManager;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	ClassCache classCache;
+
+	@Mock
+	ClassCacheLookup lookup;
+
+	@Mock
+	ClassCacheModification modification;
+
+	@BeforeMethod
+	public void setup() throws Exception {
+		snapshotManager.snapshotFolder = TEST_FOLDER;
+		when(classCache.getLookupService()).thenReturn(lookup);
+		when(classCache.getModificationService()).thenReturn(modification);
+		doAnswer(new Answer<Object>() {
+			@Override
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				Callable<?> callable = (Callable<?>) invocation.getArguments()[0];
+				return callable.call();
+			}
+		}).when(classCache).executeWithReadLock(Matchers.<Callable<?>> anyObject());
+	}
+
+	@AfterMethod
+	public void cleanUp() throws IOException {
+		if (Files.exists(Paths.get(TEST_FOLDER))) {
+			Files.walkFileTree(Paths.get(TEST_FOLDER), new DeleteFileVisitor());
+			Files.deleteIfExists(Paths.get(TEST_FOLDER));
+		}
+	}
+
+	public class WriteReadSnapshot extends ClassCacheSnapshotManagerTest {
+
+		@Test
+		public void classType() throws IOException {
+			ClassType classType = new ClassType("my.Class", "hash1", 1);
+			classType.addHash("hash2");
+			classType.addAnnotation(new AnnotationType("my.Annotation"));
+			classType.addSuperClass(new ClassType("my.SuperClass"));
+			classType.addInterface(new InterfaceType("my.Interface"));
+			MethodType methodType = new MethodType();
+			methodType.setName("method");
+			methodType.setModifiers(2);
+			methodType.setReturnType("void");
+			methodType.setParameters(Arrays.asList("int", "java.lang.String"));
+			methodType.addException(new ClassType("my.Exception"));
+			classType.addMethod(methodType);
+
+			List<Type> types = writeAndRead(Arrays.asList(classType, new ClassType("my.SuperClass")));
+
+			assertThat(types, hasSize(1));
+			assertThat(types.get(0), is(instanceOf(ClassType.class)));
+			ClassType result = (ClassType) types.get(0);
+			assertThat(result.getFQN(), is("my.Class"));
+			assertThat(result.getModifiers(), is(1));
+			assertThat(result.isInitialized(), is(true));
+			assertThat(result.getHashes(), containsInAnyOrder("hash1", "hash2"));
+			assertThat(result.getAnnotations(), contains(new AnnotationType("my.Annotation")));
+			assertThat(result.getSuperClasses(), contains(new ClassType("my.SuperClass")));
+			assertThat(result.getSuperClasses().iterator().next().isInitialized(), is(false));
+			assertThat(result.getRealizedInterfaces(), hasSize(1));
+			assertThat(result.getRealizedInterfaces().iterator().next().getFQN(), is("my.Interface"));
+			assertThat(result.getMethods(), hasSize(1));
+			MethodType resultMethod = result.getMethods().iterator().next();
+			assertThat(resultMethod.getName(), is("method"));
+			assertThat(resultMethod.getModifiers(), is(2));
+			assertThat(resultMethod.getReturnType(), is("void"));
+			assertThat(resultMethod.getParameters(), contains("int", "java.lang.String"));
+			assertThat(resultMethod.getExceptions(), contains(new ClassType("my.Exception")));
+		}
+
+		@Test
+		public void interfaceAndAnnotationType() throws IOException {
+			InterfaceType interfaceType = new InterfaceType("my.Interface", "hash", 0);
+			interfaceType.addSuperInterface(new InterfaceType("my.SuperInterface"));
+			MethodType methodType = new MethodType();
+			methodType.setName("method");
+			methodType.setReturnType("void");
+			interfaceType.addMethod(methodType);
+			AnnotationType annotationType = new AnnotationType("my.Annotation", "hash", 0);
+
+			List<Type> types = writeAndRead(Arrays.<Type> asList(interfaceType, annotationType));
+
+			assertThat(types, hasSize(2));
+			InterfaceType resultInterface = (InterfaceType) types.get(0);
+			assertThat(resultInterface.getSuperInterfaces(), contains(new InterfaceType("my.SuperInterface")));
+			assertThat(resultInterface.getMethods(), hasSize(1));
+			assertThat(resultInterface.getMethods().iterator().next().getParameters(), is(empty()));
+			assertThat(types.get(1), is(instanceOf(AnnotationType.class)));
+			assertThat(types.get(1).getFQN(), is("my.Annotation"));
+		}
+
+		private List<Type> writeAndRead(List<? extends Type> types) throws IOException {
+			byte[] snapshot = snapshotManager.writeSnapshot(types);
+			return snapshotManager.readSnapshot(new Input(new GZIPInputStream(new ByteArrayInputStream(snapshot))));
+		}
+	}
+
+	public class SaveRestore extends ClassCacheSnapshotManagerTest {
+
+		@Test
+		public void saveAndRestore() throws Exception {
+			ClassType classType = new ClassType("my.Class", "hash", 0);
+			doReturn(Collections.singleton(classType)).when(lookup).findAll();
+
+			snapshotManager.save(1L, classCache);
+			boolean restored = snapshotManager.restore(1L, classCache);
+
+			assertThat(snapshotManager.hasSnapshot(1L), is(true));
+			assertThat(restored, is(true));
+			ArgumentCaptor<Type> captor = ArgumentCaptor.forClass(Type.class);
+			verify(modification).merge(captor.capture());
+			assertThat(captor.getValue().getFQN(), is("my.Class"));
+			assertThat(captor.getValue().getHashes(), contains("hash"));
+		}
+
+		@Test
+		public void noSnapshot() throws Exception {
+			boolean restored = snapshotManager.restore(1L, classCache);
+
+			assertThat(snapshotManager.hasSnapshot(1L), is(false));
+			assertThat(restored, is(false));
+			verifyZeroInteractions(modification);
+		}
+
+		@Test
+		public void delete() throws Exception {
+			doReturn(Collections.emptyList()).when(lookup).findAll();
+			snapshotManager.save(1L, classCache);
+
+			snapshotManager.delete(1L);
+
+			assertThat(snapshotManager.hasSnapshot(1L), is(false));
+		}
+	}
+}
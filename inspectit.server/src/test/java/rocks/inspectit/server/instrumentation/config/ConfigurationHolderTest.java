@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -67,6 +68,7 @@ public class ConfigurationHolderTest extends TestBase {
 			assertThat(holder.getAgentConfiguration(), is(configuration));
 			assertThat(holder.getInstrumentationAppliers(), hasSize(1));
 			assertThat(holder.getInstrumentationAppliers(), hasItem(applier));
+			assertThat(holder.getInstrumentationApplierIndex().getAppliers(), hasItem(applier));
 			assertThat(holder.getJmxMonitoringAppliers(), hasSize(1));
 			assertThat(holder.getJmxMonitoringAppliers(), hasItem(jmxApplier));
 
@@ -91,6 +93,7 @@ public class ConfigurationHolderTest extends TestBase {
 			holder.update(null, platformId);
 
 			assertThat(holder.isInitialized(), is(false));
+			assertThat(holder.getInstrumentationApplierIndex(), is(nullValue()));
 
 			// only one time verifications
 			verify(configurationCreator).environmentToConfiguration(environment, platformId);
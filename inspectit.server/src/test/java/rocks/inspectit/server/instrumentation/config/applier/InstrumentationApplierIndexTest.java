@@ -0,0 +1,168 @@
+package rocks.inspectit.server.instrumentation.config.applier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.instrumentation.classcache.ClassType;
+import rocks.inspectit.shared.all.instrumentation.classcache.InterfaceType;
+import rocks.inspectit.shared.all.instrumentation.classcache.MethodType;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.ci.assignment.AbstractClassSensorAssignment;
+import rocks.inspectit.shared.cs.ci.assignment.impl.ExceptionSensorAssignment;
+import rocks.inspectit.shared.cs.ci.assignment.impl.MethodSensorAssignment;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class InstrumentationApplierIndexTest extends TestBase {
+
+	public class GetCandidates extends InstrumentationApplierIndexTest {
+
+		@Test
+		public void exactClassName() {
+			IInstrumentationApplier matching = applier(methodAssignment("my.Class", "*"));
+			IInstrumentationApplier other = applier(methodAssignment("my.OtherClass", "*"));
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.asList(matching, other));
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(new ClassType("my.Class"));
+
+			assertThat(candidates, contains(matching));
+		}
+
+		@Test
+		public void prefixClassName() {
+			IInstrumentationApplier matching = applier(methodAssignment("my.*", "*"));
+			IInstrumentationApplier matchingLonger = applier(methodAssignment("my.Cl*ss", "*"));
+			IInstrumentationApplier other = applier(methodAssignment("my.Other*", "*"));
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.asList(matching, matchingLonger, other));
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(new ClassType("my.Class"));
+
+			assertThat(candidates, contains(matching, matchingLonger));
+		}
+
+		@Test
+		public void leadingWildcardAlwaysCandidate() {
+			IInstrumentationApplier leadingWildcard = applier(methodAssignment("*Class", "*"));
+			IInstrumentationApplier noAssignment = applier(null);
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.asList(leadingWildcard, noAssignment));
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(new ClassType("some.Other"));
+
+			assertThat(candidates, contains(leadingWildcard, noAssignment));
+		}
+
+		@Test
+		public void superClassName() {
+			AbstractClassSensorAssignment<?> superClassAssignment = methodAssignment("my.Super*", "*");
+			superClassAssignment.setSuperclass(true);
+			AbstractClassSensorAssignment<?> directAssignment = methodAssignment("my.Super", "*");
+			IInstrumentationApplier superClassApplier = applier(superClassAssignment);
+			IInstrumentationApplier directApplier = applier(directAssignment);
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.asList(superClassApplier, directApplier));
+			ClassType superClass = new ClassType("my.Super");
+			ClassType classType = new ClassType("my.Class");
+			classType.addSuperClass(new ClassType("my.Middle"));
+			classType.getSuperClasses().iterator().next().addSuperClass(superClass);
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(classType);
+
+			assertThat(candidates, contains(superClassApplier));
+		}
+
+		@Test
+		public void interfaceName() {
+			AbstractClassSensorAssignment<?> interfaceAssignment = methodAssignment("my.Interface", "*");
+			interfaceAssignment.setInterf(true);
+			IInstrumentationApplier interfaceApplier = applier(interfaceAssignment);
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.<IInstrumentationApplier> asList(interfaceApplier));
+			InterfaceType interfaceType = new InterfaceType("my.Interface");
+			InterfaceType subInterfaceType = new InterfaceType("my.SubInterface");
+			subInterfaceType.addSuperInterface(interfaceType);
+			ClassType superClass = new ClassType("my.Super");
+			superClass.addInterface(subInterfaceType);
+			ClassType classType = new ClassType("my.Class");
+			classType.addSuperClass(superClass);
+
+			assertThat(index.getCandidates(classType), contains(interfaceApplier));
+			assertThat(index.getCandidates(new ClassType("my.Other")), is(empty()));
+		}
+
+		@Test
+		public void exactMethodName() {
+			IInstrumentationApplier matching = applier(methodAssignment("my.Class", "method"));
+			IInstrumentationApplier notDeclared = applier(methodAssignment("my.Class", "otherMethod"));
+			IInstrumentationApplier wildcard = applier(methodAssignment("my.Class", "other*"));
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.asList(matching, notDeclared, wildcard));
+			ClassType classType = new ClassType("my.Class");
+			MethodType methodType = new MethodType();
+			methodType.setName("method");
+			classType.addMethod(methodType);
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(classType);
+
+			assertThat(candidates, contains(matching, wildcard));
+		}
+
+		@Test
+		public void constructorAssignment() {
+			MethodSensorAssignment constructorAssignment = methodAssignment("my.Class", null);
+			constructorAssignment.setConstructor(true);
+			IInstrumentationApplier constructorApplier = applier(constructorAssignment);
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.<IInstrumentationApplier> asList(constructorApplier));
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(new ClassType("my.Class"));
+
+			assertThat(candidates, contains(constructorApplier));
+		}
+
+		@Test
+		public void exceptionAssignment() {
+			ExceptionSensorAssignment exceptionAssignment = new ExceptionSensorAssignment();
+			exceptionAssignment.setClassName("my.Exception");
+			IInstrumentationApplier exceptionApplier = applier(exceptionAssignment);
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(Arrays.<IInstrumentationApplier> asList(exceptionApplier));
+
+			assertThat(index.getCandidates(new ClassType("my.Exception")), contains(exceptionApplier));
+			assertThat(index.getCandidates(new ClassType("my.Class")), is(empty()));
+		}
+
+		@Test
+		public void originalOrder() {
+			List<IInstrumentationApplier> appliers = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				appliers.add(applier(methodAssignment((0 == (i % 2)) ? "my.Class" : "my.*", "*")));
+			}
+			InstrumentationApplierIndex index = new InstrumentationApplierIndex(appliers);
+
+			List<IInstrumentationApplier> candidates = index.getCandidates(new ClassType("my.Class"));
+
+			assertThat(candidates, is(appliers));
+		}
+	}
+
+	private static MethodSensorAssignment methodAssignment(String className, String methodName) {
+		MethodSensorAssignment assignment = new MethodSensorAssignment();
+		assignment.setClassName(className);
+		assignment.setMethodName(methodName);
+		return assignment;
+	}
+
+	private static IInstrumentationApplier applier(AbstractClassSensorAssignment<?> assignment) {
+		IInstrumentationApplier applier = mock(IInstrumentationApplier.class);
+		doReturn(assignment).when(applier).getSensorAssignment();
+		return applier;
+	}
+}
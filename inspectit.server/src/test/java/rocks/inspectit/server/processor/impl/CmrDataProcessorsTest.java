@@ -1,12 +1,14 @@
 package rocks.inspectit.server.processor.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Mockito.RETURNS_SMART_NULLS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -16,6 +18,8 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -39,13 +43,14 @@ import rocks.inspectit.server.storage.CmrStorageManager;
 import rocks.inspectit.server.util.CacheIdGenerator;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.ExceptionEvent;
-import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
 import rocks.inspectit.shared.all.communication.data.CpuInformationData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpInfo;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
@@ -68,7 +73,7 @@ public class CmrDataProcessorsTest {
 	Logger log;
 
 	@Mock
-	private IBuffer<MethodSensorData> buffer;
+	private IBuffer<DefaultData> buffer;
 
 	@Mock
 	private CacheIdGenerator cacheIdGenerator;
@@ -134,6 +139,20 @@ public class CmrDataProcessorsTest {
 		verify(buffer, times(1)).put(captor.capture());
 		verifyZeroInteractions(entityManager);
 		assertThat(captor.getValue().getObject(), is(equalTo(((Object) invocationAwareData))));
+
+		// allow sampling profiler data
+		SamplingProfilerData samplingProfilerData = new SamplingProfilerData();
+		processor.process(samplingProfilerData, entityManager);
+		verify(buffer, times(2)).put(captor.capture());
+		verifyZeroInteractions(entityManager);
+		assertThat(captor.getValue().getObject(), is(equalTo(((Object) samplingProfilerData))));
+
+		// allow agent telemetry data
+		AgentTelemetryData agentTelemetryData = new AgentTelemetryData();
+		processor.process(agentTelemetryData, entityManager);
+		verify(buffer, times(3)).put(captor.capture());
+		verifyZeroInteractions(entityManager);
+		assertThat(captor.getValue().getObject(), is(equalTo(((Object) agentTelemetryData))));
 	}
 
 	/**
@@ -181,6 +200,178 @@ public class CmrDataProcessorsTest {
 		assertThat(child.getErrorMessage(), is("parentMsg"));
 	}
 
+	/**
+	 * Tests the {@link ExceptionStackTraceCmrProcessor}.
+	 */
+	@Test
+	public void exceptionStackTraceProcessor() {
+		ExceptionStackTraceCmrProcessor processor = new ExceptionStackTraceCmrProcessor();
+
+		// only exceptions and invocations
+		assertThat(processor.canBeProcessed(new TimerData()), is(false));
+
+		// don't fail on null
+		processor.process((DefaultData) null, entityManager);
+		verifyZeroInteractions(entityManager);
+
+		ExceptionSensorData withText = new ExceptionSensorData();
+		withText.setPlatformIdent(1L);
+		withText.setStackTraceFingerprint(10L);
+		withText.setStackTrace("trace");
+		InvocationSequenceData nested = new InvocationSequenceData();
+		nested.setExceptionSensorDataObjects(Collections.singletonList(withText));
+		InvocationSequenceData invocation = new InvocationSequenceData();
+		invocation.setNestedSequences(Collections.singletonList(nested));
+		ExceptionSensorData sameAgent = new ExceptionSensorData();
+		sameAgent.setPlatformIdent(1L);
+		sameAgent.setStackTraceFingerprint(10L);
+		ExceptionSensorData otherAgent = new ExceptionSensorData();
+		otherAgent.setPlatformIdent(2L);
+		otherAgent.setStackTraceFingerprint(10L);
+		ExceptionSensorData registered = new ExceptionSensorData();
+		registered.setPlatformIdent(2L);
+		registered.setStackTraceFingerprint(11L);
+
+		processor.registerStackTraces(2L, Collections.singletonMap(11L, "registered"));
+		processor.process(invocation, entityManager);
+		processor.process(sameAgent, entityManager);
+		processor.process(otherAgent, entityManager);
+		processor.process(registered, entityManager);
+
+		assertThat(withText.getStackTrace(), is("trace"));
+		assertThat(sameAgent.getStackTrace(), is("trace"));
+		assertThat(otherAgent.getStackTrace(), is(String.format(ExceptionStackTraceCmrProcessor.UNKNOWN_STACK_TRACE, 10L)));
+		assertThat(registered.getStackTrace(), is("registered"));
+		verifyZeroInteractions(entityManager);
+	}
+
+	/**
+	 * Tests that the {@link ExceptionStackTraceCmrProcessor} keeps the stack traces of an agent
+	 * when many agents register as many stack traces as they can regard as registered.
+	 */
+	@Test
+	public void exceptionStackTraceProcessorManyAgents() {
+		ExceptionStackTraceCmrProcessor processor = new ExceptionStackTraceCmrProcessor();
+		int agents = 6;
+		int stackTracesPerAgent = 10000;
+
+		for (long platformIdent = 1; platformIdent <= agents; platformIdent++) {
+			Map<Long, String> stackTraces = new HashMap<>();
+			for (long fingerprint = 1; fingerprint <= stackTracesPerAgent; fingerprint++) {
+				stackTraces.put(fingerprint, "trace" + platformIdent + "-" + fingerprint);
+			}
+			assertThat(processor.registerStackTraces(platformIdent, stackTraces), is(empty()));
+		}
+
+		for (long fingerprint = 1; fingerprint <= stackTracesPerAgent; fingerprint++) {
+			ExceptionSensorData exceptionSensorData = new ExceptionSensorData();
+			exceptionSensorData.setPlatformIdent(1L);
+			exceptionSensorData.setStackTraceFingerprint(fingerprint);
+			processor.process(exceptionSensorData, entityManager);
+			assertThat(exceptionSensorData.getStackTrace(), is("trace1-" + fingerprint));
+		}
+	}
+
+	/**
+	 * Tests that the {@link ExceptionStackTraceCmrProcessor} returns the unknown fingerprints of
+	 * the agent with the next registration.
+	 */
+	@Test
+	public void exceptionStackTraceProcessorUnknownReported() {
+		ExceptionStackTraceCmrProcessor processor = new ExceptionStackTraceCmrProcessor();
+		ExceptionSensorData unknown = new ExceptionSensorData();
+		unknown.setPlatformIdent(1L);
+		unknown.setStackTraceFingerprint(10L);
+		ExceptionSensorData otherAgent = new ExceptionSensorData();
+		otherAgent.setPlatformIdent(2L);
+		otherAgent.setStackTraceFingerprint(12L);
+
+		processor.process(unknown, entityManager);
+		processor.process(otherAgent, entityManager);
+
+		assertThat(processor.registerStackTraces(1L, Collections.singletonMap(11L, "other")), contains(10L));
+		assertThat(processor.registerStackTraces(1L, Collections.singletonMap(11L, "other")), is(empty()));
+		assertThat(processor.registerStackTraces(2L, Collections.singletonMap(12L, "trace")), is(empty()));
+	}
+
+	/**
+	 * Tests the {@link SqlStatementTextCmrProcessor}.
+	 */
+	@Test
+	public void sqlStatementTextProcessor() {
+		SqlStatementTextCmrProcessor processor = new SqlStatementTextCmrProcessor();
+
+		// only sql statements and invocations
+		assertThat(processor.canBeProcessed(new TimerData()), is(false));
+
+		// don't fail on null
+		processor.process((DefaultData) null, entityManager);
+		verifyZeroInteractions(entityManager);
+
+		SqlStatementData withText = new SqlStatementData();
+		withText.setPlatformIdent(1L);
+		withText.setSqlId(3L);
+		withText.setSql("SELECT * FROM TEST");
+		InvocationSequenceData nested = new InvocationSequenceData();
+		nested.setSqlStatementData(withText);
+		InvocationSequenceData invocation = new InvocationSequenceData();
+		invocation.setNestedSequences(Collections.singletonList(nested));
+		SqlStatementData sameAgent = new SqlStatementData();
+		sameAgent.setPlatformIdent(1L);
+		sameAgent.setSqlId(3L);
+		SqlStatementData sameText = new SqlStatementData();
+		sameText.setPlatformIdent(1L);
+		sameText.setSqlId(3L);
+		sameText.setSql(new String("SELECT * FROM TEST"));
+		SqlStatementData otherAgent = new SqlStatementData();
+		otherAgent.setPlatformIdent(2L);
+		otherAgent.setSqlId(3L);
+		SqlStatementData registered = new SqlStatementData();
+		registered.setPlatformIdent(2L);
+		registered.setSqlId(4L);
+
+		processor.registerSqlStatements(2L, Collections.singletonMap(4L, "SELECT * FROM REGISTERED"));
+		processor.process(invocation, entityManager);
+		processor.process(sameAgent, entityManager);
+		processor.process(sameText, entityManager);
+		processor.process(otherAgent, entityManager);
+		processor.process(registered, entityManager);
+
+		assertThat(withText.getSql(), is("SELECT * FROM TEST"));
+		assertThat(sameAgent.getSql(), is(sameInstance(withText.getSql())));
+		assertThat(sameText.getSql(), is(sameInstance(withText.getSql())));
+		assertThat(otherAgent.getSql(), is(String.format(SqlStatementTextCmrProcessor.UNKNOWN_SQL_TEXT, 3L)));
+		assertThat(registered.getSql(), is("SELECT * FROM REGISTERED"));
+		verifyZeroInteractions(entityManager);
+	}
+
+	/**
+	 * Tests that the {@link SqlStatementTextCmrProcessor} keeps the SQL texts of an agent when
+	 * many agents register as many texts as they can regard as registered.
+	 */
+	@Test
+	public void sqlStatementTextProcessorManyAgents() {
+		SqlStatementTextCmrProcessor processor = new SqlStatementTextCmrProcessor();
+		int agents = 6;
+		int textsPerAgent = 10000;
+
+		for (long platformIdent = 1; platformIdent <= agents; platformIdent++) {
+			Map<Long, String> sqlStatements = new HashMap<>();
+			for (long sqlId = 1; sqlId <= textsPerAgent; sqlId++) {
+				sqlStatements.put(sqlId, "SELECT * FROM TEST" + platformIdent + " WHERE ID = " + sqlId);
+			}
+			processor.registerSqlStatements(platformIdent, sqlStatements);
+		}
+
+		for (long sqlId = 1; sqlId <= textsPerAgent; sqlId++) {
+			SqlStatementData sqlStatementData = new SqlStatementData();
+			sqlStatementData.setPlatformIdent(1L);
+			sqlStatementData.setSqlId(sqlId);
+			processor.process(sqlStatementData, entityManager);
+			assertThat(sqlStatementData.getSql(), is("SELECT * FROM TEST1 WHERE ID = " + sqlId));
+		}
+	}
+
 	/**
 	 * Tests the {@link IndexerCmrProcessor}.
 	 */
@@ -1,28 +1,24 @@
 package rocks.inspectit.server.processor.impl;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.List;
 
 import javax.persistence.EntityManager;
 
-import org.apache.commons.lang.mutable.MutableInt;
 import org.mockito.InjectMocks;
-import org.mockito.Matchers;
 import org.mockito.Mock;
-import org.mockito.invocation.InvocationOnMock;
-import org.mockito.stubbing.Answer;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -33,6 +29,7 @@ import rocks.inspectit.shared.all.communication.data.eum.PageLoadRequest;
 import rocks.inspectit.shared.all.testbase.TestBase;
 import rocks.inspectit.shared.all.tracing.data.AbstractSpan;
 import rocks.inspectit.shared.all.tracing.data.PropagationType;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
 import rocks.inspectit.shared.all.tracing.data.SpanIdent;
 
 /**
@@ -45,9 +42,6 @@ public class EUMCorrelationCmrProcessorTest extends TestBase {
 	SpanIdent frontEndIdent = new SpanIdent(10, 11);
 	SpanIdent backEndIdent = new SpanIdent(11, 11);
 
-	@Mock
-	BufferSpanDaoImpl spanDao;
-
 	@Mock
 	EUMSpan frontEndSpan;
 
@@ -58,41 +52,28 @@ public class EUMCorrelationCmrProcessorTest extends TestBase {
 	AbstractSpan backEndSpan;
 
 	@Mock
-	ScheduledExecutorService scheduledExecutor = new ScheduledThreadPoolExecutor(1);
+	BufferSpanDaoImpl spanDao;
 
 	@InjectMocks
 	EUMCorrelationCmrProcessor processor;
 
 	@BeforeMethod
 	public void initMocks() {
-		doAnswer(new Answer<ScheduledFuture<Void>>() {
-			@Override
-			public ScheduledFuture<Void> answer(InvocationOnMock invocation) throws Throwable {
-				((Runnable) invocation.getArguments()[0]).run();
-				return null;
-			}
-		}).when(scheduledExecutor).schedule(any(Runnable.class), anyLong(), any());
 		when(backEndSpan.getPropagationType()).thenReturn(PropagationType.HTTP);
 		when(backEndSpan.isRoot()).thenReturn(true);
 		when(backEndSpan.getSpanIdent()).thenReturn(backEndIdent);
 
 		when(frontEndSpan.getPropagationType()).thenReturn(PropagationType.HTTP);
 		when(frontEndSpan.isRoot()).thenReturn(true);
-		PageLoadRequest details = mock(PageLoadRequest.class);
-		when(frontEndSpan.getDetails()).thenReturn(details);
-
 		when(frontEndSpan.getDetails()).thenReturn(spanDetails);
 		when(frontEndSpan.getSpanIdent()).thenReturn(frontEndIdent);
-
-
 	}
 
 	public static class Process extends EUMCorrelationCmrProcessorTest {
 
 		@Test
 		public void testBackEndSpanFirst() throws InterruptedException {
-			when(spanDao.get(Matchers.eq(backEndIdent))).thenReturn(backEndSpan);
-
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
 			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
 
 			verify(backEndSpan, times(1)).setParentSpanId(eq(frontEndIdent.getId()));
@@ -100,32 +81,113 @@ public class EUMCorrelationCmrProcessorTest extends TestBase {
 
 		@Test
 		public void testEUMSpanFirst() throws InterruptedException {
-			// span initially not available
-			MutableInt counter = new MutableInt(0);
-			doAnswer(new Answer<AbstractSpan>() {
-				@Override
-				public AbstractSpan answer(InvocationOnMock invocation) throws Throwable {
-					counter.increment();
-					if (counter.longValue() >= 5) { // make it available on the fifth attempt
-						return backEndSpan;
-					} else {
-						return null;
-					}
-				}
-			}).when(spanDao).get(Matchers.eq(backEndIdent));
+			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
+
+			verify(backEndSpan, times(1)).setParentSpanId(eq(frontEndIdent.getId()));
+		}
+
+		@Test
+		public void testEvictedBackEndSpanInBuffer() throws InterruptedException {
+			when(spanDao.get(backEndIdent)).thenReturn(backEndSpan);
+			List<AbstractSpan> otherBackEndSpans = new ArrayList<>();
+			for (int i = 0; i < EUMCorrelationCmrProcessor.MAX_PENDING_SPANS; i++) {
+				ServerSpan otherBackEndSpan = new ServerSpan();
+				otherBackEndSpan.setSpanIdent(new SpanIdent(100 + i, 100 + i));
+				otherBackEndSpans.add(otherBackEndSpan);
+			}
+
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
+			processor.process(otherBackEndSpans, mock(EntityManager.class));
+			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+
+			verify(spanDao, times(1)).get(backEndIdent);
+			verify(backEndSpan, times(1)).setParentSpanId(eq(frontEndIdent.getId()));
+		}
+
+		@Test
+		public void testNotEvictedBackEndSpanNotLookedUp() throws InterruptedException {
+			when(spanDao.get(backEndIdent)).thenReturn(backEndSpan);
+
+			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+
+			verify(spanDao, never()).get(any(SpanIdent.class));
+			verify(backEndSpan, never()).setParentSpanId(anyLong());
+		}
+
+		@Test
+		public void testBackEndSpanInTableNotLookedUp() throws InterruptedException {
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+
+			verify(spanDao, never()).get(any(SpanIdent.class));
+		}
 
+		@Test
+		public void testCorrelatedOnlyOnce() throws InterruptedException {
 			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
 
 			verify(backEndSpan, times(1)).setParentSpanId(eq(frontEndIdent.getId()));
 		}
 
+		@Test
+		public void testOtherTrace() throws InterruptedException {
+			AbstractSpan otherBackEndSpan = mock(AbstractSpan.class);
+			when(otherBackEndSpan.getSpanIdent()).thenReturn(new SpanIdent(12, 12));
+
+			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(otherBackEndSpan), mock(EntityManager.class));
+
+			verify(otherBackEndSpan, never()).setParentSpanId(anyLong());
+		}
+
 		@Test
 		public void testNoAjaxCorrelation() throws InterruptedException {
 			when(frontEndSpan.getDetails()).thenReturn(mock(AjaxRequest.class));
 
 			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
+
+			verify(backEndSpan, never()).setParentSpanId(anyLong());
+		}
+
+		@Test
+		public void testNoCorrelationForCachedPage() throws InterruptedException {
+			when(frontEndSpan.getSpanIdent()).thenReturn(new SpanIdent(11, 11));
+
+			processor.process(Collections.singleton(frontEndSpan), mock(EntityManager.class));
+			processor.process(Collections.singleton(backEndSpan), mock(EntityManager.class));
+
+			verify(backEndSpan, never()).setParentSpanId(anyLong());
+		}
+	}
+
+	public static class CanBeProcessed extends EUMCorrelationCmrProcessorTest {
+
+		@Test
+		public void pageLoad() {
+			assertThat(processor.canBeProcessed(frontEndSpan), is(true));
+		}
+
+		@Test
+		public void ajax() {
+			when(frontEndSpan.getDetails()).thenReturn(mock(AjaxRequest.class));
+
+			assertThat(processor.canBeProcessed(frontEndSpan), is(false));
+		}
+
+		@Test
+		public void backEndTraceRoot() {
+			assertThat(processor.canBeProcessed(backEndSpan), is(true));
+		}
+
+		@Test
+		public void backEndNotTraceRoot() {
+			when(backEndSpan.getSpanIdent()).thenReturn(new SpanIdent(12, 11));
 
-			verify(spanDao, never()).get(any());
+			assertThat(processor.canBeProcessed(backEndSpan), is(false));
 		}
 	}
 }
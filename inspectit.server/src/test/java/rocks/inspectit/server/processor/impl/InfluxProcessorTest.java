@@ -53,14 +53,14 @@ public class InfluxProcessorTest extends TestBase {
 		@Test
 		public void processed() {
 			InvocationSequenceData invocationData = new InvocationSequenceData();
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			doReturn(Collections.singleton(InvocationSequenceData.class)).when(pointBuilder).getDataClasses();
 			when(pointBuilder.createBuilders(invocationData)).thenReturn(Collections.singleton(builder));
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(invocationData, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			ArgumentCaptor<Point> pointCaptor = ArgumentCaptor.forClass(Point.class);
 			verify(influxDBDao).insert(pointCaptor.capture());
 			assertThat(pointCaptor.getValue().lineProtocol(), is(builder.build().lineProtocol()));
@@ -70,12 +70,12 @@ public class InfluxProcessorTest extends TestBase {
 		@Test
 		public void noBuilders() {
 			InvocationSequenceData invocationData = new InvocationSequenceData();
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> emptyList());
 
 			processor.process(invocationData, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			verifyNoMoreInteractions(influxDBDao);
 			verifyZeroInteractions(entityManager);
 		}
@@ -83,13 +83,13 @@ public class InfluxProcessorTest extends TestBase {
 		@Test
 		public void influxOffline() {
 			InvocationSequenceData invocationData = new InvocationSequenceData();
-			when(influxDBDao.isConnected()).thenReturn(false);
+			when(influxDBDao.isAvailable()).thenReturn(false);
 			doReturn(Collections.singleton(InvocationSequenceData.class)).when(pointBuilder).getDataClasses();
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(invocationData, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			verifyNoMoreInteractions(influxDBDao);
 			verifyZeroInteractions(entityManager);
 		}
@@ -97,13 +97,13 @@ public class InfluxProcessorTest extends TestBase {
 		@Test
 		public void builderForClassDoesNotExist() {
 			InvocationSequenceData invocationData = new InvocationSequenceData();
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			doReturn(Collections.singleton(HttpTimerData.class)).when(pointBuilder).getDataClasses();
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(invocationData, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			verify(pointBuilder).getDataClasses();
 			verifyNoMoreInteractions(influxDBDao, pointBuilder);
 			verifyZeroInteractions(entityManager);
@@ -113,13 +113,13 @@ public class InfluxProcessorTest extends TestBase {
 		public void timerNotCharting() {
 			TimerData data = new TimerData();
 			data.setCharting(false);
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			doReturn(Collections.singleton(TimerData.class)).when(pointBuilder).getDataClasses();
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(data, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			verify(pointBuilder).getDataClasses();
 			verifyNoMoreInteractions(influxDBDao, pointBuilder);
 			verifyZeroInteractions(entityManager);
@@ -129,14 +129,14 @@ public class InfluxProcessorTest extends TestBase {
 		public void timerCharting() {
 			TimerData data = new TimerData();
 			data.setCharting(true);
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			doReturn(Collections.singleton(TimerData.class)).when(pointBuilder).getDataClasses();
 			when(pointBuilder.createBuilders(data)).thenReturn(Collections.singleton(builder));
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(data, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			ArgumentCaptor<Point> pointCaptor = ArgumentCaptor.forClass(Point.class);
 			verify(influxDBDao).insert(pointCaptor.capture());
 			assertThat(pointCaptor.getValue().lineProtocol(), is(builder.build().lineProtocol()));
@@ -147,13 +147,13 @@ public class InfluxProcessorTest extends TestBase {
 		public void jmxNotNumeric() {
 			JmxSensorValueData data = new JmxSensorValueData();
 			data.setValue("string value");
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			doReturn(Collections.singleton(JmxSensorValueData.class)).when(pointBuilder).getDataClasses();
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(data, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			verify(pointBuilder).getDataClasses();
 			verifyNoMoreInteractions(influxDBDao, pointBuilder);
 			verifyZeroInteractions(entityManager);
@@ -163,14 +163,14 @@ public class InfluxProcessorTest extends TestBase {
 		public void jmxNumeric() {
 			JmxSensorValueData data = new JmxSensorValueData();
 			data.setValue("1");
-			when(influxDBDao.isConnected()).thenReturn(true);
+			when(influxDBDao.isAvailable()).thenReturn(true);
 			doReturn(Collections.singleton(JmxSensorValueData.class)).when(pointBuilder).getDataClasses();
 			when(pointBuilder.createBuilders(data)).thenReturn(Collections.singleton(builder));
 			processor = new InfluxProcessor(influxDBDao, Collections.<IPointBuilder<DefaultData>> singletonList(pointBuilder));
 
 			processor.process(data, entityManager);
 
-			verify(influxDBDao).isConnected();
+			verify(influxDBDao).isAvailable();
 			ArgumentCaptor<Point> pointCaptor = ArgumentCaptor.forClass(Point.class);
 			verify(influxDBDao).insert(pointCaptor.capture());
 			assertThat(pointCaptor.getValue().lineProtocol(), is(builder.build().lineProtocol()));
@@ -0,0 +1,293 @@
+package rocks.inspectit.server.processor.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.cache.IBuffer;
+import rocks.inspectit.server.cache.impl.BufferElement;
+import rocks.inspectit.server.util.CacheIdGenerator;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+
+/**
+ * Test for the {@link InvocationRetentionCmrProcessor}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class InvocationRetentionCmrProcessorTest extends TestBase {
+
+	@InjectMocks
+	InvocationRetentionCmrProcessor processor;
+
+	@Mock
+	IBuffer<MethodSensorData> buffer;
+
+	@Mock
+	CacheIdGenerator cacheIdGenerator;
+
+	@Mock
+	EntityManager entityManager;
+
+	@Mock
+	Logger log;
+
+	@BeforeMethod
+	public void init() {
+		processor.retentionActive = true;
+		processor.windowDuration = Long.MAX_VALUE;
+		processor.windowCapacity = Long.MAX_VALUE;
+		processor.slowThreshold = 200L;
+		processor.sampleRate = 0f;
+	}
+
+	public static class CanBeProcessed extends InvocationRetentionCmrProcessorTest {
+
+		@Test
+		public void root() {
+			boolean canBeProcessed = processor.canBeProcessed(new InvocationSequenceData());
+
+			assertThat(canBeProcessed, is(true));
+		}
+
+		@Test
+		public void notActive() {
+			processor.retentionActive = false;
+
+			boolean canBeProcessed = processor.canBeProcessed(new InvocationSequenceData());
+
+			assertThat(canBeProcessed, is(false));
+		}
+
+		@Test
+		public void notRoot() {
+			InvocationSequenceData invocation = new InvocationSequenceData();
+			invocation.setParentSequence(new InvocationSequenceData());
+
+			boolean canBeProcessed = processor.canBeProcessed(invocation);
+
+			assertThat(canBeProcessed, is(false));
+		}
+
+		@Test
+		public void notInvocation() {
+			boolean canBeProcessed = processor.canBeProcessed(new TimerData());
+
+			assertThat(canBeProcessed, is(false));
+		}
+
+	}
+
+	public static class ProcessData extends InvocationRetentionCmrProcessorTest {
+
+		@Test
+		public void heldInWindow() {
+			InvocationSequenceData invocation = invocation(10d);
+			invocation.setExceptionSensorDataObjects(Collections.singletonList(new ExceptionSensorData()));
+
+			processor.processData(invocation, entityManager);
+
+			verifyZeroInteractions(buffer);
+		}
+
+		@Test
+		public void heldPending() {
+			InvocationSequenceData invocation = invocation(10d);
+			invocation.setId(7L);
+
+			processor.processData(invocation, entityManager);
+
+			verify(cacheIdGenerator).markPending(InvocationSequenceData.class, 7L);
+			verify(cacheIdGenerator, times(0)).unmarkPending(InvocationSequenceData.class, 7L);
+		}
+
+		@Test
+		@SuppressWarnings("unchecked")
+		public void retainedUnmarkedAfterBuffered() {
+			processor.windowCapacity = 0L;
+			InvocationSequenceData invocation = invocation(10d);
+			invocation.setId(7L);
+			invocation.setExceptionSensorDataObjects(Collections.singletonList(new ExceptionSensorData()));
+
+			processor.processData(invocation, entityManager);
+
+			InOrder inOrder = inOrder(cacheIdGenerator, buffer);
+			inOrder.verify(cacheIdGenerator).markPending(InvocationSequenceData.class, 7L);
+			inOrder.verify(buffer).put(any(BufferElement.class));
+			inOrder.verify(cacheIdGenerator).unmarkPending(InvocationSequenceData.class, 7L);
+		}
+
+		@Test
+		public void droppedUnmarked() {
+			processor.windowCapacity = 0L;
+			InvocationSequenceData invocation = invocation(10d);
+			invocation.setId(7L);
+
+			processor.processData(invocation, entityManager);
+
+			verify(cacheIdGenerator).markPending(InvocationSequenceData.class, 7L);
+			verify(cacheIdGenerator).unmarkPending(InvocationSequenceData.class, 7L);
+		}
+
+		@Test
+		public void exceptionRetained() {
+			processor.windowCapacity = 0L;
+			InvocationSequenceData invocation = invocation(10d);
+			invocation.setExceptionSensorDataObjects(Collections.singletonList(new ExceptionSensorData()));
+
+			processor.processData(invocation, entityManager);
+
+			verifyBuffered(invocation);
+			assertThat(processor.getRetainedCount(), is(1L));
+			assertThat(processor.getDroppedCount(), is(0L));
+		}
+
+		@Test
+		public void nestedExceptionRetained() {
+			processor.windowCapacity = 0L;
+			InvocationSequenceData invocation = invocation(10d);
+			InvocationSequenceData child = new InvocationSequenceData();
+			child.setExceptionSensorDataObjects(Collections.singletonList(new ExceptionSensorData()));
+			invocation.getNestedSequences().add(child);
+
+			processor.processData(invocation, entityManager);
+
+			verifyBuffered(invocation);
+		}
+
+		@Test
+		public void notInterestingDropped() {
+			processor.windowCapacity = 0L;
+			InvocationSequenceData invocation = invocation(10d);
+
+			processor.processData(invocation, entityManager);
+
+			verifyZeroInteractions(buffer);
+			assertThat(processor.getRetainedCount(), is(0L));
+			assertThat(processor.getDroppedCount(), is(1L));
+		}
+
+		@Test
+		public void notInterestingSampled() {
+			processor.windowCapacity = 0L;
+			processor.sampleRate = 1f;
+			InvocationSequenceData invocation = invocation(10d);
+
+			processor.processData(invocation, entityManager);
+
+			verifyBuffered(invocation);
+		}
+
+		@Test
+		public void slowRetained() {
+			processor.windowCapacity = 0L;
+			for (int i = 0; i < 20; i++) {
+				processor.processData(invocation(10d), entityManager);
+			}
+			InvocationSequenceData slow = invocation(100d);
+
+			processor.processData(slow, entityManager);
+
+			verifyBuffered(slow);
+			assertThat(processor.getDroppedCount(), is(20L));
+		}
+
+		@Test
+		public void slowComparedToOwnBusinessTransaction() {
+			processor.windowCapacity = 0L;
+			for (int i = 0; i < 20; i++) {
+				processor.processData(invocation(10d), entityManager);
+			}
+			InvocationSequenceData other = invocation(100d);
+			other.setBusinessTransactionId(1);
+
+			processor.processData(other, entityManager);
+
+			verifyZeroInteractions(buffer);
+		}
+
+		@Test
+		public void noBaselineNotSlow() {
+			processor.windowCapacity = 0L;
+			processor.processData(invocation(10d), entityManager);
+			InvocationSequenceData slow = invocation(100d);
+
+			processor.processData(slow, entityManager);
+
+			verifyZeroInteractions(buffer);
+		}
+
+		@Test
+		public void traceRetainedTogether() {
+			InvocationSequenceData first = invocation(10d);
+			first.setSpanIdent(new SpanIdent(1L, 5L));
+			InvocationSequenceData second = invocation(10d);
+			second.setSpanIdent(new SpanIdent(2L, 5L));
+			second.setExceptionSensorDataObjects(Collections.singletonList(new ExceptionSensorData()));
+			InvocationSequenceData other = invocation(10d);
+			other.setSpanIdent(new SpanIdent(3L, 6L));
+
+			processor.processData(first, entityManager);
+			processor.processData(second, entityManager);
+			processor.processData(other, entityManager);
+			processor.windowDuration = -1L;
+			processor.checkWindow();
+
+			ArgumentCaptor<BufferElement> captor = ArgumentCaptor.forClass(BufferElement.class);
+			verify(buffer, times(2)).put(captor.capture());
+			assertThat(captor.getAllValues().get(0).getObject(), is((Object) first));
+			assertThat(captor.getAllValues().get(1).getObject(), is((Object) second));
+			assertThat(processor.getRetainedCount(), is(2L));
+			assertThat(processor.getDroppedCount(), is(1L));
+		}
+
+		@Test
+		public void checkWindowNotActive() {
+			InvocationSequenceData invocation = invocation(10d);
+			invocation.setExceptionSensorDataObjects(Collections.singletonList(new ExceptionSensorData()));
+			processor.processData(invocation, entityManager);
+			processor.windowDuration = -1L;
+			processor.retentionActive = false;
+
+			processor.checkWindow();
+
+			verifyZeroInteractions(buffer);
+		}
+
+		private InvocationSequenceData invocation(double duration) {
+			InvocationSequenceData invocation = new InvocationSequenceData();
+			invocation.setDuration(duration);
+			return invocation;
+		}
+
+		@SuppressWarnings("unchecked")
+		private void verifyBuffered(InvocationSequenceData invocation) {
+			ArgumentCaptor<BufferElement> captor = ArgumentCaptor.forClass(BufferElement.class);
+			verify(buffer).put(captor.capture());
+			assertThat(captor.getValue().getObject(), is((Object) invocation));
+		}
+	}
+
+}
@@ -0,0 +1,304 @@
+package rocks.inspectit.server.rmi;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.esotericsoftware.kryonet.rmi.RemoteObject;
+
+import rocks.inspectit.server.test.AbstractTransactionalTestNGLogSupport;
+import rocks.inspectit.shared.all.kryonet.Client;
+import rocks.inspectit.shared.all.kryonet.Connection;
+import rocks.inspectit.shared.all.kryonet.ExtendedSerializationImpl;
+import rocks.inspectit.shared.all.kryonet.IExtendedSerialization;
+import rocks.inspectit.shared.all.kryonet.Listener;
+import rocks.inspectit.shared.all.kryonet.Server;
+import rocks.inspectit.shared.all.kryonet.rmi.ObjectSpace;
+import rocks.inspectit.shared.all.serializer.IKryoProvider;
+import rocks.inspectit.shared.all.serializer.provider.SerializationManagerProvider;
+import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
+
+/**
+ * Load test of the kryonet {@link Server} with 200 simulated agents. Part of the agents
+ * continuously send large batches of data (like the agent does with the data objects), while the
+ * rest executes small remote method invocations. The test reports the p99 latency of the
+ * invocations and the throughput of the server for the single threaded server and the event-loop
+ * mode with 1, 2, 4 and 8 selector threads.
+ * <p>
+ * The test is in the <code>load</code> group that is excluded from the default test task. Use the
+ * <code>loadTest</code> task to execute it.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+@ContextConfiguration(locations = { "classpath:spring/spring-context-global.xml", "classpath:spring/spring-context-database.xml", "classpath:spring/spring-context-beans.xml",
+		"classpath:spring/spring-context-processors.xml", "classpath:spring/spring-context-storage-test.xml" })
+public class KryoNetServerLoadTest extends AbstractTransactionalTestNGLogSupport {
+
+	/**
+	 * Port of the server.
+	 */
+	private static final int PORT = 8766;
+
+	/**
+	 * Number of simulated agents.
+	 */
+	private static final int AGENTS = 200;
+
+	/**
+	 * Number of agents sending the large batches.
+	 */
+	private static final int SENDING_AGENTS = 20;
+
+	/**
+	 * Number of batches each sending agent sends.
+	 */
+	private static final int BATCHES = 50;
+
+	/**
+	 * Number of elements in one batch.
+	 */
+	private static final int BATCH_SIZE = 16 * 1024;
+
+	/**
+	 * Number of invocations each invoking agent executes.
+	 */
+	private static final int INVOCATIONS = 200;
+
+	/**
+	 * Logger of the test.
+	 */
+	private final Logger log = LoggerFactory.getLogger(KryoNetServerLoadTest.class);
+
+	@Autowired
+	SerializationManagerProvider serializationManagerProvider;
+
+	@Autowired
+	StreamProvider streamProvider;
+
+	@DataProvider(name = "selectorThreads")
+	public Object[][] selectorThreads() {
+		return new Object[][] { { 0 }, { 1 }, { 2 }, { 4 }, { 8 } };
+	}
+
+	@Test(dataProvider = "selectorThreads", groups = "load")
+	public void agents(int selectorThreads) throws Exception {
+		IExtendedSerialization serialization = new ExtendedSerializationImpl(serializationManagerProvider) {
+			@Override
+			protected IKryoProvider createKryoProvider() {
+				// hook in to register the test service
+				IKryoProvider kryoProvider = super.createKryoProvider();
+				kryoProvider.getKryo().register(Service.class);
+				return kryoProvider;
+			}
+		};
+
+		final AtomicLong receivedBatches = new AtomicLong();
+		final ObjectSpace objectSpace = new ObjectSpace();
+		ExecutorService executorService = Executors.newFixedThreadPool(3);
+		objectSpace.setExecutor(executorService);
+		objectSpace.register(1, new ServiceImpl());
+
+		Server server = new Server(serialization, streamProvider, selectorThreads);
+		server.addListener(new Listener() {
+			@Override
+			public void connected(Connection connection) {
+				objectSpace.addConnection(connection);
+			}
+
+			@Override
+			public void received(Connection connection, Object object) {
+				if (object instanceof List) {
+					receivedBatches.incrementAndGet();
+				}
+			}
+		});
+		server.start();
+		server.bind(PORT);
+
+		List<Client> clients = new ArrayList<>(AGENTS);
+		try {
+			for (int i = 0; i < AGENTS; i++) {
+				Client client = new Client(serialization, streamProvider);
+				client.start();
+				client.connect(5000, "localhost", PORT);
+				clients.add(client);
+			}
+
+			CyclicBarrier cyclicBarrier = new CyclicBarrier(AGENTS + 1);
+			CountDownLatch finished = new CountDownLatch(AGENTS);
+			AtomicInteger failures = new AtomicInteger();
+			List<Invoker> invokers = new ArrayList<>();
+			for (int i = 0; i < AGENTS; i++) {
+				Thread agent;
+				if (i < SENDING_AGENTS) {
+					agent = new Sender(cyclicBarrier, finished, clients.get(i));
+				} else {
+					Invoker invoker = new Invoker(cyclicBarrier, finished, failures, clients.get(i));
+					invokers.add(invoker);
+					agent = invoker;
+				}
+				agent.start();
+			}
+
+			cyclicBarrier.await();
+			long start = System.nanoTime();
+			assertThat(finished.await(5, TimeUnit.MINUTES), is(true));
+			long duration = System.nanoTime() - start;
+
+			// batches are received asynchronously, give the server time to process the last ones
+			long expectedBatches = (long) SENDING_AGENTS * BATCHES;
+			long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(1);
+			while ((receivedBatches.get() < expectedBatches) && (System.currentTimeMillis() < deadline)) {
+				Thread.sleep(10);
+			}
+
+			long[] latencies = new long[invokers.size() * INVOCATIONS];
+			int index = 0;
+			for (Invoker invoker : invokers) {
+				System.arraycopy(invoker.latencies, 0, latencies, index, INVOCATIONS);
+				index += INVOCATIONS;
+			}
+			Arrays.sort(latencies);
+			long p99 = latencies[(int) Math.ceil(latencies.length * 0.99d) - 1];
+			double seconds = duration / 1e9d;
+
+			log.info("Selector threads: " + selectorThreads + ", p50 RMI latency: " + TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length / 2]) + " us, p99 RMI latency: "
+					+ TimeUnit.NANOSECONDS.toMicros(p99) + " us, RMI throughput: " + (long) (latencies.length / seconds) + " calls/s, data throughput: "
+					+ (long) (receivedBatches.get() / seconds) + " batches/s");
+
+			assertThat(failures.get(), is(0));
+			assertThat(receivedBatches.get(), is(expectedBatches));
+		} finally {
+			for (Client client : clients) {
+				client.stop();
+			}
+			server.stop();
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the remote service for the client.
+	 *
+	 * @param client
+	 *            Client.
+	 * @return Remote service.
+	 */
+	private Service getServiceForClient(Client client) {
+		Service service = ObjectSpace.getRemoteObject(client, 1, Service.class);
+		((RemoteObject) service).setNonBlocking(false);
+		((RemoteObject) service).setTransmitReturnValue(true);
+		((RemoteObject) service).setResponseTimeout(60000);
+		return service;
+	}
+
+	/**
+	 * Agent sending the large batches.
+	 */
+	private class Sender extends Thread {
+
+		private final CyclicBarrier cyclicBarrier;
+		private final CountDownLatch finished;
+		private final Client client;
+
+		public Sender(CyclicBarrier cyclicBarrier, CountDownLatch finished, Client client) {
+			this.cyclicBarrier = cyclicBarrier;
+			this.finished = finished;
+			this.client = client;
+		}
+
+		@Override
+		public void run() {
+			try {
+				cyclicBarrier.await();
+				for (int i = 0; i < BATCHES; i++) {
+					List<Integer> batch = new ArrayList<>(BATCH_SIZE);
+					for (int j = 0; j < BATCH_SIZE; j++) {
+						batch.add(Integer.valueOf(j));
+					}
+					client.sendTCP(batch);
+				}
+			} catch (Exception e) {
+				// ignore, the count of received batches is asserted
+			} finally {
+				finished.countDown();
+			}
+		}
+	}
+
+	/**
+	 * Agent executing the small invocations and recording their latency.
+	 */
+	private class Invoker extends Thread {
+
+		private final CyclicBarrier cyclicBarrier;
+		private final CountDownLatch finished;
+		private final AtomicInteger failures;
+		private final Service service;
+		private final long[] latencies = new long[INVOCATIONS];
+
+		public Invoker(CyclicBarrier cyclicBarrier, CountDownLatch finished, AtomicInteger failures, Client client) {
+			this.cyclicBarrier = cyclicBarrier;
+			this.finished = finished;
+			this.failures = failures;
+			this.service = getServiceForClient(client);
+		}
+
+		@Override
+		public void run() {
+			try {
+				cyclicBarrier.await();
+				for (int i = 0; i < INVOCATIONS; i++) {
+					Long toSend = Long.valueOf((getId() * INVOCATIONS) + i);
+					long start = System.nanoTime();
+					Object received = service.returnSame(toSend);
+					latencies[i] = System.nanoTime() - start;
+					if (!toSend.equals(received)) {
+						failures.incrementAndGet();
+					}
+				}
+			} catch (Exception e) {
+				failures.incrementAndGet();
+			} finally {
+				finished.countDown();
+			}
+		}
+	}
+
+	/**
+	 * Test service implementation.
+	 */
+	private static class ServiceImpl implements Service {
+
+		@Override
+		public <E> E returnSame(E o) {
+			return o;
+		}
+	}
+
+	/**
+	 * Test service.
+	 */
+	public interface Service {
+		<E> E returnSame(E o);
+	}
+}
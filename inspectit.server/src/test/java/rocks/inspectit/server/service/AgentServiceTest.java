@@ -1,5 +1,7 @@
 package rocks.inspectit.server.service;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -8,6 +10,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +20,8 @@ import org.testng.annotations.Test;
 
 import rocks.inspectit.server.instrumentation.NextGenInstrumentationManager;
 import rocks.inspectit.server.messaging.AgentMessageProvider;
+import rocks.inspectit.server.processor.impl.ExceptionStackTraceCmrProcessor;
+import rocks.inspectit.server.processor.impl.SqlStatementTextCmrProcessor;
 import rocks.inspectit.shared.all.instrumentation.classcache.Type;
 import rocks.inspectit.shared.all.instrumentation.config.impl.AgentConfig;
 import rocks.inspectit.shared.all.instrumentation.config.impl.JmxAttributeDescriptor;
@@ -39,6 +44,12 @@ public class AgentServiceTest extends TestBase {
 	@Mock
 	AgentMessageProvider messageProvider;
 
+	@Mock
+	SqlStatementTextCmrProcessor sqlStatementTextCmrProcessor;
+
+	@Mock
+	ExceptionStackTraceCmrProcessor exceptionStackTraceCmrProcessor;
+
 	/**
 	 * Tests the {@link AgentService#analyze(long, String, Type)} method.
 	 */
@@ -130,6 +141,46 @@ public class AgentServiceTest extends TestBase {
 		}
 	}
 
+	/**
+	 * Tests the {@link AgentService#registerSqlStatements(long, Map)} method.
+	 */
+	public static class RegisterSqlStatements extends AgentServiceTest {
+
+		@Test
+		public void successful() throws Exception {
+			Map<Long, String> sqlStatements = Collections.singletonMap(3L, "SELECT * FROM TEST");
+			Collection<Long> unknownIds = Collections.singletonList(4L);
+			when(sqlStatementTextCmrProcessor.registerSqlStatements(10L, sqlStatements)).thenReturn(unknownIds);
+
+			Collection<Long> result = agentService.registerSqlStatements(10L, sqlStatements);
+
+			assertThat(result, is(unknownIds));
+			verify(sqlStatementTextCmrProcessor).registerSqlStatements(10L, sqlStatements);
+			verifyNoMoreInteractions(sqlStatementTextCmrProcessor);
+			verifyZeroInteractions(instrumentationManager, messageProvider);
+		}
+	}
+
+	/**
+	 * Tests the {@link AgentService#registerStackTraces(long, Map)} method.
+	 */
+	public static class RegisterStackTraces extends AgentServiceTest {
+
+		@Test
+		public void successful() throws Exception {
+			Map<Long, String> stackTraces = Collections.singletonMap(10L, "trace");
+			Collection<Long> unknownIds = Collections.singletonList(11L);
+			when(exceptionStackTraceCmrProcessor.registerStackTraces(10L, stackTraces)).thenReturn(unknownIds);
+
+			Collection<Long> result = agentService.registerStackTraces(10L, stackTraces);
+
+			assertThat(result, is(unknownIds));
+			verify(exceptionStackTraceCmrProcessor).registerStackTraces(10L, stackTraces);
+			verifyNoMoreInteractions(exceptionStackTraceCmrProcessor);
+			verifyZeroInteractions(instrumentationManager, messageProvider);
+		}
+	}
+
 	/**
 	 * Tests the {@link AgentService#unregister(long)} method.
 	 */
@@ -1,5 +1,9 @@
 package rocks.inspectit.server.service;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -7,9 +11,11 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.slf4j.Logger;
@@ -18,6 +24,8 @@ import org.testng.annotations.Test;
 import rocks.inspectit.server.dao.DefaultDataDao;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
 import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.all.testbase.TestBase;
 
@@ -64,6 +72,32 @@ public class AgentStorageServiceTest extends TestBase {
 			verifyNoMoreInteractions(defaultDataDao);
 		}
 
+		/**
+		 * Provides that the compact invocation sequences are expanded before saving.
+		 */
+		@Test
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public void expandCompactData() {
+			List<DefaultData> dataList = new ArrayList<>();
+			TimerData timerData = new TimerData();
+			timerData.setPlatformIdent(1L);
+			dataList.add(timerData);
+			InvocationSequenceData invocation = new InvocationSequenceData(new Timestamp(System.currentTimeMillis()), 1L, 2L, 3L);
+			invocation.setId(10L);
+			dataList.add(CompactInvocationSequenceData.compact(invocation));
+
+			agentStorageService.addDataObjects(dataList);
+
+			ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+			verify(defaultDataDao).saveAll(captor.capture());
+			List<DefaultData> saved = captor.getValue();
+			assertThat(saved.size(), is(2));
+			assertThat(saved.get(0), is(sameInstance((DefaultData) timerData)));
+			assertThat(saved.get(1), is(instanceOf(InvocationSequenceData.class)));
+			assertThat(saved.get(1).getId(), is(10L));
+			verifyNoMoreInteractions(defaultDataDao);
+		}
+
 		/**
 		 * Provides that no exception occurs when data is null.
 		 */
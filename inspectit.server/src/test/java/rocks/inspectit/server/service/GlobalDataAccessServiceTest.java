@@ -1,17 +1,29 @@
 package rocks.inspectit.server.service;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.slf4j.Logger;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
@@ -22,10 +34,14 @@ import rocks.inspectit.server.dao.PlatformIdentDao;
 import rocks.inspectit.server.event.AgentDeletedEvent;
 import rocks.inspectit.server.util.AgentStatusDataProvider;
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData.AgentConnection;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimerDataAggregator;
 
 @SuppressWarnings("PMD")
 public class GlobalDataAccessServiceTest extends TestBase {
@@ -111,4 +127,66 @@ public class GlobalDataAccessServiceTest extends TestBase {
 			assertThat(event.getPlatformId(), is(platformId));
 		}
 	}
+	/**
+	 * Tests the
+	 * {@link GlobalDataAccessService#getTemplatesDataObjectsFromToDate(java.util.Collection, Date, Date, long, rocks.inspectit.shared.cs.indexing.aggregation.IAggregator)}
+	 * method.
+	 */
+	public static class GetTemplatesDataObjectsFromToDate extends GlobalDataAccessServiceTest {
+
+		/**
+		 * Data is aggregated in the buckets while the DAO reads it.
+		 */
+		@Test
+		@SuppressWarnings("unchecked")
+		public void aggregatedWhileQueried() {
+			final TimerData template = new TimerData();
+			doAnswer(new Answer<Void>() {
+				@Override
+				public Void answer(InvocationOnMock invocation) throws Throwable {
+					AggregationPerformer<TimerData> aggregationPerformer = (AggregationPerformer<TimerData>) invocation.getArguments()[3];
+					aggregationPerformer.processElement(createTimerData(1150L));
+					aggregationPerformer.processElement(createTimerData(1010L));
+					aggregationPerformer.processElement(createTimerData(1100L));
+					return null;
+				}
+			}).when(defaultDataDao).aggregateByExampleFromToDate(eq(template), any(Date.class), any(Date.class), any(AggregationPerformer.class));
+
+			List<TimerData> result = globalDataAccessService.getTemplatesDataObjectsFromToDate(Collections.<DefaultData> singletonList(template), new Date(1000L), new Date(1200L), 100L,
+					new TimerDataAggregator());
+
+			assertThat(result, hasSize(2));
+			assertThat(result.get(0).getTimeStamp().getTime(), is(1050L));
+			assertThat(result.get(0).getCount(), is(1L));
+			assertThat(result.get(1).getTimeStamp().getTime(), is(1150L));
+			assertThat(result.get(1).getCount(), is(2L));
+			verify(defaultDataDao, never()).findByExampleFromToDate(any(DefaultData.class), any(Date.class), any(Date.class));
+		}
+
+		/**
+		 * Raw data is returned when bucket width is not positive.
+		 */
+		@Test
+		public void noBuckets() {
+			TimerData template = new TimerData();
+			TimerData timerData = createTimerData(1100L);
+			when(defaultDataDao.findByExampleFromToDate(eq(template), any(Date.class), any(Date.class))).thenReturn(Collections.<DefaultData> singletonList(timerData));
+
+			List<TimerData> result = globalDataAccessService.getTemplatesDataObjectsFromToDate(Collections.<DefaultData> singletonList(template), new Date(1000L), new Date(1200L), 0L,
+					new TimerDataAggregator());
+
+			assertThat(result, contains(timerData));
+		}
+
+		private TimerData createTimerData(long time) {
+			TimerData timerData = new TimerData();
+			timerData.setTimeStamp(new Timestamp(time));
+			timerData.setMethodIdent(1L);
+			timerData.setCount(1L);
+			timerData.setDuration(10d);
+			timerData.calculateMin(10d);
+			timerData.calculateMax(10d);
+			return timerData;
+		}
+	}
 }
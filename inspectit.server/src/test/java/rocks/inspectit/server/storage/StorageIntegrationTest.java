@@ -6,8 +6,11 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -44,12 +47,14 @@ import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.serializer.ISerializer;
 import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.all.serializer.util.KryoUtil;
+import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
 import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageFileType;
 import rocks.inspectit.shared.cs.storage.StorageManager;
+import rocks.inspectit.shared.cs.storage.block.StorageBlockUtil;
 import rocks.inspectit.shared.cs.storage.label.StringStorageLabel;
 import rocks.inspectit.shared.cs.storage.label.type.impl.RatingLabelType;
 import rocks.inspectit.shared.cs.storage.nio.stream.InputStreamProvider;
@@ -79,6 +84,12 @@ public class StorageIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 	@Autowired
 	InputStreamProvider inputStreamProvider;
 
+	/**
+	 * {@link CmrStorageReader}.
+	 */
+	@Autowired
+	CmrStorageReader storageReader;
+
 	/**
 	 * {@link ISerializer}.
 	 */
@@ -305,7 +316,7 @@ public class StorageIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 		query.setObjectClasses(searchedClasses);
 
 		List<IStorageDescriptor> descriptors = storageIndexingTree.query(query);
-		assertThat("Amount of descriptors is less than the amount of invocations saved.", descriptors.size(), is(equalTo(createdInvocations.size())));
+		assertThat("Amount of descriptors is more than the amount of invocations saved.", descriptors.size(), is(lessThanOrEqualTo(createdInvocations.size())));
 		for (IStorageDescriptor descriptor : descriptors) {
 			assertThat("position of descriptor is negative.", descriptor.getPosition(), is(greaterThanOrEqualTo(0L)));
 			assertThat("Size of the descriptor is wrong.", descriptor.getSize(), is(greaterThan(0L)));
@@ -315,15 +326,83 @@ public class StorageIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 		try (InputStream result = inputStreamProvider.getExtendedByteBufferInputStream(storageData, descriptors);) {
 			Input input = new Input(result);
 			while (KryoUtil.hasMoreBytes(input)) {
-				Object invocation = serializer.deserialize(input);
-				assertThat(invocation, is(instanceOf(InvocationSequenceData.class)));
-				assertThat(createdInvocations, hasItem((InvocationSequenceData) invocation));
-				count++;
+				for (Object invocation : StorageBlockUtil.deserialize(serializer, input)) {
+					assertThat(invocation, is(instanceOf(InvocationSequenceData.class)));
+					assertThat(createdInvocations, hasItem((InvocationSequenceData) invocation));
+					count++;
+				}
 			}
 		}
 		assertThat("Amount of de-serialize objects is less than the amount of invocations saved.", count, is(equalTo(createdInvocations.size())));
 	}
 
+	/**
+	 * Tests executing the query on the created storage using the {@link CmrStorageReader}.
+	 *
+	 * @throws SerializationException
+	 *             If serialization fails.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 */
+	@Test(dependsOnMethods = { "finalizeWriteTest" })
+	public void readUsingStorageReader() throws SerializationException, IOException {
+		StorageIndexQuery query = new StorageIndexQuery();
+		List<Class<?>> searchedClasses = new ArrayList<>();
+		searchedClasses.add(InvocationSequenceData.class);
+		query.setObjectClasses(searchedClasses);
+
+		List<InvocationSequenceData> result = storageReader.executeQuery(storageData, query, null, DefaultDataComparatorEnum.ID, -1);
+
+		assertThat(result, hasSize(createdInvocations.size()));
+		for (int i = 1; i < result.size(); i++) {
+			assertThat(result.get(i).getId(), is(greaterThan(result.get(i - 1).getId())));
+		}
+		assertThat(createdInvocations, hasItems(result.toArray(new InvocationSequenceData[result.size()])));
+
+		if (!createdInvocations.isEmpty()) {
+			result = storageReader.executeQuery(storageData, query, null, DefaultDataComparatorEnum.ID, 1);
+			assertThat(result, hasSize(1));
+		}
+	}
+
+	/**
+	 * Tests that the included and excluded ids are respected by the {@link CmrStorageReader} even
+	 * when the wanted invocation is written in the block together with other invocations.
+	 *
+	 * @throws SerializationException
+	 *             If serialization fails.
+	 * @throws IOException
+	 *             If {@link IOException} occurs.
+	 */
+	@Test(dependsOnMethods = { "finalizeWriteTest" })
+	public void readSingleInvocationFromBlockUsingStorageReader() throws SerializationException, IOException {
+		if (createdInvocations.size() < 2) {
+			return;
+		}
+
+		InvocationSequenceData wanted = createdInvocations.get(createdInvocations.size() / 2);
+		StorageIndexQuery query = new StorageIndexQuery();
+		List<Class<?>> searchedClasses = new ArrayList<>();
+		searchedClasses.add(InvocationSequenceData.class);
+		query.setObjectClasses(searchedClasses);
+		List<Long> ids = new ArrayList<>();
+		ids.add(wanted.getId());
+		query.setIncludeIds(ids);
+
+		List<InvocationSequenceData> result = storageReader.executeQuery(storageData, query, null, null, -1);
+
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0), is(equalTo(wanted)));
+
+		query.setIncludeIds(null);
+		query.setExcludeIds(ids);
+
+		result = storageReader.executeQuery(storageData, query, null, null, -1);
+
+		assertThat(result, hasSize(createdInvocations.size() - 1));
+		assertThat(result, not(hasItem(wanted)));
+	}
+
 	/**
 	 * Tests reading of data from created storage using the NIO streams.
 	 *
@@ -345,7 +424,7 @@ public class StorageIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 		query.setObjectClasses(searchedClasses);
 
 		List<IStorageDescriptor> descriptors = storageIndexingTree.query(query);
-		assertThat("Amount of descriptors is less than the amount of invocations saved.", descriptors.size(), is(equalTo(createdInvocations.size())));
+		assertThat("Amount of descriptors is more than the amount of invocations saved.", descriptors.size(), is(lessThanOrEqualTo(createdInvocations.size())));
 		for (IStorageDescriptor descriptor : descriptors) {
 			assertThat("position of descriptor is negative.", descriptor.getPosition(), is(greaterThanOrEqualTo(0L)));
 			assertThat("Size of the descriptor is wrong.", descriptor.getSize(), is(greaterThan(0L)));
@@ -361,10 +440,11 @@ public class StorageIntegrationTest extends AbstractTransactionalTestNGLogSuppor
 			try (InputStream result = Files.newInputStream(path, StandardOpenOption.READ)) {
 				Input input = new Input(result);
 				while (KryoUtil.hasMoreBytes(input)) {
-					Object invocation = serializer.deserialize(input);
-					assertThat(invocation, is(instanceOf(InvocationSequenceData.class)));
-					assertThat(createdInvocations, hasItem((InvocationSequenceData) invocation));
-					count++;
+					for (Object invocation : StorageBlockUtil.deserialize(serializer, input)) {
+						assertThat(invocation, is(instanceOf(InvocationSequenceData.class)));
+						assertThat(createdInvocations, hasItem((InvocationSequenceData) invocation));
+						count++;
+					}
 				}
 			}
 		}
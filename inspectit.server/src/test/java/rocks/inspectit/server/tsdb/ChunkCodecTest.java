@@ -0,0 +1,104 @@
+package rocks.inspectit.server.tsdb;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link ChunkCodec}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class ChunkCodecTest extends TestBase {
+
+	public static class EncodeDecode extends ChunkCodecTest {
+
+		@Test
+		public void regularLongs() {
+			PointBuffer pointBuffer = new PointBuffer(1);
+			for (int i = 0; i < 1000; i++) {
+				pointBuffer.add(1500000000000L + (i * 10000L), i % 7);
+			}
+
+			byte[] data = ChunkCodec.encode(pointBuffer);
+			PointBuffer decoded = ChunkCodec.decode(data, pointBuffer.size(), 1);
+
+			assertEquals(decoded, pointBuffer);
+			// regular time stamps and small values should need few bits per point
+			assertThat(data.length, is(lessThan(pointBuffer.size() * 2)));
+		}
+
+		@Test
+		public void irregularDoubles() {
+			Random random = new Random(7);
+			PointBuffer pointBuffer = new PointBuffer(1);
+			long time = System.currentTimeMillis();
+			for (int i = 0; i < 1000; i++) {
+				time += random.nextInt(100000);
+				pointBuffer.add(time, Double.doubleToLongBits(random.nextGaussian() * 1000));
+			}
+
+			PointBuffer decoded = ChunkCodec.decode(ChunkCodec.encode(pointBuffer), pointBuffer.size(), 1);
+
+			assertEquals(decoded, pointBuffer);
+		}
+
+		@Test
+		public void extremeValues() {
+			PointBuffer pointBuffer = new PointBuffer(1);
+			pointBuffer.add(0L, Long.MIN_VALUE);
+			pointBuffer.add(Long.MAX_VALUE / 2, Long.MAX_VALUE);
+			pointBuffer.add(Long.MAX_VALUE / 2, 0L);
+			pointBuffer.add((Long.MAX_VALUE / 2) + 1, Double.doubleToLongBits(Double.NaN));
+			pointBuffer.add((Long.MAX_VALUE / 2) + 3, -1L);
+
+			PointBuffer decoded = ChunkCodec.decode(ChunkCodec.encode(pointBuffer), pointBuffer.size(), 1);
+
+			assertEquals(decoded, pointBuffer);
+		}
+
+		@Test
+		public void rollupColumns() {
+			PointBuffer pointBuffer = new PointBuffer(Aggregate.COLUMNS);
+			for (int i = 0; i < 100; i++) {
+				Aggregate aggregate = new Aggregate();
+				aggregate.add(i);
+				aggregate.add(i * 2.5d);
+				pointBuffer.add(i * 60000L, aggregate.toColumns());
+			}
+
+			PointBuffer decoded = ChunkCodec.decode(ChunkCodec.encode(pointBuffer), pointBuffer.size(), Aggregate.COLUMNS);
+
+			assertEquals(decoded, pointBuffer);
+		}
+
+		@Test
+		public void singlePoint() {
+			PointBuffer pointBuffer = new PointBuffer(1);
+			pointBuffer.add(42L, 13L);
+
+			PointBuffer decoded = ChunkCodec.decode(ChunkCodec.encode(pointBuffer), 1, 1);
+
+			assertEquals(decoded, pointBuffer);
+		}
+	}
+
+	private static void assertEquals(PointBuffer actual, PointBuffer expected) {
+		assertThat(actual.size(), is(expected.size()));
+		assertThat(actual.getColumnCount(), is(expected.getColumnCount()));
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.getTime(i), is(expected.getTime(i)));
+			for (int j = 0; j < expected.getColumnCount(); j++) {
+				assertThat(actual.getValue(j, i), is(expected.getValue(j, i)));
+			}
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package rocks.inspectit.server.tsdb;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.tsdb.LineProtocolParser.ParsedPoint;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link LineProtocolParser}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class LineProtocolParserTest extends TestBase {
+
+	public static class Parse extends LineProtocolParserTest {
+
+		@Test
+		public void allFieldTypes() {
+			ParsedPoint point = LineProtocolParser.parse("m,host=a,agent=b d=1.5,c=3i,b=true,s=\"text, with space\" 1500000000000000000", 0L);
+
+			assertThat(point.getMeasurement(), is("m"));
+			assertThat(point.getTags().size(), is(2));
+			assertThat(point.getTags(), hasEntry("host", "a"));
+			assertThat(point.getTags(), hasEntry("agent", "b"));
+			assertThat(point.getFields().size(), is(4));
+			assertThat(point.getFields(), hasEntry("d", (Object) Double.valueOf(1.5d)));
+			assertThat(point.getFields(), hasEntry("c", (Object) Long.valueOf(3L)));
+			assertThat(point.getFields(), hasEntry("b", (Object) Boolean.TRUE));
+			assertThat(point.getFields(), hasEntry("s", (Object) "text, with space"));
+			assertThat(point.getTime(), is(1500000000000L));
+		}
+
+		@Test
+		public void escapes() {
+			ParsedPoint point = LineProtocolParser.parse("my\\ measurement,my\\,tag=a\\ b\\=c value=1i 1000000", 0L);
+
+			assertThat(point.getMeasurement(), is("my measurement"));
+			assertThat(point.getTags(), hasEntry("my,tag", "a b=c"));
+			assertThat(point.getTime(), is(1L));
+		}
+
+		@Test
+		public void defaultTime() {
+			ParsedPoint point = LineProtocolParser.parse("m value=1", 10L);
+
+			assertThat(point.getTags().isEmpty(), is(true));
+			assertThat(point.getTime(), is(10L));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void noFields() {
+			LineProtocolParser.parse("m,host=a", 0L);
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void invalidValue() {
+			LineProtocolParser.parse("m value=abc", 0L);
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void invalidTime() {
+			LineProtocolParser.parse("m value=1 abc", 0L);
+		}
+	}
+}
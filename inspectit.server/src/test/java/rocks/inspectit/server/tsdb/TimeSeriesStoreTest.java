@@ -0,0 +1,410 @@
+package rocks.inspectit.server.tsdb;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.influxdb.dto.Point;
+import org.influxdb.dto.QueryResult;
+import org.influxdb.dto.QueryResult.Series;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.slf4j.Logger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQueryParser;
+import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.cs.storage.util.DeleteFileVisitor;
+
+/**
+ * Tests the {@link TimeSeriesStore}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class TimeSeriesStoreTest extends TestBase {
+
+	private static final String TEST_FOLDER = "testTimeSeriesStore";
+
+	@InjectMocks
+	TimeSeriesStore store;
+
+	@Mock
+	Logger log;
+
+	@Mock
+	ScheduledExecutorService scheduledExecutorService;
+
+	long now;
+
+	@BeforeMethod
+	public void setup() throws IOException {
+		store.active = true;
+		store.folder = TEST_FOLDER;
+		store.rawRetentionHours = 24;
+		store.oneMinuteRetentionDays = 7;
+		store.tenMinutesRetentionDays = 30;
+		store.oneHourRetentionDays = 365;
+		store.maxDiskSize = 0;
+		now = System.currentTimeMillis();
+	}
+
+	@AfterMethod
+	public void cleanUp() throws IOException {
+		if (null != store) {
+			store.shutdown();
+		}
+		if (Files.exists(Paths.get(TEST_FOLDER))) {
+			Files.walkFileTree(Paths.get(TEST_FOLDER), new DeleteFileVisitor());
+			Files.deleteIfExists(Paths.get(TEST_FOLDER));
+		}
+	}
+
+	public static class Init extends TimeSeriesStoreTest {
+
+		@Test
+		public void active() {
+			store.init();
+
+			assertThat(store.isActive(), is(true));
+			assertThat(Files.isDirectory(Paths.get(TEST_FOLDER, Resolution.RAW.getDirectoryName())), is(true));
+			verify(scheduledExecutorService).scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class));
+		}
+
+		@Test
+		public void notActive() {
+			store.active = false;
+
+			store.init();
+
+			assertThat(store.isActive(), is(false));
+			assertThat(store.query("SHOW MEASUREMENTS"), is(nullValue()));
+			assertThat(Files.exists(Paths.get(TEST_FOLDER)), is(false));
+			verifyZeroInteractions(scheduledExecutorService);
+		}
+	}
+
+	public static class Insert extends TimeSeriesStoreTest {
+
+		@Test
+		public void point() throws IOException {
+			store.open();
+			Point point = Point.measurement("m").tag("host", "a").addField("value", 10.5d).addField("count", 3L).addField("text", "ignored").time(now, TimeUnit.MILLISECONDS).build();
+
+			store.insert(point);
+
+			List<List<Object>> values = getValues(store.query("SHOW FIELD KEYS FROM \"m\""));
+			assertThat(values, hasSize(2));
+			assertThat(values.get(0), contains((Object) "count", "integer"));
+			assertThat(values.get(1), contains((Object) "value", "float"));
+			values = getValues(store.query("SELECT \"value\", \"count\" FROM \"m\""));
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0), contains((Object) now, 10.5d, 3L));
+		}
+
+		@Test
+		public void booleanField() throws IOException {
+			store.open();
+
+			store.insert("m", Collections.<String, String> emptyMap(), Collections.<String, Object> singletonMap("flag", Boolean.TRUE), now);
+
+			List<List<Object>> values = getValues(store.query("SELECT flag FROM m"));
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0), contains((Object) now, 1L));
+		}
+	}
+
+	public static class Query extends TimeSeriesStoreTest {
+
+		@BeforeMethod
+		public void insertPoints() throws IOException {
+			store.open();
+			for (int i = 0; i < 100; i++) {
+				insert("a", now - ((100 - i) * 1000L), i);
+			}
+			insert("b", now, 1000);
+		}
+
+		@Test
+		public void show() {
+			assertThat(getValues(store.query("SHOW MEASUREMENTS;")), contains(Collections.<Object> singletonList("m")));
+			assertThat(getValues(store.query("SHOW TAG KEYS FROM \"m\";")), contains(Collections.<Object> singletonList("host")));
+			List<List<Object>> values = getValues(store.query("SHOW TAG VALUES FROM \"m\" WITH KEY = \"host\";"));
+			assertThat(values, hasSize(2));
+			assertThat(values.get(0), contains((Object) "host", "a"));
+			assertThat(values.get(1), contains((Object) "host", "b"));
+		}
+
+		@Test
+		public void aggregationWithTags() {
+			List<List<Object>> values = getValues(store.query("SELECT MAX(\"duration\"), COUNT(\"duration\") FROM \"m\" WHERE \"host\" = 'a' AND time <= " + now + "ms AND time > " + (now - 50000) + "ms"));
+
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0).get(1), is((Object) 99d));
+			assertThat(values.get(0).get(2), is((Object) 50L));
+		}
+
+		@Test
+		public void rawWithFieldCondition() {
+			List<List<Object>> values = getValues(store.query("SELECT \"traceId\" FROM \"m\" WHERE time >= " + (now - 10000) + "ms AND \"duration\" >= 98"));
+
+			assertThat(values, hasSize(3));
+			assertThat(values.get(0), contains((Object) (now - 2000), 98L));
+			assertThat(values.get(1), contains((Object) (now - 1000), 99L));
+			assertThat(values.get(2), contains((Object) now, 1000L));
+		}
+
+		@Test
+		public void afterFlush() {
+			store.flush(now, true);
+
+			List<List<Object>> values = getValues(store.query("SELECT MAX(\"duration\"), COUNT(\"duration\") FROM \"m\" WHERE \"host\" = 'a' AND time > now() - 1h"));
+
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0).get(1), is((Object) 99d));
+			assertThat(values.get(0).get(2), is((Object) 100L));
+		}
+
+		@Test
+		public void afterRestart() throws IOException {
+			store.shutdown();
+			store.open();
+
+			List<List<Object>> values = getValues(store.query("SELECT \"traceId\" FROM \"m\" WHERE \"host\" = 'a' AND \"duration\" >= 99"));
+
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0), contains((Object) (now - 1000), 99L));
+		}
+
+		@Test
+		public void noData() {
+			QueryResult queryResult = store.query("SELECT MAX(\"duration\") FROM \"m\" WHERE \"host\" = 'c'");
+
+			assertThat(queryResult.getResults(), hasSize(1));
+			assertThat(queryResult.getResults().get(0).getSeries(), is(nullValue()));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void notSupported() {
+			store.query("SELECT * FROM \"m\" LIMIT 10");
+		}
+	}
+
+	public static class Rollups extends TimeSeriesStoreTest {
+
+		@Test
+		public void resolutionSelection() throws IOException {
+			store.open();
+
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m WHERE time > now() - 1h"), now), is(Resolution.RAW));
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m WHERE time > now() - 3d"), now), is(Resolution.ONE_MINUTE));
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m WHERE time > now() - 10d"), now), is(Resolution.TEN_MINUTES));
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m"), now), is(Resolution.ONE_HOUR));
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m WHERE time > now() - 1h GROUP BY time(10m)"), now), is(Resolution.TEN_MINUTES));
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m WHERE time > now() - 20d GROUP BY time(1h)"), now), is(Resolution.ONE_HOUR));
+			assertThat(store.selectResolution(parse("SELECT MAX(v) FROM m WHERE time > now() - 1h GROUP BY time(90s)"), now), is(Resolution.RAW));
+		}
+
+		@Test
+		public void weeksOldData() throws IOException {
+			store.open();
+			long start = Resolution.ONE_HOUR.getBucketStart(now - TimeUnit.DAYS.toMillis(21));
+			for (long time = start; time < now; time += TimeUnit.MINUTES.toMillis(1)) {
+				insert("a", time, 1);
+			}
+			store.flush(now, true);
+
+			List<List<Object>> values = getValues(store.query("SELECT SUM(duration), COUNT(duration) FROM m WHERE time >= " + start + "ms AND time < " + (start + TimeUnit.DAYS.toMillis(1)) + "ms GROUP BY time(1h)"));
+
+			assertThat(values, hasSize(24));
+			for (List<Object> row : values) {
+				assertThat(row.get(1), is((Object) 60d));
+				assertThat(row.get(2), is((Object) 60L));
+			}
+			// raw data of the old points is not kept
+			assertThat(getValues(store.query("SELECT duration FROM m WHERE time < " + (now - TimeUnit.DAYS.toMillis(2)) + "ms")), is(empty()));
+		}
+
+		@Test
+		public void lateDataMerged() throws IOException {
+			store.open();
+			long bucket = Resolution.ONE_HOUR.getBucketStart(now - TimeUnit.DAYS.toMillis(10));
+			insert("a", bucket, 1);
+			store.flush(now, false);
+			insert("a", bucket + 1000, 5);
+
+			List<List<Object>> values = getValues(store.query("SELECT MAX(duration), COUNT(duration) FROM m WHERE time >= " + bucket + "ms GROUP BY time(1h)"));
+
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0), contains((Object) bucket, 5d, 2L));
+		}
+	}
+
+	public static class Retention extends TimeSeriesStoreTest {
+
+		@Test
+		public void expiredWindowsDeleted() throws IOException {
+			store.open();
+			long old = now - TimeUnit.HOURS.toMillis(12);
+			insert("a", old, 1);
+			store.flush(now, true);
+			assertThat(countWindowFiles(Resolution.RAW), is(1));
+
+			store.rawRetentionHours = 6;
+			store.flush(now, false);
+
+			assertThat(countWindowFiles(Resolution.RAW), is(0));
+			assertThat(countWindowFiles(Resolution.ONE_MINUTE), is(1));
+		}
+
+		@Test
+		public void seriesWithoutDataPruned() throws IOException {
+			store.open();
+			insert("a", now - TimeUnit.DAYS.toMillis(60), 1);
+			insert("b", now, 2);
+			store.flush(now, true);
+			long catalogSize = getCatalogSize();
+
+			store.oneHourRetentionDays = 20;
+			store.flush(now, false);
+
+			assertThat(getValues(store.query("SHOW TAG VALUES FROM m WITH KEY = \"host\"")), hasSize(1));
+			assertThat(getCatalogSize(), is(lessThan(catalogSize)));
+			store.shutdown();
+			store.open();
+			assertThat(getValues(store.query("SHOW TAG VALUES FROM m WITH KEY = \"host\"")), hasSize(1));
+		}
+
+		@Test
+		public void prunedSeriesRecreated() throws IOException {
+			store.open();
+			insert("a", now - TimeUnit.DAYS.toMillis(60), 1);
+			store.flush(now, true);
+			store.oneHourRetentionDays = 20;
+			store.flush(now, false);
+			assertThat(getValues(store.query("SHOW MEASUREMENTS")), is(empty()));
+
+			insert("a", now, 3);
+
+			List<List<Object>> values = getValues(store.query("SELECT duration FROM m"));
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0), contains((Object) now, 3L));
+		}
+
+		@Test
+		public void maxDiskSize() throws IOException {
+			store.open();
+			for (long time = now - TimeUnit.HOURS.toMillis(20); time < now; time += 1000) {
+				insert("a", time, (time / 1000) % 97);
+			}
+			store.flush(now, true);
+			long sizeBefore = getFolderSize();
+			int rawFilesBefore = countWindowFiles(Resolution.RAW);
+
+			store.maxDiskSize = sizeBefore / 2;
+			store.flush(now, false);
+
+			assertThat(getFolderSize() - getCatalogSize(), is(lessThanOrEqualTo(sizeBefore / 2)));
+			assertThat(countWindowFiles(Resolution.RAW), is(lessThan(rawFilesBefore)));
+			assertThat(countWindowFiles(Resolution.ONE_HOUR), is(1));
+			// newest raw data is still there
+			assertThat(getValues(store.query("SELECT COUNT(duration) FROM m WHERE time > " + (now - TimeUnit.MINUTES.toMillis(10)) + "ms")).get(0).get(1), is((Object) 599L));
+		}
+
+		@Test
+		public void partlyWrittenChunkTruncated() throws IOException {
+			store.open();
+			insert("a", now, 7);
+			store.flush(now, true);
+			store.shutdown();
+			Path windowFile = Paths.get(TEST_FOLDER, Resolution.RAW.getDirectoryName(), Resolution.RAW.getWindowStart(now) + TimeSeriesStore.WINDOW_FILE_EXTENSION);
+			long size = Files.size(windowFile);
+			try (FileChannel channel = FileChannel.open(windowFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+				channel.write(ByteBuffer.wrap(new byte[] { 1, 2, 3 }));
+			}
+
+			store.open();
+
+			List<List<Object>> values = getValues(store.query("SELECT duration FROM m"));
+			assertThat(values, hasSize(1));
+			assertThat(values.get(0), contains((Object) now, 7L));
+			assertThat(Files.size(windowFile), is(size));
+		}
+	}
+
+	void insert(String host, long time, long duration) {
+		Map<String, String> tags = new HashMap<>();
+		tags.put("host", host);
+		Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put("duration", duration);
+		fields.put("traceId", duration);
+		store.insert("m", tags, fields, time);
+	}
+
+	TimeSeriesQuery parse(String query) {
+		return TimeSeriesQueryParser.parse(query, now);
+	}
+
+	List<List<Object>> getValues(QueryResult queryResult) {
+		List<Series> series = queryResult.getResults().get(0).getSeries();
+		if (null == series) {
+			return Collections.emptyList();
+		}
+		return series.get(0).getValues();
+	}
+
+	int countWindowFiles(Resolution resolution) throws IOException {
+		int count = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(TEST_FOLDER, resolution.getDirectoryName()))) {
+			for (Path path : stream) { // NOPMD
+				count++;
+			}
+		}
+		return count;
+	}
+
+	long getFolderSize() throws IOException {
+		long size = 0;
+		for (Resolution resolution : Resolution.values()) {
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(TEST_FOLDER, resolution.getDirectoryName()))) {
+				for (Path path : stream) {
+					size += Files.size(path);
+				}
+			}
+		}
+		return size + getCatalogSize();
+	}
+
+	long getCatalogSize() throws IOException {
+		return Files.size(Paths.get(TEST_FOLDER, TimeSeriesStore.CATALOG_FILE));
+	}
+}
@@ -0,0 +1,134 @@
+package rocks.inspectit.server.tsdb.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.server.tsdb.Aggregate.AggregateFunction;
+import rocks.inspectit.server.tsdb.query.TimeSeriesQuery.QueryType;
+import rocks.inspectit.shared.all.testbase.TestBase;
+
+/**
+ * Tests the {@link TimeSeriesQueryParser}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class TimeSeriesQueryParserTest extends TestBase {
+
+	private static final long NOW = 1500000000000L;
+
+	public static class Show extends TimeSeriesQueryParserTest {
+
+		@Test
+		public void measurements() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SHOW MEASUREMENTS;", NOW);
+
+			assertThat(query.getType(), is(QueryType.SHOW_MEASUREMENTS));
+		}
+
+		@Test
+		public void tagKeys() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SHOW TAG KEYS FROM \"my measurement\";", NOW);
+
+			assertThat(query.getType(), is(QueryType.SHOW_TAG_KEYS));
+			assertThat(query.getMeasurement(), is("my measurement"));
+		}
+
+		@Test
+		public void tagValues() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SHOW TAG VALUES FROM \"m\" WITH KEY = \"host\";", NOW);
+
+			assertThat(query.getType(), is(QueryType.SHOW_TAG_VALUES));
+			assertThat(query.getMeasurement(), is("m"));
+			assertThat(query.getTagKey(), is("host"));
+		}
+
+		@Test
+		public void fieldKeys() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("show field keys from m", NOW);
+
+			assertThat(query.getType(), is(QueryType.SHOW_FIELD_KEYS));
+			assertThat(query.getMeasurement(), is("m"));
+		}
+	}
+
+	public static class Select extends TimeSeriesQueryParserTest {
+
+		@Test
+		public void thresholdCheck() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SELECT MAX(\"duration\") FROM \"m\" WHERE \"host\" = 'a' AND time <= 2000ms AND time > 1000ms", NOW);
+
+			assertThat(query.getType(), is(QueryType.SELECT));
+			assertThat(query.isAggregation(), is(true));
+			assertThat(query.getProjections(), hasSize(1));
+			assertThat(query.getProjections().get(0).getFunction(), is(AggregateFunction.MAX));
+			assertThat(query.getProjections().get(0).getField(), is("duration"));
+			assertThat(query.getProjections().get(0).getColumnName(), is("max"));
+			assertThat(query.getTagConditions().size(), is(1));
+			assertThat(query.getTagConditions(), hasEntry("host", "a"));
+			assertThat(query.getFromTime(), is(1001L));
+			assertThat(query.getToTime(), is(2000L));
+			assertThat(query.getGroupByInterval(), is(0L));
+		}
+
+		@Test
+		public void rawWithFieldCondition() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SELECT \"traceId\" FROM \"bt\" WHERE time >= 1000ms AND time < 2000ms AND \"duration\" >= 10.5", NOW);
+
+			assertThat(query.isAggregation(), is(false));
+			assertThat(query.getProjections().get(0).getFunction(), is(nullValue()));
+			assertThat(query.getProjections().get(0).getColumnName(), is("traceId"));
+			assertThat(query.getFromTime(), is(1000L));
+			assertThat(query.getToTime(), is(1999L));
+			assertThat(query.getFieldConditions(), hasSize(1));
+			assertThat(query.getFieldConditions().get(0).getField(), is("duration"));
+			assertThat(query.getFieldConditions().get(0).test(10.5d), is(true));
+			assertThat(query.getFieldConditions().get(0).test(10d), is(false));
+		}
+
+		@Test
+		public void relativeTimeAndGroupBy() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SELECT MEAN(value), COUNT(value) FROM m WHERE time >= now() - 7d GROUP BY time(1h)", NOW);
+
+			assertThat(query.getProjections(), hasSize(2));
+			assertThat(query.getFromTime(), is(NOW - TimeUnit.DAYS.toMillis(7)));
+			assertThat(query.getToTime(), is(Long.MAX_VALUE));
+			assertThat(query.getGroupByInterval(), is(TimeUnit.HOURS.toMillis(1)));
+		}
+
+		@Test
+		public void nanosecondTime() {
+			TimeSeriesQuery query = TimeSeriesQueryParser.parse("SELECT value FROM m WHERE time >= 1000000000", NOW);
+
+			assertThat(query.getFromTime(), is(1000L));
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void mixedProjections() {
+			TimeSeriesQueryParser.parse("SELECT MAX(value), value FROM m", NOW);
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void unsupportedFunction() {
+			TimeSeriesQueryParser.parse("SELECT PERCENTILE(value, 95) FROM m", NOW);
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void orCondition() {
+			TimeSeriesQueryParser.parse("SELECT value FROM m WHERE host = 'a' OR host = 'b'", NOW);
+		}
+
+		@Test(expectedExceptions = IllegalArgumentException.class)
+		public void notTerminatedQuote() {
+			TimeSeriesQueryParser.parse("SELECT value FROM \"m", NOW);
+		}
+	}
+}
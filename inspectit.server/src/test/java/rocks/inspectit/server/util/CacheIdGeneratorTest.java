@@ -0,0 +1,158 @@
+package rocks.inspectit.server.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Collections;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Test for the {@link CacheIdGenerator}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class CacheIdGeneratorTest {
+
+	CacheIdGenerator generator;
+
+	@BeforeMethod
+	public void init() {
+		generator = new CacheIdGenerator();
+	}
+
+	public static class GetVisibilityWatermark extends CacheIdGeneratorTest {
+
+		@Test
+		public void nothingPending() {
+			long id = assignId();
+
+			long watermark = generator.getVisibilityWatermark();
+
+			assertThat(watermark, is(id));
+		}
+
+		@Test
+		public void nextIdsPending() {
+			long first = assignId();
+			long pendingId = generator.markNextIdsPending();
+			assignId();
+			assignId();
+
+			long watermark = generator.getVisibilityWatermark();
+
+			assertThat(pendingId, is(first + 1));
+			assertThat(watermark, is(first));
+		}
+
+		@Test
+		public void idPending() {
+			long first = assignId();
+			long second = assignId();
+			generator.markPending(first);
+
+			long watermark = generator.getVisibilityWatermark();
+
+			assertThat(watermark, is(first - 1));
+			generator.unmarkPending(first);
+			assertThat(generator.getVisibilityWatermark(), is(second));
+		}
+
+		@Test
+		public void lowestPendingCounts() {
+			long first = assignId();
+			long second = assignId();
+			generator.markPending(second);
+			generator.markPending(first);
+			generator.unmarkPending(second);
+
+			long watermark = generator.getVisibilityWatermark();
+
+			assertThat(watermark, is(first - 1));
+		}
+
+		@Test
+		public void markedTwice() {
+			long first = assignId();
+			long second = assignId();
+			generator.markPending(first);
+			generator.markPending(first);
+			generator.unmarkPending(first);
+
+			long watermark = generator.getVisibilityWatermark();
+
+			assertThat(watermark, is(first - 1));
+			generator.unmarkPending(first);
+			assertThat(generator.getVisibilityWatermark(), is(second));
+		}
+
+		@Test
+		public void unmarkNotPending() {
+			long id = assignId();
+			generator.unmarkPending(id);
+
+			long watermark = generator.getVisibilityWatermark();
+
+			assertThat(watermark, is(id));
+		}
+
+		@Test
+		public void typePendingForQueriedType() {
+			long first = assignId();
+			long second = assignId();
+			generator.markPending(InvocationSequenceData.class, first);
+
+			long watermark = generator.getVisibilityWatermark(Collections.<Class<?>> singletonList(InvocationSequenceData.class));
+
+			assertThat(watermark, is(first - 1));
+			generator.unmarkPending(InvocationSequenceData.class, first);
+			assertThat(generator.getVisibilityWatermark(Collections.<Class<?>> singletonList(InvocationSequenceData.class)), is(second));
+		}
+
+		@Test
+		public void typePendingForOtherType() {
+			long first = assignId();
+			long second = assignId();
+			generator.markPending(InvocationSequenceData.class, first);
+
+			long watermark = generator.getVisibilityWatermark(Collections.<Class<?>> singletonList(TimerData.class));
+
+			assertThat(watermark, is(second));
+		}
+
+		@Test
+		public void typePendingForAllTypes() {
+			long first = assignId();
+			assignId();
+			generator.markPending(InvocationSequenceData.class, first);
+
+			assertThat(generator.getVisibilityWatermark(), is(first - 1));
+			assertThat(generator.getVisibilityWatermark(null), is(first - 1));
+		}
+
+		@Test
+		public void pendingForOtherTypeWithGlobalPending() {
+			long first = assignId();
+			long second = assignId();
+			generator.markPending(InvocationSequenceData.class, first);
+			generator.markPending(second);
+
+			long watermark = generator.getVisibilityWatermark(Collections.<Class<?>> singletonList(TimerData.class));
+
+			assertThat(watermark, is(second - 1));
+		}
+
+		private long assignId() {
+			TimerData timerData = new TimerData();
+			generator.assignObjectAnId(timerData);
+			return timerData.getId();
+		}
+	}
+
+}
@@ -74,6 +74,32 @@ public interface IAgentService {
 	 */
 	void instrumentationApplied(long platformId, Map<Long, long[]> methodToSensorMap);
 
+	/**
+	 * Registers the SQL texts of the agent SQL statement dictionary. The statements sent by the
+	 * agent afterwards can carry only the SQL id.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param sqlStatements
+	 *            SQL texts mapped by the SQL id.
+	 * @return Ids of the SQL texts the agent has to register again, because the statements
+	 *         carrying only these ids could not be resolved.
+	 */
+	Collection<Long> registerSqlStatements(long platformIdent, Map<Long, String> sqlStatements);
+
+	/**
+	 * Registers the exception stack traces. The exceptions sent by the agent afterwards can carry
+	 * only the stack trace fingerprint.
+	 *
+	 * @param platformIdent
+	 *            Id of the agent.
+	 * @param stackTraces
+	 *            Stack traces mapped by the fingerprint.
+	 * @return Fingerprints of the stack traces the agent has to register again, because the
+	 *         exceptions carrying only these fingerprints could not be resolved.
+	 */
+	Collection<Long> registerStackTraces(long platformIdent, Map<Long, String> stackTraces);
+
 	/**
 	 * Analyzes the given {@link JmxAttributeDescriptor} and decides which ones will be monitored,
 	 * based on the current configuration.
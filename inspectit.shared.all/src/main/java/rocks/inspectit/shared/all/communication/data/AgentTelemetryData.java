@@ -0,0 +1,566 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+
+/**
+ * Internal metrics of the agent collected in one sending interval. Describes how much time the
+ * agent spends in the hooks of each method sensor, how full the agent's ring buffer is and how
+ * long it takes to serialize and enqueue the data for sending to the CMR.
+ * <p>
+ * Hook times are sampled, only every {@link #hookSamplingInterval}-th dispatch of a thread is
+ * measured. The estimated total time a sensor spent in hooks is thus the sampled time multiplied
+ * by the sampling interval.
+ * <p>
+ * Batch sizes and enqueue times are stored as histograms with the logarithmic buckets, where the
+ * bucket <code>0</code> holds the value <code>0</code> and the bucket <code>i</code> holds the
+ * values from <code>2^(i-1)</code> to <code>2^i - 1</code>. The last bucket holds all values that
+ * are bigger. Enqueue times are expressed in microseconds.
+ * <p>
+ * The data is sent to the CMR without waiting for the acknowledgment, thus the enqueue time covers
+ * only the serialization and the writing to the connection's buffer. It does not include the
+ * network transfer nor the processing on the CMR.
+ *
+ * @author agent
+ *
+ */
+public class AgentTelemetryData extends SystemSensorData {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = -5702468624593127519L;
+
+	/**
+	 * Number of buckets in the histograms.
+	 */
+	public static final int HISTOGRAM_BUCKETS = 24;
+
+	/**
+	 * Every n-th hook dispatch of a thread is measured.
+	 */
+	private int hookSamplingInterval;
+
+	/**
+	 * IDs of the method sensor types the hook times are reported for.
+	 */
+	private long[] hookSensorTypeIdents = new long[0];
+
+	/**
+	 * Number of measured hook executions for each sensor type in {@link #hookSensorTypeIdents}.
+	 */
+	private long[] hookSampledCalls = new long[0];
+
+	/**
+	 * Measured hook time in nanoseconds for each sensor type in {@link #hookSensorTypeIdents}.
+	 */
+	private long[] hookSampledNanos = new long[0];
+
+	/**
+	 * Size of the ring buffer.
+	 */
+	private int ringBufferSize;
+
+	/**
+	 * How many times the ring buffer occupancy was read.
+	 */
+	private int ringBufferOccupancySamples;
+
+	/**
+	 * Sum of the read ring buffer occupancies.
+	 */
+	private long totalRingBufferOccupancy;
+
+	/**
+	 * Max read ring buffer occupancy.
+	 */
+	private int maxRingBufferOccupancy;
+
+	/**
+	 * How many times there was no free slot in the ring buffer, thus the data was dropped.
+	 */
+	private long ringBufferFullCount;
+
+	/**
+	 * Number of sent batches.
+	 */
+	private long sendCount;
+
+	/**
+	 * Number of sent data objects.
+	 */
+	private long sentObjectCount;
+
+	/**
+	 * Total time spent in serializing and enqueueing the sent batches in nanoseconds.
+	 */
+	private long totalEnqueueNanos;
+
+	/**
+	 * Bytes sent to the CMR.
+	 */
+	private long bytesSent;
+
+	/**
+	 * Histogram of the sent batch sizes.
+	 */
+	private long[] batchSizeHistogram = new long[HISTOGRAM_BUCKETS];
+
+	/**
+	 * Histogram of the enqueue times in microseconds.
+	 */
+	private long[] enqueueTimeHistogram = new long[HISTOGRAM_BUCKETS];
+
+	/**
+	 * Default no-args constructor.
+	 */
+	public AgentTelemetryData() {
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param timeStamp
+	 *            The Timestamp.
+	 * @param platformIdent
+	 *            The PlatformIdent.
+	 * @param sensorTypeIdent
+	 *            The SensorTypeIdent.
+	 */
+	public AgentTelemetryData(Timestamp timeStamp, long platformIdent, long sensorTypeIdent) {
+		super(timeStamp, platformIdent, sensorTypeIdent);
+	}
+
+	/**
+	 * Returns the histogram bucket for the value.
+	 *
+	 * @param value
+	 *            Value, must not be negative.
+	 * @return Bucket index.
+	 */
+	public static int getHistogramBucket(long value) {
+		return Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+	}
+
+	/**
+	 * Returns the upper bound of the histogram bucket the given percentile falls into. For the last
+	 * bucket the lower bound is returned as the bucket has no upper bound.
+	 *
+	 * @param histogram
+	 *            Histogram.
+	 * @param percentile
+	 *            Percentile between <code>0</code> and <code>1</code>.
+	 * @return Upper bound of the percentile or <code>0</code> if histogram is empty.
+	 */
+	public static long getHistogramPercentile(long[] histogram, double percentile) {
+		long total = 0;
+		for (long count : histogram) {
+			total += count;
+		}
+		if (0 == total) {
+			return 0;
+		}
+
+		long threshold = (long) Math.ceil(total * percentile);
+		long sum = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			sum += histogram[i];
+			if ((sum >= threshold) && (histogram[i] > 0)) {
+				if (i == (HISTOGRAM_BUCKETS - 1)) {
+					return 1L << (i - 1);
+				}
+				return (1L << i) - 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets {@link #hookSamplingInterval}.
+	 *
+	 * @return {@link #hookSamplingInterval}
+	 */
+	public int getHookSamplingInterval() {
+		return this.hookSamplingInterval;
+	}
+
+	/**
+	 * Sets {@link #hookSamplingInterval}.
+	 *
+	 * @param hookSamplingInterval
+	 *            New value for {@link #hookSamplingInterval}
+	 */
+	public void setHookSamplingInterval(int hookSamplingInterval) {
+		this.hookSamplingInterval = hookSamplingInterval;
+	}
+
+	/**
+	 * Gets {@link #hookSensorTypeIdents}.
+	 *
+	 * @return {@link #hookSensorTypeIdents}
+	 */
+	public long[] getHookSensorTypeIdents() {
+		return this.hookSensorTypeIdents;
+	}
+
+	/**
+	 * Gets {@link #hookSampledCalls}.
+	 *
+	 * @return {@link #hookSampledCalls}
+	 */
+	public long[] getHookSampledCalls() {
+		return this.hookSampledCalls;
+	}
+
+	/**
+	 * Gets {@link #hookSampledNanos}.
+	 *
+	 * @return {@link #hookSampledNanos}
+	 */
+	public long[] getHookSampledNanos() {
+		return this.hookSampledNanos;
+	}
+
+	/**
+	 * Sets the sampled hook times. All arrays must have the same length.
+	 *
+	 * @param hookSensorTypeIdents
+	 *            IDs of the method sensor types.
+	 * @param hookSampledCalls
+	 *            Number of measured hook executions for each sensor type.
+	 * @param hookSampledNanos
+	 *            Measured hook time in nanoseconds for each sensor type.
+	 */
+	public void setHookTimes(long[] hookSensorTypeIdents, long[] hookSampledCalls, long[] hookSampledNanos) {
+		this.hookSensorTypeIdents = hookSensorTypeIdents;
+		this.hookSampledCalls = hookSampledCalls;
+		this.hookSampledNanos = hookSampledNanos;
+	}
+
+	/**
+	 * Gets {@link #ringBufferSize}.
+	 *
+	 * @return {@link #ringBufferSize}
+	 */
+	public int getRingBufferSize() {
+		return this.ringBufferSize;
+	}
+
+	/**
+	 * Sets {@link #ringBufferSize}.
+	 *
+	 * @param ringBufferSize
+	 *            New value for {@link #ringBufferSize}
+	 */
+	public void setRingBufferSize(int ringBufferSize) {
+		this.ringBufferSize = ringBufferSize;
+	}
+
+	/**
+	 * Gets {@link #ringBufferOccupancySamples}.
+	 *
+	 * @return {@link #ringBufferOccupancySamples}
+	 */
+	public int getRingBufferOccupancySamples() {
+		return this.ringBufferOccupancySamples;
+	}
+
+	/**
+	 * Sets {@link #ringBufferOccupancySamples}.
+	 *
+	 * @param ringBufferOccupancySamples
+	 *            New value for {@link #ringBufferOccupancySamples}
+	 */
+	public void setRingBufferOccupancySamples(int ringBufferOccupancySamples) {
+		this.ringBufferOccupancySamples = ringBufferOccupancySamples;
+	}
+
+	/**
+	 * Gets {@link #totalRingBufferOccupancy}.
+	 *
+	 * @return {@link #totalRingBufferOccupancy}
+	 */
+	public long getTotalRingBufferOccupancy() {
+		return this.totalRingBufferOccupancy;
+	}
+
+	/**
+	 * Sets {@link #totalRingBufferOccupancy}.
+	 *
+	 * @param totalRingBufferOccupancy
+	 *            New value for {@link #totalRingBufferOccupancy}
+	 */
+	public void setTotalRingBufferOccupancy(long totalRingBufferOccupancy) {
+		this.totalRingBufferOccupancy = totalRingBufferOccupancy;
+	}
+
+	/**
+	 * Gets {@link #maxRingBufferOccupancy}.
+	 *
+	 * @return {@link #maxRingBufferOccupancy}
+	 */
+	public int getMaxRingBufferOccupancy() {
+		return this.maxRingBufferOccupancy;
+	}
+
+	/**
+	 * Sets {@link #maxRingBufferOccupancy}.
+	 *
+	 * @param maxRingBufferOccupancy
+	 *            New value for {@link #maxRingBufferOccupancy}
+	 */
+	public void setMaxRingBufferOccupancy(int maxRingBufferOccupancy) {
+		this.maxRingBufferOccupancy = maxRingBufferOccupancy;
+	}
+
+	/**
+	 * Gets {@link #ringBufferFullCount}.
+	 *
+	 * @return {@link #ringBufferFullCount}
+	 */
+	public long getRingBufferFullCount() {
+		return this.ringBufferFullCount;
+	}
+
+	/**
+	 * Sets {@link #ringBufferFullCount}.
+	 *
+	 * @param ringBufferFullCount
+	 *            New value for {@link #ringBufferFullCount}
+	 */
+	public void setRingBufferFullCount(long ringBufferFullCount) {
+		this.ringBufferFullCount = ringBufferFullCount;
+	}
+
+	/**
+	 * Gets {@link #sendCount}.
+	 *
+	 * @return {@link #sendCount}
+	 */
+	public long getSendCount() {
+		return this.sendCount;
+	}
+
+	/**
+	 * Sets {@link #sendCount}.
+	 *
+	 * @param sendCount
+	 *            New value for {@link #sendCount}
+	 */
+	public void setSendCount(long sendCount) {
+		this.sendCount = sendCount;
+	}
+
+	/**
+	 * Gets {@link #sentObjectCount}.
+	 *
+	 * @return {@link #sentObjectCount}
+	 */
+	public long getSentObjectCount() {
+		return this.sentObjectCount;
+	}
+
+	/**
+	 * Sets {@link #sentObjectCount}.
+	 *
+	 * @param sentObjectCount
+	 *            New value for {@link #sentObjectCount}
+	 */
+	public void setSentObjectCount(long sentObjectCount) {
+		this.sentObjectCount = sentObjectCount;
+	}
+
+	/**
+	 * Gets {@link #totalEnqueueNanos}.
+	 *
+	 * @return {@link #totalEnqueueNanos}
+	 */
+	public long getTotalEnqueueNanos() {
+		return this.totalEnqueueNanos;
+	}
+
+	/**
+	 * Sets {@link #totalEnqueueNanos}.
+	 *
+	 * @param totalEnqueueNanos
+	 *            New value for {@link #totalEnqueueNanos}
+	 */
+	public void setTotalEnqueueNanos(long totalEnqueueNanos) {
+		this.totalEnqueueNanos = totalEnqueueNanos;
+	}
+
+	/**
+	 * Gets {@link #bytesSent}.
+	 *
+	 * @return {@link #bytesSent}
+	 */
+	public long getBytesSent() {
+		return this.bytesSent;
+	}
+
+	/**
+	 * Sets {@link #bytesSent}.
+	 *
+	 * @param bytesSent
+	 *            New value for {@link #bytesSent}
+	 */
+	public void setBytesSent(long bytesSent) {
+		this.bytesSent = bytesSent;
+	}
+
+	/**
+	 * Gets {@link #batchSizeHistogram}.
+	 *
+	 * @return {@link #batchSizeHistogram}
+	 */
+	public long[] getBatchSizeHistogram() {
+		return this.batchSizeHistogram;
+	}
+
+	/**
+	 * Sets {@link #batchSizeHistogram}.
+	 *
+	 * @param batchSizeHistogram
+	 *            New value for {@link #batchSizeHistogram}
+	 */
+	public void setBatchSizeHistogram(long[] batchSizeHistogram) {
+		this.batchSizeHistogram = batchSizeHistogram;
+	}
+
+	/**
+	 * Gets {@link #enqueueTimeHistogram}.
+	 *
+	 * @return {@link #enqueueTimeHistogram}
+	 */
+	public long[] getEnqueueTimeHistogram() {
+		return this.enqueueTimeHistogram;
+	}
+
+	/**
+	 * Sets {@link #enqueueTimeHistogram}.
+	 *
+	 * @param enqueueTimeHistogram
+	 *            New value for {@link #enqueueTimeHistogram}
+	 */
+	public void setEnqueueTimeHistogram(long[] enqueueTimeHistogram) {
+		this.enqueueTimeHistogram = enqueueTimeHistogram;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
+		long size = super.getObjectSize(objectSizes, doAlign);
+		size += objectSizes.getPrimitiveTypesSize(5, 0, 4, 0, 6, 0);
+		size += objectSizes.getSizeOfPrimitiveArray(hookSensorTypeIdents.length, 8) * 3;
+		size += objectSizes.getSizeOfPrimitiveArray(batchSizeHistogram.length, 8);
+		size += objectSizes.getSizeOfPrimitiveArray(enqueueTimeHistogram.length, 8);
+		if (doAlign) {
+			return objectSizes.alignTo8Bytes(size);
+		} else {
+			return size;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = (prime * result) + Arrays.hashCode(batchSizeHistogram);
+		result = (prime * result) + (int) (bytesSent ^ (bytesSent >>> 32));
+		result = (prime * result) + Arrays.hashCode(hookSampledCalls);
+		result = (prime * result) + Arrays.hashCode(hookSampledNanos);
+		result = (prime * result) + hookSamplingInterval;
+		result = (prime * result) + Arrays.hashCode(hookSensorTypeIdents);
+		result = (prime * result) + maxRingBufferOccupancy;
+		result = (prime * result) + (int) (ringBufferFullCount ^ (ringBufferFullCount >>> 32));
+		result = (prime * result) + ringBufferOccupancySamples;
+		result = (prime * result) + ringBufferSize;
+		result = (prime * result) + (int) (sendCount ^ (sendCount >>> 32));
+		result = (prime * result) + Arrays.hashCode(enqueueTimeHistogram);
+		result = (prime * result) + (int) (sentObjectCount ^ (sentObjectCount >>> 32));
+		result = (prime * result) + (int) (totalRingBufferOccupancy ^ (totalRingBufferOccupancy >>> 32));
+		result = (prime * result) + (int) (totalEnqueueNanos ^ (totalEnqueueNanos >>> 32));
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		AgentTelemetryData other = (AgentTelemetryData) obj;
+		if (!Arrays.equals(batchSizeHistogram, other.batchSizeHistogram)) {
+			return false;
+		}
+		if (bytesSent != other.bytesSent) {
+			return false;
+		}
+		if (!Arrays.equals(hookSampledCalls, other.hookSampledCalls)) {
+			return false;
+		}
+		if (!Arrays.equals(hookSampledNanos, other.hookSampledNanos)) {
+			return false;
+		}
+		if (hookSamplingInterval != other.hookSamplingInterval) {
+			return false;
+		}
+		if (!Arrays.equals(hookSensorTypeIdents, other.hookSensorTypeIdents)) {
+			return false;
+		}
+		if (maxRingBufferOccupancy != other.maxRingBufferOccupancy) {
+			return false;
+		}
+		if (ringBufferFullCount != other.ringBufferFullCount) {
+			return false;
+		}
+		if (ringBufferOccupancySamples != other.ringBufferOccupancySamples) {
+			return false;
+		}
+		if (ringBufferSize != other.ringBufferSize) {
+			return false;
+		}
+		if (sendCount != other.sendCount) {
+			return false;
+		}
+		if (!Arrays.equals(enqueueTimeHistogram, other.enqueueTimeHistogram)) {
+			return false;
+		}
+		if (sentObjectCount != other.sentObjectCount) {
+			return false;
+		}
+		if (totalRingBufferOccupancy != other.totalRingBufferOccupancy) {
+			return false;
+		}
+		if (totalEnqueueNanos != other.totalEnqueueNanos) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "AgentTelemetryData [hookSensorTypes=" + hookSensorTypeIdents.length + ", ringBufferSize=" + ringBufferSize + ", maxRingBufferOccupancy=" + maxRingBufferOccupancy
+				+ ", ringBufferFullCount=" + ringBufferFullCount + ", sendCount=" + sendCount + ", sentObjectCount=" + sentObjectCount + ", bytesSent=" + bytesSent + "]";
+	}
+
+}
@@ -0,0 +1,664 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+
+/**
+ * Compact representation of the complete {@link InvocationSequenceData} tree. Instead of one object
+ * per invocation node, the nodes are stored in the pre-order in parallel primitive arrays (method
+ * ident, time stamp offset to the root, start, end and index of the parent node). Data attached to
+ * the nodes (timer, SQL, logging, exception data and span idents) is kept in side tables that
+ * contain the index of the node and the data itself, thus the nodes without any data don't cost
+ * anything except the primitive values.
+ * <p>
+ * The platform ident, sensor type ident and time stamp of the root are kept in the fields of the
+ * {@link DefaultData}, as all nodes of the invocation share the platform and sensor type ident.
+ * <p>
+ * The compact representation contains only the information the agent creates. Information that is
+ * calculated on the CMR (like position, nested data flags, application and business transaction)
+ * is not included. Use {@link #expand()} to get the object representation.
+ * <p>
+ * This is a wire format only. The agent creates it from the complete invocation tree on the data
+ * sending thread, thus it does not lower the memory the agent needs while recording the
+ * invocation. The CMR expands it to the
+ * {@link InvocationSequenceData} tree on receipt, so the processors, the buffer, the storage and
+ * the UI work on the object model as before.
+ *
+ * @author agent
+ *
+ */
+public class CompactInvocationSequenceData extends DefaultData {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = -1764541262218066377L;
+
+	/**
+	 * Amount of nodes.
+	 */
+	private int size;
+
+	/**
+	 * Method idents of the nodes.
+	 */
+	private long[] methodIdents;
+
+	/**
+	 * Offsets of the node time stamps to the time stamp of the root in milliseconds.
+	 */
+	private long[] timeStampOffsets;
+
+	/**
+	 * Start times of the nodes.
+	 */
+	private double[] starts;
+
+	/**
+	 * End times of the nodes.
+	 */
+	private double[] ends;
+
+	/**
+	 * Indexes of the parent nodes, <code>-1</code> for the root node.
+	 */
+	private int[] parentIndexes;
+
+	/**
+	 * Indexes of the nodes having the timer data.
+	 */
+	private int[] timerDataIndexes;
+
+	/**
+	 * Timer data of the nodes in {@link #timerDataIndexes}.
+	 */
+	private TimerData[] timerDatas;
+
+	/**
+	 * Indexes of the nodes having the SQL statement data.
+	 */
+	private int[] sqlStatementDataIndexes;
+
+	/**
+	 * SQL statement data of the nodes in {@link #sqlStatementDataIndexes}.
+	 */
+	private SqlStatementData[] sqlStatementDatas;
+
+	/**
+	 * Indexes of the nodes having the logging data.
+	 */
+	private int[] loggingDataIndexes;
+
+	/**
+	 * Logging data of the nodes in {@link #loggingDataIndexes}.
+	 */
+	private LoggingData[] loggingDatas;
+
+	/**
+	 * Indexes of the nodes having the exception data. One node index can occur more than once.
+	 */
+	private int[] exceptionSensorDataIndexes;
+
+	/**
+	 * Exception data of the nodes in {@link #exceptionSensorDataIndexes}.
+	 */
+	private ExceptionSensorData[] exceptionSensorDatas;
+
+	/**
+	 * Indexes of the nodes having the span ident.
+	 */
+	private int[] spanIdentIndexes;
+
+	/**
+	 * Span ids of the nodes in {@link #spanIdentIndexes}.
+	 */
+	private long[] spanIds;
+
+	/**
+	 * Trace ids of the nodes in {@link #spanIdentIndexes}.
+	 */
+	private long[] spanTraceIds;
+
+	/**
+	 * No-arg constructor.
+	 */
+	public CompactInvocationSequenceData() {
+	}
+
+	/**
+	 * Creates the compact representation of the given invocation tree. The tree is traversed
+	 * iteratively, so that deep trees can not cause the stack overflow.
+	 *
+	 * @param invocation
+	 *            Root of the invocation tree.
+	 * @return {@link CompactInvocationSequenceData}
+	 */
+	public static CompactInvocationSequenceData compact(InvocationSequenceData invocation) {
+		List<InvocationSequenceData> nodes = new ArrayList<InvocationSequenceData>((int) invocation.getChildCount() + 1);
+		IntList parents = new IntList((int) invocation.getChildCount() + 1);
+
+		// pre-order traversal, the stack holds the nodes to visit and the index of their parent
+		List<InvocationSequenceData> stack = new ArrayList<InvocationSequenceData>();
+		IntList stackParents = new IntList(16);
+		stack.add(invocation);
+		stackParents.add(-1);
+		IntList timerIndexes = new IntList(16);
+		IntList sqlIndexes = new IntList(16);
+		IntList loggingIndexes = new IntList(16);
+		IntList exceptionIndexes = new IntList(16);
+		IntList spanIndexes = new IntList(16);
+		while (!stack.isEmpty()) {
+			int last = stack.size() - 1;
+			InvocationSequenceData node = stack.remove(last);
+			int parentIndex = stackParents.remove(last);
+			int index = nodes.size();
+			nodes.add(node);
+			parents.add(parentIndex);
+
+			if (null != node.getTimerData()) {
+				timerIndexes.add(index);
+			}
+			if (null != node.getSqlStatementData()) {
+				sqlIndexes.add(index);
+			}
+			if (null != node.getLoggingData()) {
+				loggingIndexes.add(index);
+			}
+			if (null != node.getExceptionSensorDataObjects()) {
+				for (int i = 0; i < node.getExceptionSensorDataObjects().size(); i++) {
+					exceptionIndexes.add(index);
+				}
+			}
+			if (null != node.getSpanIdent()) {
+				spanIndexes.add(index);
+			}
+
+			List<InvocationSequenceData> children = node.getNestedSequences();
+			if (null != children) {
+				for (int i = children.size() - 1; i >= 0; i--) {
+					stack.add(children.get(i));
+					stackParents.add(index);
+				}
+			}
+		}
+
+		CompactInvocationSequenceData compact = new CompactInvocationSequenceData();
+		compact.setId(invocation.getId());
+		compact.setPlatformIdent(invocation.getPlatformIdent());
+		compact.setSensorTypeIdent(invocation.getSensorTypeIdent());
+		compact.setTimeStamp(invocation.getTimeStamp());
+
+		int size = nodes.size();
+		long rootTime = (null != invocation.getTimeStamp()) ? invocation.getTimeStamp().getTime() : 0L;
+		compact.size = size;
+		compact.methodIdents = new long[size];
+		compact.timeStampOffsets = new long[size];
+		compact.starts = new double[size];
+		compact.ends = new double[size];
+		compact.parentIndexes = parents.toArray();
+		for (int i = 0; i < size; i++) {
+			InvocationSequenceData node = nodes.get(i);
+			compact.methodIdents[i] = node.getMethodIdent();
+			if (null != node.getTimeStamp()) {
+				compact.timeStampOffsets[i] = node.getTimeStamp().getTime() - rootTime;
+			}
+			compact.starts[i] = node.getStart();
+			compact.ends[i] = node.getEnd();
+		}
+
+		compact.timerDataIndexes = timerIndexes.toArray();
+		compact.timerDatas = new TimerData[compact.timerDataIndexes.length];
+		for (int i = 0; i < compact.timerDatas.length; i++) {
+			compact.timerDatas[i] = nodes.get(compact.timerDataIndexes[i]).getTimerData();
+		}
+
+		compact.sqlStatementDataIndexes = sqlIndexes.toArray();
+		compact.sqlStatementDatas = new SqlStatementData[compact.sqlStatementDataIndexes.length];
+		for (int i = 0; i < compact.sqlStatementDatas.length; i++) {
+			compact.sqlStatementDatas[i] = nodes.get(compact.sqlStatementDataIndexes[i]).getSqlStatementData();
+		}
+
+		compact.loggingDataIndexes = loggingIndexes.toArray();
+		compact.loggingDatas = new LoggingData[compact.loggingDataIndexes.length];
+		for (int i = 0; i < compact.loggingDatas.length; i++) {
+			compact.loggingDatas[i] = nodes.get(compact.loggingDataIndexes[i]).getLoggingData();
+		}
+
+		compact.exceptionSensorDataIndexes = exceptionIndexes.toArray();
+		compact.exceptionSensorDatas = new ExceptionSensorData[compact.exceptionSensorDataIndexes.length];
+		int exceptionIndex = 0;
+		while (exceptionIndex < compact.exceptionSensorDatas.length) {
+			List<ExceptionSensorData> exceptions = nodes.get(compact.exceptionSensorDataIndexes[exceptionIndex]).getExceptionSensorDataObjects();
+			for (ExceptionSensorData exceptionSensorData : exceptions) {
+				compact.exceptionSensorDatas[exceptionIndex++] = exceptionSensorData;
+			}
+		}
+
+		compact.spanIdentIndexes = spanIndexes.toArray();
+		compact.spanIds = new long[compact.spanIdentIndexes.length];
+		compact.spanTraceIds = new long[compact.spanIdentIndexes.length];
+		for (int i = 0; i < compact.spanIdentIndexes.length; i++) {
+			SpanIdent spanIdent = nodes.get(compact.spanIdentIndexes[i]).getSpanIdent();
+			compact.spanIds[i] = spanIdent.getId();
+			compact.spanTraceIds[i] = spanIdent.getTraceId();
+		}
+
+		return compact;
+	}
+
+	/**
+	 * Expands this compact representation to the invocation tree.
+	 *
+	 * @return Root of the invocation tree.
+	 */
+	public InvocationSequenceData expand() {
+		InvocationSequenceData[] nodes = new InvocationSequenceData[size];
+		long rootTime = (null != getTimeStamp()) ? getTimeStamp().getTime() : 0L;
+		for (int i = 0; i < size; i++) {
+			Timestamp timestamp = (0 == i) ? getTimeStamp() : new Timestamp(rootTime + timeStampOffsets[i]);
+			InvocationSequenceData node = new InvocationSequenceData(timestamp, getPlatformIdent(), getSensorTypeIdent(), methodIdents[i]);
+			node.setStart(starts[i]);
+			node.setEnd(ends[i]);
+			node.setDuration(ends[i] - starts[i]);
+			int parentIndex = parentIndexes[i];
+			if (parentIndex >= 0) {
+				InvocationSequenceData parent = nodes[parentIndex];
+				node.setParentSequence(parent);
+				parent.getNestedSequences().add(node);
+			}
+			nodes[i] = node;
+		}
+
+		// child count is the count of all descendants, children are always after the parent
+		long[] childCounts = new long[size];
+		for (int i = size - 1; i > 0; i--) {
+			childCounts[parentIndexes[i]] += childCounts[i] + 1;
+		}
+		for (int i = 0; i < size; i++) {
+			nodes[i].setChildCount(childCounts[i]);
+		}
+
+		for (int i = 0; i < timerDataIndexes.length; i++) {
+			nodes[timerDataIndexes[i]].setTimerData(timerDatas[i]);
+		}
+		for (int i = 0; i < sqlStatementDataIndexes.length; i++) {
+			nodes[sqlStatementDataIndexes[i]].setSqlStatementData(sqlStatementDatas[i]);
+		}
+		for (int i = 0; i < loggingDataIndexes.length; i++) {
+			nodes[loggingDataIndexes[i]].setLoggingData(loggingDatas[i]);
+		}
+		for (int i = 0; i < exceptionSensorDataIndexes.length; i++) {
+			nodes[exceptionSensorDataIndexes[i]].addExceptionSensorData(exceptionSensorDatas[i]);
+		}
+		for (int i = 0; i < spanIdentIndexes.length; i++) {
+			nodes[spanIdentIndexes[i]].setSpanIdent(new SpanIdent(spanIds[i], spanTraceIds[i]));
+		}
+
+		InvocationSequenceData root = nodes[0];
+		root.setId(getId());
+		return root;
+	}
+
+	/**
+	 * Gets {@link #size}.
+	 *
+	 * @return {@link #size}
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Gets {@link #methodIdents}.
+	 *
+	 * @return {@link #methodIdents}
+	 */
+	public long[] getMethodIdents() {
+		return methodIdents;
+	}
+
+	/**
+	 * Gets {@link #timeStampOffsets}.
+	 *
+	 * @return {@link #timeStampOffsets}
+	 */
+	public long[] getTimeStampOffsets() {
+		return timeStampOffsets;
+	}
+
+	/**
+	 * Gets {@link #starts}.
+	 *
+	 * @return {@link #starts}
+	 */
+	public double[] getStarts() {
+		return starts;
+	}
+
+	/**
+	 * Gets {@link #ends}.
+	 *
+	 * @return {@link #ends}
+	 */
+	public double[] getEnds() {
+		return ends;
+	}
+
+	/**
+	 * Gets {@link #parentIndexes}.
+	 *
+	 * @return {@link #parentIndexes}
+	 */
+	public int[] getParentIndexes() {
+		return parentIndexes;
+	}
+
+	/**
+	 * Gets {@link #timerDataIndexes}.
+	 *
+	 * @return {@link #timerDataIndexes}
+	 */
+	public int[] getTimerDataIndexes() {
+		return timerDataIndexes;
+	}
+
+	/**
+	 * Gets {@link #timerDatas}.
+	 *
+	 * @return {@link #timerDatas}
+	 */
+	public TimerData[] getTimerDatas() {
+		return timerDatas;
+	}
+
+	/**
+	 * Gets {@link #sqlStatementDataIndexes}.
+	 *
+	 * @return {@link #sqlStatementDataIndexes}
+	 */
+	public int[] getSqlStatementDataIndexes() {
+		return sqlStatementDataIndexes;
+	}
+
+	/**
+	 * Gets {@link #sqlStatementDatas}.
+	 *
+	 * @return {@link #sqlStatementDatas}
+	 */
+	public SqlStatementData[] getSqlStatementDatas() {
+		return sqlStatementDatas;
+	}
+
+	/**
+	 * Gets {@link #loggingDataIndexes}.
+	 *
+	 * @return {@link #loggingDataIndexes}
+	 */
+	public int[] getLoggingDataIndexes() {
+		return loggingDataIndexes;
+	}
+
+	/**
+	 * Gets {@link #loggingDatas}.
+	 *
+	 * @return {@link #loggingDatas}
+	 */
+	public LoggingData[] getLoggingDatas() {
+		return loggingDatas;
+	}
+
+	/**
+	 * Gets {@link #exceptionSensorDataIndexes}.
+	 *
+	 * @return {@link #exceptionSensorDataIndexes}
+	 */
+	public int[] getExceptionSensorDataIndexes() {
+		return exceptionSensorDataIndexes;
+	}
+
+	/**
+	 * Gets {@link #exceptionSensorDatas}.
+	 *
+	 * @return {@link #exceptionSensorDatas}
+	 */
+	public ExceptionSensorData[] getExceptionSensorDatas() {
+		return exceptionSensorDatas;
+	}
+
+	/**
+	 * Gets {@link #spanIdentIndexes}.
+	 *
+	 * @return {@link #spanIdentIndexes}
+	 */
+	public int[] getSpanIdentIndexes() {
+		return spanIdentIndexes;
+	}
+
+	/**
+	 * Gets {@link #spanIds}.
+	 *
+	 * @return {@link #spanIds}
+	 */
+	public long[] getSpanIds() {
+		return spanIds;
+	}
+
+	/**
+	 * Gets {@link #spanTraceIds}.
+	 *
+	 * @return {@link #spanTraceIds}
+	 */
+	public long[] getSpanTraceIds() {
+		return spanTraceIds;
+	}
+
+	/**
+	 * Sets the node arrays. All arrays must have the same length.
+	 *
+	 * @param methodIdents
+	 *            Method idents of the nodes.
+	 * @param timeStampOffsets
+	 *            Offsets of the node time stamps to the time stamp of the root.
+	 * @param starts
+	 *            Start times of the nodes.
+	 * @param ends
+	 *            End times of the nodes.
+	 * @param parentIndexes
+	 *            Indexes of the parent nodes.
+	 */
+	public void setNodes(long[] methodIdents, long[] timeStampOffsets, double[] starts, double[] ends, int[] parentIndexes) {
+		this.size = methodIdents.length;
+		this.methodIdents = methodIdents;
+		this.timeStampOffsets = timeStampOffsets;
+		this.starts = starts;
+		this.ends = ends;
+		this.parentIndexes = parentIndexes;
+	}
+
+	/**
+	 * Sets the timer data side table.
+	 *
+	 * @param timerDataIndexes
+	 *            Indexes of the nodes.
+	 * @param timerDatas
+	 *            Timer data.
+	 */
+	public void setTimerDatas(int[] timerDataIndexes, TimerData[] timerDatas) {
+		this.timerDataIndexes = timerDataIndexes;
+		this.timerDatas = timerDatas;
+	}
+
+	/**
+	 * Sets the SQL statement data side table.
+	 *
+	 * @param sqlStatementDataIndexes
+	 *            Indexes of the nodes.
+	 * @param sqlStatementDatas
+	 *            SQL statement data.
+	 */
+	public void setSqlStatementDatas(int[] sqlStatementDataIndexes, SqlStatementData[] sqlStatementDatas) {
+		this.sqlStatementDataIndexes = sqlStatementDataIndexes;
+		this.sqlStatementDatas = sqlStatementDatas;
+	}
+
+	/**
+	 * Sets the logging data side table.
+	 *
+	 * @param loggingDataIndexes
+	 *            Indexes of the nodes.
+	 * @param loggingDatas
+	 *            Logging data.
+	 */
+	public void setLoggingDatas(int[] loggingDataIndexes, LoggingData[] loggingDatas) {
+		this.loggingDataIndexes = loggingDataIndexes;
+		this.loggingDatas = loggingDatas;
+	}
+
+	/**
+	 * Sets the exception data side table.
+	 *
+	 * @param exceptionSensorDataIndexes
+	 *            Indexes of the nodes.
+	 * @param exceptionSensorDatas
+	 *            Exception data.
+	 */
+	public void setExceptionSensorDatas(int[] exceptionSensorDataIndexes, ExceptionSensorData[] exceptionSensorDatas) {
+		this.exceptionSensorDataIndexes = exceptionSensorDataIndexes;
+		this.exceptionSensorDatas = exceptionSensorDatas;
+	}
+
+	/**
+	 * Sets the span ident side table.
+	 *
+	 * @param spanIdentIndexes
+	 *            Indexes of the nodes.
+	 * @param spanIds
+	 *            Span ids.
+	 * @param spanTraceIds
+	 *            Trace ids.
+	 */
+	public void setSpanIdents(int[] spanIdentIndexes, long[] spanIds, long[] spanTraceIds) {
+		this.spanIdentIndexes = spanIdentIndexes;
+		this.spanIds = spanIds;
+		this.spanTraceIds = spanTraceIds;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
+		long size = super.getObjectSize(objectSizes, doAlign);
+		size += objectSizes.getPrimitiveTypesSize(16, 0, 1, 0, 0, 0);
+		size += objectSizes.getSizeOfPrimitiveArray(this.size, 8) * 4;
+		size += objectSizes.getSizeOfPrimitiveArray(this.size, 4);
+		size += getSideTableSize(objectSizes, timerDataIndexes, timerDatas);
+		size += getSideTableSize(objectSizes, sqlStatementDataIndexes, sqlStatementDatas);
+		size += getSideTableSize(objectSizes, loggingDataIndexes, loggingDatas);
+		size += getSideTableSize(objectSizes, exceptionSensorDataIndexes, exceptionSensorDatas);
+		if (null != spanIdentIndexes) {
+			size += objectSizes.getSizeOfPrimitiveArray(spanIdentIndexes.length, 4);
+			size += objectSizes.getSizeOfPrimitiveArray(spanIdentIndexes.length, 8) * 2;
+		}
+		if (doAlign) {
+			return objectSizes.alignTo8Bytes(size);
+		} else {
+			return size;
+		}
+	}
+
+	/**
+	 * Returns the size of one side table.
+	 *
+	 * @param objectSizes
+	 *            Appropriate instance of {@link IObjectSizes} depending on the VM architecture.
+	 * @param indexes
+	 *            Node indexes.
+	 * @param datas
+	 *            Data objects.
+	 * @return Size in bytes.
+	 */
+	private static long getSideTableSize(IObjectSizes objectSizes, int[] indexes, DefaultData[] datas) {
+		long size = 0;
+		if (null != indexes) {
+			size += objectSizes.getSizeOfPrimitiveArray(indexes.length, 4);
+		}
+		if (null != datas) {
+			size += objectSizes.getSizeOfArray(datas.length);
+			for (DefaultData data : datas) {
+				size += objectSizes.getSizeOf(data);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Minimal growable list of primitive integers used while creating the compact representation.
+	 */
+	private static final class IntList {
+
+		/**
+		 * Values.
+		 */
+		private int[] values;
+
+		/**
+		 * Current size.
+		 */
+		private int size;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param initialCapacity
+		 *            Initial capacity.
+		 */
+		IntList(int initialCapacity) {
+			values = new int[Math.max(initialCapacity, 1)];
+		}
+
+		/**
+		 * Adds value to the end of the list.
+		 *
+		 * @param value
+		 *            Value to add.
+		 */
+		void add(int value) {
+			if (size == values.length) {
+				int[] newValues = new int[values.length * 2];
+				System.arraycopy(values, 0, newValues, 0, size);
+				values = newValues;
+			}
+			values[size++] = value;
+		}
+
+		/**
+		 * Removes the value on the given index. Only removal of the last element is supported.
+		 *
+		 * @param index
+		 *            Index, must be the last index in the list.
+		 * @return Removed value.
+		 */
+		int remove(int index) {
+			size = index;
+			return values[index];
+		}
+
+		/**
+		 * Returns the values in a new array.
+		 *
+		 * @return Array of values.
+		 */
+		int[] toArray() {
+			int[] result = new int[size];
+			System.arraycopy(values, 0, result, 0, size);
+			return result;
+		}
+	}
+
+}
@@ -35,6 +35,13 @@ public class ExceptionSensorData extends InvocationAwareData {
 	 */
 	private String stackTrace;
 
+	/**
+	 * Fingerprint of the stack trace. The agent sends the stack trace text only with the first
+	 * exception having the given fingerprint, all other exceptions carry only the fingerprint and
+	 * the CMR resolves the text. Value <code>0</code> denotes that no fingerprint is available.
+	 */
+	private long stackTraceFingerprint;
+
 	/**
 	 * The {@link ExceptionEvent} indicating by which event this object was created.
 	 */
@@ -134,6 +141,25 @@ public class ExceptionSensorData extends InvocationAwareData {
 		this.stackTrace = stackTrace;
 	}
 
+	/**
+	 * Gets {@link #stackTraceFingerprint}.
+	 *
+	 * @return {@link #stackTraceFingerprint}
+	 */
+	public long getStackTraceFingerprint() {
+		return stackTraceFingerprint;
+	}
+
+	/**
+	 * Sets {@link #stackTraceFingerprint}.
+	 *
+	 * @param stackTraceFingerprint
+	 *            New value for {@link #stackTraceFingerprint}
+	 */
+	public void setStackTraceFingerprint(long stackTraceFingerprint) {
+		this.stackTraceFingerprint = stackTraceFingerprint;
+	}
+
 	/**
 	 * Gets {@link #exceptionEvent}.
 	 *
@@ -224,7 +250,7 @@ public class ExceptionSensorData extends InvocationAwareData {
 	@Override
 	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
 		long size = super.getObjectSize(objectSizes, doAlign);
-		size += objectSizes.getPrimitiveTypesSize(6, 0, 0, 0, 1, 0);
+		size += objectSizes.getPrimitiveTypesSize(6, 0, 0, 0, 2, 0);
 		size += objectSizes.getSizeOf(errorMessage);
 		size += objectSizes.getSizeOf(cause);
 		size += objectSizes.getSizeOf(stackTrace);
@@ -0,0 +1,391 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.IAggregatedData;
+import rocks.inspectit.shared.all.communication.SystemSensorData;
+
+/**
+ * Call tree folded from the thread stacks sampled by the sampling profiler in one sending interval.
+ * <p>
+ * The nodes of the tree are stored in parallel primitive arrays holding the index of the node frame
+ * in the {@link #frames} table, the index of the parent node (<code>-1</code> for the root nodes)
+ * and the number of samples the node was part of. A parent node always precedes its children in the
+ * arrays. The amount of samples the node was on the top of the stack is thus the node samples
+ * reduced by the samples of its children.
+ *
+ * @author agent
+ *
+ */
+public class SamplingProfilerData extends SystemSensorData implements IAggregatedData<SamplingProfilerData> {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = 3468251079562312237L;
+
+	/**
+	 * Separator of the frames in the folded stacks.
+	 */
+	private static final char FOLDED_STACK_SEPARATOR = ';';
+
+	/**
+	 * Number of sampling rounds.
+	 */
+	private int sampleCount;
+
+	/**
+	 * Frames (fully qualified class name and method name) referenced by the nodes.
+	 */
+	private List<String> frames = new ArrayList<String>(0);
+
+	/**
+	 * Index of the frame in the {@link #frames} for each node.
+	 */
+	private int[] nodeFrames = new int[0];
+
+	/**
+	 * Index of the parent node for each node, <code>-1</code> for root nodes.
+	 */
+	private int[] nodeParents = new int[0];
+
+	/**
+	 * Number of samples for each node.
+	 */
+	private int[] nodeSamples = new int[0];
+
+	/**
+	 * Default no-args constructor.
+	 */
+	public SamplingProfilerData() {
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param timeStamp
+	 *            The Timestamp.
+	 * @param platformIdent
+	 *            The PlatformIdent.
+	 * @param sensorTypeIdent
+	 *            The SensorTypeIdent.
+	 */
+	public SamplingProfilerData(Timestamp timeStamp, long platformIdent, long sensorTypeIdent) {
+		super(timeStamp, platformIdent, sensorTypeIdent);
+	}
+
+	/**
+	 * Returns the number of nodes in the tree.
+	 *
+	 * @return Returns the number of nodes in the tree.
+	 */
+	public int getNodeCount() {
+		return nodeFrames.length;
+	}
+
+	/**
+	 * Returns the number of samples the node was on the top of the stack.
+	 *
+	 * @param node
+	 *            Node index.
+	 * @return Returns the number of samples the node was on the top of the stack.
+	 */
+	public int getSelfSamples(int node) {
+		int self = nodeSamples[node];
+		// children always follow the parent
+		for (int i = node + 1; i < nodeParents.length; i++) {
+			if (nodeParents[i] == node) {
+				self -= nodeSamples[i];
+			}
+		}
+		return self;
+	}
+
+	/**
+	 * Returns the tree in the folded stacks format used by the flame graph tools, where each stack
+	 * is represented with the frames separated with semicolon (starting from the root) and mapped
+	 * to the amount of samples the stack was seen. Only stacks with at least one sample on the top
+	 * frame are included.
+	 *
+	 * @return Folded stacks.
+	 */
+	public Map<String, Integer> getFoldedStacks() {
+		Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+		String[] paths = new String[nodeFrames.length];
+		int[] self = Arrays.copyOf(nodeSamples, nodeSamples.length);
+		for (int i = 0; i < nodeFrames.length; i++) {
+			int parent = nodeParents[i];
+			if (parent < 0) {
+				paths[i] = frames.get(nodeFrames[i]);
+			} else {
+				paths[i] = paths[parent] + FOLDED_STACK_SEPARATOR + frames.get(nodeFrames[i]);
+				self[parent] -= nodeSamples[i];
+			}
+		}
+		for (int i = 0; i < nodeFrames.length; i++) {
+			if (self[i] > 0) {
+				result.put(paths[i], Integer.valueOf(self[i]));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Merges the call tree of the other data into this one. Nodes having the same frame path are
+	 * merged by summing the samples, the other nodes are added.
+	 *
+	 * @param other
+	 *            Data to aggregate.
+	 */
+	@Override
+	public void aggregate(SamplingProfilerData other) {
+		sampleCount += other.sampleCount;
+		if (other.nodeFrames.length == 0) {
+			return;
+		}
+
+		Map<String, Integer> frameIndexes = new HashMap<String, Integer>();
+		for (int i = 0; i < frames.size(); i++) {
+			frameIndexes.put(frames.get(i), Integer.valueOf(i));
+		}
+		// node key is the parent node combined with the frame index
+		Map<Long, Integer> nodeIndexes = new HashMap<Long, Integer>();
+		for (int i = 0; i < nodeFrames.length; i++) {
+			nodeIndexes.put(nodeKey(nodeParents[i], nodeFrames[i]), Integer.valueOf(i));
+		}
+
+		List<int[]> added = new ArrayList<int[]>();
+		int size = nodeFrames.length;
+		int[] mapped = new int[other.nodeFrames.length];
+		for (int i = 0; i < other.nodeFrames.length; i++) {
+			String frame = other.frames.get(other.nodeFrames[i]);
+			Integer frameIndex = frameIndexes.get(frame);
+			if (null == frameIndex) {
+				frameIndex = Integer.valueOf(frames.size());
+				frames.add(frame);
+				frameIndexes.put(frame, frameIndex);
+			}
+
+			int parent = (other.nodeParents[i] < 0) ? -1 : mapped[other.nodeParents[i]];
+			Long key = nodeKey(parent, frameIndex.intValue());
+			Integer node = nodeIndexes.get(key);
+			if (null == node) {
+				node = Integer.valueOf(size++);
+				nodeIndexes.put(key, node);
+				added.add(new int[] { frameIndex.intValue(), parent, other.nodeSamples[i] });
+			} else if (node.intValue() < nodeFrames.length) {
+				nodeSamples[node.intValue()] += other.nodeSamples[i];
+			} else {
+				added.get(node.intValue() - nodeFrames.length)[2] += other.nodeSamples[i];
+			}
+			mapped[i] = node.intValue();
+		}
+
+		if (!added.isEmpty()) {
+			appendNodes(added);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SamplingProfilerData getData() {
+		return this;
+	}
+
+	/**
+	 * Appends the nodes to the end of the node arrays.
+	 *
+	 * @param added
+	 *            Nodes to add as the arrays of frame index, parent and samples.
+	 */
+	private void appendNodes(List<int[]> added) {
+		int oldSize = nodeFrames.length;
+		int newSize = oldSize + added.size();
+		nodeFrames = Arrays.copyOf(nodeFrames, newSize);
+		nodeParents = Arrays.copyOf(nodeParents, newSize);
+		nodeSamples = Arrays.copyOf(nodeSamples, newSize);
+		for (int i = 0; i < added.size(); i++) {
+			int[] node = added.get(i);
+			nodeFrames[oldSize + i] = node[0];
+			nodeParents[oldSize + i] = node[1];
+			nodeSamples[oldSize + i] = node[2];
+		}
+	}
+
+	/**
+	 * Creates the key of the node for the lookup by parent and frame.
+	 *
+	 * @param parent
+	 *            Parent index.
+	 * @param frame
+	 *            Frame index.
+	 * @return Key.
+	 */
+	private static Long nodeKey(int parent, int frame) {
+		return Long.valueOf(((long) parent << 32) | (frame & 0xFFFFFFFFL));
+	}
+
+	/**
+	 * Gets {@link #sampleCount}.
+	 *
+	 * @return {@link #sampleCount}
+	 */
+	public int getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * Sets {@link #sampleCount}.
+	 *
+	 * @param sampleCount
+	 *            New value for {@link #sampleCount}
+	 */
+	public void setSampleCount(int sampleCount) {
+		this.sampleCount = sampleCount;
+	}
+
+	/**
+	 * Gets {@link #frames}.
+	 *
+	 * @return {@link #frames}
+	 */
+	public List<String> getFrames() {
+		return frames;
+	}
+
+	/**
+	 * Gets {@link #nodeFrames}.
+	 *
+	 * @return {@link #nodeFrames}
+	 */
+	public int[] getNodeFrames() {
+		return nodeFrames;
+	}
+
+	/**
+	 * Gets {@link #nodeParents}.
+	 *
+	 * @return {@link #nodeParents}
+	 */
+	public int[] getNodeParents() {
+		return nodeParents;
+	}
+
+	/**
+	 * Gets {@link #nodeSamples}.
+	 *
+	 * @return {@link #nodeSamples}
+	 */
+	public int[] getNodeSamples() {
+		return nodeSamples;
+	}
+
+	/**
+	 * Sets the call tree.
+	 *
+	 * @param frames
+	 *            Frames referenced by the nodes.
+	 * @param nodeFrames
+	 *            Index of the frame for each node.
+	 * @param nodeParents
+	 *            Index of the parent for each node, <code>-1</code> for root nodes. Parent must
+	 *            precede its children.
+	 * @param nodeSamples
+	 *            Number of samples for each node.
+	 */
+	public void setCallTree(List<String> frames, int[] nodeFrames, int[] nodeParents, int[] nodeSamples) {
+		this.frames = frames;
+		this.nodeFrames = nodeFrames;
+		this.nodeParents = nodeParents;
+		this.nodeSamples = nodeSamples;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
+		long size = super.getObjectSize(objectSizes, doAlign);
+		size += objectSizes.getPrimitiveTypesSize(4, 0, 1, 0, 0, 0);
+		size += objectSizes.getSizeOf(frames);
+		for (String frame : frames) {
+			size += objectSizes.getSizeOf(frame);
+		}
+		size += objectSizes.getSizeOfPrimitiveArray(nodeFrames.length, 4) * 3;
+		if (doAlign) {
+			return objectSizes.alignTo8Bytes(size);
+		} else {
+			return size;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = super.hashCode();
+		result = (prime * result) + ((frames == null) ? 0 : frames.hashCode());
+		result = (prime * result) + Arrays.hashCode(nodeFrames);
+		result = (prime * result) + Arrays.hashCode(nodeParents);
+		result = (prime * result) + Arrays.hashCode(nodeSamples);
+		result = (prime * result) + sampleCount;
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!super.equals(obj)) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		SamplingProfilerData other = (SamplingProfilerData) obj;
+		if (frames == null) {
+			if (other.frames != null) {
+				return false;
+			}
+		} else if (!frames.equals(other.frames)) {
+			return false;
+		}
+		if (!Arrays.equals(nodeFrames, other.nodeFrames)) {
+			return false;
+		}
+		if (!Arrays.equals(nodeParents, other.nodeParents)) {
+			return false;
+		}
+		if (!Arrays.equals(nodeSamples, other.nodeSamples)) {
+			return false;
+		}
+		if (sampleCount != other.sampleCount) {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SamplingProfilerData [sampleCount=" + sampleCount + ", nodes=" + nodeFrames.length + ", frames=" + frames.size() + "]";
+	}
+
+}
@@ -25,6 +25,13 @@ public class SqlStatementData extends TimerData {
 	 */
 	private String sql;
 
+	/**
+	 * Id of the {@link #sql} in the SQL statement dictionary of the agent. The agent sends the SQL
+	 * text only with the first statement having the given id, all other statements carry only the
+	 * id and the CMR resolves the text. Value <code>0</code> denotes that no id is available.
+	 */
+	private long sqlId;
+
 	/**
 	 * The URL that the connection uses.
 	 */
@@ -146,6 +153,25 @@ public class SqlStatementData extends TimerData {
 		this.sql = sql;
 	}
 
+	/**
+	 * Gets {@link #sqlId}.
+	 *
+	 * @return {@link #sqlId}
+	 */
+	public long getSqlId() {
+		return sqlId;
+	}
+
+	/**
+	 * Sets {@link #sqlId}.
+	 *
+	 * @param sqlId
+	 *            New value for {@link #sqlId}
+	 */
+	public void setSqlId(long sqlId) {
+		this.sqlId = sqlId;
+	}
+
 	/**
 	 * Gets {@link #preparedStatement}.
 	 *
@@ -334,7 +360,7 @@ public class SqlStatementData extends TimerData {
 	@Override
 	public long getObjectSize(IObjectSizes objectSizes, boolean doAlign) {
 		long size = super.getObjectSize(objectSizes, doAlign);
-		size += objectSizes.getPrimitiveTypesSize(6, 1, 0, 0, 0, 0);
+		size += objectSizes.getPrimitiveTypesSize(6, 1, 0, 0, 1, 0);
 		size += objectSizes.getSizeOf(sql);
 		size += objectSizes.getSizeOf(databaseProductName);
 		size += objectSizes.getSizeOf(databaseProductVersion);
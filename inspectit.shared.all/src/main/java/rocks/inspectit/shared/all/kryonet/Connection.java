@@ -15,6 +15,7 @@ import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryonet.FrameworkMessage;
@@ -57,6 +58,7 @@ public class Connection {
 	private long lastPingSendTime;
 	private int returnTripTime;
 	volatile boolean isConnected;
+	private final AtomicLong tcpBytesSent = new AtomicLong(); // Added by agent
 
 	// Changed by ISE: Added StreamProvider
 	protected Connection(StreamProvider streamProvider) {
@@ -96,6 +98,7 @@ public class Connection {
 		}
 		try {
 			int length = tcp.send(this, object);
+			tcpBytesSent.addAndGet(length); // Added by agent
 			if (length == 0) {
 				if (TRACE) {
 					trace("kryonet", this + " TCP had nothing to send.");
@@ -404,6 +407,11 @@ public class Connection {
 		this.name = name;
 	}
 
+	/** Returns the total number of bytes sent over TCP by this connection. Added by agent. */
+	public long getTcpBytesSent() {
+		return tcpBytesSent.get();
+	}
+
 	/** Returns the number of bytes that are waiting to be written to the TCP socket, if any. */
 	public int getTcpWriteBufferSize() {
 		return tcp.writeBuffer.position();
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
 
@@ -39,6 +40,13 @@ import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 /**
  * Manages TCP and optionally UDP connections from many {@link Client Clients}.
  * <p>
+ * If created with a positive number of selector threads, the server runs in the event-loop mode:
+ * the update thread only accepts connections, handles UDP and keep alive, while the TCP reads and
+ * writes of the accepted connections are spread in round-robin fashion over the selector threads,
+ * each having its own {@link Selector}. A selector thread reads at most
+ * {@link #MAX_OBJECTS_PER_READ} objects from one connection before serving the other ready
+ * connections, so that a client sending many objects does not block the others.
+ * <p>
  * <b>IMPORTANT:</b> The class code is copied/taken/based from
  * <a href="https://github.com/EsotericSoftware/kryonet">kryonet</a>. Original author is Nathan
  * Sweet. License info can be found
@@ -50,6 +58,23 @@ import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 // NOCHKALL
 public class Server implements EndPoint {
 
+	/**
+	 * Max amount of objects read from one connection before other connections of the same selector
+	 * thread are served. Used only in the event-loop mode.
+	 */
+	static final int MAX_OBJECTS_PER_READ = 16; // Added by agent
+
+	/**
+	 * Selector threads of the event-loop mode, empty if all connections are served by the update
+	 * thread.
+	 */
+	private final SelectorLoop[] selectorLoops; // Added by agent
+
+	/**
+	 * Index of the selector loop next connection will be assigned to.
+	 */
+	private int nextSelectorLoop; // Added by agent
+
 	/**
 	 * {@link StreamProvider} needed for the Extended Connection.
 	 */
@@ -61,11 +86,12 @@ public class Server implements EndPoint {
 	private int emptySelects;
 	private ServerSocketChannel serverChannel;
 	private UdpConnection udp;
-	private Connection[] connections = {};
+	private volatile Connection[] connections = {}; // Changed by agent: volatile
 	private IntMap<Connection> pendingConnections = new IntMap();
 	Listener[] listeners = {};
 	private Object listenerLock = new Object();
 	private int nextConnectionID = 1;
+	private final Object connectionsLock = new Object(); // Added by agent
 	private volatile boolean shutdown;
 	private Object updateLock = new Object();
 	private Thread updateThread;
@@ -110,11 +136,33 @@ public class Server implements EndPoint {
 
 	// Added by ISE
 	public Server(IExtendedSerialization serialization, StreamProvider streamProvider) {
-		this(0, serialization.getLengthLength(), serialization, streamProvider);
+		this(serialization, streamProvider, 0);
+	}
+
+	/**
+	 * Creates the server.
+	 *
+	 * @param serialization
+	 *            Serialization.
+	 * @param streamProvider
+	 *            Stream provider.
+	 * @param selectorThreads
+	 *            Number of selector threads serving the TCP connections, zero or negative to serve
+	 *            all connections with the update thread.
+	 */
+	// Added by agent
+	public Server(IExtendedSerialization serialization, StreamProvider streamProvider, int selectorThreads) {
+		this(0, serialization.getLengthLength(), serialization, streamProvider, selectorThreads);
 	}
 
 	// Changed by ISE: added StreamProvider, changed to IExtendedSerialization
 	public Server(int writeBufferSize, int objectBufferSize, IExtendedSerialization serialization, StreamProvider streamProvider) {
+		this(writeBufferSize, objectBufferSize, serialization, streamProvider, 0);
+	}
+
+	// Changed by ISE: added StreamProvider, changed to IExtendedSerialization
+	// Changed by agent: added selector threads
+	public Server(int writeBufferSize, int objectBufferSize, IExtendedSerialization serialization, StreamProvider streamProvider, int selectorThreads) {
 		this.writeBufferSize = writeBufferSize;
 		this.objectBufferSize = objectBufferSize;
 		this.streamProvider = streamProvider; // Added by ISE.
@@ -126,6 +174,12 @@ public class Server implements EndPoint {
 		} catch (IOException ex) {
 			throw new RuntimeException("Error opening selector.", ex);
 		}
+
+		// Added by agent
+		selectorLoops = new SelectorLoop[Math.max(0, selectorThreads)];
+		for (int i = 0; i < selectorLoops.length; i++) {
+			selectorLoops[i] = new SelectorLoop(i);
+		}
 	}
 
 	@Override
@@ -246,53 +300,8 @@ public class Server implements EndPoint {
 						int ops = selectionKey.readyOps();
 
 						if (fromConnection != null) { // Must be a TCP read or write operation.
-							if ((udp != null) && (fromConnection.udpRemoteAddress == null)) {
-								fromConnection.close();
-								continue;
-							}
-							if ((ops & SelectionKey.OP_READ) == SelectionKey.OP_READ) {
-								try {
-									while (true) {
-										Object object = fromConnection.tcp.readObject(fromConnection);
-										if (object == null) {
-											break;
-										}
-										if (DEBUG) {
-											String objectString = object == null ? "null" : object.getClass().getSimpleName();
-											if (!(object instanceof FrameworkMessage)) {
-												debug("kryonet", fromConnection + " received TCP: " + objectString);
-											} else if (TRACE) {
-												trace("kryonet", fromConnection + " received TCP: " + objectString);
-											}
-										}
-										fromConnection.notifyReceived(object);
-									}
-								} catch (IOException ex) {
-									if (TRACE) {
-										trace("kryonet", "Unable to read TCP from: " + fromConnection, ex);
-									} else if (DEBUG) {
-										debug("kryonet", fromConnection + " update: " + ex.getMessage());
-									}
-									fromConnection.close();
-								} catch (KryoNetException ex) {
-									if (ERROR) {
-										error("kryonet", "Error reading TCP from connection: " + fromConnection, ex);
-									}
-									fromConnection.close();
-								}
-							}
-							if ((ops & SelectionKey.OP_WRITE) == SelectionKey.OP_WRITE) {
-								try {
-									fromConnection.tcp.writeOperation();
-								} catch (IOException ex) {
-									if (TRACE) {
-										trace("kryonet", "Unable to write TCP to connection: " + fromConnection, ex);
-									} else if (DEBUG) {
-										debug("kryonet", fromConnection + " update: " + ex.getMessage());
-									}
-									fromConnection.close();
-								}
-							}
+							// Changed by agent: moved to method used by selector loops as well
+							tcpOperation(fromConnection, ops, Integer.MAX_VALUE);
 							continue;
 						}
 
@@ -361,7 +370,10 @@ public class Server implements EndPoint {
 								// Store the fromAddress on the connection and reply over TCP with a
 								// RegisterUDP to indicate success.
 								int fromConnectionID = ((RegisterUDP) object).connectionID;
-								Connection connection = pendingConnections.remove(fromConnectionID);
+								Connection connection;
+								synchronized (connectionsLock) { // Changed by agent: guarded by lock
+									connection = pendingConnections.remove(fromConnectionID);
+								}
 								if (connection != null) {
 									if (connection.udpRemoteAddress != null) {
 										continue outer;
@@ -441,6 +453,68 @@ public class Server implements EndPoint {
 		}
 	}
 
+	/**
+	 * Processes the ready TCP read and write operations of the connection.
+	 *
+	 * @param fromConnection
+	 *            Connection.
+	 * @param ops
+	 *            Ready operations of the connection selection key.
+	 * @param maxObjects
+	 *            Max amount of objects to read.
+	 */
+	// Added by agent: extracted from update(int)
+	private void tcpOperation(Connection fromConnection, int ops, int maxObjects) {
+		UdpConnection udp = this.udp;
+		if ((udp != null) && (fromConnection.udpRemoteAddress == null)) {
+			fromConnection.close();
+			return;
+		}
+		if ((ops & SelectionKey.OP_READ) == SelectionKey.OP_READ) {
+			try {
+				for (int read = 0; read < maxObjects; read++) {
+					Object object = fromConnection.tcp.readObject(fromConnection);
+					if (object == null) {
+						break;
+					}
+					if (DEBUG) {
+						String objectString = object == null ? "null" : object.getClass().getSimpleName();
+						if (!(object instanceof FrameworkMessage)) {
+							debug("kryonet", fromConnection + " received TCP: " + objectString);
+						} else if (TRACE) {
+							trace("kryonet", fromConnection + " received TCP: " + objectString);
+						}
+					}
+					fromConnection.notifyReceived(object);
+				}
+			} catch (IOException ex) {
+				if (TRACE) {
+					trace("kryonet", "Unable to read TCP from: " + fromConnection, ex);
+				} else if (DEBUG) {
+					debug("kryonet", fromConnection + " update: " + ex.getMessage());
+				}
+				fromConnection.close();
+			} catch (KryoNetException ex) {
+				if (ERROR) {
+					error("kryonet", "Error reading TCP from connection: " + fromConnection, ex);
+				}
+				fromConnection.close();
+			}
+		}
+		if ((ops & SelectionKey.OP_WRITE) == SelectionKey.OP_WRITE) {
+			try {
+				fromConnection.tcp.writeOperation();
+			} catch (IOException ex) {
+				if (TRACE) {
+					trace("kryonet", "Unable to write TCP to connection: " + fromConnection, ex);
+				} else if (DEBUG) {
+					debug("kryonet", fromConnection + " update: " + ex.getMessage());
+				}
+				fromConnection.close();
+			}
+		}
+	}
+
 	@Override
 	public void run() {
 		if (TRACE) {
@@ -465,6 +539,10 @@ public class Server implements EndPoint {
 	@Override
 	public void start() {
 		new Thread(this, "Server").start();
+		// Added by agent
+		for (SelectorLoop selectorLoop : selectorLoops) {
+			selectorLoop.start();
+		}
 	}
 
 	@Override
@@ -477,9 +555,25 @@ public class Server implements EndPoint {
 			trace("kryonet", "Server thread stopping.");
 		}
 		shutdown = true;
+		// Added by agent
+		for (SelectorLoop selectorLoop : selectorLoops) {
+			selectorLoop.stop();
+		}
 	}
 
+	// Changed by agent: in event-loop mode passes the channel to the next selector loop
 	private void acceptOperation(SocketChannel socketChannel) {
+		if (selectorLoops.length > 0) {
+			SelectorLoop selectorLoop = selectorLoops[nextSelectorLoop];
+			nextSelectorLoop = (nextSelectorLoop + 1) % selectorLoops.length;
+			selectorLoop.register(socketChannel);
+		} else {
+			acceptOperation(socketChannel, selector);
+		}
+	}
+
+	// Changed by agent: selector as parameter, connection ID and pending connections guarded by lock
+	private void acceptOperation(SocketChannel socketChannel, Selector selector) {
 		Connection connection = newConnection();
 		connection.initialize(serialization, writeBufferSize, objectBufferSize);
 		connection.endPoint = this;
@@ -491,9 +585,12 @@ public class Server implements EndPoint {
 			SelectionKey selectionKey = connection.tcp.accept(selector, socketChannel);
 			selectionKey.attach(connection);
 
-			int id = nextConnectionID++;
-			if (nextConnectionID == -1) {
-				nextConnectionID = 1;
+			int id;
+			synchronized (connectionsLock) {
+				id = nextConnectionID++;
+				if (nextConnectionID == -1) {
+					nextConnectionID = 1;
+				}
 			}
 			connection.id = id;
 			connection.setConnected(true);
@@ -502,7 +599,9 @@ public class Server implements EndPoint {
 			if (udp == null) {
 				addConnection(connection);
 			} else {
-				pendingConnections.put(id, connection);
+				synchronized (connectionsLock) {
+					pendingConnections.put(id, connection);
+				}
 			}
 
 			RegisterTCP registerConnection = new RegisterTCP();
@@ -529,19 +628,25 @@ public class Server implements EndPoint {
 		return new Connection(streamProvider);
 	}
 
+	// Changed by agent: synchronized as connections can be added by several selector loops
 	private void addConnection(Connection connection) {
-		Connection[] newConnections = new Connection[connections.length + 1];
-		newConnections[0] = connection;
-		System.arraycopy(connections, 0, newConnections, 1, connections.length);
-		connections = newConnections;
+		synchronized (connectionsLock) {
+			Connection[] newConnections = new Connection[connections.length + 1];
+			newConnections[0] = connection;
+			System.arraycopy(connections, 0, newConnections, 1, connections.length);
+			connections = newConnections;
+		}
 	}
 
+	// Changed by agent: synchronized as connections can be removed by several selector loops
 	void removeConnection(Connection connection) {
-		ArrayList<Connection> temp = new ArrayList(Arrays.asList(connections));
-		temp.remove(connection);
-		connections = temp.toArray(new Connection[temp.size()]);
+		synchronized (connectionsLock) {
+			ArrayList<Connection> temp = new ArrayList(Arrays.asList(connections));
+			temp.remove(connection);
+			connections = temp.toArray(new Connection[temp.size()]);
 
-		pendingConnections.remove(connection.id);
+			pendingConnections.remove(connection.id);
+		}
 	}
 
 	// BOZO - Provide mechanism for sending to multiple clients without serializing multiple times.
@@ -700,4 +805,115 @@ public class Server implements EndPoint {
 	public Connection[] getConnections() {
 		return connections;
 	}
+
+	/**
+	 * Selector thread of the event-loop mode. Owns a selector to which the accepted socket channels
+	 * are registered and processes the read and write operations of the registered connections.
+	 */
+	// Added by agent
+	private class SelectorLoop implements Runnable {
+
+		/**
+		 * Selector of the loop.
+		 */
+		private final Selector loopSelector;
+
+		/**
+		 * Accepted channels waiting to be registered with the selector. Registration is done in
+		 * the loop thread, as registering to a selector blocks while the selector is selecting.
+		 */
+		private final ConcurrentLinkedQueue<SocketChannel> pendingChannels = new ConcurrentLinkedQueue<SocketChannel>();
+
+		/**
+		 * Name of the thread.
+		 */
+		private final String name;
+
+		/**
+		 * If loop is running.
+		 */
+		private volatile boolean running;
+
+		SelectorLoop(int index) {
+			this.name = "Server-Selector-" + index;
+			try {
+				loopSelector = Selector.open();
+			} catch (IOException ex) {
+				throw new RuntimeException("Error opening selector.", ex);
+			}
+		}
+
+		void start() {
+			running = true;
+			new Thread(this, name).start();
+		}
+
+		void stop() {
+			running = false;
+			loopSelector.wakeup();
+		}
+
+		void register(SocketChannel socketChannel) {
+			pendingChannels.offer(socketChannel);
+			loopSelector.wakeup();
+		}
+
+		@Override
+		public void run() {
+			if (TRACE) {
+				trace("kryonet", name + " thread started.");
+			}
+			while (running) {
+				try {
+					int select = loopSelector.select(250);
+
+					SocketChannel socketChannel;
+					while (null != (socketChannel = pendingChannels.poll())) {
+						acceptOperation(socketChannel, loopSelector);
+					}
+
+					if (select == 0) {
+						continue;
+					}
+
+					Set<SelectionKey> keys = loopSelector.selectedKeys();
+					for (Iterator<SelectionKey> iter = keys.iterator(); iter.hasNext();) {
+						SelectionKey selectionKey = iter.next();
+						iter.remove();
+						Connection fromConnection = (Connection) selectionKey.attachment();
+						if (fromConnection == null) {
+							continue;
+						}
+						try {
+							// only limited amount of objects is read so that every ready connection
+							// gets its turn, rest is read in next select as selector reports the
+							// channel as readable until all data is consumed
+							tcpOperation(fromConnection, selectionKey.readyOps(), MAX_OBJECTS_PER_READ);
+						} catch (CancelledKeyException ex) {
+							fromConnection.close();
+						}
+					}
+				} catch (IOException ex) {
+					if (ERROR) {
+						error("kryonet", "Error updating server connections in " + name + ".", ex);
+					}
+				}
+			}
+
+			SocketChannel socketChannel;
+			while (null != (socketChannel = pendingChannels.poll())) {
+				try {
+					socketChannel.close();
+				} catch (IOException ignored) {
+				}
+			}
+			try {
+				loopSelector.close();
+			} catch (IOException ignored) {
+			}
+			if (TRACE) {
+				trace("kryonet", name + " thread stopped.");
+			}
+		}
+	}
 }
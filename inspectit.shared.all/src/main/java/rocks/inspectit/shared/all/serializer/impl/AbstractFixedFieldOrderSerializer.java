@@ -0,0 +1,377 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationAwareData;
+import rocks.inspectit.shared.all.communication.data.InvocationAwareData.MutableInt;
+import rocks.inspectit.shared.all.communication.data.ParameterContentData;
+import rocks.inspectit.shared.all.serializer.util.KryoSerializationPreferences;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+
+/**
+ * Base class for the serializers of the high volume data types that write the fields in a fixed
+ * order, without field markers, chunking or reflection. Identifiers and counts are written as
+ * variable length numbers, strings, string collections and the span identifiers are written
+ * inline.
+ * <p>
+ * Each object starts with the format version of the serializer, so that the layout can be extended
+ * and the objects written with an older layout can still be read. The objects written with the
+ * {@link CustomCompatibleFieldSerializer} before these serializers were introduced are read by the
+ * old serializers, as they stay registered with the old registration IDs.
+ * <p>
+ * Copying is delegated to the serializer used before for the type, as it already performs the deep
+ * copy of the fields.
+ *
+ * @author agent
+ *
+ * @param <T>
+ *            Type of data.
+ */
+public abstract class AbstractFixedFieldOrderSerializer<T extends MethodSensorData> extends Serializer<T> {
+
+	/**
+	 * Current format version. Version <code>2</code> added the SQL id of the
+	 * {@link rocks.inspectit.shared.all.communication.data.SqlStatementData}.
+	 */
+	public static final int VERSION = 2;
+
+	/**
+	 * Serializer used for copying.
+	 */
+	private final Serializer<T> copySerializer;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public AbstractFixedFieldOrderSerializer(Serializer<T> copySerializer) {
+		this.copySerializer = copySerializer;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(Kryo kryo, Output output, T object) {
+		output.writeInt(VERSION, true);
+		writeFields(kryo, output, object);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T read(Kryo kryo, Input input, Class<T> type) {
+		int version = input.readInt(true);
+		if (version > VERSION) {
+			throw new KryoException("Format version " + version + " of the class " + type.getName() + " is not supported, highest supported version is " + VERSION + ".");
+		}
+		T object = kryo.newInstance(type);
+		kryo.reference(object);
+		readFields(kryo, input, object, version);
+		return object;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T copy(Kryo kryo, T original) {
+		return copySerializer.copy(kryo, original);
+	}
+
+	/**
+	 * Writes the fields of the object. Sub-classes must call the super method before writing their
+	 * own fields.
+	 *
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param output
+	 *            Output to write to.
+	 * @param object
+	 *            Object to write.
+	 */
+	protected void writeFields(Kryo kryo, Output output, T object) {
+		output.writeLong(object.getId(), true);
+		output.writeLong(object.getPlatformIdent(), true);
+		output.writeLong(object.getSensorTypeIdent(), true);
+		writeTimestamp(output, object.getTimeStamp());
+		output.writeLong(object.getMethodIdent(), true);
+		kryo.writeClassAndObject(output, object.getParameterContentData());
+	}
+
+	/**
+	 * Reads the fields written with the {@link #writeFields(Kryo, Output, MethodSensorData)}.
+	 * Sub-classes must call the super method before reading their own fields.
+	 *
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param input
+	 *            Input to read from.
+	 * @param object
+	 *            Object to fill.
+	 * @param version
+	 *            Format version the object was written with.
+	 */
+	@SuppressWarnings("unchecked")
+	protected void readFields(Kryo kryo, Input input, T object, int version) {
+		object.setId(input.readLong(true));
+		object.setPlatformIdent(input.readLong(true));
+		object.setSensorTypeIdent(input.readLong(true));
+		object.setTimeStamp(readTimestamp(input));
+		object.setMethodIdent(input.readLong(true));
+		object.setParameterContentData((Set<ParameterContentData>) kryo.readClassAndObject(input));
+	}
+
+	/**
+	 * Writes the invocation affiliation of the {@link InvocationAwareData}. The affiliation is not
+	 * written if the kryo context holds the
+	 * {@link KryoSerializationPreferences#WRITE_INVOCATION_AFFILIATION_DATA} key with the
+	 * <code>false</code> value.
+	 *
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param output
+	 *            Output to write to.
+	 * @param data
+	 *            Data to write the affiliation for.
+	 */
+	protected void writeInvocationAffiliation(Kryo kryo, Output output, InvocationAwareData data) {
+		Map<Long, MutableInt> invocationsParentsIdMap = data.getInvocationsParentsIdMap();
+		if ((null == invocationsParentsIdMap) || Boolean.FALSE.equals(kryo.getGraphContext().get(KryoSerializationPreferences.WRITE_INVOCATION_AFFILIATION_DATA))) {
+			output.writeInt(0, true);
+			return;
+		}
+
+		output.writeInt(invocationsParentsIdMap.size() + 1, true);
+		for (Entry<Long, MutableInt> entry : invocationsParentsIdMap.entrySet()) {
+			output.writeLong(entry.getKey().longValue(), true);
+			output.writeInt(entry.getValue().getValue(), true);
+		}
+	}
+
+	/**
+	 * Reads the invocation affiliation written with the
+	 * {@link #writeInvocationAffiliation(Kryo, Output, InvocationAwareData)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @param data
+	 *            Data to set the affiliation to.
+	 */
+	protected void readInvocationAffiliation(Input input, InvocationAwareData data) {
+		int size = input.readInt(true) - 1;
+		if (size < 0) {
+			return;
+		}
+
+		Map<Long, MutableInt> invocationsParentsIdMap = new HashMap<Long, MutableInt>(size);
+		for (int i = 0; i < size; i++) {
+			long invocationId = input.readLong(true);
+			invocationsParentsIdMap.put(Long.valueOf(invocationId), new MutableInt(input.readInt(true)));
+		}
+		data.setInvocationsParentsIdMap(invocationsParentsIdMap);
+	}
+
+	/**
+	 * Writes the time stamp that can be <code>null</code>.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param timestamp
+	 *            Time stamp.
+	 */
+	protected void writeTimestamp(Output output, Timestamp timestamp) {
+		if (null == timestamp) {
+			output.writeBoolean(false);
+		} else {
+			output.writeBoolean(true);
+			output.writeLong(timestamp.getTime(), true);
+		}
+	}
+
+	/**
+	 * Reads the time stamp written with the {@link #writeTimestamp(Output, Timestamp)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Time stamp or <code>null</code>.
+	 */
+	protected Timestamp readTimestamp(Input input) {
+		if (input.readBoolean()) {
+			return new Timestamp(input.readLong(true));
+		}
+		return null;
+	}
+
+	/**
+	 * Writes the span ident that can be <code>null</code>. Span and trace IDs are random, thus
+	 * they are written with the fixed length.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param spanIdent
+	 *            Span ident.
+	 */
+	protected void writeSpanIdent(Output output, SpanIdent spanIdent) {
+		if (null == spanIdent) {
+			output.writeBoolean(false);
+		} else {
+			output.writeBoolean(true);
+			output.writeLong(spanIdent.getId());
+			output.writeLong(spanIdent.getTraceId());
+		}
+	}
+
+	/**
+	 * Reads the span ident written with the {@link #writeSpanIdent(Output, SpanIdent)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Span ident or <code>null</code>.
+	 */
+	protected SpanIdent readSpanIdent(Input input) {
+		if (input.readBoolean()) {
+			long id = input.readLong();
+			long traceId = input.readLong();
+			return new SpanIdent(id, traceId);
+		}
+		return null;
+	}
+
+	/**
+	 * Writes the map of strings that can be <code>null</code>.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param map
+	 *            Map to write.
+	 */
+	protected void writeStringMap(Output output, Map<String, String> map) {
+		if (null == map) {
+			output.writeInt(0, true);
+			return;
+		}
+
+		output.writeInt(map.size() + 1, true);
+		for (Entry<String, String> entry : map.entrySet()) {
+			output.writeString(entry.getKey());
+			output.writeString(entry.getValue());
+		}
+	}
+
+	/**
+	 * Reads the map written with the {@link #writeStringMap(Output, Map)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Map or <code>null</code>.
+	 */
+	protected Map<String, String> readStringMap(Input input) {
+		int size = input.readInt(true) - 1;
+		if (size < 0) {
+			return null;
+		}
+
+		Map<String, String> map = new HashMap<String, String>(size);
+		for (int i = 0; i < size; i++) {
+			String key = input.readString();
+			map.put(key, input.readString());
+		}
+		return map;
+	}
+
+	/**
+	 * Writes the list of strings that can be <code>null</code>.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param list
+	 *            List to write.
+	 */
+	protected void writeStringList(Output output, List<String> list) {
+		if (null == list) {
+			output.writeInt(0, true);
+			return;
+		}
+
+		output.writeInt(list.size() + 1, true);
+		for (String string : list) {
+			output.writeString(string);
+		}
+	}
+
+	/**
+	 * Reads the list written with the {@link #writeStringList(Output, List)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return List or <code>null</code>.
+	 */
+	protected List<String> readStringList(Input input) {
+		int size = input.readInt(true) - 1;
+		if (size < 0) {
+			return null;
+		}
+
+		List<String> list = new ArrayList<String>(size);
+		for (int i = 0; i < size; i++) {
+			list.add(input.readString());
+		}
+		return list;
+	}
+
+	/**
+	 * Writes the enumeration constant that can be <code>null</code> as its ordinal.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param value
+	 *            Enumeration constant.
+	 */
+	protected void writeEnum(Output output, Enum<?> value) {
+		if (null == value) {
+			output.writeInt(0, true);
+		} else {
+			output.writeInt(value.ordinal() + 1, true);
+		}
+	}
+
+	/**
+	 * Reads the enumeration constant written with the {@link #writeEnum(Output, Enum)}.
+	 *
+	 * @param <E>
+	 *            Type of enumeration.
+	 * @param input
+	 *            Input to read from.
+	 * @param values
+	 *            All constants of the enumeration.
+	 * @return Enumeration constant or <code>null</code>.
+	 */
+	protected <E extends Enum<E>> E readEnum(Input input, E[] values) {
+		int ordinal = input.readInt(true) - 1;
+		if (ordinal < 0) {
+			return null;
+		}
+		if (ordinal >= values.length) {
+			throw new KryoException("Invalid ordinal " + ordinal + " for the enumeration " + values.getClass().getComponentType().getName() + ".");
+		}
+		return values[ordinal];
+	}
+
+}
@@ -0,0 +1,196 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.sql.Timestamp;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.LoggingData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Serializer for the {@link CompactInvocationSequenceData} that writes the node arrays directly as
+ * variable length primitives. The parent index is written as the distance to the node and the
+ * indexes in the side tables as the distance to the previous index, so that they mostly occupy
+ * only one byte.
+ *
+ * @author agent
+ *
+ */
+public class CompactInvocationSequenceDataSerializer extends Serializer<CompactInvocationSequenceData> {
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(Kryo kryo, Output output, CompactInvocationSequenceData data) {
+		output.writeLong(data.getId(), true);
+		output.writeLong(data.getPlatformIdent(), true);
+		output.writeLong(data.getSensorTypeIdent(), true);
+		kryo.writeObjectOrNull(output, data.getTimeStamp(), Timestamp.class);
+
+		int size = data.getSize();
+		output.writeInt(size, true);
+		long[] methodIdents = data.getMethodIdents();
+		long[] timeStampOffsets = data.getTimeStampOffsets();
+		double[] starts = data.getStarts();
+		double[] ends = data.getEnds();
+		int[] parentIndexes = data.getParentIndexes();
+		for (int i = 0; i < size; i++) {
+			output.writeLong(methodIdents[i], true);
+			output.writeLong(timeStampOffsets[i], false);
+			output.writeDouble(starts[i]);
+			output.writeDouble(ends[i]);
+			output.writeInt(i - parentIndexes[i], true);
+		}
+
+		writeSideTable(kryo, output, data.getTimerDataIndexes(), data.getTimerDatas());
+		writeSideTable(kryo, output, data.getSqlStatementDataIndexes(), data.getSqlStatementDatas());
+		writeSideTable(kryo, output, data.getLoggingDataIndexes(), data.getLoggingDatas());
+		writeSideTable(kryo, output, data.getExceptionSensorDataIndexes(), data.getExceptionSensorDatas());
+
+		int[] spanIdentIndexes = data.getSpanIdentIndexes();
+		long[] spanIds = data.getSpanIds();
+		long[] spanTraceIds = data.getSpanTraceIds();
+		writeIndexes(output, spanIdentIndexes);
+		for (int i = 0; i < spanIdentIndexes.length; i++) {
+			output.writeLong(spanIds[i], false);
+			output.writeLong(spanTraceIds[i], false);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CompactInvocationSequenceData read(Kryo kryo, Input input, Class<CompactInvocationSequenceData> type) {
+		CompactInvocationSequenceData data = new CompactInvocationSequenceData();
+		kryo.reference(data);
+		data.setId(input.readLong(true));
+		data.setPlatformIdent(input.readLong(true));
+		data.setSensorTypeIdent(input.readLong(true));
+		data.setTimeStamp(kryo.readObjectOrNull(input, Timestamp.class));
+
+		int size = input.readInt(true);
+		long[] methodIdents = new long[size];
+		long[] timeStampOffsets = new long[size];
+		double[] starts = new double[size];
+		double[] ends = new double[size];
+		int[] parentIndexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			methodIdents[i] = input.readLong(true);
+			timeStampOffsets[i] = input.readLong(false);
+			starts[i] = input.readDouble();
+			ends[i] = input.readDouble();
+			parentIndexes[i] = i - input.readInt(true);
+		}
+		data.setNodes(methodIdents, timeStampOffsets, starts, ends, parentIndexes);
+
+		int[] timerDataIndexes = readIndexes(input);
+		TimerData[] timerDatas = new TimerData[timerDataIndexes.length];
+		readSideTable(kryo, input, timerDatas);
+		data.setTimerDatas(timerDataIndexes, timerDatas);
+
+		int[] sqlStatementDataIndexes = readIndexes(input);
+		SqlStatementData[] sqlStatementDatas = new SqlStatementData[sqlStatementDataIndexes.length];
+		readSideTable(kryo, input, sqlStatementDatas);
+		data.setSqlStatementDatas(sqlStatementDataIndexes, sqlStatementDatas);
+
+		int[] loggingDataIndexes = readIndexes(input);
+		LoggingData[] loggingDatas = new LoggingData[loggingDataIndexes.length];
+		readSideTable(kryo, input, loggingDatas);
+		data.setLoggingDatas(loggingDataIndexes, loggingDatas);
+
+		int[] exceptionSensorDataIndexes = readIndexes(input);
+		ExceptionSensorData[] exceptionSensorDatas = new ExceptionSensorData[exceptionSensorDataIndexes.length];
+		readSideTable(kryo, input, exceptionSensorDatas);
+		data.setExceptionSensorDatas(exceptionSensorDataIndexes, exceptionSensorDatas);
+
+		int[] spanIdentIndexes = readIndexes(input);
+		long[] spanIds = new long[spanIdentIndexes.length];
+		long[] spanTraceIds = new long[spanIdentIndexes.length];
+		for (int i = 0; i < spanIdentIndexes.length; i++) {
+			spanIds[i] = input.readLong(false);
+			spanTraceIds[i] = input.readLong(false);
+		}
+		data.setSpanIdents(spanIdentIndexes, spanIds, spanTraceIds);
+
+		return data;
+	}
+
+	/**
+	 * Writes the side table. First the indexes are written, then the data objects.
+	 *
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param output
+	 *            Output to write to.
+	 * @param indexes
+	 *            Node indexes.
+	 * @param datas
+	 *            Data objects.
+	 */
+	private void writeSideTable(Kryo kryo, Output output, int[] indexes, DefaultData[] datas) {
+		writeIndexes(output, indexes);
+		for (DefaultData data : datas) {
+			kryo.writeClassAndObject(output, data);
+		}
+	}
+
+	/**
+	 * Reads the data objects of the side table into the given array.
+	 *
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param input
+	 *            Input to read from.
+	 * @param datas
+	 *            Array to fill.
+	 */
+	private void readSideTable(Kryo kryo, Input input, DefaultData[] datas) {
+		for (int i = 0; i < datas.length; i++) {
+			datas[i] = (DefaultData) kryo.readClassAndObject(input);
+		}
+	}
+
+	/**
+	 * Writes the sorted indexes as the length and the distances to the previous index.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param indexes
+	 *            Sorted indexes.
+	 */
+	private void writeIndexes(Output output, int[] indexes) {
+		output.writeInt(indexes.length, true);
+		int previous = 0;
+		for (int index : indexes) {
+			output.writeInt(index - previous, true);
+			previous = index;
+		}
+	}
+
+	/**
+	 * Reads the indexes written with {@link #writeIndexes(Output, int[])}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Indexes.
+	 */
+	private int[] readIndexes(Input input) {
+		int[] indexes = new int[input.readInt(true)];
+		int previous = 0;
+		for (int i = 0; i < indexes.length; i++) {
+			previous += input.readInt(true);
+			indexes[i] = previous;
+		}
+		return indexes;
+	}
+
+}
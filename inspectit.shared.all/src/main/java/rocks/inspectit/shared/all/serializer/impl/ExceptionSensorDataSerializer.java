@@ -0,0 +1,69 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.ExceptionEvent;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+
+/**
+ * Fixed field order serializer for the {@link ExceptionSensorData}. Next to the fields known to the
+ * schema, the stack trace fingerprint is written as well.
+ *
+ * @author agent
+ *
+ */
+public class ExceptionSensorDataSerializer extends AbstractFixedFieldOrderSerializer<ExceptionSensorData> {
+
+	/**
+	 * All exception events.
+	 */
+	private static final ExceptionEvent[] EXCEPTION_EVENTS = ExceptionEvent.values();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public ExceptionSensorDataSerializer(Serializer<ExceptionSensorData> copySerializer) {
+		super(copySerializer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void writeFields(Kryo kryo, Output output, ExceptionSensorData object) {
+		super.writeFields(kryo, output, object);
+		writeInvocationAffiliation(kryo, output, object);
+		output.writeString(object.getErrorMessage());
+		output.writeString(object.getCause());
+		output.writeString(object.getStackTrace());
+		writeEnum(output, object.getExceptionEvent());
+		output.writeString(object.getThrowableType());
+		kryo.writeClassAndObject(output, object.getChild());
+		output.writeLong(object.getThrowableIdentityHashCode(), true);
+		output.writeLong(object.getStackTraceFingerprint());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void readFields(Kryo kryo, Input input, ExceptionSensorData object, int version) {
+		super.readFields(kryo, input, object, version);
+		readInvocationAffiliation(input, object);
+		object.setErrorMessage(input.readString());
+		object.setCause(input.readString());
+		object.setStackTrace(input.readString());
+		object.setExceptionEvent(readEnum(input, EXCEPTION_EVENTS));
+		object.setThrowableType(input.readString());
+		object.setChild((ExceptionSensorData) kryo.readClassAndObject(input));
+		object.setThrowableIdentityHashCode(input.readLong(true));
+		object.setStackTraceFingerprint(input.readLong());
+	}
+
+}
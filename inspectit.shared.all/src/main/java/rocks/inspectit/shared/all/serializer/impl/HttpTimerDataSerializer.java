@@ -0,0 +1,177 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.HttpInfo;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+
+/**
+ * Fixed field order serializer for the {@link HttpTimerData}. The maps and the {@link HttpInfo}
+ * are written inline.
+ *
+ * @author agent
+ *
+ */
+public class HttpTimerDataSerializer extends TimerDataSerializer<HttpTimerData> {
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public HttpTimerDataSerializer(Serializer<HttpTimerData> copySerializer) {
+		super(copySerializer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void writeFields(Kryo kryo, Output output, HttpTimerData object) {
+		super.writeFields(kryo, output, object);
+		writeParameters(output, object.getParameters());
+		writeStringMap(output, object.getAttributes());
+		writeStringMap(output, object.getHeaders());
+		writeStringMap(output, object.getSessionAttributes());
+		writeHttpInfo(output, object.getHttpInfo());
+		output.writeInt(object.getHttpResponseStatus(), true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void readFields(Kryo kryo, Input input, HttpTimerData object, int version) {
+		super.readFields(kryo, input, object, version);
+		object.setParameters(readParameters(input));
+		object.setAttributes(readStringMap(input));
+		object.setHeaders(readStringMap(input));
+		object.setSessionAttributes(readStringMap(input));
+		object.setHttpInfo(readHttpInfo(input));
+		object.setHttpResponseStatus(input.readInt(true));
+	}
+
+	/**
+	 * Writes the request parameters that can be <code>null</code>.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param parameters
+	 *            Request parameters.
+	 */
+	private void writeParameters(Output output, Map<String, String[]> parameters) {
+		if (null == parameters) {
+			output.writeInt(0, true);
+			return;
+		}
+
+		output.writeInt(parameters.size() + 1, true);
+		for (Entry<String, String[]> entry : parameters.entrySet()) {
+			output.writeString(entry.getKey());
+			String[] values = entry.getValue();
+			if (null == values) {
+				output.writeInt(0, true);
+			} else {
+				output.writeInt(values.length + 1, true);
+				for (String value : values) {
+					output.writeString(value);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the request parameters written with the {@link #writeParameters(Output, Map)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Request parameters or <code>null</code>.
+	 */
+	private Map<String, String[]> readParameters(Input input) {
+		int size = input.readInt(true) - 1;
+		if (size < 0) {
+			return null;
+		}
+
+		Map<String, String[]> parameters = new HashMap<String, String[]>(size);
+		for (int i = 0; i < size; i++) {
+			String key = input.readString();
+			int length = input.readInt(true) - 1;
+			String[] values = null;
+			if (length >= 0) {
+				values = new String[length];
+				for (int j = 0; j < length; j++) {
+					values[j] = input.readString();
+				}
+			}
+			parameters.put(key, values);
+		}
+		return parameters;
+	}
+
+	/**
+	 * Writes the {@link HttpInfo} that can be <code>null</code>.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param httpInfo
+	 *            Http info.
+	 */
+	private void writeHttpInfo(Output output, HttpInfo httpInfo) {
+		if (null == httpInfo) {
+			output.writeBoolean(false);
+			return;
+		}
+
+		output.writeBoolean(true);
+		output.writeLong(httpInfo.getId(), true);
+		output.writeString(httpInfo.getUri());
+		output.writeString(httpInfo.getRequestMethod());
+		output.writeString(httpInfo.getInspectItTaggingHeaderValue());
+		output.writeString(httpInfo.getScheme());
+		output.writeString(httpInfo.getServerName());
+		Integer serverPort = httpInfo.getServerPort();
+		if (null == serverPort) {
+			output.writeBoolean(false);
+		} else {
+			output.writeBoolean(true);
+			output.writeInt(serverPort.intValue(), true);
+		}
+		output.writeString(httpInfo.getQueryString());
+	}
+
+	/**
+	 * Reads the {@link HttpInfo} written with the {@link #writeHttpInfo(Output, HttpInfo)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Http info or <code>null</code>.
+	 */
+	private HttpInfo readHttpInfo(Input input) {
+		if (!input.readBoolean()) {
+			return null;
+		}
+
+		HttpInfo httpInfo = new HttpInfo();
+		httpInfo.setId(input.readLong(true));
+		httpInfo.setUri(input.readString());
+		httpInfo.setRequestMethod(input.readString());
+		httpInfo.setInspectItTaggingHeaderValue(input.readString());
+		httpInfo.setScheme(input.readString());
+		httpInfo.setServerName(input.readString());
+		if (input.readBoolean()) {
+			httpInfo.setServerPort(Integer.valueOf(input.readInt(true)));
+		}
+		httpInfo.setQueryString(input.readString());
+		return httpInfo;
+	}
+
+}
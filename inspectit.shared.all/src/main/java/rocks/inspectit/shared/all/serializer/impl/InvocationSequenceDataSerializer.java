@@ -0,0 +1,158 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
+import rocks.inspectit.shared.all.communication.data.LoggingData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Fixed field order serializer for the {@link InvocationSequenceData}. The nested sequences are
+ * written inline without the class information and connected to their parent during the
+ * de-serialization, same as the {@link InvocationSequenceCustomCompatibleFieldSerializer} does.
+ *
+ * @author agent
+ *
+ */
+public class InvocationSequenceDataSerializer extends AbstractFixedFieldOrderSerializer<InvocationSequenceData> {
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public InvocationSequenceDataSerializer(Serializer<InvocationSequenceData> copySerializer) {
+		super(copySerializer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void writeFields(Kryo kryo, Output output, InvocationSequenceData object) {
+		super.writeFields(kryo, output, object);
+
+		List<InvocationSequenceData> nestedSequences = object.getNestedSequences();
+		if (null == nestedSequences) {
+			output.writeInt(0, true);
+		} else {
+			output.writeInt(nestedSequences.size() + 1, true);
+			for (InvocationSequenceData nestedSequence : nestedSequences) {
+				writeFields(kryo, output, nestedSequence);
+			}
+		}
+
+		kryo.writeClassAndObject(output, object.getTimerData());
+		kryo.writeClassAndObject(output, object.getSqlStatementData());
+		List<ExceptionSensorData> exceptionSensorDataObjects = object.getExceptionSensorDataObjects();
+		if (null == exceptionSensorDataObjects) {
+			output.writeInt(0, true);
+		} else {
+			output.writeInt(exceptionSensorDataObjects.size() + 1, true);
+			for (ExceptionSensorData exceptionSensorData : exceptionSensorDataObjects) {
+				kryo.writeClassAndObject(output, exceptionSensorData);
+			}
+		}
+		output.writeLong(object.getPosition(), true);
+		output.writeDouble(object.getDuration());
+		output.writeDouble(object.getStart());
+		output.writeDouble(object.getEnd());
+		output.writeLong(object.getChildCount(), true);
+		writeBoolean(output, object.isNestedSqlStatements());
+		writeBoolean(output, object.isNestedExceptions());
+		kryo.writeClassAndObject(output, object.getLoggingData());
+		output.writeInt(object.getApplicationId(), true);
+		output.writeInt(object.getBusinessTransactionId(), true);
+		writeSpanIdent(output, object.getSpanIdent());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void readFields(Kryo kryo, Input input, InvocationSequenceData object, int version) {
+		super.readFields(kryo, input, object, version);
+
+		int nestedSize = input.readInt(true) - 1;
+		if (nestedSize < 0) {
+			object.setNestedSequences(null);
+		} else {
+			List<InvocationSequenceData> nestedSequences = new ArrayList<InvocationSequenceData>(nestedSize);
+			for (int i = 0; i < nestedSize; i++) {
+				InvocationSequenceData nestedSequence = new InvocationSequenceData();
+				readFields(kryo, input, nestedSequence, version);
+				nestedSequence.setParentSequence(object);
+				nestedSequences.add(nestedSequence);
+			}
+			object.setNestedSequences(nestedSequences);
+		}
+
+		object.setTimerData((TimerData) kryo.readClassAndObject(input));
+		object.setSqlStatementData((SqlStatementData) kryo.readClassAndObject(input));
+		int exceptionsSize = input.readInt(true) - 1;
+		if (exceptionsSize >= 0) {
+			List<ExceptionSensorData> exceptionSensorDataObjects = new ArrayList<ExceptionSensorData>(exceptionsSize);
+			for (int i = 0; i < exceptionsSize; i++) {
+				exceptionSensorDataObjects.add((ExceptionSensorData) kryo.readClassAndObject(input));
+			}
+			object.setExceptionSensorDataObjects(exceptionSensorDataObjects);
+		}
+		object.setPosition(input.readLong(true));
+		object.setDuration(input.readDouble());
+		object.setStart(input.readDouble());
+		object.setEnd(input.readDouble());
+		object.setChildCount(input.readLong(true));
+		object.setNestedSqlStatements(readBoolean(input));
+		object.setNestedExceptions(readBoolean(input));
+		object.setLoggingData((LoggingData) kryo.readClassAndObject(input));
+		object.setApplicationId(input.readInt(true));
+		object.setBusinessTransactionId(input.readInt(true));
+		object.setSpanIdent(readSpanIdent(input));
+	}
+
+	/**
+	 * Writes the {@link Boolean} that can be <code>null</code>.
+	 *
+	 * @param output
+	 *            Output to write to.
+	 * @param value
+	 *            Value.
+	 */
+	private void writeBoolean(Output output, Boolean value) {
+		if (null == value) {
+			output.writeByte(0);
+		} else if (value.booleanValue()) {
+			output.writeByte(2);
+		} else {
+			output.writeByte(1);
+		}
+	}
+
+	/**
+	 * Reads the {@link Boolean} written with the {@link #writeBoolean(Output, Boolean)}.
+	 *
+	 * @param input
+	 *            Input to read from.
+	 * @return Value or <code>null</code>.
+	 */
+	private Boolean readBoolean(Input input) {
+		switch (input.readByte()) {
+		case 1:
+			return Boolean.FALSE;
+		case 2:
+			return Boolean.TRUE;
+		default:
+			return null; // NOPMD
+		}
+	}
+
+}
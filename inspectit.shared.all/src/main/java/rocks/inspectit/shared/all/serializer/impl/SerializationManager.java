@@ -30,9 +30,11 @@ import org.springframework.stereotype.Component;
 import com.esotericsoftware.kryo.ClassResolver;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.ReferenceResolver;
+import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.serializers.CollectionSerializer;
+import com.esotericsoftware.kryo.serializers.DefaultArraySerializers.IntArraySerializer;
 import com.esotericsoftware.kryo.serializers.DefaultArraySerializers.LongArraySerializer;
 import com.esotericsoftware.kryo.serializers.DefaultSerializers.ClassSerializer;
 import com.esotericsoftware.kryo.serializers.DefaultSerializers.DateSerializer;
@@ -55,11 +57,13 @@ import rocks.inspectit.shared.all.cmr.model.PlatformSensorTypeIdent;
 import rocks.inspectit.shared.all.cmr.model.SensorTypeIdent;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.ExceptionEvent;
+import rocks.inspectit.shared.all.communication.data.AgentTelemetryData;
 import rocks.inspectit.shared.all.communication.data.AggregatedExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.AggregatedHttpTimerData;
 import rocks.inspectit.shared.all.communication.data.AggregatedSqlStatementData;
 import rocks.inspectit.shared.all.communication.data.AggregatedTimerData;
 import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
 import rocks.inspectit.shared.all.communication.data.CompilationInformationData;
 import rocks.inspectit.shared.all.communication.data.CpuInformationData;
 import rocks.inspectit.shared.all.communication.data.DatabaseAggregatedTimerData;
@@ -74,6 +78,7 @@ import rocks.inspectit.shared.all.communication.data.MemoryInformationData;
 import rocks.inspectit.shared.all.communication.data.ParameterContentData;
 import rocks.inspectit.shared.all.communication.data.ParameterContentType;
 import rocks.inspectit.shared.all.communication.data.RuntimeInformationData;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
 import rocks.inspectit.shared.all.communication.data.SqlStatementData;
 import rocks.inspectit.shared.all.communication.data.SystemInformationData;
 import rocks.inspectit.shared.all.communication.data.ThreadInformationData;
@@ -434,6 +439,43 @@ public class SerializationManager implements ISerializer, IKryoProvider, Initial
 		// ADDED with INSPECT-2528
 		kryo.register(JSDomEvent.class, new FieldSerializer<JSDomEvent>(kryo, JSDomEvent.class), nextRegistrationId++);
 		kryo.register(AgentEumDomEventSelector.class, new FieldSerializer<AgentEumDomEventSelector>(kryo, AgentEumDomEventSelector.class), nextRegistrationId++);
+
+		// compact invocation sequences
+		kryo.register(CompactInvocationSequenceData.class, new CompactInvocationSequenceDataSerializer(), nextRegistrationId++);
+
+		// sampling profiler
+		kryo.register(int[].class, new IntArraySerializer(), nextRegistrationId++);
+		kryo.register(SamplingProfilerData.class, new CustomCompatibleFieldSerializer<SamplingProfilerData>(kryo, SamplingProfilerData.class, schemaManager), nextRegistrationId++);
+
+		// agent telemetry
+		kryo.register(AgentTelemetryData.class, new CustomCompatibleFieldSerializer<AgentTelemetryData>(kryo, AgentTelemetryData.class, schemaManager), nextRegistrationId++);
+
+		// fixed field order serializers for the high volume data
+		// registered with new IDs, the data written with the old IDs is still read by the serializers
+		// registered above, these are also used for copying
+		kryo.register(TimerData.class, new TimerDataSerializer<TimerData>(getSerializer(kryo, TimerData.class)), nextRegistrationId++);
+		kryo.register(HttpTimerData.class, new HttpTimerDataSerializer(getSerializer(kryo, HttpTimerData.class)), nextRegistrationId++);
+		kryo.register(SqlStatementData.class, new SqlStatementDataSerializer(getSerializer(kryo, SqlStatementData.class)), nextRegistrationId++);
+		kryo.register(ExceptionSensorData.class, new ExceptionSensorDataSerializer(getSerializer(kryo, ExceptionSensorData.class)), nextRegistrationId++);
+		kryo.register(InvocationSequenceData.class, new InvocationSequenceDataSerializer(getSerializer(kryo, InvocationSequenceData.class)), nextRegistrationId++);
+		kryo.register(ClientSpan.class, new SpanSerializer<ClientSpan>(getSerializer(kryo, ClientSpan.class)), nextRegistrationId++);
+		kryo.register(ServerSpan.class, new SpanSerializer<ServerSpan>(getSerializer(kryo, ServerSpan.class)), nextRegistrationId++);
+	}
+
+	/**
+	 * Returns the serializer currently registered for the given class.
+	 *
+	 * @param <T>
+	 *            Type of class.
+	 * @param kryo
+	 *            Kryo instance.
+	 * @param type
+	 *            Registered class.
+	 * @return Registered serializer.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Serializer<T> getSerializer(Kryo kryo, Class<T> type) {
+		return kryo.getRegistration(type).getSerializer();
 	}
 
 	/**
@@ -0,0 +1,69 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import java.util.Map;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.tracing.data.AbstractSpan;
+import rocks.inspectit.shared.all.tracing.data.PropagationType;
+
+/**
+ * Fixed field order serializer for the spans. The span ident and the tags are written inline.
+ *
+ * @author agent
+ *
+ * @param <T>
+ *            Type of span.
+ */
+public class SpanSerializer<T extends AbstractSpan> extends AbstractFixedFieldOrderSerializer<T> {
+
+	/**
+	 * All propagation types.
+	 */
+	private static final PropagationType[] PROPAGATION_TYPES = PropagationType.values();
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public SpanSerializer(Serializer<T> copySerializer) {
+		super(copySerializer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void writeFields(Kryo kryo, Output output, T object) {
+		super.writeFields(kryo, output, object);
+		writeSpanIdent(output, object.getSpanIdent());
+		output.writeDouble(object.getDuration());
+		writeEnum(output, object.getPropagationType());
+		output.writeString(object.getReferenceType());
+		writeStringMap(output, object.getTags());
+		output.writeLong(object.getParentSpanId());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void readFields(Kryo kryo, Input input, T object, int version) {
+		super.readFields(kryo, input, object, version);
+		object.setSpanIdent(readSpanIdent(input));
+		object.setDuration(input.readDouble());
+		object.setPropagationType(readEnum(input, PROPAGATION_TYPES));
+		object.setReferenceType(input.readString());
+		Map<String, String> tags = readStringMap(input);
+		if ((null != tags) && !tags.isEmpty()) {
+			object.addAllTags(tags);
+		}
+		object.setParentSpanId(input.readLong());
+	}
+
+}
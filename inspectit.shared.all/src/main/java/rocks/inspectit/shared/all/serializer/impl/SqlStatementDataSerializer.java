@@ -0,0 +1,60 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+
+/**
+ * Fixed field order serializer for the {@link SqlStatementData}.
+ *
+ * @author agent
+ *
+ */
+public class SqlStatementDataSerializer extends TimerDataSerializer<SqlStatementData> {
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public SqlStatementDataSerializer(Serializer<SqlStatementData> copySerializer) {
+		super(copySerializer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void writeFields(Kryo kryo, Output output, SqlStatementData object) {
+		super.writeFields(kryo, output, object);
+		output.writeString(object.getSql());
+		output.writeBoolean(object.isPreparedStatement());
+		writeStringList(output, object.getParameterValues());
+		output.writeString(object.getDatabaseUrl());
+		output.writeString(object.getDatabaseProductName());
+		output.writeString(object.getDatabaseProductVersion());
+		output.writeLong(object.getSqlId(), true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void readFields(Kryo kryo, Input input, SqlStatementData object, int version) {
+		super.readFields(kryo, input, object, version);
+		object.setSql(input.readString());
+		object.setPreparedStatement(input.readBoolean());
+		object.setParameterValues(readStringList(input));
+		object.setDatabaseUrl(input.readString());
+		object.setDatabaseProductName(input.readString());
+		object.setDatabaseProductVersion(input.readString());
+		if (version >= 2) {
+			object.setSqlId(input.readLong(true));
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package rocks.inspectit.shared.all.serializer.impl;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Fixed field order serializer for the {@link TimerData}. Can be extended for the sub-classes of
+ * the timer data.
+ *
+ * @author agent
+ *
+ * @param <T>
+ *            Type of timer data.
+ */
+public class TimerDataSerializer<T extends TimerData> extends AbstractFixedFieldOrderSerializer<T> {
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param copySerializer
+	 *            Serializer used for copying.
+	 */
+	public TimerDataSerializer(Serializer<T> copySerializer) {
+		super(copySerializer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void writeFields(Kryo kryo, Output output, T object) {
+		super.writeFields(kryo, output, object);
+		writeInvocationAffiliation(kryo, output, object);
+		output.writeDouble(object.getMin());
+		output.writeDouble(object.getMax());
+		output.writeLong(object.getCount(), true);
+		output.writeDouble(object.getDuration());
+		output.writeDouble(object.getVariance());
+		output.writeDouble(object.getCpuMin());
+		output.writeDouble(object.getCpuMax());
+		output.writeDouble(object.getCpuDuration());
+		output.writeLong(object.getExclusiveCount(), true);
+		output.writeDouble(object.getExclusiveDuration());
+		output.writeDouble(object.getExclusiveMax());
+		output.writeDouble(object.getExclusiveMin());
+		output.writeBoolean(object.isCharting());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The minimum and maximum values are set with the calculate methods, on a new instance they
+	 * take over the given value.
+	 */
+	@Override
+	protected void readFields(Kryo kryo, Input input, T object, int version) {
+		super.readFields(kryo, input, object, version);
+		readInvocationAffiliation(input, object);
+		object.calculateMin(input.readDouble());
+		object.calculateMax(input.readDouble());
+		object.setCount(input.readLong(true));
+		object.setDuration(input.readDouble());
+		object.setVariance(input.readDouble());
+		object.calculateCpuMin(input.readDouble());
+		object.calculateCpuMax(input.readDouble());
+		object.setCpuDuration(input.readDouble());
+		object.setExclusiveCount(input.readLong(true));
+		object.setExclusiveDuration(input.readDouble());
+		object.calculateExclusiveMax(input.readDouble());
+		object.calculateExclusiveMin(input.readDouble());
+		object.setCharting(input.readBoolean());
+	}
+
+}
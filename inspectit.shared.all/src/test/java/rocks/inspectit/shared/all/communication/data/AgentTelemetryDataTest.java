@@ -0,0 +1,58 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the histogram helpers of the {@link AgentTelemetryData}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class AgentTelemetryDataTest {
+
+	/**
+	 * Tests that values are put to the logarithmic buckets.
+	 */
+	@Test
+	public void histogramBucket() {
+		assertThat(AgentTelemetryData.getHistogramBucket(0), is(0));
+		assertThat(AgentTelemetryData.getHistogramBucket(1), is(1));
+		assertThat(AgentTelemetryData.getHistogramBucket(2), is(2));
+		assertThat(AgentTelemetryData.getHistogramBucket(3), is(2));
+		assertThat(AgentTelemetryData.getHistogramBucket(4), is(3));
+		assertThat(AgentTelemetryData.getHistogramBucket(1000), is(10));
+		assertThat(AgentTelemetryData.getHistogramBucket(Long.MAX_VALUE), is(AgentTelemetryData.HISTOGRAM_BUCKETS - 1));
+	}
+
+	/**
+	 * Tests that the percentile returns the upper bound of the bucket.
+	 */
+	@Test
+	public void histogramPercentile() {
+		long[] histogram = new long[AgentTelemetryData.HISTOGRAM_BUCKETS];
+		// 98 values in 2-3, 2 values in 512-1023
+		histogram[2] = 98;
+		histogram[10] = 2;
+
+		assertThat(AgentTelemetryData.getHistogramPercentile(histogram, 0.5d), is(3L));
+		assertThat(AgentTelemetryData.getHistogramPercentile(histogram, 0.98d), is(3L));
+		assertThat(AgentTelemetryData.getHistogramPercentile(histogram, 0.99d), is(1023L));
+	}
+
+	/**
+	 * Tests the percentile of the empty histogram and of the last bucket.
+	 */
+	@Test
+	public void histogramPercentileBounds() {
+		long[] histogram = new long[AgentTelemetryData.HISTOGRAM_BUCKETS];
+
+		assertThat(AgentTelemetryData.getHistogramPercentile(histogram, 0.99d), is(0L));
+
+		histogram[AgentTelemetryData.HISTOGRAM_BUCKETS - 1] = 1;
+		assertThat(AgentTelemetryData.getHistogramPercentile(histogram, 0.99d), is(1L << (AgentTelemetryData.HISTOGRAM_BUCKETS - 2)));
+	}
+}
@@ -0,0 +1,142 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.sql.Timestamp;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
+
+/**
+ * Tests the {@link CompactInvocationSequenceData}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class CompactInvocationSequenceDataTest {
+
+	/**
+	 * Tests that the structure of the tree is kept in the pre-order.
+	 */
+	@Test
+	public void compactStructure() {
+		InvocationSequenceData root = createNode(null, 1L);
+		InvocationSequenceData first = createNode(root, 2L);
+		createNode(first, 3L);
+		createNode(root, 4L);
+
+		CompactInvocationSequenceData compact = CompactInvocationSequenceData.compact(root);
+
+		assertThat(compact.getSize(), is(4));
+		assertThat(compact.getMethodIdents(), is(equalTo(new long[] { 1L, 2L, 3L, 4L })));
+		assertThat(compact.getParentIndexes(), is(equalTo(new int[] { -1, 0, 1, 0 })));
+	}
+
+	/**
+	 * Tests that expanding the compact data creates the same tree with correct child counts.
+	 */
+	@Test
+	public void expandStructure() {
+		InvocationSequenceData root = createNode(null, 1L);
+		root.setId(10L);
+		InvocationSequenceData first = createNode(root, 2L);
+		createNode(first, 3L);
+		createNode(root, 4L);
+
+		InvocationSequenceData expanded = CompactInvocationSequenceData.compact(root).expand();
+
+		assertThat(expanded.getId(), is(10L));
+		assertThat(expanded.getParentSequence(), is(nullValue()));
+		assertThat(expanded.getChildCount(), is(3L));
+		assertThat(expanded.getTimeStamp(), is(equalTo(root.getTimeStamp())));
+		assertThat(expanded.getStart(), is(root.getStart()));
+		assertThat(expanded.getEnd(), is(root.getEnd()));
+		assertThat(expanded.getDuration(), is(root.getEnd() - root.getStart()));
+		assertThat(expanded.getNestedSequences().size(), is(2));
+		InvocationSequenceData expandedFirst = expanded.getNestedSequences().get(0);
+		assertThat(expandedFirst.getMethodIdent(), is(2L));
+		assertThat(expandedFirst.getChildCount(), is(1L));
+		assertThat(expandedFirst.getParentSequence(), is(sameInstance(expanded)));
+		assertThat(expandedFirst.getTimeStamp(), is(equalTo(first.getTimeStamp())));
+		InvocationSequenceData expandedThird = expandedFirst.getNestedSequences().get(0);
+		assertThat(expandedThird.getMethodIdent(), is(3L));
+		assertThat(expandedThird.getChildCount(), is(0L));
+		assertThat(expandedThird.getNestedSequences(), is(empty()));
+		InvocationSequenceData expandedFourth = expanded.getNestedSequences().get(1);
+		assertThat(expandedFourth.getMethodIdent(), is(4L));
+		assertThat(expandedFourth.getParentSequence(), is(sameInstance(expanded)));
+	}
+
+	/**
+	 * Tests that the data of the side tables is assigned to the correct nodes.
+	 */
+	@Test
+	public void expandSideTables() {
+		InvocationSequenceData root = createNode(null, 1L);
+		InvocationSequenceData first = createNode(root, 2L);
+		InvocationSequenceData second = createNode(root, 3L);
+		TimerData timerData = new TimerData();
+		first.setTimerData(timerData);
+		SqlStatementData sqlStatementData = new SqlStatementData();
+		second.setSqlStatementData(sqlStatementData);
+		LoggingData loggingData = new LoggingData();
+		root.setLoggingData(loggingData);
+		ExceptionSensorData exception1 = new ExceptionSensorData();
+		ExceptionSensorData exception2 = new ExceptionSensorData();
+		second.addExceptionSensorData(exception1);
+		second.addExceptionSensorData(exception2);
+		first.setSpanIdent(new SpanIdent(5L, 6L));
+
+		CompactInvocationSequenceData compact = CompactInvocationSequenceData.compact(root);
+		InvocationSequenceData expanded = compact.expand();
+
+		assertThat(compact.getExceptionSensorDataIndexes(), is(equalTo(new int[] { 2, 2 })));
+		InvocationSequenceData expandedFirst = expanded.getNestedSequences().get(0);
+		InvocationSequenceData expandedSecond = expanded.getNestedSequences().get(1);
+		assertThat(expanded.getLoggingData(), is(sameInstance(loggingData)));
+		assertThat(expanded.getTimerData(), is(nullValue()));
+		assertThat(expandedFirst.getTimerData(), is(sameInstance(timerData)));
+		assertThat(expandedFirst.getSpanIdent().getId(), is(5L));
+		assertThat(expandedFirst.getSpanIdent().getTraceId(), is(6L));
+		assertThat(expandedSecond.getSqlStatementData(), is(sameInstance(sqlStatementData)));
+		assertThat(expandedSecond.getExceptionSensorDataObjects(), contains(exception1, exception2));
+		assertThat(expandedSecond.getSpanIdent(), is(nullValue()));
+	}
+
+	/**
+	 * Tests that a deep tree does not cause stack overflow.
+	 */
+	@Test
+	public void deepTree() {
+		InvocationSequenceData root = createNode(null, 0L);
+		InvocationSequenceData previous = root;
+		for (int i = 1; i < 100000; i++) {
+			previous = createNode(previous, i);
+		}
+
+		CompactInvocationSequenceData compact = CompactInvocationSequenceData.compact(root);
+
+		assertThat(compact.getSize(), is(100000));
+		assertThat(compact.expand().getChildCount(), is(99999L));
+	}
+
+	private InvocationSequenceData createNode(InvocationSequenceData parent, long methodIdent) {
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis() + methodIdent);
+		InvocationSequenceData node = new InvocationSequenceData(timestamp, 1L, 2L, methodIdent);
+		node.setStart(methodIdent);
+		node.setEnd(methodIdent * 2);
+		if (null != parent) {
+			node.setParentSequence(parent);
+			parent.getNestedSequences().add(node);
+		}
+		return node;
+	}
+}
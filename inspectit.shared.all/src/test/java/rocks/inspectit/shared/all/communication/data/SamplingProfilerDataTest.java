@@ -0,0 +1,87 @@
+package rocks.inspectit.shared.all.communication.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link SamplingProfilerData}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class SamplingProfilerDataTest {
+
+	/**
+	 * Tests that the folded stacks contain only the self samples of each path.
+	 */
+	@Test
+	public void foldedStacks() {
+		// a(4) -> b(3) -> c(1), a -> d(1)
+		SamplingProfilerData data = create(4, new String[] { "a", "b", "c", "d" }, new int[] { 0, 1, 2, 3 }, new int[] { -1, 0, 1, 0 }, new int[] { 4, 3, 1, 1 });
+
+		Map<String, Integer> foldedStacks = data.getFoldedStacks();
+
+		assertThat(foldedStacks.size(), is(3));
+		assertThat(foldedStacks, hasEntry("a;b", 2));
+		assertThat(foldedStacks, hasEntry("a;b;c", 1));
+		assertThat(foldedStacks, hasEntry("a;d", 1));
+		assertThat(data.getSelfSamples(0), is(0));
+		assertThat(data.getSelfSamples(1), is(2));
+	}
+
+	/**
+	 * Tests that the same paths are merged and new paths are added when aggregating.
+	 */
+	@Test
+	public void aggregate() {
+		// a(2) -> b(2)
+		SamplingProfilerData data = create(2, new String[] { "a", "b" }, new int[] { 0, 1 }, new int[] { -1, 0 }, new int[] { 2, 2 });
+		// b(1) and a(3) -> c(1) with different frame table order
+		SamplingProfilerData other = create(3, new String[] { "c", "a", "b" }, new int[] { 2, 1, 0 }, new int[] { -1, -1, 1 }, new int[] { 1, 3, 1 });
+
+		data.aggregate(other);
+
+		assertThat(data.getSampleCount(), is(5));
+		assertThat(data.getFrames(), contains("a", "b", "c"));
+		assertThat(data.getNodeCount(), is(4));
+		Map<String, Integer> foldedStacks = data.getFoldedStacks();
+		assertThat(foldedStacks.size(), is(4));
+		assertThat(foldedStacks, hasEntry("a", 2));
+		assertThat(foldedStacks, hasEntry("a;b", 2));
+		assertThat(foldedStacks, hasEntry("a;c", 1));
+		assertThat(foldedStacks, hasEntry("b", 1));
+	}
+
+	/**
+	 * Tests that aggregating into the empty data copies the tree.
+	 */
+	@Test
+	public void aggregateIntoEmpty() {
+		SamplingProfilerData data = new SamplingProfilerData();
+		SamplingProfilerData other = create(3, new String[] { "a", "b" }, new int[] { 0, 1 }, new int[] { -1, 0 }, new int[] { 3, 1 });
+
+		data.aggregate(other);
+		data.aggregate(other);
+
+		assertThat(data.getSampleCount(), is(6));
+		assertThat(data.getNodeCount(), is(2));
+		assertThat(data.getFoldedStacks(), hasEntry("a", 4));
+		assertThat(data.getFoldedStacks(), hasEntry("a;b", 2));
+	}
+
+	private SamplingProfilerData create(int sampleCount, String[] frames, int[] nodeFrames, int[] nodeParents, int[] nodeSamples) {
+		SamplingProfilerData data = new SamplingProfilerData();
+		data.setSampleCount(sampleCount);
+		data.setCallTree(new ArrayList<String>(Arrays.asList(frames)), nodeFrames, nodeParents, nodeSamples);
+		return data;
+	}
+}
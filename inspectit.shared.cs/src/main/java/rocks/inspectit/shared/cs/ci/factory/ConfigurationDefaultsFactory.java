@@ -34,11 +34,13 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.RemoteUrlConnectionClient
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.IPlatformSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentTelemetrySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.MemorySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.RuntimeSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SamplingProfilerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 import rocks.inspectit.shared.cs.ci.strategy.IStrategyConfig;
@@ -73,6 +75,8 @@ public final class ConfigurationDefaultsFactory {
 		platformSensorConfigs.add(new RuntimeSensorConfig());
 		platformSensorConfigs.add(new SystemSensorConfig());
 		platformSensorConfigs.add(new ThreadSensorConfig());
+		platformSensorConfigs.add(new SamplingProfilerSensorConfig());
+		platformSensorConfigs.add(new AgentTelemetrySensorConfig());
 		return platformSensorConfigs;
 	}
 
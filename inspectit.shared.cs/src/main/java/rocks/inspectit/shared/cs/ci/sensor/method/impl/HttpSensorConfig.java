@@ -1,10 +1,16 @@
 package rocks.inspectit.shared.cs.ci.sensor.method.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 
+import org.apache.commons.collections.CollectionUtils;
+
 import rocks.inspectit.shared.all.instrumentation.config.PriorityEnum;
 import rocks.inspectit.shared.cs.ci.sensor.StringConstraintSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.IMethodSensorConfig;
@@ -46,6 +52,36 @@ public class HttpSensorConfig extends StringConstraintSensorConfig implements IM
 	@XmlAttribute(name = "parametersCapture")
 	private Boolean parametersCapture = Boolean.FALSE;
 
+	/**
+	 * Duration in milliseconds a request must exceed so that the headers, attributes, parameters
+	 * and session attributes are captured. Faster requests are fully captured only if they are
+	 * part of a sampled trace and a non-constant trace sampler is used. Value <code>0</code> means
+	 * that all requests are captured.
+	 */
+	@XmlAttribute(name = "fullCaptureThreshold")
+	private Long fullCaptureThreshold = Long.valueOf(0L);
+
+	/**
+	 * Names of the headers to capture. If empty all headers are captured.
+	 */
+	@XmlElementWrapper(name = "captured-headers")
+	@XmlElement(name = "header")
+	private List<String> capturedHeaders = new ArrayList<>(0);
+
+	/**
+	 * Names of the request attributes to capture. If empty all attributes are captured.
+	 */
+	@XmlElementWrapper(name = "captured-attributes")
+	@XmlElement(name = "attribute")
+	private List<String> capturedAttributes = new ArrayList<>(0);
+
+	/**
+	 * Names of the session attributes to capture. If empty all session attributes are captured.
+	 */
+	@XmlElementWrapper(name = "captured-session-attributes")
+	@XmlElement(name = "session-attribute")
+	private List<String> capturedSessionAttributes = new ArrayList<>(0);
+
 	/**
 	 * No-args constructor.
 	 */
@@ -101,6 +137,18 @@ public class HttpSensorConfig extends StringConstraintSensorConfig implements IM
 		if (parametersCapture) {
 			parameters.put("parameterscapture", "true");
 		}
+		if (fullCaptureThreshold.longValue() > 0) {
+			parameters.put("fullcapturethreshold", fullCaptureThreshold);
+		}
+		if (CollectionUtils.isNotEmpty(capturedHeaders)) {
+			parameters.put("capturedheaders", new ArrayList<>(capturedHeaders));
+		}
+		if (CollectionUtils.isNotEmpty(capturedAttributes)) {
+			parameters.put("capturedattributes", new ArrayList<>(capturedAttributes));
+		}
+		if (CollectionUtils.isNotEmpty(capturedSessionAttributes)) {
+			parameters.put("capturedsessionattributes", new ArrayList<>(capturedSessionAttributes));
+		}
 
 		return parameters;
 	}
@@ -162,4 +210,80 @@ public class HttpSensorConfig extends StringConstraintSensorConfig implements IM
 		this.parametersCapture = parametersCapture;
 	}
 
+	/**
+	 * Gets {@link #fullCaptureThreshold}.
+	 *
+	 * @return {@link #fullCaptureThreshold}
+	 */
+	public long getFullCaptureThreshold() {
+		return fullCaptureThreshold.longValue();
+	}
+
+	/**
+	 * Sets {@link #fullCaptureThreshold}.
+	 *
+	 * @param fullCaptureThreshold
+	 *            New value for {@link #fullCaptureThreshold}
+	 */
+	public void setFullCaptureThreshold(long fullCaptureThreshold) {
+		this.fullCaptureThreshold = Long.valueOf(fullCaptureThreshold);
+	}
+
+	/**
+	 * Gets {@link #capturedHeaders}.
+	 *
+	 * @return {@link #capturedHeaders}
+	 */
+	public List<String> getCapturedHeaders() {
+		return capturedHeaders;
+	}
+
+	/**
+	 * Sets {@link #capturedHeaders}.
+	 *
+	 * @param capturedHeaders
+	 *            New value for {@link #capturedHeaders}
+	 */
+	public void setCapturedHeaders(List<String> capturedHeaders) {
+		this.capturedHeaders = capturedHeaders;
+	}
+
+	/**
+	 * Gets {@link #capturedAttributes}.
+	 *
+	 * @return {@link #capturedAttributes}
+	 */
+	public List<String> getCapturedAttributes() {
+		return capturedAttributes;
+	}
+
+	/**
+	 * Sets {@link #capturedAttributes}.
+	 *
+	 * @param capturedAttributes
+	 *            New value for {@link #capturedAttributes}
+	 */
+	public void setCapturedAttributes(List<String> capturedAttributes) {
+		this.capturedAttributes = capturedAttributes;
+	}
+
+	/**
+	 * Gets {@link #capturedSessionAttributes}.
+	 *
+	 * @return {@link #capturedSessionAttributes}
+	 */
+	public List<String> getCapturedSessionAttributes() {
+		return capturedSessionAttributes;
+	}
+
+	/**
+	 * Sets {@link #capturedSessionAttributes}.
+	 *
+	 * @param capturedSessionAttributes
+	 *            New value for {@link #capturedSessionAttributes}
+	 */
+	public void setCapturedSessionAttributes(List<String> capturedSessionAttributes) {
+		this.capturedSessionAttributes = capturedSessionAttributes;
+	}
+
 }
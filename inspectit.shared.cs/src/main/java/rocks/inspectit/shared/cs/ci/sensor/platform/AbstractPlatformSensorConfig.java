@@ -8,11 +8,13 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlSeeAlso;
 
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentTelemetrySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.MemorySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.RuntimeSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SamplingProfilerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 
@@ -24,7 +26,7 @@ import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
  */
 @XmlAccessorType(XmlAccessType.FIELD)
 @XmlSeeAlso({ ClassLoadingSensorConfig.class, CompilationSensorConfig.class, CpuSensorConfig.class, MemorySensorConfig.class, RuntimeSensorConfig.class, SystemSensorConfig.class,
-		ThreadSensorConfig.class })
+		ThreadSensorConfig.class, SamplingProfilerSensorConfig.class, AgentTelemetrySensorConfig.class })
 public abstract class AbstractPlatformSensorConfig implements IPlatformSensorConfig {
 
 	/**
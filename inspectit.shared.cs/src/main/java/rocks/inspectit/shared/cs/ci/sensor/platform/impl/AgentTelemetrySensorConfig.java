@@ -0,0 +1,44 @@
+package rocks.inspectit.shared.cs.ci.sensor.platform.impl;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import rocks.inspectit.shared.cs.ci.sensor.platform.AbstractPlatformSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.IPlatformSensorConfig;
+
+/**
+ * Sensor configuration for the agent telemetry, the internal metrics of the agent like the time
+ * spent in the hooks, the ring buffer occupancy and the sending latency.
+ *
+ * @author agent
+ *
+ */
+@XmlRootElement(name = "agent-telemetry-sensor-config")
+public class AgentTelemetrySensorConfig extends AbstractPlatformSensorConfig implements IPlatformSensorConfig {
+
+	/**
+	 * Sensor name.
+	 */
+	public static final String SENSOR_NAME = "Agent Telemetry";
+
+	/**
+	 * Implementing class name.
+	 */
+	public static final String CLASS_NAME = "rocks.inspectit.agent.java.sensor.platform.AgentTelemetrySensor";
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName() {
+		return SENSOR_NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getClassName() {
+		return CLASS_NAME;
+	}
+
+}
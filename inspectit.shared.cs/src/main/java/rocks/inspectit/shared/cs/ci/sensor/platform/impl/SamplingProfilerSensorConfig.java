@@ -0,0 +1,174 @@
+package rocks.inspectit.shared.cs.ci.sensor.platform.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import rocks.inspectit.shared.cs.ci.sensor.platform.AbstractPlatformSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.IPlatformSensorConfig;
+
+/**
+ * Sensor configuration for the sampling profiler. The profiler periodically samples the stacks of
+ * the threads in the configured thread groups and sends the folded call tree once per sending
+ * interval.
+ *
+ * @author agent
+ *
+ */
+@XmlRootElement(name = "sampling-profiler-sensor-config")
+public class SamplingProfilerSensorConfig extends AbstractPlatformSensorConfig implements IPlatformSensorConfig {
+
+	/**
+	 * Sensor name.
+	 */
+	public static final String SENSOR_NAME = "Sampling Profiler";
+
+	/**
+	 * Implementing class name.
+	 */
+	public static final String CLASS_NAME = "rocks.inspectit.agent.java.sensor.platform.SamplingProfiler";
+
+	/**
+	 * Sampling rate in Hz.
+	 */
+	@XmlAttribute(name = "samplingRate")
+	private int samplingRate = 50;
+
+	/**
+	 * Max depth of the sampled stacks.
+	 */
+	@XmlAttribute(name = "maxStackDepth")
+	private int maxStackDepth = 64;
+
+	/**
+	 * If only threads in the runnable state should be included in the samples.
+	 */
+	@XmlAttribute(name = "runnableOnly")
+	private boolean runnableOnly = true;
+
+	/**
+	 * Names of the thread groups to sample. If empty all application threads are sampled.
+	 */
+	@XmlElementWrapper(name = "thread-groups")
+	@XmlElement(name = "thread-group")
+	private List<String> threadGroups = new ArrayList<>(0);
+
+	/**
+	 * No-arg constructor. Sampling profiler is not active by default.
+	 */
+	public SamplingProfilerSensorConfig() {
+		setActive(false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getName() {
+		return SENSOR_NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getClassName() {
+		return CLASS_NAME;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Map<String, Object> getParameters() {
+		Map<String, Object> parameters = new HashMap<>(4);
+		parameters.put("samplingRate", samplingRate);
+		parameters.put("maxStackDepth", maxStackDepth);
+		parameters.put("runnableOnly", runnableOnly);
+		parameters.put("threadGroups", new ArrayList<>(threadGroups));
+		return parameters;
+	}
+
+	/**
+	 * Gets {@link #samplingRate}.
+	 *
+	 * @return {@link #samplingRate}
+	 */
+	public int getSamplingRate() {
+		return samplingRate;
+	}
+
+	/**
+	 * Sets {@link #samplingRate}.
+	 *
+	 * @param samplingRate
+	 *            New value for {@link #samplingRate}
+	 */
+	public void setSamplingRate(int samplingRate) {
+		this.samplingRate = samplingRate;
+	}
+
+	/**
+	 * Gets {@link #maxStackDepth}.
+	 *
+	 * @return {@link #maxStackDepth}
+	 */
+	public int getMaxStackDepth() {
+		return maxStackDepth;
+	}
+
+	/**
+	 * Sets {@link #maxStackDepth}.
+	 *
+	 * @param maxStackDepth
+	 *            New value for {@link #maxStackDepth}
+	 */
+	public void setMaxStackDepth(int maxStackDepth) {
+		this.maxStackDepth = maxStackDepth;
+	}
+
+	/**
+	 * Gets {@link #runnableOnly}.
+	 *
+	 * @return {@link #runnableOnly}
+	 */
+	public boolean isRunnableOnly() {
+		return runnableOnly;
+	}
+
+	/**
+	 * Sets {@link #runnableOnly}.
+	 *
+	 * @param runnableOnly
+	 *            New value for {@link #runnableOnly}
+	 */
+	public void setRunnableOnly(boolean runnableOnly) {
+		this.runnableOnly = runnableOnly;
+	}
+
+	/**
+	 * Gets {@link #threadGroups}.
+	 *
+	 * @return {@link #threadGroups}
+	 */
+	public List<String> getThreadGroups() {
+		return threadGroups;
+	}
+
+	/**
+	 * Sets {@link #threadGroups}.
+	 *
+	 * @param threadGroups
+	 *            New value for {@link #threadGroups}
+	 */
+	public void setThreadGroups(List<String> threadGroups) {
+		this.threadGroups = threadGroups;
+	}
+
+}
@@ -56,6 +56,25 @@ public interface IExceptionDataAccessService {
 	 */
 	List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, Date fromDate, Date toDate, ResultComparator<ExceptionSensorData> resultComparator);
 
+	/**
+	 * Returns a list of {@link ExceptionSensorData} objects which have an ID equal or higher than
+	 * the given minimum ID. This list can be used to incrementally update an ungrouped overview
+	 * over recorded Exceptions in a target application.
+	 *
+	 * @param template
+	 *            The template data object.
+	 * @param limit
+	 *            The limit/size of the list.
+	 * @param minId
+	 *            Only exceptions with equal or higher id are submitted.
+	 * @param resultComparator
+	 *            Comparator that will be used to sort the results. Can be <code>null</code> and in
+	 *            that case no sorting will be done.
+	 * @return List of {@link ExceptionSensorData} objects to get an overview of recorded
+	 *         Exceptions.
+	 */
+	List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, long minId, ResultComparator<ExceptionSensorData> resultComparator);
+
 	/**
 	 * Returns a list of {@link ExceptionSensorData} objects. This list can be used to get an
 	 * ungrouped overview over recorded Exceptions in a target application.
@@ -127,6 +146,21 @@ public interface IExceptionDataAccessService {
 	 */
 	List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of {@link AggregatedExceptionSensorData} objects that is used to show an
+	 * overview over Exceptions with specific information about the number of caused event types.
+	 * Only the elements having an ID equal or higher than the given minimum ID are aggregated and
+	 * each returned aggregated object carries the highest ID of the elements aggregated into it.
+	 *
+	 * @param template
+	 *            The template object to be used for the query.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return A list of {@link AggregatedExceptionSensorData} objects with additional information
+	 *         about how often a specific eventType was caused.
+	 */
+	List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, long minId);
+
 	/**
 	 * Returns the exception sensor data list for all error and stack message combinations for the
 	 * throwable type defined in the template.
@@ -11,6 +11,7 @@ import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.exception.BusinessException;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 
 /**
  * Interface used to define all methods which clients (be it graphical/textual) can access the
@@ -129,4 +130,48 @@ public interface IGlobalDataAccessService {
 	 */
 	List<? extends DefaultData> getTemplatesDataObjectsFromToDate(Collection<DefaultData> templates, Date fromDate, Date toDate);
 
+	/**
+	 * Data objects from the passed templates in the given time range aggregated in time buckets.
+	 * The time line is divided into buckets of the given width that start at the multiples of the
+	 * width and all data objects in one bucket are aggregated with the given aggregator while the
+	 * data is queried. Each returned object has the time stamp of the bucket middle and the list is
+	 * sorted by time stamps. Thus, the amount of returned objects does not depend on the amount of
+	 * data in the time range and the buckets loaded for overlapping ranges can be merged.
+	 *
+	 * @param <E>
+	 *            Type of data.
+	 * @param templates
+	 *            The templates objects. Return list will include all found data that matches the
+	 *            templates.
+	 * @param fromDate
+	 *            The start date.
+	 * @param toDate
+	 *            The end date.
+	 * @param bucketWidth
+	 *            Width of one bucket in milliseconds, usually the time range divided by the amount
+	 *            of points that can be displayed on the chart. If not positive, the data is not
+	 *            aggregated.
+	 * @param aggregator
+	 *            Aggregator used to aggregate the data objects in one bucket.
+	 * @return List of aggregated data objects.
+	 */
+	<E extends DefaultData> List<E> getTemplatesDataObjectsFromToDate(Collection<DefaultData> templates, Date fromDate, Date toDate, long bucketWidth, IAggregator<E> aggregator);
+
+	/**
+	 * Returns the data objects containing the given text. Searched are SQL strings, HTTP URIs,
+	 * exception messages and causes and parameter contents. Search is case insensitive and
+	 * matches any part of the text. Results are sorted by the time stamp, newest first.
+	 *
+	 * @param text
+	 *            Text to search for.
+	 * @param platformId
+	 *            Platform ident to restrict the search to. Can be <code>null</code> to search in
+	 *            all platforms.
+	 * @param limit
+	 *            Limit the number of results by given number. Value <code>-1</code> means no
+	 *            limit.
+	 * @return List of data objects containing the text.
+	 */
+	List<? extends DefaultData> getDataObjectsContainingText(String text, Long platformId, int limit);
+
 }
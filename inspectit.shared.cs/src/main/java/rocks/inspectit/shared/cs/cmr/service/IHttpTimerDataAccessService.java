@@ -44,6 +44,22 @@ public interface IHttpTimerDataAccessService {
 	 */
 	List<HttpTimerData> getAggregatedTimerData(HttpTimerData timerData, boolean includeRequestMethod, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of the http timer data for a given template that is aggregated only from the
+	 * elements having an ID equal or higher than the given minimum ID. In this template, only the
+	 * platform id is extracted. Each returned aggregated object carries the highest ID of the
+	 * elements aggregated into it.
+	 *
+	 * @param timerData
+	 *            The template containing the platform id.
+	 * @param includeRequestMethod
+	 *            whether or not the request method should be include in the categorization.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the timer data object.
+	 */
+	List<HttpTimerData> getAggregatedTimerData(HttpTimerData timerData, boolean includeRequestMethod, long minId);
+
 	/**
 	 * Returns a list of http timer data that is aggregated the value of the given http request
 	 * parameter. For this purpose the <code>uri</code> field of the http timer data is re-used to
@@ -76,6 +92,23 @@ public interface IHttpTimerDataAccessService {
 	 */
 	List<HttpTimerData> getTaggedAggregatedTimerData(HttpTimerData timerData, boolean includeRequestMethod, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of http timer data that is aggregated the value of the given http request
+	 * parameter, considering only the elements having an ID equal or higher than the given minimum
+	 * ID. Each returned aggregated object carries the highest ID of the elements aggregated into
+	 * it.
+	 *
+	 * @param timerData
+	 *            the template containing the platform id.
+	 * @param includeRequestMethod
+	 *            whether or not the request method should be include in the categorization.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 *
+	 * @return The list of the timer data objects that are aggregated by the tagged value.
+	 */
+	List<HttpTimerData> getTaggedAggregatedTimerData(HttpTimerData timerData, boolean includeRequestMethod, long minId);
+
 	/**
 	 * Returns the {@link HttpTimerData} list that can be used as the input for the plotting. From
 	 * the template list the platform ident will be used as well as all URI and tagged values.
@@ -92,4 +125,28 @@ public interface IHttpTimerDataAccessService {
 	 * @return List of {@link HttpTimerData}.
 	 */
 	List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag);
+
+	/**
+	 * Returns the {@link HttpTimerData} list that can be used as the input for the plotting,
+	 * aggregated in time buckets. The time line is divided into buckets of the given width that
+	 * start at the multiples of the width and all data with the same URI (or tag value) and request
+	 * method in one bucket is aggregated while the data is queried. Each returned object has the
+	 * time stamp of the bucket middle and the list is sorted by time stamps.
+	 *
+	 * @param templates
+	 *            Templates.
+	 * @param fromDate
+	 *            From date.
+	 * @param toDate
+	 *            To date
+	 * @param retrieveByTag
+	 *            If tag values from the templates should be used when retrieving the data. If false
+	 *            is passed, URi will be used from templates.
+	 * @param bucketWidth
+	 *            Width of one bucket in milliseconds, usually the time range divided by the amount
+	 *            of points that can be displayed on the chart. If not positive, the data is not
+	 *            aggregated.
+	 * @return List of {@link HttpTimerData}.
+	 */
+	List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag, long bucketWidth);
 }
@@ -102,6 +102,28 @@ public interface IInvocationDataAccessService {
 	 */
 	List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, int limit, Date fromDate, Date toDate, ResultComparator<InvocationSequenceData> resultComparator);
 
+	/**
+	 * Returns a list of {@link InvocationSequenceData} objects which contain no associations to
+	 * other objects and have an ID equal or higher than the given minimum ID. Thus this list can be
+	 * used to incrementally update an overview of the available invocation sequences. The limit
+	 * defines the size of the list.
+	 *
+	 * @param platformId
+	 *            The ID of the platform.
+	 * @param methodId
+	 *            The ID of the method. If the zero value is passed, invocations of all methods are
+	 *            returned.
+	 * @param limit
+	 *            The limit/size of the list. Value <code>-1</code> means no limit.
+	 * @param minId
+	 *            Only invocations with equal or higher id are submitted.
+	 * @param resultComparator
+	 *            Comparator that will be used to sort the results. Can be <code>null</code> and in
+	 *            that case no sorting will be done.
+	 * @return Returns the list of invocation sequences.
+	 */
+	List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, long minId, ResultComparator<InvocationSequenceData> resultComparator);
+
 	/**
 	 * Returns a list of {@link InvocationSequenceData} objects which contain no associations to
 	 * other objects. Thus this list can be used to get an overview of the available invocation
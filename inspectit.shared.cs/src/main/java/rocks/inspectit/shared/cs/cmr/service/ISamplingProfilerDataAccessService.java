@@ -0,0 +1,32 @@
+package rocks.inspectit.shared.cs.cmr.service;
+
+import java.util.Date;
+
+import rocks.inspectit.shared.all.cmr.service.ServiceExporterType;
+import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+
+/**
+ * Service to access the profiles sent by the sampling profiler.
+ *
+ * @author agent
+ *
+ */
+@ServiceInterface(exporter = ServiceExporterType.HTTP)
+public interface ISamplingProfilerDataAccessService {
+
+	/**
+	 * Returns the profile of the agent aggregated from all sampling profiler data in the given
+	 * period.
+	 *
+	 * @param platformIdent
+	 *            ID of the agent.
+	 * @param fromDate
+	 *            Date to include data from, can be <code>null</code>.
+	 * @param toDate
+	 *            Date to include data to, can be <code>null</code>.
+	 * @return Aggregated profile or <code>null</code> if no data was sampled in the period.
+	 */
+	SamplingProfilerData getAggregatedProfile(long platformIdent, Date fromDate, Date toDate);
+
+}
@@ -36,6 +36,22 @@ public interface ISpanService {
 	 */
 	Collection<? extends Span> getRootSpans(int limit, Date fromDate, Date toDate, ResultComparator<AbstractSpan> resultComparator);
 
+	/**
+	 * Returns root spans that have an ID equal or higher than the given minimum ID. Can be used to
+	 * incrementally update the list of root spans.
+	 *
+	 * @param limit
+	 *            number of results returned by service. Value <code>-1</code> means no limit.
+	 * @param minId
+	 *            Only spans with equal or higher id are returned.
+	 * @param resultComparator
+	 *            Comparator that will be used to sort the results. Can be <code>null</code> and in
+	 *            that case default time-stamp sorting will be done.
+	 *
+	 * @return Returns root spans with equal or higher id.
+	 */
+	Collection<? extends Span> getRootSpans(int limit, long minId, ResultComparator<AbstractSpan> resultComparator);
+
 	/**
 	 * Get all spans belonging to the trace with the given ID.
 	 *
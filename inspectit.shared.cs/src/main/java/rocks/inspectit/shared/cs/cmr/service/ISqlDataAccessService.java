@@ -40,6 +40,21 @@ public interface ISqlDataAccessService {
 	 */
 	List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, Date fromDate, Date toDate);
 
+	/**
+	 * Returns a list of the SQL statements for a given template that is aggregated only from the
+	 * elements having an ID equal or higher than the given minimum ID. In the template, only the
+	 * platform id is extracted. Each returned aggregated object carries the highest ID of the
+	 * elements aggregated into it, thus the caller can use the highest ID in the result plus one
+	 * as the minimum ID for the next delta query.
+	 *
+	 * @param sqlStatementData
+	 *            The template containing the platform id.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the SQL statements.
+	 */
+	List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, long minId);
+
 	/**
 	 * Returns a list of the SQL statements for a given template aggregated by the parameters. In
 	 * the template, only the platform id is extracted. If the template holds the SQL query string,
@@ -9,7 +9,10 @@ import rocks.inspectit.shared.all.cmr.service.ServiceExporterType;
 import rocks.inspectit.shared.all.cmr.service.ServiceInterface;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.exception.BusinessException;
+import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.communication.data.cmr.RecordingData;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
 import rocks.inspectit.shared.cs.storage.IStorageData;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.label.AbstractStorageLabel;
@@ -565,4 +568,30 @@ public interface IStorageService {
 	 */
 	String getCachedStorageDataFileLocation(StorageData storageData, int hash) throws BusinessException;
 
+	/**
+	 * Executes the query against the storage on the CMR and returns only the results of the query.
+	 * This way the complete data described by the storage descriptors does not have to be
+	 * transferred to the client.
+	 * <p>
+	 * The comparator is bound to the CMR's cached data service before sorting.
+	 *
+	 * @param <E>
+	 *            Type of the elements.
+	 * @param storageData
+	 *            Storage to query.
+	 * @param storageIndexQuery
+	 *            Query.
+	 * @param aggregator
+	 *            {@link IAggregator} to aggregate results with, can be <code>null</code>.
+	 * @param resultComparator
+	 *            Comparator to sort results with, can be <code>null</code>.
+	 * @param limit
+	 *            Limit the number of results by given number. Value <code>-1</code> means no limit.
+	 * @return Results of the query.
+	 * @throws BusinessException
+	 *             If storage does not exist or is not closed.
+	 */
+	<E extends DefaultData> List<E> executeStorageQuery(StorageData storageData, StorageIndexQuery storageIndexQuery, IAggregator<E> aggregator, ResultComparator<E> resultComparator, int limit)
+			throws BusinessException;
+
 }
@@ -39,4 +39,19 @@ public interface ITimerDataAccessService {
 	 * @return The list of the timer data object.
 	 */
 	List<TimerData> getAggregatedTimerData(TimerData timerData, Date fromDate, Date toDate);
+
+	/**
+	 * Returns a list of the timer data for a given template that is aggregated only from the
+	 * elements having an ID equal or higher than the given minimum ID. In this template, only the
+	 * platform id is extracted. Each returned aggregated object carries the highest ID of the
+	 * elements aggregated into it, thus the caller can use the highest ID in the result plus one
+	 * as the minimum ID for the next delta query.
+	 *
+	 * @param timerData
+	 *            The template containing the platform id.
+	 * @param minId
+	 *            Only elements with equal or higher id are aggregated.
+	 * @return The list of the timer data object.
+	 */
+	List<TimerData> getAggregatedTimerData(TimerData timerData, long minId);
 }
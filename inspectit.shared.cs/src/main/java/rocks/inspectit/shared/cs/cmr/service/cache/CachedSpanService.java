@@ -103,6 +103,23 @@ public class CachedSpanService implements ISpanService {
 		return spans;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<? extends Span> getRootSpans(int limit, long minId, ResultComparator<AbstractSpan> resultComparator) {
+		// call service
+		Collection<? extends Span> spans = service.getRootSpans(limit, minId, resultComparator);
+
+		// cache results
+		for (Span span : spans) {
+			cache.put(span.getSpanIdent(), span);
+		}
+
+		// then return
+		return spans;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -13,6 +13,11 @@ import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 /**
  * This class encapsulates the aggregation process. When ever aggregation is needed, it this class
  * should be used with combination of available {@link IAggregator}s.
+ * <p>
+ * If requested, every aggregated object carries the highest ID of the elements that were aggregated
+ * into it. This way the consumers of the incremental queries can request only the elements that
+ * arrived after the last aggregation and merge them into the already existing results. Otherwise
+ * the aggregated objects keep the ID of the clone created by the aggregator.
  *
  * @author Ivan Senic
  *
@@ -31,6 +36,11 @@ public class AggregationPerformer<E extends DefaultData> {
 	 */
 	private IAggregator<E> aggregator;
 
+	/**
+	 * If the aggregated objects should carry the highest ID of the aggregated elements.
+	 */
+	private boolean trackHighestId;
+
 	/**
 	 * Default constructor.
 	 *
@@ -38,10 +48,23 @@ public class AggregationPerformer<E extends DefaultData> {
 	 *            {@link IAggregator} to use. Must not be <code>null</code>.
 	 */
 	public AggregationPerformer(IAggregator<E> aggregator) {
+		this(aggregator, false);
+	}
+
+	/**
+	 * Secondary constructor.
+	 *
+	 * @param aggregator
+	 *            {@link IAggregator} to use. Must not be <code>null</code>.
+	 * @param trackHighestId
+	 *            If the aggregated objects should carry the highest ID of the aggregated elements.
+	 */
+	public AggregationPerformer(IAggregator<E> aggregator, boolean trackHighestId) {
 		if (null == aggregator) {
 			throw new IllegalArgumentException("Aggregator can not be null.");
 		}
 		this.aggregator = aggregator;
+		this.trackHighestId = trackHighestId;
 		this.aggregationMap = new HashMap<>();
 	}
 
@@ -61,6 +84,13 @@ public class AggregationPerformer<E extends DefaultData> {
 			aggregationMap.put(key, aggregatedObject);
 			aggregator.aggregate(aggregatedObject, element);
 		}
+
+		if (trackHighestId) {
+			E aggregatedData = aggregatedObject.getData();
+			if (element.getId() > aggregatedData.getId()) {
+				aggregatedData.setId(element.getId());
+			}
+		}
 	}
 
 	/**
@@ -0,0 +1,87 @@
+package rocks.inspectit.shared.cs.indexing.aggregation.impl;
+
+import java.io.Serializable;
+
+import rocks.inspectit.shared.all.communication.IAggregatedData;
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+
+/**
+ * {@link IAggregator} for the {@link SamplingProfilerData}. Merges the call trees of one agent into
+ * a single profile.
+ *
+ * @author agent
+ *
+ */
+public class SamplingProfilerDataAggregator implements IAggregator<SamplingProfilerData>, Serializable {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = -2035846925182517362L;
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void aggregate(IAggregatedData<SamplingProfilerData> aggregatedObject, SamplingProfilerData objectToAdd) {
+		aggregatedObject.aggregate(objectToAdd);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SamplingProfilerData getClone(SamplingProfilerData samplingProfilerData) {
+		SamplingProfilerData clone = new SamplingProfilerData();
+		clone.setPlatformIdent(samplingProfilerData.getPlatformIdent());
+		clone.setSensorTypeIdent(samplingProfilerData.getSensorTypeIdent());
+		clone.setTimeStamp(samplingProfilerData.getTimeStamp());
+		return clone;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean isCloning() {
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getAggregationKey(SamplingProfilerData object) {
+		return object.getPlatformIdent();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		// we must make constant hashCode because of the caching
+		result = (prime * result) + this.getClass().getName().hashCode();
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		return true;
+	}
+
+}
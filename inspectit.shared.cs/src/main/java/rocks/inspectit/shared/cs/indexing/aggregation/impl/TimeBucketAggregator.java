@@ -0,0 +1,153 @@
+package rocks.inspectit.shared.cs.indexing.aggregation.impl;
+
+import java.io.Serializable;
+import java.sql.Timestamp;
+
+import org.apache.commons.collections.keyvalue.MultiKey;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.IAggregatedData;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+
+/**
+ * {@link IAggregator} that divides the time line in buckets of the given width and aggregates all
+ * elements that fall into the same bucket with the delegate aggregator. The buckets are aligned to
+ * the multiples of the bucket width, thus the bucket of an element does not depend on the queried
+ * interval and the buckets loaded with different queries can be merged. The aggregated objects get
+ * the time stamp of the bucket middle, thus the result can directly be used as the series of a
+ * chart.
+ *
+ * @author agent
+ *
+ * @param <E>
+ *            Type of data that is aggregated.
+ */
+public class TimeBucketAggregator<E extends DefaultData> implements IAggregator<E>, Serializable {
+
+	/**
+	 * Generated UID.
+	 */
+	private static final long serialVersionUID = 4218467553212766387L;
+
+	/**
+	 * Aggregator used to aggregate the elements in one bucket.
+	 */
+	private IAggregator<E> aggregator;
+
+	/**
+	 * Width of one bucket in milliseconds.
+	 */
+	private long bucketWidth;
+
+	/**
+	 * No-arg constructor.
+	 */
+	public TimeBucketAggregator() {
+	}
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param aggregator
+	 *            Aggregator used to aggregate the elements in one bucket.
+	 * @param bucketWidth
+	 *            Width of one bucket in milliseconds. Must be positive.
+	 */
+	public TimeBucketAggregator(IAggregator<E> aggregator, long bucketWidth) {
+		if (bucketWidth <= 0) {
+			throw new IllegalArgumentException("Bucket width must be positive.");
+		}
+		this.aggregator = aggregator;
+		this.bucketWidth = bucketWidth;
+	}
+
+	/**
+	 * Returns the start of the bucket the given time belongs to.
+	 *
+	 * @param time
+	 *            Time in milliseconds.
+	 * @param bucketWidth
+	 *            Width of one bucket in milliseconds.
+	 * @return Start of the bucket in milliseconds.
+	 */
+	public static long getBucketStart(long time, long bucketWidth) {
+		return Math.floorDiv(time, bucketWidth) * bucketWidth;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void aggregate(IAggregatedData<E> aggregatedObject, E objectToAdd) {
+		aggregator.aggregate(aggregatedObject, objectToAdd);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IAggregatedData<E> getClone(E object) {
+		IAggregatedData<E> clone = aggregator.getClone(object);
+		long bucketStart = getBucketStart(object.getTimeStamp().getTime(), bucketWidth);
+		clone.getData().setTimeStamp(new Timestamp(bucketStart + (bucketWidth / 2)));
+		return clone;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getAggregationKey(E object) {
+		return new MultiKey(Long.valueOf(Math.floorDiv(object.getTimeStamp().getTime(), bucketWidth)), aggregator.getAggregationKey(object));
+	}
+
+	/**
+	 * Gets {@link #bucketWidth}.
+	 *
+	 * @return {@link #bucketWidth}
+	 */
+	public long getBucketWidth() {
+		return bucketWidth;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = (prime * result) + ((aggregator == null) ? 0 : aggregator.hashCode());
+		result = (prime * result) + (int) (bucketWidth ^ (bucketWidth >>> 32));
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		TimeBucketAggregator<?> other = (TimeBucketAggregator<?>) obj;
+		if (aggregator == null) {
+			if (other.aggregator != null) {
+				return false;
+			}
+		} else if (!aggregator.equals(other.aggregator)) {
+			return false;
+		}
+		if (bucketWidth != other.bucketWidth) {
+			return false;
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,49 @@
+package rocks.inspectit.shared.cs.indexing.query.factory.impl;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.shared.all.communication.data.SamplingProfilerData;
+import rocks.inspectit.shared.all.indexing.IIndexQuery;
+import rocks.inspectit.shared.cs.indexing.query.factory.AbstractQueryFactory;
+
+/**
+ * Factory for all queries for the {@link SamplingProfilerData}.
+ *
+ * @author agent
+ *
+ * @param <E>
+ */
+@Component
+public class SamplingProfilerDataQueryFactory<E extends IIndexQuery> extends AbstractQueryFactory<E> {
+
+	/**
+	 * Return query for all <code>SamplingProfilerData</code> objects of one agent.
+	 *
+	 * @param platformIdent
+	 *            ID of the agent
+	 * @param fromDate
+	 *            the fromDate or <code>null</code> if not applicable
+	 * @param toDate
+	 *            the toDate or <code>null</code> if not applicable
+	 * @return Query for all <code>SamplingProfilerData</code> objects in the buffer.
+	 */
+	public E getSamplingProfilerDataQuery(long platformIdent, Date fromDate, Date toDate) {
+		E query = getIndexQueryProvider().getIndexQuery();
+		query.setPlatformIdent(platformIdent);
+		ArrayList<Class<?>> classesToSearch = new ArrayList<>();
+		classesToSearch.add(SamplingProfilerData.class);
+		query.setObjectClasses(classesToSearch);
+		if (null != fromDate) {
+			query.setFromDate(new Timestamp(fromDate.getTime()));
+		}
+		if (null != toDate) {
+			query.setToDate(new Timestamp(toDate.getTime()));
+		}
+		return query;
+	}
+
+}
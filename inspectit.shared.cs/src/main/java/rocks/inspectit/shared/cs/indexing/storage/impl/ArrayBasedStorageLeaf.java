@@ -2,7 +2,11 @@ package rocks.inspectit.shared.cs.indexing.storage.impl;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.locks.Lock;
@@ -233,6 +237,7 @@ public class ArrayBasedStorageLeaf<E extends DefaultData> implements IStorageTre
 			readLock.lock();
 			try {
 				List<IStorageDescriptor> returnList = new ArrayList<>();
+				Set<SimpleStorageDescriptor> added = new HashSet<>();
 				int index = 0;
 
 				// if min id is given, we will start from the first id that is bigger or equal than
@@ -248,7 +253,8 @@ public class ArrayBasedStorageLeaf<E extends DefaultData> implements IStorageTre
 				for (; index < size; index++) {
 					if (0 != idArray[index]) {
 						SimpleStorageDescriptor simpleDescriptor = descriptorArray[index];
-						if (null != simpleDescriptor) {
+						// block elements share the descriptor, the not written ones are kept
+						if ((null != simpleDescriptor) && ((0 == simpleDescriptor.getSize()) || added.add(simpleDescriptor))) {
 							returnList.add(new StorageDescriptor(this.id, simpleDescriptor));
 						}
 					}
@@ -280,6 +286,7 @@ public class ArrayBasedStorageLeaf<E extends DefaultData> implements IStorageTre
 		readLock.lock();
 		try {
 			List<IStorageDescriptor> returnList = new ArrayList<>();
+			Set<SimpleStorageDescriptor> added = new HashSet<>();
 			int index = 0;
 
 			// if min id is given, we will start from the first id that is bigger or equal than min
@@ -292,12 +299,10 @@ public class ArrayBasedStorageLeaf<E extends DefaultData> implements IStorageTre
 			}
 
 			for (; index < size; index++) {
-				if ((query.getExcludeIds() != null) && query.getExcludeIds().contains(idArray[index])) {
-					continue;
-				}
-				if ((0 != idArray[index]) && ((query.getIncludeIds() == null) || query.getIncludeIds().contains(idArray[index]))) {
+				if ((0 != idArray[index]) && query.isIdComplied(idArray[index])) {
 					SimpleStorageDescriptor simpleDescriptor = descriptorArray[index];
-					if (null != simpleDescriptor) {
+					// block elements share the descriptor, the not written ones are kept
+					if ((null != simpleDescriptor) && ((0 == simpleDescriptor.getSize()) || added.add(simpleDescriptor))) {
 						returnList.add(new StorageDescriptor(this.id, simpleDescriptor));
 					}
 				}
@@ -348,10 +353,28 @@ public class ArrayBasedStorageLeaf<E extends DefaultData> implements IStorageTre
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * Does nothing.
+	 * Replaces the equal descriptors of the elements written in the same block with one instance,
+	 * so that the descriptor of the block is serialized only once.
 	 */
 	@Override
 	public void preWriteFinalization() {
+		writeLock.lock();
+		try {
+			Map<SimpleStorageDescriptor, SimpleStorageDescriptor> blockDescriptors = new HashMap<>();
+			for (int i = 0; i < size; i++) {
+				SimpleStorageDescriptor simpleDescriptor = descriptorArray[i];
+				if ((null != simpleDescriptor) && (0 != simpleDescriptor.getSize())) {
+					SimpleStorageDescriptor existing = blockDescriptors.get(simpleDescriptor);
+					if (null == existing) {
+						blockDescriptors.put(simpleDescriptor, simpleDescriptor);
+					} else {
+						descriptorArray[i] = existing;
+					}
+				}
+			}
+		} finally {
+			writeLock.unlock();
+		}
 	}
 
 	/**
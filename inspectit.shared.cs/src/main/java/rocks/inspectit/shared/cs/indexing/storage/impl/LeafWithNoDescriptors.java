@@ -159,6 +159,10 @@ public class LeafWithNoDescriptors<E extends DefaultData> implements IStorageTre
 	 */
 	private synchronized void addPositionAndSize(long position, long size) {
 		for (SimpleStorageDescriptor storageDescriptor : descriptors) {
+			// elements written in the same block report the same position and size
+			if ((storageDescriptor.getPosition() <= position) && ((position + size) <= (storageDescriptor.getPosition() + storageDescriptor.getSize()))) {
+				return;
+			}
 			if (((storageDescriptor.getSize() + size) < MAX_RANGE_SIZE) && storageDescriptor.join(position, size)) {
 				return;
 			}
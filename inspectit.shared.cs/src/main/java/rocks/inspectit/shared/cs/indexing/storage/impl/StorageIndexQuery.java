@@ -87,6 +87,22 @@ public class StorageIndexQuery extends IndexQuery {
 		this.excludeIds = excludeIds;
 	}
 
+	/**
+	 * Checks if the object with the given id passes the {@link #includeIds} and
+	 * {@link #excludeIds} restrictions of this query. Storage blocks hold several objects under
+	 * one descriptor, thus the ids must be checked again once a block has been expanded.
+	 *
+	 * @param id
+	 *            Id of the object.
+	 * @return True if the object with given id should be included in the query result.
+	 */
+	public boolean isIdComplied(long id) {
+		if ((null != excludeIds) && excludeIds.contains(id)) {
+			return false;
+		}
+		return (null == includeIds) || includeIds.contains(id);
+	}
+
 	/**
 	 * Gets {@link #sql}.
 	 *
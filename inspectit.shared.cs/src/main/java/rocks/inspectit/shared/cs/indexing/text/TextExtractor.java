@@ -0,0 +1,119 @@
+package rocks.inspectit.shared.cs.indexing.text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang.StringUtils;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.ParameterContentData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+
+/**
+ * Extracts the texts that can be searched from the data objects. These are:
+ * <ul>
+ * <li>SQL of the {@link SqlStatementData}
+ * <li>URI of the {@link HttpTimerData}
+ * <li>error message and cause of the {@link ExceptionSensorData}
+ * <li>content of the {@link ParameterContentData} of any {@link MethodSensorData}
+ * </ul>
+ * All texts are returned in lower case, so that search is case insensitive.
+ *
+ * @author agent
+ *
+ */
+public final class TextExtractor {
+
+	/**
+	 * Private constructor.
+	 */
+	private TextExtractor() {
+	}
+
+	/**
+	 * Returns all searchable texts of the data object in lower case.
+	 *
+	 * @param data
+	 *            Data object.
+	 * @return Texts of the data object or empty collection if data object has no searchable
+	 *         texts.
+	 */
+	public static Collection<String> getTexts(DefaultData data) {
+		if (!(data instanceof MethodSensorData)) {
+			return Collections.emptyList();
+		}
+
+		Collection<String> texts = new ArrayList<>(2);
+		if (data instanceof SqlStatementData) {
+			addText(texts, ((SqlStatementData) data).getSql());
+		} else if (data instanceof HttpTimerData) {
+			HttpTimerData httpTimerData = (HttpTimerData) data;
+			if (null != httpTimerData.getHttpInfo()) {
+				addText(texts, httpTimerData.getHttpInfo().getUri());
+			}
+		} else if (data instanceof ExceptionSensorData) {
+			ExceptionSensorData exceptionSensorData = (ExceptionSensorData) data;
+			addText(texts, exceptionSensorData.getErrorMessage());
+			addText(texts, exceptionSensorData.getCause());
+		}
+
+		MethodSensorData methodSensorData = (MethodSensorData) data;
+		if (CollectionUtils.isNotEmpty(methodSensorData.getParameterContentData())) {
+			for (ParameterContentData parameterContentData : methodSensorData.getParameterContentData()) {
+				addText(texts, parameterContentData.getContent());
+			}
+		}
+		return texts;
+	}
+
+	/**
+	 * Checks if any searchable text of the data object contains the given text.
+	 *
+	 * @param data
+	 *            Data object.
+	 * @param text
+	 *            Text to search for, case insensitive.
+	 * @return <code>true</code> if data object contains the text.
+	 */
+	public static boolean containsText(DefaultData data, String text) {
+		String lowerCaseText = toLowerCase(text);
+		for (String dataText : getTexts(data)) {
+			if (dataText.contains(lowerCaseText)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns lower case of the text, as used for indexing.
+	 *
+	 * @param text
+	 *            Text.
+	 * @return Lower case text.
+	 */
+	public static String toLowerCase(String text) {
+		return text.toLowerCase(Locale.ENGLISH);
+	}
+
+	/**
+	 * Adds the text to the collection if it's not blank.
+	 *
+	 * @param texts
+	 *            Collection to add to.
+	 * @param text
+	 *            Text to add.
+	 */
+	private static void addText(Collection<String> texts, String text) {
+		if (StringUtils.isNotBlank(text)) {
+			texts.add(toLowerCase(text));
+		}
+	}
+
+}
@@ -0,0 +1,384 @@
+package rocks.inspectit.shared.cs.indexing.text;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang.StringUtils;
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+import rocks.inspectit.shared.all.cmr.cache.IObjectSizes;
+import rocks.inspectit.shared.all.communication.DefaultData;
+
+/**
+ * Inverted index of the texts provided by the {@link TextExtractor}. Each distinct text is indexed
+ * by its tri-grams, so that any sub-string of the text can be searched for without scanning all
+ * the elements. Since texts like SQL strings and URIs repeat a lot, the elements are kept per
+ * distinct text and only distinct texts are kept in the tri-gram postings.
+ * <p>
+ * Same as the leafs of the buffer indexing tree, the index holds elements with weak references.
+ * Thus, elements evicted from the buffer are pruned from the index in the {@link #clean()}.
+ * <p>
+ * Only the first {@value #MAX_TEXT_LENGTH} characters of each text are indexed.
+ *
+ * @param <E>
+ *            Type of the elements indexed.
+ *
+ * @author agent
+ *
+ */
+public class TextIndex<E extends DefaultData> {
+
+	/**
+	 * Length of the n-grams used for indexing.
+	 */
+	static final int GRAM_LENGTH = 3;
+
+	/**
+	 * Max length of the text being indexed.
+	 */
+	static final int MAX_TEXT_LENGTH = 2048;
+
+	/**
+	 * Distinct texts mapped to the entry holding the elements.
+	 */
+	private final ConcurrentHashMap<String, TextEntry<E>> texts = new ConcurrentHashMap<>();
+
+	/**
+	 * N-grams mapped to the entries of texts containing them.
+	 */
+	private final ConcurrentHashMap<String, Set<TextEntry<E>>> grams = new ConcurrentHashMap<>();
+
+	/**
+	 * Reference queue for the elements that have been garbage collected.
+	 */
+	private final ReferenceQueue<E> referenceQueue = new ReferenceQueue<>();
+
+	/**
+	 * Read lock held while elements are added.
+	 */
+	private final Lock putLock;
+
+	/**
+	 * Write lock held while entries are removed.
+	 */
+	private final Lock cleanLock;
+
+	/**
+	 * Runnable that cleans the index.
+	 */
+	private final Runnable cleanRunnable = new Runnable() {
+		@Override
+		public void run() {
+			TextIndex.this.clean();
+		}
+	};
+
+	/**
+	 * Future of the last submitted {@link #cleanRunnable}.
+	 */
+	private Future<?> cleanFuture;
+
+	/**
+	 * Default constructor.
+	 */
+	public TextIndex() {
+		ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+		putLock = readWriteLock.readLock();
+		cleanLock = readWriteLock.writeLock();
+	}
+
+	/**
+	 * Indexes the texts of the element. Elements without texts are ignored.
+	 *
+	 * @param element
+	 *            Element to index.
+	 */
+	public void put(E element) {
+		Collection<String> elementTexts = TextExtractor.getTexts(element);
+		if (elementTexts.isEmpty()) {
+			return;
+		}
+
+		TextReference<E> reference = new TextReference<>(element, referenceQueue, elementTexts.size());
+		putLock.lock();
+		try {
+			for (String text : elementTexts) {
+				TextEntry<E> entry = texts.computeIfAbsent(StringUtils.left(text, MAX_TEXT_LENGTH), this::createEntry);
+				entry.elements.put(element.getId(), reference);
+				reference.entries.add(entry);
+			}
+		} finally {
+			putLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns all elements having a text that contains the given text. Search is case insensitive.
+	 *
+	 * @param text
+	 *            Text to search for.
+	 * @return Elements containing the text in no specific order.
+	 */
+	public List<E> query(String text) {
+		if (StringUtils.isEmpty(text)) {
+			return Collections.emptyList();
+		}
+
+		String searchText = TextExtractor.toLowerCase(text);
+		Collection<TextEntry<E>> candidates;
+		if (searchText.length() < GRAM_LENGTH) {
+			candidates = texts.values();
+		} else {
+			// n-gram with the least entries is enough, as all entries are checked anyway
+			candidates = null;
+			for (String gram : getGrams(searchText)) {
+				Set<TextEntry<E>> gramEntries = grams.get(gram);
+				if (null == gramEntries) {
+					return Collections.emptyList();
+				}
+				if ((null == candidates) || (gramEntries.size() < candidates.size())) {
+					candidates = gramEntries;
+				}
+			}
+		}
+
+		Map<Long, E> results = new LinkedHashMap<>();
+		for (TextEntry<E> entry : candidates) {
+			if (entry.text.contains(searchText)) {
+				for (TextReference<E> reference : entry.elements.values()) {
+					E element = reference.get();
+					if (null != element) {
+						results.put(element.getId(), element);
+					}
+				}
+			}
+		}
+		return new ArrayList<>(results.values());
+	}
+
+	/**
+	 * Removes the elements that have been garbage collected and the texts not having any element
+	 * any more.
+	 */
+	@SuppressWarnings("unchecked")
+	public void clean() {
+		cleanLock.lock();
+		try {
+			TextReference<E> reference = (TextReference<E>) referenceQueue.poll();
+			while (null != reference) {
+				for (TextEntry<E> entry : reference.entries) {
+					entry.elements.remove(reference.referentId, reference);
+					if (entry.elements.isEmpty()) {
+						removeEntry(entry);
+					}
+				}
+				reference = (TextReference<E>) referenceQueue.poll();
+			}
+		} finally {
+			cleanLock.unlock();
+		}
+	}
+
+	/**
+	 * Submits the {@link #clean()} to the executor service, if the last submitted clean is done.
+	 *
+	 * @param executorService
+	 *            Executor service to run the clean in.
+	 */
+	public void cleanWithRunnable(ExecutorService executorService) {
+		if ((cleanFuture == null) || cleanFuture.isDone()) {
+			cleanFuture = executorService.submit(cleanRunnable);
+		}
+	}
+
+	/**
+	 * Clears the complete index.
+	 */
+	public void clearAll() {
+		cleanLock.lock();
+		try {
+			texts.clear();
+			grams.clear();
+			while (null != referenceQueue.poll()) { // NOPMD
+				// just drain the queue
+			}
+		} finally {
+			cleanLock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the amount of distinct texts in the index.
+	 *
+	 * @return Amount of distinct texts in the index.
+	 */
+	public long getNumberOfTexts() {
+		return texts.size();
+	}
+
+	/**
+	 * Returns the approximate size of the index in bytes.
+	 *
+	 * @param objectSizes
+	 *            Object sizes to use.
+	 * @return Size in bytes.
+	 */
+	public long getComponentSize(IObjectSizes objectSizes) {
+		long size = objectSizes.getSizeOfObjectHeader();
+		size += objectSizes.getPrimitiveTypesSize(7, 0, 0, 0, 0, 0);
+		size = objectSizes.alignTo8Bytes(size);
+
+		size += objectSizes.getSizeOfConcurrentHashMap(texts.size());
+		for (TextEntry<E> entry : texts.values()) {
+			// entry itself and the text that is also used as the map key
+			size += objectSizes.alignTo8Bytes(objectSizes.getSizeOfObjectHeader() + objectSizes.getPrimitiveTypesSize(2, 0, 0, 0, 0, 0));
+			size += objectSizes.getSizeOf(entry.text);
+			int elements = entry.elements.size();
+			size += objectSizes.getSizeOfNonBlockingHashMapLong(elements);
+			size += elements * objectSizes.getSizeOfCustomWeakReference();
+		}
+
+		size += objectSizes.getSizeOfConcurrentHashMap(grams.size());
+		for (Map.Entry<String, Set<TextEntry<E>>> gram : grams.entrySet()) {
+			size += objectSizes.getSizeOf(gram.getKey());
+			size += objectSizes.getSizeOfConcurrentHashMap(gram.getValue().size());
+		}
+		return size;
+	}
+
+	/**
+	 * Creates the entry for the text and adds it to the n-gram postings.
+	 *
+	 * @param text
+	 *            Text.
+	 * @return New entry.
+	 */
+	private TextEntry<E> createEntry(String text) {
+		TextEntry<E> entry = new TextEntry<>(text);
+		for (String gram : getGrams(text)) {
+			grams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Removes the entry from the texts and n-gram postings. Must be called while holding the
+	 * {@link #cleanLock}.
+	 *
+	 * @param entry
+	 *            Entry to remove.
+	 */
+	private void removeEntry(TextEntry<E> entry) {
+		if (texts.remove(entry.text, entry)) {
+			for (String gram : getGrams(entry.text)) {
+				Set<TextEntry<E>> gramEntries = grams.get(gram);
+				if (null != gramEntries) {
+					gramEntries.remove(entry);
+					if (gramEntries.isEmpty()) {
+						grams.remove(gram, gramEntries);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns all distinct n-grams of the text.
+	 *
+	 * @param text
+	 *            Text.
+	 * @return Distinct n-grams, empty if text is shorter than {@link #GRAM_LENGTH}.
+	 */
+	static Collection<String> getGrams(String text) {
+		int count = text.length() - GRAM_LENGTH + 1;
+		if (count <= 0) {
+			return Collections.emptyList();
+		}
+		Collection<String> result = new HashSet<>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(text.substring(i, i + GRAM_LENGTH));
+		}
+		return result;
+	}
+
+	/**
+	 * Entry of one distinct text.
+	 *
+	 * @param <E>
+	 *            Type of the elements.
+	 */
+	private static class TextEntry<E extends DefaultData> {
+
+		/**
+		 * Text.
+		 */
+		private final String text;
+
+		/**
+		 * Elements having the text.
+		 */
+		private final NonBlockingHashMapLong<TextReference<E>> elements = new NonBlockingHashMapLong<>();
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param text
+		 *            Text.
+		 */
+		TextEntry(String text) {
+			this.text = text;
+		}
+
+	}
+
+	/**
+	 * Weak reference to the element that knows the entries element is added to.
+	 *
+	 * @param <E>
+	 *            Type of the elements.
+	 */
+	private static class TextReference<E extends DefaultData> extends WeakReference<E> {
+
+		/**
+		 * Id of the referent.
+		 */
+		private final long referentId;
+
+		/**
+		 * Entries element is added to.
+		 */
+		private final List<TextEntry<E>> entries;
+
+		/**
+		 * Default constructor.
+		 *
+		 * @param referent
+		 *            Element.
+		 * @param q
+		 *            Reference queue.
+		 * @param textCount
+		 *            Amount of texts element has.
+		 */
+		TextReference(E referent, ReferenceQueue<? super E> q, int textCount) {
+			super(referent, q);
+			this.referentId = referent.getId();
+			this.entries = new ArrayList<>(textCount);
+		}
+
+	}
+
+}
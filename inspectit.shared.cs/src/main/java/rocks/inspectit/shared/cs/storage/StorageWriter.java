@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +44,7 @@ import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStr
 import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 import rocks.inspectit.shared.cs.communication.data.cmr.WritingStatus;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
+import rocks.inspectit.shared.cs.storage.block.StorageBlock;
 import rocks.inspectit.shared.cs.storage.nio.WriteReadCompletionRunnable;
 import rocks.inspectit.shared.cs.storage.nio.write.WritingChannelManager;
 import rocks.inspectit.shared.cs.storage.processor.AbstractDataProcessor;
@@ -52,6 +54,10 @@ import rocks.inspectit.shared.cs.storage.processor.write.AbstractWriteDataProces
  * {@link StorageWriter} is class that contains shared functionality for writing data on one
  * storage. It can be overwritten, with special additional functionality, but care needs to be taken
  * that methods of this class are correctly called in super classes.
+ * <p>
+ * Data passed to the {@link #write(DefaultData, Map)} is collected in the blocks of max
+ * {@value #BLOCK_MAX_OBJECTS} objects. Each block is written by a single {@link WriteBlockTask}
+ * that writes the objects of the same channel together as one compressed {@link StorageBlock}.
  *
  * @author Ivan Senic
  *
@@ -69,6 +75,22 @@ public class StorageWriter implements IWriter {
 	 */
 	private static final int FINALIZATION_TASKS_SLEEP_TIME = 500;
 
+	/**
+	 * Max amount of objects collected in one block before the block is submitted for writing.
+	 */
+	static final int BLOCK_MAX_OBJECTS = 1024;
+
+	/**
+	 * Period in milliseconds for submitting the block that did not reach the
+	 * {@link #BLOCK_MAX_OBJECTS}.
+	 */
+	private static final long BLOCK_FLUSH_PERIOD = 1000;
+
+	/**
+	 * Initial size of the buffer the objects of one block are serialized to. 64KB.
+	 */
+	private static final int BLOCK_BUFFER_SIZE = 64 * 1024;
+
 	/**
 	 * Total amount of tasks submitted to {@link #writingExecutorService}.
 	 */
@@ -169,6 +191,27 @@ public class StorageWriter implements IWriter {
 	 */
 	private ScheduledFuture<?> checkWritingStatusFuture;
 
+	/**
+	 * Future for the task of submitting the pending block.
+	 */
+	private ScheduledFuture<?> flushBlockFuture;
+
+	/**
+	 * Lock for the {@link #pendingBlockTask}.
+	 */
+	private final Object blockLock = new Object();
+
+	/**
+	 * Block task collecting the objects to write, not yet submitted to the
+	 * {@link #writingExecutorService}.
+	 */
+	private WriteBlockTask pendingBlockTask;
+
+	/**
+	 * Future task of the {@link #pendingBlockTask}.
+	 */
+	private WriteFutureTask pendingBlockFutureTask;
+
 	/**
 	 * The set of the currently active writing tasks represented by {@link FutureTask}. When this
 	 * set is empty, it means that no writing tasks is currently being executed.
@@ -235,6 +278,10 @@ public class StorageWriter implements IWriter {
 	 */
 	public void processSynchronously(Collection<? extends DefaultData> defaultDataList, Collection<AbstractDataProcessor> processors) {
 		Collection<Future<Void>> futures = this.process(defaultDataList, processors);
+		// no need to wait for the periodic block flush
+		synchronized (blockLock) {
+			submitPendingBlock();
+		}
 		while (!futures.isEmpty()) {
 			for (Iterator<Future<Void>> it = futures.iterator(); it.hasNext();) {
 				Future<Void> future = it.next();
@@ -267,7 +314,8 @@ public class StorageWriter implements IWriter {
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * This method is only submitting a new writing task, thus it is thread safe and very fast.
+	 * This method is only adding the data to the pending block, thus it is thread safe and very
+	 * fast. The returned future is shared by all objects of the block.
 	 */
 	@Override
 	public Future<Void> write(DefaultData defaultData, Map<?, ?> kryoPreferences) {
@@ -281,15 +329,42 @@ public class StorageWriter implements IWriter {
 			}
 
 			WriteTask writeTask = new WriteTask(defaultData, kryoPreferences);
-			WriteFutureTask writeFutureTask = new WriteFutureTask(writeTask);
-			activeWritingTasks.add(writeFutureTask);
-			writingExecutorService.submit(writeFutureTask);
-			return writeFutureTask;
+			synchronized (blockLock) {
+				// re-check as writing could be stopped in meantime
+				if (!writingOn) {
+					return null;
+				}
+
+				if (null == pendingBlockTask) {
+					pendingBlockTask = new WriteBlockTask();
+					pendingBlockFutureTask = new WriteFutureTask(pendingBlockTask);
+					activeWritingTasks.add(pendingBlockFutureTask);
+				}
+				pendingBlockTask.add(writeTask);
+				WriteFutureTask writeFutureTask = pendingBlockFutureTask;
+
+				if (pendingBlockTask.size() >= BLOCK_MAX_OBJECTS) {
+					submitPendingBlock();
+				}
+				return writeFutureTask;
+			}
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * Submits the pending block to the {@link #writingExecutorService} if one exists. Must be
+	 * called while holding the {@link #blockLock}.
+	 */
+	private void submitPendingBlock() {
+		if (null != pendingBlockTask) {
+			writingExecutorService.submit(pendingBlockFutureTask);
+			pendingBlockTask = null; // NOPMD
+			pendingBlockFutureTask = null; // NOPMD
+		}
+	}
+
 	/**
 	 * Informs the {@link StorageWriter} to prepare for writing. The writer will perform all
 	 * necessary operations so that calls to {@link #write(DefaultData)} can be executed. The
@@ -324,6 +399,18 @@ public class StorageWriter implements IWriter {
 				}
 			}, 30, 30, TimeUnit.SECONDS);
 
+			// submit the blocks that are not filled periodically
+			flushBlockFuture = scheduledExecutorService.scheduleWithFixedDelay(new Runnable() {
+				@Override
+				public void run() {
+					synchronized (blockLock) {
+						if (writingOn) {
+							submitPendingBlock();
+						}
+					}
+				}
+			}, BLOCK_FLUSH_PERIOD, BLOCK_FLUSH_PERIOD, TimeUnit.MILLISECONDS);
+
 			for (AbstractWriteDataProcessor processor : writeDataProcessors) {
 				try {
 					processor.onPrepare(storageManager, this, storageData);
@@ -397,11 +484,15 @@ public class StorageWriter implements IWriter {
 	 */
 	private synchronized void shutdown(boolean doFinalize) {
 		if (writingOn) {
-			// mark writing false so that no more task are created
-			writingOn = false;
+			// mark writing false so that no more task are created and submit the last block
+			synchronized (blockLock) {
+				writingOn = false;
+				submitPendingBlock();
+			}
 
-			// cancel the check writing status task
+			// cancel the check writing status and block flush tasks
 			checkWritingStatusFuture.cancel(false);
+			flushBlockFuture.cancel(false);
 
 			// wait for pending tasks
 			waitForPendingWritingTasks();
@@ -706,6 +797,218 @@ public class StorageWriter implements IWriter {
 
 	}
 
+	/**
+	 * Task for writing a block of {@link DefaultData} objects to the disk. Objects are indexed
+	 * first and then all objects belonging to the same channel are serialized together,
+	 * compressed and written as one {@link StorageBlock}. After the successful write all objects of
+	 * one block get the position and size of the block as their descriptor.
+	 *
+	 * @author agent
+	 *
+	 */
+	class WriteBlockTask implements Runnable {
+
+		/**
+		 * Write tasks of the objects in the block. Write tasks are not executed, but used for
+		 * tracking the write of a single object in the {@link StorageIndexingTreeHandler}.
+		 */
+		private final List<WriteTask> writeTasks = new ArrayList<>();
+
+		/**
+		 * Adds object to the block.
+		 *
+		 * @param writeTask
+		 *            Write task holding the object.
+		 */
+		void add(WriteTask writeTask) {
+			writeTasks.add(writeTask);
+		}
+
+		/**
+		 * Returns amount of objects in the block.
+		 *
+		 * @return Returns amount of objects in the block.
+		 */
+		int size() {
+			return writeTasks.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			try {
+				if (!storageManager.canWriteMore()) {
+					if (log.isWarnEnabled()) {
+						log.warn("Writing of data canceled because of limited hard disk space left for the storage.");
+					}
+					return;
+				}
+
+				// group by channel keeping the order of the objects
+				Map<Integer, List<WriteTask>> channelWriteTasks = new LinkedHashMap<>();
+				for (WriteTask writeTask : writeTasks) {
+					if (null == writeTask.getData()) {
+						log.warn("Failed to write data to storage. The data to be written was already garbage collected due to the high amount of writing tasks.");
+						continue;
+					}
+
+					int channelId = 0;
+					try {
+						channelId = indexingTreeHandler.startWrite(writeTask);
+					} catch (IndexingException e) {
+						indexingTreeHandler.writeFailed(writeTask);
+						if (log.isDebugEnabled()) {
+							log.debug("Indexing exception occurred while attempting to write data to disk.", e);
+						}
+						continue;
+					}
+
+					if (0 == channelId) {
+						indexingTreeHandler.writeFailed(writeTask);
+						log.error("Channel ID could not be obtained during attempt to write data to disk. Data will be skipped.");
+						continue;
+					}
+
+					List<WriteTask> tasks = channelWriteTasks.get(channelId);
+					if (null == tasks) {
+						tasks = new ArrayList<>();
+						channelWriteTasks.put(channelId, tasks);
+					}
+					tasks.add(writeTask);
+				}
+
+				for (Map.Entry<Integer, List<WriteTask>> entry : channelWriteTasks.entrySet()) {
+					writeBlock(entry.getKey().intValue(), entry.getValue());
+				}
+			} catch (Throwable t) { // NOPMD
+				// catch any exception
+				for (WriteTask writeTask : writeTasks) {
+					indexingTreeHandler.writeFailed(writeTask);
+				}
+				log.error("Unknown exception occurred during data write", t);
+			}
+		}
+
+		/**
+		 * Serializes, compresses and writes the objects of one channel as one block.
+		 *
+		 * @param channelId
+		 *            Channel to write to.
+		 * @param tasks
+		 *            Write tasks of the objects already indexed for the channel.
+		 */
+		private void writeBlock(int channelId, List<WriteTask> tasks) {
+			ExtendedByteBufferOutputStream extendedByteBufferOutputStream = null;
+			final List<WriteTask> serializedTasks = new ArrayList<>(tasks.size());
+			try {
+				ISerializer serializer = null;
+				try {
+					serializer = serializerQueue.take();
+				} catch (InterruptedException e1) {
+					Thread.interrupted();
+				}
+				if (null == serializer) {
+					for (WriteTask writeTask : tasks) {
+						indexingTreeHandler.writeFailed(writeTask);
+					}
+					log.error("Serializer instance could not be obtained.");
+					return;
+				}
+
+				try {
+					Output blockOutput = new Output(BLOCK_BUFFER_SIZE, -1);
+					for (WriteTask writeTask : tasks) {
+						DefaultData data = writeTask.getData();
+						int position = blockOutput.position();
+						try {
+							if (null == data) {
+								throw new SerializationException("Data to write was already garbage collected.");
+							}
+							serializer.serialize(data, blockOutput, writeTask.kryoPreferences);
+							serializedTasks.add(writeTask);
+						} catch (SerializationException e) {
+							// skip only the object that failed
+							blockOutput.setPosition(position);
+							indexingTreeHandler.writeFailed(writeTask);
+							if (log.isWarnEnabled()) {
+								log.warn("Serialization for the object " + data + " failed. Data will be skipped.", e);
+							}
+						}
+					}
+
+					if (serializedTasks.isEmpty()) {
+						return;
+					}
+
+					StorageBlock storageBlock = StorageBlock.compress(blockOutput.getBuffer(), blockOutput.position(), serializedTasks.size());
+					extendedByteBufferOutputStream = streamProvider.getExtendedByteBufferOutputStream();
+					serializer.serialize(storageBlock, new Output(extendedByteBufferOutputStream));
+					extendedByteBufferOutputStream.flush(false);
+				} catch (SerializationException e) {
+					if (null != extendedByteBufferOutputStream) {
+						extendedByteBufferOutputStream.close();
+					}
+					for (WriteTask writeTask : serializedTasks) {
+						indexingTreeHandler.writeFailed(writeTask);
+					}
+					if (log.isWarnEnabled()) {
+						log.warn("Serialization of the storage block failed. Data will be skipped.", e);
+					}
+					return;
+				} finally {
+					serializerQueue.add(serializer);
+				}
+
+				// final reference needed because of the runnable
+				int buffersToWrite = extendedByteBufferOutputStream.getBuffersCount();
+				final ExtendedByteBufferOutputStream finalOutputStream = extendedByteBufferOutputStream;
+				WriteReadCompletionRunnable completionRunnable = new WriteReadCompletionRunnable(buffersToWrite) {
+					@Override
+					public void run() {
+						finalOutputStream.close();
+						if (isCompleted()) {
+							// all objects of the block point to the block
+							for (WriteTask writeTask : serializedTasks) {
+								indexingTreeHandler.writeSuccessful(writeTask, getAttemptedWriteReadPosition(), getAttemptedWriteReadSize());
+							}
+						} else {
+							for (WriteTask writeTask : serializedTasks) {
+								indexingTreeHandler.writeFailed(writeTask);
+							}
+						}
+					}
+				};
+
+				// write to disk
+				Path channelPath = storageManager.getChannelPath(storageData, channelId);
+				openedChannelPaths.add(channelPath);
+				try {
+					// position and size will be set in the completion runnable
+					writingChannelManager.write(extendedByteBufferOutputStream, channelPath, completionRunnable);
+				} catch (IOException e) {
+					// remove from indexing tree if exception occurs
+					extendedByteBufferOutputStream.close();
+					for (WriteTask writeTask : serializedTasks) {
+						indexingTreeHandler.writeFailed(writeTask);
+					}
+					log.error("Exception occurred while attempting to write data to disk", e);
+				}
+			} catch (Throwable t) { // NOPMD
+				// catch any exception
+				if (null != extendedByteBufferOutputStream) {
+					extendedByteBufferOutputStream.close();
+				}
+				for (WriteTask writeTask : tasks) {
+					indexingTreeHandler.writeFailed(writeTask);
+				}
+				log.error("Unknown exception occurred during data write", t);
+			}
+		}
+
+	}
+
 	/**
 	 * Writing future task that will remove itself from the {@link StorageWriter#activeWritingTasks}
 	 * set after the completion of runnable it has been assigned.
@@ -0,0 +1,191 @@
+package rocks.inspectit.shared.cs.storage.block;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.commons.lang.builder.ToStringBuilder;
+
+import rocks.inspectit.shared.all.serializer.SerializationException;
+
+/**
+ * Block of serialized objects written to one storage channel. The block holds the serialized bytes
+ * of the objects compressed and the checksum of the uncompressed bytes, so that corrupted blocks
+ * are detected when read.
+ * <p>
+ * All objects in the block share the descriptor of the block in the indexing tree.
+ * <P>
+ * <b>Important:</b><br>
+ * Changing this class can cause the break of the backward/forward compatibility of the storage in
+ * the way that we will not be able to read any data from the storage. Thus, please be careful with
+ * performing any changes until there is a proper mechanism to protect against this problem.
+ *
+ * @author agent
+ *
+ */
+public class StorageBlock {
+
+	/**
+	 * Amount of objects in the block.
+	 */
+	private int objectCount;
+
+	/**
+	 * Size of the serialized objects before compression.
+	 */
+	private int uncompressedSize;
+
+	/**
+	 * CRC32 checksum of the uncompressed bytes.
+	 */
+	private long checksum;
+
+	/**
+	 * Compressed bytes.
+	 */
+	private byte[] data;
+
+	/**
+	 * No-arg constructor for serialization.
+	 */
+	public StorageBlock() {
+	}
+
+	/**
+	 * Creates the block by compressing the given bytes.
+	 *
+	 * @param bytes
+	 *            Serialized objects.
+	 * @param length
+	 *            Amount of bytes to compress, starting from the first one.
+	 * @param objectCount
+	 *            Amount of objects serialized in the bytes.
+	 * @return New block.
+	 */
+	public static StorageBlock compress(byte[] bytes, int length, int objectCount) {
+		StorageBlock storageBlock = new StorageBlock();
+		storageBlock.objectCount = objectCount;
+		storageBlock.uncompressedSize = length;
+		storageBlock.checksum = checksum(bytes, length);
+
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(bytes, 0, length);
+			deflater.finish();
+			byte[] buffer = new byte[Math.max(64, length + (length >> 3))];
+			int compressedSize = 0;
+			while (!deflater.finished()) {
+				if (compressedSize == buffer.length) {
+					buffer = Arrays.copyOf(buffer, buffer.length * 2);
+				}
+				compressedSize += deflater.deflate(buffer, compressedSize, buffer.length - compressedSize);
+			}
+			storageBlock.data = Arrays.copyOf(buffer, compressedSize);
+		} finally {
+			deflater.end();
+		}
+		return storageBlock;
+	}
+
+	/**
+	 * Decompresses the block and verifies the checksum.
+	 *
+	 * @return Serialized objects.
+	 * @throws SerializationException
+	 *             If block can not be decompressed or the checksum does not match.
+	 */
+	public byte[] decompress() throws SerializationException {
+		byte[] bytes = new byte[uncompressedSize];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			int size = 0;
+			while ((size < uncompressedSize) && !inflater.finished()) {
+				int inflated = inflater.inflate(bytes, size, uncompressedSize - size);
+				if ((0 == inflated) && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				size += inflated;
+			}
+			if (size != uncompressedSize) {
+				throw new SerializationException("Storage block is truncated, expected " + uncompressedSize + " bytes and got " + size + ".");
+			}
+		} catch (DataFormatException e) {
+			throw new SerializationException("Storage block can not be decompressed.", e);
+		} finally {
+			inflater.end();
+		}
+
+		if (checksum(bytes, uncompressedSize) != checksum) {
+			throw new SerializationException("Storage block checksum does not match.");
+		}
+		return bytes;
+	}
+
+	/**
+	 * Calculates the CRC32 checksum of the bytes.
+	 *
+	 * @param bytes
+	 *            Bytes.
+	 * @param length
+	 *            Amount of bytes to include, starting from the first one.
+	 * @return Checksum.
+	 */
+	private static long checksum(byte[] bytes, int length) {
+		CRC32 crc32 = new CRC32();
+		crc32.update(bytes, 0, length);
+		return crc32.getValue();
+	}
+
+	/**
+	 * Gets {@link #objectCount}.
+	 *
+	 * @return {@link #objectCount}
+	 */
+	public int getObjectCount() {
+		return objectCount;
+	}
+
+	/**
+	 * Gets {@link #uncompressedSize}.
+	 *
+	 * @return {@link #uncompressedSize}
+	 */
+	public int getUncompressedSize() {
+		return uncompressedSize;
+	}
+
+	/**
+	 * Gets {@link #checksum}.
+	 *
+	 * @return {@link #checksum}
+	 */
+	public long getChecksum() {
+		return checksum;
+	}
+
+	/**
+	 * Gets the size of the compressed data.
+	 *
+	 * @return Size of the compressed data.
+	 */
+	public int getCompressedSize() {
+		return (null != data) ? data.length : 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		ToStringBuilder toStringBuilder = new ToStringBuilder(this);
+		toStringBuilder.append("objectCount", objectCount);
+		toStringBuilder.append("uncompressedSize", uncompressedSize);
+		toStringBuilder.append("compressedSize", getCompressedSize());
+		toStringBuilder.append("checksum", checksum);
+		return toStringBuilder.toString();
+	}
+
+}
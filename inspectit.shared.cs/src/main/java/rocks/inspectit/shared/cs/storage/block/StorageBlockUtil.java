@@ -0,0 +1,55 @@
+package rocks.inspectit.shared.cs.storage.block;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.esotericsoftware.kryo.io.Input;
+
+import rocks.inspectit.shared.all.serializer.ISerializer;
+import rocks.inspectit.shared.all.serializer.SerializationException;
+
+/**
+ * Utilities for reading the storage data written in {@link StorageBlock}s.
+ *
+ * @author agent
+ *
+ */
+public final class StorageBlockUtil {
+
+	/**
+	 * Private constructor.
+	 */
+	private StorageBlockUtil() {
+	}
+
+	/**
+	 * De-serializes the next object from the input. If the object is a {@link StorageBlock} the
+	 * block is decompressed and all objects contained in the block are returned. Otherwise the
+	 * de-serialized object is returned as the only element of the list, thus storages written
+	 * without blocks can be read with this method as well.
+	 *
+	 * @param serializer
+	 *            {@link ISerializer} to use.
+	 * @param input
+	 *            Input to read from.
+	 * @return List of de-serialized objects.
+	 * @throws SerializationException
+	 *             If de-serialization fails or the block is corrupted.
+	 */
+	public static List<Object> deserialize(ISerializer serializer, Input input) throws SerializationException {
+		Object object = serializer.deserialize(input);
+		if (!(object instanceof StorageBlock)) {
+			return Collections.singletonList(object);
+		}
+
+		StorageBlock storageBlock = (StorageBlock) object;
+		List<Object> result = new ArrayList<>(storageBlock.getObjectCount());
+		Input blockInput = new Input(storageBlock.decompress());
+		while (blockInput.position() < blockInput.limit()) {
+			result.add(serializer.deserialize(blockInput));
+		}
+		return result;
+	}
+
+}
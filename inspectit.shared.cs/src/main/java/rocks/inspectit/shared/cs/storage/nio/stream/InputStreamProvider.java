@@ -37,4 +37,30 @@ public abstract class InputStreamProvider {
 	 * @return Returns the newly initialized instance of the {@link ExtendedByteBufferInputStream}.
 	 */
 	protected abstract ExtendedByteBufferInputStream createExtendedByteBufferInputStream();
+
+	/**
+	 * Returns the stream that memory maps the storage files for reading. This stream should be
+	 * preferred when the storage files are located on the local disk.
+	 *
+	 * @param storageData
+	 *            {@link IStorageData} to get the data for.
+	 * @param descriptors
+	 *            List of descriptors that point to the data.
+	 *
+	 * @return Returns the newly initialized instance of the {@link MappedByteBufferInputStream}.
+	 * @throws IOException
+	 *             if storage files can not be mapped
+	 */
+	public MappedByteBufferInputStream getMappedByteBufferInputStream(IStorageData storageData, List<IStorageDescriptor> descriptors) throws IOException {
+		MappedByteBufferInputStream stream = createMappedByteBufferInputStream();
+		stream.setStorageData(storageData);
+		stream.setDescriptors(descriptors);
+		stream.prepare();
+		return stream;
+	}
+
+	/**
+	 * @return Returns the newly initialized instance of the {@link MappedByteBufferInputStream}.
+	 */
+	protected abstract MappedByteBufferInputStream createMappedByteBufferInputStream();
 }
@@ -0,0 +1,431 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.Resource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
+import rocks.inspectit.shared.cs.storage.IStorageData;
+import rocks.inspectit.shared.cs.storage.StorageManager;
+
+/**
+ * Input stream that reads the storage data by memory mapping the storage channel files. The
+ * descriptors are exposed as slices of the mapped regions, thus the data is not copied into
+ * intermediate buffers before it's streamed. The descriptors are streamed in the given order.
+ * <p>
+ * The descriptors of the same channel are grouped into regions of max {@value #MAX_REGION_SIZE}
+ * bytes, so that one mapping serves many descriptors. After the stream is prepared, the pages of
+ * the slices are loaded in parallel with the {@link ExecutorService}, so that the reader does not
+ * have to wait on the disk for every descriptor.
+ * <p>
+ * It's a must to call a {@link #close()} after the stream has been used. Closing waits for the
+ * running pre-loading tasks and unmaps the regions right away, so that the mapped memory is not
+ * held until the regions are garbage collected. If the JVM does not allow unmapping, the regions
+ * are released when garbage collected.
+ *
+ * @author agent
+ *
+ */
+@Component
+@Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+@Lazy
+public class MappedByteBufferInputStream extends InputStream {
+
+	/**
+	 * Max size of the one mapped region. 256MB.
+	 */
+	static final long MAX_REGION_SIZE = 256 * 1024 * 1024;
+
+	/**
+	 * Size of the memory page, used when pre-loading the slices.
+	 */
+	private static final int PAGE_SIZE = 4096;
+
+	/**
+	 * Max amount of the parallel pre-loading tasks.
+	 */
+	private static final int MAX_LOAD_TASKS = 4;
+
+	/**
+	 * {@link StorageManager}.
+	 */
+	@Autowired
+	private StorageManager storageManager;
+
+	/**
+	 * {@link ExecutorService} for pre-loading tasks executions.
+	 */
+	@Autowired
+	@Resource(name = "IOExecutorService")
+	private ExecutorService executorService;
+
+	/**
+	 * {@link IStorageData} to read data for.
+	 */
+	private IStorageData storageData;
+
+	/**
+	 * List of descriptors that point to the data.
+	 */
+	private List<IStorageDescriptor> descriptors;
+
+	/**
+	 * Slices of the mapped regions in the order of descriptors.
+	 */
+	private List<ByteBuffer> slices;
+
+	/**
+	 * Mapped regions the slices are created from.
+	 */
+	private final List<MappedByteBuffer> regions = new ArrayList<>();
+
+	/**
+	 * Lock held by the pre-loading tasks while touching the regions. The write lock is acquired on
+	 * close, so that no region is unmapped while a task is still touching it.
+	 */
+	private final ReadWriteLock regionsLock = new ReentrantReadWriteLock();
+
+	/**
+	 * Index of the slice currently streamed.
+	 */
+	private int currentSlice;
+
+	/**
+	 * Amount of bytes left to stream.
+	 */
+	private long bytesLeft;
+
+	/**
+	 * Futures of the pre-loading tasks.
+	 */
+	private final List<Future<?>> loadFutures = new ArrayList<>(MAX_LOAD_TASKS);
+
+	/**
+	 * If stream has been closed.
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Prepares the stream for read. Must be called before any read operation is executed.
+	 *
+	 * @throws IOException
+	 *             If channel files can not be mapped.
+	 */
+	public void prepare() throws IOException {
+		Map<IStorageDescriptor, ByteBuffer> descriptorSlices = new LinkedHashMap<>(descriptors.size());
+		for (List<IStorageDescriptor> channelDescriptors : getDescriptorsPerChannel().values()) {
+			mapChannel(channelDescriptors, descriptorSlices);
+		}
+
+		slices = new ArrayList<>(descriptors.size());
+		bytesLeft = 0;
+		for (IStorageDescriptor descriptor : descriptors) {
+			ByteBuffer slice = descriptorSlices.get(descriptor).duplicate();
+			slices.add(slice);
+			bytesLeft += slice.remaining();
+		}
+
+		submitLoadTasks();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int available() throws IOException {
+		return (int) Math.min(bytesLeft, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read() throws IOException {
+		ByteBuffer slice = nextSlice();
+		if (null == slice) {
+			return -1;
+		}
+		bytesLeft--;
+		return slice.get() & 0xFF;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (0 == len) {
+			return 0;
+		}
+
+		int read = 0;
+		while (read < len) {
+			ByteBuffer slice = nextSlice();
+			if (null == slice) {
+				break;
+			}
+			int count = Math.min(len - read, slice.remaining());
+			slice.get(b, off + read, count);
+			read += count;
+		}
+
+		if (0 == read) {
+			return -1;
+		}
+		bytesLeft -= read;
+		return read;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Cancels the pre-loading and unmaps the regions.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		for (Future<?> future : loadFutures) {
+			future.cancel(false);
+		}
+		loadFutures.clear();
+		slices = Collections.emptyList();
+		bytesLeft = 0;
+
+		// wait for the running pre-loading tasks, the ones that start later see the closed flag
+		regionsLock.writeLock().lock();
+		try {
+			for (MappedByteBuffer region : regions) {
+				unmap(region);
+			}
+			regions.clear();
+		} finally {
+			regionsLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Unmaps the region by invoking the cleaner of the buffer. The cleaner is not a public API,
+	 * thus if it can not be invoked the region stays mapped until it's garbage collected.
+	 *
+	 * @param region
+	 *            Region to unmap.
+	 */
+	private static void unmap(MappedByteBuffer region) {
+		try {
+			Method cleanerMethod = region.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(region);
+			if (null != cleaner) {
+				Method cleanMethod = cleaner.getClass().getMethod("clean");
+				cleanMethod.setAccessible(true);
+				cleanMethod.invoke(cleaner);
+			}
+		} catch (Exception e) { // NOPMD
+			// not possible to unmap on this JVM, region is released when garbage collected
+		}
+	}
+
+	/**
+	 * Returns the slice that has remaining bytes to stream.
+	 *
+	 * @return Slice or <code>null</code> if all slices are streamed.
+	 * @throws IOException
+	 *             If stream is closed.
+	 */
+	private ByteBuffer nextSlice() throws IOException {
+		if (closed) {
+			throw new IOException("Stream is closed.");
+		}
+		while (currentSlice < slices.size()) {
+			ByteBuffer slice = slices.get(currentSlice);
+			if (slice.hasRemaining()) {
+				return slice;
+			}
+			currentSlice++;
+		}
+		return null;
+	}
+
+	/**
+	 * Groups the descriptors by channel and sorts them by position.
+	 *
+	 * @return Descriptors mapped to the channel id.
+	 */
+	private Map<Integer, List<IStorageDescriptor>> getDescriptorsPerChannel() {
+		Map<Integer, List<IStorageDescriptor>> result = new LinkedHashMap<>();
+		for (IStorageDescriptor descriptor : descriptors) {
+			List<IStorageDescriptor> channelDescriptors = result.get(descriptor.getChannelId());
+			if (null == channelDescriptors) {
+				channelDescriptors = new ArrayList<>();
+				result.put(descriptor.getChannelId(), channelDescriptors);
+			}
+			channelDescriptors.add(descriptor);
+		}
+
+		for (List<IStorageDescriptor> channelDescriptors : result.values()) {
+			Collections.sort(channelDescriptors, new Comparator<IStorageDescriptor>() {
+				@Override
+				public int compare(IStorageDescriptor o1, IStorageDescriptor o2) {
+					return Long.compare(o1.getPosition(), o2.getPosition());
+				}
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Maps the regions of one channel file and creates slices for the descriptors.
+	 *
+	 * @param channelDescriptors
+	 *            Descriptors of one channel sorted by position.
+	 * @param descriptorSlices
+	 *            Map to put the slices to.
+	 * @throws IOException
+	 *             If channel file can not be mapped.
+	 */
+	private void mapChannel(List<IStorageDescriptor> channelDescriptors, Map<IStorageDescriptor, ByteBuffer> descriptorSlices) throws IOException {
+		Path channelPath = storageManager.getChannelPath(storageData, channelDescriptors.get(0));
+		try (FileChannel fileChannel = FileChannel.open(channelPath, StandardOpenOption.READ)) {
+			int regionStart = 0;
+			while (regionStart < channelDescriptors.size()) {
+				long regionPosition = channelDescriptors.get(regionStart).getPosition();
+				long regionEnd = regionPosition + channelDescriptors.get(regionStart).getSize();
+				int regionEndIndex = regionStart + 1;
+				while (regionEndIndex < channelDescriptors.size()) {
+					IStorageDescriptor next = channelDescriptors.get(regionEndIndex);
+					long nextEnd = Math.max(regionEnd, next.getPosition() + next.getSize());
+					if ((nextEnd - regionPosition) > MAX_REGION_SIZE) {
+						break;
+					}
+					regionEnd = nextEnd;
+					regionEndIndex++;
+				}
+
+				MappedByteBuffer region = fileChannel.map(MapMode.READ_ONLY, regionPosition, regionEnd - regionPosition);
+				regions.add(region);
+				for (int i = regionStart; i < regionEndIndex; i++) {
+					IStorageDescriptor descriptor = channelDescriptors.get(i);
+					ByteBuffer slice = region.duplicate();
+					slice.position((int) (descriptor.getPosition() - regionPosition));
+					slice.limit((int) ((descriptor.getPosition() - regionPosition) + descriptor.getSize()));
+					descriptorSlices.put(descriptor, slice.slice());
+				}
+				regionStart = regionEndIndex;
+			}
+		}
+	}
+
+	/**
+	 * Submits tasks that touch the pages of the slices, so that the pages are loaded in parallel
+	 * before the reader gets to them.
+	 */
+	private void submitLoadTasks() {
+		if ((null == executorService) || slices.isEmpty()) {
+			return;
+		}
+
+		int tasks = Math.min(MAX_LOAD_TASKS, slices.size());
+		for (int i = 0; i < tasks; i++) {
+			final List<ByteBuffer> taskSlices = new ArrayList<>();
+			for (int j = i; j < slices.size(); j += tasks) {
+				taskSlices.add(slices.get(j).duplicate());
+			}
+			loadFutures.add(executorService.submit(new Runnable() {
+				@Override
+				public void run() {
+					regionsLock.readLock().lock();
+					try {
+						for (ByteBuffer slice : taskSlices) {
+							for (int position = 0; position < slice.limit(); position += PAGE_SIZE) {
+								if (closed) {
+									return;
+								}
+								slice.get(position);
+							}
+						}
+					} finally {
+						regionsLock.readLock().unlock();
+					}
+				}
+			}));
+		}
+	}
+
+	/**
+	 * Sets {@link #storageData}.
+	 *
+	 * @param storageData
+	 *            New value for {@link #storageData}
+	 */
+	public void setStorageData(IStorageData storageData) {
+		this.storageData = storageData;
+	}
+
+	/**
+	 * Gets {@link #descriptors}.
+	 *
+	 * @return {@link #descriptors}
+	 */
+	public List<IStorageDescriptor> getDescriptors() {
+		return descriptors;
+	}
+
+	/**
+	 * Sets {@link #descriptors}.
+	 *
+	 * @param descriptors
+	 *            New value for {@link #descriptors}
+	 */
+	public void setDescriptors(List<IStorageDescriptor> descriptors) {
+		this.descriptors = descriptors;
+	}
+
+	/**
+	 * Sets {@link #storageManager}.
+	 *
+	 * @param storageManager
+	 *            New value for {@link #storageManager}
+	 */
+	public void setStorageManager(StorageManager storageManager) {
+		this.storageManager = storageManager;
+	}
+
+	/**
+	 * Sets {@link #executorService}.
+	 *
+	 * @param executorService
+	 *            New value for {@link #executorService}
+	 */
+	public void setExecutorService(ExecutorService executorService) {
+		this.executorService = executorService;
+	}
+
+}
@@ -79,11 +79,13 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.RemoteUrlConnectionClient
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.special.impl.ExecutorIntercepterSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentTelemetrySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.MemorySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.RuntimeSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SamplingProfilerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 import rocks.inspectit.shared.cs.ci.strategy.impl.DisruptorStrategyConfig;
@@ -134,6 +136,7 @@ import rocks.inspectit.shared.cs.communication.data.cmr.WritingStatus;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.ExceptionDataAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.HttpTimerDataAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.SqlStatementDataAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimeBucketAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimerDataAggregator;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.InvocationChildrenIndexer;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.MethodIdentIndexer;
@@ -150,6 +153,7 @@ import rocks.inspectit.shared.cs.indexing.storage.impl.StorageBranchIndexer;
 import rocks.inspectit.shared.cs.storage.LocalStorageData;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageData.StorageState;
+import rocks.inspectit.shared.cs.storage.block.StorageBlock;
 import rocks.inspectit.shared.cs.storage.label.BooleanStorageLabel;
 import rocks.inspectit.shared.cs.storage.label.DateStorageLabel;
 import rocks.inspectit.shared.cs.storage.label.NumberStorageLabel;
@@ -464,6 +468,18 @@ public class SerializationManagerPostProcessor implements BeanPostProcessor {
 		
 		// INSPECTIT-2528
 		kryo.register(EumDomEventSelector.class, new FieldSerializer<EumDomEventSelector>(kryo, EumDomEventSelector.class), nextRegistrationId++);
+
+		// storage blocks
+		kryo.register(StorageBlock.class, new FieldSerializer<StorageBlock>(kryo, StorageBlock.class), nextRegistrationId++);
+
+		// sampling profiler
+		kryo.register(SamplingProfilerSensorConfig.class, new FieldSerializer<SamplingProfilerSensorConfig>(kryo, SamplingProfilerSensorConfig.class), nextRegistrationId++);
+
+		// agent telemetry
+		kryo.register(AgentTelemetrySensorConfig.class, new FieldSerializer<AgentTelemetrySensorConfig>(kryo, AgentTelemetrySensorConfig.class), nextRegistrationId++);
+
+		// time bucket aggregation of the charting data
+		kryo.register(TimeBucketAggregator.class, new FieldSerializer<TimeBucketAggregator<?>>(kryo, TimeBucketAggregator.class), nextRegistrationId++);
 	}
 
 }
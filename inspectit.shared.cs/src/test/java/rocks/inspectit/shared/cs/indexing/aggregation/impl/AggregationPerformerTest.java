@@ -0,0 +1,139 @@
+package rocks.inspectit.shared.cs.indexing.aggregation.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+
+/**
+ * Tests the {@link AggregationPerformer}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class AggregationPerformerTest {
+
+	/**
+	 * Aggregated object must carry the highest ID of the aggregated elements when tracking.
+	 */
+	@Test
+	public void aggregatedObjectHasHighestId() {
+		TimerData data1 = createTimerData(7L, 10L);
+		TimerData data2 = createTimerData(3L, 10L);
+
+		AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR, true);
+		aggregationPerformer.processCollection(Collections.singletonList(data1));
+		aggregationPerformer.processCollection(Collections.singletonList(data2));
+		List<TimerData> result = aggregationPerformer.getResultList();
+
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).getId(), is(7L));
+		assertThat(result.get(0).getCount(), is(2L));
+	}
+
+	/**
+	 * Aggregated object keeps the ID of the clone when not tracking.
+	 */
+	@Test
+	public void aggregatedObjectKeepsCloneId() {
+		TimerData data1 = createTimerData(7L, 10L);
+		TimerData data2 = createTimerData(3L, 10L);
+
+		AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR);
+		aggregationPerformer.processCollection(Collections.singletonList(data1));
+		aggregationPerformer.processCollection(Collections.singletonList(data2));
+		List<TimerData> result = aggregationPerformer.getResultList();
+
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).getId(), is(0L));
+		assertThat(result.get(0).getCount(), is(2L));
+	}
+
+	/**
+	 * Aggregating already aggregated results with the delta gives the same result as aggregating
+	 * all elements at once. Only the server results carry the highest IDs, the merged results keep
+	 * the ID of the clone, so that they stay equal between the updates.
+	 */
+	@Test
+	public void incrementalAggregation() {
+		List<TimerData> initial = new ArrayList<>();
+		Collections.addAll(initial, createTimerData(1L, 10L), createTimerData(2L, 10L), createTimerData(3L, 20L));
+		List<TimerData> delta = new ArrayList<>();
+		Collections.addAll(delta, createTimerData(4L, 10L), createTimerData(5L, 30L));
+
+		AggregationPerformer<TimerData> serverPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR, true);
+		serverPerformer.processCollection(initial);
+		List<TimerData> initialAggregated = serverPerformer.getResultList();
+		serverPerformer.reset();
+		serverPerformer.processCollection(delta);
+		List<TimerData> deltaAggregated = serverPerformer.getResultList();
+		assertThat(getHighestId(initialAggregated), is(3L));
+		assertThat(getHighestId(deltaAggregated), is(5L));
+
+		AggregationPerformer<TimerData> clientPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR);
+		clientPerformer.processCollection(initialAggregated);
+		clientPerformer.processCollection(deltaAggregated);
+		List<TimerData> result = clientPerformer.getResultList();
+
+		assertThat(result, hasSize(3));
+		for (TimerData timerData : result) {
+			if (timerData.getMethodIdent() == 10L) {
+				assertThat(timerData.getCount(), is(3L));
+				assertThat(timerData.getId(), is(0L));
+			} else if (timerData.getMethodIdent() == 20L) {
+				assertThat(timerData.getCount(), is(1L));
+				assertThat(timerData.getId(), is(0L));
+			} else {
+				assertThat(timerData.getMethodIdent(), is(30L));
+				assertThat(timerData.getCount(), is(1L));
+				assertThat(timerData.getId(), is(0L));
+			}
+		}
+	}
+
+	/**
+	 * Returns the highest ID of the given timer data.
+	 *
+	 * @param data
+	 *            Timer data
+	 * @return Highest ID
+	 */
+	private long getHighestId(List<TimerData> data) {
+		long highestId = 0;
+		for (TimerData timerData : data) {
+			highestId = Math.max(highestId, timerData.getId());
+		}
+		return highestId;
+	}
+
+	/**
+	 * Creates the timer data with given ID and method ident.
+	 *
+	 * @param id
+	 *            ID
+	 * @param methodIdent
+	 *            Method ident
+	 * @return {@link TimerData}
+	 */
+	private TimerData createTimerData(long id, long methodIdent) {
+		TimerData timerData = new TimerData();
+		timerData.setId(id);
+		timerData.setPlatformIdent(1L);
+		timerData.setSensorTypeIdent(1L);
+		timerData.setMethodIdent(methodIdent);
+		timerData.setCount(1L);
+		timerData.setDuration(10d);
+		timerData.calculateMin(10d);
+		timerData.calculateMax(10d);
+		return timerData;
+	}
+}
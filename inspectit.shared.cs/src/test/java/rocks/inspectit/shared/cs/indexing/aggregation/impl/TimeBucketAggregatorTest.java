@@ -0,0 +1,126 @@
+package rocks.inspectit.shared.cs.indexing.aggregation.impl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+
+/**
+ * Tests the {@link TimeBucketAggregator}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class TimeBucketAggregatorTest {
+
+	/**
+	 * Data in same bucket and with same aggregation key is aggregated, time stamp is the bucket
+	 * middle.
+	 */
+	@Test
+	public void aggregateInBuckets() {
+		List<TimerData> data = new ArrayList<>();
+		Collections.addAll(data, createTimerData(1500L, 10L), createTimerData(1100L, 10L), createTimerData(1200L, 20L), createTimerData(1000L, 10L));
+
+		List<TimerData> result = aggregate(data, 500L);
+
+		assertThat(result, hasSize(3));
+		for (TimerData timerData : result) {
+			if (timerData.getMethodIdent() == 20L) {
+				assertThat(timerData.getCount(), is(1L));
+				assertThat(timerData.getTimeStamp().getTime(), is(1250L));
+			} else if (timerData.getTimeStamp().getTime() == 1250L) {
+				assertThat(timerData.getCount(), is(2L));
+			} else {
+				assertThat(timerData.getTimeStamp().getTime(), is(1750L));
+				assertThat(timerData.getCount(), is(1L));
+			}
+		}
+		assertThat(result.get(2).getTimeStamp().getTime(), is(1750L));
+	}
+
+	/**
+	 * Buckets are aligned to the multiples of the width, so the buckets of two loads can be merged.
+	 */
+	@Test
+	public void bucketsAlignedToWidth() {
+		List<TimerData> data = new ArrayList<>();
+		Collections.addAll(data, createTimerData(1099L, 10L), createTimerData(1100L, 10L), createTimerData(1150L, 10L));
+
+		List<TimerData> result = aggregate(data, 100L);
+
+		assertThat(result, hasSize(2));
+		assertThat(result.get(0).getTimeStamp().getTime(), is(1050L));
+		assertThat(result.get(0).getCount(), is(1L));
+		assertThat(result.get(1).getTimeStamp().getTime(), is(1150L));
+		assertThat(result.get(1).getCount(), is(2L));
+	}
+
+	/**
+	 * Bucket start for negative times is floored.
+	 */
+	@Test
+	public void bucketStartNegative() {
+		assertThat(TimeBucketAggregator.getBucketStart(-1L, 100L), is(-100L));
+		assertThat(TimeBucketAggregator.getBucketStart(-100L, 100L), is(-100L));
+		assertThat(TimeBucketAggregator.getBucketStart(199L, 100L), is(100L));
+	}
+
+	/**
+	 * Bucket width must be positive.
+	 */
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void zeroBucketWidth() {
+		new TimeBucketAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, 0L);
+	}
+
+	/**
+	 * Aggregates the data with the {@link TimeBucketAggregator} and sorts the result by time.
+	 *
+	 * @param data
+	 *            Data to aggregate.
+	 * @param bucketWidth
+	 *            Bucket width.
+	 * @return Aggregated data.
+	 */
+	private List<TimerData> aggregate(List<TimerData> data, long bucketWidth) {
+		AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(new TimeBucketAggregator<>(Aggregators.TIMER_DATA_AGGREGATOR, bucketWidth));
+		aggregationPerformer.processCollection(data);
+		List<TimerData> result = aggregationPerformer.getResultList();
+		Collections.sort(result, DefaultDataComparatorEnum.TIMESTAMP);
+		return result;
+	}
+
+	/**
+	 * Creates the timer data with given time stamp and method ident.
+	 *
+	 * @param time
+	 *            Time stamp
+	 * @param methodIdent
+	 *            Method ident
+	 * @return {@link TimerData}
+	 */
+	private TimerData createTimerData(long time, long methodIdent) {
+		TimerData timerData = new TimerData();
+		timerData.setTimeStamp(new Timestamp(time));
+		timerData.setPlatformIdent(1L);
+		timerData.setSensorTypeIdent(1L);
+		timerData.setMethodIdent(methodIdent);
+		timerData.setCount(1L);
+		timerData.setDuration(10d);
+		timerData.calculateMin(10d);
+		timerData.calculateMax(10d);
+		return timerData;
+	}
+}
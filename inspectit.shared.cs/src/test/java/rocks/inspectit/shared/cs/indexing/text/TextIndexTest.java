@@ -0,0 +1,146 @@
+package rocks.inspectit.shared.cs.indexing.text;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpInfo;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
+import rocks.inspectit.shared.all.communication.data.ParameterContentData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
+
+/**
+ * Tests the {@link TextIndex}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class TextIndexTest {
+
+	TextIndex<DefaultData> textIndex;
+
+	@BeforeMethod
+	public void init() {
+		textIndex = new TextIndex<>();
+	}
+
+	public static class Query extends TextIndexTest {
+
+		@Test
+		public void sql() {
+			SqlStatementData sql = sql(1L, "SELECT * FROM USERS WHERE ID = ?");
+			SqlStatementData other = sql(2L, "SELECT * FROM ORDERS");
+			textIndex.put(sql);
+			textIndex.put(other);
+
+			List<DefaultData> result = textIndex.query("from users");
+
+			assertThat(result, contains((DefaultData) sql));
+		}
+
+		@Test
+		public void sameTextManyElements() {
+			SqlStatementData sql1 = sql(1L, "SELECT * FROM USERS");
+			SqlStatementData sql2 = sql(2L, "SELECT * FROM USERS");
+			textIndex.put(sql1);
+			textIndex.put(sql2);
+
+			List<DefaultData> result = textIndex.query("users");
+
+			assertThat(result, containsInAnyOrder((DefaultData) sql1, sql2));
+			assertThat(textIndex.getNumberOfTexts(), is(1L));
+		}
+
+		@Test
+		public void uri() {
+			HttpTimerData http = new HttpTimerData();
+			http.setId(1L);
+			http.setHttpInfo(new HttpInfo("/shop/checkout", "GET", null));
+			textIndex.put(http);
+
+			List<DefaultData> result = textIndex.query("CHECKOUT");
+
+			assertThat(result, contains((DefaultData) http));
+		}
+
+		@Test
+		public void exceptionMessageAndCause() {
+			ExceptionSensorData exception = new ExceptionSensorData();
+			exception.setId(1L);
+			exception.setErrorMessage("Connection refused");
+			exception.setCause("Timeout reached");
+			textIndex.put(exception);
+
+			assertThat(textIndex.query("refused"), contains((DefaultData) exception));
+			assertThat(textIndex.query("timeout"), contains((DefaultData) exception));
+			assertThat(textIndex.query("on"), contains((DefaultData) exception));
+		}
+
+		@Test
+		public void parameterContent() {
+			TimerData timerData = new TimerData();
+			timerData.setId(1L);
+			ParameterContentData parameterContentData = new ParameterContentData();
+			parameterContentData.setContent("'order-4711'");
+			timerData.setParameterContentData(Collections.singleton(parameterContentData));
+			textIndex.put(timerData);
+
+			List<DefaultData> result = textIndex.query("4711");
+
+			assertThat(result, contains((DefaultData) timerData));
+		}
+
+		@Test
+		public void noMatch() {
+			textIndex.put(sql(1L, "SELECT * FROM USERS"));
+
+			assertThat(textIndex.query("orders"), is(empty()));
+			assertThat(textIndex.query("xyz"), is(empty()));
+			assertThat(textIndex.query(""), is(empty()));
+		}
+
+		@Test
+		public void gramsMatchButNotText() {
+			textIndex.put(sql(1L, "abcd bcde"));
+
+			assertThat(textIndex.query("abcde"), is(empty()));
+		}
+
+		@Test
+		public void noTexts() {
+			textIndex.put(new TimerData());
+
+			assertThat(textIndex.getNumberOfTexts(), is(0L));
+		}
+
+		@Test
+		public void clearAll() {
+			textIndex.put(sql(1L, "SELECT * FROM USERS"));
+
+			textIndex.clearAll();
+
+			assertThat(textIndex.query("users"), is(empty()));
+			assertThat(textIndex.getNumberOfTexts(), is(0L));
+		}
+
+		private SqlStatementData sql(long id, String sqlString) {
+			SqlStatementData sql = new SqlStatementData();
+			sql.setId(id);
+			sql.setSql(sqlString);
+			return sql;
+		}
+	}
+
+}
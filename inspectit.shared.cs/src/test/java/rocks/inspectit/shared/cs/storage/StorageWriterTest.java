@@ -27,6 +27,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+import org.mockito.ArgumentCaptor;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -44,7 +45,9 @@ import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.all.storage.nio.stream.ExtendedByteBufferOutputStream;
 import rocks.inspectit.shared.all.storage.nio.stream.StreamProvider;
 import rocks.inspectit.shared.cs.indexing.impl.IndexingException;
+import rocks.inspectit.shared.cs.storage.StorageWriter.WriteBlockTask;
 import rocks.inspectit.shared.cs.storage.StorageWriter.WriteTask;
+import rocks.inspectit.shared.cs.storage.block.StorageBlock;
 import rocks.inspectit.shared.cs.storage.nio.WriteReadCompletionRunnable;
 import rocks.inspectit.shared.cs.storage.nio.write.WritingChannelManager;
 import rocks.inspectit.shared.cs.storage.processor.AbstractDataProcessor;
@@ -246,6 +249,67 @@ public class StorageWriterTest {
 		verify(serializerQueue, times(1)).add(serializer);
 	}
 
+	@Test
+	public void writeBlockTaskPerChannel() throws Exception {
+		WriteTask writeTask1 = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		WriteTask writeTask2 = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		WriteTask writeTask3 = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		when(storageIndexingTreeHandler.startWrite(writeTask1)).thenReturn(1);
+		when(storageIndexingTreeHandler.startWrite(writeTask2)).thenReturn(2);
+		when(storageIndexingTreeHandler.startWrite(writeTask3)).thenReturn(1);
+		WriteBlockTask writeBlockTask = storageWriter.new WriteBlockTask();
+		writeBlockTask.add(writeTask1);
+		writeBlockTask.add(writeTask2);
+		writeBlockTask.add(writeTask3);
+
+		writeBlockTask.run();
+
+		ArgumentCaptor<WriteReadCompletionRunnable> captor = ArgumentCaptor.forClass(WriteReadCompletionRunnable.class);
+		verify(writingChannelManager, times(2)).write(Matchers.<ExtendedByteBufferOutputStream> anyObject(), Matchers.<Path> anyObject(), captor.capture());
+		verify(serializer, times(3)).serialize(anyObject(), Matchers.<Output> anyObject(), Matchers.<Map<?, ?>> anyObject());
+		verify(serializer, times(2)).serialize(Matchers.isA(StorageBlock.class), Matchers.<Output> anyObject());
+		WriteReadCompletionRunnable firstBlock = captor.getAllValues().get(0);
+		firstBlock.setAttemptedWriteReadPosition(10L);
+		firstBlock.setAttemptedWriteReadSize(20L);
+		firstBlock.run();
+		verify(storageIndexingTreeHandler, times(1)).writeSuccessful(writeTask1, 10L, 20L);
+		verify(storageIndexingTreeHandler, times(1)).writeSuccessful(writeTask3, 10L, 20L);
+		verify(storageIndexingTreeHandler, times(0)).writeSuccessful(Matchers.eq(writeTask2), anyLong(), anyLong());
+	}
+
+	@Test
+	public void writeBlockTaskFailedSerializationOfOne() throws Exception {
+		TimerData failing = new TimerData();
+		WriteTask writeTask1 = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		WriteTask writeTask2 = storageWriter.new WriteTask(failing, Collections.emptyMap());
+		doThrow(SerializationException.class).when(serializer).serialize(Matchers.same(failing), Matchers.<Output> anyObject(), Matchers.<Map<?, ?>> anyObject());
+		WriteBlockTask writeBlockTask = storageWriter.new WriteBlockTask();
+		writeBlockTask.add(writeTask1);
+		writeBlockTask.add(writeTask2);
+
+		writeBlockTask.run();
+
+		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask2);
+		verify(storageIndexingTreeHandler, times(0)).writeFailed(writeTask1);
+		verify(writingChannelManager, times(1)).write(Matchers.<ExtendedByteBufferOutputStream> anyObject(), Matchers.<Path> anyObject(), Matchers.<WriteReadCompletionRunnable> anyObject());
+		verify(serializerQueue, times(1)).add(serializer);
+	}
+
+	@Test
+	public void writeBlockTaskExceptionDuringWrite() throws Exception {
+		WriteTask writeTask = storageWriter.new WriteTask(new TimerData(), Collections.emptyMap());
+		doThrow(IOException.class).when(writingChannelManager).write(Matchers.<ExtendedByteBufferOutputStream> anyObject(), Matchers.<Path> anyObject(),
+				Matchers.<WriteReadCompletionRunnable> anyObject());
+		WriteBlockTask writeBlockTask = storageWriter.new WriteBlockTask();
+		writeBlockTask.add(writeTask);
+
+		writeBlockTask.run();
+
+		verify(storageIndexingTreeHandler, times(1)).writeFailed(writeTask);
+		verify(extendedByteBufferOutputStream, times(1)).close();
+		verify(serializerQueue, times(1)).add(serializer);
+	}
+
 	@Test
 	public void objectWriteNoSerializerAvailable() throws InterruptedException {
 		when(serializerQueue.take()).thenReturn(null);
@@ -0,0 +1,126 @@
+package rocks.inspectit.shared.cs.storage.block;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import rocks.inspectit.shared.all.serializer.ISerializer;
+import rocks.inspectit.shared.all.serializer.SerializationException;
+
+/**
+ * Tests the {@link StorageBlock} and {@link StorageBlockUtil}.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class StorageBlockTest {
+
+	public static class Compress extends StorageBlockTest {
+
+		@Test
+		public void roundTrip() throws SerializationException {
+			byte[] bytes = new byte[100 * 1024];
+			new Random().nextBytes(bytes);
+
+			StorageBlock storageBlock = StorageBlock.compress(bytes, bytes.length, 10);
+
+			assertThat(storageBlock.getObjectCount(), is(10));
+			assertThat(storageBlock.getUncompressedSize(), is(bytes.length));
+			assertThat(storageBlock.decompress(), is(equalTo(bytes)));
+		}
+
+		@Test
+		public void partOfArray() throws SerializationException {
+			byte[] bytes = new byte[] { 1, 2, 3, 4, 5, 6 };
+
+			StorageBlock storageBlock = StorageBlock.compress(bytes, 4, 1);
+
+			assertThat(storageBlock.decompress(), is(equalTo(new byte[] { 1, 2, 3, 4 })));
+		}
+
+		@Test
+		public void repeatingDataCompressed() throws SerializationException {
+			byte[] bytes = new byte[64 * 1024];
+			Arrays.fill(bytes, (byte) 7);
+
+			StorageBlock storageBlock = StorageBlock.compress(bytes, bytes.length, 1);
+
+			assertThat(storageBlock.getCompressedSize(), is(lessThan(bytes.length / 10)));
+			assertThat(storageBlock.decompress(), is(equalTo(bytes)));
+		}
+
+		@Test
+		public void empty() throws SerializationException {
+			StorageBlock storageBlock = StorageBlock.compress(new byte[0], 0, 0);
+
+			assertThat(storageBlock.decompress().length, is(0));
+		}
+
+	}
+
+	public static class Deserialize extends StorageBlockTest {
+
+		@Mock
+		ISerializer serializer;
+
+		@BeforeMethod
+		public void init() {
+			MockitoAnnotations.initMocks(this);
+		}
+
+		@Test
+		public void notBlock() throws SerializationException {
+			Input input = new Input(new byte[1]);
+			when(serializer.deserialize(input)).thenReturn("object");
+
+			List<Object> result = StorageBlockUtil.deserialize(serializer, input);
+
+			assertThat(result, contains((Object) "object"));
+		}
+
+		@Test
+		public void block() throws SerializationException {
+			Output output = new Output(64);
+			output.writeInt(1);
+			output.writeInt(2);
+			output.writeInt(3);
+			final StorageBlock storageBlock = StorageBlock.compress(output.getBuffer(), output.position(), 3);
+			final Input input = new Input(new byte[1]);
+			when(serializer.deserialize(any(Input.class))).thenAnswer(new Answer<Object>() {
+				@Override
+				public Object answer(InvocationOnMock invocation) throws Throwable {
+					Input argument = (Input) invocation.getArguments()[0];
+					if (argument == input) {
+						return storageBlock;
+					}
+					return argument.readInt();
+				}
+			});
+
+			List<Object> result = StorageBlockUtil.deserialize(serializer, input);
+
+			assertThat(result, contains((Object) 1, 2, 3));
+		}
+
+	}
+
+}
@@ -0,0 +1,186 @@
+package rocks.inspectit.shared.cs.storage.nio.stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
+import rocks.inspectit.shared.cs.indexing.storage.impl.StorageDescriptor;
+import rocks.inspectit.shared.cs.storage.StorageData;
+import rocks.inspectit.shared.cs.storage.StorageManager;
+
+/**
+ * Testing of the {@link MappedByteBufferInputStream} class.
+ *
+ * @author agent
+ *
+ */
+@SuppressWarnings("PMD")
+public class MappedByteBufferInputStreamTest {
+
+	/**
+	 * Class under test.
+	 */
+	private MappedByteBufferInputStream inputStream;
+
+	@Mock
+	private StorageManager storageManager;
+
+	@Mock
+	private StorageData storageData;
+
+	private ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+	private Path channelFile;
+
+	private byte[] array;
+
+	/**
+	 * Init.
+	 */
+	@BeforeMethod
+	public void init() throws IOException {
+		MockitoAnnotations.initMocks(this);
+		array = new byte[16 * 1024];
+		new Random().nextBytes(array);
+		channelFile = Files.createTempFile("channel", ".itdata");
+		Files.write(channelFile, array);
+
+		inputStream = new MappedByteBufferInputStream();
+		inputStream.setStorageData(storageData);
+		inputStream.setStorageManager(storageManager);
+		inputStream.setExecutorService(executorService);
+		when(storageManager.getChannelPath(eq(storageData), Matchers.<IStorageDescriptor> anyObject())).thenReturn(channelFile);
+	}
+
+	/**
+	 * Tests reading of random descriptors in random chunks.
+	 */
+	@Test(invocationCount = 20)
+	public void read() throws IOException {
+		Random random = new Random();
+		List<IStorageDescriptor> descriptors = new ArrayList<>();
+		long position = 0;
+		while (position < array.length) {
+			long size = Math.min(1 + random.nextInt(2048), array.length - position);
+			descriptors.add(descriptor(position, size));
+			position += size;
+		}
+
+		inputStream.setDescriptors(descriptors);
+		inputStream.prepare();
+
+		assertThat(inputStream.available(), is(array.length));
+		byte[] bytes = new byte[array.length];
+		int alreadyRead = 0;
+		while (alreadyRead < array.length) {
+			int actuallyRead = inputStream.read(bytes, alreadyRead, Math.min(1 + random.nextInt(512), array.length - alreadyRead));
+			alreadyRead += actuallyRead;
+		}
+
+		assertThat(bytes, is(equalTo(array)));
+		assertThat(inputStream.available(), is(0));
+		assertThat(inputStream.read(), is(-1));
+		inputStream.close();
+	}
+
+	/**
+	 * Descriptors are streamed in the given order, not in the file order.
+	 */
+	@Test
+	public void readInDescriptorOrder() throws IOException {
+		List<IStorageDescriptor> descriptors = new ArrayList<>();
+		descriptors.add(descriptor(100, 10));
+		descriptors.add(descriptor(0, 10));
+
+		inputStream.setDescriptors(descriptors);
+		inputStream.prepare();
+
+		byte[] bytes = new byte[20];
+		int read = inputStream.read(bytes, 0, 20);
+
+		assertThat(read, is(20));
+		for (int i = 0; i < 10; i++) {
+			assertThat(bytes[i], is(array[100 + i]));
+			assertThat(bytes[10 + i], is(array[i]));
+		}
+		inputStream.close();
+	}
+
+	/**
+	 * Single byte read.
+	 */
+	@Test
+	public void readSingleByte() throws IOException {
+		inputStream.setDescriptors(Collections.singletonList(descriptor(5, 1)));
+		inputStream.prepare();
+
+		assertThat(inputStream.read(), is(array[5] & 0xFF));
+		assertThat(inputStream.read(), is(-1));
+		inputStream.close();
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void readAfterClose() throws IOException {
+		inputStream.setDescriptors(Collections.singletonList(descriptor(0, 10)));
+		inputStream.prepare();
+		inputStream.close();
+
+		inputStream.read();
+	}
+
+	/**
+	 * Pre-loading tasks that start after the close must not touch the unmapped regions.
+	 */
+	@Test
+	public void loadTasksAfterClose() throws IOException {
+		ExecutorService capturingExecutorService = mock(ExecutorService.class);
+		doReturn(mock(Future.class)).when(capturingExecutorService).submit(Matchers.any(Runnable.class));
+		inputStream.setExecutorService(capturingExecutorService);
+		inputStream.setDescriptors(Collections.singletonList(descriptor(0, array.length)));
+		inputStream.prepare();
+		inputStream.close();
+
+		ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+		verify(capturingExecutorService).submit(captor.capture());
+		captor.getValue().run();
+
+		assertThat(inputStream.available(), is(0));
+	}
+
+	@AfterMethod
+	public void deleteFile() throws IOException {
+		inputStream.close();
+		Files.deleteIfExists(channelFile);
+	}
+
+	private IStorageDescriptor descriptor(long position, long size) {
+		StorageDescriptor storageDescriptor = new StorageDescriptor(1);
+		storageDescriptor.setPositionAndSize(position, size);
+		return storageDescriptor;
+	}
+}
@@ -1,16 +1,20 @@
 package rocks.inspectit.shared.cs.storage.serializer.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.nio.ByteBuffer;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,6 +35,8 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
 import com.esotericsoftware.kryo.io.ByteBufferInputStream;
 import com.esotericsoftware.kryo.io.ByteBufferOutputStream;
 import com.esotericsoftware.kryo.io.Input;
@@ -46,6 +52,7 @@ import rocks.inspectit.shared.all.communication.data.AggregatedHttpTimerData;
 import rocks.inspectit.shared.all.communication.data.AggregatedSqlStatementData;
 import rocks.inspectit.shared.all.communication.data.AggregatedTimerData;
 import rocks.inspectit.shared.all.communication.data.ClassLoadingInformationData;
+import rocks.inspectit.shared.all.communication.data.CompactInvocationSequenceData;
 import rocks.inspectit.shared.all.communication.data.CompilationInformationData;
 import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
@@ -68,6 +75,10 @@ import rocks.inspectit.shared.all.serializer.SerializationException;
 import rocks.inspectit.shared.all.serializer.impl.SerializationManager;
 import rocks.inspectit.shared.all.serializer.schema.ClassSchemaManager;
 import rocks.inspectit.shared.all.testbase.TestBase;
+import rocks.inspectit.shared.all.tracing.data.ClientSpan;
+import rocks.inspectit.shared.all.tracing.data.PropagationType;
+import rocks.inspectit.shared.all.tracing.data.ServerSpan;
+import rocks.inspectit.shared.all.tracing.data.SpanIdent;
 import rocks.inspectit.shared.all.util.KryoNetNetwork;
 import rocks.inspectit.shared.cs.communication.data.cmr.RecordingData;
 import rocks.inspectit.shared.cs.indexing.indexer.impl.InvocationChildrenIndexer;
@@ -123,7 +134,7 @@ public class SerializerTest extends TestBase {
 			{ SqlStringIndexer.class }, { BooleanStorageLabel.class }, { DateStorageLabel.class }, { NumberStorageLabel.class }, { StringStorageLabel.class }, { CustomDateLabelType.class },
 			{ CmrStatusData.class }, { AgentStatusData.class }, { RecordingData.class }, { CustomBooleanLabelType.class }, { CustomNumberLabelType.class }, { CustomStringLabelType.class },
 			{ AssigneeLabelType.class }, { RatingLabelType.class }, { ExploredByLabelType.class }, { CreationDateLabelType.class }, { StatusLabelType.class }, { UseCaseLabelType.class },
-			{ AggregatedHttpTimerData.class }, { AggregatedSqlStatementData.class }, { AggregatedTimerData.class }, { ArrayBasedStorageLeaf.class } };
+			{ AggregatedHttpTimerData.class }, { AggregatedSqlStatementData.class }, { AggregatedTimerData.class }, { ArrayBasedStorageLeaf.class }, { ClientSpan.class }, { ServerSpan.class } };
 
 	/**
 	 * Serializer.
@@ -404,6 +415,155 @@ public class SerializerTest extends TestBase {
 		}
 	}
 
+	/**
+	 * Tests that the {@link CompactInvocationSequenceData} is serialized with all the nodes and
+	 * side tables.
+	 */
+	@Test
+	public void compactInvocationSequence() throws SerializationException {
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		InvocationSequenceData root = new InvocationSequenceData(timestamp, 1L, 2L, 3L);
+		root.setId(10L);
+		root.setStart(1.0d);
+		root.setEnd(100.0d);
+		InvocationSequenceData previous = root;
+		for (int i = 0; i < 5; i++) {
+			InvocationSequenceData child = new InvocationSequenceData(new Timestamp(timestamp.getTime() + i), 1L, 2L, 4L + i);
+			child.setStart(2.0d + i);
+			child.setEnd(50.0d - i);
+			child.setParentSequence(previous);
+			previous.getNestedSequences().add(child);
+			previous = child;
+		}
+		SqlStatementData sqlStatementData = new SqlStatementData(timestamp, 1L, 2L, 8L, "select 1");
+		previous.setSqlStatementData(sqlStatementData);
+		ExceptionSensorData exceptionSensorData = new ExceptionSensorData(timestamp, 1L, 2L, 9L);
+		previous.addExceptionSensorData(exceptionSensorData);
+		previous.addExceptionSensorData(exceptionSensorData);
+		CompactInvocationSequenceData compact = CompactInvocationSequenceData.compact(root);
+
+		CompactInvocationSequenceData deserialized = serializeBackAndForth(compact);
+
+		assertThat(deserialized.getId(), is(10L));
+		assertThat(deserialized.getTimeStamp(), is(equalTo(timestamp)));
+		assertThat(deserialized.getSize(), is(6));
+		assertThat(deserialized.getMethodIdents(), is(equalTo(compact.getMethodIdents())));
+		assertThat(deserialized.getTimeStampOffsets(), is(equalTo(compact.getTimeStampOffsets())));
+		assertThat(deserialized.getStarts(), is(equalTo(compact.getStarts())));
+		assertThat(deserialized.getEnds(), is(equalTo(compact.getEnds())));
+		assertThat(deserialized.getParentIndexes(), is(equalTo(compact.getParentIndexes())));
+		assertThat(deserialized.getSqlStatementDataIndexes(), is(equalTo(new int[] { 5 })));
+		assertThat(deserialized.getSqlStatementDatas()[0].getSql(), is("select 1"));
+		assertThat(deserialized.getExceptionSensorDataIndexes(), is(equalTo(new int[] { 5, 5 })));
+		assertThat(deserialized.getExceptionSensorDatas().length, is(2));
+		assertThat(deserialized.expand().getChildCount(), is(5L));
+	}
+
+	/**
+	 * Tests that the data written with the serializer registered before the fixed field order
+	 * serializers (old registration ID) can still be read.
+	 */
+	@Test
+	public void legacyTimerDataReadable() throws SerializationException {
+		TimerData timerData = new TimerData(new Timestamp(System.currentTimeMillis()), 1L, 2L, 3L);
+		timerData.setId(4L);
+		timerData.calculateMin(1.0d);
+		timerData.calculateMax(5.0d);
+		timerData.setCount(2L);
+		timerData.setDuration(6.0d);
+		timerData.addInvocationParentId(Long.valueOf(10L));
+		Kryo kryo = serializer.getKryo();
+		int legacyId = getLegacyRegistrationId(TimerData.class);
+
+		Output output = new Output(new ByteBufferOutputStream(byteBuffer));
+		// same as the DefaultClassResolver writes the class
+		output.writeInt(legacyId + 2, true);
+		kryo.writeObject(output, timerData, kryo.getRegistration(legacyId).getSerializer());
+		output.flush();
+		byteBuffer.flip();
+		TimerData deserialized = (TimerData) serializer.deserialize(new Input(new ByteBufferInputStream(byteBuffer)));
+
+		assertThat(kryo.getRegistration(TimerData.class).getId(), is(not(legacyId)));
+		assertThat(deserialized, is(equalTo(timerData)));
+		assertThat(deserialized.getInvocationParentsIdSet(), contains(10L));
+	}
+
+	/**
+	 * Tests the nested sequences are written and connected to their parent.
+	 */
+	@Test
+	public void invocationSequenceWithNestedData() throws SerializationException {
+		Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+		InvocationSequenceData root = new InvocationSequenceData(timestamp, 1L, 2L, 3L);
+		root.setSpanIdent(new SpanIdent(11L, 12L));
+		root.setNestedSqlStatements(Boolean.TRUE);
+		InvocationSequenceData child = new InvocationSequenceData(timestamp, 1L, 2L, 4L);
+		child.setParentSequence(root);
+		root.getNestedSequences().add(child);
+		SqlStatementData sqlStatementData = new SqlStatementData(timestamp, 1L, 2L, 4L, "select ?");
+		sqlStatementData.setParameterValues(Collections.singletonList("1"));
+		child.setSqlStatementData(sqlStatementData);
+		HttpTimerData httpTimerData = new HttpTimerData(timestamp, 1L, 2L, 3L);
+		httpTimerData.setHeaders(Collections.singletonMap("header", "value"));
+		httpTimerData.setHttpResponseStatus(200);
+		root.setTimerData(httpTimerData);
+		child.addExceptionSensorData(new ExceptionSensorData(timestamp, 1L, 2L, 4L));
+
+		InvocationSequenceData deserialized = serializeBackAndForth(root);
+
+		assertThat(deserialized, is(equalTo(root)));
+		assertThat(deserialized.getSpanIdent(), is(equalTo(root.getSpanIdent())));
+		assertThat(deserialized.isNestedSqlStatements(), is(Boolean.TRUE));
+		assertThat(deserialized.isNestedExceptions(), is(nullValue()));
+		assertThat(deserialized.getTimerData(), is(instanceOf(HttpTimerData.class)));
+		assertThat(((HttpTimerData) deserialized.getTimerData()).getHeaders(), hasEntry("header", "value"));
+		assertThat(((HttpTimerData) deserialized.getTimerData()).getHttpResponseStatus(), is(200));
+		assertThat(deserialized.getNestedSequences(), hasSize(1));
+		InvocationSequenceData deserializedChild = deserialized.getNestedSequences().get(0);
+		assertThat(deserializedChild.getParentSequence(), is(deserialized));
+		assertThat(deserializedChild.getSqlStatementData().getParameterValues(), contains("1"));
+		assertThat(deserializedChild.getExceptionSensorDataObjects(), hasSize(1));
+	}
+
+	/**
+	 * Tests the span ident and tags of the span.
+	 */
+	@Test
+	public void span() throws SerializationException {
+		ServerSpan span = new ServerSpan();
+		span.setSpanIdent(new SpanIdent(RandomUtils.nextLong(), RandomUtils.nextLong()));
+		span.setParentSpanId(RandomUtils.nextLong());
+		span.setPropagationType(PropagationType.HTTP);
+		span.setDuration(10.0d);
+		span.addTag("tag", "value");
+
+		ServerSpan deserialized = serializeBackAndForth(span);
+
+		assertThat(deserialized, is(equalTo(span)));
+		assertThat(deserialized.getSpanIdent(), is(equalTo(span.getSpanIdent())));
+		assertThat(deserialized.getParentSpanId(), is(span.getParentSpanId()));
+		assertThat(deserialized.getPropagationType(), is(PropagationType.HTTP));
+		assertThat(deserialized.getTags(), hasEntry("tag", "value"));
+	}
+
+	/**
+	 * Returns the first ID the given class was registered with.
+	 *
+	 * @param type
+	 *            Class.
+	 * @return Registration ID.
+	 */
+	private int getLegacyRegistrationId(Class<?> type) {
+		Kryo kryo = serializer.getKryo();
+		for (int id = 0; id < kryo.getRegistration(type).getId(); id++) {
+			Registration registration = kryo.getRegistration(id);
+			if ((null != registration) && (registration.getType() == type)) {
+				return id;
+			}
+		}
+		throw new AssertionError("No legacy registration for " + type.getName());
+	}
+
 	private void throwIOException() throws IOException {
 		throw new IOException("Just for testing");
 	}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import org.apache.commons.lang.StringUtils;
 import org.eclipse.jface.fieldassist.ControlDecoration;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.layout.GridData;
@@ -90,6 +91,26 @@ public class SensorOptionsPart extends SectionPart implements IPropertyListener
 	 */
 	private Combo parametersCaptureCombo;
 
+	/**
+	 * Text for the HTTP full capture threshold.
+	 */
+	private Text fullCaptureThresholdText;
+
+	/**
+	 * Text for the names of the captured HTTP headers.
+	 */
+	private Text capturedHeadersText;
+
+	/**
+	 * Text for the names of the captured HTTP request attributes.
+	 */
+	private Text capturedAttributesText;
+
+	/**
+	 * Text for the names of the captured HTTP session attributes.
+	 */
+	private Text capturedSessionAttributesText;
+
 	/**
 	 * Default constructor.
 	 *
@@ -203,6 +224,10 @@ public class SensorOptionsPart extends SectionPart implements IPropertyListener
 		sessionCaptureCombo.addListener(SWT.Selection, dirtyListener);
 		attributesCaptureCombo.addListener(SWT.Selection, dirtyListener);
 		parametersCaptureCombo.addListener(SWT.Selection, dirtyListener);
+		fullCaptureThresholdText.addListener(SWT.Modify, dirtyListener);
+		capturedHeadersText.addListener(SWT.Modify, dirtyListener);
+		capturedAttributesText.addListener(SWT.Modify, dirtyListener);
+		capturedSessionAttributesText.addListener(SWT.Modify, dirtyListener);
 	}
 
 	/**
@@ -228,6 +253,14 @@ public class SensorOptionsPart extends SectionPart implements IPropertyListener
 					boolean extractParameters = (boolean) parametersCaptureCombo.getData(parametersCaptureCombo.getText());
 					((HttpSensorConfig) sensorTypeConfig).setParametersCapture(extractParameters);
 
+					long fullCaptureThreshold = getFullCaptureThreshold();
+					if (fullCaptureThreshold >= 0) {
+						((HttpSensorConfig) sensorTypeConfig).setFullCaptureThreshold(fullCaptureThreshold);
+					}
+					((HttpSensorConfig) sensorTypeConfig).setCapturedHeaders(getNames(capturedHeadersText));
+					((HttpSensorConfig) sensorTypeConfig).setCapturedAttributes(getNames(capturedAttributesText));
+					((HttpSensorConfig) sensorTypeConfig).setCapturedSessionAttributes(getNames(capturedSessionAttributesText));
+
 					break;
 				}
 			}
@@ -322,6 +355,86 @@ public class SensorOptionsPart extends SectionPart implements IPropertyListener
 		toolkit.adapt(parametersCaptureCombo, false, false);
 		createInfoLabel(parent, toolkit, "This option specifies whether the HTTP sensor should capture the HTTP request parameters.");
 		parametersCaptureCombo.select(httpSensorConfig.isParametersCapture() ? 1 : 0);
+
+		// full capture threshold
+		toolkit.createLabel(parent, "Full Capture Threshold (ms):").setLayoutData(getIndentGridData());
+
+		fullCaptureThresholdText = toolkit.createText(parent, String.valueOf(httpSensorConfig.getFullCaptureThreshold()), SWT.BORDER | SWT.RIGHT);
+		fullCaptureThresholdText.setLayoutData(layoutData);
+		createInfoLabel(parent, toolkit,
+				"Duration in milliseconds a request must exceed so that the headers, attributes, parameters and session attributes are captured. Faster requests only capture the inspectIT tagging header, unless they are part of a sampled trace and a non-constant trace sampler is used. Value 0 means that all requests are captured.");
+		ValidationControlDecoration<Text> thresholdDecoration = new ValidationControlDecoration<Text>(fullCaptureThresholdText, formPage.getManagedForm().getMessageManager()) {
+			@Override
+			protected boolean validate(Text control) {
+				return getFullCaptureThreshold() >= 0;
+			}
+		};
+		thresholdDecoration.setDescriptionText("Must be zero or a positive number.");
+		thresholdDecoration.registerListener(SWT.Modify);
+
+		// captured names
+		capturedHeadersText = createNamesText(parent, toolkit, "Captured Headers:", httpSensorConfig.getCapturedHeaders(),
+				"Comma separated names of the HTTP headers to capture. Only these headers are read from the request. If empty, all headers are captured.");
+		capturedAttributesText = createNamesText(parent, toolkit, "Captured Attributes:", httpSensorConfig.getCapturedAttributes(),
+				"Comma separated names of the HTTP request attributes to capture if attribute capture is active. If empty, all attributes are captured.");
+		capturedSessionAttributesText = createNamesText(parent, toolkit, "Captured Session Attributes:", httpSensorConfig.getCapturedSessionAttributes(),
+				"Comma separated names of the HTTP session attributes to capture if session capture is active. If empty, all session attributes are captured.");
+	}
+
+	/**
+	 * Creates the label, text and info label for editing a list of names.
+	 *
+	 * @param parent
+	 *            Parent composite
+	 * @param toolkit
+	 *            {@link FormToolkit}
+	 * @param label
+	 *            Label text
+	 * @param names
+	 *            Current names
+	 * @param infoText
+	 *            Info text
+	 * @return Created text
+	 */
+	private static Text createNamesText(Composite parent, FormToolkit toolkit, String label, List<String> names, String infoText) {
+		GridData layoutData = new GridData(GridData.FILL_BOTH);
+		layoutData.horizontalSpan = 2;
+
+		toolkit.createLabel(parent, label).setLayoutData(getIndentGridData());
+		Text text = toolkit.createText(parent, (null != names) ? StringUtils.join(names, ", ") : "", SWT.BORDER);
+		text.setLayoutData(layoutData);
+		createInfoLabel(parent, toolkit, infoText);
+		return text;
+	}
+
+	/**
+	 * Returns the names entered in the text.
+	 *
+	 * @param text
+	 *            Text holding comma separated names.
+	 * @return List of names, empty list if no name is entered
+	 */
+	private static List<String> getNames(Text text) {
+		List<String> names = new ArrayList<>();
+		for (String name : StringUtils.split(text.getText(), ',')) {
+			if (StringUtils.isNotBlank(name)) {
+				names.add(name.trim());
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Returns the full capture threshold entered in the text.
+	 *
+	 * @return Threshold or <code>-1</code> if the text does not hold a valid threshold
+	 */
+	private long getFullCaptureThreshold() {
+		try {
+			return Math.max(-1L, Long.parseLong(fullCaptureThresholdText.getText().trim()));
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
 	}
 
 	/**
@@ -106,6 +106,27 @@ public abstract class AbstractPlotController implements PlotController {
 		return samplingRateMode.adjustSamplingRate(dataObjects, from, to, sensitivity.getValue(), aggregator);
 	}
 
+	/**
+	 * Returns the width of the time buckets the data should be aggregated in when loading the data
+	 * pre-aggregated from the repository. The displayed time range is divided into the same amount
+	 * of buckets as the amount of time frames used by the
+	 * {@link #adjustSamplingRate(List, Date, Date, IAggregator)}.
+	 *
+	 * @param from
+	 *            The start time.
+	 * @param to
+	 *            The end time.
+	 * @return Width of the buckets in milliseconds or <code>0</code> if data should not be
+	 *         aggregated.
+	 */
+	protected long getBucketWidth(Date from, Date to) {
+		int bucketCount = sensitivity.getValue();
+		if (bucketCount <= 0) {
+			return 0;
+		}
+		return Math.max(1L, (to.getTime() - from.getTime()) / bucketCount);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -7,6 +7,7 @@ import java.text.DateFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -33,6 +34,7 @@ import org.jfree.data.xy.YIntervalSeriesCollection;
 import org.jfree.ui.RectangleInsets;
 
 import rocks.inspectit.shared.all.communication.data.TimerData;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimeBucketAggregator;
 import rocks.inspectit.ui.rcp.editor.preferences.PreferenceId;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
 
@@ -77,6 +79,26 @@ public abstract class AbstractTimerDataPlotController<E extends TimerData> exten
 	 */
 	private List<TimeSeries> countSeries;
 
+	/**
+	 * Data loaded with the last {@link #getBucketedData(Date, Date)} call.
+	 */
+	private List<E> loadedData = Collections.emptyList();
+
+	/**
+	 * Bucket width of the loaded data.
+	 */
+	private long loadedBucketWidth;
+
+	/**
+	 * Start of the time range the data was loaded for.
+	 */
+	private long loadedFrom = Long.MAX_VALUE;
+
+	/**
+	 * End of the time range the data was loaded for.
+	 */
+	private long loadedTo = Long.MIN_VALUE;
+
 	/**
 	 * Returns series key for given template.
 	 *
@@ -93,6 +115,71 @@ public abstract class AbstractTimerDataPlotController<E extends TimerData> exten
 	 */
 	protected abstract List<E> getTemplates();
 
+	/**
+	 * Loads the data for the given time range from the repository aggregated in time buckets of
+	 * the given width.
+	 *
+	 * @param from
+	 *            The start time.
+	 * @param to
+	 *            The end time.
+	 * @param bucketWidth
+	 *            Width of the buckets in milliseconds or <code>0</code> if data should not be
+	 *            aggregated.
+	 * @return Loaded data sorted by time stamp.
+	 */
+	protected abstract List<E> loadData(Date from, Date to, long bucketWidth);
+
+	/**
+	 * Returns the data for the given time range aggregated in time buckets. If the bucket width did
+	 * not change and the range only moved forward since the last call, the data of the previous
+	 * call is reused and only the bucket holding the end of the previous range and the newer
+	 * buckets are loaded. The bucket at the previous end is loaded again, because data could have
+	 * been added to it in the meantime. In any other case the complete range is loaded.
+	 *
+	 * @param from
+	 *            The start time.
+	 * @param to
+	 *            The end time.
+	 * @return Data sorted by time stamp.
+	 */
+	protected List<E> getBucketedData(Date from, Date to) {
+		long bucketWidth = getBucketWidth(from, to);
+		long fromTime = from.getTime();
+		long toTime = to.getTime();
+		boolean incremental = (bucketWidth == loadedBucketWidth) && (fromTime >= loadedFrom) && (fromTime <= loadedTo) && (toTime >= loadedTo);
+
+		List<E> data;
+		if (incremental) {
+			// without buckets the data after the previous end is loaded
+			long reloadFrom = (bucketWidth > 0) ? TimeBucketAggregator.getBucketStart(loadedTo, bucketWidth) : loadedTo + 1;
+			long keepFrom = (bucketWidth > 0) ? TimeBucketAggregator.getBucketStart(fromTime, bucketWidth) : fromTime;
+
+			data = new ArrayList<>();
+			for (E element : loadedData) {
+				long time = element.getTimeStamp().getTime();
+				long start = (bucketWidth > 0) ? TimeBucketAggregator.getBucketStart(time, bucketWidth) : time;
+				if ((start >= keepFrom) && (start < reloadFrom)) {
+					data.add(element);
+				}
+			}
+
+			List<E> newData = loadData(new Date(Math.max(reloadFrom, fromTime)), to, bucketWidth);
+			if (null != newData) {
+				data.addAll(newData);
+			}
+		} else {
+			List<E> newData = loadData(from, to, bucketWidth);
+			data = (null != newData) ? new ArrayList<>(newData) : new ArrayList<E>();
+		}
+
+		loadedData = data;
+		loadedBucketWidth = bucketWidth;
+		loadedFrom = fromTime;
+		loadedTo = toTime;
+		return data;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
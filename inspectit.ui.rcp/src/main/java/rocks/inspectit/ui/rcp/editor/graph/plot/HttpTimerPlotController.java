@@ -9,7 +9,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.eclipse.swt.widgets.Display;
 
 import rocks.inspectit.shared.all.communication.IAggregatedData;
@@ -60,26 +59,6 @@ public class HttpTimerPlotController extends AbstractTimerDataPlotController<Htt
 	 */
 	private IHttpTimerDataAccessService dataAccessService;
 
-	/**
-	 * List of displayed data.
-	 */
-	List<HttpTimerData> displayedData = Collections.emptyList();
-
-	/**
-	 * Date to display data to.
-	 */
-	Date toDate = new Date(0);
-
-	/**
-	 * Date to display data from.
-	 */
-	Date fromDate = new Date(Long.MAX_VALUE);
-
-	/**
-	 * Date that mark the last displayed data on the graph.
-	 */
-	Date latestDataDate = new Date(0);
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -113,44 +92,7 @@ public class HttpTimerPlotController extends AbstractTimerDataPlotController<Htt
 	 */
 	@Override
 	public void update(Date from, Date to) {
-		// complete load if we have no data, or wanted time range is completely outside the current
-		boolean completeLoad = CollectionUtils.isEmpty(displayedData) || fromDate.after(to) || toDate.before(from);
-		// left append if currently displayed from date is after the new from date
-		boolean leftAppend = fromDate.after(from);
-		// right append if the currently displayed to date is before new to date or the date of the
-		// last data is before new date
-		boolean rightAppend = toDate.before(to) || latestDataDate.before(to);
-
-		if (completeLoad) {
-			List<HttpTimerData> httpTimerDatas = dataAccessService.getChartingHttpTimerDataFromDateToDate(templates, from, to, plotByTagValue);
-			if (CollectionUtils.isNotEmpty(httpTimerDatas)) {
-				fromDate = (Date) from.clone();
-				toDate = (Date) to.clone();
-			}
-			displayedData = httpTimerDatas;
-		} else {
-			if (rightAppend) {
-				Date startingFrom = new Date(latestDataDate.getTime() + 1);
-				List<HttpTimerData> httpTimerDatas = dataAccessService.getChartingHttpTimerDataFromDateToDate(templates, startingFrom, to, plotByTagValue);
-				if (CollectionUtils.isNotEmpty(httpTimerDatas)) {
-					displayedData.addAll(httpTimerDatas);
-					toDate = (Date) to.clone();
-				}
-			}
-			if (leftAppend) {
-				Date endingTo = new Date(fromDate.getTime() - 1);
-				List<HttpTimerData> httpTimerDatas = dataAccessService.getChartingHttpTimerDataFromDateToDate(templates, from, endingTo, plotByTagValue);
-				if (CollectionUtils.isNotEmpty(httpTimerDatas)) {
-					displayedData.addAll(0, httpTimerDatas);
-					fromDate = (Date) from.clone();
-				}
-			}
-		}
-
-		// update the last displayed data
-		if (CollectionUtils.isNotEmpty(displayedData)) {
-			latestDataDate = new Date(displayedData.get(displayedData.size() - 1).getTimeStamp().getTime());
-		}
+		List<HttpTimerData> displayedData = getBucketedData(from, to);
 
 		Map<Object, List<HttpTimerData>> map = new HashMap<>();
 		for (HttpTimerData data : displayedData) {
@@ -167,6 +109,7 @@ public class HttpTimerPlotController extends AbstractTimerDataPlotController<Htt
 			list.add(data);
 		}
 
+		// several aggregated URIs can belong to one series, thus merge the data of same bucket
 		for (Entry<Object, List<HttpTimerData>> entry : map.entrySet()) {
 			entry.setValue(adjustSamplingRate(entry.getValue(), from, to, AGGREGATOR));
 		}
@@ -184,6 +127,14 @@ public class HttpTimerPlotController extends AbstractTimerDataPlotController<Htt
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected List<HttpTimerData> loadData(Date from, Date to, long bucketWidth) {
+		return dataAccessService.getChartingHttpTimerDataFromDateToDate(templates, from, to, plotByTagValue, bucketWidth);
+	}
+
 	/**
 	 * Finds matching template for the given {@link HttpTimerData} based on if regular expression
 	 * transformation is active or not.
@@ -6,9 +6,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.eclipse.swt.widgets.Display;
 
 import rocks.inspectit.shared.all.cmr.model.MethodIdent;
@@ -53,26 +51,6 @@ public class TimerPlotController extends AbstractTimerDataPlotController<TimerDa
 	 */
 	private IAggregator<TimerData> aggregator;
 
-	/**
-	 * List of displayed data.
-	 */
-	List<TimerData> displayedData = Collections.emptyList();
-
-	/**
-	 * Date to display data to.
-	 */
-	Date toDate = new Date(0);
-
-	/**
-	 * Date to display data from.
-	 */
-	Date fromDate = new Date(Long.MAX_VALUE);
-
-	/**
-	 * Date that mark the last displayed data on the graph.
-	 */
-	Date latestDataDate = new Date(0);
-
 	/**
 	 * {@inheritDoc}
 	 */
@@ -109,48 +87,9 @@ public class TimerPlotController extends AbstractTimerDataPlotController<TimerDa
 	/**
 	 * {@inheritDoc}
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public void update(Date from, Date to) {
-		List<DefaultData> templates = new ArrayList<DefaultData>(this.templates);
-		// complete load if we have no data, or wanted time range is completely outside the current
-		boolean completeLoad = CollectionUtils.isEmpty(displayedData) || fromDate.after(to) || toDate.before(from);
-		// left append if currently displayed from date is after the new from date
-		boolean leftAppend = fromDate.after(from);
-		// right append if the currently displayed to date is before new to date or the date of the
-		// last data is before new date
-		boolean rightAppend = toDate.before(to) || latestDataDate.before(to);
-
-		if (completeLoad) {
-			List<TimerData> timerDatas = (List<TimerData>) dataAccessService.getTemplatesDataObjectsFromToDate(templates, from, to);
-			if (CollectionUtils.isNotEmpty(timerDatas)) {
-				fromDate = (Date) from.clone();
-				toDate = (Date) to.clone();
-			}
-			displayedData = timerDatas;
-		} else {
-			if (rightAppend) {
-				Date startingFrom = new Date(latestDataDate.getTime() + 1);
-				List<TimerData> timerDatas = (List<TimerData>) dataAccessService.getTemplatesDataObjectsFromToDate(templates, startingFrom, to);
-				if (CollectionUtils.isNotEmpty(timerDatas)) {
-					displayedData.addAll(timerDatas);
-					toDate = (Date) to.clone();
-				}
-			}
-			if (leftAppend) {
-				Date endingTo = new Date(fromDate.getTime() - 1);
-				List<TimerData> timerDatas = (List<TimerData>) dataAccessService.getTemplatesDataObjectsFromToDate(templates, from, endingTo);
-				if (CollectionUtils.isNotEmpty(timerDatas)) {
-					displayedData.addAll(0, timerDatas);
-					fromDate = (Date) from.clone();
-				}
-			}
-		}
-
-		// update the last displayed data
-		if (CollectionUtils.isNotEmpty(displayedData)) {
-			latestDataDate = new Date(displayedData.get(displayedData.size() - 1).getTimeStamp().getTime());
-		}
+		List<TimerData> displayedData = getBucketedData(from, to);
 
 		Map<Object, List<TimerData>> map = new HashMap<>();
 		for (TimerData data : displayedData) {
@@ -162,10 +101,6 @@ public class TimerPlotController extends AbstractTimerDataPlotController<TimerDa
 			list.add(data);
 		}
 
-		for (Entry<Object, List<TimerData>> entry : map.entrySet()) {
-			entry.setValue(adjustSamplingRate(entry.getValue(), from, to, aggregator));
-		}
-
 		// update plots in UI thread
 		final Map<Object, List<TimerData>> finalMap = map;
 		Display.getDefault().asyncExec(new Runnable() {
@@ -186,6 +121,15 @@ public class TimerPlotController extends AbstractTimerDataPlotController<TimerDa
 		});
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected List<TimerData> loadData(Date from, Date to, long bucketWidth) {
+		List<DefaultData> templates = new ArrayList<DefaultData>(this.templates);
+		return dataAccessService.getTemplatesDataObjectsFromToDate(templates, from, to, bucketWidth, aggregator);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -12,6 +12,8 @@ import org.eclipse.jface.viewers.StyledString;
 
 import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.cs.cmr.service.IHttpTimerDataAccessService;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.HttpTimerDataAggregator;
 import rocks.inspectit.ui.rcp.editor.inputdefinition.InputDefinition;
 import rocks.inspectit.ui.rcp.editor.preferences.PreferenceEventCallback.PreferenceEvent;
 import rocks.inspectit.ui.rcp.editor.preferences.PreferenceId;
@@ -19,6 +21,7 @@ import rocks.inspectit.ui.rcp.editor.preferences.PreferenceId.LiveMode;
 import rocks.inspectit.ui.rcp.preferences.PreferencesConstants;
 import rocks.inspectit.ui.rcp.preferences.PreferencesUtils;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  * Reduce the redundancy in http controllers. Still as the de-facto standard of realizing
@@ -74,6 +77,17 @@ public abstract class AbstractHttpInputController extends AbstractTableInputCont
 	 */
 	protected boolean httpCatorizationOnRequestMethodActive = false;
 
+	/**
+	 * Minimum ID for the next incremental update in the live mode. Value <code>0</code> means that
+	 * the complete data has to be loaded.
+	 */
+	protected long nextMinId;
+
+	/**
+	 * Aggregation performer that merges the incremental updates in the live mode.
+	 */
+	private AggregationPerformer<HttpTimerData> liveAggregationPerformer;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -120,11 +134,16 @@ public abstract class AbstractHttpInputController extends AbstractTableInputCont
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceEvent.getPreferenceMap().get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
 			break;
 		case LIVEMODE:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.LiveMode.BUTTON_LIVE_ID)) {
 				autoUpdate = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.LiveMode.BUTTON_LIVE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		case TIME_RESOLUTION:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeResolution.TIME_DECIMAL_PLACES_ID)) {
@@ -135,6 +154,7 @@ public abstract class AbstractHttpInputController extends AbstractTableInputCont
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.HttpAggregationRequestMethod.BUTTON_HTTP_AGGREGATION_REQUESTMETHOD_ID)) {
 				httpCatorizationOnRequestMethodActive = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.HttpAggregationRequestMethod.BUTTON_HTTP_AGGREGATION_REQUESTMETHOD_ID);
 			}
+			nextMinId = 0;
 			break;
 		default:
 			break;
@@ -165,4 +185,26 @@ public abstract class AbstractHttpInputController extends AbstractTableInputCont
 	public IContentProvider getContentProvider() {
 		return new ArrayContentProvider();
 	}
+	/**
+	 * Merges the data loaded in the live mode to the data loaded with the previous updates. If
+	 * {@link #nextMinId} is <code>0</code> the given data is considered to be complete and the
+	 * previously loaded data is discarded.
+	 *
+	 * @param loadedData
+	 *            Aggregated data loaded from the service.
+	 * @param uriBased
+	 *            If the loaded data is aggregated based on the URI or on the use case tag.
+	 * @return Complete aggregated data after merge.
+	 */
+	protected List<HttpTimerData> mergeLiveData(List<HttpTimerData> loadedData, boolean uriBased) {
+		if ((0 == nextMinId) || (null == liveAggregationPerformer)) {
+			liveAggregationPerformer = new AggregationPerformer<>(new HttpTimerDataAggregator(uriBased, httpCatorizationOnRequestMethodActive));
+		}
+		if (null != loadedData) {
+			liveAggregationPerformer.processCollection(loadedData);
+		}
+		nextMinId = IncrementalUpdateHelper.getNextMinId(loadedData, nextMinId);
+		return liveAggregationPerformer.getResultList();
+	}
+
 }
@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.commons.collections.CollectionUtils;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.operation.IRunnableWithProgress;
@@ -39,6 +40,8 @@ import rocks.inspectit.shared.cs.communication.comparator.ExceptionSensorDataCom
 import rocks.inspectit.shared.cs.communication.comparator.IDataComparator;
 import rocks.inspectit.shared.cs.communication.comparator.InvocationAwareDataComparatorEnum;
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 import rocks.inspectit.ui.rcp.InspectIT;
 import rocks.inspectit.ui.rcp.InspectITImages;
 import rocks.inspectit.ui.rcp.editor.inputdefinition.InputDefinition;
@@ -51,6 +54,7 @@ import rocks.inspectit.ui.rcp.editor.table.TableViewerComparator;
 import rocks.inspectit.ui.rcp.editor.viewers.StyledCellIndexLabelProvider;
 import rocks.inspectit.ui.rcp.formatter.TextFormatter;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  *
@@ -160,6 +164,17 @@ public class GroupedExceptionOverviewInputController extends AbstractTableInputC
 	 */
 	private IExceptionDataAccessService dataAccessService;
 
+	/**
+	 * Minimum ID for the next incremental update when no time frame is set. Value <code>0</code>
+	 * means that the complete data has to be loaded.
+	 */
+	private long nextMinId;
+
+	/**
+	 * Aggregation performer that merges the incremental updates.
+	 */
+	private final AggregationPerformer<ExceptionSensorData> aggregationPerformer = new AggregationPerformer<>(Aggregators.GROUP_EXCEPTION_OVERVIEW_AGGREGATOR);
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -278,6 +293,10 @@ public class GroupedExceptionOverviewInputController extends AbstractTableInputC
 			if (preferenceMap.containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceMap.get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		default:
 			break;
@@ -298,8 +317,24 @@ public class GroupedExceptionOverviewInputController extends AbstractTableInputC
 		// this time interval
 		if ((null != fromDate) && (null != toDate)) {
 			ungroupedList = dataAccessService.getDataForGroupedExceptionOverview(template, fromDate, toDate);
+			nextMinId = 0;
 		} else {
-			ungroupedList = dataAccessService.getDataForGroupedExceptionOverview(template);
+			// only the data created after the last update is loaded and merged
+			if (0 == nextMinId) {
+				aggregationPerformer.reset();
+			}
+			List<AggregatedExceptionSensorData> loadedList = dataAccessService.getDataForGroupedExceptionOverview(template, nextMinId);
+			if (CollectionUtils.isNotEmpty(loadedList)) {
+				aggregationPerformer.processCollection(new ArrayList<ExceptionSensorData>(loadedList));
+			}
+			nextMinId = IncrementalUpdateHelper.getNextMinId(loadedList, nextMinId);
+
+			ungroupedList = new ArrayList<>();
+			for (ExceptionSensorData exceptionSensorData : aggregationPerformer.getResultList()) {
+				if (exceptionSensorData instanceof AggregatedExceptionSensorData) {
+					ungroupedList.add((AggregatedExceptionSensorData) exceptionSensorData);
+				}
+			}
 		}
 
 		List<AggregatedExceptionSensorData> groupedOverviewList = new ArrayList<>();
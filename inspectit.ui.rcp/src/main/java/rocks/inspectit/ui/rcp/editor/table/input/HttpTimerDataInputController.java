@@ -220,9 +220,12 @@ public class HttpTimerDataInputController extends AbstractHttpInputController {
 		List<HttpTimerData> aggregatedHttpData;
 
 		if (autoUpdate) {
-			aggregatedHttpData = httptimerDataAccessService.getAggregatedTimerData(template, httpCatorizationOnRequestMethodActive);
+			// in live mode only the data created after the last update is loaded and merged
+			aggregatedHttpData = httptimerDataAccessService.getAggregatedTimerData(template, httpCatorizationOnRequestMethodActive, nextMinId);
+			aggregatedHttpData = mergeLiveData(aggregatedHttpData, true);
 		} else {
 			aggregatedHttpData = httptimerDataAccessService.getAggregatedTimerData(template, httpCatorizationOnRequestMethodActive, fromDate, toDate);
+			nextMinId = 0;
 		}
 
 		if (regExActive && CollectionUtils.isNotEmpty(aggregatedHttpData)) {
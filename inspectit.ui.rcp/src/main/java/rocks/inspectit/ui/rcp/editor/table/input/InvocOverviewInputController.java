@@ -66,6 +66,7 @@ import rocks.inspectit.ui.rcp.formatter.TextFormatter;
 import rocks.inspectit.ui.rcp.preferences.PreferencesConstants;
 import rocks.inspectit.ui.rcp.preferences.PreferencesUtils;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  * This input controller displays an overview of {@link InvocationSequenceData} objects.
@@ -219,6 +220,12 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 	 */
 	private ISpanService spanService;
 
+	/**
+	 * Minimum ID of the invocations to load in the next live update. Value <code>0</code> means
+	 * that all data has to be reloaded.
+	 */
+	private long nextMinId;
+
 	/**
 	 *
 	 * @return Returns list of invocation sequence data that represents a table input.
@@ -327,6 +334,7 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 				} else {
 					InvocOverviewInputController.this.resultComparator = defaultComparator;
 				}
+				nextMinId = 0;
 				loadDataFromService();
 			}
 		};
@@ -368,11 +376,16 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceEvent.getPreferenceMap().get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
 			break;
 		case LIVEMODE:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.LiveMode.BUTTON_LIVE_ID)) {
 				autoUpdate = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.LiveMode.BUTTON_LIVE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		default:
 			break;
@@ -396,6 +409,7 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 	@Override
 	public void setLimit(int limit) {
 		this.limit = limit;
+		this.nextMinId = 0;
 	}
 
 	/**
@@ -415,6 +429,14 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 	 * Reloads the data from the service.
 	 */
 	private void loadDataFromService() {
+		if (autoUpdate && (0 != nextMinId)) {
+			// in live mode only load the invocations that arrived after the last update
+			List<InvocationSequenceData> newInvocData = dataAccessService.getInvocationSequenceOverview(template.getPlatformIdent(), template.getMethodIdent(), limit, nextMinId, resultComparator);
+			IncrementalUpdateHelper.mergeSorted(invocationSequenceData, newInvocData, IncrementalUpdateHelper.getLocalComparator(resultComparator, cachedDataService), limit);
+			nextMinId = IncrementalUpdateHelper.getNextMinId(newInvocData, nextMinId);
+			return;
+		}
+
 		List<InvocationSequenceData> invocData;
 
 		if (!autoUpdate) {
@@ -440,6 +462,12 @@ public class InvocOverviewInputController extends AbstractTableInputController {
 		if (!invocData.isEmpty()) {
 			invocationSequenceData.addAll(invocData);
 		}
+
+		if (autoUpdate) {
+			nextMinId = IncrementalUpdateHelper.getNextMinId(invocData, 0);
+		} else {
+			nextMinId = 0;
+		}
 	}
 
 	/**
@@ -137,9 +137,12 @@ public class TaggedHttpTimerDataInputController extends AbstractHttpInputControl
 		List<HttpTimerData> aggregatedTimerData;
 
 		if (autoUpdate) {
-			aggregatedTimerData = httptimerDataAccessService.getTaggedAggregatedTimerData(template, httpCatorizationOnRequestMethodActive);
+			// in live mode only the data created after the last update is loaded and merged
+			aggregatedTimerData = httptimerDataAccessService.getTaggedAggregatedTimerData(template, httpCatorizationOnRequestMethodActive, nextMinId);
+			aggregatedTimerData = mergeLiveData(aggregatedTimerData, false);
 		} else {
 			aggregatedTimerData = httptimerDataAccessService.getTaggedAggregatedTimerData(template, httpCatorizationOnRequestMethodActive, fromDate, toDate);
+			nextMinId = 0;
 		}
 
 		timerDataList.clear();
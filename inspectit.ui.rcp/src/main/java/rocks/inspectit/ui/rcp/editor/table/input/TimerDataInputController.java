@@ -28,6 +28,8 @@ import rocks.inspectit.shared.cs.communication.comparator.InvocationAwareDataCom
 import rocks.inspectit.shared.cs.communication.comparator.MethodSensorDataComparatorEnum;
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.communication.comparator.TimerDataComparatorEnum;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 import rocks.inspectit.ui.rcp.InspectIT;
 import rocks.inspectit.ui.rcp.InspectITImages;
 import rocks.inspectit.ui.rcp.editor.inputdefinition.InputDefinition;
@@ -42,6 +44,7 @@ import rocks.inspectit.ui.rcp.formatter.TextFormatter;
 import rocks.inspectit.ui.rcp.preferences.PreferencesConstants;
 import rocks.inspectit.ui.rcp.preferences.PreferencesUtils;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  * Table input controller for the aggregated Timer data view.
@@ -187,6 +190,17 @@ public class TimerDataInputController extends AbstractTableInputController {
 	 */
 	private boolean autoUpdate = LiveMode.ACTIVE_DEFAULT;
 
+	/**
+	 * Minimum ID for the next incremental update in the live mode. Value <code>0</code> means that
+	 * the complete data has to be loaded.
+	 */
+	private long nextMinId;
+
+	/**
+	 * Aggregation performer that merges the incremental updates in the live mode.
+	 */
+	private final AggregationPerformer<TimerData> aggregationPerformer = new AggregationPerformer<>(Aggregators.TIMER_DATA_AGGREGATOR);
+
 	/**
 	 * Decimal places.
 	 */
@@ -263,11 +277,16 @@ public class TimerDataInputController extends AbstractTableInputController {
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceEvent.getPreferenceMap().get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
 			break;
 		case LIVEMODE:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.LiveMode.BUTTON_LIVE_ID)) {
 				autoUpdate = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.LiveMode.BUTTON_LIVE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		case TIME_RESOLUTION:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeResolution.TIME_DECIMAL_PLACES_ID)) {
@@ -306,9 +325,19 @@ public class TimerDataInputController extends AbstractTableInputController {
 		monitor.beginTask("Getting timer data information", IProgressMonitor.UNKNOWN);
 		List<TimerData> aggregatedTimerData;
 		if (autoUpdate) {
-			aggregatedTimerData = timerDataAccessService.getAggregatedTimerData(template);
+			// in live mode only the data created after the last update is loaded and merged
+			if (0 == nextMinId) {
+				aggregationPerformer.reset();
+			}
+			aggregatedTimerData = timerDataAccessService.getAggregatedTimerData(template, nextMinId);
+			if (CollectionUtils.isNotEmpty(aggregatedTimerData)) {
+				aggregationPerformer.processCollection(aggregatedTimerData);
+			}
+			nextMinId = IncrementalUpdateHelper.getNextMinId(aggregatedTimerData, nextMinId);
+			aggregatedTimerData = aggregationPerformer.getResultList();
 		} else {
 			aggregatedTimerData = timerDataAccessService.getAggregatedTimerData(template, fromDate, toDate);
+			nextMinId = 0;
 		}
 
 		timerDataList.clear();
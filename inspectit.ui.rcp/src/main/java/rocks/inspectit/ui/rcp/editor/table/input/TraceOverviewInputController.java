@@ -54,6 +54,7 @@ import rocks.inspectit.ui.rcp.handlers.OpenTraceDetailsHandler;
 import rocks.inspectit.ui.rcp.preferences.PreferencesConstants;
 import rocks.inspectit.ui.rcp.preferences.PreferencesUtils;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  * The input controller for the table that shows all the root spans.
@@ -148,7 +149,7 @@ public class TraceOverviewInputController extends AbstractTableInputController i
 	/**
 	 * List of spans to be displayed.
 	 */
-	private Collection<Span> spanList = new ArrayList<>();
+	private List<AbstractSpan> spanList = new ArrayList<>();
 
 	/**
 	 * The limit of the result set.
@@ -180,6 +181,12 @@ public class TraceOverviewInputController extends AbstractTableInputController i
 	 */
 	private ResultComparator<AbstractSpan> resultComparator = defaultComparator;
 
+	/**
+	 * Minimum ID of the root spans to load in the next live update. Value <code>0</code> means
+	 * that all data has to be reloaded.
+	 */
+	private long nextMinId;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -239,11 +246,16 @@ public class TraceOverviewInputController extends AbstractTableInputController i
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceEvent.getPreferenceMap().get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
 			break;
 		case LIVEMODE:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.LiveMode.BUTTON_LIVE_ID)) {
 				autoUpdate = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.LiveMode.BUTTON_LIVE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		case TIME_RESOLUTION:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeResolution.TIME_DECIMAL_PLACES_ID)) {
@@ -269,6 +281,7 @@ public class TraceOverviewInputController extends AbstractTableInputController i
 	@Override
 	public void setLimit(int limit) {
 		this.limit = limit;
+		this.nextMinId = 0;
 	}
 
 	/**
@@ -293,20 +306,50 @@ public class TraceOverviewInputController extends AbstractTableInputController i
 	 * Loads data from the service with current filters.
 	 */
 	protected void loadDataFromService() {
+		if (autoUpdate && (0 != nextMinId)) {
+			// in live mode only load the root spans that arrived after the last update
+			Collection<? extends Span> newSpans = spanService.getRootSpans(limit, nextMinId, defaultComparator);
+			IncrementalUpdateHelper.mergeSorted(spanList, toAbstractSpans(newSpans), defaultComparator, limit);
+			nextMinId = IncrementalUpdateHelper.getNextMinId(newSpans, nextMinId);
+			return;
+		}
+
 		Collection<? extends Span> spans;
 		if (autoUpdate) {
 			spans = spanService.getRootSpans(limit, null, null, defaultComparator);
+			nextMinId = IncrementalUpdateHelper.getNextMinId(spans, 0);
 		} else {
 			spans = spanService.getRootSpans(limit, fromDate, toDate, resultComparator);
+			nextMinId = 0;
 		}
 
 		spanList.clear();
 		if (CollectionUtils.isNotEmpty(spans)) {
-			spanList.addAll(spans);
+			spanList.addAll(toAbstractSpans(spans));
 		}
 
 	}
 
+	/**
+	 * Returns the list of the {@link AbstractSpan}s contained in the given span collection, as the
+	 * spans returned by the service are always sub-classes of the {@link AbstractSpan}.
+	 *
+	 * @param spans
+	 *            Spans returned by the service. Can be <code>null</code>.
+	 * @return List of {@link AbstractSpan}s.
+	 */
+	private static List<AbstractSpan> toAbstractSpans(Collection<? extends Span> spans) {
+		List<AbstractSpan> result = new ArrayList<>();
+		if (CollectionUtils.isNotEmpty(spans)) {
+			for (Span span : spans) {
+				if (span instanceof AbstractSpan) {
+					result.add((AbstractSpan) span);
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
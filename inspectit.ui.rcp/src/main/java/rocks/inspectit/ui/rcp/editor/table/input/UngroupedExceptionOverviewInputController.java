@@ -52,6 +52,7 @@ import rocks.inspectit.ui.rcp.formatter.TextFormatter;
 import rocks.inspectit.ui.rcp.preferences.PreferencesConstants;
 import rocks.inspectit.ui.rcp.preferences.PreferencesUtils;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  *
@@ -172,6 +173,12 @@ public class UngroupedExceptionOverviewInputController extends AbstractTableInpu
 	 */
 	private ResultComparator<ExceptionSensorData> resultComparator = defaultComparator;
 
+	/**
+	 * Minimum ID of the exceptions to load in the next update. Value <code>0</code> means that all
+	 * data has to be reloaded.
+	 */
+	private long nextMinId;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -249,6 +256,7 @@ public class UngroupedExceptionOverviewInputController extends AbstractTableInpu
 				} else {
 					UngroupedExceptionOverviewInputController.this.resultComparator = defaultComparator;
 				}
+				nextMinId = 0;
 				loadDataFromService();
 			}
 		};
@@ -294,6 +302,7 @@ public class UngroupedExceptionOverviewInputController extends AbstractTableInpu
 	@Override
 	public void setLimit(int limit) {
 		this.limit = limit;
+		this.nextMinId = 0;
 	}
 
 	/**
@@ -310,6 +319,10 @@ public class UngroupedExceptionOverviewInputController extends AbstractTableInpu
 			if (preferenceMap.containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceMap.get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		default:
 			break;
@@ -339,8 +352,16 @@ public class UngroupedExceptionOverviewInputController extends AbstractTableInpu
 		// this time interval
 		if ((null != fromDate) && (null != toDate)) {
 			exData = dataAccessService.getUngroupedExceptionOverview(template, limit, fromDate, toDate, resultComparator);
+			nextMinId = 0;
+		} else if (0 != nextMinId) {
+			// only load the exceptions that arrived after the last update
+			exData = dataAccessService.getUngroupedExceptionOverview(template, limit, nextMinId, resultComparator);
+			IncrementalUpdateHelper.mergeSorted(exceptionSensorData, exData, IncrementalUpdateHelper.getLocalComparator(resultComparator, cachedDataService), limit);
+			nextMinId = IncrementalUpdateHelper.getNextMinId(exData, nextMinId);
+			return;
 		} else {
 			exData = dataAccessService.getUngroupedExceptionOverview(template, limit, resultComparator);
+			nextMinId = IncrementalUpdateHelper.getNextMinId(exData, 0);
 		}
 		exceptionSensorData.clear();
 
@@ -41,6 +41,8 @@ import rocks.inspectit.shared.cs.communication.comparator.InvocationAwareDataCom
 import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.communication.comparator.SqlStatementDataComparatorEnum;
 import rocks.inspectit.shared.cs.communication.comparator.TimerDataComparatorEnum;
+import rocks.inspectit.shared.cs.indexing.aggregation.Aggregators;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 import rocks.inspectit.ui.rcp.InspectIT;
 import rocks.inspectit.ui.rcp.InspectITImages;
 import rocks.inspectit.ui.rcp.editor.inputdefinition.InputDefinition;
@@ -60,6 +62,7 @@ import rocks.inspectit.ui.rcp.preferences.PreferencesConstants;
 import rocks.inspectit.ui.rcp.preferences.PreferencesUtils;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
 import rocks.inspectit.ui.rcp.util.data.DatabaseInfoHelper;
+import rocks.inspectit.ui.rcp.util.data.IncrementalUpdateHelper;
 
 /**
  * This input controller displays the contents of {@link SqlStatementData} objects.
@@ -187,6 +190,17 @@ public class SqlInputController extends AbstractTreeInputController {
 	 */
 	private boolean autoUpdate = LiveMode.ACTIVE_DEFAULT;
 
+	/**
+	 * Minimum ID for the next incremental update in the live mode. Value <code>0</code> means that
+	 * the complete data has to be loaded.
+	 */
+	private long nextMinId;
+
+	/**
+	 * Aggregation performer that merges the incremental updates in the live mode.
+	 */
+	private final AggregationPerformer<SqlStatementData> aggregationPerformer = new AggregationPerformer<>(Aggregators.SQL_STATEMENT_DATA_AGGREGATOR);
+
 	/**
 	 * Decimal places.
 	 */
@@ -299,11 +313,16 @@ public class SqlInputController extends AbstractTreeInputController {
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeLine.TO_DATE_ID)) {
 				toDate = (Date) preferenceEvent.getPreferenceMap().get(PreferenceId.TimeLine.TO_DATE_ID);
 			}
+			nextMinId = 0;
 			break;
 		case LIVEMODE:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.LiveMode.BUTTON_LIVE_ID)) {
 				autoUpdate = (Boolean) preferenceEvent.getPreferenceMap().get(PreferenceId.LiveMode.BUTTON_LIVE_ID);
 			}
+			nextMinId = 0;
+			break;
+		case CLEAR_BUFFER:
+			nextMinId = 0;
 			break;
 		case TIME_RESOLUTION:
 			if (preferenceEvent.getPreferenceMap().containsKey(PreferenceId.TimeResolution.TIME_DECIMAL_PLACES_ID)) {
@@ -338,9 +357,19 @@ public class SqlInputController extends AbstractTreeInputController {
 		monitor.beginTask("Getting SQL information", IProgressMonitor.UNKNOWN);
 		List<SqlStatementData> sqlStatementList;
 		if (autoUpdate) {
-			sqlStatementList = dataAccessService.getAggregatedSqlStatements(template);
+			// in live mode only the data created after the last update is loaded and merged
+			if (0 == nextMinId) {
+				aggregationPerformer.reset();
+			}
+			sqlStatementList = dataAccessService.getAggregatedSqlStatements(template, nextMinId);
+			if (CollectionUtils.isNotEmpty(sqlStatementList)) {
+				aggregationPerformer.processCollection(sqlStatementList);
+			}
+			nextMinId = IncrementalUpdateHelper.getNextMinId(sqlStatementList, nextMinId);
+			sqlStatementList = aggregationPerformer.getResultList();
 		} else {
 			sqlStatementList = dataAccessService.getAggregatedSqlStatements(template, fromDate, toDate);
+			nextMinId = 0;
 		}
 
 		inputMap.clear();
@@ -52,11 +52,13 @@ import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementParamete
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.PreparedStatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.StatementSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.impl.TimerSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentTelemetrySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.MemorySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.RuntimeSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SamplingProfilerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 import rocks.inspectit.shared.cs.communication.data.cmr.Alert;
@@ -442,8 +444,10 @@ public final class ImageFormatter {
 			return InspectIT.getDefault().getImage(InspectITImages.IMG_VM_SUMMARY);
 		} else if (ObjectUtils.equals(sensorClass, SystemSensorConfig.class)) {
 			return InspectIT.getDefault().getImage(InspectITImages.IMG_SYSTEM_OVERVIEW);
-		} else if (ObjectUtils.equals(sensorClass, ThreadSensorConfig.class)) {
+		} else if (ObjectUtils.equals(sensorClass, ThreadSensorConfig.class) || ObjectUtils.equals(sensorClass, SamplingProfilerSensorConfig.class)) {
 			return InspectIT.getDefault().getImage(InspectITImages.IMG_THREADS_OVERVIEW);
+		} else if (ObjectUtils.equals(sensorClass, AgentTelemetrySensorConfig.class)) {
+			return InspectIT.getDefault().getImage(InspectITImages.IMG_AGENT);
 		} else if (ObjectUtils.equals(sensorClass, JmxSensorConfig.class)) {
 			return InspectIT.getDefault().getImage(InspectITImages.IMG_BEAN);
 		} else if (AbstractRemoteSensorConfig.class.isAssignableFrom(sensorClass)) {
@@ -35,11 +35,13 @@ import rocks.inspectit.shared.cs.ci.sensor.method.special.impl.CloseableHttpAsyn
 import rocks.inspectit.shared.cs.ci.sensor.method.special.impl.EUMInstrumentationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.special.impl.ExecutorIntercepterSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.method.special.impl.MBeanServerInterceptorSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.AgentTelemetrySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ClassLoadingSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CompilationSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.CpuSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.MemorySensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.RuntimeSensorConfig;
+import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SamplingProfilerSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.SystemSensorConfig;
 import rocks.inspectit.shared.cs.ci.sensor.platform.impl.ThreadSensorConfig;
 import rocks.inspectit.ui.rcp.InspectIT;
@@ -96,6 +98,10 @@ public enum SensorTypeEnum {
 	SYSTEM_INFORMATION(SystemSensorConfig.CLASS_NAME, InspectITImages.IMG_SYSTEM_OVERVIEW),
 	/** The thread information sensor type. */
 	THREAD_INFORMATION(ThreadSensorConfig.CLASS_NAME, InspectITImages.IMG_THREADS_OVERVIEW),
+	/** The sampling profiler sensor type. */
+	SAMPLING_PROFILER(SamplingProfilerSensorConfig.CLASS_NAME, InspectITImages.IMG_THREADS_OVERVIEW),
+	/** The agent telemetry sensor type. */
+	AGENT_TELEMETRY(AgentTelemetrySensorConfig.CLASS_NAME, InspectITImages.IMG_AGENT),
 	/** The navigation invocation sequence sensor type. */
 	NAVIGATION_INVOCATION(InvocationSequenceSensorConfig.CLASS_NAME + "#navigation", InspectITImages.IMG_INVOCATION),
 	/** The multi invocation timer data sensor type. */
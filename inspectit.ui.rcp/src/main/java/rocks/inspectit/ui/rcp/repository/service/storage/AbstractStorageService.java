@@ -11,6 +11,8 @@ import org.apache.commons.collections.CollectionUtils;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.serializer.SerializationException;
+import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
 import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.AggregationPerformer;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageDescriptor;
@@ -21,6 +23,7 @@ import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageManager;
 import rocks.inspectit.ui.rcp.InspectIT;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
+import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition.OnlineStatus;
 import rocks.inspectit.ui.rcp.repository.StorageRepositoryDefinition;
 import rocks.inspectit.ui.rcp.storage.util.DataRetriever;
 
@@ -172,7 +175,8 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 	 * This method executes the query in way that it first checks if wanted data is already cached.
 	 * If not method has the ability to load the data via the HTTP or locally and aggregate the data
 	 * if the {@link IAggregator} is provided. If the {@link IAggregator} is not provided, the data
-	 * will be returned not aggregated.
+	 * will be returned not aggregated. For storages that are not downloaded the query is first
+	 * executed on the CMR, so that only results are transferred.
 	 * <P>
 	 * In addition it will try to cache the results if they are not yet cached.
 	 * <P>
@@ -204,8 +208,11 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 				}
 
 				if (null == returnList) {
-					// if not we load data regular way
-					returnList = loadData(storageIndexQuery, aggregator);
+					// if not we execute query on the CMR or load data regular way
+					returnList = executeQueryOnCmr(storageIndexQuery, aggregator, null, -1);
+					if (null == returnList) {
+						returnList = loadData(storageIndexQuery, aggregator);
+					}
 
 					// and cache it on the CMR if we get something
 					if (CollectionUtils.isNotEmpty(returnList)) {
@@ -230,7 +237,10 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 				}
 			}
 		} else {
-			returnList = loadData(storageIndexQuery, aggregator);
+			returnList = executeQueryOnCmr(storageIndexQuery, aggregator, comparator, limit);
+			if (null == returnList) {
+				returnList = loadData(storageIndexQuery, aggregator);
+			}
 		}
 
 		// sort if needed
@@ -246,6 +256,53 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 		return returnList;
 	}
 
+	/**
+	 * Executes the query on the CMR where the storage is located, so that only the results are
+	 * transferred. The comparator and limit are passed to the CMR only if the comparator does not
+	 * depend on the cached data of the storage (as CMR would use its own cached data), otherwise
+	 * sorting and limiting is left to the caller.
+	 *
+	 * @param storageIndexQuery
+	 *            Query.
+	 * @param aggregator
+	 *            {@link IAggregator}
+	 * @param comparator
+	 *            Comparator to sort the results with.
+	 * @param limit
+	 *            Limit the number of results by given number. Value <code>-1</code> means no limit.
+	 * @return Results of the query or <code>null</code> if the query can not be executed on the
+	 *         CMR. This is the case for downloaded storages or when CMR is not available.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<E> executeQueryOnCmr(StorageIndexQuery storageIndexQuery, IAggregator<E> aggregator, Comparator<? super E> comparator, int limit) {
+		if (localStorageData.isFullyDownloaded()) {
+			return null;
+		}
+		CmrRepositoryDefinition cmrRepositoryDefinition = getCmrRepositoryDefinition();
+		if ((null == cmrRepositoryDefinition) || (cmrRepositoryDefinition.getOnlineStatus() != OnlineStatus.ONLINE)) {
+			return null;
+		}
+
+		ResultComparator<E> resultComparator = null;
+		int cmrLimit = -1;
+		if (comparator instanceof DefaultDataComparatorEnum) {
+			resultComparator = new ResultComparator<>((DefaultDataComparatorEnum) comparator);
+			cmrLimit = limit;
+		} else if ((comparator instanceof ResultComparator) && (((ResultComparator<E>) comparator).getComparator() instanceof DefaultDataComparatorEnum)) {
+			ResultComparator<E> original = (ResultComparator<E>) comparator;
+			resultComparator = new ResultComparator<E>(original.getComparator(), original.isAscending());
+			cmrLimit = limit;
+		}
+
+		try {
+			List<E> results = cmrRepositoryDefinition.getStorageService().executeStorageQuery(new StorageData(localStorageData), storageIndexQuery, aggregator, resultComparator, cmrLimit);
+			return new ArrayList<>(results);
+		} catch (BusinessException | RuntimeException e) { // NOPMD NOCHK
+			// ignore cause we can still load results in other way
+			return null;
+		}
+	}
+
 	/**
 	 * Caches result set on the CMR for the given storage under given hash.
 	 *
@@ -394,7 +451,7 @@ public abstract class AbstractStorageService<E extends DefaultData> {
 	private List<E> getRestrictionsPassedList(List<E> notPassedList, StorageIndexQuery storageIndexQuery) {
 		List<E> passedList = new ArrayList<>();
 		for (E element : notPassedList) {
-			if ((null != element) && element.isQueryComplied(storageIndexQuery)) {
+			if ((null != element) && storageIndexQuery.isIdComplied(element.getId()) && element.isQueryComplied(storageIndexQuery)) {
 				passedList.add(element);
 			}
 		}
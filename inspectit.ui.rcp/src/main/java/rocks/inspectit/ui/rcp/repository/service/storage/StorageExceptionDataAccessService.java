@@ -55,6 +55,21 @@ public class StorageExceptionDataAccessService extends AbstractStorageService<Ex
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<ExceptionSensorData> getUngroupedExceptionOverview(ExceptionSensorData template, int limit, long minId, ResultComparator<ExceptionSensorData> resultComparator) {
+		StorageIndexQuery query = exceptionSensorDataQueryFactory.getUngroupedExceptionOverviewQuery(template, limit, null, null);
+		query.setMinId(minId);
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(getStorageRepositoryDefinition().getCachedDataService());
+			return super.executeQuery(query, resultComparator, limit);
+		} else {
+			return super.executeQuery(query, DefaultDataComparatorEnum.TIMESTAMP, limit);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -98,6 +113,27 @@ public class StorageExceptionDataAccessService extends AbstractStorageService<Ex
 	@Override
 	public List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, Date fromDate, Date toDate) {
 		StorageIndexQuery query = exceptionSensorDataQueryFactory.getDataForGroupedExceptionOverviewQuery(template, fromDate, toDate);
+		return this.getDataForGroupedExceptionOverview(query);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(ExceptionSensorData template, long minId) {
+		StorageIndexQuery query = exceptionSensorDataQueryFactory.getDataForGroupedExceptionOverviewQuery(template, null, null);
+		query.setMinId(minId);
+		return this.getDataForGroupedExceptionOverview(query);
+	}
+
+	/**
+	 * Executes the given query and aggregates the results for the grouped exception overview.
+	 *
+	 * @param query
+	 *            Query to execute.
+	 * @return A list of {@link AggregatedExceptionSensorData} objects.
+	 */
+	private List<AggregatedExceptionSensorData> getDataForGroupedExceptionOverview(StorageIndexQuery query) {
 		List<ExceptionSensorData> resultList = super.executeQuery(query, Aggregators.GROUP_EXCEPTION_OVERVIEW_AGGREGATOR);
 		List<AggregatedExceptionSensorData> filterList = new ArrayList<>(resultList.size());
 		for (ExceptionSensorData data : resultList) {
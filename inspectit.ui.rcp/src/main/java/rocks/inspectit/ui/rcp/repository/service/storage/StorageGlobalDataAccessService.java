@@ -16,16 +16,24 @@ import org.apache.commons.collections.CollectionUtils;
 import rocks.inspectit.shared.all.cmr.model.PlatformIdent;
 import rocks.inspectit.shared.all.communication.DefaultData;
 import rocks.inspectit.shared.all.communication.MethodSensorData;
+import rocks.inspectit.shared.all.communication.data.ExceptionSensorData;
+import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.communication.data.InvocationSequenceData;
 import rocks.inspectit.shared.all.communication.data.JmxSensorValueData;
+import rocks.inspectit.shared.all.communication.data.SqlStatementData;
+import rocks.inspectit.shared.all.communication.data.TimerData;
 import rocks.inspectit.shared.all.communication.data.cmr.AgentStatusData;
 import rocks.inspectit.shared.all.exception.BusinessException;
 import rocks.inspectit.shared.all.exception.enumeration.AgentManagementErrorCodeEnum;
 import rocks.inspectit.shared.cs.cmr.service.IGlobalDataAccessService;
+import rocks.inspectit.shared.cs.communication.comparator.DefaultDataComparatorEnum;
+import rocks.inspectit.shared.cs.indexing.aggregation.IAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimeBucketAggregator;
 import rocks.inspectit.shared.cs.indexing.query.provider.impl.StorageIndexQueryProvider;
 import rocks.inspectit.shared.cs.indexing.restriction.impl.IndexQueryRestrictionFactory;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
 import rocks.inspectit.shared.cs.indexing.storage.impl.StorageIndexQuery;
+import rocks.inspectit.shared.cs.indexing.text.TextExtractor;
 
 /**
  * {@link IGlobalDataAccessService} for storage purposes. This class indirectly uses the
@@ -189,6 +197,69 @@ public class StorageGlobalDataAccessService extends AbstractStorageService<Defau
 		return result;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <E extends DefaultData> List<E> getTemplatesDataObjectsFromToDate(Collection<DefaultData> templates, Date fromDate, Date toDate, long bucketWidth, IAggregator<E> aggregator) {
+		if (bucketWidth <= 0) {
+			return (List<E>) this.getTemplatesDataObjectsFromToDate(templates, fromDate, toDate);
+		}
+		if (fromDate.after(toDate)) {
+			return Collections.emptyList();
+		}
+
+		// buckets are aggregated by the index query, so only the aggregated data is loaded
+		IAggregator<DefaultData> bucketAggregator = (IAggregator<DefaultData>) (IAggregator<?>) new TimeBucketAggregator<>(aggregator, bucketWidth);
+		List<E> result = new ArrayList<>();
+		for (DefaultData template : templates) {
+			StorageIndexQuery query = createIntervalQuery(template, new Timestamp(fromDate.getTime()), new Timestamp(toDate.getTime()));
+			result.addAll((List<E>) (List<?>) super.executeQuery(query, bucketAggregator));
+		}
+		Collections.sort(result, DefaultDataComparatorEnum.TIMESTAMP);
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Storages have no text index, thus all data that can contain texts is loaded and filtered.
+	 */
+	@Override
+	public List<DefaultData> getDataObjectsContainingText(String text, Long platformId, int limit) {
+		StorageIndexQuery query = storageIndexQueryProvider.createNewStorageIndexQuery();
+		ArrayList<Class<?>> searchClasses = new ArrayList<>();
+		searchClasses.add(SqlStatementData.class);
+		searchClasses.add(HttpTimerData.class);
+		searchClasses.add(ExceptionSensorData.class);
+		searchClasses.add(TimerData.class);
+		searchClasses.add(InvocationSequenceData.class);
+		query.setObjectClasses(searchClasses);
+		if (null != platformId) {
+			query.setPlatformIdent(platformId.longValue());
+		}
+
+		List<DefaultData> returnList = new ArrayList<>();
+		for (DefaultData defaultData : super.executeQuery(query)) {
+			if (TextExtractor.containsText(defaultData, text)) {
+				returnList.add(defaultData);
+			}
+		}
+		Collections.sort(returnList, new Comparator<DefaultData>() {
+
+			@Override
+			public int compare(DefaultData o1, DefaultData o2) {
+				return o2.getTimeStamp().compareTo(o1.getTimeStamp());
+			}
+		});
+
+		if ((limit > -1) && (returnList.size() > limit)) {
+			return new ArrayList<>(returnList.subList(0, limit));
+		}
+		return returnList;
+	}
+
 	/**
 	 * Returns data objects in wanted interval based on the wanted template.
 	 *
@@ -201,6 +272,32 @@ public class StorageGlobalDataAccessService extends AbstractStorageService<Defau
 	 * @return List of {@link DefaultData} objects.
 	 */
 	private List<DefaultData> getDataObjectsInInterval(DefaultData template, Timestamp fromDate, Timestamp toDate) {
+		StorageIndexQuery query = createIntervalQuery(template, fromDate, toDate);
+
+		List<DefaultData> returnList = super.executeQuery(query);
+		Collections.sort(returnList, new Comparator<DefaultData>() {
+
+			@Override
+			public int compare(DefaultData o1, DefaultData o2) {
+				return o1.getTimeStamp().compareTo(o2.getTimeStamp());
+			}
+		});
+
+		return returnList;
+	}
+
+	/**
+	 * Creates the query for the data objects in wanted interval based on the wanted template.
+	 *
+	 * @param template
+	 *            Template to base search on.
+	 * @param fromDate
+	 *            From date as Timestamp.
+	 * @param toDate
+	 *            To date as Timestamp.
+	 * @return {@link StorageIndexQuery}.
+	 */
+	private StorageIndexQuery createIntervalQuery(DefaultData template, Timestamp fromDate, Timestamp toDate) {
 		StorageIndexQuery query = storageIndexQueryProvider.createNewStorageIndexQuery();
 		ArrayList<Class<?>> searchClasses = new ArrayList<>();
 		searchClasses.add(template.getClass());
@@ -218,17 +315,7 @@ public class StorageGlobalDataAccessService extends AbstractStorageService<Defau
 		if (template instanceof JmxSensorValueData) {
 			query.addIndexingRestriction(IndexQueryRestrictionFactory.equal("jmxSensorDefinitionDataIdentId", ((JmxSensorValueData) template).getJmxSensorDefinitionDataIdentId()));
 		}
-
-		List<DefaultData> returnList = super.executeQuery(query);
-		Collections.sort(returnList, new Comparator<DefaultData>() {
-
-			@Override
-			public int compare(DefaultData o1, DefaultData o2) {
-				return o1.getTimeStamp().compareTo(o2.getTimeStamp());
-			}
-		});
-
-		return returnList;
+		return query;
 	}
 
 	/**
@@ -15,6 +15,7 @@ import rocks.inspectit.shared.all.communication.data.HttpTimerData;
 import rocks.inspectit.shared.all.util.ObjectUtils;
 import rocks.inspectit.shared.cs.cmr.service.IHttpTimerDataAccessService;
 import rocks.inspectit.shared.cs.indexing.aggregation.impl.HttpTimerDataAggregator;
+import rocks.inspectit.shared.cs.indexing.aggregation.impl.TimeBucketAggregator;
 import rocks.inspectit.shared.cs.indexing.query.factory.impl.HttpTimerDataQueryFactory;
 import rocks.inspectit.shared.cs.indexing.restriction.impl.IndexQueryRestrictionFactory;
 import rocks.inspectit.shared.cs.indexing.storage.IStorageTreeComponent;
@@ -68,6 +69,16 @@ public class StorageHttpTimerDataAccessService extends AbstractStorageService<Ht
 		return super.executeQuery(query, new HttpTimerDataAggregator(true, includeRequestMethod));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<HttpTimerData> getAggregatedTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId) {
+		StorageIndexQuery query = httpDataQueryFactory.getFindAllHttpTimersQuery(httpData, null, null);
+		query.setMinId(minId);
+		return super.executeQuery(query, new HttpTimerDataAggregator(true, includeRequestMethod));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -86,39 +97,88 @@ public class StorageHttpTimerDataAccessService extends AbstractStorageService<Ht
 		return super.executeQuery(query, new HttpTimerDataAggregator(false, includeRequestMethod));
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<HttpTimerData> getTaggedAggregatedTimerData(HttpTimerData httpData, boolean includeRequestMethod, long minId) {
+		StorageIndexQuery query = httpDataQueryFactory.getFindAllTaggedHttpTimersQuery(httpData, null, null);
+		query.setMinId(minId);
+		return super.executeQuery(query, new HttpTimerDataAggregator(false, includeRequestMethod));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag) {
 		if (CollectionUtils.isNotEmpty(templates)) {
-			StorageIndexQuery query = httpDataQueryFactory.getFindAllHttpTimersQuery(templates.iterator().next(), fromDate, toDate);
-
-			if (!retrieveByTag) {
-				Set<String> uris = new HashSet<>();
-				for (HttpTimerData httpTimerData : templates) {
-					if (!HttpInfo.UNDEFINED.equals(httpTimerData.getHttpInfo().getUri())) {
-						uris.add(httpTimerData.getHttpInfo().getUri());
-					}
-				}
-				query.addIndexingRestriction(IndexQueryRestrictionFactory.isInCollection("uri", uris));
-			} else {
-				Set<String> tags = new HashSet<>();
-
-				for (HttpTimerData httpTimerData : templates) {
-					if (httpTimerData.getHttpInfo().hasInspectItTaggingHeader()) {
-						tags.add(httpTimerData.getHttpInfo().getInspectItTaggingHeaderValue());
-					}
-				}
-				query.addIndexingRestriction(IndexQueryRestrictionFactory.isInCollection("inspectItTaggingHeaderValue", tags));
-			}
-
+			StorageIndexQuery query = createChartingQuery(templates, fromDate, toDate, retrieveByTag);
 			return super.executeQuery(query, TIMESTAMP_COMPARATOR);
 		} else {
 			return Collections.emptyList();
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<HttpTimerData> getChartingHttpTimerDataFromDateToDate(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag, long bucketWidth) {
+		if (bucketWidth <= 0) {
+			return this.getChartingHttpTimerDataFromDateToDate(templates, fromDate, toDate, retrieveByTag);
+		}
+
+		if (CollectionUtils.isNotEmpty(templates)) {
+			StorageIndexQuery query = createChartingQuery(templates, fromDate, toDate, retrieveByTag);
+			// keep URI (or tag) and request method apart so that the client can map data to the series
+			TimeBucketAggregator<HttpTimerData> aggregator = new TimeBucketAggregator<>(new HttpTimerDataAggregator(!retrieveByTag, true), bucketWidth);
+			return super.executeQuery(query, aggregator, TIMESTAMP_COMPARATOR);
+		} else {
+			return Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Creates the query for the {@link HttpTimerData} that can be used as the input for the
+	 * plotting. From the template list the platform ident will be used as well as all URI and
+	 * tagged values.
+	 *
+	 * @param templates
+	 *            Templates. Must not be empty.
+	 * @param fromDate
+	 *            From date.
+	 * @param toDate
+	 *            To date
+	 * @param retrieveByTag
+	 *            If tag values from the templates should be used when retrieving the data. If false
+	 *            is passed, URi will be used from templates.
+	 * @return {@link StorageIndexQuery}.
+	 */
+	private StorageIndexQuery createChartingQuery(Collection<HttpTimerData> templates, Date fromDate, Date toDate, boolean retrieveByTag) {
+		StorageIndexQuery query = httpDataQueryFactory.getFindAllHttpTimersQuery(templates.iterator().next(), fromDate, toDate);
+
+		if (!retrieveByTag) {
+			Set<String> uris = new HashSet<>();
+			for (HttpTimerData httpTimerData : templates) {
+				if (!HttpInfo.UNDEFINED.equals(httpTimerData.getHttpInfo().getUri())) {
+					uris.add(httpTimerData.getHttpInfo().getUri());
+				}
+			}
+			query.addIndexingRestriction(IndexQueryRestrictionFactory.isInCollection("uri", uris));
+		} else {
+			Set<String> tags = new HashSet<>();
+
+			for (HttpTimerData httpTimerData : templates) {
+				if (httpTimerData.getHttpInfo().hasInspectItTaggingHeader()) {
+					tags.add(httpTimerData.getHttpInfo().getInspectItTaggingHeaderValue());
+				}
+			}
+			query.addIndexingRestriction(IndexQueryRestrictionFactory.isInCollection("inspectItTaggingHeaderValue", tags));
+		}
+		return query;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
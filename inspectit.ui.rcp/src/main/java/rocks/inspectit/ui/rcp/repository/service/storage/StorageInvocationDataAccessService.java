@@ -65,6 +65,22 @@ public class StorageInvocationDataAccessService extends AbstractStorageService<I
 
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<InvocationSequenceData> getInvocationSequenceOverview(long platformId, long methodId, int limit, long minId, ResultComparator<InvocationSequenceData> resultComparator) {
+		StorageIndexQuery query = invocationDataQueryFactory.getInvocationSequences(platformId, methodId, null, null);
+		query.setOnlyInvocationsWithoutChildren(true);
+		query.setMinId(minId);
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(getStorageRepositoryDefinition().getCachedDataService());
+			return super.executeQuery(query, resultComparator, limit);
+		} else {
+			return super.executeQuery(query, DefaultDataComparatorEnum.TIMESTAMP, limit);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
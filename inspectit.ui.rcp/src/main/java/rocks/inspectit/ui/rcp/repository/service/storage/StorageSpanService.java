@@ -48,6 +48,21 @@ public class StorageSpanService extends AbstractStorageService<AbstractSpan> imp
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<? extends Span> getRootSpans(int limit, long minId, ResultComparator<AbstractSpan> resultComparator) {
+		StorageIndexQuery query = spanQueryFactory.getRootSpansQuery(null, null);
+		query.setMinId(minId);
+		if (null != resultComparator) {
+			resultComparator.setCachedDataService(getStorageRepositoryDefinition().getCachedDataService());
+			return super.executeQuery(query, resultComparator, limit);
+		} else {
+			return super.executeQuery(query, DefaultDataComparatorEnum.TIMESTAMP, limit);
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -45,6 +45,16 @@ public class StorageSqlDataAccessService extends AbstractStorageService<SqlState
 		return super.executeQuery(query, Aggregators.SQL_STATEMENT_DATA_AGGREGATOR);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<SqlStatementData> getAggregatedSqlStatements(SqlStatementData sqlStatementData, long minId) {
+		StorageIndexQuery query = sqlDataQueryFactory.getAggregatedSqlStatementsQuery(sqlStatementData, null, null);
+		query.setMinId(minId);
+		return super.executeQuery(query, Aggregators.SQL_STATEMENT_DATA_AGGREGATOR);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -45,6 +45,16 @@ public class StorageTimerDataAccessService extends AbstractStorageService<TimerD
 		return super.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<TimerData> getAggregatedTimerData(TimerData timerData, long minId) {
+		StorageIndexQuery query = timerDataQueryFactory.getAggregatedTimerDataQuery(timerData, null, null);
+		query.setMinId(minId);
+		return super.executeQuery(query, Aggregators.TIMER_DATA_AGGREGATOR);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
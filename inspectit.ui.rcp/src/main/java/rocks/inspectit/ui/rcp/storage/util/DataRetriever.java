@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -56,6 +57,7 @@ import rocks.inspectit.shared.cs.storage.LocalStorageData;
 import rocks.inspectit.shared.cs.storage.StorageData;
 import rocks.inspectit.shared.cs.storage.StorageFileType;
 import rocks.inspectit.shared.cs.storage.StorageManager;
+import rocks.inspectit.shared.cs.storage.block.StorageBlockUtil;
 import rocks.inspectit.shared.cs.storage.nio.stream.InputStreamProvider;
 import rocks.inspectit.shared.cs.storage.util.RangeDescriptor;
 import rocks.inspectit.ui.rcp.repository.CmrRepositoryDefinition;
@@ -186,9 +188,10 @@ public class DataRetriever {
 						multipartStream.readBodyData(byteArrayOutputStream);
 						input = new Input(byteArrayOutputStream.toByteArray());
 						while (KryoUtil.hasMoreBytes(input)) {
-							Object object = serializer.deserialize(input);
-							E element = (E) object;
-							receivedData.add(element);
+							for (Object object : StorageBlockUtil.deserialize(serializer, input)) {
+								E element = (E) object;
+								receivedData.add(element);
+							}
 						}
 						nextPart = multipartStream.readBoundary();
 					}
@@ -196,9 +199,10 @@ public class DataRetriever {
 					// when kryo changes the visibility of optional() method, we can really stream
 					input = new Input(EntityUtils.toByteArray(entity));
 					while (KryoUtil.hasMoreBytes(input)) {
-						Object object = serializer.deserialize(input);
-						E element = (E) object;
-						receivedData.add(element);
+						for (Object object : StorageBlockUtil.deserialize(serializer, input)) {
+							E element = (E) object;
+							receivedData.add(element);
+						}
 					}
 				}
 			} finally {
@@ -269,12 +273,13 @@ public class DataRetriever {
 		InputStream inputStream = null;
 		Input input = null;
 		try {
-			inputStream = streamProvider.getExtendedByteBufferInputStream(localStorageData, optimizedDescriptors);
+			inputStream = streamProvider.getMappedByteBufferInputStream(localStorageData, optimizedDescriptors);
 			input = new Input(inputStream);
 			while (KryoUtil.hasMoreBytes(input)) {
-				Object object = serializer.deserialize(input);
-				E element = (E) object;
-				receivedData.add(element);
+				for (Object object : StorageBlockUtil.deserialize(serializer, input)) {
+					E element = (E) object;
+					receivedData.add(element);
+				}
 			}
 		} finally {
 			if (null != input) {
@@ -647,6 +652,17 @@ public class DataRetriever {
 					return Long.compare(o1.getPosition(), o2.getPosition());
 				}
 			});
+
+			// objects written in the same block share the descriptor, so remove the duplicates
+			IStorageDescriptor previous = null;
+			for (Iterator<IStorageDescriptor> it = list.iterator(); it.hasNext();) {
+				IStorageDescriptor storageDescriptor = it.next();
+				if ((null != previous) && (previous.getPosition() == storageDescriptor.getPosition()) && (previous.getSize() == storageDescriptor.getSize())) {
+					it.remove();
+				} else {
+					previous = storageDescriptor;
+				}
+			}
 		}
 
 		return filesMap;
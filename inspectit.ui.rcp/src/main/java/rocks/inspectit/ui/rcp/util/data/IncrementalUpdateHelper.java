@@ -0,0 +1,125 @@
+package rocks.inspectit.ui.rcp.util.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import rocks.inspectit.shared.all.cmr.service.ICachedDataService;
+import rocks.inspectit.shared.all.communication.DefaultData;
+import rocks.inspectit.shared.cs.communication.comparator.ResultComparator;
+
+/**
+ * Helper for the input controllers that update their data incrementally. Such controllers only
+ * request the elements that have an ID higher than the highest ID they have already seen and merge
+ * the received delta into the data they already display.
+ * <p>
+ * The IDs are assigned on the CMR in increasing order, but the elements become visible in a
+ * different order (they are processed in parallel, indexed asynchronously or held by the
+ * invocation retention). The CMR thus only returns elements up to the highest ID below which all
+ * elements are already visible, so an element with an ID lower than the highest seen one can not
+ * appear later on.
+ * <p>
+ * The controllers keep the minimum ID for the next delta query. The value <code>0</code> denotes
+ * that no delta query is possible and that the complete data has to be loaded.
+ *
+ * @author agent
+ *
+ */
+public final class IncrementalUpdateHelper {
+
+	/**
+	 * Private constructor.
+	 */
+	private IncrementalUpdateHelper() {
+	}
+
+	/**
+	 * Returns the minimum ID that should be used for the next delta query, based on the
+	 * elements received with the last query. If the given elements don't contain any element
+	 * with higher ID than the current minimum ID, the current minimum ID is returned.
+	 *
+	 * @param data
+	 *            Received elements.
+	 * @param currentMinId
+	 *            Minimum ID used for the last query.
+	 * @return Minimum ID for the next delta query.
+	 */
+	public static long getNextMinId(Collection<?> data, long currentMinId) {
+		long minId = currentMinId;
+		if (null != data) {
+			for (Object object : data) {
+				if (object instanceof DefaultData) {
+					long id = ((DefaultData) object).getId();
+					if (id >= minId) {
+						minId = id + 1;
+					}
+				}
+			}
+		}
+		return minId;
+	}
+
+	/**
+	 * Merges the delta elements to the already sorted and limited list of elements. After the
+	 * merge the list is sorted with given comparator and limited to the given number of elements.
+	 * <p>
+	 * Since both the existing list and the delta are the top elements of disjunctive sets of data
+	 * according to the same comparator, the merged list represents the top elements of the union
+	 * of these sets. To keep the list consistent even if the sets overlap, the delta elements with
+	 * an ID that is already contained in the list are ignored.
+	 *
+	 * @param <E>
+	 *            Type of elements.
+	 * @param data
+	 *            Sorted list of elements to merge into.
+	 * @param delta
+	 *            Elements to merge.
+	 * @param comparator
+	 *            Comparator used for sorting the elements.
+	 * @param limit
+	 *            Limit of the list size. Value <code>-1</code> means no limit.
+	 */
+	public static <E> void mergeSorted(List<E> data, Collection<? extends E> delta, Comparator<? super E> comparator, int limit) {
+		if ((null == delta) || delta.isEmpty()) {
+			return;
+		}
+
+		Set<Long> ids = new HashSet<>(data.size());
+		for (E element : data) {
+			if (element instanceof DefaultData) {
+				ids.add(((DefaultData) element).getId());
+			}
+		}
+		for (E element : delta) {
+			if (!(element instanceof DefaultData) || ids.add(((DefaultData) element).getId())) {
+				data.add(element);
+			}
+		}
+		Collections.sort(data, comparator);
+
+		if ((limit > -1) && (data.size() > limit)) {
+			data.subList(limit, data.size()).clear();
+		}
+	}
+
+	/**
+	 * Creates the comparator that can be used on the client for sorting the merged data the same
+	 * way the server sorts the results with the given result comparator. Note that the given
+	 * result comparator is not changed, because it's sent to the server.
+	 *
+	 * @param <E>
+	 *            Type of elements.
+	 * @param resultComparator
+	 *            Result comparator used on the server.
+	 * @param cachedDataService
+	 *            Cached data service to be used for the comparison.
+	 * @return Comparator for the local sorting.
+	 */
+	public static <E extends DefaultData> Comparator<E> getLocalComparator(ResultComparator<E> resultComparator, ICachedDataService cachedDataService) {
+		return new ResultComparator<>(resultComparator.getComparator(), cachedDataService, resultComparator.isAscending());
+	}
+
+}